@@ -0,0 +1,278 @@
+package pdfact.api;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The admission control of the CPU-bound extraction: at most a fixed number of pdf files (by default,
+ * the number of cores) are parsed at the same time, no matter how many requests are handled by the
+ * I/O threads. A request that doesn't get a permit within a timeout is rejected, so that a backlog
+ * doesn't grow without bound. Background work (jobs and batches) is bounded by its own pools, so it
+ * waits for a permit as long as it takes instead.
+ *
+ * <p>The admission control also bounds the memory used to buffer the pdf files before (and while)
+ * they are parsed: each pdf file reserves a share of a fixed budget, and a pdf file that doesn't get
+ * a share is buffered on disk only.</p>
+ */
+public class AdmissionController {
+
+    /**
+     * The default number of pdf files parsed at the same time.
+     */
+    public static final int DEFAULT_PERMITS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The default time to wait for a permit, in milliseconds.
+     */
+    public static final long DEFAULT_TIMEOUT_MILLIS = 60_000;
+
+    /**
+     * The default maximum number of bytes of the pdf files buffered in memory at the same time.
+     */
+    public static final long DEFAULT_MAX_BUFFERED_BYTES = Runtime.getRuntime().maxMemory() / 4;
+
+    /**
+     * The weight of the latest holding time in the moving average of the holding times.
+     */
+    private static final double HOLDING_TIME_WEIGHT = 0.2;
+
+    /**
+     * The permits (fair, so that the requests are admitted in the order of their arrival).
+     */
+    private final Semaphore semaphore;
+
+    /**
+     * The number of permits.
+     */
+    private final int numPermits;
+
+    /**
+     * The time to wait for a permit, in milliseconds.
+     */
+    private final long timeoutMillis;
+
+    /**
+     * The maximum number of bytes of the pdf files buffered in memory at the same time.
+     */
+    private final long maxBufferedBytes;
+
+    /**
+     * The number of bytes reserved for buffering pdf files in memory.
+     */
+    private final AtomicLong bufferedBytes = new AtomicLong();
+
+    /**
+     * The number of admitted requests.
+     */
+    private final AtomicLong numAdmitted = new AtomicLong();
+
+    /**
+     * The number of requests rejected because they didn't get a permit in time.
+     */
+    private final AtomicLong numRejected = new AtomicLong();
+
+    /**
+     * The moving average of the times the permits were held, in milliseconds.
+     */
+    private volatile double avgHoldingMillis;
+
+    // ==============================================================================================
+
+    /**
+     * Create a new admission controller with the default memory budget for buffering pdf files.
+     *
+     * @param numPermits:    The number of pdf files parsed at the same time.
+     * @param timeoutMillis: The time to wait for a permit, in milliseconds.
+     */
+    public AdmissionController(int numPermits, long timeoutMillis) {
+        this(numPermits, timeoutMillis, DEFAULT_MAX_BUFFERED_BYTES);
+    }
+
+    /**
+     * Create a new admission controller.
+     *
+     * @param numPermits:       The number of pdf files parsed at the same time.
+     * @param timeoutMillis:    The time to wait for a permit, in milliseconds.
+     * @param maxBufferedBytes: The maximum number of bytes of the pdf files buffered in memory at the
+     *                          same time.
+     */
+    public AdmissionController(int numPermits, long timeoutMillis, long maxBufferedBytes) {
+        this.numPermits = Math.max(1, numPermits);
+        this.timeoutMillis = timeoutMillis;
+        this.maxBufferedBytes = maxBufferedBytes;
+        this.semaphore = new Semaphore(this.numPermits, true);
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Wait for a permit to parse a pdf file.
+     *
+     * @return: The permit, which must be closed when the parsing is done.
+     * @throws RejectedException: If no permit was available within the timeout.
+     */
+    public Permit admit() throws RejectedException {
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            numRejected.incrementAndGet();
+            throw new RejectedException(estimateRetryAfterSeconds());
+        }
+        numAdmitted.incrementAndGet();
+        return new Permit();
+    }
+
+    /**
+     * Wait for a permit to parse a pdf file of background work (a job or a document of a batch),
+     * without a timeout. The background work is bounded by its own pools, and would only be retried
+     * by its client if it was rejected.
+     *
+     * @return: The permit, which must be closed when the parsing is done.
+     * @throws RejectedException: If the waiting thread was interrupted.
+     */
+    public Permit admitBackground() throws RejectedException {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            numRejected.incrementAndGet();
+            throw new RejectedException(estimateRetryAfterSeconds());
+        }
+        numAdmitted.incrementAndGet();
+        return new Permit();
+    }
+
+    /**
+     * Reserve the given number of bytes of the memory budget for buffering a pdf file.
+     *
+     * @param bytes: The number of bytes to reserve.
+     * @return: The number of reserved bytes: the given number, or 0 if the budget is exhausted (in
+     *          which case the pdf file should be buffered on disk).
+     */
+    public long reserveBuffer(long bytes) {
+        while (true) {
+            long reserved = bufferedBytes.get();
+            if (reserved + bytes > maxBufferedBytes) {
+                return 0;
+            }
+            if (bufferedBytes.compareAndSet(reserved, reserved + bytes)) {
+                return bytes;
+            }
+        }
+    }
+
+    /**
+     * Release the given number of bytes reserved by {@link #reserveBuffer}.
+     *
+     * @param bytes: The number of reserved bytes.
+     */
+    public void releaseBuffer(long bytes) {
+        bufferedBytes.addAndGet(-bytes);
+    }
+
+    /**
+     * Estimate the number of seconds after which a rejected request could be admitted, from the
+     * number of waiting requests, the number of permits and the average holding time.
+     *
+     * @return: The estimated number of seconds (at least 1).
+     */
+    public long estimateRetryAfterSeconds() {
+        double waiting = semaphore.getQueueLength() + 1;
+        double millis = waiting * avgHoldingMillis / numPermits;
+        return Math.max(1, (long) Math.ceil(millis / 1000));
+    }
+
+    // ==============================================================================================
+
+    public int getNumPermits() {
+        return numPermits;
+    }
+
+    public int getNumActive() {
+        return numPermits - semaphore.availablePermits();
+    }
+
+    public int getNumWaiting() {
+        return semaphore.getQueueLength();
+    }
+
+    public long getNumAdmitted() {
+        return numAdmitted.get();
+    }
+
+    public long getNumRejected() {
+        return numRejected.get();
+    }
+
+    public long getMaxBufferedBytes() {
+        return maxBufferedBytes;
+    }
+
+    public long getBufferedBytes() {
+        return bufferedBytes.get();
+    }
+
+    // ==============================================================================================
+
+    /**
+     * A permit to parse a pdf file, which is released on closing it.
+     */
+    public class Permit implements AutoCloseable {
+        /**
+         * The value of System.nanoTime() at which the permit was acquired.
+         */
+        private final long acquiredNanos = System.nanoTime();
+
+        /**
+         * Whether the permit was already released.
+         */
+        private boolean released;
+
+        @Override
+        public void close() {
+            if (released) {
+                return;
+            }
+            released = true;
+            semaphore.release();
+
+            double millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - acquiredNanos);
+            synchronized (AdmissionController.this) {
+                double avg = avgHoldingMillis;
+                avgHoldingMillis = avg == 0 ? millis : (1 - HOLDING_TIME_WEIGHT) * avg + HOLDING_TIME_WEIGHT * millis;
+            }
+        }
+    }
+
+    /**
+     * The exception thrown if a request didn't get a permit within the timeout.
+     */
+    public static class RejectedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The estimated number of seconds after which the request could be admitted.
+         */
+        private final long retryAfterSeconds;
+
+        /**
+         * Create a new exception.
+         *
+         * @param retryAfterSeconds: The estimated number of seconds after which the request could be admitted.
+         */
+        public RejectedException(long retryAfterSeconds) {
+            super("The server is busy. Please retry later.");
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package pdfact.api;
+
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.io.LimitedInputStream;
+
+import java.io.IOException;
+
+/**
+ * An error to answer a request with: a http status code and a message.
+ */
+public class ApiError extends Exception {
+    /**
+     * The serial id.
+     */
+    private static final long serialVersionUID = 4702395629843261095L;
+
+    /**
+     * The http status code.
+     */
+    private final int status;
+
+    /**
+     * The number of seconds after which the request can be retried (0 if not given).
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * Create a new error.
+     *
+     * @param status:  The http status code.
+     * @param message: The error message.
+     */
+    public ApiError(int status, String message) {
+        this(status, message, 0);
+    }
+
+    /**
+     * Create a new error for a request that can be retried later.
+     *
+     * @param status:            The http status code.
+     * @param message:           The error message.
+     * @param retryAfterSeconds: The number of seconds after which the request can be retried.
+     */
+    public ApiError(int status, String message, long retryAfterSeconds) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Create the error to answer a request with whose pdf file couldn't be parsed.
+     *
+     * @param e:       The exception thrown on parsing the pdf file.
+     * @param reading: The description of how the pdf file is read, for error messages (e.g., "downloading").
+     * @return: The error.
+     */
+    public static ApiError of(Exception e, String reading) {
+        if (e instanceof ApiError) {
+            return (ApiError) e;
+        }
+        if (e instanceof AdmissionController.RejectedException) {
+            return new ApiError(503, e.getMessage(), ((AdmissionController.RejectedException) e).getRetryAfterSeconds());
+        }
+        if (e instanceof IllegalArgumentException) {
+            return new ApiError(422, "Illegal arguments. " + e.getMessage());
+        }
+        if (e instanceof LimitedInputStream.LimitExceededException) {
+            return tooLarge(((LimitedInputStream.LimitExceededException) e).getMaxBytes());
+        }
+        if (e instanceof PdfFetcher.FetchException) {
+            return new ApiError(((PdfFetcher.FetchException) e).getStatus(), "An error occurred while " + reading + " the pdf file. " + e.getMessage());
+        }
+        if (e instanceof IOException) {
+            return new ApiError(400, "An error occurred while " + reading + " the pdf file. " + e.getMessage());
+        }
+        if (e instanceof PdfActException) {
+            return new ApiError(500, "An error occurred while processing the pdf file.");
+        }
+        return new ApiError(500, "An unexpected error occurred.");
+    }
+
+    /**
+     * Create the error for a pdf file that exceeds the maximum size.
+     *
+     * @param maxPdfSize: The maximum size of a pdf file, in bytes.
+     * @return: The error.
+     */
+    public static ApiError tooLarge(long maxPdfSize) {
+        return new ApiError(413, "The pdf file exceeds the maximum size of " + maxPdfSize + " bytes.");
+    }
+
+    /**
+     * Return the http status code.
+     *
+     * @return: The http status code.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Return the number of seconds after which the request can be retried.
+     *
+     * @return: The number of seconds, or 0 if not given.
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,170 @@
+package pdfact.api;
+
+import pdfact.core.util.io.LimitedInputStream;
+
+import javax.servlet.MultipartConfigElement;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.Part;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The helpers to read the requests of the API: the parameters and the uploaded pdf files.
+ */
+final class ApiRequests {
+
+    /**
+     * The attribute of a request to set the multipart configuration of Jetty with.
+     */
+    private static final String MULTIPART_CONFIG_ATTRIBUTE = "org.eclipse.jetty.multipartConfig";
+
+    /**
+     * The name of the part of a multipart upload that contains the pdf file.
+     */
+    static final String FILE_PART = "file";
+
+    /**
+     * The maximum size of the parts of a multipart upload to hold in memory, in bytes. Larger parts
+     * are buffered in temporary files, which are deleted when the request is done.
+     */
+    private static final int MULTIPART_MEMORY_THRESHOLD = 1024 * 1024;
+
+    /**
+     * The prefix of the temporary files that hold the uploaded pdf files of asynchronous jobs.
+     */
+    private static final String UPLOAD_FILE_PREFIX = "pdfact-upload-";
+
+    // ==============================================================================================
+
+    /**
+     * Prevent instantiation.
+     */
+    private ApiRequests() {
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Read a list parameter from the query string or the form fields of a multipart upload. The
+     * parameter can be given repeatedly, with comma-separated values, or both.
+     *
+     * @param raw:  The request.
+     * @param name: The name of the parameter.
+     * @return: The values of the parameter, or null if the parameter is not given.
+     */
+    static List<String> getListParameter(HttpServletRequest raw, String name) {
+        String[] values = raw.getParameterValues(name);
+        if (values == null) {
+            return null;
+        }
+        List<String> list = new ArrayList<>();
+        for (String value : values) {
+            for (String item : value.split(",")) {
+                if (!item.trim().isEmpty()) {
+                    list.add(item.trim());
+                }
+            }
+        }
+        return list;
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Enable reading the given request as a multipart upload. Jetty buffers parts that exceed the
+     * memory threshold in temporary files, which are deleted in any case when the request is done (see
+     * {@link #deleteParts}).
+     *
+     * @param raw:        The request.
+     * @param maxPdfSize: The maximum size of a pdf file, in bytes.
+     * @param maxFiles:   The maximum number of pdf files of the upload.
+     */
+    static void enableMultipart(HttpServletRequest raw, long maxPdfSize, int maxFiles) {
+        raw.setAttribute(MULTIPART_CONFIG_ATTRIBUTE, new MultipartConfigElement(
+                System.getProperty("java.io.tmpdir"), maxPdfSize, maxFiles * maxPdfSize + MULTIPART_MEMORY_THRESHOLD,
+                MULTIPART_MEMORY_THRESHOLD));
+    }
+
+    /**
+     * Copy an uploaded pdf file to a temporary file, so that it can be parsed after the request is done
+     * without holding it in memory meanwhile. The temporary file must be deleted by the caller (see
+     * {@link #deleteUpload}).
+     *
+     * @param upload:     The supplier of the stream to read the upload from.
+     * @param maxPdfSize: The maximum size of a pdf file, in bytes.
+     * @return: The path to the temporary file.
+     * @throws ApiError: If the upload exceeds the maximum size or couldn't be read.
+     */
+    static Path spillUpload(UploadStream upload, long maxPdfSize) throws ApiError {
+        Path file;
+        try {
+            file = Files.createTempFile(UPLOAD_FILE_PREFIX, ".pdf");
+        } catch (IOException e) {
+            throw new ApiError(500, "An error occurred while storing the upload.");
+        }
+        try (InputStream in = new LimitedInputStream(upload.open(), maxPdfSize)) {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        } catch (LimitedInputStream.LimitExceededException e) {
+            deleteUpload(file);
+            throw ApiError.tooLarge(maxPdfSize);
+        } catch (IOException e) {
+            deleteUpload(file);
+            throw new ApiError(400, "An error occurred while reading the upload. " + e.getMessage());
+        }
+    }
+
+    /**
+     * Delete the temporary file of an upload, as created by {@link #spillUpload}.
+     *
+     * @param file: The path to the temporary file.
+     */
+    static void deleteUpload(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // The file is in the temporary directory, which is cleaned up by the system eventually.
+        }
+    }
+
+    /**
+     * Delete the parts of a multipart upload, including the temporary files Jetty buffered them in.
+     *
+     * @param raw: The request.
+     */
+    static void deleteParts(HttpServletRequest raw) {
+        String contentType = raw.getContentType();
+        if (contentType == null || !contentType.toLowerCase().startsWith("multipart/form-data")) {
+            return;
+        }
+        try {
+            for (Part part : raw.getParts()) {
+                part.delete();
+            }
+        } catch (IOException | ServletException | IllegalStateException e) {
+            // The upload couldn't be parsed, so there are no parts to delete.
+        }
+    }
+
+    // ==============================================================================================
+
+    /**
+     * A supplier of the stream to read an upload from.
+     */
+    @FunctionalInterface
+    interface UploadStream {
+        /**
+         * Open the stream to read the upload from.
+         *
+         * @return: The stream.
+         * @throws IOException: If the stream couldn't be opened.
+         */
+        InputStream open() throws IOException;
+    }
+}
@@ -0,0 +1,430 @@
+package pdfact.api;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import spark.Request;
+import spark.Response;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The helpers to answer the requests of the API: starting (compressed) responses, streaming their
+ * bodies and answering with errors.
+ */
+final class ApiResponses {
+
+    /**
+     * The content type of the responses.
+     */
+    static final String CONTENT_TYPE = "application/json; charset=utf-8";
+
+    /**
+     * The content coding "gzip".
+     */
+    private static final String GZIP = "gzip";
+
+    /**
+     * The content coding "deflate".
+     */
+    private static final String DEFLATE = "deflate";
+
+    /**
+     * The content coding "identity" (no compression).
+     */
+    private static final String IDENTITY = "identity";
+
+    // ==============================================================================================
+
+    /**
+     * Prevent instantiation.
+     */
+    private ApiResponses() {
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Start a successful json response and return the stream to write its body to, compressed if the
+     * client accepts it.
+     *
+     * @param request:  The request.
+     * @param response: The response.
+     * @return: The stream to write the body to, which must be closed to complete the response.
+     * @throws IOException: If the stream couldn't be opened.
+     */
+    static ResponseBody startResponse(Request request, Response response) throws IOException {
+        return startResponse(request, response, CONTENT_TYPE, false);
+    }
+
+    /**
+     * Start a successful response of the given content type and return the stream to write its body
+     * to, compressed if the client accepts it.
+     *
+     * @param request:     The request.
+     * @param response:    The response.
+     * @param contentType: The content type of the response.
+     * @param syncFlush:   True if flushing the stream should send all data written so far to the
+     *                     client, even if compressed (at the expense of the compression ratio).
+     * @return: The stream to write the body to, which must be closed to complete the response.
+     * @throws IOException: If the stream couldn't be opened.
+     */
+    static ResponseBody startResponse(Request request, Response response, String contentType,
+                                              boolean syncFlush) throws IOException {
+        String encoding = negotiateEncoding(request.headers("Accept-Encoding"));
+        response.status(200);
+        response.type(contentType);
+        response.header("Vary", "Accept-Encoding");
+        if (!IDENTITY.equals(encoding)) {
+            response.header("Content-Encoding", encoding);
+        }
+        return new ResponseBody(response.raw().getOutputStream(), encoding, syncFlush);
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Report an error that occurred while writing the body of a response. If the response is not
+     * committed yet, it is replaced by an error response. Otherwise, its status and headers were
+     * already sent, so that appending an error would produce a body that looks complete but isn't
+     * valid; instead, the compressed data is finished and the connection is aborted, so that the
+     * client sees an incomplete response.
+     *
+     * @param request:  The request.
+     * @param response: The response.
+     * @param gson:     The gson instance to serialize the error with.
+     * @param body:     The body of the response (null if the response wasn't started).
+     * @param error:    The error.
+     * @param cause:    The cause of the error.
+     * @return: The json representation of the error, or an empty string if the connection was aborted.
+     */
+    static String error(Request request, Response response, Gson gson, ResponseBody body,
+                                ApiError error, Throwable cause) {
+        if (body != null && response.raw().isCommitted()) {
+            body.abort(request, cause);
+            return "";
+        }
+        if (body != null) {
+            body.discard();
+        }
+        return error(response, gson, error);
+    }
+
+    /**
+     * Create an error response, with a Retry-After header if the error gives one.
+     *
+     * @param response: The response.
+     * @param gson:     The gson instance to serialize the error with.
+     * @param error:    The error.
+     * @return: The json representation of the error.
+     */
+    static String error(Response response, Gson gson, ApiError error) {
+        String body = error(response, gson, error.getStatus(), error.getMessage());
+        if (error.getRetryAfterSeconds() > 0) {
+            response.header("Retry-After", String.valueOf(error.getRetryAfterSeconds()));
+        }
+        return body;
+    }
+
+    /**
+     * Create an error response.
+     *
+     * @param response: The response.
+     * @param gson:     The gson instance to serialize the error with.
+     * @param status:   The http status code.
+     * @param message:  The error message.
+     * @return: The json representation of the error.
+     */
+    static String error(Response response, Gson gson, int status, String message) {
+        // Discard the headers and any buffered output of a response that was already begun.
+        HttpServletResponse raw = response.raw();
+        if (raw != null && !raw.isCommitted()) {
+            raw.reset();
+        }
+        response.status(status);
+        response.type(CONTENT_TYPE);
+        JsonObject errorResponse = new JsonObject();
+        errorResponse.addProperty("error", message);
+        return gson.toJson(errorResponse);
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Choose the content coding of the response from the Accept-Encoding header of the request:
+     * gzip or deflate (whichever has the higher quality value, gzip on ties), or identity if the client
+     * accepts neither of them.
+     *
+     * @param acceptEncoding: The value of the Accept-Encoding header (may be null).
+     * @return: The chosen content coding.
+     */
+    private static String negotiateEncoding(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.trim().isEmpty()) {
+            return IDENTITY;
+        }
+
+        double gzipQuality = 0;
+        double deflateQuality = 0;
+        double wildcardQuality = -1;
+        boolean gzipGiven = false;
+        boolean deflateGiven = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim().toLowerCase();
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals(GZIP) || name.equals("x-gzip")) {
+                gzipQuality = quality;
+                gzipGiven = true;
+            } else if (name.equals(DEFLATE)) {
+                deflateQuality = quality;
+                deflateGiven = true;
+            } else if (name.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        // The wildcard applies to the codings that are not given explicitly.
+        if (wildcardQuality >= 0) {
+            gzipQuality = gzipGiven ? gzipQuality : wildcardQuality;
+            deflateQuality = deflateGiven ? deflateQuality : wildcardQuality;
+        }
+
+        if (gzipQuality > 0 && gzipQuality >= deflateQuality) {
+            return GZIP;
+        }
+        if (deflateQuality > 0) {
+            return DEFLATE;
+        }
+        return IDENTITY;
+    }
+
+    /**
+     * Wrap the given stream into a stream that compresses with the given content coding.
+     *
+     * @param out:       The stream to wrap.
+     * @param encoding:  The content coding (gzip, deflate or identity).
+     * @param syncFlush: True if flushing the wrapping stream should flush all data compressed so far.
+     * @return: The wrapping stream, or the given stream for identity.
+     * @throws IOException: If the wrapping stream couldn't be created.
+     */
+    private static OutputStream encode(OutputStream out, String encoding, boolean syncFlush) throws IOException {
+        switch (encoding) {
+            case GZIP:
+                return new GZIPOutputStream(out, 64 * 1024, syncFlush);
+            case DEFLATE:
+                return new DeflaterOutputStream(out, syncFlush);
+            default:
+                return out;
+        }
+    }
+
+    // ==============================================================================================
+
+    /**
+     * A stream that opens the stream to write to on the first write (or on closing it).
+     */
+    static class DeferredOutputStream extends OutputStream {
+        /**
+         * The supplier of the stream to write to.
+         */
+        private final ResponseStream opener;
+
+        /**
+         * The stream to write to (null if not opened yet).
+         */
+        private ResponseBody out;
+
+        /**
+         * Create a new deferred stream.
+         *
+         * @param opener: The supplier of the stream to write to.
+         */
+        DeferredOutputStream(ResponseStream opener) {
+            this.opener = opener;
+        }
+
+        /**
+         * Return the stream to write to, opening it if necessary.
+         *
+         * @return: The stream to write to.
+         * @throws IOException: If the stream couldn't be opened.
+         */
+        private OutputStream out() throws IOException {
+            if (out == null) {
+                out = opener.open();
+            }
+            return out;
+        }
+
+        /**
+         * Return the stream to write to, if it is opened.
+         *
+         * @return: The stream to write to, or null if it is not opened yet.
+         */
+        ResponseBody getBody() {
+            return out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (out != null) {
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            out().close();
+        }
+    }
+
+    /**
+     * The stream to write the body of a response to, compressed with the content coding of the
+     * response. The stream can be detached from the response, so that the compressor can be closed
+     * (and its native memory released) without writing anything more to the client.
+     */
+    static class ResponseBody extends OutputStream {
+        /**
+         * The stream that compresses the body and writes it to the response.
+         */
+        private final OutputStream out;
+
+        /**
+         * True if nothing more is written to the response.
+         */
+        private boolean detached;
+
+        /**
+         * Create a new body.
+         *
+         * @param sink:      The stream of the response.
+         * @param encoding:  The content coding (gzip, deflate or identity).
+         * @param syncFlush: True if flushing the body should flush all data compressed so far.
+         * @throws IOException: If the compressing stream couldn't be created.
+         */
+        private ResponseBody(OutputStream sink, String encoding, boolean syncFlush) throws IOException {
+            this.out = encode(new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    if (!detached) {
+                        sink.write(b);
+                    }
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    if (!detached) {
+                        sink.write(b, off, len);
+                    }
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    if (!detached) {
+                        sink.flush();
+                    }
+                }
+
+                @Override
+                public void close() throws IOException {
+                    if (!detached) {
+                        sink.close();
+                    }
+                }
+            }, encoding, syncFlush);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+        /**
+         * Abort the response: finish the compressed data written so far and send it, then abort the
+         * connection, so that the client doesn't take the body for complete.
+         *
+         * @param request: The request.
+         * @param cause:   The cause of the abort.
+         */
+        void abort(Request request, Throwable cause) {
+            try {
+                if (out instanceof DeflaterOutputStream) {
+                    ((DeflaterOutputStream) out).finish();
+                }
+                out.flush();
+            } catch (IOException e) {
+                // The client is gone already.
+            }
+            org.eclipse.jetty.server.Request baseRequest =
+                    org.eclipse.jetty.server.Request.getBaseRequest(request.raw());
+            if (baseRequest != null) {
+                baseRequest.getHttpChannel().abort(cause);
+            }
+            discard();
+        }
+
+        /**
+         * Detach this body from the response and close the compressor, without writing anything
+         * more to the response (which can then be reset).
+         */
+        void discard() {
+            detached = true;
+            try {
+                out.close();
+            } catch (IOException e) {
+                // Nothing is written anymore.
+            }
+        }
+    }
+
+    /**
+     * A supplier of the stream to write the body of a response to.
+     */
+    @FunctionalInterface
+    interface ResponseStream {
+        /**
+         * Start the response and open the stream to write its body to.
+         *
+         * @return: The stream.
+         * @throws IOException: If the stream couldn't be opened.
+         */
+        ResponseBody open() throws IOException;
+    }
+}
@@ -0,0 +1,241 @@
+package pdfact.api;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import pdfact.api.ApiResponses.ResponseBody;
+import pdfact.api.model.BatchRequestPayload;
+import spark.Request;
+import spark.Response;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.Part;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static pdfact.api.ApiRequests.FILE_PART;
+import static pdfact.api.ApiRequests.deleteParts;
+import static pdfact.api.ApiRequests.enableMultipart;
+import static pdfact.api.ApiRequests.getListParameter;
+import static pdfact.api.ApiResponses.error;
+import static pdfact.api.ApiResponses.startResponse;
+import static spark.Spark.post;
+
+/**
+ * The routes to parse the pdf files of a batch.
+ */
+class BatchRoutes {
+
+    /**
+     * The content type of the responses to batches (newline-delimited json).
+     */
+    private static final String NDJSON_CONTENT_TYPE = "application/x-ndjson; charset=utf-8";
+
+    /**
+     * The service to parse the pdf files with.
+     */
+    private final PdfService pdfService;
+
+    /**
+     * The service to process the batches with.
+     */
+    private final PdfBatchService pdfBatchService;
+
+    /**
+     * The gson instance to parse the payloads and serialize the lines with.
+     */
+    private final Gson gson;
+
+    /**
+     * Create the routes to parse the pdf files of a batch.
+     *
+     * @param pdfService:      The service to parse the pdf files with.
+     * @param pdfBatchService: The service to process the batches with.
+     * @param gson:            The gson instance to parse the payloads and serialize the lines with.
+     */
+    BatchRoutes(PdfService pdfService, PdfBatchService pdfBatchService, Gson gson) {
+        this.pdfService = pdfService;
+        this.pdfBatchService = pdfBatchService;
+        this.gson = gson;
+    }
+
+    /**
+     * Register the routes.
+     */
+    void register() {
+        post("/api/pdf/batch", this::parseBatch);
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Parse the pdf files of a batch concurrently and stream one line of newline-delimited json per pdf
+     * file to the response body, as soon as the pdf file is done. The lines are in the order in which
+     * the pdf files are done and contain the index of the pdf file in the batch, the http status code
+     * and the processing time, plus either the serialization of the pdf file ("document") or an error
+     * message ("error"). An error of a single pdf file doesn't abort the batch.
+     *
+     * @param request:  The request (see {@link #readBatchRequest}).
+     * @param response: The response.
+     * @return: The body of the response.
+     */
+    private Object parseBatch(Request request, Response response) {
+        ResponseBody out = null;
+        try {
+            BatchRequest batchRequest = readBatchRequest(request);
+            ResponseBody body = startResponse(request, response, NDJSON_CONTENT_TYPE, true);
+            out = body;
+            // Called by the threads of the batch service, one result at a time.
+            pdfBatchService.process(batchRequest.actions, batchRequest.reading, result -> {
+                writeBatchResult(body, result);
+                body.flush();
+            });
+            out.close();
+            return "";
+        } catch (ApiError e) {
+            return error(response, gson, e);
+        } catch (IOException e) {
+            return error(request, response, gson, out,
+                    new ApiError(500, "An error occurred while writing the results."), e);
+        } finally {
+            deleteParts(request.raw());
+        }
+    }
+
+    /**
+     * Read the pdf files of a batch from the request. The pdf files are given either as the parts "file"
+     * of a multipart upload (with the units and roles given as for a single pdf file), or by the urls
+     * in a json payload of the form {"urls": [...], "unit": [...], "roles": [...]}.
+     *
+     * @param request: The request.
+     * @return: The batch request, with one action per pdf file.
+     * @throws ApiError: If the request doesn't contain (valid) pdf files, or too many of them.
+     */
+    private BatchRequest readBatchRequest(Request request) throws ApiError {
+        HttpServletRequest raw = request.raw();
+        long maxPdfSize = pdfService.getMaxPdfSize();
+        int maxDocuments = pdfBatchService.getMaxDocuments();
+        String contentType = request.contentType() != null ? request.contentType().toLowerCase() : "";
+        List<ParseAction> actions = new ArrayList<>();
+
+        if (contentType.startsWith("multipart/form-data")) {
+            enableMultipart(raw, maxPdfSize, maxDocuments);
+            List<Part> parts = new ArrayList<>();
+            try {
+                for (Part part : raw.getParts()) {
+                    if (FILE_PART.equals(part.getName())) {
+                        parts.add(part);
+                    }
+                }
+            } catch (IllegalStateException e) {
+                // Thrown by Jetty if the upload exceeds the maximum size.
+                throw ApiError.tooLarge(maxPdfSize);
+            } catch (IOException | ServletException e) {
+                throw new ApiError(400, "An error occurred while reading the upload. " + e.getMessage());
+            }
+            checkBatchSize(parts.size(), maxDocuments);
+            List<String> units = getListParameter(raw, "unit");
+            List<String> roles = getListParameter(raw, "roles");
+            for (Part part : parts) {
+                actions.add((out, timing) -> {
+                    try (InputStream in = part.getInputStream()) {
+                        pdfService.parsePdf(in, units, roles, true, true, timing, out);
+                    }
+                });
+            }
+            return new BatchRequest("reading", actions);
+        }
+
+        BatchRequestPayload payload;
+        try {
+            payload = gson.fromJson(request.body(), BatchRequestPayload.class);
+        } catch (JsonParseException e) {
+            throw new ApiError(400, "Invalid payload. " + e.getMessage());
+        }
+        if (payload == null || payload.getUrls() == null) {
+            throw new ApiError(400, "File urls are required");
+        }
+        checkBatchSize(payload.getUrls().size(), maxDocuments);
+        for (String url : payload.getUrls()) {
+            actions.add((out, timing) -> pdfService.parsePdf(url, payload.getUnit(), payload.getRoles(), true, true, timing, out));
+        }
+        return new BatchRequest("downloading", actions);
+    }
+
+    /**
+     * Check the number of pdf files of a batch.
+     *
+     * @param numDocuments: The number of pdf files.
+     * @param maxDocuments: The maximum number of pdf files of a batch.
+     * @throws ApiError: If there are no pdf files (400) or too many (413).
+     */
+    private static void checkBatchSize(int numDocuments, int maxDocuments) throws ApiError {
+        if (numDocuments == 0) {
+            throw new ApiError(400, "At least one file is required");
+        }
+        if (numDocuments > maxDocuments) {
+            throw new ApiError(413, "The batch exceeds the maximum number of " + maxDocuments + " pdf files.");
+        }
+    }
+
+    /**
+     * Write the given result of a pdf file of a batch as a line of newline-delimited json.
+     *
+     * @param out:    The stream to write the line to.
+     * @param result: The result.
+     * @throws IOException: If writing the line goes wrong.
+     */
+    private void writeBatchResult(OutputStream out, PdfBatchService.Result result) throws IOException {
+        JsonObject json = new JsonObject();
+        json.addProperty("index", result.getIndex());
+        json.addProperty("status", result.getStatus());
+        json.addProperty("millis", result.getMillis());
+        json.addProperty("fetchMillis", result.getTiming().getFetchMillis());
+        json.addProperty("admissionMillis", result.getTiming().getAdmissionMillis());
+        json.addProperty("parseMillis", result.getTiming().getParseMillis());
+        if (result.getSerialization() == null) {
+            json.addProperty("error", result.getErrorMessage());
+            out.write((gson.toJson(json) + "\n").getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        // Embed the (single-line) serialization as it is, instead of parsing it into a json tree.
+        String head = gson.toJson(json);
+        out.write((head.substring(0, head.length() - 1) + ",\"document\":").getBytes(StandardCharsets.UTF_8));
+        out.write(result.getSerialization());
+        out.write("}\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    // ==============================================================================================
+
+    /**
+     * A request to parse the pdf files of a batch.
+     */
+    private static class BatchRequest {
+        /**
+         * The description of how the pdf files are read, for error messages (e.g., "downloading").
+         */
+        private final String reading;
+
+        /**
+         * The actions that parse the pdf files and write their serializations to a stream, in the order
+         * of the pdf files in the batch.
+         */
+        private final List<ParseAction> actions;
+
+        /**
+         * Create a new batch request.
+         *
+         * @param reading: The description of how the pdf files are read, for error messages.
+         * @param actions: The actions that parse the pdf files, in the order of the pdf files.
+         */
+        private BatchRequest(String reading, List<ParseAction> actions) {
+            this.reading = reading;
+            this.actions = actions;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package pdfact.api;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import pdfact.api.ApiResponses.ResponseBody;
+import pdfact.api.model.Job;
+import pdfact.api.model.Timing;
+import spark.Request;
+import spark.Response;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.RejectedExecutionException;
+
+import static pdfact.api.ApiRequests.deleteParts;
+import static pdfact.api.ApiResponses.CONTENT_TYPE;
+import static pdfact.api.ApiResponses.error;
+import static pdfact.api.ApiResponses.startResponse;
+import static spark.Spark.delete;
+import static spark.Spark.get;
+import static spark.Spark.post;
+
+/**
+ * The routes to parse pdf files asynchronously, by jobs.
+ */
+class JobRoutes {
+
+    /**
+     * The path of the asynchronous jobs.
+     */
+    private static final String JOBS_PATH = "/api/jobs";
+
+    /**
+     * The service to parse the pdf files with.
+     */
+    private final PdfService pdfService;
+
+    /**
+     * The service to run the jobs with.
+     */
+    private final PdfJobService pdfJobService;
+
+    /**
+     * The gson instance to parse the payloads and serialize the responses with.
+     */
+    private final Gson gson;
+
+    /**
+     * Create the routes to parse pdf files asynchronously.
+     *
+     * @param pdfService:    The service to parse the pdf files with.
+     * @param pdfJobService: The service to run the jobs with.
+     * @param gson:          The gson instance to parse the payloads and serialize the responses with.
+     */
+    JobRoutes(PdfService pdfService, PdfJobService pdfJobService, Gson gson) {
+        this.pdfService = pdfService;
+        this.pdfJobService = pdfJobService;
+        this.gson = gson;
+    }
+
+    /**
+     * Register the routes.
+     */
+    void register() {
+        post(JOBS_PATH, this::submitJob);
+        get(JOBS_PATH + "/:id", this::getJob);
+        get(JOBS_PATH + "/:id/result", this::getJobResult);
+        delete(JOBS_PATH + "/:id", this::deleteJob);
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Submit a job to parse a pdf file asynchronously. The pdf file is given as for the synchronous
+     * parsing (an uploaded file is copied to a temporary file before the request is answered). If the
+     * queue is full, the request is answered with 429 and a Retry-After header.
+     *
+     * @param request:  The request.
+     * @param response: The response.
+     * @return: The json representation of the submitted job.
+     */
+    private Object submitJob(Request request, Response response) {
+        PdfRequest pdfRequest = null;
+        Job job;
+        try {
+            pdfRequest = PdfRequest.read(request, pdfService, gson, true);
+            job = pdfJobService.submit(pdfRequest.action, pdfRequest.reading);
+        } catch (ApiError e) {
+            return error(response, gson, e);
+        } catch (RejectedExecutionException e) {
+            pdfRequest.discard();
+            String body = error(response, gson, 429, "Too many jobs. Please retry later.");
+            response.header("Retry-After", String.valueOf(pdfJobService.estimateRetryAfterSeconds()));
+            return body;
+        } finally {
+            deleteParts(request.raw());
+        }
+
+        response.status(202);
+        response.type(CONTENT_TYPE);
+        response.header("Location", JOBS_PATH + "/" + job.getId());
+        return gson.toJson(toJson(job));
+    }
+
+    /**
+     * Return the state and the timing of a job.
+     *
+     * @param request:  The request, with the id of the job as parameter "id".
+     * @param response: The response.
+     * @return: The json representation of the job.
+     */
+    private Object getJob(Request request, Response response) {
+        Job job = pdfJobService.getJob(request.params("id"));
+        if (job == null) {
+            return error(response, gson, 404, "Unknown job");
+        }
+        response.type(CONTENT_TYPE);
+        return gson.toJson(toJson(job));
+    }
+
+    /**
+     * Return the result of a job: the serialization of the pdf file if the job succeeded (with the
+     * timing of the job in the Server-Timing header), its error if it failed, or its state (with the
+     * status 202) if it is not done yet.
+     *
+     * @param request:  The request, with the id of the job as parameter "id".
+     * @param response: The response.
+     * @return: The body of the response.
+     */
+    private Object getJobResult(Request request, Response response) {
+        Job job = pdfJobService.getJob(request.params("id"));
+        if (job == null) {
+            return error(response, gson, 404, "Unknown job");
+        }
+        if (!job.isDone()) {
+            response.status(202);
+            response.type(CONTENT_TYPE);
+            return gson.toJson(toJson(job));
+        }
+        if (job.getStatus() == Job.Status.FAILED) {
+            return error(response, gson, job.getErrorStatus(), job.getErrorMessage());
+        }
+
+        ResponseBody out = null;
+        try {
+            response.header("Server-Timing", "queue;dur=" + job.getQueueMillis() + ", "
+                    + job.getTiming().toServerTiming());
+            out = startResponse(request, response);
+            out.write(job.getResult());
+            out.close();
+            return "";
+        } catch (IOException e) {
+            return error(request, response, gson, out,
+                    new ApiError(500, "An error occurred while writing the result."), e);
+        }
+    }
+
+    /**
+     * Remove a finished job, together with its result.
+     *
+     * @param request:  The request, with the id of the job as parameter "id".
+     * @param response: The response.
+     * @return: The body of the response.
+     */
+    private Object deleteJob(Request request, Response response) {
+        Job job = pdfJobService.getJob(request.params("id"));
+        if (job == null) {
+            return error(response, gson, 404, "Unknown job");
+        }
+        if (pdfJobService.removeJob(job.getId()) == null) {
+            return error(response, gson, 409, "The job is not done yet");
+        }
+        response.status(204);
+        return "";
+    }
+
+    /**
+     * Create the json representation of the given job.
+     *
+     * @param job: The job.
+     * @return: The json representation of the job.
+     */
+    private static JsonObject toJson(Job job) {
+        JsonObject json = new JsonObject();
+        json.addProperty("id", job.getId());
+        json.addProperty("status", job.getStatus().name().toLowerCase());
+        json.addProperty("submittedAt", Instant.ofEpochMilli(job.getSubmittedAt()).toString());
+        json.addProperty("queueMillis", job.getQueueMillis());
+        json.addProperty("processingMillis", job.getProcessingMillis());
+        json.addProperty("totalMillis", job.getTotalMillis());
+        json.addProperty("fetchMillis", job.getTiming().getFetchMillis());
+        json.addProperty("admissionMillis", job.getTiming().getAdmissionMillis());
+        json.addProperty("parseMillis", job.getTiming().getParseMillis());
+        if (job.getStatus() == Job.Status.SUCCEEDED) {
+            json.addProperty("resultUrl", JOBS_PATH + "/" + job.getId() + "/result");
+        } else if (job.getStatus() == Job.Status.FAILED) {
+            json.addProperty("error", job.getErrorMessage());
+        }
+        return json;
+    }
+}
@@ -0,0 +1,23 @@
+package pdfact.api;
+
+import pdfact.api.model.Timing;
+import pdfact.core.util.exception.PdfActException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An action that parses a pdf file and writes its serialization to a stream.
+ */
+@FunctionalInterface
+public interface ParseAction {
+    /**
+     * Parse the pdf file and write its serialization to the given stream.
+     *
+     * @param out:    The stream to write the serialization to.
+     * @param timing: The timing to record the phases of the parsing in.
+     * @throws IOException:     If reading the pdf file or writing the serialization goes wrong.
+     * @throws PdfActException: If the pdf processing or text extraction goes wrong.
+     */
+    void parse(OutputStream out, Timing timing) throws IOException, PdfActException;
+}
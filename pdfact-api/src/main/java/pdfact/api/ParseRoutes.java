@@ -0,0 +1,99 @@
+package pdfact.api;
+
+import com.google.gson.Gson;
+import pdfact.api.ApiResponses.DeferredOutputStream;
+import pdfact.api.model.Timing;
+import pdfact.core.util.exception.PdfActException;
+import spark.Request;
+import spark.Response;
+
+import java.io.IOException;
+
+import static pdfact.api.ApiRequests.deleteParts;
+import static pdfact.api.ApiResponses.error;
+import static pdfact.api.ApiResponses.startResponse;
+import static spark.Spark.post;
+
+/**
+ * The routes to parse a pdf file synchronously.
+ */
+class ParseRoutes {
+
+    /**
+     * The service to parse the pdf files with.
+     */
+    private final PdfService pdfService;
+
+    /**
+     * The gson instance to parse the payloads and serialize errors with.
+     */
+    private final Gson gson;
+
+    /**
+     * Create the routes to parse a pdf file synchronously.
+     *
+     * @param pdfService: The service to parse the pdf files with.
+     * @param gson:       The gson instance to parse the payloads and serialize errors with.
+     */
+    ParseRoutes(PdfService pdfService, Gson gson) {
+        this.pdfService = pdfService;
+        this.gson = gson;
+    }
+
+    /**
+     * Register the routes.
+     */
+    void register() {
+        post("/api/pdf/parse", this::parsePdf);
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Parse a pdf file synchronously and stream its serialization to the response body.
+     *
+     * @param request:  The request (see {@link PdfRequest#read}).
+     * @param response: The response.
+     * @return: The body of the response.
+     */
+    private Object parsePdf(Request request, Response response) {
+        try {
+            PdfRequest pdfRequest = PdfRequest.read(request, pdfService, gson, false);
+            return respond(request, response, pdfRequest);
+        } catch (ApiError e) {
+            return error(response, gson, e);
+        } finally {
+            deleteParts(request.raw());
+        }
+    }
+
+    /**
+     * Parse a pdf file by the action of the given pdf request and stream its serialization to the
+     * response body. The time spent on receiving and on parsing the pdf file is reported in the
+     * Server-Timing header.
+     *
+     * @param request:    The request.
+     * @param response:   The response.
+     * @param pdfRequest: The pdf request, with the action that parses the pdf file.
+     * @return: The body of the response.
+     */
+    private Object respond(Request request, Response response, PdfRequest pdfRequest) {
+        // Stream the serialization directly to the response body (compressed, if the client
+        // accepts it), instead of materializing it as a string and a json tree. The response is
+        // started only when the serialization begins, so that the timing is known by then.
+        Timing timing = new Timing();
+        DeferredOutputStream out = new DeferredOutputStream(() -> {
+            response.header("Server-Timing", timing.toServerTiming());
+            return startResponse(request, response);
+        });
+        try {
+            pdfRequest.action.parse(out, timing);
+            // Finish the compression and complete the response, so that Spark doesn't write a body
+            // of its own.
+            out.close();
+            return "";
+        } catch (IOException | PdfActException | RuntimeException e) {
+            return error(request, response, gson, out.getBody(), ApiError.of(e, pdfRequest.reading), e);
+        }
+    }
+}
@@ -2,59 +2,250 @@ package pdfact.api;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonObject;
-import pdfact.api.model.RequestPayload;
-import pdfact.core.util.exception.PdfActException;
-import spark.Request;
-import spark.Response;
+import pdfact.cli.PdfActCliSettings;
+import pdfact.cli.util.cache.SerializationCache;
 
-import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import static spark.Spark.post;
+import static spark.Spark.threadPool;
 
 /**
  * The API to parse a pdf file.
  */
 public class PdfApi {
 
+    /**
+     * The system property to set the maximum size of a pdf file, in bytes.
+     */
+    private static final String MAX_PDF_SIZE_PROPERTY = "pdfact.api.maxPdfSize";
+
+    /**
+     * The system property to set the maximum size of the in-memory tier of the cache, in bytes
+     * (0 to disable the in-memory tier).
+     */
+    private static final String CACHE_MEMORY_SIZE_PROPERTY = "pdfact.api.cache.memorySize";
+
+    /**
+     * The system property to set the directory of the on-disk tier of the cache (no on-disk tier if
+     * not set).
+     */
+    private static final String CACHE_DIR_PROPERTY = "pdfact.api.cache.dir";
+
+    /**
+     * The system property to set the maximum size of the on-disk tier of the cache, in bytes.
+     */
+    private static final String CACHE_DISK_SIZE_PROPERTY = "pdfact.api.cache.diskSize";
+
+    /**
+     * The system property to set the number of workers that process the asynchronous jobs.
+     */
+    private static final String JOBS_WORKERS_PROPERTY = "pdfact.api.jobs.workers";
+
+    /**
+     * The system property to set the maximum number of asynchronous jobs waiting in the queue.
+     */
+    private static final String JOBS_QUEUE_CAPACITY_PROPERTY = "pdfact.api.jobs.queueCapacity";
+
+    /**
+     * The system property to set the time to keep the results of asynchronous jobs, in seconds.
+     */
+    private static final String JOBS_RETENTION_PROPERTY = "pdfact.api.jobs.retention";
+
+    /**
+     * The system property to set the maximum number of finished asynchronous jobs to keep.
+     */
+    private static final String JOBS_MAX_RETAINED_JOBS_PROPERTY = "pdfact.api.jobs.maxRetainedJobs";
+
+    /**
+     * The system property to set the maximum total size of the results of the finished asynchronous
+     * jobs to keep, in bytes.
+     */
+    private static final String JOBS_MAX_RETAINED_BYTES_PROPERTY = "pdfact.api.jobs.maxRetainedBytes";
+
+    /**
+     * The system property to set the maximum number of threads that handle the requests. As these
+     * threads mostly wait for uploads, downloads and clients, there can be many more of them than cores.
+     */
+    private static final String IO_THREADS_PROPERTY = "pdfact.api.ioThreads";
+
+    /**
+     * The default maximum number of threads that handle the requests.
+     */
+    private static final int DEFAULT_IO_THREADS = 200;
+
+    /**
+     * The time after which an idle thread that handles requests is stopped, in milliseconds.
+     */
+    private static final int IO_THREAD_IDLE_TIMEOUT_MILLIS = 60_000;
+
+    /**
+     * The system property to set the maximum number of pdf files parsed at the same time.
+     */
+    private static final String EXTRACTION_PERMITS_PROPERTY = "pdfact.api.extraction.permits";
+
+    /**
+     * The system property to set the time a received pdf file waits to be admitted to the parsing
+     * before the request is rejected with 503, in milliseconds (jobs and batches wait without a timeout).
+     */
+    private static final String EXTRACTION_TIMEOUT_PROPERTY = "pdfact.api.extraction.timeout";
+
+    /**
+     * The system property to set the maximum number of bytes of the pdf files buffered in memory at
+     * the same time, before and while they are parsed.
+     */
+    private static final String EXTRACTION_MAX_BUFFERED_BYTES_PROPERTY = "pdfact.api.extraction.maxBufferedBytes";
+
+    /**
+     * The system property to set the number of threads that process the pages of the pdf files in
+     * parallel, shared by all pdf files parsed at the same time.
+     */
+    private static final String EXTRACTION_PAGE_THREADS_PROPERTY = "pdfact.api.extraction.pageThreads";
+
+    /**
+     * The system property to set the number of threads that process the pdf files of the batches.
+     */
+    private static final String BATCH_THREADS_PROPERTY = "pdfact.api.batch.threads";
+
+    /**
+     * The system property to set the maximum number of pdf files of a batch.
+     */
+    private static final String BATCH_MAX_DOCUMENTS_PROPERTY = "pdfact.api.batch.maxDocuments";
+
+    /**
+     * The system property to set the maximum number of pdf files of a batch processed at the same time.
+     */
+    private static final String BATCH_CONCURRENCY_PROPERTY = "pdfact.api.batch.concurrency";
+
+    /**
+     * The system property to set the time to establish a connection to the origin of a pdf file, in
+     * milliseconds.
+     */
+    private static final String FETCH_CONNECT_TIMEOUT_PROPERTY = "pdfact.api.fetch.connectTimeout";
+
+    /**
+     * The system property to set the time to wait for data from the origin of a pdf file, in
+     * milliseconds.
+     */
+    private static final String FETCH_READ_TIMEOUT_PROPERTY = "pdfact.api.fetch.readTimeout";
+
+    /**
+     * The system property to set the total time of the download of a pdf file, in milliseconds.
+     */
+    private static final String FETCH_TIMEOUT_PROPERTY = "pdfact.api.fetch.timeout";
+
+    /**
+     * The system property to set the maximum number of concurrent downloads per host (and the number
+     * of idle connections per host kept alive for reuse).
+     */
+    private static final String FETCH_MAX_CONNECTIONS_PER_HOST_PROPERTY = "pdfact.api.fetch.maxConnectionsPerHost";
+
+    /**
+     * The system property to set the maximum number of redirects to follow on downloading a pdf file.
+     */
+    private static final String FETCH_MAX_REDIRECTS_PROPERTY = "pdfact.api.fetch.maxRedirects";
+
+    /**
+     * The system property of the JDK to set the number of idle connections per host kept alive.
+     */
+    private static final String KEEP_ALIVE_CONNECTIONS_PROPERTY = "http.maxConnections";
+
+    // ==============================================================================================
+
+    /**
+     * Start the API: configure the services by the system properties and register the routes of
+     * the parsing, the batches, the jobs and the statistics.
+     *
+     * @param args: The command line arguments (unused).
+     */
     public static void main(String[] args) {
-        PdfService pdfService = new PdfService();
+        // Handle the requests by a large pool of threads, which mostly wait for I/O, while the CPU-bound
+        // parsing is limited to a few of them at a time by the admission controller.
+        int ioThreads = Integer.getInteger(IO_THREADS_PROPERTY, DEFAULT_IO_THREADS);
+        threadPool(ioThreads, Math.min(8, ioThreads), IO_THREAD_IDLE_TIMEOUT_MILLIS);
+
+        AdmissionController admissionController = new AdmissionController(
+                Integer.getInteger(EXTRACTION_PERMITS_PROPERTY, AdmissionController.DEFAULT_PERMITS),
+                Long.getLong(EXTRACTION_TIMEOUT_PROPERTY, AdmissionController.DEFAULT_TIMEOUT_MILLIS),
+                Long.getLong(EXTRACTION_MAX_BUFFERED_BYTES_PROPERTY, AdmissionController.DEFAULT_MAX_BUFFERED_BYTES));
+        long maxPdfSize = Long.getLong(MAX_PDF_SIZE_PROPERTY, PdfService.DEFAULT_MAX_PDF_SIZE);
+        PdfService pdfService = new PdfService(maxPdfSize, createCache(), admissionController, createFetcher(),
+                createPageExecutor());
         Gson gson = new GsonBuilder().disableHtmlEscaping().create();
 
-        post("/api/pdf/parse", (request, response) -> parsePdf(request, response, pdfService, gson), gson::toJson);
+        PdfBatchService pdfBatchService = new PdfBatchService(
+                Integer.getInteger(BATCH_THREADS_PROPERTY, PdfBatchService.DEFAULT_NUM_THREADS),
+                Integer.getInteger(BATCH_MAX_DOCUMENTS_PROPERTY, PdfBatchService.DEFAULT_MAX_DOCUMENTS),
+                Integer.getInteger(BATCH_CONCURRENCY_PROPERTY, PdfBatchService.DEFAULT_CONCURRENCY));
+        PdfJobService pdfJobService = new PdfJobService(
+                Integer.getInteger(JOBS_WORKERS_PROPERTY, PdfJobService.DEFAULT_NUM_WORKERS),
+                Integer.getInteger(JOBS_QUEUE_CAPACITY_PROPERTY, PdfJobService.DEFAULT_QUEUE_CAPACITY),
+                Long.getLong(JOBS_RETENTION_PROPERTY, PdfJobService.DEFAULT_RETENTION_SECONDS),
+                Integer.getInteger(JOBS_MAX_RETAINED_JOBS_PROPERTY, PdfJobService.DEFAULT_MAX_RETAINED_JOBS),
+                Long.getLong(JOBS_MAX_RETAINED_BYTES_PROPERTY, PdfJobService.DEFAULT_MAX_RETAINED_BYTES));
+
+        new ParseRoutes(pdfService, gson).register();
+        new BatchRoutes(pdfService, pdfBatchService, gson).register();
+        new JobRoutes(pdfService, pdfJobService, gson).register();
+        new StatisticsRoutes(pdfService, gson).register();
     }
 
-    private static Object parsePdf(Request request, Response response, PdfService pdfService, Gson gson) {
-        String body = request.body();
-        RequestPayload requestPayload = gson.fromJson(body, RequestPayload.class);
+    /**
+     * Create the worker pool that processes the pages of the pdf files in parallel, as configured by
+     * the system properties. The pool is dedicated to the parsing, so that it neither competes with
+     * other work for the common fork/join pool, nor grows with the number of requests.
+     *
+     * @return: The worker pool.
+     */
+    private static ExecutorService createPageExecutor() {
+        int numThreads = Math.max(1, Integer.getInteger(EXTRACTION_PAGE_THREADS_PROPERTY,
+                Runtime.getRuntime().availableProcessors()));
+        AtomicInteger threadIndex = new AtomicInteger();
+        return new ThreadPoolExecutor(numThreads, numThreads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "pdfact-page-worker-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
 
-        if (requestPayload == null || requestPayload.getUrl() == null || requestPayload.getUrl().isEmpty()) {
-            response.status(400);
-            JsonObject errorResponse = new JsonObject();
-            errorResponse.addProperty("error", "File url is required");
-            return errorResponse;
+    /**
+     * Create the fetcher of the pdf files given by urls, as configured by the system properties.
+     *
+     * @return: The fetcher.
+     */
+    private static PdfFetcher createFetcher() {
+        int maxConnectionsPerHost = Integer.getInteger(FETCH_MAX_CONNECTIONS_PER_HOST_PROPERTY,
+                PdfFetcher.DEFAULT_MAX_CONNECTIONS_PER_HOST);
+        // Keep as many idle connections per host alive as there can be concurrent downloads (the JDK
+        // reads this property on the first connection, so it must be set before).
+        if (System.getProperty(KEEP_ALIVE_CONNECTIONS_PROPERTY) == null) {
+            System.setProperty(KEEP_ALIVE_CONNECTIONS_PROPERTY, String.valueOf(maxConnectionsPerHost));
         }
+        return new PdfFetcher(
+                Integer.getInteger(FETCH_CONNECT_TIMEOUT_PROPERTY, PdfFetcher.DEFAULT_CONNECT_TIMEOUT_MILLIS),
+                Integer.getInteger(FETCH_READ_TIMEOUT_PROPERTY, PdfFetcher.DEFAULT_READ_TIMEOUT_MILLIS),
+                Long.getLong(FETCH_TIMEOUT_PROPERTY, PdfFetcher.DEFAULT_TIMEOUT_MILLIS),
+                maxConnectionsPerHost,
+                Integer.getInteger(FETCH_MAX_REDIRECTS_PROPERTY, PdfFetcher.DEFAULT_MAX_REDIRECTS));
+    }
 
-        JsonObject jsonResult;
-
-        try {
-            String jsonString = pdfService.parsePdf(requestPayload.getUrl(), requestPayload.getUnit(), requestPayload.getRoles());
-            jsonResult = gson.fromJson(jsonString, JsonObject.class);
-            response.status(200);
-        } catch (IllegalArgumentException e) {
-            response.status(422);
-            jsonResult = new JsonObject();
-            jsonResult.addProperty("error", "Illegal arguments. " + e.getMessage());
-        } catch (IOException e) {
-            response.status(400);
-            jsonResult = new JsonObject();
-            jsonResult.addProperty("error", "An error occurred while downloading the pdf file. " + e.getMessage());
-        } catch (PdfActException e) {
-            response.status(500);
-            jsonResult = new JsonObject();
-            jsonResult.addProperty("error", "An error occurred while processing the pdf file.");
+    /**
+     * Create the cache of serializations, as configured by the system properties.
+     *
+     * @return: The cache, or null if both tiers are disabled.
+     */
+    private static SerializationCache createCache() {
+        long memorySize = Long.getLong(CACHE_MEMORY_SIZE_PROPERTY, PdfActCliSettings.DEFAULT_CACHE_MEMORY_BYTES);
+        String dir = System.getProperty(CACHE_DIR_PROPERTY);
+        long diskSize = Long.getLong(CACHE_DISK_SIZE_PROPERTY, PdfActCliSettings.DEFAULT_CACHE_DISK_BYTES);
+        if (memorySize <= 0 && dir == null) {
+            return null;
         }
-        return jsonResult;
+        return new SerializationCache(memorySize, dir != null ? Paths.get(dir) : null, diskSize);
     }
 }
-
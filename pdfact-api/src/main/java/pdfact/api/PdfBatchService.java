@@ -0,0 +1,279 @@
+package pdfact.api;
+
+import pdfact.api.model.Timing;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The service to parse the pdf files of a batch concurrently. The downloads and uploads of the pdf
+ * files are read by a pool of threads shared by all batches, while the parsing is limited by the
+ * admission control of the {@link PdfService}. Each batch has at most a fixed number of pdf files in
+ * the pool at the same time, so that a large batch can't queue up all of its pdf files ahead of the
+ * pdf files of other batches. The results are passed on as soon as the pdf files are done, so that
+ * the total time of a batch approaches the time of its slowest pdf file rather than the sum of the
+ * times of all pdf files.
+ */
+public class PdfBatchService {
+
+    /**
+     * The default number of threads that process the pdf files of the batches.
+     */
+    public static final int DEFAULT_NUM_THREADS = 32;
+
+    /**
+     * The default maximum number of pdf files of a batch.
+     */
+    public static final int DEFAULT_MAX_DOCUMENTS = 100;
+
+    /**
+     * The default maximum number of pdf files of a batch processed at the same time.
+     */
+    public static final int DEFAULT_CONCURRENCY = 8;
+
+    /**
+     * The executor that processes the pdf files.
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * The maximum number of pdf files of a batch.
+     */
+    private final int maxDocuments;
+
+    /**
+     * The maximum number of pdf files of a batch processed at the same time.
+     */
+    private final int concurrency;
+
+    // ==============================================================================================
+
+    /**
+     * Create a new batch service.
+     *
+     * @param numThreads:   The number of threads that process the pdf files of the batches.
+     * @param maxDocuments: The maximum number of pdf files of a batch.
+     * @param concurrency:  The maximum number of pdf files of a batch processed at the same time.
+     */
+    public PdfBatchService(int numThreads, int maxDocuments, int concurrency) {
+        this.maxDocuments = maxDocuments;
+        this.concurrency = Math.max(1, concurrency);
+
+        int n = Math.max(1, numThreads);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(n, n, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "pdfact-batch-worker-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Run the given actions concurrently (at most the configured number at the same time) and pass
+     * their results to the given consumer as soon as they are done, in the order in which they finish.
+     * Returns when all results are passed on. If the consumer fails (e.g., because the client is gone),
+     * no further actions are started and the actions that are not done yet are cancelled.
+     *
+     * @param actions:  The actions that parse the pdf files and write their serializations to a stream.
+     * @param reading:  The description of how the pdf files are read, for error messages (e.g., "downloading").
+     * @param consumer: The consumer of the results, called by the threads that ran the actions, one
+     *                  result at a time.
+     * @throws IOException: If the consumer fails, or the calling thread is interrupted.
+     */
+    public void process(List<ParseAction> actions, String reading, ResultConsumer consumer) throws IOException {
+        Semaphore slots = new Semaphore(concurrency);
+        Object lock = new Object();
+        AtomicReference<IOException> failure = new AtomicReference<>();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < actions.size() && failure.get() == null; i++) {
+                slots.acquire();
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    try {
+                        Result result = run(index, actions.get(index), reading);
+                        synchronized (lock) {
+                            if (failure.get() == null) {
+                                consumer.accept(result);
+                            }
+                        }
+                    } catch (IOException e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        slots.release();
+                    }
+                }));
+            }
+            if (failure.get() == null) {
+                // Wait until the running actions are done (each one releases its slot, also on failure).
+                slots.acquire(concurrency);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the pdf files of the batch.");
+        } finally {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    /**
+     * Run a single action.
+     *
+     * @param index:   The index of the pdf file in the batch.
+     * @param action:  The action that parses the pdf file and writes its serialization to a stream.
+     * @param reading: The description of how the pdf file is read, for error messages.
+     * @return: The result.
+     */
+    private static Result run(int index, ParseAction action, String reading) {
+        long start = System.nanoTime();
+        Timing timing = new Timing();
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            action.parse(out, timing);
+            return new Result(index, 200, null, out.toByteArray(), timing, start);
+        } catch (Exception e) {
+            ApiError error = ApiError.of(e, reading);
+            return new Result(index, error.getStatus(), error.getMessage(), null, timing, start);
+        } catch (Throwable t) {
+            // E.g., an OutOfMemoryError on a malicious pdf file, which must not drop the line of the file.
+            return new Result(index, 500, "An unexpected error occurred.", null, timing, start);
+        }
+    }
+
+    /**
+     * Return the maximum number of pdf files of a batch.
+     *
+     * @return: The maximum number of pdf files.
+     */
+    public int getMaxDocuments() {
+        return maxDocuments;
+    }
+
+    /**
+     * Return the maximum number of pdf files of a batch processed at the same time.
+     *
+     * @return: The maximum number of pdf files processed at the same time.
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Stop accepting new batches. The pdf files in progress are still processed.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // ==============================================================================================
+
+    /**
+     * The result of a single pdf file of a batch.
+     */
+    public static class Result {
+        /**
+         * The index of the pdf file in the batch.
+         */
+        private final int index;
+
+        /**
+         * The http status code.
+         */
+        private final int status;
+
+        /**
+         * The error message (null if the pdf file was parsed successfully).
+         */
+        private final String errorMessage;
+
+        /**
+         * The serialization of the pdf file (null if the pdf file couldn't be parsed).
+         */
+        private final byte[] serialization;
+
+        /**
+         * The timing of the phases of the processing of the pdf file.
+         */
+        private final Timing timing;
+
+        /**
+         * The time it took to process the pdf file, in milliseconds.
+         */
+        private final long millis;
+
+        /**
+         * Create a new result.
+         *
+         * @param index:         The index of the pdf file in the batch.
+         * @param status:        The http status code.
+         * @param errorMessage:  The error message (null if the pdf file was parsed successfully).
+         * @param serialization: The serialization of the pdf file (null if it couldn't be parsed).
+         * @param timing:        The timing of the phases of the processing of the pdf file.
+         * @param startNanos:    The value of System.nanoTime() at which the processing started.
+         */
+        private Result(int index, int status, String errorMessage, byte[] serialization, Timing timing,
+                       long startNanos) {
+            this.index = index;
+            this.status = status;
+            this.errorMessage = errorMessage;
+            this.serialization = serialization;
+            this.timing = timing;
+            this.millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getErrorMessage() {
+            return errorMessage;
+        }
+
+        public byte[] getSerialization() {
+            return serialization;
+        }
+
+        public Timing getTiming() {
+            return timing;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+    }
+
+    /**
+     * A consumer of the results of a batch.
+     */
+    @FunctionalInterface
+    public interface ResultConsumer {
+        /**
+         * Consume the given result.
+         *
+         * @param result: The result.
+         * @throws IOException: If the result couldn't be consumed (e.g., written to the client).
+         */
+        void accept(Result result) throws IOException;
+    }
+}
@@ -0,0 +1,443 @@
+package pdfact.api;
+
+import pdfact.core.util.io.LimitedInputStream;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The fetcher of pdf files given by http(s) urls. Compared to reading from URL.openStream(), it
+ * limits the time to connect, the time to wait for data and the total time of a download, rejects
+ * files whose announced size exceeds the maximum size, follows a limited number of redirects (but
+ * never from https to http), and limits the number of concurrent downloads per host, so that a slow
+ * or hung origin can't tie up the threads of the server. The connections are kept alive and reused
+ * by the connection cache of the JDK (whose size per host is given by the system property
+ * "http.maxConnections") when a body is read completely.
+ */
+public class PdfFetcher {
+
+    /**
+     * The default time to establish a connection, in milliseconds.
+     */
+    public static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 10_000;
+
+    /**
+     * The default time to wait for data from a connection, in milliseconds.
+     */
+    public static final int DEFAULT_READ_TIMEOUT_MILLIS = 30_000;
+
+    /**
+     * The default total time of a download, in milliseconds.
+     */
+    public static final long DEFAULT_TIMEOUT_MILLIS = 120_000;
+
+    /**
+     * The default maximum number of concurrent downloads per host.
+     */
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 8;
+
+    /**
+     * The default maximum number of redirects to follow.
+     */
+    public static final int DEFAULT_MAX_REDIRECTS = 5;
+
+    /**
+     * The time to establish a connection, in milliseconds.
+     */
+    private final int connectTimeoutMillis;
+
+    /**
+     * The time to wait for data from a connection, in milliseconds.
+     */
+    private final int readTimeoutMillis;
+
+    /**
+     * The total time of a download, in milliseconds.
+     */
+    private final long timeoutMillis;
+
+    /**
+     * The maximum number of concurrent downloads per host.
+     */
+    private final int maxConnectionsPerHost;
+
+    /**
+     * The maximum number of redirects to follow.
+     */
+    private final int maxRedirects;
+
+    /**
+     * The number of running downloads per host (only hosts with running downloads are contained).
+     */
+    private final Map<String, Integer> numConnections = new HashMap<>();
+
+    // ==============================================================================================
+
+    /**
+     * Create a new fetcher.
+     *
+     * @param connectTimeoutMillis:  The time to establish a connection, in milliseconds.
+     * @param readTimeoutMillis:     The time to wait for data from a connection, in milliseconds.
+     * @param timeoutMillis:         The total time of a download (including the waiting for a free
+     *                               connection to the host), in milliseconds.
+     * @param maxConnectionsPerHost: The maximum number of concurrent downloads per host.
+     * @param maxRedirects:          The maximum number of redirects to follow.
+     */
+    public PdfFetcher(int connectTimeoutMillis, int readTimeoutMillis, long timeoutMillis,
+                      int maxConnectionsPerHost, int maxRedirects) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.readTimeoutMillis = readTimeoutMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.maxConnectionsPerHost = Math.max(1, maxConnectionsPerHost);
+        this.maxRedirects = maxRedirects;
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Open a stream to read the pdf file at the given url from. The connection to the host is held
+     * until the stream is read completely or closed.
+     *
+     * @param fileUrl:  The url of the pdf file (http or https).
+     * @param maxBytes: The maximum size of the pdf file, in bytes. A file whose announced size exceeds
+     *                  this size is rejected up front; the size of the read data is not checked.
+     * @return: The stream to read the pdf file from, which must be closed.
+     * @throws FetchException: If the url is invalid, the origin doesn't answer with the pdf file, or
+     *                         the download times out.
+     * @throws LimitedInputStream.LimitExceededException: If the announced size exceeds the maximum size.
+     * @throws IOException: If connecting to or reading from the origin goes wrong.
+     */
+    public InputStream open(String fileUrl, long maxBytes) throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        URL url = toHttpUrl(fileUrl);
+
+        int numRedirects = 0;
+        while (true) {
+            String host = getHostKey(url);
+            acquire(host, deadline);
+            HttpURLConnection connection = null;
+            boolean opened = false;
+            try {
+                connection = (HttpURLConnection) url.openConnection();
+                connection.setConnectTimeout(connectTimeoutMillis);
+                connection.setReadTimeout(readTimeoutMillis);
+                connection.setInstanceFollowRedirects(false);
+                connection.setRequestProperty("Accept", "application/pdf, */*");
+
+                int status = connection.getResponseCode();
+                if (isRedirect(status)) {
+                    String location = connection.getHeaderField("Location");
+                    discard(connection);
+                    url = getRedirectTarget(url, location, numRedirects);
+                    numRedirects++;
+                    continue;
+                }
+                if (status < 200 || status >= 300) {
+                    discard(connection);
+                    throw new FetchException(400, "The url answered with the status " + status + ".");
+                }
+                if (connection.getContentLengthLong() > maxBytes) {
+                    connection.disconnect();
+                    throw new LimitedInputStream.LimitExceededException(maxBytes);
+                }
+
+                InputStream body = new FetchStream(connection, host, deadline);
+                opened = true;
+                return body;
+            } catch (SocketTimeoutException e) {
+                if (connection != null) {
+                    connection.disconnect();
+                }
+                throw timedOut(url);
+            } finally {
+                if (!opened) {
+                    release(host);
+                }
+            }
+        }
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Parse the given url and check that it is an http(s) url.
+     *
+     * @param fileUrl: The url.
+     * @return: The parsed url.
+     * @throws FetchException: If the url is malformed or not an http(s) url.
+     */
+    private static URL toHttpUrl(String fileUrl) throws FetchException {
+        URL url;
+        try {
+            url = new URL(fileUrl);
+        } catch (MalformedURLException e) {
+            throw new FetchException(400, "The url is malformed. " + e.getMessage());
+        }
+        if (!"http".equals(url.getProtocol()) && !"https".equals(url.getProtocol())) {
+            throw new FetchException(400, "Only http and https urls are supported.");
+        }
+        return url;
+    }
+
+    /**
+     * Return the target of a redirect, if it may be followed.
+     *
+     * @param url:          The redirecting url.
+     * @param location:     The value of the Location header.
+     * @param numRedirects: The number of redirects followed so far.
+     * @return: The target of the redirect.
+     * @throws FetchException: If the redirect may not be followed.
+     */
+    URL getRedirectTarget(URL url, String location, int numRedirects) throws FetchException {
+        if (location == null) {
+            throw new FetchException(400, "The url redirects without a location.");
+        }
+        if (numRedirects >= maxRedirects) {
+            throw new FetchException(400, "The url redirects more than " + maxRedirects + " times.");
+        }
+        URL target;
+        try {
+            // The location may be relative to the redirecting url.
+            target = toHttpUrl(new URL(url, location).toString());
+        } catch (MalformedURLException e) {
+            throw new FetchException(400, "The url redirects to a malformed url. " + e.getMessage());
+        }
+        if ("https".equals(url.getProtocol()) && "http".equals(target.getProtocol())) {
+            throw new FetchException(400, "The url redirects from https to http.");
+        }
+        return target;
+    }
+
+    /**
+     * Check if the given status is the status of a redirect to follow.
+     *
+     * @param status: The http status code.
+     * @return: True if the status is the status of a redirect.
+     */
+    private static boolean isRedirect(int status) {
+        return status == 301 || status == 302 || status == 303 || status == 307 || status == 308;
+    }
+
+    /**
+     * Read and discard the (error) body of the given connection, so that the connection can be reused.
+     *
+     * @param connection: The connection.
+     */
+    private static void discard(HttpURLConnection connection) {
+        try (InputStream in = connection.getErrorStream() != null ? connection.getErrorStream() : connection.getInputStream()) {
+            in.readNBytes(64 * 1024);
+        } catch (IOException e) {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * Create the exception of a timed-out download.
+     *
+     * @param url: The url of the download.
+     * @return: The exception.
+     */
+    private static FetchException timedOut(URL url) {
+        return new FetchException(504, "Timed out while downloading the pdf file from " + url.getHost() + ".");
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Return the key of the host of the given url, to count the downloads per host with.
+     *
+     * @param url: The url.
+     * @return: The key of the host.
+     */
+    private static String getHostKey(URL url) {
+        int port = url.getPort() != -1 ? url.getPort() : url.getDefaultPort();
+        return url.getProtocol() + "://" + url.getHost().toLowerCase() + ":" + port;
+    }
+
+    /**
+     * Wait until there are less than the maximum number of downloads from the given host and count a
+     * new download.
+     *
+     * @param host:     The key of the host.
+     * @param deadline: The value of System.nanoTime() at which to stop waiting.
+     * @throws FetchException: If the deadline passed before a download could be started (503).
+     */
+    private synchronized void acquire(String host, long deadline) throws FetchException {
+        try {
+            while (numConnections.getOrDefault(host, 0) >= maxConnectionsPerHost) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    throw new FetchException(503, "Too many concurrent downloads from the host of the url.");
+                }
+                wait(remainingMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FetchException(503, "Interrupted while waiting for a connection to the host of the url.");
+        }
+        numConnections.merge(host, 1, Integer::sum);
+    }
+
+    /**
+     * Count a finished download from the given host.
+     *
+     * @param host: The key of the host.
+     */
+    private synchronized void release(String host) {
+        numConnections.computeIfPresent(host, (key, num) -> num > 1 ? num - 1 : null);
+        notifyAll();
+    }
+
+    // ==============================================================================================
+
+    /**
+     * The stream of the body of a download, which enforces the total time of the download and counts
+     * the download as finished when the body is read completely or the stream is closed.
+     */
+    private class FetchStream extends FilterInputStream {
+        /**
+         * The connection of the download.
+         */
+        private final HttpURLConnection connection;
+
+        /**
+         * The key of the host of the download.
+         */
+        private final String host;
+
+        /**
+         * The value of System.nanoTime() at which the download times out.
+         */
+        private final long deadline;
+
+        /**
+         * Whether the body was read completely.
+         */
+        private boolean complete;
+
+        /**
+         * Whether the download was counted as finished.
+         */
+        private boolean released;
+
+        /**
+         * Create a new stream of the body of the given connection.
+         *
+         * @param connection: The connection of the download.
+         * @param host:       The key of the host of the download.
+         * @param deadline:   The value of System.nanoTime() at which the download times out.
+         * @throws IOException: If the body couldn't be opened.
+         */
+        private FetchStream(HttpURLConnection connection, String host, long deadline) throws IOException {
+            super(connection.getInputStream());
+            this.connection = connection;
+            this.host = host;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public int read() throws IOException {
+            checkDeadline();
+            try {
+                int b = super.read();
+                if (b == -1) {
+                    finish(true);
+                }
+                return b;
+            } catch (SocketTimeoutException e) {
+                throw timedOut(connection.getURL());
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            checkDeadline();
+            try {
+                int n = super.read(b, off, len);
+                if (n == -1) {
+                    finish(true);
+                }
+                return n;
+            } catch (SocketTimeoutException e) {
+                throw timedOut(connection.getURL());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish(false);
+        }
+
+        /**
+         * Throw an exception if the download timed out. As every single read is limited by the read
+         * timeout, a download takes at most the total time plus the read timeout.
+         *
+         * @throws FetchException: If the download timed out.
+         */
+        private void checkDeadline() throws FetchException {
+            if (System.nanoTime() - deadline > 0) {
+                throw timedOut(connection.getURL());
+            }
+        }
+
+        /**
+         * Close the body and count the download as finished. The connection is kept alive only if the
+         * body was read completely.
+         *
+         * @param complete: Whether the body was read completely.
+         * @throws IOException: If closing the body goes wrong.
+         */
+        private void finish(boolean complete) throws IOException {
+            this.complete |= complete;
+            if (released) {
+                return;
+            }
+            released = true;
+            try {
+                if (this.complete) {
+                    in.close();
+                } else {
+                    connection.disconnect();
+                }
+            } finally {
+                release(host);
+            }
+        }
+    }
+
+    /**
+     * The exception thrown if a pdf file couldn't be fetched, with the http status code to answer the
+     * request with.
+     */
+    public static class FetchException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The http status code.
+         */
+        private final int status;
+
+        /**
+         * Create a new exception.
+         *
+         * @param status:  The http status code.
+         * @param message: The error message.
+         */
+        public FetchException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package pdfact.api;
+
+import pdfact.api.model.Job;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The service to parse pdf files asynchronously: the jobs wait in a bounded queue until one of a
+ * fixed number of workers processes them. When the queue is full, new jobs are rejected instead of
+ * piling up, so that a burst of requests can't exhaust the threads and the memory of the server.
+ * The results of finished jobs are kept for a limited time, and only as long as they don't exceed a
+ * maximum number of jobs and bytes; beyond that, the results that finished first are dropped.
+ */
+public class PdfJobService {
+
+    /**
+     * The default number of workers.
+     */
+    public static final int DEFAULT_NUM_WORKERS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The default capacity of the queue.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    /**
+     * The default time to keep the results of finished jobs, in seconds.
+     */
+    public static final long DEFAULT_RETENTION_SECONDS = 600;
+
+    /**
+     * The default maximum number of finished jobs to keep.
+     */
+    public static final int DEFAULT_MAX_RETAINED_JOBS = 1000;
+
+    /**
+     * The default maximum total size of the results of the finished jobs to keep, in bytes.
+     */
+    public static final long DEFAULT_MAX_RETAINED_BYTES = 256L * 1024 * 1024;
+
+    /**
+     * The maximum interval between two removals of the expired jobs, in seconds.
+     */
+    private static final long MAX_EXPIRY_INTERVAL_SECONDS = 60;
+
+    /**
+     * The weight of the latest processing time in the moving average of the processing times.
+     */
+    private static final double PROCESSING_TIME_WEIGHT = 0.2;
+
+    /**
+     * The executor that runs the jobs.
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * The number of workers.
+     */
+    private final int numWorkers;
+
+    /**
+     * The executor that removes the expired jobs periodically.
+     */
+    private final ScheduledExecutorService expiryExecutor;
+
+    /**
+     * The time to keep the results of finished jobs, in nanoseconds.
+     */
+    private final long retentionNanos;
+
+    /**
+     * The maximum number of finished jobs to keep.
+     */
+    private final int maxRetainedJobs;
+
+    /**
+     * The maximum total size of the results of the finished jobs to keep, in bytes.
+     */
+    private final long maxRetainedBytes;
+
+    /**
+     * The jobs that are queued, running, or finished within the retention time, per id.
+     */
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * The finished jobs that are kept, per id, in the order in which they finished. Guarded by this
+     * service.
+     */
+    private final LinkedHashMap<String, Job> finishedJobs = new LinkedHashMap<>();
+
+    /**
+     * The total size of the results of the finished jobs that are kept, in bytes. Guarded by this
+     * service.
+     */
+    private long retainedBytes;
+
+    /**
+     * The moving average of the processing times of the jobs, in milliseconds.
+     */
+    private volatile double avgProcessingMillis;
+
+    // ==============================================================================================
+
+    /**
+     * Create a new job service.
+     *
+     * @param numWorkers:       The number of workers.
+     * @param queueCapacity:    The maximum number of jobs waiting in the queue.
+     * @param retentionSeconds: The time to keep the results of finished jobs, in seconds.
+     * @param maxRetainedJobs:  The maximum number of finished jobs to keep.
+     * @param maxRetainedBytes: The maximum total size of the results of the finished jobs to keep, in bytes.
+     */
+    public PdfJobService(int numWorkers, int queueCapacity, long retentionSeconds, int maxRetainedJobs,
+                         long maxRetainedBytes) {
+        this.numWorkers = Math.max(1, numWorkers);
+        this.retentionNanos = TimeUnit.SECONDS.toNanos(retentionSeconds);
+        this.maxRetainedJobs = Math.max(1, maxRetainedJobs);
+        this.maxRetainedBytes = maxRetainedBytes;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.numWorkers, this.numWorkers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "pdfact-job-worker-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.expiryExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pdfact-job-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, Math.min(retentionSeconds, MAX_EXPIRY_INTERVAL_SECONDS));
+        this.expiryExecutor.scheduleWithFixedDelay(this::removeExpiredJobs, interval, interval, TimeUnit.SECONDS);
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Submit a job that runs the given action.
+     *
+     * @param action: The action that parses the pdf file and writes its serialization to a stream.
+     * @param reading: The description of how the pdf file is read, for error messages (e.g., "downloading").
+     * @return: The submitted job.
+     * @throws RejectedExecutionException: If the queue is full.
+     */
+    public Job submit(ParseAction action, String reading) throws RejectedExecutionException {
+        Job job = new Job(UUID.randomUUID().toString());
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, action, reading));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+        return job;
+    }
+
+    /**
+     * Return the job with the given id.
+     *
+     * @param id: The id of the job.
+     * @return: The job, or null if there is no such job (or its result has expired or was dropped).
+     */
+    public Job getJob(String id) {
+        Job job = jobs.get(id);
+        if (job != null && isExpired(job, System.nanoTime())) {
+            forget(job);
+            return null;
+        }
+        return job;
+    }
+
+    /**
+     * Remove the finished job with the given id, together with its result.
+     *
+     * @param id: The id of the job.
+     * @return: The removed job, or null if there is no such job or the job is not finished.
+     */
+    public Job removeJob(String id) {
+        Job job = jobs.get(id);
+        if (job == null || !job.isDone()) {
+            return null;
+        }
+        return forget(job) ? job : null;
+    }
+
+    /**
+     * Estimate the number of seconds after which a rejected job could be accepted, from the number
+     * of queued jobs, the number of workers and the average processing time.
+     *
+     * @return: The estimated number of seconds (at least 1).
+     */
+    public long estimateRetryAfterSeconds() {
+        double queued = executor.getQueue().size() + 1;
+        double millis = queued * avgProcessingMillis / numWorkers;
+        return Math.max(1, (long) Math.ceil(millis / 1000));
+    }
+
+    /**
+     * Return the number of jobs waiting in the queue.
+     *
+     * @return: The number of queued jobs.
+     */
+    public int getNumQueuedJobs() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Return the number of finished jobs that are kept.
+     *
+     * @return: The number of finished jobs.
+     */
+    public synchronized int getNumRetainedJobs() {
+        return finishedJobs.size();
+    }
+
+    /**
+     * Return the total size of the results of the finished jobs that are kept.
+     *
+     * @return: The total size of the results, in bytes.
+     */
+    public synchronized long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    /**
+     * Stop accepting jobs and let the workers finish the queued jobs.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        expiryExecutor.shutdownNow();
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Run the given job.
+     *
+     * @param job:     The job.
+     * @param action:  The action that parses the pdf file and writes its serialization to a stream.
+     * @param reading: The description of how the pdf file is read, for error messages.
+     */
+    private void run(Job job, ParseAction action, String reading) {
+        job.start();
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            action.parse(out, job.getTiming());
+            job.succeed(out.toByteArray());
+        } catch (Exception e) {
+            ApiError error = ApiError.of(e, reading);
+            job.fail(error.getStatus(), error.getMessage());
+        } catch (Throwable t) {
+            // E.g., an OutOfMemoryError or a StackOverflowError on a malicious pdf file. The job must be
+            // finished anyway, as it would be polled forever otherwise.
+            job.fail(500, "An unexpected error occurred.");
+        }
+        double millis = job.getProcessingMillis();
+        synchronized (this) {
+            double avg = avgProcessingMillis;
+            avgProcessingMillis = avg == 0 ? millis : (1 - PROCESSING_TIME_WEIGHT) * avg + PROCESSING_TIME_WEIGHT * millis;
+            retain(job);
+        }
+    }
+
+    /**
+     * Keep the given finished job, and drop the jobs that finished first while the finished jobs
+     * exceed the maximum number of jobs or bytes.
+     *
+     * @param job: The finished job.
+     */
+    private synchronized void retain(Job job) {
+        if (!jobs.containsKey(job.getId())) {
+            // The job was removed by its client meanwhile.
+            return;
+        }
+        finishedJobs.put(job.getId(), job);
+        retainedBytes += getResultSize(job);
+
+        Iterator<Job> itr = finishedJobs.values().iterator();
+        while (itr.hasNext() && (finishedJobs.size() > maxRetainedJobs || retainedBytes > maxRetainedBytes)) {
+            Job dropped = itr.next();
+            itr.remove();
+            retainedBytes -= getResultSize(dropped);
+            jobs.remove(dropped.getId());
+        }
+    }
+
+    /**
+     * Remove the given job, together with its result.
+     *
+     * @param job: The job.
+     * @return: True if the job was removed; false if it was already removed.
+     */
+    private synchronized boolean forget(Job job) {
+        if (finishedJobs.remove(job.getId()) != null) {
+            retainedBytes -= getResultSize(job);
+        }
+        return jobs.remove(job.getId(), job);
+    }
+
+    /**
+     * Remove the finished jobs whose results have expired. As the finished jobs are kept in the order
+     * in which they finished, this stops at the first job that hasn't expired.
+     */
+    private synchronized void removeExpiredJobs() {
+        long now = System.nanoTime();
+        Iterator<Job> itr = finishedJobs.values().iterator();
+        while (itr.hasNext()) {
+            Job job = itr.next();
+            if (!isExpired(job, now)) {
+                break;
+            }
+            itr.remove();
+            retainedBytes -= getResultSize(job);
+            jobs.remove(job.getId());
+        }
+    }
+
+    /**
+     * Check if the result of the given job has expired.
+     *
+     * @param job: The job.
+     * @param now: The current time, as given by System.nanoTime().
+     * @return: True if the job is finished and its result has expired; false otherwise.
+     */
+    private boolean isExpired(Job job, long now) {
+        return job.isDone() && now - job.getFinishedNanos() > retentionNanos;
+    }
+
+    /**
+     * Return the size of the result of the given job.
+     *
+     * @param job: The job.
+     * @return: The size of the result in bytes, or 0 if the job has no result.
+     */
+    private static long getResultSize(Job job) {
+        return job.getResult() != null ? job.getResult().length : 0;
+    }
+}
@@ -0,0 +1,171 @@
+package pdfact.api;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import pdfact.api.model.RequestPayload;
+import spark.Request;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.Part;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static pdfact.api.ApiRequests.FILE_PART;
+import static pdfact.api.ApiRequests.deleteUpload;
+import static pdfact.api.ApiRequests.enableMultipart;
+import static pdfact.api.ApiRequests.getListParameter;
+import static pdfact.api.ApiRequests.spillUpload;
+
+/**
+ * A request to parse a pdf file.
+ */
+final class PdfRequest {
+
+    /**
+     * The description of how the pdf file is read, for error messages (e.g., "downloading").
+     */
+    final String reading;
+
+    /**
+     * The action that parses the pdf file and writes its serialization to a stream.
+     */
+    final ParseAction action;
+
+    /**
+     * The temporary file that holds the uploaded pdf file until the action is run, or null if there is
+     * no such file.
+     */
+    private final Path upload;
+
+    /**
+     * Create a new pdf request.
+     *
+     * @param reading: The description of how the pdf file is read, for error messages.
+     * @param action:  The action that parses the pdf file and writes its serialization to a stream.
+     */
+    private PdfRequest(String reading, ParseAction action) {
+        this(reading, action, null);
+    }
+
+    /**
+     * Create a new pdf request whose uploaded pdf file is held in a temporary file.
+     *
+     * @param reading: The description of how the pdf file is read, for error messages.
+     * @param action:  The action that parses the pdf file and deletes the temporary file.
+     * @param upload:  The temporary file, or null if there is no such file.
+     */
+    private PdfRequest(String reading, ParseAction action, Path upload) {
+        this.reading = reading;
+        this.action = action;
+        this.upload = upload;
+    }
+
+    /**
+     * Delete the temporary file of the uploaded pdf file, for a request whose action is never run
+     * (e.g., because the job was rejected).
+     */
+    void discard() {
+        if (upload != null) {
+            deleteUpload(upload);
+        }
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Read the pdf file to parse from the request. The pdf file is given either as the body of the
+     * request (with the content type application/pdf or application/octet-stream), as the part "file"
+     * of a multipart upload, or by an url in a json payload. For the first two, the units and roles are
+     * given by the (repeatable or comma-separated) parameters "unit" and "roles".
+     *
+     * @param request:    The request.
+     * @param pdfService: The service to parse the pdf file with.
+     * @param gson:       The gson instance to parse the payload with.
+     * @param detached:   True if the pdf file is parsed after the request is done, in which case an
+     *                    uploaded file is copied to a temporary file, which is deleted when the action
+     *                    is run (or the request is discarded); false if it is parsed while it is received.
+     * @return: The pdf request, with the action that parses the pdf file.
+     * @throws ApiError: If the request doesn't contain a (valid) pdf file.
+     */
+    static PdfRequest read(Request request, PdfService pdfService, Gson gson, boolean detached) throws ApiError {
+        HttpServletRequest raw = request.raw();
+        long maxPdfSize = pdfService.getMaxPdfSize();
+        String contentType = request.contentType() != null ? request.contentType().toLowerCase() : "";
+
+        if (contentType.startsWith("application/pdf") || contentType.startsWith("application/octet-stream")) {
+            if (raw.getContentLengthLong() > maxPdfSize) {
+                throw ApiError.tooLarge(maxPdfSize);
+            }
+            if (raw.getContentLengthLong() == 0) {
+                throw new ApiError(400, "File is required");
+            }
+            List<String> units = getListParameter(raw, "unit");
+            List<String> roles = getListParameter(raw, "roles");
+            if (detached) {
+                return detach(spillUpload(raw::getInputStream, maxPdfSize), pdfService, units, roles);
+            }
+            return new PdfRequest("reading", (out, timing) -> pdfService.parsePdf(raw.getInputStream(), units, roles, false, false, timing, out));
+        }
+
+        if (contentType.startsWith("multipart/form-data")) {
+            enableMultipart(raw, maxPdfSize, 1);
+            Part part;
+            try {
+                part = raw.getPart(FILE_PART);
+            } catch (IllegalStateException e) {
+                // Thrown by Jetty if the upload exceeds the maximum size.
+                throw ApiError.tooLarge(maxPdfSize);
+            } catch (IOException | ServletException e) {
+                throw new ApiError(400, "An error occurred while reading the upload. " + e.getMessage());
+            }
+            if (part == null || part.getSize() == 0) {
+                throw new ApiError(400, "File is required");
+            }
+            List<String> units = getListParameter(raw, "unit");
+            List<String> roles = getListParameter(raw, "roles");
+            if (detached) {
+                return detach(spillUpload(part::getInputStream, maxPdfSize), pdfService, units, roles);
+            }
+            return new PdfRequest("reading", (out, timing) -> {
+                try (InputStream in = part.getInputStream()) {
+                    pdfService.parsePdf(in, units, roles, false, false, timing, out);
+                }
+            });
+        }
+
+        RequestPayload requestPayload;
+        try {
+            requestPayload = gson.fromJson(request.body(), RequestPayload.class);
+        } catch (JsonParseException e) {
+            throw new ApiError(400, "Invalid payload. " + e.getMessage());
+        }
+        if (requestPayload == null || requestPayload.getUrl() == null || requestPayload.getUrl().isEmpty()) {
+            throw new ApiError(400, "File url is required");
+        }
+        return new PdfRequest("downloading", (out, timing) -> pdfService.parsePdf(requestPayload.getUrl(),
+                requestPayload.getUnit(), requestPayload.getRoles(), false, detached, timing, out));
+    }
+
+    /**
+     * Create the request to parse the given uploaded pdf file after the request is done.
+     *
+     * @param upload:     The temporary file that holds the uploaded pdf file.
+     * @param pdfService: The service to parse the pdf file with.
+     * @param units:      The units to extract.
+     * @param roles:      The semantic roles to extract.
+     * @return: The pdf request, with the action that parses the pdf file and deletes the temporary file.
+     */
+    private static PdfRequest detach(Path upload, PdfService pdfService, List<String> units, List<String> roles) {
+        return new PdfRequest("reading", (out, timing) -> {
+            try (InputStream in = Files.newInputStream(upload)) {
+                pdfService.parsePdf(in, units, roles, false, true, timing, out);
+            } finally {
+                deleteUpload(upload);
+            }
+        }, upload);
+    }
+}
@@ -1,23 +1,31 @@
 package pdfact.api;
 
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.ScratchFile;
+import pdfact.api.model.Timing;
 import pdfact.cli.PdfAct;
 import pdfact.cli.model.ExtractionUnit;
+import pdfact.cli.model.SerializationFormat;
 import pdfact.cli.pipes.serialize.PdfJsonSerializer;
+import pdfact.cli.util.cache.SerializationCache;
+import pdfact.core.PdfActCoreSettings;
 import pdfact.core.model.Document;
 import pdfact.core.model.SemanticRole;
 import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.io.LimitedInputStream;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 
 /**
@@ -26,19 +34,189 @@ import java.util.Set;
 public class PdfService {
 
     /**
-     * Download a pdf file and create a json representation of its content.
+     * The default maximum size of a pdf file, in bytes.
+     */
+    public static final long DEFAULT_MAX_PDF_SIZE = 100L * 1024 * 1024;
+
+    /**
+     * The maximum size of a pdf file, in bytes.
+     */
+    private final long maxPdfSize;
+
+    /**
+     * The cache of serializations (may be null).
+     */
+    private final SerializationCache cache;
+
+    /**
+     * The admission control of the parsing.
+     */
+    private final AdmissionController admissionController;
+
+    /**
+     * The fetcher of the pdf files given by urls.
+     */
+    private final PdfFetcher fetcher;
+
+    /**
+     * The worker pool to process the pages of the pdf files in parallel (null for the common
+     * fork/join pool).
+     */
+    private final ExecutorService pageExecutor;
+
+    /**
+     * Create a service that accepts pdf files up to the default maximum size, without a cache and
+     * with the default admission control and fetcher, processing the pages in the common fork/join pool.
+     */
+    public PdfService() {
+        this(DEFAULT_MAX_PDF_SIZE, null, new AdmissionController(AdmissionController.DEFAULT_PERMITS,
+                AdmissionController.DEFAULT_TIMEOUT_MILLIS), new PdfFetcher(PdfFetcher.DEFAULT_CONNECT_TIMEOUT_MILLIS,
+                PdfFetcher.DEFAULT_READ_TIMEOUT_MILLIS, PdfFetcher.DEFAULT_TIMEOUT_MILLIS,
+                PdfFetcher.DEFAULT_MAX_CONNECTIONS_PER_HOST, PdfFetcher.DEFAULT_MAX_REDIRECTS), null);
+    }
+
+    /**
+     * Create a service that accepts pdf files up to the given maximum size.
+     *
+     * @param maxPdfSize:          The maximum size of a pdf file, in bytes.
+     * @param cache:               The cache of serializations, keyed by the content of the pdf files and
+     *                             the requested units and roles (null for no cache).
+     * @param admissionController: The admission control that limits the number of pdf files parsed at
+     *                             the same time.
+     * @param fetcher:             The fetcher of the pdf files given by urls.
+     * @param pageExecutor:        The worker pool to process the pages of the pdf files in parallel,
+     *                             shared by all pdf files parsed at the same time (null for the common
+     *                             fork/join pool).
+     */
+    public PdfService(long maxPdfSize, SerializationCache cache, AdmissionController admissionController,
+                      PdfFetcher fetcher, ExecutorService pageExecutor) {
+        this.maxPdfSize = maxPdfSize;
+        this.cache = cache;
+        this.admissionController = admissionController;
+        this.fetcher = fetcher;
+        this.pageExecutor = pageExecutor;
+    }
+
+    /**
+     * Return the cache of serializations.
+     *
+     * @return: The cache of serializations, or null if there is no cache.
+     */
+    public SerializationCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Return the admission control of the parsing.
+     *
+     * @return: The admission control.
+     */
+    public AdmissionController getAdmissionController() {
+        return admissionController;
+    }
+
+    /**
+     * Return the maximum size of a pdf file accepted by this service.
+     *
+     * @return: The maximum size of a pdf file, in bytes.
+     */
+    public long getMaxPdfSize() {
+        return maxPdfSize;
+    }
+
+    /**
+     * Download a pdf file and write a json representation of its content to the given stream (see
+     * {@link #parsePdf(InputStream, List, List, OutputStream)}).
+     *
+     * @param fileUrl:       The url to access the pdf file.
+     * @param unitsSelected:  The unit to split text on (e.g., paragraphs, words, characters, etc.).
+     * @param rolesSelected: The roles to extract (e.g., body, title, etc.).
+     * @param out:           The stream to write the json representation to (flushed, but not closed).
+     * @throws IOException:              If the file download/load goes wrong.
+     * @throws LimitedInputStream.LimitExceededException: If the file exceeds the maximum size.
+     * @throws AdmissionController.RejectedException: If the file wasn't admitted to the parsing in time.
+     * @throws PdfActException:          If the pdf processing or text extraction goes wrong.
+     * @throws IllegalArgumentException: If wrong roles or units are passed by.
+     */
+    public void parsePdf(String fileUrl, List<String> unitsSelected, List<String> rolesSelected, OutputStream out) throws IOException, PdfActException, IllegalArgumentException {
+        parsePdf(fileUrl, unitsSelected, rolesSelected, false, false, new Timing(), out);
+    }
+
+    /**
+     * Download a pdf file and write a json representation of its content to the given stream, either
+     * indented or in a single line. The file is downloaded by the fetcher of this service, which limits
+     * the time and the concurrency of the downloads (see {@link PdfFetcher}).
      *
      * @param fileUrl:       The url to access the pdf file.
      * @param unitsSelected:  The unit to split text on (e.g., paragraphs, words, characters, etc.).
      * @param rolesSelected: The roles to extract (e.g., body, title, etc.).
+     * @param compact:       True to write the json representation in a single line.
+     * @param background:    True if the file is parsed by background work (a job or a batch), which
+     *                       waits for the admission to the parsing without a timeout.
+     * @param timing:        The timing to record the phases in (the download is recorded as fetch).
+     * @param out:           The stream to write the json representation to (flushed, but not closed).
+     * @throws PdfFetcher.FetchException: If the url is invalid, the origin doesn't answer with the
+     *                                     file, or the download times out.
      * @throws IOException:              If the file download/load goes wrong.
+     * @throws LimitedInputStream.LimitExceededException: If the file exceeds the maximum size.
+     * @throws AdmissionController.RejectedException: If the file wasn't admitted to the parsing in time.
+     * @throws PdfActException:          If the pdf processing or text extraction goes wrong.
+     * @throws IllegalArgumentException: If wrong roles or units are passed by.
+     */
+    public void parsePdf(String fileUrl, List<String> unitsSelected, List<String> rolesSelected, boolean compact, boolean background, Timing timing, OutputStream out) throws IOException, PdfActException, IllegalArgumentException {
+        long start = System.nanoTime();
+        try (InputStream in = fetcher.open(fileUrl, maxPdfSize)) {
+            timing.addFetchNanos(System.nanoTime() - start);
+            parsePdf(in, unitsSelected, rolesSelected, compact, background, timing, out);
+        }
+    }
+
+    /**
+     * Read a pdf file from the given stream (e.g., the body of an upload) and write a json
+     * representation of its content to the given stream. The file is received completely before it is
+     * admitted to the parsing, so that slow clients or origins only occupy an I/O thread, but none of
+     * the few slots of the CPU-bound extraction (see {@link AdmissionController}). Parts of the file
+     * that don't fit into the memory limit of the parser are buffered in a temporary file, which is
+     * deleted when the request is done; if the memory budget of the admission control is exhausted,
+     * the whole file is buffered in the temporary file. If there is a cache, the file is hashed while
+     * it is received and it is parsed only if its serialization is not cached yet.
+     *
+     * @param pdfStream:     The stream to read the pdf file from (not closed).
+     * @param unitsSelected:  The unit to split text on (e.g., paragraphs, words, characters, etc.).
+     * @param rolesSelected: The roles to extract (e.g., body, title, etc.).
+     * @param out:           The stream to write the json representation to (flushed, but not closed).
+     * @throws IOException:              If reading the file goes wrong.
+     * @throws LimitedInputStream.LimitExceededException: If the file exceeds the maximum size.
+     * @throws AdmissionController.RejectedException: If the file wasn't admitted to the parsing in time.
      * @throws PdfActException:          If the pdf processing or text extraction goes wrong.
      * @throws IllegalArgumentException: If wrong roles or units are passed by.
-     * @return: A json representation of the extracted text.
      */
-    public String parsePdf(String fileUrl, List<String> unitsSelected, List<String> rolesSelected) throws IOException, PdfActException, IllegalArgumentException {
+    public void parsePdf(InputStream pdfStream, List<String> unitsSelected, List<String> rolesSelected, OutputStream out) throws IOException, PdfActException, IllegalArgumentException {
+        parsePdf(pdfStream, unitsSelected, rolesSelected, false, false, new Timing(), out);
+    }
+
+    /**
+     * Read a pdf file from the given stream and write a json representation of its content to the
+     * given stream, either indented or in a single line (see
+     * {@link #parsePdf(InputStream, List, List, OutputStream)}).
+     *
+     * @param pdfStream:     The stream to read the pdf file from (not closed).
+     * @param unitsSelected:  The unit to split text on (e.g., paragraphs, words, characters, etc.).
+     * @param rolesSelected: The roles to extract (e.g., body, title, etc.).
+     * @param compact:       True to write the json representation in a single line.
+     * @param background:    True if the file is parsed by background work (a job or a batch), which
+     *                       waits for the admission to the parsing without a timeout.
+     * @param timing:        The timing to record the phases in.
+     * @param out:           The stream to write the json representation to (flushed, but not closed).
+     * @throws IOException:              If reading the file goes wrong.
+     * @throws LimitedInputStream.LimitExceededException: If the file exceeds the maximum size.
+     * @throws AdmissionController.RejectedException: If the file wasn't admitted to the parsing in time.
+     * @throws PdfActException:          If the pdf processing or text extraction goes wrong.
+     * @throws IllegalArgumentException: If wrong roles or units are passed by.
+     */
+    public void parsePdf(InputStream pdfStream, List<String> unitsSelected, List<String> rolesSelected, boolean compact, boolean background, Timing timing, OutputStream out) throws IOException, PdfActException, IllegalArgumentException {
         PdfAct pdfAct = new PdfAct();
-        String jsonString;
+        pdfAct.setPageExecutor(pageExecutor);
         Set<ExtractionUnit> unit = new HashSet<>();
         Set<SemanticRole> roles;
 
@@ -55,30 +233,66 @@ public class PdfService {
             roles = new HashSet<>(Arrays.asList(SemanticRole.values()));
         }
 
-        Path tempFile = downloadFileFromUrl(fileUrl);
-        Document pdf = pdfAct.parse(tempFile.toString());
-        PdfJsonSerializer serializer = new PdfJsonSerializer(unit, roles);
-        byte[] serializedPdf = serializer.serialize(pdf);
-        jsonString = new String(serializedPdf, StandardCharsets.UTF_8);
+        MessageDigest digest = SerializationCache.newDigest();
+        // Buffer the file in memory only if the budget of the admission control allows it, so that the
+        // files received by many I/O threads at the same time can't exhaust the memory.
+        long bufferBytes = admissionController.reserveBuffer(PdfActCoreSettings.MAX_MAIN_MEMORY_BYTES_PER_PDF_STREAM);
+        MemoryUsageSetting memory = bufferBytes > 0
+                ? MemoryUsageSetting.setupMixed(bufferBytes)
+                : MemoryUsageSetting.setupTempFileOnly();
+        try (ScratchFile scratchFile = new ScratchFile(memory)) {
+            InputStream in = new LimitedInputStream(pdfStream, maxPdfSize);
+            if (cache != null) {
+                in = new DigestInputStream(in, digest);
+            }
+            long start = System.nanoTime();
+            RandomAccessRead pdfBuffer = scratchFile.createBuffer(in);
+            timing.addFetchNanos(System.nanoTime() - start);
 
-        return jsonString;
+            String key = null;
+            if (cache != null) {
+                key = compact
+                        ? SerializationCache.computeKeyOfHash(digest.digest(), SerializationFormat.JSON, unit, roles, "compact=true")
+                        : SerializationCache.computeKeyOfHash(digest.digest(), SerializationFormat.JSON, unit, roles);
+                SerializationCache.Entry entry = cache.get(key);
+                if (entry != null) {
+                    out.write(entry.getSerialization());
+                    out.flush();
+                    return;
+                }
+            }
 
-    }
+            // Hold the permit only while parsing; the serialization is written to the client (which
+            // may be slow) after the permit is released.
+            Document pdf;
+            start = System.nanoTime();
+            try (AdmissionController.Permit permit = background
+                    ? admissionController.admitBackground()
+                    : admissionController.admit()) {
+                long admitted = System.nanoTime();
+                timing.addAdmissionNanos(admitted - start);
+                pdf = pdfAct.parse(new Document(pdfBuffer));
+                timing.addParseNanos(System.nanoTime() - admitted);
+            }
 
-    /**
-     * Download a pdf file.
-     *
-     * @param fileUrl: The url to access the pdf file.
-     * @throws IOException: If the file download/load goes wrong.
-     * @return: The path to the downloaded pdf file.
-     */
-    private Path downloadFileFromUrl(String fileUrl) throws IOException {
-        URL url = new URL(fileUrl);
-        Path tempFile = Files.createTempFile("temp", ".pdf");
-        try (InputStream in = url.openStream()) {
-            Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            PdfJsonSerializer serializer = new PdfJsonSerializer(unit, roles);
+            serializer.setCompact(compact);
+            if (key == null) {
+                serializer.serialize(pdf, out);
+                return;
+            }
+            // Stream the serialization to the client while copying it for the cache, instead of
+            // buffering it completely before the first byte is sent. The copy is dropped as soon as
+            // it exceeds the size of the largest entry the cache would store.
+            CopyingOutputStream copying = new CopyingOutputStream(out, cache.getMaxSerializationSize());
+            serializer.serialize(pdf, copying);
+            byte[] copy = copying.getCopy();
+            if (copy != null) {
+                cache.put(key, new SerializationCache.Entry(pdf.getPages().size(), copy));
+            }
+        } finally {
+            admissionController.releaseBuffer(bufferBytes);
         }
-        return tempFile;
     }
 
     /**
@@ -121,4 +335,82 @@ public class PdfService {
         return roles;
     }
 
+    // ==============================================================================================
+
+    /**
+     * A stream that writes to another stream and keeps a copy of the written bytes, up to a maximum
+     * size.
+     */
+    private static class CopyingOutputStream extends OutputStream {
+        /**
+         * The stream to write to.
+         */
+        private final OutputStream out;
+
+        /**
+         * The maximum number of bytes to copy.
+         */
+        private final long maxCopySize;
+
+        /**
+         * The copy of the written bytes (null if the written bytes exceeded the maximum size).
+         */
+        private ByteArrayOutputStream copy;
+
+        /**
+         * Create a new copying stream.
+         *
+         * @param out:         The stream to write to.
+         * @param maxCopySize: The maximum number of bytes to copy.
+         */
+        private CopyingOutputStream(OutputStream out, long maxCopySize) {
+            this.out = out;
+            this.maxCopySize = maxCopySize;
+            this.copy = new ByteArrayOutputStream();
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            copy(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            copy(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        /**
+         * Add the given bytes to the copy, or drop the copy if it would exceed the maximum size.
+         *
+         * @param b:   The bytes.
+         * @param off: The offset of the bytes to add.
+         * @param len: The number of bytes to add.
+         */
+        private void copy(byte[] b, int off, int len) {
+            if (copy == null) {
+                return;
+            }
+            if (copy.size() + (long) len > maxCopySize) {
+                copy = null;
+                return;
+            }
+            copy.write(b, off, len);
+        }
+
+        /**
+         * Return the copy of the written bytes.
+         *
+         * @return: The copy, or null if the written bytes exceeded the maximum size.
+         */
+        private byte[] getCopy() {
+            return copy != null ? copy.toByteArray() : null;
+        }
+    }
 }
@@ -0,0 +1,80 @@
+package pdfact.api;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import spark.Response;
+
+import static pdfact.api.ApiResponses.CONTENT_TYPE;
+import static pdfact.api.ApiResponses.error;
+import static spark.Spark.get;
+
+/**
+ * The routes to return the counters of the cache and of the admission control.
+ */
+class StatisticsRoutes {
+
+    /**
+     * The service that holds the cache.
+     */
+    private final PdfService pdfService;
+
+    /**
+     * The gson instance to serialize the counters with.
+     */
+    private final Gson gson;
+
+    /**
+     * Create the routes to return the counters.
+     *
+     * @param pdfService: The service that holds the cache and the admission control.
+     * @param gson:       The gson instance to serialize the counters with.
+     */
+    StatisticsRoutes(PdfService pdfService, Gson gson) {
+        this.pdfService = pdfService;
+        this.gson = gson;
+    }
+
+    /**
+     * Register the routes.
+     */
+    void register() {
+        get("/api/cache/stats", (request, response) -> cacheStatistics(response));
+        get("/api/admission/stats", (request, response) -> admissionStatistics(response));
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Return the counters of the cache of serializations.
+     *
+     * @param response: The response.
+     * @return: The json representation of the counters.
+     */
+    private Object cacheStatistics(Response response) {
+        if (pdfService.getCache() == null) {
+            return error(response, gson, 404, "The cache is disabled");
+        }
+        response.type(CONTENT_TYPE);
+        return gson.toJson(pdfService.getCache().getStatistics());
+    }
+
+    /**
+     * Return the counters of the admission control of the parsing.
+     *
+     * @param response: The response.
+     * @return: The json representation of the counters.
+     */
+    private Object admissionStatistics(Response response) {
+        AdmissionController admissionController = pdfService.getAdmissionController();
+        JsonObject json = new JsonObject();
+        json.addProperty("permits", admissionController.getNumPermits());
+        json.addProperty("active", admissionController.getNumActive());
+        json.addProperty("waiting", admissionController.getNumWaiting());
+        json.addProperty("admitted", admissionController.getNumAdmitted());
+        json.addProperty("rejected", admissionController.getNumRejected());
+        json.addProperty("bufferedBytes", admissionController.getBufferedBytes());
+        json.addProperty("maxBufferedBytes", admissionController.getMaxBufferedBytes());
+        response.type(CONTENT_TYPE);
+        return gson.toJson(json);
+    }
+}
@@ -0,0 +1,51 @@
+package pdfact.api.model;
+
+import java.util.List;
+
+/**
+ * The expected request payload of a batch.
+ */
+public class BatchRequestPayload {
+    /**
+     * The urls to access the pdf files.
+     */
+    private List<String> urls;
+    /**
+     * The unit to split text on (e.g., paragraphs, words, characters, etc.).
+     */
+    private List<String> unit;
+    /**
+     * The roles to extract (e.g., body, title, etc.).
+     */
+    private List<String> roles;
+
+    // ==============================================================================================
+
+    public List<String> getUrls() {
+        return urls;
+    }
+
+    public void setUrls(List<String> urls) {
+        this.urls = urls;
+    }
+
+    // ==============================================================================================
+
+    public List<String> getUnit() {
+        return unit;
+    }
+
+    public void setUnit(List<String> unit) {
+        this.unit = unit;
+    }
+
+    // ==============================================================================================
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public void setRoles(List<String> roles) {
+        this.roles = roles;
+    }
+}
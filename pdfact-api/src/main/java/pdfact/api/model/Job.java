@@ -0,0 +1,206 @@
+package pdfact.api.model;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A job to parse a pdf file asynchronously, together with its state, timing and result.
+ */
+public class Job {
+    /**
+     * The states of a job.
+     */
+    public enum Status {
+        /**
+         * The job waits in the queue.
+         */
+        QUEUED,
+        /**
+         * The job is being processed.
+         */
+        RUNNING,
+        /**
+         * The job is done and has a result.
+         */
+        SUCCEEDED,
+        /**
+         * The job is done, but failed.
+         */
+        FAILED
+    }
+
+    /**
+     * The id of this job.
+     */
+    private final String id;
+
+    /**
+     * The state of this job.
+     */
+    private volatile Status status;
+
+    /**
+     * The time at which this job was submitted, in milliseconds since the epoch.
+     */
+    private final long submittedAt;
+
+    /**
+     * The value of System.nanoTime() at which this job was submitted.
+     */
+    private final long submittedNanos;
+
+    /**
+     * The value of System.nanoTime() at which the processing of this job started.
+     */
+    private volatile long startedNanos;
+
+    /**
+     * The value of System.nanoTime() at which the processing of this job finished.
+     */
+    private volatile long finishedNanos;
+
+    /**
+     * The serialization of the pdf file (if the job succeeded).
+     */
+    private volatile byte[] result;
+
+    /**
+     * The http status code of the error (if the job failed).
+     */
+    private volatile int errorStatus;
+
+    /**
+     * The error message (if the job failed).
+     */
+    private volatile String errorMessage;
+
+    /**
+     * The timing of the phases of the processing (receiving, admission, parsing).
+     */
+    private final Timing timing = new Timing();
+
+    // ==============================================================================================
+
+    /**
+     * Create a new queued job.
+     *
+     * @param id: The id of the job.
+     */
+    public Job(String id) {
+        this.id = id;
+        this.status = Status.QUEUED;
+        this.submittedAt = System.currentTimeMillis();
+        this.submittedNanos = System.nanoTime();
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Mark this job as being processed.
+     */
+    public void start() {
+        this.startedNanos = System.nanoTime();
+        this.status = Status.RUNNING;
+    }
+
+    /**
+     * Mark this job as succeeded.
+     *
+     * @param result: The serialization of the pdf file.
+     */
+    public void succeed(byte[] result) {
+        this.finishedNanos = System.nanoTime();
+        this.result = result;
+        this.status = Status.SUCCEEDED;
+    }
+
+    /**
+     * Mark this job as failed.
+     *
+     * @param errorStatus:  The http status code of the error.
+     * @param errorMessage: The error message.
+     */
+    public void fail(int errorStatus, String errorMessage) {
+        this.finishedNanos = System.nanoTime();
+        this.errorStatus = errorStatus;
+        this.errorMessage = errorMessage;
+        this.status = Status.FAILED;
+    }
+
+    // ==============================================================================================
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isDone() {
+        return status == Status.SUCCEEDED || status == Status.FAILED;
+    }
+
+    public long getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public byte[] getResult() {
+        return result;
+    }
+
+    public int getErrorStatus() {
+        return errorStatus;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public Timing getTiming() {
+        return timing;
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Return the time the job waited in the queue (so far, if it is still queued).
+     *
+     * @return: The time in the queue, in milliseconds.
+     */
+    public long getQueueMillis() {
+        long end = status == Status.QUEUED ? System.nanoTime() : startedNanos;
+        return TimeUnit.NANOSECONDS.toMillis(end - submittedNanos);
+    }
+
+    /**
+     * Return the time the job was processed (so far, if it is still running).
+     *
+     * @return: The processing time in milliseconds, or 0 if the job is still queued.
+     */
+    public long getProcessingMillis() {
+        if (status == Status.QUEUED) {
+            return 0;
+        }
+        long end = isDone() ? finishedNanos : System.nanoTime();
+        return TimeUnit.NANOSECONDS.toMillis(end - startedNanos);
+    }
+
+    /**
+     * Return the time from the submission to the end of the processing (so far, if it is not done).
+     *
+     * @return: The total time, in milliseconds.
+     */
+    public long getTotalMillis() {
+        long end = isDone() ? finishedNanos : System.nanoTime();
+        return TimeUnit.NANOSECONDS.toMillis(end - submittedNanos);
+    }
+
+    /**
+     * Return the time at which the job finished, as given by System.nanoTime().
+     *
+     * @return: The time at which the job finished, or 0 if it is not done.
+     */
+    public long getFinishedNanos() {
+        return isDone() ? finishedNanos : 0;
+    }
+}
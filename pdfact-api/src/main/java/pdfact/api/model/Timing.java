@@ -0,0 +1,78 @@
+package pdfact.api.model;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The timing of the phases of parsing a single pdf file: receiving the file (downloading it from its
+ * url or reading the upload), waiting for the admission to the parsing, and the parsing itself. The
+ * phases are recorded by the thread that parses the pdf file and can be read by any other thread.
+ */
+public class Timing {
+    /**
+     * The time spent on receiving the pdf file, in nanoseconds.
+     */
+    private volatile long fetchNanos;
+
+    /**
+     * The time spent on waiting for the admission to the parsing, in nanoseconds.
+     */
+    private volatile long admissionNanos;
+
+    /**
+     * The time spent on parsing the pdf file, in nanoseconds.
+     */
+    private volatile long parseNanos;
+
+    // ==============================================================================================
+
+    /**
+     * Add the given time to the time spent on receiving the pdf file.
+     *
+     * @param nanos: The time, in nanoseconds.
+     */
+    public void addFetchNanos(long nanos) {
+        fetchNanos += nanos;
+    }
+
+    /**
+     * Add the given time to the time spent on waiting for the admission to the parsing.
+     *
+     * @param nanos: The time, in nanoseconds.
+     */
+    public void addAdmissionNanos(long nanos) {
+        admissionNanos += nanos;
+    }
+
+    /**
+     * Add the given time to the time spent on parsing the pdf file.
+     *
+     * @param nanos: The time, in nanoseconds.
+     */
+    public void addParseNanos(long nanos) {
+        parseNanos += nanos;
+    }
+
+    // ==============================================================================================
+
+    public long getFetchMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(fetchNanos);
+    }
+
+    public long getAdmissionMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(admissionNanos);
+    }
+
+    public long getParseMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(parseNanos);
+    }
+
+    /**
+     * Return the phases in the format of the Server-Timing header.
+     *
+     * @return: The phases, e.g. "fetch;dur=120, admission;dur=0, parse;dur=850".
+     */
+    public String toServerTiming() {
+        return "fetch;dur=" + getFetchMillis() + ", admission;dur=" + getAdmissionMillis()
+                + ", parse;dur=" + getParseMillis();
+    }
+}
@@ -0,0 +1,110 @@
+package pdfact.api;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * A class that tests the permits and the memory budget of the admission control.
+ */
+public class AdmissionControllerTest {
+
+    /**
+     * The maximum time to wait for a thread, in milliseconds.
+     */
+    protected static final long TIMEOUT_MILLIS = 10000;
+
+    /**
+     * Tests that the permits are counted and released on closing (only once).
+     */
+    @Test
+    public void testPermits() {
+        AdmissionController controller = new AdmissionController(2, 0);
+        AdmissionController.Permit first = controller.admit();
+        AdmissionController.Permit second = controller.admit();
+        assertEquals(2, controller.getNumActive());
+
+        first.close();
+        first.close();
+        assertEquals(1, controller.getNumActive());
+        second.close();
+        assertEquals(0, controller.getNumActive());
+        assertEquals(2, controller.getNumAdmitted());
+        assertEquals(0, controller.getNumRejected());
+    }
+
+    /**
+     * Tests that a request is rejected if no permit is available within the timeout.
+     */
+    @Test
+    public void testRejected() {
+        AdmissionController controller = new AdmissionController(1, 10);
+        try (AdmissionController.Permit permit = controller.admit()) {
+            controller.admit();
+            fail("The request wasn't rejected.");
+        } catch (AdmissionController.RejectedException e) {
+            assertTrue(e.getRetryAfterSeconds() >= 1);
+        }
+        assertEquals(1, controller.getNumRejected());
+        assertEquals(0, controller.getNumActive());
+    }
+
+    /**
+     * Tests that background work waits for a permit beyond the timeout, until a permit is released.
+     *
+     * @throws Exception: If waiting for the background work goes wrong.
+     */
+    @Test
+    public void testBackground() throws Exception {
+        AdmissionController controller = new AdmissionController(1, 10);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch admitted = new CountDownLatch(1);
+            Future<?> background;
+            try (AdmissionController.Permit permit = controller.admit()) {
+                background = executor.submit(() -> {
+                    try (AdmissionController.Permit backgroundPermit = controller.admitBackground()) {
+                        admitted.countDown();
+                    }
+                });
+                // Longer than the timeout of the requests.
+                assertFalse(admitted.await(100, TimeUnit.MILLISECONDS));
+                assertEquals(1, controller.getNumWaiting());
+            }
+            background.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            assertEquals(0, admitted.getCount());
+            assertEquals(2, controller.getNumAdmitted());
+            assertEquals(0, controller.getNumRejected());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that the memory budget is reserved only as far as it suffices, and that released bytes can
+     * be reserved again.
+     */
+    @Test
+    public void testBufferBudget() {
+        AdmissionController controller = new AdmissionController(1, 0, 100);
+        assertEquals(60, controller.reserveBuffer(60));
+        assertEquals(0, controller.reserveBuffer(60));
+        assertEquals(40, controller.reserveBuffer(40));
+        assertEquals(100, controller.getBufferedBytes());
+
+        controller.releaseBuffer(60);
+        assertEquals(40, controller.getBufferedBytes());
+        assertEquals(60, controller.reserveBuffer(60));
+        controller.releaseBuffer(0);
+        assertEquals(100, controller.getBufferedBytes());
+    }
+}
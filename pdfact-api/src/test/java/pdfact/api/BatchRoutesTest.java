@@ -0,0 +1,142 @@
+package pdfact.api;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A class that tests the route to parse the pdf files of a batch, whose results are streamed as
+ * newline-delimited json.
+ */
+public class BatchRoutesTest extends RoutesTest {
+
+    /**
+     * The boundary of the multipart uploads.
+     */
+    protected static final String BOUNDARY = "pdfact-test-boundary";
+
+    /**
+     * The service that processes the batches.
+     */
+    protected static PdfBatchService pdfBatchService;
+
+    /**
+     * Starts the server with the route of the batches, with at most 3 pdf files per batch.
+     *
+     * @throws IOException: If the server couldn't be started.
+     */
+    @BeforeClass
+    public static void setup() throws IOException {
+        pdfBatchService = new PdfBatchService(4, 3, 2);
+        startServer(() -> new BatchRoutes(new PdfService(), pdfBatchService, new Gson()).register());
+    }
+
+    /**
+     * Stops the service that processes the batches.
+     */
+    @AfterClass
+    public static void teardown() {
+        pdfBatchService.shutdown();
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Tests that each uploaded pdf file results in one line, tagged with the index of the pdf file,
+     * and that a file that is not a pdf file results in an error line without aborting the batch.
+     *
+     * @throws IOException: If a request goes wrong.
+     */
+    @Test
+    public void testUploads() throws IOException {
+        byte[] pdf = readPdf();
+        byte[] invalid = "This is not a pdf file.".getBytes(StandardCharsets.UTF_8);
+        HttpResponse response = send("POST", "/api/pdf/batch?unit=word",
+                "multipart/form-data; boundary=" + BOUNDARY, createUpload(pdf, invalid, pdf));
+        assertEquals(200, response.status);
+        assertTrue(response.header("Content-Type").startsWith("application/x-ndjson"));
+
+        List<JsonObject> lines = parseLines(response.text());
+        assertEquals(3, lines.size());
+        boolean[] seen = new boolean[3];
+        for (JsonObject line : lines) {
+            int index = line.get("index").getAsInt();
+            seen[index] = true;
+            if (index == 1) {
+                assertTrue(line.get("status").getAsInt() >= 400);
+                assertTrue(line.has("error"));
+            } else {
+                assertEquals(200, line.get("status").getAsInt());
+                assertTrue(line.getAsJsonObject("document").getAsJsonArray("words").size() > 0);
+            }
+        }
+        assertTrue(seen[0] && seen[1] && seen[2]);
+    }
+
+    /**
+     * Tests the answers to batches that are empty, too large, or not given at all.
+     *
+     * @throws IOException: If a request goes wrong.
+     */
+    @Test
+    public void testInvalidBatches() throws IOException {
+        byte[] pdf = readPdf();
+        String multipart = "multipart/form-data; boundary=" + BOUNDARY;
+        assertEquals(413, send("POST", "/api/pdf/batch", multipart, createUpload(pdf, pdf, pdf, pdf)).status);
+        assertEquals(400, send("POST", "/api/pdf/batch", multipart, createUpload()).status);
+        assertEquals(400, send("POST", "/api/pdf/batch", "application/json",
+                "{\"urls\": []}".getBytes(StandardCharsets.UTF_8)).status);
+        assertEquals(400, send("POST", "/api/pdf/batch", "application/json",
+                "{}".getBytes(StandardCharsets.UTF_8)).status);
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Creates the body of a multipart upload with the given files as parts "file".
+     *
+     * @param files: The contents of the files.
+     * @return: The body.
+     * @throws IOException: If writing the body goes wrong.
+     */
+    protected static byte[] createUpload(byte[]... files) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (int i = 0; i < files.length; i++) {
+            body.write(("--" + BOUNDARY + "\r\n"
+                    + "Content-Disposition: form-data; name=\"file\"; filename=\"" + i + ".pdf\"\r\n"
+                    + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+            body.write(files[i]);
+            body.write("\r\n".getBytes(StandardCharsets.UTF_8));
+        }
+        body.write(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+
+    /**
+     * Parses the lines of newline-delimited json.
+     *
+     * @param text: The newline-delimited json.
+     * @return: The json objects, one per line.
+     */
+    protected static List<JsonObject> parseLines(String text) {
+        List<JsonObject> lines = new ArrayList<>();
+        for (String line : text.split("\n")) {
+            if (!line.isEmpty()) {
+                lines.add(JsonParser.parseString(line).getAsJsonObject());
+            }
+        }
+        return lines;
+    }
+}
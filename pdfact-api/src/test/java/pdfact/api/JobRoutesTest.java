@@ -0,0 +1,137 @@
+package pdfact.api;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * A class that tests the routes to submit asynchronous jobs, to poll them and to fetch and remove
+ * their results.
+ */
+public class JobRoutesTest extends RoutesTest {
+
+    /**
+     * The maximum time to wait for a job to finish, in milliseconds.
+     */
+    protected static final long TIMEOUT_MILLIS = 60000;
+
+    /**
+     * The service that runs the jobs.
+     */
+    protected static PdfJobService pdfJobService;
+
+    /**
+     * Starts the server with the routes of the jobs.
+     *
+     * @throws IOException: If the server couldn't be started.
+     */
+    @BeforeClass
+    public static void setup() throws IOException {
+        pdfJobService = new PdfJobService(1, 4, 600, 10, 64L * 1024 * 1024);
+        startServer(() -> new JobRoutes(new PdfService(), pdfJobService, new Gson()).register());
+    }
+
+    /**
+     * Stops the service that runs the jobs.
+     */
+    @AfterClass
+    public static void teardown() {
+        pdfJobService.shutdown();
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Tests that an uploaded pdf file is parsed by a job, whose result can be fetched until the job is
+     * removed.
+     *
+     * @throws Exception: If a request goes wrong.
+     */
+    @Test
+    public void testSubmitAndFetch() throws Exception {
+        HttpResponse submitted = send("POST", "/api/jobs?unit=word", "application/pdf", readPdf());
+        assertEquals(202, submitted.status);
+        String id = JsonParser.parseString(submitted.text()).getAsJsonObject().get("id").getAsString();
+        assertEquals("/api/jobs/" + id, submitted.header("Location"));
+
+        JsonObject job = awaitDone(id);
+        assertEquals("succeeded", job.get("status").getAsString());
+        assertEquals("/api/jobs/" + id + "/result", job.get("resultUrl").getAsString());
+
+        HttpResponse result = get("/api/jobs/" + id + "/result");
+        assertEquals(200, result.status);
+        JsonObject document = JsonParser.parseString(result.text()).getAsJsonObject();
+        assertTrue(document.getAsJsonArray("words").size() > 0);
+        assertTrue(result.header("Server-Timing").startsWith("queue;dur="));
+
+        assertEquals(204, send("DELETE", "/api/jobs/" + id, null, null).status);
+        assertEquals(404, get("/api/jobs/" + id).status);
+        assertEquals(404, get("/api/jobs/" + id + "/result").status);
+    }
+
+    /**
+     * Tests that a job whose upload is not a pdf file fails, and that its result is its error.
+     *
+     * @throws Exception: If a request goes wrong.
+     */
+    @Test
+    public void testFailedJob() throws Exception {
+        byte[] body = "This is not a pdf file.".getBytes("UTF-8");
+        HttpResponse submitted = send("POST", "/api/jobs", "application/octet-stream", body);
+        assertEquals(202, submitted.status);
+        String id = JsonParser.parseString(submitted.text()).getAsJsonObject().get("id").getAsString();
+
+        JsonObject job = awaitDone(id);
+        assertEquals("failed", job.get("status").getAsString());
+        assertTrue(job.has("error"));
+        assertTrue(get("/api/jobs/" + id + "/result").status >= 400);
+    }
+
+    /**
+     * Tests the answers to invalid requests and to requests for unknown jobs.
+     *
+     * @throws Exception: If a request goes wrong.
+     */
+    @Test
+    public void testInvalidRequests() throws Exception {
+        assertEquals(400, send("POST", "/api/jobs", "application/pdf", new byte[0]).status);
+        assertEquals(400, send("POST", "/api/jobs", "application/json", "{}".getBytes("UTF-8")).status);
+        assertEquals(404, get("/api/jobs/unknown").status);
+        assertEquals(404, get("/api/jobs/unknown/result").status);
+        assertEquals(404, send("DELETE", "/api/jobs/unknown", null, null).status);
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Polls the given job until it is done.
+     *
+     * @param id: The id of the job.
+     * @return: The json representation of the finished job.
+     * @throws Exception: If a request goes wrong or waiting is interrupted.
+     */
+    protected static JsonObject awaitDone(String id) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            HttpResponse response = get("/api/jobs/" + id);
+            assertEquals(200, response.status);
+            JsonObject job = JsonParser.parseString(response.text()).getAsJsonObject();
+            String status = job.get("status").getAsString();
+            if (status.equals("succeeded") || status.equals("failed")) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        fail("The job isn't done.");
+        return null;
+    }
+}
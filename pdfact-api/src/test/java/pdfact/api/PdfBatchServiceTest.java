@@ -0,0 +1,180 @@
+package pdfact.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * A class that tests the concurrent processing of the pdf files of a batch.
+ */
+public class PdfBatchServiceTest {
+
+    /**
+     * The maximum time to wait for an action, in milliseconds.
+     */
+    protected static final long TIMEOUT_MILLIS = 10000;
+
+    /**
+     * The service to test, with 4 threads and at most 2 pdf files of a batch at the same time.
+     */
+    protected PdfBatchService service;
+
+    /**
+     * Creates the service.
+     */
+    @Before
+    public void setup() {
+        service = new PdfBatchService(4, 10, 2);
+    }
+
+    /**
+     * Stops the service.
+     */
+    @After
+    public void teardown() {
+        service.shutdown();
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Tests that each result is passed on as soon as its pdf file is done, before slower pdf files of
+     * the same batch, and that errors of single pdf files are passed on as results.
+     *
+     * @throws IOException: If processing the batch goes wrong.
+     */
+    @Test
+    public void testResultsInOrderOfCompletion() throws IOException {
+        CountDownLatch firstWritten = new CountDownLatch(1);
+        List<ParseAction> actions = Arrays.asList(
+                (out, timing) -> {
+                    // Finishes only after the result of the second pdf file was passed on.
+                    await(firstWritten);
+                    out.write(bytes("slow"));
+                },
+                (out, timing) -> out.write(bytes("fast")),
+                (out, timing) -> {
+                    throw new IllegalArgumentException("Unknown unit");
+                });
+
+        List<PdfBatchService.Result> results = new ArrayList<>();
+        service.process(actions, "reading", result -> {
+            results.add(result);
+            firstWritten.countDown();
+        });
+
+        assertEquals(3, results.size());
+        assertEquals(1, results.get(0).getIndex());
+        assertEquals("fast", new String(results.get(0).getSerialization(), StandardCharsets.UTF_8));
+        PdfBatchService.Result failed = results.get(1).getIndex() == 2 ? results.get(1) : results.get(2);
+        assertEquals(422, failed.getStatus());
+        assertNull(failed.getSerialization());
+        assertEquals("Illegal arguments. Unknown unit", failed.getErrorMessage());
+    }
+
+    /**
+     * Tests that at most the configured number of pdf files of a batch are processed at the same time.
+     *
+     * @throws IOException: If processing the batch goes wrong.
+     */
+    @Test
+    public void testConcurrency() throws IOException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<ParseAction> actions = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            actions.add((out, timing) -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(20);
+                running.decrementAndGet();
+            });
+        }
+
+        List<Integer> indexes = Collections.synchronizedList(new ArrayList<>());
+        service.process(actions, "reading", result -> indexes.add(result.getIndex()));
+
+        assertEquals(8, indexes.size());
+        assertTrue(maxRunning.get() <= 2);
+        Collections.sort(indexes);
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7), indexes);
+    }
+
+    /**
+     * Tests that no further pdf files are processed once the consumer failed, and that the failure
+     * is passed on.
+     */
+    @Test
+    public void testConsumerFailure() {
+        AtomicInteger numStarted = new AtomicInteger();
+        List<ParseAction> actions = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            actions.add((out, timing) -> {
+                numStarted.incrementAndGet();
+                sleep(20);
+            });
+        }
+
+        try {
+            service.process(actions, "reading", result -> {
+                throw new IOException("The client is gone.");
+            });
+            fail("The failure wasn't passed on.");
+        } catch (IOException e) {
+            assertEquals("The client is gone.", e.getMessage());
+        }
+        assertTrue(numStarted.get() < 10);
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Waits for the given latch, within the timeout.
+     *
+     * @param latch: The latch.
+     */
+    protected static void await(CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Sleeps for the given time.
+     *
+     * @param millis: The time, in milliseconds.
+     */
+    protected static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the utf-8 bytes of the given string.
+     *
+     * @param string: The string.
+     * @return: The bytes.
+     */
+    protected static byte[] bytes(String string) {
+        return string.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,298 @@
+package pdfact.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import pdfact.core.util.io.LimitedInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * A class that tests the fetcher of pdf files against a local stub server: the timeouts, the size
+ * limit and the handling of redirects.
+ */
+public class PdfFetcherTest {
+
+    /**
+     * The body served by the stub server.
+     */
+    protected static final byte[] BODY = createBody(10_000);
+
+    /**
+     * The stub server.
+     */
+    protected HttpServer server;
+
+    /**
+     * The executor of the handlers of the stub server.
+     */
+    protected ExecutorService executor;
+
+    /**
+     * The base url of the stub server.
+     */
+    protected String baseUrl;
+
+    /**
+     * The fetcher to test, with a read timeout of 200 ms, a total timeout of 500 ms and at most 2
+     * redirects.
+     */
+    protected PdfFetcher fetcher;
+
+    /**
+     * Starts the stub server.
+     *
+     * @throws IOException: If the stub server couldn't be started.
+     */
+    @Before
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/pdf", exchange -> send(exchange, 200, BODY));
+        server.createContext("/missing", exchange -> send(exchange, 404, new byte[0]));
+        server.createContext("/redirect", exchange -> redirect(exchange, "/pdf"));
+        server.createContext("/redirect-twice", exchange -> redirect(exchange, "/redirect"));
+        server.createContext("/redirect-thrice", exchange -> redirect(exchange, "/redirect-twice"));
+        server.createContext("/redirect-loop", exchange -> redirect(exchange, "/redirect-loop"));
+        server.createContext("/hang", quietly(exchange -> {
+            // Longer than the read timeout, but answers within the total timeout.
+            sleep(300);
+            send(exchange, 200, BODY);
+        }));
+        server.createContext("/trickle", quietly(exchange -> {
+            // Every byte within the read timeout, but the whole body not within the total timeout.
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (int i = 0; i < 100; i++) {
+                    out.write(i);
+                    out.flush();
+                    sleep(50);
+                }
+            }
+        }));
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+
+        fetcher = new PdfFetcher(1000, 200, 500, 4, 2);
+    }
+
+    /**
+     * Stops the stub server.
+     */
+    @After
+    public void teardown() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Tests that a pdf file is fetched completely, also via redirects up to the maximum number.
+     *
+     * @throws IOException: If fetching the pdf file goes wrong.
+     */
+    @Test
+    public void testFetch() throws IOException {
+        assertArrayEquals(BODY, fetch("/pdf", BODY.length));
+        assertArrayEquals(BODY, fetch("/redirect", BODY.length));
+        assertArrayEquals(BODY, fetch("/redirect-twice", BODY.length));
+    }
+
+    /**
+     * Tests that a pdf file whose announced size exceeds the maximum size is rejected.
+     *
+     * @throws IOException: If fetching the pdf file goes wrong otherwise.
+     */
+    @Test
+    public void testSizeLimit() throws IOException {
+        try {
+            fetch("/pdf", BODY.length - 1);
+            fail("The pdf file wasn't rejected.");
+        } catch (LimitedInputStream.LimitExceededException e) {
+            assertEquals(BODY.length - 1, e.getMaxBytes());
+        }
+    }
+
+    /**
+     * Tests that an origin that doesn't answer within the read timeout, and an origin that doesn't
+     * send the body within the total timeout, are answered with 504.
+     *
+     * @throws IOException: If fetching the pdf file goes wrong otherwise.
+     */
+    @Test
+    public void testTimeouts() throws IOException {
+        assertFetchException("/hang", 504);
+
+        long start = System.currentTimeMillis();
+        assertFetchException("/trickle", 504);
+        // The total timeout plus at most one read timeout.
+        assertTrue(System.currentTimeMillis() - start < 2000);
+    }
+
+    /**
+     * Tests that too many redirects, redirect loops and error statuses are rejected.
+     *
+     * @throws IOException: If fetching the pdf file goes wrong otherwise.
+     */
+    @Test
+    public void testRejected() throws IOException {
+        assertFetchException("/redirect-thrice", 400);
+        assertFetchException("/redirect-loop", 400);
+        assertFetchException("/missing", 400);
+
+        try {
+            fetcher.open("ftp://localhost/file.pdf", BODY.length);
+            fail("The url wasn't rejected.");
+        } catch (PdfFetcher.FetchException e) {
+            assertEquals(400, e.getStatus());
+        }
+    }
+
+    /**
+     * Tests that redirects from https to http are refused, while the other redirects are resolved.
+     *
+     * @throws IOException: If a url is malformed.
+     */
+    @Test
+    public void testRedirectTargets() throws IOException {
+        URL https = new URL("https://example.org/a/file.pdf");
+        try {
+            fetcher.getRedirectTarget(https, "http://example.org/file.pdf", 0);
+            fail("The redirect from https to http wasn't refused.");
+        } catch (PdfFetcher.FetchException e) {
+            assertEquals(400, e.getStatus());
+        }
+        assertEquals(new URL("https://example.org/a/other.pdf"), fetcher.getRedirectTarget(https, "other.pdf", 0));
+        assertEquals(new URL("https://example.com/file.pdf"),
+                fetcher.getRedirectTarget(https, "https://example.com/file.pdf", 1));
+        assertEquals(new URL("https://example.org/file.pdf"),
+                fetcher.getRedirectTarget(new URL("http://example.org/"), "https://example.org/file.pdf", 0));
+
+        try {
+            fetcher.getRedirectTarget(https, "other.pdf", 2);
+            fail("The redirect beyond the maximum number wasn't refused.");
+        } catch (PdfFetcher.FetchException e) {
+            assertEquals(400, e.getStatus());
+        }
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Fetches the pdf file at the given path of the stub server.
+     *
+     * @param path:     The path.
+     * @param maxBytes: The maximum size of the pdf file.
+     * @return: The content of the pdf file.
+     * @throws IOException: If fetching the pdf file goes wrong.
+     */
+    protected byte[] fetch(String path, long maxBytes) throws IOException {
+        try (InputStream in = fetcher.open(baseUrl + path, maxBytes)) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Checks that fetching the pdf file at the given path fails with the given status.
+     *
+     * @param path:   The path.
+     * @param status: The expected http status code.
+     * @throws IOException: If fetching the pdf file goes wrong otherwise.
+     */
+    protected void assertFetchException(String path, int status) throws IOException {
+        try {
+            fetch(path, BODY.length);
+            fail("Fetching " + path + " didn't fail.");
+        } catch (PdfFetcher.FetchException e) {
+            assertEquals(status, e.getStatus());
+        }
+    }
+
+    /**
+     * Answers the given exchange with the given status and body.
+     *
+     * @param exchange: The exchange.
+     * @param status:   The http status code.
+     * @param body:     The body.
+     * @throws IOException: If writing the answer goes wrong.
+     */
+    protected static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length > 0 ? body.length : -1);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Answers the given exchange with a redirect to the given location.
+     *
+     * @param exchange: The exchange.
+     * @param location: The location.
+     * @throws IOException: If writing the answer goes wrong.
+     */
+    protected static void redirect(HttpExchange exchange, String location) throws IOException {
+        exchange.getResponseHeaders().set("Location", location);
+        send(exchange, 302, new byte[0]);
+    }
+
+    /**
+     * Wraps the given handler so that the failures of writing to a client that gave up are ignored.
+     *
+     * @param handler: The handler.
+     * @return: The wrapped handler.
+     */
+    protected static HttpHandler quietly(HttpHandler handler) {
+        return exchange -> {
+            try {
+                handler.handle(exchange);
+            } catch (IOException e) {
+                // The fetcher gave up.
+            } finally {
+                exchange.close();
+            }
+        };
+    }
+
+    /**
+     * Sleeps for the given time.
+     *
+     * @param millis: The time, in milliseconds.
+     */
+    protected static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Creates a body of the given size.
+     *
+     * @param size: The size.
+     * @return: The body.
+     */
+    protected static byte[] createBody(int size) {
+        byte[] body = new byte[size];
+        Arrays.fill(body, (byte) '%');
+        return body;
+    }
+}
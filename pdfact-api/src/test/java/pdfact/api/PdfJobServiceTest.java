@@ -0,0 +1,263 @@
+package pdfact.api;
+
+import org.junit.After;
+import org.junit.Test;
+import pdfact.api.model.Job;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * A class that tests the running, the retention and the expiry of asynchronous jobs.
+ */
+public class PdfJobServiceTest {
+
+    /**
+     * The maximum time to wait for a job to finish, in milliseconds.
+     */
+    protected static final long TIMEOUT_MILLIS = 10000;
+
+    /**
+     * The service to test.
+     */
+    protected PdfJobService service;
+
+    /**
+     * Stops the service.
+     */
+    @After
+    public void teardown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Tests that the result of a succeeded job is kept until the job is removed.
+     *
+     * @throws Exception: If waiting for the job is interrupted.
+     */
+    @Test
+    public void testSucceed() throws Exception {
+        service = new PdfJobService(1, 1, 600, 10, 1000);
+        Job job = service.submit((out, timing) -> out.write(bytes("result")), "reading");
+        awaitDone(job);
+        awaitUntil(() -> service.getNumRetainedJobs() == 1);
+
+        assertEquals(Job.Status.SUCCEEDED, job.getStatus());
+        assertArrayEquals(bytes("result"), job.getResult());
+        assertSame(job, service.getJob(job.getId()));
+        assertEquals(6, service.getRetainedBytes());
+
+        assertSame(job, service.removeJob(job.getId()));
+        assertNull(service.getJob(job.getId()));
+        assertEquals(0, service.getNumRetainedJobs());
+        assertEquals(0, service.getRetainedBytes());
+    }
+
+    /**
+     * Tests that a job whose action throws an error (instead of an exception) is marked as failed.
+     *
+     * @throws Exception: If waiting for the job is interrupted.
+     */
+    @Test
+    public void testThrowable() throws Exception {
+        service = new PdfJobService(1, 1, 600, 10, 1000);
+        Job job = service.submit((out, timing) -> {
+            throw new StackOverflowError();
+        }, "reading");
+        awaitDone(job);
+
+        assertEquals(Job.Status.FAILED, job.getStatus());
+        assertEquals(500, job.getErrorStatus());
+
+        // The worker is still usable.
+        Job next = service.submit((out, timing) -> out.write(bytes("result")), "reading");
+        awaitDone(next);
+        assertEquals(Job.Status.SUCCEEDED, next.getStatus());
+    }
+
+    /**
+     * Tests that a job whose action throws an exception is marked as failed with the status of the
+     * exception.
+     *
+     * @throws Exception: If waiting for the job is interrupted.
+     */
+    @Test
+    public void testFail() throws Exception {
+        service = new PdfJobService(1, 1, 600, 10, 1000);
+        Job job = service.submit((out, timing) -> {
+            throw new IllegalArgumentException("Unknown unit");
+        }, "reading");
+        awaitDone(job);
+
+        assertEquals(Job.Status.FAILED, job.getStatus());
+        assertEquals(422, job.getErrorStatus());
+        assertEquals("Illegal arguments. Unknown unit", job.getErrorMessage());
+        assertNull(service.removeJob("unknown"));
+    }
+
+    /**
+     * Tests that the jobs that finished first are dropped if there are too many finished jobs.
+     *
+     * @throws Exception: If waiting for the jobs is interrupted.
+     */
+    @Test
+    public void testMaxRetainedJobs() throws Exception {
+        service = new PdfJobService(1, 3, 600, 2, 1000);
+        Job first = service.submit((out, timing) -> out.write(bytes("1")), "reading");
+        Job second = service.submit((out, timing) -> out.write(bytes("2")), "reading");
+        Job third = service.submit((out, timing) -> out.write(bytes("3")), "reading");
+        awaitDone(third);
+        // The first job is dropped when the third one is retained.
+        awaitUntil(() -> service.getJob(first.getId()) == null);
+
+        assertEquals(2, service.getNumRetainedJobs());
+        assertNull(service.getJob(first.getId()));
+        assertNotNull(service.getJob(second.getId()));
+        assertNotNull(service.getJob(third.getId()));
+        assertEquals(2, service.getRetainedBytes());
+    }
+
+    /**
+     * Tests that the jobs that finished first are dropped if their results take too many bytes.
+     *
+     * @throws Exception: If waiting for the jobs is interrupted.
+     */
+    @Test
+    public void testMaxRetainedBytes() throws Exception {
+        service = new PdfJobService(1, 2, 600, 10, 10);
+        Job first = service.submit((out, timing) -> out.write(new byte[6]), "reading");
+        Job second = service.submit((out, timing) -> out.write(new byte[6]), "reading");
+        awaitDone(second);
+        // The first job is dropped when the second one is retained.
+        awaitUntil(() -> service.getJob(first.getId()) == null);
+
+        assertEquals(1, service.getNumRetainedJobs());
+        assertNull(service.getJob(first.getId()));
+        assertNotNull(service.getJob(second.getId()));
+        assertEquals(6, service.getRetainedBytes());
+    }
+
+    /**
+     * Tests that a finished job is removed when its result has expired.
+     *
+     * @throws Exception: If waiting for the job is interrupted.
+     */
+    @Test
+    public void testExpiry() throws Exception {
+        service = new PdfJobService(1, 1, 0, 10, 1000);
+        Job job = service.submit((out, timing) -> out.write(bytes("result")), "reading");
+        awaitDone(job);
+        awaitUntil(() -> service.getNumRetainedJobs() == 1);
+        Thread.sleep(1);
+
+        assertNull(service.getJob(job.getId()));
+        assertEquals(0, service.getNumRetainedJobs());
+        assertEquals(0, service.getRetainedBytes());
+    }
+
+    /**
+     * Tests that jobs are rejected if the queue is full, and that unfinished jobs can't be removed.
+     *
+     * @throws Exception: If waiting for the jobs is interrupted.
+     */
+    @Test
+    public void testRejected() throws Exception {
+        service = new PdfJobService(1, 1, 600, 10, 1000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Job running = service.submit((out, timing) -> {
+            started.countDown();
+            await(release);
+        }, "reading");
+        assertTrue(started.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        Job queued = service.submit((out, timing) -> out.write(bytes("result")), "reading");
+
+        try {
+            service.submit((out, timing) -> out.write(bytes("result")), "reading");
+            fail("The job wasn't rejected.");
+        } catch (RejectedExecutionException e) {
+            // Expected.
+        }
+        assertEquals(1, service.getNumQueuedJobs());
+        assertEquals(Job.Status.RUNNING, running.getStatus());
+        assertNull(service.removeJob(running.getId()));
+        assertNull(service.removeJob(queued.getId()));
+
+        release.countDown();
+        awaitDone(queued);
+        assertEquals(Job.Status.SUCCEEDED, running.getStatus());
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Waits until the given job is done.
+     *
+     * @param job: The job.
+     * @throws InterruptedException: If waiting is interrupted.
+     */
+    protected static void awaitDone(Job job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!job.isDone()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("The job isn't done.");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Waits until the given condition holds, e.g., until a finished job is retained (which happens
+     * right after it is marked as done).
+     *
+     * @param condition: The condition.
+     * @throws InterruptedException: If waiting is interrupted.
+     */
+    protected static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("The condition doesn't hold.");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Waits for the given latch, within the timeout.
+     *
+     * @param latch: The latch.
+     */
+    protected static void await(CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the utf-8 bytes of the given string.
+     *
+     * @param string: The string.
+     * @return: The bytes.
+     */
+    protected static byte[] bytes(String string) {
+        return string.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,167 @@
+package pdfact.api;
+
+import org.junit.AfterClass;
+import spark.Spark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The base class of the tests of the routes of the API, which run the routes on a local server and
+ * send plain http requests to it.
+ */
+public abstract class RoutesTest {
+
+    /**
+     * The path to a pdf file to parse.
+     */
+    protected static final Path PDF_PATH = Paths.get("../pdfact-cli/src/test/resources/ACL_2004.pdf");
+
+    /**
+     * The port of the server.
+     */
+    protected static int port;
+
+    /**
+     * Starts the server with the routes registered by the given action.
+     *
+     * @param routes: The action that registers the routes.
+     * @throws IOException: If no free port could be found.
+     */
+    protected static void startServer(Runnable routes) throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        Spark.port(port);
+        routes.run();
+        Spark.awaitInitialization();
+    }
+
+    /**
+     * Stops the server.
+     */
+    @AfterClass
+    public static void stopServer() {
+        Spark.stop();
+        Spark.awaitStop();
+    }
+
+    // ==============================================================================================
+
+    /**
+     * Sends a request to the server.
+     *
+     * @param method:      The http method.
+     * @param path:        The path of the request, including the query string.
+     * @param contentType: The content type of the body, or null if there is no body.
+     * @param body:        The body, or null if there is no body.
+     * @return: The response.
+     * @throws IOException: If sending the request or reading the response goes wrong.
+     */
+    protected static HttpResponse send(String method, String path, String contentType, byte[] body)
+            throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + path)
+                .openConnection();
+        connection.setRequestMethod(method);
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", contentType);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body);
+            }
+        }
+        int status = connection.getResponseCode();
+        InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        if (in != null) {
+            try (InputStream stream = in) {
+                stream.transferTo(content);
+            }
+        }
+        return new HttpResponse(status, connection, content.toByteArray());
+    }
+
+    /**
+     * Sends a GET request to the server.
+     *
+     * @param path: The path of the request.
+     * @return: The response.
+     * @throws IOException: If sending the request or reading the response goes wrong.
+     */
+    protected static HttpResponse get(String path) throws IOException {
+        return send("GET", path, null, null);
+    }
+
+    /**
+     * Reads the pdf file to parse.
+     *
+     * @return: The content of the pdf file.
+     * @throws IOException: If the pdf file couldn't be read.
+     */
+    protected static byte[] readPdf() throws IOException {
+        return Files.readAllBytes(PDF_PATH);
+    }
+
+    // ==============================================================================================
+
+    /**
+     * A response of the server.
+     */
+    protected static class HttpResponse {
+        /**
+         * The http status code.
+         */
+        protected final int status;
+
+        /**
+         * The connection, to read the headers from.
+         */
+        protected final HttpURLConnection connection;
+
+        /**
+         * The body.
+         */
+        protected final byte[] body;
+
+        /**
+         * Create a new response.
+         *
+         * @param status:     The http status code.
+         * @param connection: The connection, to read the headers from.
+         * @param body:       The body.
+         */
+        protected HttpResponse(int status, HttpURLConnection connection, byte[] body) {
+            this.status = status;
+            this.connection = connection;
+            this.body = body;
+        }
+
+        /**
+         * Return the value of the given header.
+         *
+         * @param name: The name of the header.
+         * @return: The value, or null if there is no such header.
+         */
+        protected String header(String name) {
+            return connection.getHeaderField(name);
+        }
+
+        /**
+         * Return the body as a string.
+         *
+         * @return: The body, decoded as utf-8.
+         */
+        protected String text() {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package pdfact.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+
+import pdfact.core.model.Document;
+import pdfact.core.pipes.PlainPdfActCorePipe;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.pipeline.Pipe;
+
+/**
+ * The base class of the benchmarks that measure a single pipe of the core pipeline (see
+ * {@link PlainPdfActCorePipe#createPipes()}) in isolation. The pipe is executed sequentially on a
+ * PDF document that was processed by all preceding pipes of the core pipeline.
+ *
+ * <p>
+ * Since the pipes modify the document, a fresh document is prepared before each invocation. The
+ * preparation is excluded from the measured time, but not from the allocation rate reported by
+ * the GC profiler; to isolate the allocations of a single pipe, use the pipeline report (see
+ * {@link pdfact.core.util.pipeline.PipeReport}).
+ *
+ * @author Claudius Korzen
+ */
+public abstract class AbstractPipeBenchmark {
+  /**
+   * The path to the input PDF file.
+   */
+  protected Path path;
+
+  /**
+   * The pipes of the core pipeline.
+   */
+  protected List<Pipe> pipes;
+
+  /**
+   * The index of the pipe to measure in the core pipeline.
+   */
+  protected int pipeIndex;
+
+  /**
+   * The document to process in the next invocation.
+   */
+  protected Document pdf;
+
+  /**
+   * Resolves the input PDF file and looks up the pipe to measure.
+   *
+   * @throws IOException
+   *         If the input PDF file couldn't be resolved.
+   */
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    this.path = resolveInput();
+    this.pipes = new PlainPdfActCorePipe().createPipes();
+    this.pipeIndex = indexOf(this.pipes, getPipeName());
+  }
+
+  /**
+   * Resolves the input PDF file (see {@link BenchmarkInputs}).
+   *
+   * @return The path to the input PDF file.
+   *
+   * @throws IOException
+   *         If the input PDF file couldn't be resolved.
+   */
+  protected abstract Path resolveInput() throws IOException;
+
+  /**
+   * Returns the simple class name of the pipe to measure.
+   *
+   * @return The simple class name of the pipe to measure.
+   */
+  protected abstract String getPipeName();
+
+  /**
+   * Returns the index of the pipe with the given simple class name in the given pipes.
+   *
+   * @param pipes
+   *        The pipes.
+   * @param name
+   *        The simple class name of the pipe.
+   *
+   * @return The index of the pipe.
+   *
+   * @throws IllegalArgumentException
+   *         If there is no such pipe.
+   */
+  protected static int indexOf(List<Pipe> pipes, String name) {
+    for (int i = 0; i < pipes.size(); i++) {
+      if (pipes.get(i).getClass().getSimpleName().equals(name)) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException("There is no pipe '" + name + "' in the pipeline.");
+  }
+
+  /**
+   * Prepares the document to process, by executing all pipes preceding the measured pipe.
+   *
+   * @throws PdfActException
+   *         If something went wrong while executing the pipes.
+   */
+  @Setup(Level.Invocation)
+  public void prepare() throws PdfActException {
+    this.pdf = new Document(this.path);
+    for (int i = 0; i < this.pipeIndex; i++) {
+      this.pdf = this.pipes.get(i).execute(this.pdf);
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Executes the measured pipe.
+   *
+   * @return The processed PDF document.
+   *
+   * @throws PdfActException
+   *         If something went wrong while executing the pipe.
+   */
+  @Benchmark
+  public Document execute() throws PdfActException {
+    return this.pipes.get(this.pipeIndex).execute(this.pdf);
+  }
+}
@@ -0,0 +1,400 @@
+package pdfact.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A load test of the REST API (see the module pdfact-api) under slow-origin conditions. Starts a
+ * local stub HTTP server as the origin of the PDF files, which serves a PDF file either at once
+ * ("fast") or trickled at a given rate ("slow"), and sends requests to parse the PDF files by
+ * their URLs to a running instance of the API, in two phases of equal length:
+ *
+ * <ol>
+ * <li>"baseline": only clients that request fast PDF files;</li>
+ * <li>"slow origin": the same clients, plus many clients that request slow PDF files.</li>
+ * </ol>
+ *
+ * <p>
+ * For each phase, the throughput and the latencies of the fast requests are reported, after a
+ * warm-up with only the fast clients. With the downloads handled by the I/O threads and the
+ * parsing limited by the admission controller of the API, the throughput of the fast requests
+ * should be about the same in both phases. Every served PDF file gets a unique trailing comment,
+ * so that no request is answered from the cache.
+ *
+ * <p>
+ * Usage: ApiLoadTest [--api &lt;url&gt;] [--input &lt;input&gt;] [--fast-clients &lt;n&gt;]
+ * [--slow-clients &lt;n&gt;] [--slow-rate &lt;bytes/s&gt;] [--duration &lt;seconds per phase&gt;]
+ * [--warmup &lt;seconds&gt;], where the input is given as for the benchmarks (see
+ * {@link BenchmarkInputs}).
+ *
+ * @author Claudius Korzen
+ */
+public class ApiLoadTest {
+  /**
+   * The path of the endpoint to parse a PDF file.
+   */
+  protected static final String PARSE_PATH = "/api/pdf/parse";
+
+  /**
+   * The size of the chunks in which a slow PDF file is served, in bytes.
+   */
+  protected static final int SLOW_CHUNK_SIZE = 1024;
+
+  /**
+   * The URL of the API.
+   */
+  protected String apiUrl = "http://localhost:4567";
+
+  /**
+   * The input PDF file.
+   */
+  protected String input = "ACL_2004";
+
+  /**
+   * The number of clients that request fast PDF files.
+   */
+  protected int numFastClients = 4;
+
+  /**
+   * The number of clients that request slow PDF files (in the second phase).
+   */
+  protected int numSlowClients = 100;
+
+  /**
+   * The rate at which a slow PDF file is served, in bytes per second.
+   */
+  protected int slowRate = 2 * 1024;
+
+  /**
+   * The length of each phase, in seconds.
+   */
+  protected int durationSeconds = 30;
+
+  /**
+   * The length of the warm-up (with only the fast clients) before the first phase, in seconds.
+   */
+  protected int warmupSeconds = 10;
+
+  /**
+   * The bytes of the input PDF file.
+   */
+  protected byte[] pdf;
+
+  /**
+   * The counter of the served PDF files, which makes the served PDF files unique.
+   */
+  protected AtomicLong numServed = new AtomicLong();
+
+  /**
+   * The client to send the requests with.
+   */
+  protected HttpClient client;
+
+  // ==============================================================================================
+
+  /**
+   * Runs the load test.
+   *
+   * @param args
+   *        The options (see the class description).
+   *
+   * @throws Exception
+   *         If the stub server couldn't be started or the input couldn't be read.
+   */
+  public static void main(String[] args) throws Exception {
+    ApiLoadTest test = new ApiLoadTest();
+    for (int i = 0; i + 1 < args.length; i += 2) {
+      switch (args[i]) {
+        case "--api":
+          test.apiUrl = args[i + 1];
+          break;
+        case "--input":
+          test.input = args[i + 1];
+          break;
+        case "--fast-clients":
+          test.numFastClients = Integer.parseInt(args[i + 1]);
+          break;
+        case "--slow-clients":
+          test.numSlowClients = Integer.parseInt(args[i + 1]);
+          break;
+        case "--slow-rate":
+          test.slowRate = Integer.parseInt(args[i + 1]);
+          break;
+        case "--duration":
+          test.durationSeconds = Integer.parseInt(args[i + 1]);
+          break;
+        case "--warmup":
+          test.warmupSeconds = Integer.parseInt(args[i + 1]);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown option: " + args[i]);
+      }
+    }
+    test.run();
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Runs both phases and prints their results.
+   *
+   * @throws IOException
+   *         If the stub server couldn't be started or the input couldn't be read.
+   * @throws InterruptedException
+   *         If the test was interrupted.
+   */
+  public void run() throws IOException, InterruptedException {
+    this.pdf = Files.readAllBytes(BenchmarkInputs.resolve(this.input));
+    this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    HttpServer origin = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    origin.createContext("/fast.pdf", exchange -> serve(exchange, false));
+    origin.createContext("/slow.pdf", exchange -> serve(exchange, true));
+    origin.setExecutor(Executors.newCachedThreadPool());
+    origin.start();
+    String originUrl = "http://localhost:" + origin.getAddress().getPort();
+
+    System.out.printf("PDF file: %s (%d bytes), %d fast clients, %d slow clients at %d bytes/s,"
+        + " %d s per phase%n", this.input, this.pdf.length, this.numFastClients,
+        this.numSlowClients, this.slowRate, this.durationSeconds);
+    try {
+      runPhase(originUrl, 0, this.warmupSeconds);
+      Result baseline = runPhase(originUrl, 0, this.durationSeconds);
+      System.out.println("baseline:    " + baseline);
+      Result slowOrigin = runPhase(originUrl, this.numSlowClients, this.durationSeconds);
+      System.out.println("slow origin: " + slowOrigin);
+      System.out.printf("throughput of the fast requests under slow-origin conditions: %.0f%% of"
+          + " the baseline%n", 100 * slowOrigin.getThroughput() / baseline.getThroughput());
+    } finally {
+      origin.stop(0);
+      ((ExecutorService) origin.getExecutor()).shutdownNow();
+    }
+  }
+
+  /**
+   * Runs a single phase.
+   *
+   * @param originUrl
+   *        The URL of the stub server.
+   * @param numSlowClients
+   *        The number of clients that request slow PDF files.
+   * @param seconds
+   *        The length of the phase, in seconds.
+   *
+   * @return The result of the phase.
+   *
+   * @throws InterruptedException
+   *         If the test was interrupted.
+   */
+  protected Result runPhase(String originUrl, int numSlowClients, int seconds)
+      throws InterruptedException {
+    Result result = new Result(seconds);
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+    ExecutorService clients = Executors.newFixedThreadPool(this.numFastClients + numSlowClients);
+    for (int i = 0; i < this.numFastClients; i++) {
+      clients.execute(() -> sendRequests(originUrl + "/fast.pdf", deadline, result, true));
+    }
+    for (int i = 0; i < numSlowClients; i++) {
+      clients.execute(() -> sendRequests(originUrl + "/slow.pdf", deadline, result, false));
+    }
+    clients.shutdown();
+
+    // Don't wait for the slow requests that are still running at the end of the phase.
+    Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+    clients.awaitTermination(5, TimeUnit.SECONDS);
+    clients.shutdownNow();
+    clients.awaitTermination(5, TimeUnit.SECONDS);
+    return result;
+  }
+
+  /**
+   * Sends requests to parse the PDF file at the given URL until the given deadline.
+   *
+   * @param pdfUrl
+   *        The URL of the PDF file.
+   * @param deadline
+   *        The value of System.nanoTime() at which to stop.
+   * @param result
+   *        The result to record the requests in.
+   * @param fast
+   *        Whether the PDF file is served fast.
+   */
+  protected void sendRequests(String pdfUrl, long deadline, Result result, boolean fast) {
+    String payload = "{\"url\": \"" + pdfUrl + "\"}";
+    HttpRequest request = HttpRequest.newBuilder(URI.create(this.apiUrl + PARSE_PATH))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(payload, StandardCharsets.UTF_8))
+        .timeout(Duration.ofMinutes(5))
+        .build();
+
+    while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+      long start = System.nanoTime();
+      int status;
+      try {
+        status = this.client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+      } catch (IOException e) {
+        status = -1;
+      } catch (InterruptedException e) {
+        return;
+      }
+      long end = System.nanoTime();
+      if (end <= deadline) {
+        result.record(fast, status, TimeUnit.NANOSECONDS.toMillis(end - start));
+      }
+    }
+  }
+
+  /**
+   * Serves the input PDF file, with a unique trailing comment.
+   *
+   * @param exchange
+   *        The exchange of the request.
+   * @param slow
+   *        Whether to trickle the PDF file at the slow rate.
+   *
+   * @throws IOException
+   *         If writing the PDF file failed.
+   */
+  protected void serve(HttpExchange exchange, boolean slow) throws IOException {
+    byte[] trailer = ("\n%" + this.numServed.incrementAndGet() + "\n")
+        .getBytes(StandardCharsets.US_ASCII);
+    exchange.getResponseHeaders().set("Content-Type", "application/pdf");
+    exchange.sendResponseHeaders(200, this.pdf.length + trailer.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      if (!slow) {
+        out.write(this.pdf);
+      } else {
+        long chunkMillis = 1000L * SLOW_CHUNK_SIZE / this.slowRate;
+        for (int offset = 0; offset < this.pdf.length; offset += SLOW_CHUNK_SIZE) {
+          out.write(this.pdf, offset, Math.min(SLOW_CHUNK_SIZE, this.pdf.length - offset));
+          out.flush();
+          Thread.sleep(chunkMillis);
+        }
+      }
+      out.write(trailer);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * The result of a phase.
+   */
+  protected static class Result {
+    /**
+     * The length of the phase, in seconds.
+     */
+    protected int seconds;
+
+    /**
+     * The latencies of the successful fast requests, in milliseconds.
+     */
+    protected List<Long> fastLatencies = new ArrayList<>();
+
+    /**
+     * The number of successful slow requests.
+     */
+    protected int numSlowSucceeded;
+
+    /**
+     * The numbers of the failed requests per status (-1 for connection errors).
+     */
+    protected Map<Integer, Integer> numFailed = new TreeMap<>();
+
+    /**
+     * Creates a new result.
+     *
+     * @param seconds
+     *        The length of the phase, in seconds.
+     */
+    protected Result(int seconds) {
+      this.seconds = seconds;
+    }
+
+    /**
+     * Records a finished request.
+     *
+     * @param fast
+     *        Whether the PDF file was served fast.
+     * @param status
+     *        The status of the response.
+     * @param millis
+     *        The latency of the request, in milliseconds.
+     */
+    protected synchronized void record(boolean fast, int status, long millis) {
+      if (status != 200) {
+        this.numFailed.merge(status, 1, Integer::sum);
+      } else if (fast) {
+        this.fastLatencies.add(millis);
+      } else {
+        this.numSlowSucceeded++;
+      }
+    }
+
+    /**
+     * Returns the throughput of the successful fast requests.
+     *
+     * @return The number of successful fast requests per second.
+     */
+    protected synchronized double getThroughput() {
+      return (double) this.fastLatencies.size() / this.seconds;
+    }
+
+    /**
+     * Returns the throughput of all successful requests (fast and slow).
+     *
+     * @return The number of successful requests per second.
+     */
+    protected synchronized double getTotalThroughput() {
+      return (double) (this.fastLatencies.size() + this.numSlowSucceeded) / this.seconds;
+    }
+
+    /**
+     * Returns the given percentile of the latencies of the successful fast requests.
+     *
+     * @param percentile
+     *        The percentile, between 0 and 100.
+     *
+     * @return The latency, in milliseconds.
+     */
+    protected synchronized long getLatency(int percentile) {
+      if (this.fastLatencies.isEmpty()) {
+        return 0;
+      }
+      List<Long> sorted = new ArrayList<>(this.fastLatencies);
+      Collections.sort(sorted);
+      return sorted.get(Math.min(sorted.size() - 1, sorted.size() * percentile / 100));
+    }
+
+    @Override
+    public synchronized String toString() {
+      return String.format("fast: %d requests, %.2f req/s, p50 %d ms, p95 %d ms, max %d ms;"
+          + " slow: %d requests; total: %.2f req/s; failed: %s", this.fastLatencies.size(),
+          getThroughput(), getLatency(50), getLatency(95), getLatency(100),
+          this.numSlowSucceeded, getTotalThroughput(), this.numFailed);
+    }
+  }
+}
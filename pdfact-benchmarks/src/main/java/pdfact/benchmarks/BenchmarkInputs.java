@@ -0,0 +1,215 @@
+package pdfact.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+/**
+ * Resolves the input PDF files of the benchmarks, given by the values of their "input" parameters.
+ * An input is either:
+ *
+ * <ul>
+ * <li>the name of a PDF file bundled with the benchmarks, without the file extension (for
+ * example, "ACL_2004");</li>
+ * <li>the name of a bundled PDF file, followed by "x&lt;n&gt;" (for example, "ACL_2004x8"), for a
+ * synthetic large PDF file that contains the pages of the bundled file n times;</li>
+ * <li>"synthetic:" followed by the specification of a PDF file generated by
+ * {@link SyntheticPdfGenerator} (for example, "synthetic:pages=100:chars=5000:tables=1");</li>
+ * <li>the path to any other PDF file, for example passed via "-p input=/path/to/file.pdf".</li>
+ * </ul>
+ *
+ * <p>
+ * The bundled and synthetic PDF files are written to temporary files on first use, since the
+ * parser reads the PDF files from disk.
+ *
+ * @author Claudius Korzen
+ */
+public class BenchmarkInputs {
+  /**
+   * The directory of the bundled PDF files on the classpath.
+   */
+  protected static final String BUNDLED_PDFS_DIR = "/pdfs/";
+
+  /**
+   * The pattern of the name of a synthetic PDF file.
+   */
+  protected static final Pattern SYNTHETIC_PATTERN = Pattern.compile("(.+)x(\\d+)");
+
+  /**
+   * The prefix of the specification of a generated PDF file.
+   */
+  protected static final String GENERATED_PREFIX = "synthetic:";
+
+  /**
+   * The paths of the already resolved inputs.
+   */
+  protected static final Map<String, Path> RESOLVED_PATHS = new HashMap<>();
+
+  // ==============================================================================================
+
+  /**
+   * Returns the path to the PDF file given by the given input.
+   *
+   * @param input
+   *        The name of a bundled PDF file, the name of a synthetic PDF file or a path.
+   *
+   * @return The path to the PDF file.
+   *
+   * @throws IOException
+   *         If there is no such PDF file or the file couldn't be created.
+   */
+  public static synchronized Path resolve(String input) throws IOException {
+    Path path = RESOLVED_PATHS.get(input);
+    if (path == null) {
+      path = create(input);
+      RESOLVED_PATHS.put(input, path);
+    }
+    return path;
+  }
+
+  /**
+   * Creates the PDF file given by the given input.
+   *
+   * @param input
+   *        The name of a bundled PDF file, the name of a synthetic PDF file or a path.
+   *
+   * @return The path to the PDF file.
+   *
+   * @throws IOException
+   *         If there is no such PDF file or the file couldn't be created.
+   */
+  protected static Path create(String input) throws IOException {
+    URL bundled = BenchmarkInputs.class.getResource(BUNDLED_PDFS_DIR + input + ".pdf");
+    if (bundled != null) {
+      return extract(bundled, input);
+    }
+
+    if (input.startsWith(GENERATED_PREFIX)) {
+      return generate(input.substring(GENERATED_PREFIX.length()));
+    }
+
+    Matcher m = SYNTHETIC_PATTERN.matcher(input);
+    if (m.matches()) {
+      URL source = BenchmarkInputs.class.getResource(BUNDLED_PDFS_DIR + m.group(1) + ".pdf");
+      if (source != null) {
+        return replicate(resolve(m.group(1)), Integer.parseInt(m.group(2)), input);
+      }
+    }
+
+    Path path = Paths.get(input);
+    if (!Files.isRegularFile(path)) {
+      throw new IOException("There is no bundled PDF file '" + input + "' and no such file.");
+    }
+    return path;
+  }
+
+  /**
+   * Writes the given bundled PDF file to a temporary file.
+   *
+   * @param resource
+   *        The bundled PDF file.
+   * @param name
+   *        The name of the input.
+   *
+   * @return The path to the temporary file.
+   *
+   * @throws IOException
+   *         If the file couldn't be written.
+   */
+  protected static Path extract(URL resource, String name) throws IOException {
+    Path file = createTempFile(name);
+    try (InputStream in = resource.openStream()) {
+      Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+    return file;
+  }
+
+  /**
+   * Writes a PDF file that contains the pages of the given PDF file n times to a temporary file.
+   *
+   * @param source
+   *        The PDF file to replicate.
+   * @param n
+   *        The number of copies.
+   * @param name
+   *        The name of the input.
+   *
+   * @return The path to the temporary file.
+   *
+   * @throws IOException
+   *         If the file couldn't be written.
+   */
+  protected static Path replicate(Path source, int n, String name) throws IOException {
+    Path file = createTempFile(name);
+
+    // The copies must not be closed before the merged document was saved.
+    List<PDDocument> copies = new ArrayList<>();
+    try (PDDocument merged = new PDDocument()) {
+      PDFMergerUtility merger = new PDFMergerUtility();
+      for (int i = 0; i < n; i++) {
+        PDDocument copy = PDDocument.load(source.toFile());
+        copies.add(copy);
+        merger.appendDocument(merged, copy);
+      }
+      merged.save(file.toFile());
+    } finally {
+      for (PDDocument copy : copies) {
+        copy.close();
+      }
+    }
+    return file;
+  }
+
+  /**
+   * Writes a PDF file generated by {@link SyntheticPdfGenerator} to a temporary file.
+   *
+   * @param spec
+   *        The specification of the PDF file (see {@link SyntheticPdfGenerator#fromSpec(String)}).
+   *
+   * @return The path to the temporary file.
+   *
+   * @throws IOException
+   *         If the file couldn't be written.
+   */
+  protected static Path generate(String spec) throws IOException {
+    SyntheticPdfGenerator generator;
+    try {
+      generator = SyntheticPdfGenerator.fromSpec(spec);
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Invalid specification '" + spec + "': " + e.getMessage(), e);
+    }
+    Path file = createTempFile("synthetic");
+    generator.generate(file);
+    return file;
+  }
+
+  /**
+   * Creates a temporary file for the given input, which is deleted on exit.
+   *
+   * @param name
+   *        The name of the input.
+   *
+   * @return The path to the temporary file.
+   *
+   * @throws IOException
+   *         If the file couldn't be created.
+   */
+  protected static Path createTempFile(String name) throws IOException {
+    Path file = Files.createTempFile("pdfact-benchmark-" + name + "-", ".pdf");
+    file.toFile().deleteOnExit();
+    return file;
+  }
+}
@@ -0,0 +1,56 @@
+package pdfact.benchmarks;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The main class of the benchmarks jar. Accepts the same options as the main class of JMH, but
+ * enables the GC profiler (which reports the allocation rate of the benchmarks) unless another
+ * profiler is given via "-prof".
+ *
+ * @author Claudius Korzen
+ */
+public class BenchmarkMain {
+  /**
+   * Runs the benchmarks.
+   *
+   * @param args
+   *        The JMH command line options.
+   *
+   * @throws IOException
+   *         If JMH couldn't be started.
+   * @throws RunnerException
+   *         If running the benchmarks failed.
+   */
+  public static void main(String[] args) throws IOException, RunnerException {
+    CommandLineOptions options;
+    try {
+      options = new CommandLineOptions(args);
+    } catch (CommandLineOptionException e) {
+      // Let JMH report the invalid options.
+      Main.main(args);
+      return;
+    }
+
+    // Let JMH handle the options that don't run any benchmarks.
+    if (options.shouldHelp() || options.shouldList() || options.shouldListWithParams()
+        || options.shouldListProfilers() || options.shouldListResultFormats()) {
+      Main.main(args);
+      return;
+    }
+
+    ChainedOptionsBuilder builder = new OptionsBuilder().parent(options);
+    if (options.getProfilers().isEmpty()) {
+      builder.addProfiler(GCProfiler.class);
+    }
+    new Runner(builder.build()).run();
+  }
+}
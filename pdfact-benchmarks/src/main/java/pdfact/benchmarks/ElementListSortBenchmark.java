@@ -0,0 +1,231 @@
+package pdfact.benchmarks;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pdfact.core.model.Character;
+import pdfact.core.model.Element;
+import pdfact.core.model.Page;
+import pdfact.core.model.Position;
+import pdfact.core.model.Rectangle;
+import pdfact.core.util.comparator.MinXComparator;
+import pdfact.core.util.list.ElementList;
+
+/**
+ * Compares the different ways to sort a list of characters by their minX values: (1) the
+ * key-extracting sort of {@link ElementList#sort(Comparator)}, used for the comparators of the
+ * util.comparator package, (2) the comparator-based sort of {@link ElementList#sort(Comparator)},
+ * used for any other comparator, and (3) the recursive Quicksort that was used before.
+ *
+ * <p>
+ * The characters are arranged sorted (as they typically arrive from the PDF stream), reversed or
+ * randomly. In each case, about a quarter of the characters share their minX value with another
+ * character.
+ *
+ * @author Claudius Korzen
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ElementListSortBenchmark {
+  /**
+   * The number of characters to sort.
+   */
+  @Param({ "100", "1000", "10000" })
+  public int size;
+
+  /**
+   * The initial arrangement of the characters.
+   */
+  @Param({ "sorted", "reversed", "random" })
+  public String arrangement;
+
+  /**
+   * The characters to sort, in their initial arrangement.
+   */
+  protected Character[] characters;
+
+  /**
+   * The comparator that provides sort keys.
+   */
+  protected MinXComparator keyedComparator;
+
+  /**
+   * The same comparator, hidden behind a lambda, such that no sort keys are extracted.
+   */
+  protected Comparator<Character> plainComparator;
+
+  /**
+   * Creates the characters to sort.
+   */
+  @Setup
+  public void setup() {
+    Page page = new Page(1);
+    Random random = new Random(this.size);
+
+    this.characters = new Character[this.size];
+    for (int i = 0; i < this.size; i++) {
+      // Let about every fourth character share its minX value with its predecessor.
+      float minX = random.nextInt(4) == 0 ? i - 1 : i;
+      Character character = new Character();
+      character.setPosition(new Position(page, new Rectangle(minX, 0, minX + 5, 10)));
+      this.characters[i] = character;
+    }
+
+    if ("reversed".equals(this.arrangement)) {
+      for (int i = 0, j = this.size - 1; i < j; i++, j--) {
+        Character tmp = this.characters[i];
+        this.characters[i] = this.characters[j];
+        this.characters[j] = tmp;
+      }
+    } else if ("random".equals(this.arrangement)) {
+      for (int i = this.size - 1; i > 0; i--) {
+        int j = random.nextInt(i + 1);
+        Character tmp = this.characters[i];
+        this.characters[i] = this.characters[j];
+        this.characters[j] = tmp;
+      }
+    }
+
+    this.keyedComparator = new MinXComparator();
+    MinXComparator comparator = new MinXComparator();
+    this.plainComparator = (c1, c2) -> comparator.compare(c1, c2);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Sorts the characters by extracting their sort keys.
+   *
+   * @return The sorted list.
+   */
+  @Benchmark
+  public ElementList<Character> keyedSort() {
+    ElementList<Character> list = createList();
+    list.sort(this.keyedComparator);
+    return list;
+  }
+
+  /**
+   * Sorts the characters by comparing them with a comparator.
+   *
+   * @return The sorted list.
+   */
+  @Benchmark
+  public ElementList<Character> comparatorSort() {
+    ElementList<Character> list = createList();
+    list.sort(this.plainComparator);
+    return list;
+  }
+
+  /**
+   * Sorts the characters with the former recursive Quicksort.
+   *
+   * @return The sorted list.
+   */
+  @Benchmark
+  public ElementList<Character> legacyQuicksort() {
+    ElementList<Character> list = createList();
+    LegacyQuicksort.sort(list, this.keyedComparator);
+    return list;
+  }
+
+  /**
+   * Creates a new list with the characters in their initial arrangement.
+   *
+   * @return The created list.
+   */
+  protected ElementList<Character> createList() {
+    ElementList<Character> list = new ElementList<>(this.size);
+    list.addAll(Arrays.asList(this.characters));
+    return list;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * The recursive Quicksort formerly used by ElementList.sort() (with the rightmost element as
+   * the pivot), kept as the baseline of this benchmark.
+   */
+  static class LegacyQuicksort {
+    /**
+     * Sorts the given list.
+     *
+     * @param list The list to sort.
+     * @param c    The comparator to use.
+     */
+    static <T extends Element> void sort(ElementList<T> list, Comparator<? super T> c) {
+      if (list.size() < 2) {
+        return;
+      }
+      sort(list, c, 0, list.size() - 1);
+    }
+
+    /**
+     * Sorts the range [l, r] of the given list.
+     *
+     * @param list The list to sort.
+     * @param c    The comparator to use.
+     * @param l    The start index, inclusive.
+     * @param r    The end index, inclusive.
+     */
+    static <T extends Element> void sort(ElementList<T> list,
+        Comparator<? super T> c, int l, int r) {
+      int index = divide(list, c, l, r);
+      if (index > l + 1) {
+        sort(list, c, l, index - 1);
+      }
+      if (index < r - 1) {
+        sort(list, c, index + 1, r);
+      }
+    }
+
+    /**
+     * Divides the range [l, r] of the given list at the rightmost element.
+     *
+     * @param list The list to process.
+     * @param c    The comparator to use.
+     * @param l    The start index, inclusive.
+     * @param r    The end index, inclusive.
+     *
+     * @return The index of the dividing element.
+     */
+    static <T extends Element> int divide(ElementList<T> list,
+        Comparator<? super T> c, int l, int r) {
+      int i = l;
+      int j = r - 1;
+      T pivot = list.get(r);
+      while (true) {
+        while (i <= j && c.compare(list.get(i), pivot) < 0) {
+          i++;
+        }
+        while (i <= j && c.compare(list.get(j), pivot) >= 0) {
+          j--;
+        }
+        if (i > j) {
+          break;
+        }
+        list.swap(i, j);
+      }
+      list.swap(r, i);
+      return i;
+    }
+  }
+}
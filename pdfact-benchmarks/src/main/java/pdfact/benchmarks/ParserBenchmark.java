@@ -0,0 +1,74 @@
+package pdfact.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pdfact.core.model.Document;
+import pdfact.core.pipes.parse.stream.pdfbox.PdfBoxPdfStreamsParser;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * Measures the raw parsing of a PDF file by {@link PdfBoxPdfStreamsParser}, that is: the
+ * extraction of the characters, figures and shapes, without any of the subsequent pipes.
+ *
+ * @author Claudius Korzen
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+  /**
+   * The input PDF file (see {@link BenchmarkInputs}).
+   */
+  @Param({ "ACL_2004", "ACL_2004x8" })
+  public String input;
+
+  /**
+   * The path to the input PDF file.
+   */
+  protected Path path;
+
+  /**
+   * Resolves the input PDF file.
+   *
+   * @throws IOException
+   *         If the input PDF file couldn't be resolved.
+   */
+  @Setup
+  public void setup() throws IOException {
+    this.path = BenchmarkInputs.resolve(this.input);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Parses the input PDF file.
+   *
+   * @return The parsed PDF document.
+   *
+   * @throws PdfActException
+   *         If something went wrong while parsing.
+   */
+  @Benchmark
+  public Document parse() throws PdfActException {
+    Document pdf = new Document(this.path);
+    new PdfBoxPdfStreamsParser().parse(pdf);
+    return pdf;
+  }
+}
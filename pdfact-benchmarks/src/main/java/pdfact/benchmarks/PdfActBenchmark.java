@@ -0,0 +1,95 @@
+package pdfact.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pdfact.cli.PdfAct;
+import pdfact.cli.model.SerializationFormat;
+import pdfact.core.model.Document;
+import pdfact.core.model.SemanticRole;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * Measures the whole extraction by {@link PdfAct#parse(Path)}, from the validation of the path to
+ * the (optional) serialization.
+ *
+ * @author Claudius Korzen
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfActBenchmark {
+  /**
+   * The input PDF file (see {@link BenchmarkInputs}).
+   */
+  @Param({ "ACL_2004", "ACL_2004x8" })
+  public String input;
+
+  /**
+   * The path to the input PDF file.
+   */
+  protected Path path;
+
+  /**
+   * Resolves the input PDF file.
+   *
+   * @throws IOException
+   *         If the input PDF file couldn't be resolved.
+   */
+  @Setup
+  public void setup() throws IOException {
+    this.path = BenchmarkInputs.resolve(this.input);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Extracts the elements of the input PDF file, without serializing them.
+   *
+   * @return The processed PDF document.
+   *
+   * @throws PdfActException
+   *         If something went wrong while processing the PDF file.
+   */
+  @Benchmark
+  public Document parse() throws PdfActException {
+    return new PdfAct().parse(this.path);
+  }
+
+  /**
+   * Extracts the elements of the input PDF file and serializes the paragraphs in JSON format, as
+   * the command line interface does per default.
+   *
+   * @return The processed PDF document.
+   *
+   * @throws PdfActException
+   *         If something went wrong while processing the PDF file.
+   */
+  @Benchmark
+  public Document parseAndSerialize() throws PdfActException {
+    PdfAct pdfAct = new PdfAct();
+    pdfAct.setSerializationFormat(SerializationFormat.JSON);
+    pdfAct.setSerializationStream(OutputStream.nullOutputStream());
+    pdfAct.setSemanticRoles(new HashSet<>(Arrays.asList(SemanticRole.values())));
+    return pdfAct.parse(this.path);
+  }
+}
@@ -0,0 +1,70 @@
+package pdfact.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures each pipe of the core pipeline in isolation, on the input PDF files of
+ * {@link BenchmarkInputs} (see {@link AbstractPipeBenchmark}).
+ *
+ * @author Claudius Korzen
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PipeBenchmark extends AbstractPipeBenchmark {
+  /**
+   * The input PDF file (see {@link BenchmarkInputs}).
+   */
+  @Param({ "ACL_2004", "ACL_2004x8" })
+  public String input;
+
+  /**
+   * The simple class name of the pipe to measure.
+   */
+  @Param({
+      "PlainValidatePdfPathPipe",
+      "PlainParseDocumentPipe",
+      "PlainMergeDiacriticsPipe",
+      "PlainSplitLigaturesPipe",
+      "PlainStandardizeCharactersPipe",
+      "PlainFilterCharactersPipe",
+      "PlainFilterFiguresPipe",
+      "PlainFilterShapesPipe",
+      "XYCutTokenizeToTextAreasPipe",
+      "PlainTokenizeToTextLinesPipe",
+      "XYCutTokenizeToWordsPipe",
+      "PlainAggregateTextLineStatisticsPipe",
+      "PlainTokenizeToTextBlocksPipe",
+      "PlainDetectSemanticsPipe",
+      "PlainTokenizeToParagraphsPipe",
+      "PlainDehyphenateWordsPipe"
+    })
+  public String pipe;
+
+  // ==============================================================================================
+
+  @Override
+  protected Path resolveInput() throws IOException {
+    return BenchmarkInputs.resolve(this.input);
+  }
+
+  @Override
+  protected String getPipeName() {
+    return this.pipe;
+  }
+}
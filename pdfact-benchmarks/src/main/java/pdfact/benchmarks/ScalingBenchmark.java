@@ -0,0 +1,78 @@
+package pdfact.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how the pipes that work on whole pages (the detection of the text areas, the text
+ * blocks and the semantic roles) scale with the number of pages and the number of characters per
+ * page, on PDF files generated by {@link SyntheticPdfGenerator} (see
+ * {@link AbstractPipeBenchmark}).
+ *
+ * <p>
+ * The default parameters are kept small enough for a quick run; the larger scales can be
+ * measured by overriding them, for example via "-p pages=1000,10000 -p chars=100000". Further
+ * properties of the generated PDF files (for example, "tables=1:type3=2") can be given via the
+ * parameter "spec".
+ *
+ * @author Claudius Korzen
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ScalingBenchmark extends AbstractPipeBenchmark {
+  /**
+   * The number of pages of the generated PDF file.
+   */
+  @Param({ "1", "10", "100" })
+  public int pages;
+
+  /**
+   * The number of characters per page of the generated PDF file.
+   */
+  @Param({ "100", "1000", "10000" })
+  public int chars;
+
+  /**
+   * Further properties of the generated PDF file (see {@link SyntheticPdfGenerator#fromSpec}).
+   */
+  @Param({ "columns=2" })
+  public String spec;
+
+  /**
+   * The simple class name of the pipe to measure.
+   */
+  @Param({
+      "XYCutTokenizeToTextAreasPipe",
+      "PlainTokenizeToTextBlocksPipe",
+      "PlainDetectSemanticsPipe"
+    })
+  public String pipe;
+
+  // ==============================================================================================
+
+  @Override
+  protected Path resolveInput() throws IOException {
+    return BenchmarkInputs.resolve("synthetic:pages=" + this.pages + ":chars=" + this.chars
+        + ":" + this.spec);
+  }
+
+  @Override
+  protected String getPipeName() {
+    return this.pipe;
+  }
+}
@@ -0,0 +1,133 @@
+package pdfact.benchmarks;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pdfact.cli.model.ExtractionUnit;
+import pdfact.cli.model.SerializationFormat;
+import pdfact.cli.pipes.serialize.PdfBinarySerializer;
+import pdfact.cli.pipes.serialize.PdfJsonSerializer;
+import pdfact.cli.pipes.serialize.PdfSerializer;
+import pdfact.cli.pipes.serialize.PdfTxtSerializer;
+import pdfact.cli.pipes.serialize.PdfXmlSerializer;
+import pdfact.core.model.Document;
+import pdfact.core.model.SemanticRole;
+import pdfact.core.pipes.PlainPdfActCorePipe;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * Measures the serializers, on a PDF document that was processed by the core pipeline once
+ * before. All semantic roles are included, as by the command line interface per default.
+ *
+ * @author Claudius Korzen
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializerBenchmark {
+  /**
+   * The input PDF file (see {@link BenchmarkInputs}).
+   */
+  @Param({ "ACL_2004", "ACL_2004x8" })
+  public String input;
+
+  /**
+   * The serialization format.
+   */
+  @Param({ "txt", "xml", "json", "bin" })
+  public String format;
+
+  /**
+   * The unit to serialize (given by its plural name, as on the command line).
+   */
+  @Param({ "paragraphs", "words", "characters" })
+  public String unit;
+
+  /**
+   * The processed PDF document.
+   */
+  protected Document pdf;
+
+  /**
+   * The serialization format.
+   */
+  protected SerializationFormat serializationFormat;
+
+  /**
+   * The units to serialize.
+   */
+  protected Set<ExtractionUnit> units;
+
+  /**
+   * The semantic roles to include.
+   */
+  protected Set<SemanticRole> roles;
+
+  /**
+   * Processes the input PDF file by the core pipeline.
+   *
+   * @throws IOException
+   *         If the input PDF file couldn't be resolved.
+   * @throws PdfActException
+   *         If something went wrong while processing the PDF file.
+   */
+  @Setup
+  public void setup() throws IOException, PdfActException {
+    this.pdf = new Document(BenchmarkInputs.resolve(this.input));
+    new PlainPdfActCorePipe().execute(this.pdf);
+
+    this.serializationFormat = SerializationFormat.fromString(this.format);
+    this.units = ExtractionUnit.fromStrings(this.unit);
+    this.roles = new HashSet<>(Arrays.asList(SemanticRole.values()));
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Serializes the processed PDF document.
+   *
+   * @return The serialization.
+   *
+   * @throws PdfActException
+   *         If something went wrong while serializing.
+   */
+  @Benchmark
+  public byte[] serialize() throws PdfActException {
+    // The serializers collect the used fonts and colors, so a new serializer is needed each time.
+    PdfSerializer serializer;
+    switch (this.serializationFormat) {
+      case TXT:
+        serializer = new PdfTxtSerializer(false, this.units, this.roles);
+        break;
+      case XML:
+        serializer = new PdfXmlSerializer(this.units, this.roles);
+        break;
+      case BINARY:
+        serializer = new PdfBinarySerializer(this.units, this.roles);
+        break;
+      case JSON:
+      default:
+        serializer = new PdfJsonSerializer(this.units, this.roles);
+        break;
+    }
+    return serializer.serialize(this.pdf);
+  }
+}
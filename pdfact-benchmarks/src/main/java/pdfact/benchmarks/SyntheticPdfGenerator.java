@@ -0,0 +1,799 @@
+package pdfact.benchmarks;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSFloat;
+import org.apache.pdfbox.cos.COSInteger;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.PDType3Font;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.util.Matrix;
+
+/**
+ * Generates synthetic PDF files of configurable size and complexity, for measuring how the
+ * extraction scales with the number of pages and the number of characters per page.
+ *
+ * <p>
+ * Each page contains (from top to bottom): a row of repeated Form XObjects in the top margin, a
+ * row of images, a number of table grids (drawn by lines, with a number in each cell), and the
+ * body text, laid out in columns and broken into paragraphs and section headings. The first page
+ * starts with a title. The body text consists of random words in the standard 14 fonts (which
+ * don't need to be embedded) and optionally in a Type3 font, whose glyphs are filled rectangles.
+ * The font size of the body text is chosen such that the configured number of characters fills
+ * the space left on the page.
+ *
+ * <p>
+ * The generated PDF files are deterministic: the same configuration (including the seed) always
+ * produces the same PDF file, byte for byte.
+ *
+ * @author Claudius Korzen
+ */
+public class SyntheticPdfGenerator {
+  /**
+   * The standard 14 fonts available for the body text, in the order in which they are used.
+   */
+  protected static final PDType1Font[] FONTS = {
+    PDType1Font.TIMES_ROMAN, PDType1Font.HELVETICA, PDType1Font.COURIER,
+    PDType1Font.TIMES_ITALIC, PDType1Font.HELVETICA_OBLIQUE, PDType1Font.COURIER_OBLIQUE,
+    PDType1Font.TIMES_BOLD, PDType1Font.HELVETICA_BOLD, PDType1Font.COURIER_BOLD,
+    PDType1Font.TIMES_BOLD_ITALIC, PDType1Font.HELVETICA_BOLD_OBLIQUE,
+    PDType1Font.COURIER_BOLD_OBLIQUE, PDType1Font.SYMBOL, PDType1Font.ZAPF_DINGBATS
+  };
+
+  /**
+   * The font of the title and the section headings.
+   */
+  protected static final PDType1Font HEADING_FONT = PDType1Font.HELVETICA_BOLD;
+
+  /**
+   * The font of the text in the table cells and the Form XObjects.
+   */
+  protected static final PDType1Font SMALL_FONT = PDType1Font.HELVETICA;
+
+  /**
+   * The words from which the text is composed.
+   */
+  protected static final String[] WORDS = ("lorem ipsum dolor sit amet consectetur adipiscing "
+      + "elit sed do eiusmod tempor incididunt ut labore et dolore magna aliqua enim ad minim "
+      + "veniam quis nostrud exercitation ullamco laboris nisi aliquip ex ea commodo consequat "
+      + "duis aute irure in reprehenderit voluptate velit esse cillum fugiat nulla pariatur "
+      + "excepteur sint occaecat cupidatat non proident sunt culpa qui officia deserunt mollit "
+      + "anim id est laborum").split(" ");
+
+  /**
+   * The page size.
+   */
+  protected static final PDRectangle PAGE_SIZE = PDRectangle.LETTER;
+
+  /**
+   * The width of the page margins.
+   */
+  protected static final float MARGIN = 72;
+
+  /**
+   * The gap between two columns, and between the elements above the body text.
+   */
+  protected static final float GAP = 12;
+
+  /**
+   * The height of the row of images.
+   */
+  protected static final float IMAGE_HEIGHT = 96;
+
+  /**
+   * The number of rows of a table grid.
+   */
+  protected static final int TABLE_ROWS = 5;
+
+  /**
+   * The number of columns of a table grid.
+   */
+  protected static final int TABLE_COLUMNS = 4;
+
+  /**
+   * The height of a row of a table grid.
+   */
+  protected static final float TABLE_ROW_HEIGHT = 14;
+
+  /**
+   * The line height of the body text, relative to the font size.
+   */
+  protected static final float LINE_HEIGHT = 1.2f;
+
+  /**
+   * The average width of a character of the body text, relative to the font size.
+   */
+  protected static final float AVERAGE_CHAR_WIDTH = 0.5f;
+
+  // ==============================================================================================
+
+  /**
+   * The number of pages.
+   */
+  protected int numPages = 10;
+
+  /**
+   * The number of text columns per page.
+   */
+  protected int numColumns = 2;
+
+  /**
+   * The (approximate) number of characters of the body text per page.
+   */
+  protected int numCharsPerPage = 3000;
+
+  /**
+   * The number of distinct standard 14 fonts used for the body text.
+   */
+  protected int numFonts = 2;
+
+  /**
+   * The number of table grids per page.
+   */
+  protected int numTablesPerPage = 0;
+
+  /**
+   * The number of paragraphs per page set in the Type3 font.
+   */
+  protected int numType3ParagraphsPerPage = 0;
+
+  /**
+   * The number of distinct Form XObjects, each drawn on every page.
+   */
+  protected int numForms = 0;
+
+  /**
+   * The number of images per page (each drawn on every page, from a shared image XObject).
+   */
+  protected int numImagesPerPage = 0;
+
+  /**
+   * The seed of the random words and numbers.
+   */
+  protected long seed = 0;
+
+  // ==============================================================================================
+
+  /**
+   * Creates a generator configured by the given specification.
+   *
+   * @param spec
+   *        The specification, as a list of key=value pairs separated by ":" or ",", with the
+   *        keys "pages", "columns", "chars", "fonts", "tables", "type3", "forms", "images" and
+   *        "seed" (for example, "pages=100:columns=2:chars=5000:tables=1"). Missing keys keep
+   *        their default values.
+   *
+   * @return The configured generator.
+   *
+   * @throws IllegalArgumentException
+   *         If the specification is invalid.
+   */
+  public static SyntheticPdfGenerator fromSpec(String spec) {
+    SyntheticPdfGenerator generator = new SyntheticPdfGenerator();
+    if (spec == null) {
+      return generator;
+    }
+
+    // Accept ":" as separator, since JMH splits parameter values at ",".
+    for (String pair : spec.split("[:,]")) {
+      if (pair.trim().isEmpty()) {
+        continue;
+      }
+      String[] keyValue = pair.split("=", 2);
+      if (keyValue.length != 2) {
+        throw new IllegalArgumentException("Invalid key=value pair '" + pair + "'.");
+      }
+      String key = keyValue[0].trim();
+      long value;
+      try {
+        value = Long.parseLong(keyValue[1].trim());
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid value of '" + key + "': " + keyValue[1], e);
+      }
+
+      switch (key) {
+        case "pages":
+          generator.setNumPages((int) value);
+          break;
+        case "columns":
+          generator.setNumColumns((int) value);
+          break;
+        case "chars":
+          generator.setNumCharsPerPage((int) value);
+          break;
+        case "fonts":
+          generator.setNumFonts((int) value);
+          break;
+        case "tables":
+          generator.setNumTablesPerPage((int) value);
+          break;
+        case "type3":
+          generator.setNumType3ParagraphsPerPage((int) value);
+          break;
+        case "forms":
+          generator.setNumForms((int) value);
+          break;
+        case "images":
+          generator.setNumImagesPerPage((int) value);
+          break;
+        case "seed":
+          generator.setSeed(value);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown key '" + key + "'.");
+      }
+    }
+    return generator;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Generates a PDF file and writes it to the given path.
+   *
+   * @param path
+   *        The path to write the PDF file to.
+   *
+   * @throws IOException
+   *         If the PDF file couldn't be generated or written.
+   */
+  public void generate(Path path) throws IOException {
+    Random random = new Random(this.seed);
+
+    // Keep the content streams of large documents out of the heap.
+    try (PDDocument doc = new PDDocument(MemoryUsageSetting.setupMixed(64 * 1024 * 1024))) {
+      PDFont type3Font = this.numType3ParagraphsPerPage > 0 ? createType3Font(doc) : null;
+
+      List<PDFormXObject> forms = new ArrayList<>();
+      float formWidth = this.numForms > 0
+          ? (PAGE_SIZE.getWidth() - 2 * MARGIN) / this.numForms - 4 : 0;
+      for (int i = 0; i < this.numForms; i++) {
+        forms.add(createForm(doc, i, Math.min(formWidth, 72)));
+      }
+
+      List<PDImageXObject> images = new ArrayList<>();
+      for (int i = 0; i < this.numImagesPerPage; i++) {
+        images.add(createImage(doc, random));
+      }
+
+      for (int i = 0; i < this.numPages; i++) {
+        PDPage page = new PDPage(PAGE_SIZE);
+        doc.addPage(page);
+        try (PDPageContentStream cs = new PDPageContentStream(doc, page)) {
+          drawPage(cs, i, forms, formWidth, images, type3Font, random);
+        }
+      }
+
+      // Fix the document ID, which is derived from the current time otherwise.
+      COSArray id = new COSArray();
+      id.add(new COSString("pdfact-synthetic-" + this.seed));
+      id.add(new COSString("pdfact-synthetic-" + this.seed));
+      doc.getDocument().getTrailer().setItem(COSName.ID, id);
+
+      doc.save(path.toFile());
+    }
+  }
+
+  /**
+   * Draws the content of a page.
+   *
+   * @param cs
+   *        The content stream of the page.
+   * @param pageIndex
+   *        The index of the page.
+   * @param forms
+   *        The Form XObjects to draw.
+   * @param formWidth
+   *        The width reserved for each Form XObject.
+   * @param images
+   *        The images to draw.
+   * @param type3Font
+   *        The Type3 font, or null if no paragraphs should be set in the Type3 font.
+   * @param random
+   *        The random generator.
+   *
+   * @throws IOException
+   *         If drawing the page failed.
+   */
+  protected void drawPage(PDPageContentStream cs, int pageIndex, List<PDFormXObject> forms,
+      float formWidth, List<PDImageXObject> images, PDFont type3Font, Random random)
+      throws IOException {
+    float left = MARGIN;
+    float right = PAGE_SIZE.getWidth() - MARGIN;
+    float top = PAGE_SIZE.getHeight() - MARGIN;
+    float bottom = MARGIN;
+
+    // The Form XObjects, side by side in the top margin.
+    for (int i = 0; i < forms.size(); i++) {
+      cs.saveGraphicsState();
+      cs.transform(new Matrix(1, 0, 0, 1, left + i * (formWidth + 4), top + GAP));
+      cs.drawForm(forms.get(i));
+      cs.restoreGraphicsState();
+    }
+
+    // The images, side by side.
+    if (!images.isEmpty()) {
+      float imageWidth = Math.min(IMAGE_HEIGHT, (right - left) / images.size() - 4);
+      for (int i = 0; i < images.size(); i++) {
+        cs.drawImage(images.get(i), left + i * (imageWidth + 4), top - imageWidth, imageWidth,
+            imageWidth);
+      }
+      top -= imageWidth + GAP;
+    }
+
+    // The table grids, one below the other, taking at most half of the remaining space.
+    float tableHeight = TABLE_ROWS * TABLE_ROW_HEIGHT;
+    int maxNumTables = (int) (((top - bottom) / 2) / (tableHeight + GAP));
+    for (int i = 0; i < Math.min(this.numTablesPerPage, maxNumTables); i++) {
+      drawTable(cs, left, top, right - left, random);
+      top -= tableHeight + GAP;
+    }
+
+    // The body text, in columns.
+    float columnWidth = (right - left - (this.numColumns - 1) * GAP) / this.numColumns;
+    float fontSize = (float) Math.sqrt((right - left) * (top - bottom)
+        / (LINE_HEIGHT * AVERAGE_CHAR_WIDTH * Math.max(1, this.numCharsPerPage)));
+    fontSize = Math.max(1, Math.min(12, fontSize));
+    float lineHeight = LINE_HEIGHT * fontSize;
+
+    if (pageIndex == 0) {
+      float titleSize = 2 * Math.max(fontSize, 6);
+      drawLine(cs, HEADING_FONT, titleSize, left, top - titleSize,
+          createLine(HEADING_FONT, titleSize, right - left, 8, random, true));
+      top -= LINE_HEIGHT * titleSize + GAP;
+    }
+
+    int numChars = 0;
+    int paragraphIndex = 0;
+    for (int col = 0; col < this.numColumns && numChars < this.numCharsPerPage; col++) {
+      float x = left + col * (columnWidth + GAP);
+      float y = top - fontSize;
+
+      while (y >= bottom && numChars < this.numCharsPerPage) {
+        // Start a section every few paragraphs.
+        if (paragraphIndex % 6 == 5 && y - 2 * lineHeight >= bottom) {
+          String heading = createLine(HEADING_FONT, fontSize, columnWidth, 5, random, true);
+          drawLine(cs, HEADING_FONT, fontSize, x, y, heading);
+          numChars += heading.length();
+          y -= 1.5f * lineHeight;
+        }
+
+        PDFont font = paragraphIndex < this.numType3ParagraphsPerPage
+            ? type3Font : FONTS[paragraphIndex % Math.max(1, this.numFonts)];
+        int numLines = 3 + random.nextInt(8);
+        for (int i = 0; i < numLines && y >= bottom && numChars < this.numCharsPerPage; i++) {
+          // Indent the first line of a paragraph, and shorten the last line.
+          float indent = i == 0 ? 2 * fontSize : 0;
+          float width = i == numLines - 1 ? columnWidth * 0.6f : columnWidth - indent;
+          String line = createLine(font, fontSize, width, Integer.MAX_VALUE, random, false);
+          drawLine(cs, font, fontSize, x + indent, y, line);
+          numChars += line.length();
+          y -= lineHeight;
+        }
+        y -= 0.5f * lineHeight;
+        paragraphIndex++;
+      }
+    }
+  }
+
+  /**
+   * Draws a table grid with the given upper left corner.
+   *
+   * @param cs
+   *        The content stream of the page.
+   * @param x
+   *        The x-coordinate of the upper left corner.
+   * @param y
+   *        The y-coordinate of the upper left corner.
+   * @param width
+   *        The width of the table.
+   * @param random
+   *        The random generator.
+   *
+   * @throws IOException
+   *         If drawing the table failed.
+   */
+  protected void drawTable(PDPageContentStream cs, float x, float y, float width, Random random)
+      throws IOException {
+    float cellWidth = width / TABLE_COLUMNS;
+    float height = TABLE_ROWS * TABLE_ROW_HEIGHT;
+
+    cs.setLineWidth(0.5f);
+    for (int row = 0; row <= TABLE_ROWS; row++) {
+      cs.moveTo(x, y - row * TABLE_ROW_HEIGHT);
+      cs.lineTo(x + width, y - row * TABLE_ROW_HEIGHT);
+    }
+    for (int col = 0; col <= TABLE_COLUMNS; col++) {
+      cs.moveTo(x + col * cellWidth, y);
+      cs.lineTo(x + col * cellWidth, y - height);
+    }
+    cs.stroke();
+
+    for (int row = 0; row < TABLE_ROWS; row++) {
+      for (int col = 0; col < TABLE_COLUMNS; col++) {
+        String text = String.valueOf(random.nextInt(100000));
+        drawLine(cs, SMALL_FONT, 8, x + col * cellWidth + 3,
+            y - (row + 1) * TABLE_ROW_HEIGHT + 4, text);
+      }
+    }
+  }
+
+  /**
+   * Draws a line of text.
+   *
+   * @param cs
+   *        The content stream of the page.
+   * @param font
+   *        The font of the text.
+   * @param fontSize
+   *        The font size of the text.
+   * @param x
+   *        The x-coordinate of the baseline start.
+   * @param y
+   *        The y-coordinate of the baseline.
+   * @param text
+   *        The text to draw.
+   *
+   * @throws IOException
+   *         If drawing the text failed.
+   */
+  protected void drawLine(PDPageContentStream cs, PDFont font, float fontSize, float x, float y,
+      String text) throws IOException {
+    cs.beginText();
+    cs.setFont(font, fontSize);
+    cs.newLineAtOffset(x, y);
+    cs.showText(text);
+    cs.endText();
+  }
+
+  /**
+   * Creates a line of random words that fits into the given width.
+   *
+   * @param font
+   *        The font of the line.
+   * @param fontSize
+   *        The font size of the line.
+   * @param width
+   *        The maximum width of the line.
+   * @param maxNumWords
+   *        The maximum number of words.
+   * @param random
+   *        The random generator.
+   * @param capitalize
+   *        Whether or not the words should be capitalized.
+   *
+   * @return The line (consisting of at least one word, even if it doesn't fit).
+   *
+   * @throws IOException
+   *         If the width of the line couldn't be computed.
+   */
+  protected String createLine(PDFont font, float fontSize, float width, int maxNumWords,
+      Random random, boolean capitalize) throws IOException {
+    StringBuilder line = new StringBuilder();
+    float lineWidth = 0;
+    float spaceWidth = font.getStringWidth(" ") / 1000 * fontSize;
+    for (int i = 0; i < maxNumWords; i++) {
+      String word = WORDS[random.nextInt(WORDS.length)];
+      if (capitalize) {
+        word = Character.toUpperCase(word.charAt(0)) + word.substring(1);
+      }
+      float wordWidth = font.getStringWidth(word) / 1000 * fontSize;
+      if (i > 0 && lineWidth + spaceWidth + wordWidth > width) {
+        break;
+      }
+      if (i > 0) {
+        line.append(' ');
+        lineWidth += spaceWidth;
+      }
+      line.append(word);
+      lineWidth += wordWidth;
+    }
+    return line.toString();
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Creates a Type3 font with glyphs for the space and the lowercase letters a-z, each drawn as a
+   * filled rectangle of a distinct width.
+   *
+   * @param doc
+   *        The document to which the font belongs.
+   *
+   * @return The created Type3 font.
+   *
+   * @throws IOException
+   *         If the font couldn't be created.
+   */
+  protected PDFont createType3Font(PDDocument doc) throws IOException {
+    COSDictionary charProcs = new COSDictionary();
+    COSArray differences = new COSArray();
+    COSArray widths = new COSArray();
+
+    differences.add(COSInteger.get(' '));
+    differences.add(COSName.getPDFName("space"));
+    for (char c = ' '; c <= 'z'; c++) {
+      int width = c == ' ' ? 250 : (c >= 'a' ? 400 + 10 * (c - 'a') : 0);
+      widths.add(COSInteger.get(width));
+      if (c < 'a' && c != ' ') {
+        continue;
+      }
+
+      String name = c == ' ' ? "space" : String.valueOf(c);
+      if (c == 'a') {
+        differences.add(COSInteger.get('a'));
+      }
+      if (c != ' ') {
+        differences.add(COSName.getPDFName(name));
+      }
+
+      // The glyph: a filled rectangle (nothing for the space), with the bounding box declared.
+      String proc = c == ' '
+          ? width + " 0 0 0 0 0 d1\n"
+          : width + " 0 50 0 " + (width - 50) + " 500 d1\n50 0 " + (width - 100) + " 500 re f\n";
+      COSStream stream = doc.getDocument().createCOSStream();
+      try (OutputStream out = stream.createOutputStream()) {
+        out.write(proc.getBytes(StandardCharsets.US_ASCII));
+      }
+      charProcs.setItem(COSName.getPDFName(name), stream);
+    }
+
+    COSDictionary encoding = new COSDictionary();
+    encoding.setItem(COSName.TYPE, COSName.ENCODING);
+    encoding.setItem(COSName.DIFFERENCES, differences);
+
+    COSArray fontMatrix = new COSArray();
+    for (float value : new float[] { 0.001f, 0, 0, 0.001f, 0, 0 }) {
+      fontMatrix.add(new COSFloat(value));
+    }
+
+    COSDictionary dict = new COSDictionary();
+    dict.setItem(COSName.TYPE, COSName.FONT);
+    dict.setItem(COSName.SUBTYPE, COSName.TYPE3);
+    dict.setItem(COSName.FONT_BBOX, new PDRectangle(0, 0, 700, 500));
+    dict.setItem(COSName.FONT_MATRIX, fontMatrix);
+    dict.setItem(COSName.CHAR_PROCS, charProcs);
+    dict.setItem(COSName.ENCODING, encoding);
+    dict.setInt(COSName.FIRST_CHAR, ' ');
+    dict.setInt(COSName.LAST_CHAR, 'z');
+    dict.setItem(COSName.WIDTHS, widths);
+    dict.setItem(COSName.RESOURCES, new COSDictionary());
+
+    // PDFBox can't encode text in Type3 fonts, so encode the characters by their ASCII codes.
+    return new PDType3Font(dict) {
+      @Override
+      protected byte[] encode(int unicode) throws IOException {
+        if (unicode != ' ' && (unicode < 'a' || unicode > 'z')) {
+          throw new IllegalArgumentException("No glyph for U+" + Integer.toHexString(unicode));
+        }
+        return new byte[] { (byte) unicode };
+      }
+    };
+  }
+
+  /**
+   * Creates a Form XObject: a framed box with a label.
+   *
+   * @param doc
+   *        The document to which the Form XObject belongs.
+   * @param index
+   *        The index of the Form XObject, used in the label.
+   * @param width
+   *        The width of the box.
+   *
+   * @return The created Form XObject.
+   *
+   * @throws IOException
+   *         If the Form XObject couldn't be created.
+   */
+  protected PDFormXObject createForm(PDDocument doc, int index, float width) throws IOException {
+    float height = 14;
+    PDFormXObject form = new PDFormXObject(doc);
+    form.setBBox(new PDRectangle(0, 0, width, height));
+    form.setResources(new PDResources());
+
+    try (PDPageContentStream cs = new PDPageContentStream(doc, form,
+        form.getStream().createOutputStream(COSName.FLATE_DECODE))) {
+      cs.setLineWidth(0.5f);
+      cs.addRect(0, 0, width, height);
+      cs.stroke();
+      float fontSize = Math.min(8, width / 5);
+      drawLine(cs, SMALL_FONT, fontSize, 2, (height - fontSize) / 2 + 1, "Form " + index);
+    }
+    return form;
+  }
+
+  /**
+   * Creates an image with a random pattern of colored squares.
+   *
+   * @param doc
+   *        The document to which the image belongs.
+   * @param random
+   *        The random generator.
+   *
+   * @return The created image.
+   *
+   * @throws IOException
+   *         If the image couldn't be created.
+   */
+  protected PDImageXObject createImage(PDDocument doc, Random random) throws IOException {
+    int size = 64;
+    int squareSize = 8;
+    BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+    for (int x = 0; x < size; x += squareSize) {
+      for (int y = 0; y < size; y += squareSize) {
+        int rgb = random.nextInt(0x1000000);
+        for (int i = 0; i < squareSize; i++) {
+          for (int j = 0; j < squareSize; j++) {
+            image.setRGB(x + i, y + j, rgb);
+          }
+        }
+      }
+    }
+    return LosslessFactory.createFromImage(doc, image);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Sets the number of pages.
+   *
+   * @param numPages
+   *        The number of pages.
+   */
+  public void setNumPages(int numPages) {
+    checkRange("pages", numPages, 1, Integer.MAX_VALUE);
+    this.numPages = numPages;
+  }
+
+  /**
+   * Sets the number of text columns per page.
+   *
+   * @param numColumns
+   *        The number of text columns per page.
+   */
+  public void setNumColumns(int numColumns) {
+    checkRange("columns", numColumns, 1, 8);
+    this.numColumns = numColumns;
+  }
+
+  /**
+   * Sets the (approximate) number of characters of the body text per page.
+   *
+   * @param numCharsPerPage
+   *        The number of characters per page.
+   */
+  public void setNumCharsPerPage(int numCharsPerPage) {
+    checkRange("chars", numCharsPerPage, 0, Integer.MAX_VALUE);
+    this.numCharsPerPage = numCharsPerPage;
+  }
+
+  /**
+   * Sets the number of distinct standard 14 fonts used for the body text.
+   *
+   * @param numFonts
+   *        The number of fonts.
+   */
+  public void setNumFonts(int numFonts) {
+    checkRange("fonts", numFonts, 1, FONTS.length);
+    this.numFonts = numFonts;
+  }
+
+  /**
+   * Sets the number of table grids per page (limited by the space on the page).
+   *
+   * @param numTablesPerPage
+   *        The number of table grids per page.
+   */
+  public void setNumTablesPerPage(int numTablesPerPage) {
+    checkRange("tables", numTablesPerPage, 0, Integer.MAX_VALUE);
+    this.numTablesPerPage = numTablesPerPage;
+  }
+
+  /**
+   * Sets the number of paragraphs per page set in the Type3 font.
+   *
+   * @param numType3ParagraphsPerPage
+   *        The number of paragraphs per page set in the Type3 font.
+   */
+  public void setNumType3ParagraphsPerPage(int numType3ParagraphsPerPage) {
+    checkRange("type3", numType3ParagraphsPerPage, 0, Integer.MAX_VALUE);
+    this.numType3ParagraphsPerPage = numType3ParagraphsPerPage;
+  }
+
+  /**
+   * Sets the number of distinct Form XObjects, each drawn on every page.
+   *
+   * @param numForms
+   *        The number of Form XObjects.
+   */
+  public void setNumForms(int numForms) {
+    checkRange("forms", numForms, 0, 100);
+    this.numForms = numForms;
+  }
+
+  /**
+   * Sets the number of images per page.
+   *
+   * @param numImagesPerPage
+   *        The number of images per page.
+   */
+  public void setNumImagesPerPage(int numImagesPerPage) {
+    checkRange("images", numImagesPerPage, 0, 100);
+    this.numImagesPerPage = numImagesPerPage;
+  }
+
+  /**
+   * Sets the seed of the random words and numbers.
+   *
+   * @param seed
+   *        The seed.
+   */
+  public void setSeed(long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * Checks that the given value of the given option is in the given range.
+   *
+   * @param name
+   *        The name of the option.
+   * @param value
+   *        The value to check.
+   * @param min
+   *        The minimum allowed value.
+   * @param max
+   *        The maximum allowed value.
+   *
+   * @throws IllegalArgumentException
+   *         If the value is out of range.
+   */
+  protected static void checkRange(String name, int value, int min, int max) {
+    if (value < min || value > max) {
+      throw new IllegalArgumentException("The value of '" + name + "' must be in [" + min + ", "
+          + max + "], but is " + value + ".");
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Generates a PDF file from the command line.
+   *
+   * @param args
+   *        The specification (see {@link #fromSpec(String)}) and the path to write the PDF file
+   *        to.
+   *
+   * @throws IOException
+   *         If the PDF file couldn't be generated or written.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.err.println("Usage: SyntheticPdfGenerator <key=value:...> <output-file>");
+      System.exit(1);
+    }
+    fromSpec(args[0]).generate(Paths.get(args[1]));
+  }
+}
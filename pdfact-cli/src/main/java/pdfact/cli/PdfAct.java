@@ -2,10 +2,12 @@ package pdfact.cli;
 
 import static org.apache.logging.log4j.Level.DEBUG;
 import static org.apache.logging.log4j.Level.ERROR;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import org.apache.logging.log4j.core.config.Configurator;
 import pdfact.cli.model.ExtractionUnit;
 import pdfact.cli.model.SerializationFormat;
@@ -109,11 +111,31 @@ public class PdfAct {
    */
   protected boolean insertControlCharacters;
 
+  /**
+   * A boolean flag indicating whether or not to add the report about the execution of the
+   * pipeline (the time, CPU time and allocated bytes needed by each pipe, and the numbers of the
+   * elements before and after each pipe) to the XML or JSON serialization output.
+   */
+  protected boolean withPipelineReport;
+
   /**
    * A boolean flag indicating whether or not the pdf.js mode is enabled.
    */
   protected boolean isPdfJsMode;
 
+  /**
+   * A boolean flag indicating whether or not to write the JSON serialization output (also in the
+   * pdf.js mode) without indentation and line breaks, in a single line.
+   */
+  protected boolean compactSerialization;
+
+  /**
+   * The worker pool to process the pages of the PDF documents in parallel (null to use the common
+   * fork/join pool). Applications that parse documents concurrently should pass a dedicated pool,
+   * so that the parsing doesn't compete with other work for the common pool.
+   */
+  protected ExecutorService pageExecutor;
+
   // ==============================================================================================
 
   /**
@@ -139,6 +161,48 @@ public class PdfAct {
    * @throws PdfActException If something went wrong on parsing the PDF.
    */
   public Document parse(Path pdfPath) throws PdfActException {
+    return parse(new Document(pdfPath));
+  }
+
+  /**
+   * Parses the PDF given by its content, in memory (without writing it to a file).
+   *
+   * @param pdfContent The content of the PDF to parse.
+   *
+   * @return The parsed PDF document.
+   *
+   * @throws PdfActException If something went wrong on parsing the PDF.
+   */
+  public Document parse(byte[] pdfContent) throws PdfActException {
+    return parse(new Document(pdfContent));
+  }
+
+  /**
+   * Parses the PDF read from the given stream. The stream is not closed. Parts of the PDF that
+   * don't fit into the memory limit are buffered in a temporary file, which is deleted when the
+   * parsing is done.
+   *
+   * @param pdfStream The stream to read the PDF to parse from.
+   *
+   * @return The parsed PDF document.
+   *
+   * @throws PdfActException If something went wrong on parsing the PDF.
+   */
+  public Document parse(InputStream pdfStream) throws PdfActException {
+    return parse(new Document(pdfStream));
+  }
+
+  /**
+   * Parses the given PDF document, which is given by a path, by its content, as a stream or as a
+   * PDFBox source.
+   *
+   * @param pdf The PDF document to parse.
+   *
+   * @return The parsed PDF document.
+   *
+   * @throws PdfActException If something went wrong on parsing the PDF.
+   */
+  public Document parse(Document pdf) throws PdfActException {
     // Set the different debug levels according to the given debug flags.
     Configurator.setLevel("pdf-parsing", this.isDebugPdfParsing ? DEBUG : ERROR);
     Configurator.setLevel("char-extraction", this.isDebugCharacterExtraction ? DEBUG : ERROR);
@@ -186,9 +250,13 @@ public class PdfAct {
 
     service.setInsertControlCharacters(this.insertControlCharacters);
     service.setIsPdfJsMode(this.isPdfJsMode);
+    service.setWithPipelineReport(this.withPipelineReport);
+    service.setCompactSerialization(this.compactSerialization);
 
-    // Create the PDF document from the given path.
-    Document pdf = new Document(pdfPath);
+    // Pass the worker pool to process the pages, if there is any.
+    if (this.pageExecutor != null) {
+      service.setPageExecutor(this.pageExecutor);
+    }
 
     // Run PdfAct.
     service.execute(pdf);
@@ -484,6 +552,24 @@ public class PdfAct {
 
   // ==============================================================================================
 
+  /**
+   * Returns the boolean flag indicating whether or not to add the report about the execution of
+   * the pipeline to the XML or JSON serialization output.
+   */
+  public boolean isWithPipelineReport() {
+    return this.withPipelineReport;
+  }
+
+  /**
+   * Sets the boolean flag indicating whether or not to add the report about the execution of the
+   * pipeline to the XML or JSON serialization output.
+   */
+  public void setWithPipelineReport(boolean withPipelineReport) {
+    this.withPipelineReport = withPipelineReport;
+  }
+
+  // ==============================================================================================
+
   /**
    * Returns the boolean flag indicating whether or not the pdf.js mode is enabled.
    */
@@ -497,5 +583,43 @@ public class PdfAct {
   public void setIsPdfJsMode(boolean isPdfJsMode) {
     this.isPdfJsMode = isPdfJsMode;
   }
-}
 
+  // ==============================================================================================
+
+  /**
+   * Returns the worker pool to process the pages of the PDF documents in parallel.
+   *
+   * @return The worker pool, or null if the common fork/join pool is used.
+   */
+  public ExecutorService getPageExecutor() {
+    return this.pageExecutor;
+  }
+
+  /**
+   * Sets the worker pool to process the pages of the PDF documents in parallel. The pool is not
+   * shut down by this class.
+   *
+   * @param pageExecutor The worker pool, or null to use the common fork/join pool.
+   */
+  public void setPageExecutor(ExecutorService pageExecutor) {
+    this.pageExecutor = pageExecutor;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the boolean flag indicating whether or not to write the JSON serialization output in a
+   * single line.
+   */
+  public boolean isCompactSerialization() {
+    return this.compactSerialization;
+  }
+
+  /**
+   * Sets the boolean flag indicating whether or not to write the JSON serialization output in a
+   * single line.
+   */
+  public void setCompactSerialization(boolean compactSerialization) {
+    this.compactSerialization = compactSerialization;
+  }
+}
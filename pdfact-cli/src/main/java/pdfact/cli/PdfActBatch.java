@@ -0,0 +1,664 @@
+package pdfact.cli;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONObject;
+import pdfact.cli.model.SerializationFormat;
+import pdfact.cli.util.cache.SerializationCache;
+import pdfact.core.model.Document;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.exception.PdfActValidateException;
+
+/**
+ * Processes a batch of PDF files (for example, a whole corpus) in a single JVM, with a pool of
+ * worker threads. Each worker processes one PDF file after another, with its own instance of
+ * {@link PdfAct}. The state of the parsing (like the registry of colors) belongs to the parser of
+ * a single PDF file, so the workers don't share any mutable state except for the output streams
+ * and the cache of serializations.
+ *
+ * <p>
+ * The serializations are written either to one file per PDF file (in a given output directory)
+ * or to a single stream in JSON Lines format, with one JSON object per PDF file. A PDF file that
+ * couldn't be processed is recorded as a failure, without aborting the batch. Optionally, the
+ * serializations are looked up in and stored to a {@link SerializationCache}, so that files with
+ * the same content are parsed only once.
+ *
+ * @author Claudius Korzen
+ */
+public class PdfActBatch {
+  /**
+   * The logger.
+   */
+  protected static Logger log = LogManager.getLogger(PdfActBatch.class);
+
+  /**
+   * The characters that identify a glob pattern.
+   */
+  protected static final String GLOB_CHARACTERS = "*?[{";
+
+  /**
+   * The prefix that identifies a file that lists the paths to the PDF files to process.
+   */
+  protected static final String FILE_LIST_PREFIX = "@";
+
+  /**
+   * The factory to create the (configured) instance of PdfAct for each PDF file.
+   */
+  protected Supplier<PdfAct> pdfActFactory;
+
+  /**
+   * The number of worker threads.
+   */
+  protected int numWorkers;
+
+  /**
+   * The directory to which the serializations should be written, one file per PDF file.
+   */
+  protected Path outputDirectory;
+
+  /**
+   * The stream to which the serializations should be written in JSON Lines format.
+   */
+  protected OutputStream jsonLinesStream;
+
+  /**
+   * The stream to which the failures should be reported (may be null).
+   */
+  protected OutputStream failureStream;
+
+  /**
+   * The cache of serializations (may be null).
+   */
+  protected SerializationCache cache;
+
+  /**
+   * Creates a new batch processor.
+   *
+   * @param pdfActFactory The factory to create the (configured) instance of PdfAct for each PDF
+   *                      file. The serialization target of the created instances is set by this
+   *                      processor.
+   */
+  public PdfActBatch(Supplier<PdfAct> pdfActFactory) {
+    this.pdfActFactory = pdfActFactory;
+    this.numWorkers = Runtime.getRuntime().availableProcessors();
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Processes the given PDF files and waits until all files were processed.
+   *
+   * @param pdfPaths The paths to the PDF files to process.
+   *
+   * @return A summary of the processing.
+   *
+   * @throws PdfActException If the batch couldn't be processed at all.
+   */
+  public Summary process(List<Path> pdfPaths) throws PdfActException {
+    if (this.outputDirectory == null && this.jsonLinesStream == null) {
+      throw new PdfActValidateException("No target for the serializations given.");
+    }
+
+    Path commonParent = computeCommonParent(pdfPaths);
+    Summary summary = new Summary();
+    AtomicInteger nextIndex = new AtomicInteger();
+
+    // Each worker takes the next PDF file until all files were processed.
+    Runnable worker = () -> {
+      int index;
+      while ((index = nextIndex.getAndIncrement()) < pdfPaths.size()) {
+        process(pdfPaths.get(index), commonParent, summary);
+      }
+    };
+
+    int numThreads = Math.max(1, Math.min(this.numWorkers, pdfPaths.size()));
+    log.debug("Processing " + pdfPaths.size() + " PDF files with " + numThreads + " workers.");
+
+    long start = System.nanoTime();
+    List<Thread> threads = new ArrayList<>(numThreads);
+    for (int i = 0; i < numThreads; i++) {
+      Thread thread = new Thread(worker, "pdfact-batch-worker-" + i);
+      thread.start();
+      threads.add(thread);
+    }
+
+    try {
+      for (Thread thread : threads) {
+        thread.join();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PdfActValidateException("Interrupted while processing the batch.", e);
+    }
+    summary.elapsedNanos = System.nanoTime() - start;
+
+    return summary;
+  }
+
+  /**
+   * Processes the given PDF file and records the result (or the failure) in the given summary.
+   *
+   * @param pdfPath      The path to the PDF file to process.
+   * @param commonParent The common parent directory of all PDF files to process.
+   * @param summary      The summary to update.
+   */
+  protected void process(Path pdfPath, Path commonParent, Summary summary) {
+    PdfAct pdfAct = this.pdfActFactory.get();
+    SerializationFormat format = pdfAct.getSerializationFormat();
+    if (this.jsonLinesStream != null && format == SerializationFormat.JSON) {
+      // The JSON serialization is embedded as is into the (single-line) record.
+      pdfAct.setCompactSerialization(true);
+    }
+
+    try {
+      // Look up the serialization in the cache, if there is any, which skips the parsing. The
+      // pipeline report describes a single run, so serializations with such a report are not
+      // cached.
+      String cacheKey = null;
+      if (this.cache != null && !pdfAct.isWithPipelineReport()) {
+        cacheKey = SerializationCache.computeKey(pdfPath, pdfAct);
+        SerializationCache.Entry entry = this.cache.get(cacheKey);
+        if (entry != null) {
+          writeOutput(pdfPath, commonParent, pdfAct, entry.getNumPages(),
+              entry.getSerialization());
+          summary.numDocuments.incrementAndGet();
+          summary.numPages.addAndGet(entry.getNumPages());
+          return;
+        }
+      }
+
+      ByteArrayOutputStream buffer = null;
+      if (this.jsonLinesStream != null || cacheKey != null) {
+        buffer = new ByteArrayOutputStream();
+        pdfAct.setSerializationStream(buffer);
+      } else {
+        pdfAct.setSerializationPath(createTargetPath(pdfPath, commonParent, pdfAct));
+      }
+
+      Document pdf = pdfAct.parse(pdfPath);
+      int numPages = pdf.getPages() != null ? pdf.getPages().size() : 0;
+
+      if (buffer != null) {
+        byte[] output = buffer.toByteArray();
+        if (cacheKey != null) {
+          this.cache.put(cacheKey, new SerializationCache.Entry(numPages, output));
+        }
+        writeOutput(pdfPath, commonParent, pdfAct, numPages, output);
+      }
+      summary.numDocuments.incrementAndGet();
+      summary.numPages.addAndGet(numPages);
+    } catch (Exception e) {
+      // Record the failure of this file, without aborting the worker. Errors (like an
+      // OutOfMemoryError) are not recorded, but abort the worker.
+      summary.recordFailure(pdfPath, e);
+
+      String message = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+      log.debug("Couldn't process '" + pdfPath + "'.", e);
+      if (this.failureStream != null) {
+        writeLine(this.failureStream, "Couldn't process '" + pdfPath + "': " + message);
+      }
+      if (this.jsonLinesStream != null) {
+        String record = "{\"file\":" + JSONObject.quote(pdfPath.toString())
+            + ",\"status\":\"error\",\"error\":" + JSONObject.quote(message) + "}";
+        writeLine(this.jsonLinesStream, record.getBytes(StandardCharsets.UTF_8));
+      }
+    }
+  }
+
+  /**
+   * Writes the given serialization of the given PDF file, either as a record to the JSON Lines
+   * stream or to the file in the output directory. A JSON serialization (which is written in a
+   * single line) is embedded into the record as is, without parsing it.
+   *
+   * @param pdfPath      The path to the PDF file.
+   * @param commonParent The common parent directory of all PDF files to process.
+   * @param pdfAct       The instance of PdfAct that defines the serialization format.
+   * @param numPages     The number of pages of the PDF file.
+   * @param output       The serialization.
+   *
+   * @throws IOException If the serialization couldn't be written.
+   */
+  protected void writeOutput(Path pdfPath, Path commonParent, PdfAct pdfAct, int numPages,
+      byte[] output) throws IOException {
+    if (this.jsonLinesStream == null) {
+      Files.write(createTargetPath(pdfPath, commonParent, pdfAct), output);
+      return;
+    }
+
+    byte[] value;
+    if (pdfAct.getSerializationFormat() == SerializationFormat.JSON) {
+      // Embed the JSON (an object, or an array in pdf.js mode) instead of a string.
+      value = output;
+    } else if (pdfAct.getSerializationFormat() == SerializationFormat.BINARY) {
+      // Binary output can't be embedded as a string, so embed it Base64-encoded.
+      value = JSONObject.quote(Base64.getEncoder().encodeToString(output))
+          .getBytes(StandardCharsets.UTF_8);
+    } else {
+      value = JSONObject.quote(new String(output, StandardCharsets.UTF_8))
+          .getBytes(StandardCharsets.UTF_8);
+    }
+
+    String prefix = "{\"file\":" + JSONObject.quote(pdfPath.toString()) + ",\"status\":\"ok\""
+        + ",\"pages\":" + numPages + ",\"output\":";
+    byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
+    byte[] record = new byte[prefixBytes.length + value.length + 1];
+    System.arraycopy(prefixBytes, 0, record, 0, prefixBytes.length);
+    System.arraycopy(value, 0, record, prefixBytes.length, value.length);
+    record[record.length - 1] = '}';
+    writeLine(this.jsonLinesStream, record);
+  }
+
+  /**
+   * Computes the path to the file to which the serialization of the given PDF file should be
+   * written (see {@link #computeTargetPath(Path, Path, SerializationFormat)}) and creates its
+   * parent directories.
+   *
+   * @param pdfPath      The path to the PDF file.
+   * @param commonParent The common parent directory of all PDF files to process.
+   * @param pdfAct       The instance of PdfAct that defines the serialization format.
+   *
+   * @return The path to the target file.
+   *
+   * @throws IOException If the parent directories couldn't be created.
+   */
+  protected Path createTargetPath(Path pdfPath, Path commonParent, PdfAct pdfAct)
+      throws IOException {
+    Path target = computeTargetPath(pdfPath, commonParent, pdfAct.getSerializationFormat());
+    Files.createDirectories(target.toAbsolutePath().getParent());
+    return target;
+  }
+
+  /**
+   * Writes the given line to the given stream (which is shared by all workers).
+   *
+   * @param stream The stream to write to.
+   * @param line   The line to write.
+   */
+  protected void writeLine(OutputStream stream, String line) {
+    writeLine(stream, line.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Writes the given line, given as UTF-8 bytes without the line break, to the given stream
+   * (which is shared by all workers).
+   *
+   * @param stream The stream to write to.
+   * @param line   The bytes of the line to write.
+   */
+  protected void writeLine(OutputStream stream, byte[] line) {
+    synchronized (stream) {
+      try {
+        stream.write(line);
+        stream.write('\n');
+        stream.flush();
+      } catch (IOException e) {
+        log.error("Couldn't write to the output stream.", e);
+      }
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Computes the path to the file to which the serialization of the given PDF file should be
+   * written: the path of the PDF file relative to the given common parent, resolved against the
+   * output directory, with the file extension of the serialization format.
+   *
+   * @param pdfPath      The path to the PDF file.
+   * @param commonParent The common parent directory of all PDF files to process.
+   * @param format       The serialization format.
+   *
+   * @return The path to the target file.
+   */
+  protected Path computeTargetPath(Path pdfPath, Path commonParent, SerializationFormat format) {
+    Path relative = commonParent.relativize(pdfPath.toAbsolutePath().normalize());
+    String fileName = relative.getFileName().toString();
+    int dotIndex = fileName.lastIndexOf('.');
+    if (dotIndex > 0) {
+      fileName = fileName.substring(0, dotIndex);
+    }
+    SerializationFormat f = format != null ? format : PdfActCliSettings.DEFAULT_SERIALIZE_FORMAT;
+    fileName = fileName + "." + f.getFileExtension();
+
+    Path parent = relative.getParent();
+    Path target = parent != null ? parent.resolve(fileName) : Paths.get(fileName);
+    return this.outputDirectory.resolve(target);
+  }
+
+  /**
+   * Computes the deepest directory that contains all given files.
+   *
+   * @param paths The paths to the files.
+   *
+   * @return The deepest directory that contains all given files.
+   */
+  protected static Path computeCommonParent(List<Path> paths) {
+    Path common = null;
+    for (Path path : paths) {
+      Path parent = path.toAbsolutePath().normalize().getParent();
+      if (common == null) {
+        common = parent;
+        continue;
+      }
+      while (common != null && !parent.startsWith(common)) {
+        common = common.getParent();
+      }
+    }
+    return common != null ? common : Paths.get("").toAbsolutePath();
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns true if the given input denotes more than a single PDF file, that is: a directory, a
+   * glob pattern or a file that lists the paths to PDF files (see {@link #resolveInput(String)}).
+   *
+   * @param input The input to check.
+   *
+   * @return True if the given input denotes a batch of PDF files; false otherwise.
+   */
+  public static boolean isBatchInput(String input) {
+    if (input == null) {
+      return false;
+    }
+    return input.startsWith(FILE_LIST_PREFIX) || isGlobPattern(input)
+        || Files.isDirectory(Paths.get(input));
+  }
+
+  /**
+   * Resolves the given input to the paths of the PDF files to process. The input could be:
+   * (1) a directory, in which case all PDF files (files ending in ".pdf") in the directory and
+   * its subdirectories are processed; (2) a glob pattern (like "corpus/**&#47;*.pdf"), in which
+   * case all files matching the pattern are processed; (3) the path to a file prefixed by "@",
+   * in which case all files listed in the file (one path per line) are processed; or (4) the path
+   * to a single PDF file.
+   *
+   * @param input The input to resolve.
+   *
+   * @return The paths of the PDF files to process, sorted by their paths.
+   *
+   * @throws PdfActException If the input couldn't be resolved.
+   */
+  public static List<Path> resolveInput(String input) throws PdfActException {
+    try {
+      if (input.startsWith(FILE_LIST_PREFIX)) {
+        Path listFile = Paths.get(input.substring(FILE_LIST_PREFIX.length()));
+        try (Stream<String> lines = Files.lines(listFile, StandardCharsets.UTF_8)) {
+          return lines.map(String::trim)
+              .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+              .map(Paths::get)
+              .collect(Collectors.toList());
+        }
+      }
+
+      if (isGlobPattern(input)) {
+        // Walk the directory in front of the first glob character.
+        int globIndex = indexOfGlobCharacter(input);
+        int separatorIndex = input.lastIndexOf('/', globIndex);
+        Path base = Paths.get(separatorIndex < 0 ? "" : input.substring(0, separatorIndex + 1));
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + input);
+        return walk(base, path -> matcher.matches(path));
+      }
+
+      Path path = Paths.get(input);
+      if (Files.isDirectory(path)) {
+        return walk(path, p -> p.getFileName().toString().toLowerCase().endsWith(".pdf"));
+      }
+      return Collections.singletonList(path);
+    } catch (IOException e) {
+      throw new PdfActValidateException("Couldn't resolve the input '" + input + "'.", e);
+    }
+  }
+
+  /**
+   * Collects the regular files in the given directory and its subdirectories that are accepted
+   * by the given filter.
+   *
+   * @param dir    The directory to walk.
+   * @param filter The filter.
+   *
+   * @return The accepted files, sorted by their paths.
+   *
+   * @throws IOException If the directory couldn't be walked.
+   */
+  protected static List<Path> walk(Path dir, Predicate<Path> filter)
+      throws IOException {
+    try (Stream<Path> paths = Files.walk(dir)) {
+      return paths.filter(Files::isRegularFile).filter(filter).sorted()
+          .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Returns true if the given input is a glob pattern.
+   *
+   * @param input The input to check.
+   *
+   * @return True if the given input contains a glob character; false otherwise.
+   */
+  protected static boolean isGlobPattern(String input) {
+    return indexOfGlobCharacter(input) >= 0;
+  }
+
+  /**
+   * Returns the index of the first glob character in the given input.
+   *
+   * @param input The input to process.
+   *
+   * @return The index of the first glob character, or -1 if there is no such character.
+   */
+  protected static int indexOfGlobCharacter(String input) {
+    int index = -1;
+    for (char c : GLOB_CHARACTERS.toCharArray()) {
+      int i = input.indexOf(c);
+      if (i >= 0 && (index < 0 || i < index)) {
+        index = i;
+      }
+    }
+    return index;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the number of worker threads.
+   *
+   * @return The number of worker threads.
+   */
+  public int getNumWorkers() {
+    return this.numWorkers;
+  }
+
+  /**
+   * Sets the number of worker threads.
+   *
+   * @param numWorkers The number of worker threads.
+   */
+  public void setNumWorkers(int numWorkers) {
+    this.numWorkers = numWorkers;
+  }
+
+  /**
+   * Returns the directory to which the serializations should be written.
+   *
+   * @return The directory to which the serializations should be written.
+   */
+  public Path getOutputDirectory() {
+    return this.outputDirectory;
+  }
+
+  /**
+   * Sets the directory to which the serializations should be written, one file per PDF file.
+   *
+   * @param outputDirectory The directory to which the serializations should be written.
+   */
+  public void setOutputDirectory(Path outputDirectory) {
+    this.outputDirectory = outputDirectory;
+  }
+
+  /**
+   * Returns the stream to which the serializations should be written in JSON Lines format.
+   *
+   * @return The stream to which the serializations should be written.
+   */
+  public OutputStream getJsonLinesStream() {
+    return this.jsonLinesStream;
+  }
+
+  /**
+   * Sets the stream to which the serializations should be written in JSON Lines format. If set,
+   * no files are written to the output directory.
+   *
+   * @param jsonLinesStream The stream to which the serializations should be written.
+   */
+  public void setJsonLinesStream(OutputStream jsonLinesStream) {
+    this.jsonLinesStream = jsonLinesStream;
+  }
+
+  /**
+   * Returns the stream to which the failures should be reported.
+   *
+   * @return The stream to which the failures should be reported.
+   */
+  public OutputStream getFailureStream() {
+    return this.failureStream;
+  }
+
+  /**
+   * Sets the stream to which the failures should be reported, one line per failure.
+   *
+   * @param failureStream The stream to which the failures should be reported.
+   */
+  public void setFailureStream(OutputStream failureStream) {
+    this.failureStream = failureStream;
+  }
+
+  /**
+   * Returns the cache of serializations.
+   *
+   * @return The cache of serializations, or null if there is no cache.
+   */
+  public SerializationCache getCache() {
+    return this.cache;
+  }
+
+  /**
+   * Sets the cache of serializations. If set, a PDF file whose serialization is found in the
+   * cache (because a file with the same content was processed before with the same options) is
+   * not parsed again.
+   *
+   * @param cache The cache of serializations (null for no cache).
+   */
+  public void setCache(SerializationCache cache) {
+    this.cache = cache;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * A summary of processing a batch of PDF files.
+   */
+  public static class Summary {
+    /**
+     * The number of successfully processed PDF files.
+     */
+    protected final AtomicInteger numDocuments = new AtomicInteger();
+
+    /**
+     * The total number of pages in the successfully processed PDF files.
+     */
+    protected final AtomicLong numPages = new AtomicLong();
+
+    /**
+     * The paths to the PDF files that couldn't be processed, together with the error messages.
+     */
+    protected final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * The time needed to process the batch, in nanoseconds.
+     */
+    protected long elapsedNanos;
+
+    /**
+     * Records that the given PDF file couldn't be processed.
+     *
+     * @param pdfPath The path to the PDF file.
+     * @param e       The cause.
+     */
+    protected void recordFailure(Path pdfPath, Throwable e) {
+      this.failures.add(pdfPath + ": " + e.getMessage());
+    }
+
+    /**
+     * Returns the number of successfully processed PDF files.
+     *
+     * @return The number of successfully processed PDF files.
+     */
+    public int getNumDocuments() {
+      return this.numDocuments.get();
+    }
+
+    /**
+     * Returns the total number of pages in the successfully processed PDF files.
+     *
+     * @return The total number of pages.
+     */
+    public long getNumPages() {
+      return this.numPages.get();
+    }
+
+    /**
+     * Returns the number of PDF files that couldn't be processed.
+     *
+     * @return The number of failures.
+     */
+    public int getNumFailures() {
+      return this.failures.size();
+    }
+
+    /**
+     * Returns the PDF files that couldn't be processed, each together with the error message.
+     *
+     * @return The failures.
+     */
+    public List<String> getFailures() {
+      return this.failures;
+    }
+
+    /**
+     * Returns the time needed to process the batch, in seconds.
+     *
+     * @return The time needed to process the batch, in seconds.
+     */
+    public double getElapsedSeconds() {
+      return this.elapsedNanos / 1e9;
+    }
+
+    @Override
+    public String toString() {
+      double seconds = Math.max(getElapsedSeconds(), 1e-9);
+      return String.format("Processed %d documents (%d pages) in %.1fs: %.2f docs/s, "
+          + "%.2f pages/s, %d failures.", getNumDocuments(), getNumPages(), getElapsedSeconds(),
+          getNumDocuments() / seconds, getNumPages() / seconds, getNumFailures());
+    }
+  }
+}
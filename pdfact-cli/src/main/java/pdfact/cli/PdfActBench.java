@@ -0,0 +1,830 @@
+package pdfact.cli;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import net.sourceforge.argparse4j.ArgumentParsers;
+import net.sourceforge.argparse4j.annotation.Arg;
+import net.sourceforge.argparse4j.helper.HelpScreenException;
+import net.sourceforge.argparse4j.inf.ArgumentParser;
+import net.sourceforge.argparse4j.inf.ArgumentParserException;
+import pdfact.cli.model.SerializationFormat;
+import pdfact.cli.util.exception.PdfActBenchRegressionException;
+import pdfact.cli.util.exception.PdfActParseCommandLineException;
+import pdfact.cli.util.exception.PdfActSerializeException;
+import pdfact.core.model.Document;
+import pdfact.core.model.SemanticRole;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * A harness to measure the throughput of PdfAct on a corpus of PDF files, and to detect
+ * regressions by comparing the results against the results of a previous run.
+ *
+ * <p>
+ * The PDF files are processed one after another by the whole pipeline, first in a number of
+ * warm-up runs (to let the JIT compiler do its work), and then in a number of measured runs. The
+ * results (the latency percentiles per document, the pages and documents per second, the peak
+ * heap usage and the time spent in garbage collection) are written as a JSON report. If a report
+ * of a previous run (the baseline) is given, the results are compared against it and the run
+ * fails if a metric regressed by more than the given threshold or if more files failed than in
+ * the baseline.
+ *
+ * @author Claudius Korzen
+ */
+public class PdfActBench {
+  /**
+   * The logger.
+   */
+  protected static Logger log = LogManager.getLogger(PdfActBench.class);
+
+  /**
+   * The default number of warm-up runs.
+   */
+  public static final int DEFAULT_NUM_WARMUP_RUNS = 1;
+
+  /**
+   * The default number of measured runs.
+   */
+  public static final int DEFAULT_NUM_RUNS = 3;
+
+  /**
+   * The default threshold (in percent) above which a change of a metric is a regression.
+   */
+  public static final double DEFAULT_THRESHOLD = 10;
+
+  /**
+   * The interval (in milliseconds) in which the heap usage is sampled during the measured runs.
+   */
+  protected static final long HEAP_SAMPLING_INTERVAL_MS = 10;
+
+  /**
+   * The metrics compared against a baseline, as paths into the report, together with the
+   * boolean flag indicating whether or not a higher value is better.
+   */
+  protected static final Map<String, Boolean> COMPARED_METRICS = new LinkedHashMap<>();
+
+  static {
+    COMPARED_METRICS.put("latency-ms.p50", false);
+    COMPARED_METRICS.put("latency-ms.p90", false);
+    COMPARED_METRICS.put("latency-ms.p99", false);
+    COMPARED_METRICS.put("pages-per-second", true);
+    COMPARED_METRICS.put("peak-heap-bytes", false);
+  }
+
+  /**
+   * The factory to create a new, configured instance of PdfAct for each PDF file.
+   */
+  protected Supplier<PdfAct> pdfActFactory;
+
+  /**
+   * The number of warm-up runs.
+   */
+  protected int numWarmupRuns = DEFAULT_NUM_WARMUP_RUNS;
+
+  /**
+   * The number of measured runs.
+   */
+  protected int numRuns = DEFAULT_NUM_RUNS;
+
+  // ==============================================================================================
+
+  /**
+   * Creates a new harness.
+   *
+   * @param pdfActFactory The factory to create a new, configured instance of PdfAct for each PDF
+   *                      file.
+   */
+  public PdfActBench(Supplier<PdfAct> pdfActFactory) {
+    this.pdfActFactory = pdfActFactory;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Processes the given PDF files in the configured number of warm-up and measured runs.
+   *
+   * @param pdfPaths The paths to the PDF files to process.
+   *
+   * @return The report about the measured runs.
+   */
+  public JSONObject run(List<Path> pdfPaths) {
+    Map<Path, String> failures = new LinkedHashMap<>();
+
+    for (int i = 0; i < this.numWarmupRuns; i++) {
+      log.info("Warm-up run " + (i + 1) + "/" + this.numWarmupRuns + ".");
+      processAll(pdfPaths, null, null, failures);
+    }
+
+    // Start the measured runs from a clean heap.
+    System.gc();
+    HeapSampler heapSampler = new HeapSampler();
+    long gcTimeBefore = getGcTime();
+    long gcCountBefore = getGcCount();
+
+    Map<Path, List<Long>> latencies = new LinkedHashMap<>();
+    Map<Path, Integer> numPages = new LinkedHashMap<>();
+    long start = System.nanoTime();
+    try {
+      for (int i = 0; i < this.numRuns; i++) {
+        log.info("Measured run " + (i + 1) + "/" + this.numRuns + ".");
+        processAll(pdfPaths, latencies, numPages, failures);
+      }
+    } finally {
+      heapSampler.stop();
+    }
+    double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+    // Compute the latency statistics over all measured documents.
+    List<Long> allLatencies = new ArrayList<>();
+    long totalPages = 0;
+    JSONArray documentsJson = new JSONArray();
+    for (Map.Entry<Path, List<Long>> entry : latencies.entrySet()) {
+      allLatencies.addAll(entry.getValue());
+      int pages = numPages.get(entry.getKey());
+      totalPages += (long) pages * entry.getValue().size();
+
+      JSONObject documentJson = new JSONObject();
+      documentJson.put("file", entry.getKey().toString());
+      documentJson.put("pages", pages);
+      documentJson.put("latency-ms", computeLatencyStatistics(entry.getValue()));
+      documentsJson.put(documentJson);
+    }
+
+    JSONArray failuresJson = new JSONArray();
+    for (Map.Entry<Path, String> entry : failures.entrySet()) {
+      JSONObject failureJson = new JSONObject();
+      failureJson.put("file", entry.getKey().toString());
+      failureJson.put("error", entry.getValue());
+      failuresJson.put(failureJson);
+    }
+
+    JSONObject report = new JSONObject();
+    report.put("date", Instant.now().toString());
+    report.put("java-version", System.getProperty("java.version"));
+    report.put("processors", Runtime.getRuntime().availableProcessors());
+    report.put("max-heap-bytes", Runtime.getRuntime().maxMemory());
+    report.put("warmup-runs", this.numWarmupRuns);
+    report.put("runs", this.numRuns);
+    report.put("documents", latencies.size());
+    report.put("pages", totalPages / Math.max(1, this.numRuns));
+    report.put("elapsed-seconds", round(elapsedSeconds));
+    report.put("pages-per-second", round(totalPages / elapsedSeconds));
+    report.put("documents-per-second", round(allLatencies.size() / elapsedSeconds));
+    report.put("latency-ms", computeLatencyStatistics(allLatencies));
+    report.put("peak-heap-bytes", heapSampler.getPeakUsage());
+    report.put("gc-time-ms", getGcTime() - gcTimeBefore);
+    report.put("gc-count", getGcCount() - gcCountBefore);
+    report.put("per-document", documentsJson);
+    report.put("num-failures", failures.size());
+    report.put("failures", failuresJson);
+    return report;
+  }
+
+  /**
+   * Processes the given PDF files once.
+   *
+   * @param pdfPaths  The paths to the PDF files to process.
+   * @param latencies The map to which the latencies (in nanoseconds) should be added, per PDF
+   *                  file; null if the latencies should not be recorded.
+   * @param numPages  The map to which the numbers of pages should be written, per PDF file; null
+   *                  if the numbers should not be recorded.
+   * @param failures  The map to which the errors of the failed PDF files should be written.
+   */
+  protected void processAll(List<Path> pdfPaths, Map<Path, List<Long>> latencies,
+      Map<Path, Integer> numPages, Map<Path, String> failures) {
+    for (Path pdfPath : pdfPaths) {
+      // Don't bother with files that already failed.
+      if (failures.containsKey(pdfPath)) {
+        continue;
+      }
+
+      PdfAct pdfAct = this.pdfActFactory.get();
+      try {
+        long start = System.nanoTime();
+        Document pdf = pdfAct.parse(pdfPath);
+        long latency = System.nanoTime() - start;
+
+        if (latencies != null) {
+          latencies.computeIfAbsent(pdfPath, p -> new ArrayList<>()).add(latency);
+        }
+        if (numPages != null) {
+          numPages.put(pdfPath, pdf.getPages() != null ? pdf.getPages().size() : 0);
+        }
+      } catch (PdfActException | RuntimeException e) {
+        log.warn("Couldn't process '" + pdfPath + "': " + e.getMessage());
+        failures.put(pdfPath, e.getMessage());
+        if (latencies != null) {
+          latencies.remove(pdfPath);
+        }
+      }
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Compares the given report against the given baseline report.
+   *
+   * @param baseline  The report of a previous run.
+   * @param report    The report to compare.
+   * @param threshold The threshold (in percent) above which a change of a metric (to the worse)
+   *                  is a regression.
+   *
+   * @return The comparison, with one entry per compared metric and one entry for the number of
+   *         failed files.
+   */
+  public static JSONObject compare(JSONObject baseline, JSONObject report, double threshold) {
+    JSONArray metricsJson = new JSONArray();
+    List<String> regressions = new ArrayList<>();
+
+    if (baseline.optInt("documents") != report.optInt("documents")
+        || baseline.optLong("pages") != report.optLong("pages")) {
+      log.warn("The baseline was measured on a different corpus (" + baseline.optInt("documents")
+          + " documents, " + baseline.optLong("pages") + " pages).");
+    }
+
+    for (Map.Entry<String, Boolean> entry : COMPARED_METRICS.entrySet()) {
+      String metric = entry.getKey();
+      boolean isHigherBetter = entry.getValue();
+      Double baselineValue = getMetric(baseline, metric);
+      Double value = getMetric(report, metric);
+      if (baselineValue == null || value == null || baselineValue == 0) {
+        continue;
+      }
+
+      double change = (value - baselineValue) / baselineValue * 100;
+      boolean isRegression = isHigherBetter ? -change > threshold : change > threshold;
+
+      JSONObject metricJson = new JSONObject();
+      metricJson.put("metric", metric);
+      metricJson.put("baseline", baselineValue);
+      metricJson.put("current", value);
+      metricJson.put("change-percent", round(change));
+      metricJson.put("regression", isRegression);
+      metricsJson.put(metricJson);
+
+      if (isRegression) {
+        regressions.add(metric + " (" + (change > 0 ? "+" : "") + round(change) + "%)");
+      }
+    }
+
+    // Any additional failure is a regression, regardless of the threshold.
+    int baselineNumFailures = getNumFailures(baseline);
+    int numFailures = getNumFailures(report);
+    JSONObject failuresJson = new JSONObject();
+    failuresJson.put("metric", "num-failures");
+    failuresJson.put("baseline", baselineNumFailures);
+    failuresJson.put("current", numFailures);
+    failuresJson.put("regression", numFailures > baselineNumFailures);
+    metricsJson.put(failuresJson);
+    if (numFailures > baselineNumFailures) {
+      regressions.add("num-failures (" + baselineNumFailures + " -> " + numFailures + ")");
+    }
+
+    JSONObject comparison = new JSONObject();
+    comparison.put("threshold-percent", threshold);
+    comparison.put("metrics", metricsJson);
+    comparison.put("regressions", new JSONArray(regressions));
+    return comparison;
+  }
+
+  /**
+   * Returns the value of the given metric in the given report.
+   *
+   * @param report The report.
+   * @param metric The path to the metric, with the keys separated by ".".
+   *
+   * @return The value of the metric, or null if the report doesn't contain the metric.
+   */
+  protected static Double getMetric(JSONObject report, String metric) {
+    JSONObject object = report;
+    String[] keys = metric.split("\\.");
+    for (int i = 0; i < keys.length - 1; i++) {
+      object = object.optJSONObject(keys[i]);
+      if (object == null) {
+        return null;
+      }
+    }
+    double value = object.optDouble(keys[keys.length - 1]);
+    return Double.isNaN(value) ? null : value;
+  }
+
+  /**
+   * Returns the number of failed files in the given report. Reports without the number (written
+   * by older versions) are handled by counting the listed failures.
+   *
+   * @param report The report.
+   *
+   * @return The number of failed files.
+   */
+  protected static int getNumFailures(JSONObject report) {
+    if (report.has("num-failures")) {
+      return report.optInt("num-failures");
+    }
+    JSONArray failures = report.optJSONArray("failures");
+    return failures != null ? failures.length() : 0;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Computes the statistics about the given latencies.
+   *
+   * @param latencies The latencies, in nanoseconds.
+   *
+   * @return The statistics (mean, percentiles and extremes), in milliseconds.
+   */
+  protected static JSONObject computeLatencyStatistics(List<Long> latencies) {
+    JSONObject json = new JSONObject();
+    if (latencies.isEmpty()) {
+      return json;
+    }
+
+    long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+    double mean = Arrays.stream(sorted).average().orElse(0);
+
+    json.put("mean", round(mean / 1e6));
+    json.put("min", round(sorted[0] / 1e6));
+    json.put("p50", round(percentile(sorted, 50) / 1e6));
+    json.put("p90", round(percentile(sorted, 90) / 1e6));
+    json.put("p99", round(percentile(sorted, 99) / 1e6));
+    json.put("max", round(sorted[sorted.length - 1] / 1e6));
+    return json;
+  }
+
+  /**
+   * Returns the given percentile of the given sorted values (by the nearest-rank method).
+   *
+   * @param sorted     The values, sorted in ascending order.
+   * @param percentile The percentile, in [0, 100].
+   *
+   * @return The value at the given percentile.
+   */
+  protected static long percentile(long[] sorted, double percentile) {
+    int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+    return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+  }
+
+  /**
+   * Rounds the given value to three decimal places.
+   *
+   * @param value The value to round.
+   *
+   * @return The rounded value.
+   */
+  protected static double round(double value) {
+    return Math.round(value * 1000) / 1000.0;
+  }
+
+  /**
+   * Returns the accumulated time spent in garbage collection.
+   *
+   * @return The accumulated time, in milliseconds.
+   */
+  protected static long getGcTime() {
+    long time = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      time += Math.max(0, gc.getCollectionTime());
+    }
+    return time;
+  }
+
+  /**
+   * Returns the accumulated number of garbage collections.
+   *
+   * @return The accumulated number of garbage collections.
+   */
+  protected static long getGcCount() {
+    long count = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      count += Math.max(0, gc.getCollectionCount());
+    }
+    return count;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the number of warm-up runs.
+   *
+   * @return The number of warm-up runs.
+   */
+  public int getNumWarmupRuns() {
+    return this.numWarmupRuns;
+  }
+
+  /**
+   * Sets the number of warm-up runs.
+   *
+   * @param numWarmupRuns The number of warm-up runs.
+   */
+  public void setNumWarmupRuns(int numWarmupRuns) {
+    this.numWarmupRuns = numWarmupRuns;
+  }
+
+  /**
+   * Returns the number of measured runs.
+   *
+   * @return The number of measured runs.
+   */
+  public int getNumRuns() {
+    return this.numRuns;
+  }
+
+  /**
+   * Sets the number of measured runs.
+   *
+   * @param numRuns The number of measured runs.
+   */
+  public void setNumRuns(int numRuns) {
+    this.numRuns = numRuns;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Starts the harness from the command line.
+   *
+   * @param args The command line arguments.
+   */
+  protected void start(String[] args) {
+    int statusCode = 0;
+    String errorMessage = null;
+
+    PdfActBenchCommandLineParser parser = new PdfActBenchCommandLineParser();
+
+    try {
+      parser.parseArgs(args);
+
+      List<Path> pdfPaths = PdfActBatch.resolveInput(parser.input);
+      log.info("Benchmarking " + pdfPaths.size() + " PDF files.");
+
+      this.pdfActFactory = () -> createPdfAct(parser.serializationFormat);
+      setNumWarmupRuns(parser.numWarmupRuns);
+      setNumRuns(parser.numRuns);
+      JSONObject report = run(pdfPaths);
+      report.put("input", parser.input);
+
+      // Compare the report against the baseline, if there is any.
+      List<Object> regressions = new ArrayList<>();
+      if (parser.baselinePath != null) {
+        JSONObject comparison = compare(readReport(parser.baselinePath), report,
+            parser.threshold);
+        comparison.put("baseline", parser.baselinePath);
+        report.put("comparison", comparison);
+        regressions = comparison.getJSONArray("regressions").toList();
+      }
+
+      writeReport(report, parser.outputPath);
+
+      if (!regressions.isEmpty()) {
+        throw new PdfActBenchRegressionException("Regression(s) beyond the threshold of "
+            + parser.threshold + "%: " + regressions);
+      }
+    } catch (PdfActException e) {
+      statusCode = e.getExitCode();
+      errorMessage = e.getMessage();
+    }
+
+    if (statusCode != 0) {
+      System.err.println(errorMessage);
+    }
+
+    System.exit(statusCode);
+  }
+
+  /**
+   * Reads the report of a previous run.
+   *
+   * @param path The path to the report.
+   *
+   * @return The report.
+   *
+   * @throws PdfActException If the report couldn't be read.
+   */
+  protected static JSONObject readReport(String path) throws PdfActException {
+    try {
+      return new JSONObject(new String(Files.readAllBytes(Paths.get(path)),
+          StandardCharsets.UTF_8));
+    } catch (IOException | JSONException e) {
+      throw new PdfActParseCommandLineException("Couldn't read the baseline '" + path + "'.", e);
+    }
+  }
+
+  /**
+   * Writes the given report to the given file, or to stdout if no file is given.
+   *
+   * @param report The report to write.
+   * @param path   The path to the file, may be null.
+   *
+   * @throws PdfActException If the report couldn't be written.
+   */
+  protected static void writeReport(JSONObject report, String path) throws PdfActException {
+    byte[] bytes = (report.toString(2) + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+    try {
+      if (path != null) {
+        Files.write(Paths.get(path), bytes);
+      } else {
+        OutputStream out = System.out;
+        out.write(bytes);
+        out.flush();
+      }
+    } catch (IOException e) {
+      throw new PdfActSerializeException("Couldn't write the report.", e);
+    }
+  }
+
+  /**
+   * Creates an instance of PdfAct that serializes the extracted paragraphs of all semantic roles
+   * to nowhere in the given format, or doesn't serialize at all if no format is given.
+   *
+   * @param format The serialization format, may be null.
+   *
+   * @return The created instance of PdfAct.
+   */
+  protected static PdfAct createPdfAct(String format) {
+    PdfAct pdfAct = new PdfAct();
+    if (format != null) {
+      pdfAct.setSerializationFormat(SerializationFormat.fromString(format));
+      pdfAct.setSerializationStream(OutputStream.nullOutputStream());
+      pdfAct.setSemanticRoles(new HashSet<>(Arrays.asList(SemanticRole.values())));
+    }
+    return pdfAct;
+  }
+
+  /**
+   * The main method to run the harness.
+   *
+   * @param args The command line arguments.
+   */
+  public static void main(String[] args) {
+    // The serialization format is only known after parsing the arguments (see start()).
+    new PdfActBench(null).start(args);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * A sampler that records the peak of the used heap memory, as reported by the
+   * {@link MemoryMXBean}. The peaks of the single memory pools are not added up, since they are
+   * usually reached at different times (e.g., the eden space is emptied by each minor collection).
+   *
+   * @author Claudius Korzen
+   */
+  protected static class HeapSampler {
+    /**
+     * The bean to query the heap usage.
+     */
+    protected final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+
+    /**
+     * The peak of the sampled heap usage, in bytes.
+     */
+    protected final AtomicLong peakUsage = new AtomicLong();
+
+    /**
+     * The executor that samples the heap usage.
+     */
+    protected final ScheduledExecutorService executor;
+
+    /**
+     * Creates a new sampler and starts sampling.
+     */
+    protected HeapSampler() {
+      this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pdfact-bench-heap-sampler");
+        thread.setDaemon(true);
+        return thread;
+      });
+      this.executor.scheduleAtFixedRate(this::sample, 0, HEAP_SAMPLING_INTERVAL_MS,
+          TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Samples the current heap usage.
+     */
+    protected void sample() {
+      long used = this.memoryBean.getHeapMemoryUsage().getUsed();
+      this.peakUsage.accumulateAndGet(used, Math::max);
+    }
+
+    /**
+     * Stops sampling, after taking a last sample.
+     */
+    protected void stop() {
+      this.executor.shutdownNow();
+      sample();
+    }
+
+    /**
+     * Returns the peak of the sampled heap usage.
+     *
+     * @return The peak of the sampled heap usage, in bytes.
+     */
+    protected long getPeakUsage() {
+      return this.peakUsage.get();
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * A parser to parse the command line arguments of the harness.
+   *
+   * @author Claudius Korzen
+   */
+  class PdfActBenchCommandLineParser {
+    /**
+     * The command line argument parser.
+     */
+    protected ArgumentParser parser;
+
+    /**
+     * The name of the option to define the PDF files to process.
+     */
+    public static final String INPUT = "input";
+
+    /**
+     * The PDF files to process.
+     */
+    @Arg(dest = INPUT)
+    public String input;
+
+    /**
+     * The name of the option to define the number of warm-up runs.
+     */
+    public static final String WARMUP_RUNS = "warmup";
+
+    /**
+     * The number of warm-up runs.
+     */
+    @Arg(dest = WARMUP_RUNS)
+    public int numWarmupRuns = DEFAULT_NUM_WARMUP_RUNS;
+
+    /**
+     * The name of the option to define the number of measured runs.
+     */
+    public static final String RUNS = "runs";
+
+    /**
+     * The number of measured runs.
+     */
+    @Arg(dest = RUNS)
+    public int numRuns = DEFAULT_NUM_RUNS;
+
+    /**
+     * The name of the option to define the serialization format.
+     */
+    public static final String SERIALIZE_FORMAT = "format";
+
+    /**
+     * The serialization format.
+     */
+    @Arg(dest = SERIALIZE_FORMAT)
+    public String serializationFormat;
+
+    /**
+     * The name of the option to define the path to the report.
+     */
+    public static final String OUTPUT_PATH = "output";
+
+    /**
+     * The path to the report.
+     */
+    @Arg(dest = OUTPUT_PATH)
+    public String outputPath;
+
+    /**
+     * The name of the option to define the path to the report of a previous run.
+     */
+    public static final String BASELINE_PATH = "baseline";
+
+    /**
+     * The path to the report of a previous run.
+     */
+    @Arg(dest = BASELINE_PATH)
+    public String baselinePath;
+
+    /**
+     * The name of the option to define the regression threshold.
+     */
+    public static final String THRESHOLD = "threshold";
+
+    /**
+     * The regression threshold, in percent.
+     */
+    @Arg(dest = THRESHOLD)
+    public double threshold = DEFAULT_THRESHOLD;
+
+    /**
+     * Creates a new command line argument parser.
+     */
+    PdfActBenchCommandLineParser() {
+      this.parser = ArgumentParsers.newFor("pdfact-bench")
+        .terminalWidthDetection(false)
+        .defaultFormatWidth(100).build();
+      this.parser.description("Measures the throughput of PdfAct on a corpus of PDF files and "
+          + "compares the results against the results of a previous run.");
+
+      this.parser.addArgument(INPUT).dest(INPUT)
+        .required(true)
+        .metavar("<pdf-files>")
+        .help("The PDF files to process: (1) a directory (all files ending in \".pdf\" in the "
+            + "directory and its subdirectories are processed), (2) a glob pattern in quotes, or "
+            + "(3) the path to a file listing the paths to the PDF files, one per line, prefixed "
+            + "by \"@\".");
+
+      this.parser.addArgument("--" + WARMUP_RUNS).dest(WARMUP_RUNS)
+        .required(false)
+        .type(Integer.class)
+        .metavar("<num>")
+        .setDefault(this.numWarmupRuns)
+        .help("The number of warm-up runs over all PDF files, which are not measured. Default: "
+            + DEFAULT_NUM_WARMUP_RUNS + ".");
+
+      this.parser.addArgument("--" + RUNS).dest(RUNS)
+        .required(false)
+        .type(Integer.class)
+        .metavar("<num>")
+        .setDefault(this.numRuns)
+        .help("The number of measured runs over all PDF files. Default: " + DEFAULT_NUM_RUNS
+            + ".");
+
+      this.parser.addArgument("--" + SERIALIZE_FORMAT).dest(SERIALIZE_FORMAT)
+        .required(false)
+        .metavar("<format>")
+        .choices(SerializationFormat.getNames())
+        .help("The format in which the extracted paragraphs should be serialized (the output "
+            + "is discarded). If not specified, the PDF files are processed without "
+            + "serialization.");
+
+      this.parser.addArgument("--" + OUTPUT_PATH).dest(OUTPUT_PATH)
+        .required(false)
+        .metavar("<path>")
+        .help("The path to the file to which the JSON report should be written. If not "
+            + "specified, the report is written to stdout.");
+
+      this.parser.addArgument("--" + BASELINE_PATH).dest(BASELINE_PATH)
+        .required(false)
+        .metavar("<path>")
+        .help("The path to the JSON report of a previous run to compare against. The run "
+            + "fails (with exit code 50) if the latency percentiles, the pages per "
+            + "second or the peak heap usage regressed by more than the threshold, or if more "
+            + "PDF files failed than in the baseline.");
+
+      this.parser.addArgument("--" + THRESHOLD).dest(THRESHOLD)
+        .required(false)
+        .type(Double.class)
+        .metavar("<percent>")
+        .setDefault(this.threshold)
+        .help("The regression threshold, in percent. Default: " + DEFAULT_THRESHOLD + ".");
+    }
+
+    /**
+     * Parses the given command line arguments.
+     *
+     * @param args The command line arguments to parse.
+     *
+     * @throws PdfActException If the command line arguments couldn't be parsed.
+     */
+    public void parseArgs(String[] args) throws PdfActException {
+      try {
+        this.parser.parseArgs(args, this);
+      } catch (HelpScreenException e) {
+        // Set the status code to 0, such that no error message is shown.
+        throw new PdfActParseCommandLineException(null, 0, e);
+      } catch (ArgumentParserException e) {
+        String message = e.getMessage() + "\n\n" + this.parser.formatUsage();
+        throw new PdfActParseCommandLineException(message, e);
+      }
+
+      if (this.numWarmupRuns < 0 || this.numRuns < 1) {
+        throw new PdfActParseCommandLineException("The number of warm-up runs must not be "
+            + "negative and there must be at least one measured run.");
+      }
+    }
+  }
+}
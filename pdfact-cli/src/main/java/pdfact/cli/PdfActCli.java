@@ -1,5 +1,9 @@
 package pdfact.cli;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -18,7 +22,9 @@ import net.sourceforge.argparse4j.inf.ArgumentParser;
 import net.sourceforge.argparse4j.inf.ArgumentParserException;
 import pdfact.cli.model.ExtractionUnit;
 import pdfact.cli.model.SerializationFormat;
+import pdfact.cli.util.cache.SerializationCache;
 import pdfact.cli.util.exception.PdfActParseCommandLineException;
+import pdfact.cli.util.exception.PdfActSerializeException;
 import pdfact.core.model.SemanticRole;
 import pdfact.core.util.exception.PdfActException;
 
@@ -45,67 +51,30 @@ public class PdfActCli {
       // Parse the command line arguments.
       parser.parseArgs(args);
 
-      // Create an instance of PdfAct.
-      PdfAct pdfAct = new PdfAct();
-
-      // Pass the debugging flags.
-      pdfAct.setDebugPdfParsing(parser.isDebugPdfParsing);
-      pdfAct.setDebugCharacterExtraction(parser.isDebugCharExtraction);
-      pdfAct.setDebugSplittingLigatures(parser.isDebugSplittingLigatures);
-      pdfAct.setDebugMergingDiacritics(parser.isDebugMergingDiacritics);
-      pdfAct.setDebugTextLineDetection(parser.isDebugLineDetection);
-      pdfAct.setDebugWordDetection(parser.isDebugWordDetection);
-      pdfAct.setDebugTextBlockDetection(parser.isDebugBlockDetection);
-      pdfAct.setDebugRoleDetection(parser.isDebugRoleDetection);
-      pdfAct.setDebugParagraphDetection(parser.isDebugParagraphDetection);
-      pdfAct.setDebugWordDehyphenation(parser.isDebugWordDehyphenation);
-
-      // Pass the serialization format if there is any.
-      String serializationFormatStr = parser.serializationFormat;
-      if (serializationFormatStr != null) {
-        pdfAct.setSerializationFormat(SerializationFormat.fromString(serializationFormatStr));
-      }
-
-      // Pass the serialization target path.
-      String serializationPathStr = parser.serializationPath;
-      if (serializationPathStr != null) {
-        pdfAct.setSerializationPath(Paths.get(serializationPathStr));
+      if (parser.isJsonLines || PdfActBatch.isBatchInput(parser.pdfPath)) {
+        // Process a batch of PDF files.
+        processBatch(parser);
       } else {
-        pdfAct.setSerializationStream(System.out);
-      }
-
-      // Pass the target of the visualization.
-      String visualizationPathStr = parser.visualizationPath;
-      if (visualizationPathStr != null) {
-        pdfAct.setVisualizationPath(Paths.get(visualizationPathStr));
+        // Create an instance of PdfAct.
+        PdfAct pdfAct = createPdfAct(parser);
+
+        // Pass the serialization target path.
+        String serializationPathStr = parser.serializationPath;
+        if (serializationPathStr != null) {
+          pdfAct.setSerializationPath(Paths.get(serializationPathStr));
+        } else {
+          pdfAct.setSerializationStream(System.out);
+        }
+
+        // Pass the target of the visualization.
+        String visualizationPathStr = parser.visualizationPath;
+        if (visualizationPathStr != null) {
+          pdfAct.setVisualizationPath(Paths.get(visualizationPathStr));
+        }
+
+        // Run PdfAct.
+        pdfAct.parse(parser.pdfPath);
       }
-
-      // Pass the chosen text unit.
-      List<String> extractionUnits = parser.extractionUnits;
-      if (extractionUnits != null) {
-        pdfAct.setExtractionUnits(ExtractionUnit.fromStrings(extractionUnits));
-      }
-
-      // Compute the semantic roles to include on serialization & visualization.
-      Set<String> roles = new HashSet<>();
-      List<String> semanticRolesToInclude = parser.semanticRolesToInclude;
-      if (semanticRolesToInclude != null) {
-        roles.addAll(semanticRolesToInclude);
-      }
-      List<String> semanticRolesToExclude = parser.semanticRolesToExclude;
-      if (semanticRolesToExclude != null) {
-        roles.removeAll(semanticRolesToExclude);
-      }
-      pdfAct.setSemanticRoles(SemanticRole.fromStrings(roles));
-
-      // Set the "with control characters"-flag.
-      pdfAct.setInsertControlCharacters(parser.withControlCharacters);
-
-      // Set the "pdf.js mode" flag.
-      pdfAct.setIsPdfJsMode(parser.isPdfJsMode);
-
-      // Run PdfAct.
-      pdfAct.parse(parser.pdfPath);
     } catch (PdfActException e) {
       statusCode = e.getExitCode();
       errorMessage = e.getMessage();
@@ -124,6 +93,133 @@ public class PdfActCli {
     System.exit(statusCode);
   }
 
+  /**
+   * Creates an instance of PdfAct, configured by the given command line arguments (except for the
+   * serialization and visualization targets).
+   *
+   * @param parser The parsed command line arguments.
+   *
+   * @return The created instance of PdfAct.
+   */
+  protected PdfAct createPdfAct(PdfActCommandLineParser parser) {
+    PdfAct pdfAct = new PdfAct();
+
+    // Pass the debugging flags.
+    pdfAct.setDebugPdfParsing(parser.isDebugPdfParsing);
+    pdfAct.setDebugCharacterExtraction(parser.isDebugCharExtraction);
+    pdfAct.setDebugSplittingLigatures(parser.isDebugSplittingLigatures);
+    pdfAct.setDebugMergingDiacritics(parser.isDebugMergingDiacritics);
+    pdfAct.setDebugTextLineDetection(parser.isDebugLineDetection);
+    pdfAct.setDebugWordDetection(parser.isDebugWordDetection);
+    pdfAct.setDebugTextBlockDetection(parser.isDebugBlockDetection);
+    pdfAct.setDebugRoleDetection(parser.isDebugRoleDetection);
+    pdfAct.setDebugParagraphDetection(parser.isDebugParagraphDetection);
+    pdfAct.setDebugWordDehyphenation(parser.isDebugWordDehyphenation);
+
+    // Pass the serialization format if there is any.
+    String serializationFormatStr = parser.serializationFormat;
+    if (serializationFormatStr != null) {
+      pdfAct.setSerializationFormat(SerializationFormat.fromString(serializationFormatStr));
+    }
+
+    // Pass the chosen text unit.
+    List<String> extractionUnits = parser.extractionUnits;
+    if (extractionUnits != null) {
+      pdfAct.setExtractionUnits(ExtractionUnit.fromStrings(extractionUnits));
+    }
+
+    // Compute the semantic roles to include on serialization & visualization.
+    Set<String> roles = new HashSet<>();
+    List<String> semanticRolesToInclude = parser.semanticRolesToInclude;
+    if (semanticRolesToInclude != null) {
+      roles.addAll(semanticRolesToInclude);
+    }
+    List<String> semanticRolesToExclude = parser.semanticRolesToExclude;
+    if (semanticRolesToExclude != null) {
+      roles.removeAll(semanticRolesToExclude);
+    }
+    pdfAct.setSemanticRoles(SemanticRole.fromStrings(roles));
+
+    // Set the "with control characters"-flag.
+    pdfAct.setInsertControlCharacters(parser.withControlCharacters);
+
+    // Set the "with pipeline report" flag.
+    pdfAct.setWithPipelineReport(parser.withPipelineReport);
+
+    // Set the "pdf.js mode" flag.
+    pdfAct.setIsPdfJsMode(parser.isPdfJsMode);
+
+    return pdfAct;
+  }
+
+  /**
+   * Processes the batch of PDF files given by the command line arguments and prints a summary to
+   * stderr.
+   *
+   * @param parser The parsed command line arguments.
+   *
+   * @throws PdfActException If the batch couldn't be processed.
+   */
+  protected void processBatch(PdfActCommandLineParser parser) throws PdfActException {
+    if (parser.visualizationPath != null) {
+      throw new PdfActParseCommandLineException("The option --"
+          + PdfActCommandLineParser.VISUALIZATION_PATH
+          + " is not supported when processing multiple PDF files.");
+    }
+
+    PdfActBatch batch = new PdfActBatch(() -> createPdfAct(parser));
+    if (parser.numWorkers != null) {
+      batch.setNumWorkers(parser.numWorkers);
+    }
+    batch.setFailureStream(System.err);
+
+    // Create the cache of serializations, if a directory is given.
+    if (parser.cacheDirectory != null) {
+      long maxDiskBytes = parser.cacheSize != null ? parser.cacheSize << 20
+          : PdfActCliSettings.DEFAULT_CACHE_DISK_BYTES;
+      batch.setCache(new SerializationCache(PdfActCliSettings.DEFAULT_CACHE_MEMORY_BYTES,
+          Paths.get(parser.cacheDirectory), maxDiskBytes));
+    }
+
+    OutputStream jsonLinesFile = null;
+    if (parser.isJsonLines) {
+      if (parser.serializationPath != null) {
+        try {
+          jsonLinesFile = new BufferedOutputStream(
+              Files.newOutputStream(Paths.get(parser.serializationPath)));
+        } catch (IOException e) {
+          throw new PdfActSerializeException("Couldn't open the output file.", e);
+        }
+        batch.setJsonLinesStream(jsonLinesFile);
+      } else {
+        batch.setJsonLinesStream(System.out);
+      }
+    } else {
+      if (parser.serializationPath == null) {
+        throw new PdfActParseCommandLineException("An output directory is required when "
+            + "processing multiple PDF files (or use --" + PdfActCommandLineParser.JSON_LINES
+            + ").");
+      }
+      batch.setOutputDirectory(Paths.get(parser.serializationPath));
+    }
+
+    try {
+      PdfActBatch.Summary summary = batch.process(PdfActBatch.resolveInput(parser.pdfPath));
+      System.err.println(summary);
+      if (batch.getCache() != null) {
+        System.err.println(batch.getCache().getStatistics());
+      }
+    } finally {
+      if (jsonLinesFile != null) {
+        try {
+          jsonLinesFile.close();
+        } catch (IOException e) {
+          throw new PdfActSerializeException("Couldn't close the output file.", e);
+        }
+      }
+    }
+  }
+
   // ==============================================================================================
 
   /**
@@ -391,6 +487,20 @@ public class PdfActCli {
     @Arg(dest = WITH_CONTROL_CHARACTERS)
     public boolean withControlCharacters = false;
 
+    // ============================================================================================
+
+    /**
+     * The name of the option to define the "with pipeline report" flag.
+     */
+    public static final String WITH_PIPELINE_REPORT = "with-pipeline-report";
+
+    /**
+     * The flag indicating whether or not to add the report about the execution of the pipeline to
+     * the XML or JSON serialization output.
+     */
+    @Arg(dest = WITH_PIPELINE_REPORT)
+    public boolean withPipelineReport = false;
+
 
     // ============================================================================================
 
@@ -407,6 +517,58 @@ public class PdfActCli {
 
     // ============================================================================================
 
+    /**
+     * The name of the option to define the number of PDF files to process concurrently.
+     */
+    public static final String WORKERS = "workers";
+
+    /**
+     * The number of PDF files to process concurrently (when processing multiple PDF files).
+     */
+    @Arg(dest = WORKERS)
+    public Integer numWorkers;
+
+    // ============================================================================================
+
+    /**
+     * The name of the option to write the output in JSON Lines format.
+     */
+    public static final String JSON_LINES = "jsonl";
+
+    /**
+     * The boolean flag indicating whether or not to write the output in JSON Lines format.
+     */
+    @Arg(dest = JSON_LINES)
+    public boolean isJsonLines = false;
+
+    // ============================================================================================
+
+    /**
+     * The name of the option to define the directory of the cache of serializations.
+     */
+    public static final String CACHE_DIR = "cache-dir";
+
+    /**
+     * The directory of the cache of serializations (when processing multiple PDF files).
+     */
+    @Arg(dest = CACHE_DIR)
+    public String cacheDirectory;
+
+    // ============================================================================================
+
+    /**
+     * The name of the option to define the maximum size of the cache of serializations.
+     */
+    public static final String CACHE_SIZE = "cache-size";
+
+    /**
+     * The maximum size of the cache of serializations on disk, in megabytes.
+     */
+    @Arg(dest = CACHE_SIZE)
+    public Long cacheSize;
+
+    // ============================================================================================
+
     /**
      * Creates a new command line argument parser.
      */
@@ -420,14 +582,21 @@ public class PdfActCli {
       this.parser.addArgument(PDF_PATH).dest(PDF_PATH)
         .required(true)
         .metavar("<pdf-file>")
-        .help("The path to the PDF file to be processed.");
+        .help("The path to the PDF file to be processed.\n"
+            + "To process multiple PDF files in a single run, specify (1) a directory (all files "
+            + "ending in \".pdf\" in the directory and its subdirectories are processed), (2) a "
+            + "glob pattern in quotes (for example: \"corpus/**/*.pdf\"), or (3) the path to a "
+            + "file listing the paths to the PDF files, one per line, prefixed by \"@\".");
 
       // Add an argument to define the target path to the output file.
       this.parser.addArgument(SERIALIZE_PATH).dest(SERIALIZE_PATH)
         .required(false).nargs("?")
         .metavar("<output-file>")
         .help("The path to the file to which the extraction output should be written.\n"
-            + "If not specified, the output will be written to stdout.");
+            + "If not specified, the output will be written to stdout.\n"
+            + "When processing multiple PDF files, the path to the directory to which the "
+            + "output files (one per PDF file) should be written; or, with --" + JSON_LINES
+            + ", the path to the JSON Lines file.");
 
       // Add an option to define the output format.
       Set<String> choices = SerializationFormat.getNames();
@@ -444,7 +613,9 @@ public class PdfActCli {
             + "In case of txt, the text elements will be extracted as plain text, in the "
             + "format: one text element per line. In case of xml or json, the text elements "
             + "will be extracted together with their layout information, e.g., their positions "
-            + "in the PDF file, their fonts and their colors.");
+            + "in the PDF file, their fonts and their colors. In case of bin, the same "
+            + "information is written in a compact, columnar binary format (see "
+            + "pdfact.core.util.binary.BinaryFormat).");
 
       // Add an option to define the text units.
       choicesStr = String.join(", ", ExtractionUnit.getPluralNames());
@@ -523,6 +694,17 @@ public class PdfActCli {
             + "two elements in the PDF.\n"
             + "- \"^A\" (\"start of heading\") in front of headings.");
 
+      // Add an option to define whether or not the report about the execution of the pipeline
+      // should be added to the XML or JSON serialization output.
+      this.parser.addArgument("--" + WITH_PIPELINE_REPORT).dest(WITH_PIPELINE_REPORT)
+        .required(false)
+        .action(Arguments.storeTrue())
+        .setDefault(this.withPipelineReport)
+        .help("Add a report about the execution of the extraction pipeline to the XML or JSON "
+            + "serialization output: for each step, the wall time, the CPU time and the number of "
+            + "allocated bytes needed by the step, and the numbers of the elements (characters, "
+            + "words, ...) before and after the step.");
+
       // Add an option to enable the printing of debug info about the PDF parsing step.
       this.parser.addArgument("--" + DEBUG_PDF_PARSING).dest(DEBUG_PDF_PARSING)
         .required(false)
@@ -593,6 +775,42 @@ public class PdfActCli {
         .setDefault(this.isDebugWordDehyphenation)
         .help("Print debug info about the word dehyphenation step.");
 
+      // Add an option to define the number of PDF files to process concurrently.
+      this.parser.addArgument("--" + WORKERS).dest(WORKERS)
+        .required(false)
+        .type(Integer.class)
+        .metavar("<num>")
+        .help("The number of PDF files to process concurrently, when processing multiple PDF "
+            + "files.\n"
+            + "- Default: the number of available processors.");
+
+      // Add an option to write the output in JSON Lines format.
+      this.parser.addArgument("--" + JSON_LINES).dest(JSON_LINES)
+        .required(false)
+        .action(Arguments.storeTrue())
+        .setDefault(this.isJsonLines)
+        .help("Write the output in JSON Lines format: one JSON object per PDF file, with the "
+            + "fields \"file\", \"status\" (\"ok\" or \"error\"), \"pages\" and "
+            + "\"output\" (the serialization in the chosen format) or \"error\" (the error "
+            + "message).");
+
+      // Add an option to define the directory of the cache of serializations.
+      this.parser.addArgument("--" + CACHE_DIR).dest(CACHE_DIR)
+        .required(false)
+        .metavar("<dir>")
+        .help("The directory of a cache of serializations, when processing multiple PDF files. "
+            + "A PDF file whose content was already processed with the same options (in this or "
+            + "a previous run) is not parsed again; its serialization is taken from the cache.");
+
+      // Add an option to define the maximum size of the cache of serializations.
+      this.parser.addArgument("--" + CACHE_SIZE).dest(CACHE_SIZE)
+        .required(false)
+        .type(Long.class)
+        .metavar("<mb>")
+        .help("The maximum size of the cache of serializations on disk, in megabytes. The least "
+            + "recently used serializations are evicted when the cache exceeds this size.\n"
+            + "- Default: " + (PdfActCliSettings.DEFAULT_CACHE_DISK_BYTES >> 20) + ".");
+
       // Add an option to enable the pdf.js mode required by Robin.
       this.parser.addArgument("--" + PDFJS_MODE).dest(PDFJS_MODE)
         .required(false)
@@ -45,4 +45,14 @@ public class PdfActCliSettings {
    * occurs in the PDF and "^A" in front of headings.
    */
   public static final boolean DEFAULT_WITH_CONTROL_CHARACTERS = false;
+
+  /**
+   * The default maximum number of bytes of the in-memory tier of the cache of serializations.
+   */
+  public static final long DEFAULT_CACHE_MEMORY_BYTES = 128L * 1024 * 1024;
+
+  /**
+   * The default maximum number of bytes of the on-disk tier of the cache of serializations.
+   */
+  public static final long DEFAULT_CACHE_DISK_BYTES = 1024L * 1024 * 1024;
 }
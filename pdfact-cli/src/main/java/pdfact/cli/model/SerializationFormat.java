@@ -24,7 +24,13 @@ public enum SerializationFormat {
   /**
    * The serialization format "JSON".
    */
-  JSON("json");
+  JSON("json"),
+
+  /**
+   * The compact, columnar binary format described in
+   * {@link pdfact.core.util.binary.BinaryFormat}.
+   */
+  BINARY("bin");
 
   // ==============================================================================================
 
@@ -67,6 +73,15 @@ public enum SerializationFormat {
     return this.name;
   }
 
+  /**
+   * Returns the file extension (without the leading dot) of files in this serialization format.
+   * 
+   * @return The file extension of files in this serialization format.
+   */
+  public String getFileExtension() {
+    return this.name;
+  }
+
   // ==============================================================================================
 
   /**
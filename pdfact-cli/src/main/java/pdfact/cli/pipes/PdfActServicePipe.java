@@ -3,6 +3,7 @@ package pdfact.cli.pipes;
 import java.io.OutputStream;
 import java.nio.file.Path;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import pdfact.cli.model.ExtractionUnit;
 import pdfact.cli.model.SerializationFormat;
 import pdfact.core.model.SemanticRole;
@@ -143,6 +144,20 @@ public interface PdfActServicePipe extends Pipe {
 
   // ==============================================================================================
 
+  /**
+   * Returns the boolean flag indicating whether or not to serialize the report about the execution
+   * of the pipeline that processed the document (only supported by the XML and JSON formats).
+   */
+  public boolean isWithPipelineReport();
+
+  /**
+   * Sets the boolean flag indicating whether or not to serialize the report about the execution of
+   * the pipeline that processed the document (only supported by the XML and JSON formats).
+   */
+  public void setWithPipelineReport(boolean withPipelineReport);
+
+  // ==============================================================================================
+
   /**
    * Returns the boolean flag indicating whether or not the pdf.js mode is enabled.
    */
@@ -152,4 +167,34 @@ public interface PdfActServicePipe extends Pipe {
    * Sets the boolean flag indicating whether or not the pdf.js mode is enabled.
    */
   public void setIsPdfJsMode(boolean isPdfJsMode);
+
+  // ==============================================================================================
+
+  /**
+   * Returns the worker pool to process the pages of the PDF document in parallel.
+   *
+   * @return The worker pool, or null if the pages are processed sequentially.
+   */
+  ExecutorService getPageExecutor();
+
+  /**
+   * Sets the worker pool to process the pages of the PDF document in parallel.
+   *
+   * @param pageExecutor The worker pool, or null to process the pages sequentially.
+   */
+  void setPageExecutor(ExecutorService pageExecutor);
+
+  // ==============================================================================================
+
+  /**
+   * Returns the boolean flag indicating whether or not to write the serialization without
+   * indentation and line breaks (only supported by the JSON format and the pdf.js mode).
+   */
+  public boolean isCompactSerialization();
+
+  /**
+   * Sets the boolean flag indicating whether or not to write the serialization without indentation
+   * and line breaks (only supported by the JSON format and the pdf.js mode).
+   */
+  public void setCompactSerialization(boolean compactSerialization);
 }
@@ -6,6 +6,8 @@ import static pdfact.cli.PdfActCliSettings.DEFAULT_SERIALIZE_FORMAT;
 import java.io.OutputStream;
 import java.nio.file.Path;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pdfact.cli.model.ExtractionUnit;
@@ -82,11 +84,29 @@ public class PlainPdfActServicePipe implements PdfActServicePipe {
    */
   protected boolean withControlCharacters;
 
+  /**
+   * The boolean flag indicating whether or not to serialize the report about the execution of the
+   * pipeline that processed the document.
+   */
+  protected boolean withPipelineReport;
+
   /**
    * The boolean flag indicating whether or not the pdf.js mode is enabled.
    */
   protected boolean isPdfJsMode;
 
+  /**
+   * The boolean flag indicating whether or not to write the serialization without indentation and
+   * line breaks.
+   */
+  protected boolean compactSerialization;
+
+  /**
+   * The worker pool to process the pages of the PDF document in parallel (null to process the
+   * pages sequentially).
+   */
+  protected ExecutorService pageExecutor;
+
   // ==============================================================================================
 
   /**
@@ -96,6 +116,7 @@ public class PlainPdfActServicePipe implements PdfActServicePipe {
     this.serializationFormat = DEFAULT_SERIALIZE_FORMAT;
     this.extractionUnits = DEFAULT_EXTRACTION_UNITS;
     this.roles = DEFAULT_SEMANTIC_ROLES;
+    this.pageExecutor = ForkJoinPool.commonPool();
   }
 
   // ==============================================================================================
@@ -117,9 +138,11 @@ public class PlainPdfActServicePipe implements PdfActServicePipe {
     log.debug("Process: Processing the service pipeline.");
 
     Pipeline pipeline = new PlainPipeline();
+    // Measure the pipes only if the report is serialized or logged.
+    pipeline.setWithReport(this.withPipelineReport || log.isDebugEnabled());
 
     // Parse the PDF document.
-    pipeline.addPipe(new PlainPdfActCorePipe());
+    pipeline.addPipe(new PlainPdfActCorePipe(this.pageExecutor));
 
     // Validate the target path for the serialization if there is any given.
     if (this.serializationPath != null) {
@@ -137,7 +160,9 @@ public class PlainPdfActServicePipe implements PdfActServicePipe {
       serializePipe.setTargetPath(this.serializationPath);
       serializePipe.setTargetStream(this.serializationStream);
       serializePipe.setWithControlCharacters(this.withControlCharacters);
+      serializePipe.setWithPipelineReport(this.withPipelineReport);
       serializePipe.setIsPdfJsMode(this.isPdfJsMode);
+      serializePipe.setCompact(this.compactSerialization);
       pipeline.addPipe(serializePipe);
     }
 
@@ -160,12 +185,13 @@ public class PlainPdfActServicePipe implements PdfActServicePipe {
 
     log.debug("# pipes in the pipeline: " + pipeline.size());
 
-    long start = System.currentTimeMillis();
     pipeline.process(pdf);
-    long length = System.currentTimeMillis() - start;
 
     log.debug("Processing the service pipeline done.");
-    log.debug("Time needed to process the service pipeline: " + length + "ms.");
+    if (log.isDebugEnabled()) {
+      log.debug("Report of the service pipeline:" + System.lineSeparator()
+          + pdf.getPipelineReport());
+    }
 
     log.debug("End of pipe: " + getClass().getSimpleName() + ".");
 
@@ -278,6 +304,24 @@ public class PlainPdfActServicePipe implements PdfActServicePipe {
 
   // ==============================================================================================
 
+  /**
+   * Returns the boolean flag indicating whether or not to serialize the report about the execution
+   * of the pipeline that processed the document (only supported by the XML and JSON formats).
+   */
+  public boolean isWithPipelineReport() {
+    return this.withPipelineReport;
+  }
+
+  /**
+   * Sets the boolean flag indicating whether or not to serialize the report about the execution of
+   * the pipeline that processed the document (only supported by the XML and JSON formats).
+   */
+  public void setWithPipelineReport(boolean withPipelineReport) {
+    this.withPipelineReport = withPipelineReport;
+  }
+
+  // ==============================================================================================
+
   /**
    * Returns the boolean flag indicating whether or not the pdf.js mode is enabled.
    */
@@ -291,4 +335,28 @@ public class PlainPdfActServicePipe implements PdfActServicePipe {
   public void setIsPdfJsMode(boolean isPdfJsMode) {
     this.isPdfJsMode = isPdfJsMode;
   }
-}
\ No newline at end of file
+
+  // ==============================================================================================
+
+  @Override
+  public ExecutorService getPageExecutor() {
+    return this.pageExecutor;
+  }
+
+  @Override
+  public void setPageExecutor(ExecutorService pageExecutor) {
+    this.pageExecutor = pageExecutor;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public boolean isCompactSerialization() {
+    return this.compactSerialization;
+  }
+
+  @Override
+  public void setCompactSerialization(boolean compactSerialization) {
+    this.compactSerialization = compactSerialization;
+  }
+}
@@ -0,0 +1,228 @@
+package pdfact.cli.pipes.serialize;
+
+import java.io.IOException;
+import java.io.Writer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * A writer to write a JSON object incrementally to a {@link Writer}, formatted exactly as
+ * {@link JSONObject#toString(int)} would format the complete object. Only the outermost object
+ * and the arrays directly contained in it are written incrementally; their elements (and all
+ * other values) are given as {@link JSONObject}s or {@link JSONArray}s and are written as a whole.
+ *
+ * <p>
+ * The keys of the outermost object are written in the order in which they are given. The number
+ * of keys must be known in advance, since an object with a single key is formatted differently
+ * (see {@link #beginObject(int)}).
+ *
+ * @author Claudius Korzen
+ */
+public class JsonStreamWriter {
+  /**
+   * The writer to write to.
+   */
+  protected Writer writer;
+
+  /**
+   * The number of spaces to add to each level of indentation.
+   */
+  protected int indentFactor;
+
+  /**
+   * The number of keys of the outermost object.
+   */
+  protected int numKeys;
+
+  /**
+   * The number of keys of the outermost object written so far.
+   */
+  protected int numWrittenKeys;
+
+  /**
+   * The indentation of the current value of the outermost object.
+   */
+  protected int valueIndent;
+
+  /**
+   * The number of elements of the current array written so far.
+   */
+  protected int numArrayElements;
+
+  /**
+   * The first element of the current array, which is written not until it is known whether the
+   * array contains more than one element (since arrays with a single element are formatted
+   * differently).
+   */
+  protected JSONObject firstArrayElement;
+
+  // ==============================================================================================
+
+  /**
+   * Creates a new writer.
+   *
+   * @param writer       The writer to write to.
+   * @param indentFactor The number of spaces to add to each level of indentation.
+   */
+  public JsonStreamWriter(Writer writer, int indentFactor) {
+    this.writer = writer;
+    this.indentFactor = indentFactor;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Begins the outermost object.
+   *
+   * @param numKeys The number of keys of the object.
+   *
+   * @throws IOException If writing failed.
+   */
+  public void beginObject(int numKeys) throws IOException {
+    this.numKeys = numKeys;
+    this.numWrittenKeys = 0;
+    this.writer.write('{');
+  }
+
+  /**
+   * Writes the given key of the outermost object. Must be followed by writing its value.
+   *
+   * @param key The key to write.
+   *
+   * @throws IOException If writing failed.
+   */
+  public void key(String key) throws IOException {
+    if (this.numKeys == 1) {
+      // An object with a single key is written in a single line.
+      this.valueIndent = 0;
+    } else {
+      if (this.numWrittenKeys > 0) {
+        this.writer.write(',');
+      }
+      newline(this.indentFactor);
+      this.valueIndent = this.indentFactor;
+    }
+    this.writer.write(JSONObject.quote(key));
+    this.writer.write(':');
+    if (this.indentFactor > 0) {
+      this.writer.write(' ');
+    }
+    this.numWrittenKeys++;
+  }
+
+  /**
+   * Writes the given object as the value of the current key.
+   *
+   * @param value The value to write.
+   *
+   * @throws IOException If writing failed.
+   */
+  public void value(JSONObject value) throws IOException {
+    value.write(this.writer, this.indentFactor, this.valueIndent);
+  }
+
+  /**
+   * Writes the given array as the value of the current key.
+   *
+   * @param value The value to write.
+   *
+   * @throws IOException If writing failed.
+   */
+  public void value(JSONArray value) throws IOException {
+    value.write(this.writer, this.indentFactor, this.valueIndent);
+  }
+
+  /**
+   * Begins an array as the value of the current key.
+   *
+   * @throws IOException If writing failed.
+   */
+  public void beginArray() throws IOException {
+    this.writer.write('[');
+    this.numArrayElements = 0;
+    this.firstArrayElement = null;
+  }
+
+  /**
+   * Writes the given element of the current array.
+   *
+   * @param element The element to write.
+   *
+   * @throws IOException If writing failed.
+   */
+  public void arrayElement(JSONObject element) throws IOException {
+    if (this.numArrayElements == 0) {
+      this.firstArrayElement = element;
+    } else {
+      if (this.numArrayElements == 1) {
+        writeArrayElement(this.firstArrayElement, false);
+        this.firstArrayElement = null;
+      }
+      writeArrayElement(element, true);
+    }
+    this.numArrayElements++;
+  }
+
+  /**
+   * Ends the current array.
+   *
+   * @throws IOException If writing failed.
+   */
+  public void endArray() throws IOException {
+    if (this.numArrayElements == 1) {
+      // An array with a single element is written without line breaks around the element.
+      this.firstArrayElement.write(this.writer, this.indentFactor, this.valueIndent);
+      this.firstArrayElement = null;
+    } else if (this.numArrayElements > 1) {
+      newline(this.valueIndent);
+    }
+    this.writer.write(']');
+  }
+
+  /**
+   * Ends the outermost object.
+   *
+   * @throws IOException If writing failed.
+   */
+  public void endObject() throws IOException {
+    if (this.numKeys > 1) {
+      newline(0);
+    }
+    this.writer.write('}');
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Writes an element of an array with more than one element.
+   *
+   * @param element    The element to write.
+   * @param needsComma Whether or not the element must be separated from the previous element.
+   *
+   * @throws IOException If writing failed.
+   */
+  protected void writeArrayElement(JSONObject element, boolean needsComma) throws IOException {
+    if (needsComma) {
+      this.writer.write(',');
+    }
+    int elementIndent = this.valueIndent + this.indentFactor;
+    newline(elementIndent);
+    element.write(this.writer, this.indentFactor, elementIndent);
+  }
+
+  /**
+   * Writes a line break (if the output is indented) followed by the given indentation.
+   *
+   * @param indent The number of spaces to write.
+   *
+   * @throws IOException If writing failed.
+   */
+  protected void newline(int indent) throws IOException {
+    if (this.indentFactor > 0) {
+      this.writer.write('\n');
+    }
+    for (int i = 0; i < indent; i++) {
+      this.writer.write(' ');
+    }
+  }
+}
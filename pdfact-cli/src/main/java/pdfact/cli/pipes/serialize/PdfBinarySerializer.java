@@ -0,0 +1,561 @@
+package pdfact.cli.pipes.serialize;
+
+import static pdfact.core.util.binary.BinaryFormat.FLAG_BOLD;
+import static pdfact.core.util.binary.BinaryFormat.FLAG_ITALIC;
+import static pdfact.core.util.binary.BinaryFormat.FLAG_TYPE3;
+import static pdfact.core.util.binary.BinaryFormat.MAGIC;
+import static pdfact.core.util.binary.BinaryFormat.NO_ENTRY;
+import static pdfact.core.util.binary.BinaryFormat.VERSION;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import pdfact.cli.model.ExtractionUnit;
+import pdfact.cli.util.exception.PdfActSerializeException;
+import pdfact.core.model.Color;
+import pdfact.core.model.Document;
+import pdfact.core.model.Element;
+import pdfact.core.model.Font;
+import pdfact.core.model.FontFace;
+import pdfact.core.model.HasColor;
+import pdfact.core.model.HasFontFace;
+import pdfact.core.model.HasPosition;
+import pdfact.core.model.HasPositions;
+import pdfact.core.model.HasSemanticRole;
+import pdfact.core.model.HasText;
+import pdfact.core.model.Page;
+import pdfact.core.model.Paragraph;
+import pdfact.core.model.Position;
+import pdfact.core.model.Rectangle;
+import pdfact.core.model.SemanticRole;
+import pdfact.core.model.TextBlock;
+import pdfact.core.model.Word;
+import pdfact.core.util.binary.BinaryBuffer;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * An implementation of {@link PdfSerializer} that serializes a PDF document in the compact,
+ * columnar binary format described in {@link pdfact.core.util.binary.BinaryFormat}, which can be
+ * read by {@link pdfact.core.util.binary.BinaryReader}.
+ *
+ * @author Claudius Korzen
+ */
+public class PdfBinarySerializer implements PdfSerializer {
+  /**
+   * The units to serialize.
+   */
+  protected Set<ExtractionUnit> extractionUnits;
+
+  /**
+   * The semantic roles to consider on serializing.
+   */
+  protected Set<SemanticRole> semanticRolesToInclude;
+
+  /**
+   * The fonts of the elements to serialize, with their 1-based indexes in the font dictionary.
+   */
+  protected Map<Font, Integer> fontIndexes;
+
+  /**
+   * The colors of the elements to serialize, with their 1-based indexes in the color dictionary.
+   */
+  protected Map<Color, Integer> colorIndexes;
+
+  /**
+   * The roles of the elements to serialize, with their 1-based indexes in the role dictionary.
+   */
+  protected Map<SemanticRole, Integer> roleIndexes;
+
+  // ==============================================================================================
+  // Constructors.
+
+  /**
+   * Creates a new serializer that serializes a PDF document in binary format.
+   */
+  public PdfBinarySerializer() {
+    this.fontIndexes = new LinkedHashMap<>();
+    this.colorIndexes = new LinkedHashMap<>();
+    this.roleIndexes = new LinkedHashMap<>();
+  }
+
+  /**
+   * Creates a new serializer that serializes a PDF document in binary format.
+   *
+   * @param extractionUnits The units to serialize.
+   * @param roles           The semantic roles to include.
+   */
+  public PdfBinarySerializer(Set<ExtractionUnit> extractionUnits, Set<SemanticRole> roles) {
+    this();
+    this.extractionUnits = extractionUnits;
+    this.semanticRolesToInclude = roles;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public byte[] serialize(Document pdf) throws PdfActException {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    serialize(pdf, stream);
+    return stream.toByteArray();
+  }
+
+  @Override
+  public void serialize(Document pdf, OutputStream stream) throws PdfActException {
+    if (pdf == null) {
+      return;
+    }
+
+    // Collect the elements per unit, in a fixed order of the units.
+    Map<ExtractionUnit, List<Element>> elementsPerUnit = new LinkedHashMap<>();
+    if (this.extractionUnits != null) {
+      for (ExtractionUnit unit : ExtractionUnit.values()) {
+        if (this.extractionUnits.contains(unit) && isSerializable(unit)) {
+          List<Element> elements = new ArrayList<>();
+          forEachElement(pdf, unit, elements::add);
+          elementsPerUnit.put(unit, elements);
+        }
+      }
+    }
+
+    // Collect the dictionaries, since they precede the blocks.
+    for (List<Element> elements : elementsPerUnit.values()) {
+      for (Element element : elements) {
+        collectDictionaryEntries(element);
+      }
+    }
+
+    try {
+      BinaryBuffer buffer = new BinaryBuffer();
+      buffer.putBytes(MAGIC);
+      buffer.putShort(VERSION);
+      serializeFonts(buffer);
+      serializeColors(buffer);
+      serializeRoles(buffer);
+      serializePages(buffer, pdf.getPages());
+      buffer.putVarint(elementsPerUnit.size());
+      buffer.writeTo(stream);
+
+      // Write the blocks one by one, each is prefixed by its length.
+      for (Map.Entry<ExtractionUnit, List<Element>> entry : elementsPerUnit.entrySet()) {
+        BinaryBuffer body = new BinaryBuffer();
+        serializeBlockBody(body, entry.getValue());
+
+        buffer.reset();
+        buffer.putString(entry.getKey().getPluralName());
+        buffer.putInt(body.size());
+        buffer.writeTo(stream);
+        body.writeTo(stream);
+      }
+      stream.flush();
+    } catch (IOException e) {
+      throw new PdfActSerializeException("Couldn't serialize the PDF document.", e);
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Serializes the font dictionary.
+   *
+   * @param buffer The buffer to write to.
+   */
+  protected void serializeFonts(BinaryBuffer buffer) {
+    buffer.putVarint(this.fontIndexes.size());
+    for (Font font : this.fontIndexes.keySet()) {
+      buffer.putString(font.getId());
+      buffer.putString(font.getNormalizedName());
+      int flags = 0;
+      flags |= font.isBold() ? FLAG_BOLD : 0;
+      flags |= font.isItalic() ? FLAG_ITALIC : 0;
+      flags |= font.isType3Font() ? FLAG_TYPE3 : 0;
+      buffer.putByte(flags);
+    }
+  }
+
+  /**
+   * Serializes the color dictionary.
+   *
+   * @param buffer The buffer to write to.
+   */
+  protected void serializeColors(BinaryBuffer buffer) {
+    buffer.putVarint(this.colorIndexes.size());
+    for (Color color : this.colorIndexes.keySet()) {
+      int[] rgb = color.getRGB();
+      buffer.putString(color.getId());
+      buffer.putByte(rgb[0]);
+      buffer.putByte(rgb[1]);
+      buffer.putByte(rgb[2]);
+    }
+  }
+
+  /**
+   * Serializes the role dictionary.
+   *
+   * @param buffer The buffer to write to.
+   */
+  protected void serializeRoles(BinaryBuffer buffer) {
+    buffer.putVarint(this.roleIndexes.size());
+    for (SemanticRole role : this.roleIndexes.keySet()) {
+      buffer.putString(role.getName());
+    }
+  }
+
+  /**
+   * Serializes the numbers and dimensions of the given pages.
+   *
+   * @param buffer The buffer to write to.
+   * @param pages  The pages to serialize.
+   */
+  protected void serializePages(BinaryBuffer buffer, List<Page> pages) {
+    if (pages == null) {
+      pages = Collections.emptyList();
+    }
+    buffer.putVarint(pages.size());
+    for (Page page : pages) {
+      buffer.putVarint(Math.max(page.getPageNumber(), 0));
+      buffer.putFloat(page.getWidth());
+      buffer.putFloat(page.getHeight());
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Serializes the given elements (of a single unit) column by column.
+   *
+   * @param buffer   The buffer to write to.
+   * @param elements The elements to serialize.
+   */
+  protected void serializeBlockBody(BinaryBuffer buffer, List<Element> elements) {
+    // Collect the positions of all elements, since the columns of the boxes come first.
+    List<List<Position>> positionsPerElement = new ArrayList<>(elements.size());
+    int numPositions = 0;
+    for (Element element : elements) {
+      List<Position> positions = getPositions(element);
+      positionsPerElement.add(positions);
+      numPositions += positions.size();
+    }
+
+    buffer.putVarint(elements.size());
+    buffer.putVarint(numPositions);
+
+    // The boxes.
+    for (List<Position> positions : positionsPerElement) {
+      for (Position position : positions) {
+        Rectangle rect = position.getRectangle();
+        buffer.putFloat(rect.getMinX());
+        buffer.putFloat(rect.getMinY());
+        buffer.putFloat(rect.getMaxX());
+        buffer.putFloat(rect.getMaxY());
+      }
+    }
+
+    // The font sizes.
+    for (Element element : elements) {
+      FontFace fontFace = getFontFace(element);
+      buffer.putFloat(fontFace != null ? fontFace.getFontSize() : 0);
+    }
+
+    // The numbers of positions per element and the page numbers.
+    for (List<Position> positions : positionsPerElement) {
+      buffer.putVarint(positions.size());
+    }
+    for (List<Position> positions : positionsPerElement) {
+      for (Position position : positions) {
+        buffer.putVarint(position.getPage().getPageNumber());
+      }
+    }
+
+    // The references to the dictionaries.
+    for (Element element : elements) {
+      buffer.putVarint(getIndex(this.roleIndexes, getRole(element)));
+    }
+    for (Element element : elements) {
+      FontFace fontFace = getFontFace(element);
+      buffer.putVarint(getIndex(this.fontIndexes, fontFace != null ? fontFace.getFont() : null));
+    }
+    for (Element element : elements) {
+      buffer.putVarint(getIndex(this.colorIndexes, getColor(element)));
+    }
+
+    // The texts: first the lengths, then the UTF-8 bytes.
+    List<byte[]> texts = new ArrayList<>(elements.size());
+    for (Element element : elements) {
+      String text = element instanceof HasText ? ((HasText) element).getText() : null;
+      byte[] utf8 = text != null ? text.getBytes(StandardCharsets.UTF_8) : null;
+      texts.add(utf8);
+      buffer.putVarint(utf8 != null ? utf8.length + 1 : 0);
+    }
+    for (byte[] utf8 : texts) {
+      if (utf8 != null) {
+        buffer.putBytes(utf8);
+      }
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Adds the font, color and role of the given element to the respective dictionary.
+   *
+   * @param element The element to process.
+   */
+  protected void collectDictionaryEntries(Element element) {
+    FontFace fontFace = getFontFace(element);
+    if (fontFace != null && fontFace.getFont() != null) {
+      addToDictionary(this.fontIndexes, fontFace.getFont());
+    }
+
+    Color color = getColor(element);
+    if (color != null) {
+      addToDictionary(this.colorIndexes, color);
+    }
+
+    SemanticRole role = getRole(element);
+    if (role != null) {
+      addToDictionary(this.roleIndexes, role);
+    }
+  }
+
+  /**
+   * Adds the given entry to the given dictionary, if it isn't contained yet.
+   *
+   * @param <T>        The type of the entries.
+   * @param dictionary The dictionary.
+   * @param entry      The entry to add.
+   */
+  protected static <T> void addToDictionary(Map<T, Integer> dictionary, T entry) {
+    if (!dictionary.containsKey(entry)) {
+      dictionary.put(entry, dictionary.size() + 1);
+    }
+  }
+
+  /**
+   * Returns the 1-based index of the given entry in the given dictionary.
+   *
+   * @param <T>        The type of the entries.
+   * @param dictionary The dictionary.
+   * @param entry      The entry.
+   *
+   * @return The index of the entry, or {@link pdfact.core.util.binary.BinaryFormat#NO_ENTRY} if
+   *         the entry is null.
+   */
+  protected static <T> int getIndex(Map<T, Integer> dictionary, T entry) {
+    Integer index = entry != null ? dictionary.get(entry) : null;
+    return index != null ? index : NO_ENTRY;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the positions of the given element that have a page and a rectangle.
+   *
+   * @param element The element.
+   *
+   * @return The positions of the element.
+   */
+  protected List<Position> getPositions(Element element) {
+    List<Position> positions = new ArrayList<>(1);
+    if (element instanceof HasPositions) {
+      List<Position> elementPositions = ((HasPositions) element).getPositions();
+      if (elementPositions != null) {
+        for (Position position : elementPositions) {
+          addPosition(positions, position);
+        }
+      }
+    }
+    if (element instanceof HasPosition) {
+      addPosition(positions, ((HasPosition) element).getPosition());
+    }
+    return positions;
+  }
+
+  /**
+   * Adds the given position to the given list, if it has a page and a rectangle.
+   *
+   * @param positions The list to add to.
+   * @param position  The position to add.
+   */
+  protected void addPosition(List<Position> positions, Position position) {
+    if (position != null && position.getPage() != null && position.getPage().getPageNumber() > 0
+        && position.getRectangle() != null) {
+      positions.add(position);
+    }
+  }
+
+  /**
+   * Returns the font face of the given element.
+   *
+   * @param element The element.
+   *
+   * @return The font face, or null if the element has no font face.
+   */
+  protected FontFace getFontFace(Element element) {
+    return element instanceof HasFontFace ? ((HasFontFace) element).getFontFace() : null;
+  }
+
+  /**
+   * Returns the color of the given element.
+   *
+   * @param element The element.
+   *
+   * @return The color, or null if the element has no color with RGB values.
+   */
+  protected Color getColor(Element element) {
+    Color color = element instanceof HasColor ? ((HasColor) element).getColor() : null;
+    if (color == null || color.getRGB() == null || color.getRGB().length != 3) {
+      return null;
+    }
+    return color;
+  }
+
+  /**
+   * Returns the semantic role of the given element.
+   *
+   * @param element The element.
+   *
+   * @return The semantic role, or null if the element has no role.
+   */
+  protected SemanticRole getRole(Element element) {
+    return element instanceof HasSemanticRole ? ((HasSemanticRole) element).getSemanticRole()
+        : null;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns true if elements of the given unit are serialized by this serializer.
+   *
+   * @param unit The unit.
+   *
+   * @return True, if elements of the given unit are serialized.
+   */
+  protected boolean isSerializable(ExtractionUnit unit) {
+    switch (unit) {
+      case CHARACTER:
+      case WORD:
+      case TEXT_BLOCK:
+      case PARAGRAPH:
+      case FIGURE:
+      case SHAPE:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Passes the elements of the given unit to the given action, in the order in which they are
+   * serialized.
+   *
+   * @param pdf    The PDF document.
+   * @param unit   The unit of the elements.
+   * @param action The action to perform on each element.
+   */
+  protected void forEachElement(Document pdf, ExtractionUnit unit, Consumer<Element> action) {
+    switch (unit) {
+      case CHARACTER:
+        for (Paragraph paragraph : pdf.getParagraphs()) {
+          if (hasRelevantRole(paragraph)) {
+            for (Word word : paragraph.getWords()) {
+              word.getCharacters().forEach(action);
+            }
+          }
+        }
+        break;
+      case WORD:
+        for (Paragraph paragraph : pdf.getParagraphs()) {
+          if (hasRelevantRole(paragraph)) {
+            paragraph.getWords().forEach(action);
+          }
+        }
+        break;
+      case TEXT_BLOCK:
+        for (Page page : pdf.getPages()) {
+          for (TextBlock block : page.getTextBlocks()) {
+            if (hasRelevantRole(block)) {
+              action.accept(block);
+            }
+          }
+        }
+        break;
+      case PARAGRAPH:
+        for (Paragraph paragraph : pdf.getParagraphs()) {
+          if (hasRelevantRole(paragraph)) {
+            action.accept(paragraph);
+          }
+        }
+        break;
+      case FIGURE:
+        for (Page page : pdf.getPages()) {
+          page.getFigures().forEach(action);
+        }
+        break;
+      case SHAPE:
+        for (Page page : pdf.getPages()) {
+          page.getShapes().forEach(action);
+        }
+        break;
+      default:
+        break;
+    }
+  }
+
+  /**
+   * Checks if the semantic role of the given element is relevant, that is: if it is included in
+   * this.semanticRolesToInclude.
+   *
+   * @param element The element to check.
+   *
+   * @return True, if the role of the given element is relevant.
+   */
+  protected boolean hasRelevantRole(HasSemanticRole element) {
+    if (element == null) {
+      return false;
+    }
+
+    if (this.semanticRolesToInclude == null || this.semanticRolesToInclude.isEmpty()) {
+      // No semantic roles to include given -> The element is not relevant.
+      return false;
+    }
+
+    SemanticRole role = element.getSemanticRole();
+    if (role == null) {
+      return false;
+    }
+
+    return this.semanticRolesToInclude.contains(role);
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public Set<ExtractionUnit> getExtractionUnits() {
+    return this.extractionUnits;
+  }
+
+  @Override
+  public void setExtractionUnits(Set<ExtractionUnit> units) {
+    this.extractionUnits = units;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public Set<SemanticRole> getSemanticRolesToInclude() {
+    return this.semanticRolesToInclude;
+  }
+
+  @Override
+  public void setSemanticRolesToInclude(Set<SemanticRole> roles) {
+    this.semanticRolesToInclude = roles;
+  }
+}
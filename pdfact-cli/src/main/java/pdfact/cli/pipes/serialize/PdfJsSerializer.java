@@ -23,6 +23,12 @@ import static pdfact.cli.pipes.serialize.PdfSerializerConstants.ROLE;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.TEXT;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.TEXT_LINES;
 import static pdfact.core.PdfActCoreSettings.DEFAULT_ENCODING;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -30,6 +36,7 @@ import java.util.Set;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import pdfact.cli.model.ExtractionUnit;
+import pdfact.cli.util.exception.PdfActSerializeException;
 import pdfact.core.model.Color;
 import pdfact.core.model.Document;
 import pdfact.core.model.Element;
@@ -48,6 +55,7 @@ import pdfact.core.model.SemanticRole;
 import pdfact.core.model.TextBlock;
 import pdfact.core.model.TextLine;
 import pdfact.core.model.Word;
+import pdfact.core.util.exception.PdfActException;
 
 /**
  * A serializer that outputs a PDF document in the format as required by Robin's tool that improves
@@ -87,6 +95,12 @@ public class PdfJsSerializer implements PdfSerializer {
    */
   protected Set<Color> usedColors;
 
+  /**
+   * The boolean flag indicating whether or not to write the serialization without indentation and
+   * line breaks (for example, as a single line of newline-delimited JSON).
+   */
+  protected boolean compact;
+
   // ==============================================================================================
   // Constructors.
 
@@ -102,60 +116,104 @@ public class PdfJsSerializer implements PdfSerializer {
   // ==============================================================================================
 
   @Override
-  public byte[] serialize(Document pdf) {
-    // The serialization to return.
-    String result = "";
+  public byte[] serialize(Document pdf) throws PdfActException {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    serialize(pdf, stream);
+    return stream.toByteArray();
+  }
 
-    if (pdf != null) {
-      // The JSON object to fill.
-      JSONObject json = new JSONObject();
+  @Override
+  public void serialize(Document pdf, OutputStream stream) throws PdfActException {
+    if (pdf == null) {
+      return;
+    }
 
-      // Create the section that contains all serialized PDF elements.
-      serializeTextLines(pdf, json);
+    try {
+      Writer writer = new BufferedWriter(new OutputStreamWriter(stream, DEFAULT_ENCODING));
+      JsonStreamWriter json = new JsonStreamWriter(writer, this.compact ? 0 : INDENT_LENGTH);
+
+      // Collect the fonts and colors of the text lines in advance, since the sections of the
+      // fonts and colors may precede the section of the text lines.
+      for (Page page : pdf.getPages()) {
+        for (TextBlock block : page.getTextBlocks()) {
+          for (TextLine line : block.getTextLines()) {
+            collectFontAndColor(line);
+          }
+        }
+      }
 
       // Create the section that contains the used fonts.
       JSONArray fontsJson = serializeFonts(this.usedFonts);
-      if (fontsJson != null && fontsJson.length() > 0) {
-        json.put(FONTS, fontsJson);
-      }
+      boolean hasFonts = fontsJson != null && fontsJson.length() > 0;
 
       // Create the section that contains the used colors.
       JSONArray colorsJson = serializeColors(this.usedColors);
-      if (colorsJson != null && colorsJson.length() > 0) {
-        json.put(COLORS, colorsJson);
+      boolean hasColors = colorsJson != null && colorsJson.length() > 0;
+
+      // Write the sections in the order in which they were written when the serialization was
+      // built as a JSONObject.
+      json.beginObject(1 + (hasFonts ? 1 : 0) + (hasColors ? 1 : 0));
+      if (hasFonts) {
+        json.key(FONTS);
+        json.value(fontsJson);
       }
-
-      // Serialize the JSON object.
-      result = json.toString(INDENT_LENGTH);
+      json.key(TEXT_LINES);
+      serializeTextLines(pdf, json);
+      if (hasColors) {
+        json.key(COLORS);
+        json.value(colorsJson);
+      }
+      json.endObject();
+      writer.flush();
+    } catch (IOException e) {
+      throw new PdfActSerializeException("Couldn't serialize the PDF document.", e);
     }
-    return result.getBytes(DEFAULT_ENCODING);
   }
 
   // ==============================================================================================
 
   /**
-   * Serializes the text lines of the given PDF document.
+   * Serializes the text lines of the given PDF document, one by one.
    *
    * @param pdf  The PDF document to process.
-   * @param json The JSON object to which the serialization should be appended.
+   * @param json The writer to write the serialization to.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected void serializeTextLines(Document pdf, JSONObject json) {
-    JSONArray result = new JSONArray();
-
-    if (pdf != null) {
-      for (Page page : pdf.getPages()) {
-        for (TextBlock block : page.getTextBlocks()) {
-          for (TextLine line : block.getTextLines()) {
-            JSONObject lineJson = serializeTextLine(line);
-            if (lineJson != null) {
-              result.put(lineJson);
-            }
+  protected void serializeTextLines(Document pdf, JsonStreamWriter json) throws IOException {
+    json.beginArray();
+    for (Page page : pdf.getPages()) {
+      for (TextBlock block : page.getTextBlocks()) {
+        for (TextLine line : block.getTextLines()) {
+          JSONObject lineJson = serializeTextLine(line);
+          if (lineJson != null) {
+            json.arrayElement(lineJson);
           }
         }
       }
     }
+    json.endArray();
+  }
 
-    json.put(TEXT_LINES, result);
+  /**
+   * Adds the font and the color of the given text line to the used fonts and colors, if they
+   * would be serialized by {@link #serializeTextLine(TextLine)}.
+   *
+   * @param line The text line to process.
+   */
+  protected void collectFontAndColor(TextLine line) {
+    FontFace fontFace = line.getCharacterStatistic().getMostCommonFontFace();
+    if (fontFace != null) {
+      Font font = fontFace.getFont();
+      if (font != null && font.getId() != null && fontFace.getFontSize() > 0) {
+        this.usedFonts.add(font);
+      }
+    }
+
+    Color color = line.getCharacterStatistic().getMostCommonColor();
+    if (color != null && color.getId() != null) {
+      this.usedColors.add(color);
+    }
   }
 
   /**
@@ -535,4 +593,26 @@ public class PdfJsSerializer implements PdfSerializer {
   public void setSemanticRolesToInclude(Set<SemanticRole> roles) {
     // Nothing to do.
   }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the boolean flag indicating whether or not to write the serialization without
+   * indentation and line breaks.
+   *
+   * @return True, if the serialization is written in a single line.
+   */
+  public boolean isCompact() {
+    return this.compact;
+  }
+
+  /**
+   * Sets the boolean flag indicating whether or not to write the serialization without indentation
+   * and line breaks.
+   *
+   * @param compact The boolean flag.
+   */
+  public void setCompact(boolean compact) {
+    this.compact = compact;
+  }
 }
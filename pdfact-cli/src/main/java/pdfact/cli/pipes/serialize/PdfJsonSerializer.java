@@ -1,10 +1,13 @@
 package pdfact.cli.pipes.serialize;
 
+import static pdfact.cli.pipes.serialize.PdfSerializerConstants.ALLOCATED_BYTES;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.B;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.CHARACTER;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.CHARACTERS;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.COLOR;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.COLORS;
+import static pdfact.cli.pipes.serialize.PdfSerializerConstants.CPU_TIME;
+import static pdfact.cli.pipes.serialize.PdfSerializerConstants.EXECUTIONS;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.FIGURE;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.FIGURES;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.FONT;
@@ -13,6 +16,7 @@ import static pdfact.cli.pipes.serialize.PdfSerializerConstants.FONTSIZE;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.G;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.HEIGHT;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.ID;
+import static pdfact.cli.pipes.serialize.PdfSerializerConstants.INPUT;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.IS_BOLD;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.IS_ITALIC;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.IS_TYPE3;
@@ -21,33 +25,50 @@ import static pdfact.cli.pipes.serialize.PdfSerializerConstants.MAX_Y;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.MIN_X;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.MIN_Y;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.NAME;
+import static pdfact.cli.pipes.serialize.PdfSerializerConstants.OUTPUT;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.PAGE;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.PAGES;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.PARAGRAPH;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.PARAGRAPHS;
+import static pdfact.cli.pipes.serialize.PdfSerializerConstants.PIPELINE_REPORT;
+import static pdfact.cli.pipes.serialize.PdfSerializerConstants.PIPES;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.POSITIONS;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.R;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.ROLE;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.SHAPE;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.SHAPES;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.TEXT;
+import static pdfact.cli.pipes.serialize.PdfSerializerConstants.TEXT_AREAS;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.TEXT_BLOCK;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.TEXT_BLOCKS;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.TEXT_LINE;
+import static pdfact.cli.pipes.serialize.PdfSerializerConstants.TEXT_LINES;
+import static pdfact.cli.pipes.serialize.PdfSerializerConstants.WALL_TIME;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.WIDTH;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.WORD;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.WORDS;
 import static pdfact.core.PdfActCoreSettings.DEFAULT_ENCODING;
 
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import pdfact.cli.model.ExtractionUnit;
+import pdfact.cli.util.exception.PdfActSerializeException;
 import pdfact.core.model.Character;
 import pdfact.core.model.Color;
 import pdfact.core.model.Document;
@@ -70,9 +91,14 @@ import pdfact.core.model.Shape;
 import pdfact.core.model.TextBlock;
 import pdfact.core.model.TextLine;
 import pdfact.core.model.Word;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.pipeline.ElementCounts;
+import pdfact.core.util.pipeline.PipeReport;
+import pdfact.core.util.pipeline.PipelineReport;
 
 /**
- * A serializer to serialize a document in JSON format.
+ * A serializer to serialize a document in JSON format. The serialized elements are written to the
+ * target stream one by one, so that the complete serialization is never kept in memory.
  *
  * @author Claudius Korzen
  */
@@ -82,6 +108,15 @@ public class PdfJsonSerializer implements PdfSerializer {
    */
   protected static final int INDENT_LENGTH = 2;
 
+  /**
+   * The order in which the sections are written. This is the order in which the sections were
+   * written when the serialization was built as a {@link JSONObject} (which doesn't preserve the
+   * insertion order), but fixed: the order of the text blocks and the shapes depended on the
+   * order of the extraction units.
+   */
+  protected static final List<String> SECTION_ORDER = Arrays.asList(CHARACTERS, PIPELINE_REPORT,
+      PAGES, FIGURES, FONTS, TEXT_BLOCKS, SHAPES, WORDS, PARAGRAPHS, COLORS);
+
   // ==============================================================================================
 
   /**
@@ -104,6 +139,18 @@ public class PdfJsonSerializer implements PdfSerializer {
    */
   protected Set<Color> usedColors;
 
+  /**
+   * The boolean flag indicating whether or not to serialize the report about the execution of
+   * the pipeline that processed the document.
+   */
+  protected boolean withPipelineReport;
+
+  /**
+   * The boolean flag indicating whether or not to write the serialization without indentation and
+   * line breaks (for example, as a single line of newline-delimited JSON).
+   */
+  protected boolean compact;
+
   // ==============================================================================================
   // Constructors.
 
@@ -130,106 +177,270 @@ public class PdfJsonSerializer implements PdfSerializer {
   // ==============================================================================================
 
   @Override
-  public byte[] serialize(Document pdf) {
-    // The serialization to return.
-    String result = "";
+  public byte[] serialize(Document pdf) throws PdfActException {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    serialize(pdf, stream);
+    return stream.toByteArray();
+  }
 
-    if (pdf != null) {
-      // The JSON object to fill.
-      JSONObject json = new JSONObject();
+  @Override
+  public void serialize(Document pdf, OutputStream stream) throws PdfActException {
+    if (pdf == null) {
+      return;
+    }
 
-      // Create the section that contains all serialized PDF elements.
-      serializePdfElements(pdf, json);
+    try {
+      Writer writer = new BufferedWriter(new OutputStreamWriter(stream, DEFAULT_ENCODING));
+      serialize(pdf, new JsonStreamWriter(writer, this.compact ? 0 : INDENT_LENGTH));
+      writer.flush();
+    } catch (IOException | UncheckedIOException e) {
+      throw new PdfActSerializeException("Couldn't serialize the PDF document.", e);
+    }
+  }
 
-      // Create the section that contains the used fonts.
-      JSONArray fontsJson = serializeFonts(this.usedFonts);
-      if (fontsJson != null && fontsJson.length() > 0) {
-        json.put(FONTS, fontsJson);
-      }
+  /**
+   * Serializes the given PDF document, writing the elements one by one instead of building the
+   * complete JSON object in memory.
+   *
+   * @param pdf  The PDF document to serialize.
+   * @param json The writer to write the serialization to.
+   *
+   * @throws IOException If writing the serialization failed.
+   */
+  protected void serialize(Document pdf, JsonStreamWriter json) throws IOException {
+    // Collect the fonts and colors of the elements to serialize in advance, since the sections
+    // of the fonts and colors may precede the sections of the elements.
+    for (ExtractionUnit unit : this.extractionUnits) {
+      forEachElement(pdf, unit, this::collectFontAndColor);
+    }
 
-      // Create the section that contains the used colors.
-      JSONArray colorsJson = serializeColors(this.usedColors);
-      if (colorsJson != null && colorsJson.length() > 0) {
-        json.put(COLORS, colorsJson);
+    // Determine the sections of the elements.
+    Map<String, ExtractionUnit> elementSections = new HashMap<>();
+    for (ExtractionUnit unit : this.extractionUnits) {
+      String sectionKey = getSectionKey(unit);
+      if (sectionKey != null) {
+        elementSections.put(sectionKey, unit);
       }
+    }
+    Set<String> keys = new HashSet<>(elementSections.keySet());
 
-      // Create the section that contains the metadata about the used pages.
-      if (this.extractionUnits.contains(ExtractionUnit.PAGE)) {
-        JSONArray pagesJson = serializePages(pdf.getPages());
-        if (pagesJson != null && pagesJson.length() > 0) {
-          json.put(PAGES, pagesJson);
-        }
-      }
+    // Create the section that contains the used fonts.
+    JSONArray fontsJson = serializeFonts(this.usedFonts);
+    if (fontsJson != null && fontsJson.length() > 0) {
+      keys.add(FONTS);
+    }
 
-      // Serialize the JSON object.
-      result = json.toString(INDENT_LENGTH);
+    // Create the section that contains the used colors.
+    JSONArray colorsJson = serializeColors(this.usedColors);
+    if (colorsJson != null && colorsJson.length() > 0) {
+      keys.add(COLORS);
     }
-    return result.getBytes(DEFAULT_ENCODING);
-  }
 
-  // ==============================================================================================
+    // Create the section that contains the metadata about the used pages.
+    JSONArray pagesJson = null;
+    if (this.extractionUnits.contains(ExtractionUnit.PAGE)) {
+      pagesJson = serializePages(pdf.getPages());
+      if (pagesJson != null && pagesJson.length() > 0) {
+        keys.add(PAGES);
+      }
+    }
 
-  /**
-   * Serializes the elements of the given PDF document.
-   *
-   * @param pdf  The PDF document to process.
-   * @param json The JSON object to which the serialization should be appended.
-   */
-  public void serializePdfElements(Document pdf, JSONObject json) {
-    for (ExtractionUnit unit : this.extractionUnits) {
-      switch (unit) {
-        case CHARACTER:
-          serializeCharacters(pdf, json);
-          break;
-        case WORD:
-          serializeWords(pdf, json);
-          break;
-        case TEXT_BLOCK:
-          serializeTextBlocks(pdf, json);
+    // Create the section that contains the report about the pipeline execution.
+    JSONObject reportJson = null;
+    if (this.withPipelineReport && pdf.getPipelineReport() != null) {
+      reportJson = serializePipelineReport(pdf.getPipelineReport());
+      keys.add(PIPELINE_REPORT);
+    }
+
+    json.beginObject(keys.size());
+    for (String key : SECTION_ORDER) {
+      if (!keys.contains(key)) {
+        continue;
+      }
+      json.key(key);
+      switch (key) {
+        case FONTS:
+          json.value(fontsJson);
           break;
-        case PARAGRAPH:
-          serializeParagraphs(pdf, json);
+        case COLORS:
+          json.value(colorsJson);
           break;
-        case FIGURE:
-          serializeFigures(pdf, json);
+        case PAGES:
+          json.value(pagesJson);
           break;
-        case SHAPE:
-          serializeShapes(pdf, json);
+        case PIPELINE_REPORT:
+          json.value(reportJson);
           break;
         default:
+          serializeElements(pdf, elementSections.get(key), json);
           break;
       }
     }
+    json.endObject();
   }
 
   // ==============================================================================================
 
   /**
-   * Serializes the paragraphs of the given PDF document.
+   * Serializes the elements of the given PDF document of the given unit, one by one.
    *
    * @param pdf  The PDF document to process.
-   * @param json The JSON object to which the serialization should be appended.
+   * @param unit The unit of the elements to serialize.
+   * @param json The writer to write the serialization to.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected void serializeParagraphs(Document pdf, JSONObject json) {
-    JSONArray result = new JSONArray();
+  protected void serializeElements(Document pdf, ExtractionUnit unit, JsonStreamWriter json)
+      throws IOException {
+    json.beginArray();
+    forEachElement(pdf, unit, element -> {
+      try {
+        json.arrayElement(serializeElement(unit, element));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    json.endArray();
+  }
 
-    if (pdf != null) {
-      for (Paragraph paragraph : pdf.getParagraphs()) {
-        // Ignore the paragraph if its role should not be extracted.
-        if (!hasRelevantRole(paragraph)) {
-          continue;
+  /**
+   * Passes each element of the given unit to serialize to the given action, in the order of
+   * their serialization. Elements with a semantic role that should not be extracted (or that
+   * belong to such a paragraph) are skipped.
+   *
+   * @param pdf    The PDF document to process.
+   * @param unit   The unit of the elements.
+   * @param action The action to perform for each element.
+   */
+  protected void forEachElement(Document pdf, ExtractionUnit unit, Consumer<Element> action) {
+    switch (unit) {
+      case CHARACTER:
+        for (Paragraph paragraph : pdf.getParagraphs()) {
+          if (hasRelevantRole(paragraph)) {
+            for (Word word : paragraph.getWords()) {
+              word.getCharacters().forEach(action);
+            }
+          }
+        }
+        break;
+      case WORD:
+        for (Paragraph paragraph : pdf.getParagraphs()) {
+          if (hasRelevantRole(paragraph)) {
+            paragraph.getWords().forEach(action);
+          }
+        }
+        break;
+      case TEXT_BLOCK:
+        for (Page page : pdf.getPages()) {
+          for (TextBlock block : page.getTextBlocks()) {
+            if (hasRelevantRole(block)) {
+              action.accept(block);
+            }
+          }
+        }
+        break;
+      case PARAGRAPH:
+        for (Paragraph paragraph : pdf.getParagraphs()) {
+          if (hasRelevantRole(paragraph)) {
+            action.accept(paragraph);
+          }
+        }
+        break;
+      case FIGURE:
+        for (Page page : pdf.getPages()) {
+          page.getFigures().forEach(action);
         }
+        break;
+      case SHAPE:
+        for (Page page : pdf.getPages()) {
+          page.getShapes().forEach(action);
+        }
+        break;
+      default:
+        break;
+    }
+  }
 
-        JSONObject paragraphJson = serializeParagraph(paragraph);
-        if (paragraphJson != null) {
-          result.put(paragraphJson);
+  /**
+   * Serializes the given element of the given unit.
+   *
+   * @param unit    The unit of the element.
+   * @param element The element to serialize.
+   *
+   * @return A JSON object that represents the serialization.
+   */
+  protected JSONObject serializeElement(ExtractionUnit unit, Element element) {
+    switch (unit) {
+      case CHARACTER:
+        return serializeCharacter((Character) element);
+      case WORD:
+        return serializeWord((Word) element);
+      case TEXT_BLOCK:
+        return serializeTextBlock((TextBlock) element);
+      case PARAGRAPH:
+        return serializeParagraph((Paragraph) element);
+      case FIGURE:
+        return serializeFigure((Figure) element);
+      case SHAPE:
+        return serializeShape((Shape) element);
+      default:
+        return serializePdfElement(element);
+    }
+  }
+
+  /**
+   * Returns the key of the section that contains the serialized elements of the given unit.
+   *
+   * @param unit The unit.
+   *
+   * @return The key of the section, or null if the elements of the unit are not serialized.
+   */
+  protected String getSectionKey(ExtractionUnit unit) {
+    switch (unit) {
+      case CHARACTER:
+        return CHARACTERS;
+      case WORD:
+        return WORDS;
+      case TEXT_BLOCK:
+        return TEXT_BLOCKS;
+      case PARAGRAPH:
+        return PARAGRAPHS;
+      case FIGURE:
+        return FIGURES;
+      case SHAPE:
+        return SHAPES;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Adds the font and the color of the given element to the used fonts and colors, if they would
+   * be serialized by {@link #serializePdfElement(Element)}.
+   *
+   * @param element The element to process.
+   */
+  protected void collectFontAndColor(Element element) {
+    if (element instanceof HasFontFace) {
+      FontFace fontFace = ((HasFontFace) element).getFontFace();
+      if (fontFace != null) {
+        Font font = fontFace.getFont();
+        if (font != null && font.getId() != null && fontFace.getFontSize() > 0) {
+          this.usedFonts.add(font);
         }
       }
     }
 
-    json.put(PARAGRAPHS, result);
+    if (element instanceof HasColor) {
+      Color color = ((HasColor) element).getColor();
+      if (color != null && color.getId() != null) {
+        this.usedColors.add(color);
+      }
+    }
   }
 
+  // ==============================================================================================
+
   /**
    * Serializes the given paragraph.
    *
@@ -249,33 +460,6 @@ public class PdfJsonSerializer implements PdfSerializer {
 
   // ==============================================================================================
 
-  /**
-   * Serializes the text blocks of the given PDF document.
-   *
-   * @param pdf  The PDF document to process.
-   * @param json The JSON object to which the serialization should be appended.
-   */
-  protected void serializeTextBlocks(Document pdf, JSONObject json) {
-    JSONArray result = new JSONArray();
-
-    if (pdf != null) {
-      for (Page page : pdf.getPages()) {
-        for (TextBlock block : page.getTextBlocks()) {
-          // Ignore the paragraph if its role should not be extracted.
-          if (!hasRelevantRole(block)) {
-            continue;
-          }
-          JSONObject blockJson = serializeTextBlock(block);
-          if (blockJson != null) {
-            result.put(blockJson);
-          }
-        }
-      }
-    }
-
-    json.put(TEXT_BLOCKS, result);
-  }
-
   /**
    * Serializes the given text block.
    *
@@ -295,34 +479,6 @@ public class PdfJsonSerializer implements PdfSerializer {
 
   // ==============================================================================================
 
-  /**
-   * Serializes the words of the given PDF document.
-   *
-   * @param pdf  The PDF document to process.
-   * @param json The JSON object to which the serialization should be appended.
-   */
-  protected void serializeWords(Document pdf, JSONObject json) {
-    JSONArray result = new JSONArray();
-
-    if (pdf != null) {
-      for (Paragraph paragraph : pdf.getParagraphs()) {
-        // Ignore the paragraph if its role should not be extracted.
-        if (!hasRelevantRole(paragraph)) {
-          continue;
-        }
-
-        for (Word word : paragraph.getWords()) {
-          JSONObject wordJson = serializeWord(word);
-          if (wordJson != null) {
-            result.put(wordJson);
-          }
-        }
-      }
-    }
-
-    json.put(WORDS, result);
-  }
-
   /**
    * Serializes the given word.
    *
@@ -342,36 +498,6 @@ public class PdfJsonSerializer implements PdfSerializer {
 
   // ==============================================================================================
 
-  /**
-   * Serializes the characters of the given PDF document.
-   *
-   * @param pdf  The PDF document to process.
-   * @param json The JSON object to which the serialization should be appended.
-   */
-  protected void serializeCharacters(Document pdf, JSONObject json) {
-    JSONArray result = new JSONArray();
-
-    if (pdf != null) {
-      for (Paragraph paragraph : pdf.getParagraphs()) {
-        // Ignore the paragraph if its role should not be extracted.
-        if (!hasRelevantRole(paragraph)) {
-          continue;
-        }
-
-        for (Word word : paragraph.getWords()) {
-          for (Character character : word.getCharacters()) {
-            JSONObject characterJson = serializeCharacter(character);
-            if (characterJson != null) {
-              result.put(characterJson);
-            }
-          }
-        }
-      }
-    }
-
-    json.put(CHARACTERS, result);
-  }
-
   /**
    * Serializes the given character.
    *
@@ -391,29 +517,6 @@ public class PdfJsonSerializer implements PdfSerializer {
 
   // ==============================================================================================
 
-  /**
-   * Serializes the figures of the given PDF document.
-   *
-   * @param pdf  The PDF document to process.
-   * @param json The JSON object to which the serialization should be appended.
-   */
-  protected void serializeFigures(Document pdf, JSONObject json) {
-    JSONArray result = new JSONArray();
-
-    if (pdf != null) {
-      for (Page page : pdf.getPages()) {
-        for (Figure figure : page.getFigures()) {
-          JSONObject figureJson = serializeFigure(figure);
-          if (figureJson != null) {
-            result.put(figureJson);
-          }
-        }
-      }
-    }
-
-    json.put(FIGURES, result);
-  }
-
   /**
    * Serializes the given figure.
    *
@@ -433,29 +536,6 @@ public class PdfJsonSerializer implements PdfSerializer {
 
   // ==============================================================================================
 
-  /**
-   * Serializes the shapes of the given PDF document.
-   *
-   * @param pdf  The PDF document to process.
-   * @param json The JSON object to which the serialization should be appended.
-   */
-  protected void serializeShapes(Document pdf, JSONObject json) {
-    JSONArray result = new JSONArray();
-
-    if (pdf != null) {
-      for (Page page : pdf.getPages()) {
-        for (Shape shape : page.getShapes()) {
-          JSONObject shapeJson = serializeShape(shape);
-          if (shapeJson != null) {
-            result.put(shapeJson);
-          }
-        }
-      }
-    }
-
-    json.put(SHAPES, result);
-  }
-
   /**
    * Serializes the given shape.
    *
@@ -807,6 +887,92 @@ public class PdfJsonSerializer implements PdfSerializer {
     return pageJson;
   }
 
+  // ==============================================================================================
+  // Methods to serialize the pipeline report.
+
+  /**
+   * Serializes the given report about the execution of a pipeline. Only the pipes that were
+   * executed completely are included (the serializer itself is still running).
+   *
+   * @param report The report to serialize.
+   *
+   * @return A JSON object that represents the serialization.
+   */
+  protected JSONObject serializePipelineReport(PipelineReport report) {
+    JSONObject reportJson = new JSONObject();
+    if (report != null) {
+      if (report.isFinished()) {
+        reportJson.put(WALL_TIME, toMillis(report.getWallTime()));
+      }
+      JSONArray pipesJson = new JSONArray();
+      for (PipeReport pipeReport : report.getPipeReports()) {
+        if (pipeReport.getNumExecutions() > 0) {
+          pipesJson.put(serializePipeReport(pipeReport));
+        }
+      }
+      reportJson.put(PIPES, pipesJson);
+    }
+    return reportJson;
+  }
+
+  /**
+   * Serializes the given report about the execution of a single pipe.
+   *
+   * @param report The report to serialize.
+   *
+   * @return A JSON object that represents the serialization.
+   */
+  protected JSONObject serializePipeReport(PipeReport report) {
+    JSONObject pipeJson = new JSONObject();
+    pipeJson.put(NAME, report.getPipeName());
+    pipeJson.put(EXECUTIONS, report.getNumExecutions());
+    pipeJson.put(WALL_TIME, toMillis(report.getWallTime()));
+    if (report.getCpuTime() >= 0) {
+      pipeJson.put(CPU_TIME, toMillis(report.getCpuTime()));
+    }
+    if (report.getAllocatedBytes() >= 0) {
+      pipeJson.put(ALLOCATED_BYTES, report.getAllocatedBytes());
+    }
+    pipeJson.put(INPUT, serializeElementCounts(report.getInputCounts()));
+    pipeJson.put(OUTPUT, serializeElementCounts(report.getOutputCounts()));
+    if (report.getSubReport() != null) {
+      pipeJson.put(PIPELINE_REPORT, serializePipelineReport(report.getSubReport()));
+    }
+    return pipeJson;
+  }
+
+  /**
+   * Serializes the given numbers of elements.
+   *
+   * @param counts The numbers to serialize.
+   *
+   * @return A JSON object that represents the serialization.
+   */
+  protected JSONObject serializeElementCounts(ElementCounts counts) {
+    JSONObject countsJson = new JSONObject();
+    countsJson.put(PAGES, counts.getNumPages());
+    countsJson.put(CHARACTERS, counts.getNumCharacters());
+    countsJson.put(FIGURES, counts.getNumFigures());
+    countsJson.put(SHAPES, counts.getNumShapes());
+    countsJson.put(TEXT_AREAS, counts.getNumTextAreas());
+    countsJson.put(TEXT_LINES, counts.getNumTextLines());
+    countsJson.put(WORDS, counts.getNumWords());
+    countsJson.put(TEXT_BLOCKS, counts.getNumTextBlocks());
+    countsJson.put(PARAGRAPHS, counts.getNumParagraphs());
+    return countsJson;
+  }
+
+  /**
+   * Converts the given nanoseconds to milliseconds, rounded to microseconds.
+   *
+   * @param nanos The nanoseconds to convert.
+   *
+   * @return The milliseconds.
+   */
+  protected static double toMillis(long nanos) {
+    return Math.round(nanos / 1e3) / 1e3;
+  }
+
   // ==============================================================================================
 
   @Override
@@ -833,6 +999,48 @@ public class PdfJsonSerializer implements PdfSerializer {
 
   // ==============================================================================================
 
+  /**
+   * Returns the boolean flag indicating whether or not to serialize the report about the execution
+   * of the pipeline that processed the document.
+   *
+   * @return True, if the report should be serialized.
+   */
+  public boolean isWithPipelineReport() {
+    return this.withPipelineReport;
+  }
+
+  /**
+   * Sets the boolean flag indicating whether or not to serialize the report about the execution of
+   * the pipeline that processed the document.
+   *
+   * @param withPipelineReport The boolean flag.
+   */
+  public void setWithPipelineReport(boolean withPipelineReport) {
+    this.withPipelineReport = withPipelineReport;
+  }
+
+  /**
+   * Returns the boolean flag indicating whether or not to write the serialization without
+   * indentation and line breaks.
+   *
+   * @return True, if the serialization is written in a single line.
+   */
+  public boolean isCompact() {
+    return this.compact;
+  }
+
+  /**
+   * Sets the boolean flag indicating whether or not to write the serialization without indentation
+   * and line breaks.
+   *
+   * @param compact The boolean flag.
+   */
+  public void setCompact(boolean compact) {
+    this.compact = compact;
+  }
+
+  // ==============================================================================================
+
   /**
    * Checks if the semantic role of the given element is relevant, that is: if it is included in
    * this.semanticRolesToInclude.
@@ -1,7 +1,10 @@
 package pdfact.cli.pipes.serialize;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Set;
 import pdfact.cli.model.ExtractionUnit;
+import pdfact.cli.util.exception.PdfActSerializeException;
 import pdfact.core.model.Document;
 import pdfact.core.model.SemanticRole;
 import pdfact.core.util.exception.PdfActException;
@@ -23,6 +26,29 @@ public interface PdfSerializer {
    */
   byte[] serialize(Document pdf) throws PdfActException;
 
+  /**
+   * Serializes the given PDF document and writes the serialization to the given stream. The
+   * stream is flushed, but not closed. Serializers that are able to write the serialization
+   * incrementally override this method, the default implementation writes the result of
+   * {@link #serialize(Document)}.
+   * 
+   * @param pdf
+   *        The PDF document to serialize.
+   * @param stream
+   *        The stream to write to.
+   * @throws PdfActException
+   *         If the serilization failed.
+   */
+  default void serialize(Document pdf, OutputStream stream) throws PdfActException {
+    byte[] serialization = serialize(pdf);
+    try {
+      stream.write(serialization);
+      stream.flush();
+    } catch (IOException e) {
+      throw new PdfActSerializeException("Couldn't write to output stream.", e);
+    }
+  }
+
   // ==============================================================================================
 
   /**
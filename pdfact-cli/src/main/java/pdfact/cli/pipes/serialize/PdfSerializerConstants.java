@@ -7,6 +7,8 @@ package pdfact.cli.pipes.serialize;
  *
  */
 public class PdfSerializerConstants {
+  /** The constant 'ALLOCATED_BYTES'. */
+  static final String ALLOCATED_BYTES = "allocated-bytes";
   /** The constant 'B' (The blue part of an RGB color). */
   static final String B = "b";
   /** The constant 'CHARACTER'. */
@@ -17,8 +19,12 @@ public class PdfSerializerConstants {
   static final String COLOR = "color";
   /** The constant 'COLORS'. */
   static final String COLORS = "colors";
+  /** The constant 'CPU_TIME'. */
+  static final String CPU_TIME = "cpu-time-ms";
   /** The constant 'DOCUMENT'. */
   static final String DOCUMENT = "document";
+  /** The constant 'EXECUTIONS'. */
+  static final String EXECUTIONS = "executions";
   /** The constant 'FIGURE'. */
   static final String FIGURE = "figure";
   /** The constant 'FIGURES'. */
@@ -35,6 +41,8 @@ public class PdfSerializerConstants {
   static final String HEIGHT = "height";
   /** The constant 'ID'. */
   static final String ID = "id";
+  /** The constant 'INPUT'. */
+  static final String INPUT = "input";
   /** The constant 'IS_BOLD'. */
   static final String IS_BOLD = "is-bold";
   /** The constant 'IS_ITALIC'. */
@@ -51,6 +59,8 @@ public class PdfSerializerConstants {
   static final String MIN_Y = "minY";
   /** The constant 'NAME'. */
   static final String NAME = "name";
+  /** The constant 'OUTPUT'. */
+  static final String OUTPUT = "output";
   /** The constant 'PAGE'. */
   static final String PAGE = "page";
   /** The constant 'PAGES'. */
@@ -61,6 +71,12 @@ public class PdfSerializerConstants {
   static final String PARAGRAPHS = "paragraphs";
   /** The constant 'PDF'. */
   static final String PDF = "pdf";
+  /** The constant 'PIPE'. */
+  static final String PIPE = "pipe";
+  /** The constant 'PIPELINE_REPORT'. */
+  static final String PIPELINE_REPORT = "pipeline-report";
+  /** The constant 'PIPES'. */
+  static final String PIPES = "pipes";
   /** The constant 'POSITION'. */
   static final String POSITION = "position";
   /** The constant 'POSITIONS'. */
@@ -75,6 +91,8 @@ public class PdfSerializerConstants {
   static final String SHAPES = "shapes";
   /** The constant 'TEXT'. */
   static final String TEXT = "text";
+  /** The constant 'TEXT_AREAS'. */
+  static final String TEXT_AREAS = "text-areas";
   /** The constant 'TEXT_BLOCK'. */
   static final String TEXT_BLOCK = "block";
   /** The constant 'TEXT_BLOCK'. */
@@ -83,6 +101,8 @@ public class PdfSerializerConstants {
   static final String TEXT_LINE = "text-line";
   /** The constant 'TEXT_LINES'. */
   static final String TEXT_LINES = "text-lines";
+  /** The constant 'WALL_TIME'. */
+  static final String WALL_TIME = "wall-time-ms";
   /** The constant 'WIDTH'. */
   static final String WIDTH = "width";
   /** The constant 'WORD'. */
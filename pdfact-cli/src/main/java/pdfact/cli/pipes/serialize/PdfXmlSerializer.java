@@ -1,11 +1,14 @@
 package pdfact.cli.pipes.serialize;
 
+import static pdfact.cli.pipes.serialize.PdfSerializerConstants.ALLOCATED_BYTES;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.B;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.CHARACTER;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.CHARACTERS;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.COLOR;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.COLORS;
+import static pdfact.cli.pipes.serialize.PdfSerializerConstants.CPU_TIME;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.DOCUMENT;
+import static pdfact.cli.pipes.serialize.PdfSerializerConstants.EXECUTIONS;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.FIGURE;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.FIGURES;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.FONT;
@@ -14,6 +17,7 @@ import static pdfact.cli.pipes.serialize.PdfSerializerConstants.FONTSIZE;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.G;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.HEIGHT;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.ID;
+import static pdfact.cli.pipes.serialize.PdfSerializerConstants.INPUT;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.IS_BOLD;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.IS_ITALIC;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.IS_TYPE3;
@@ -22,10 +26,14 @@ import static pdfact.cli.pipes.serialize.PdfSerializerConstants.MAX_Y;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.MIN_X;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.MIN_Y;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.NAME;
+import static pdfact.cli.pipes.serialize.PdfSerializerConstants.OUTPUT;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.PAGE;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.PAGES;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.PARAGRAPH;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.PARAGRAPHS;
+import static pdfact.cli.pipes.serialize.PdfSerializerConstants.PIPE;
+import static pdfact.cli.pipes.serialize.PdfSerializerConstants.PIPELINE_REPORT;
+import static pdfact.cli.pipes.serialize.PdfSerializerConstants.PIPES;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.POSITION;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.POSITIONS;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.R;
@@ -33,18 +41,25 @@ import static pdfact.cli.pipes.serialize.PdfSerializerConstants.ROLE;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.SHAPE;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.SHAPES;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.TEXT;
+import static pdfact.cli.pipes.serialize.PdfSerializerConstants.TEXT_AREAS;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.TEXT_BLOCK;
+import static pdfact.cli.pipes.serialize.PdfSerializerConstants.TEXT_BLOCKS;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.TEXT_LINE;
+import static pdfact.cli.pipes.serialize.PdfSerializerConstants.TEXT_LINES;
+import static pdfact.cli.pipes.serialize.PdfSerializerConstants.WALL_TIME;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.WIDTH;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.WORD;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.WORDS;
 import static pdfact.core.PdfActCoreSettings.DEFAULT_ENCODING;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import org.apache.commons.lang3.StringEscapeUtils;
 import pdfact.cli.model.ExtractionUnit;
 import pdfact.cli.util.exception.PdfActSerializeException;
 import pdfact.core.model.Character;
@@ -69,7 +84,10 @@ import pdfact.core.model.Shape;
 import pdfact.core.model.TextBlock;
 import pdfact.core.model.TextLine;
 import pdfact.core.model.Word;
-import pdfact.core.util.PdfActUtils;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.pipeline.ElementCounts;
+import pdfact.core.util.pipeline.PipeReport;
+import pdfact.core.util.pipeline.PipelineReport;
 
 /**
  * An implementation of {@link PdfXmlSerializer} that serializes a PDF document in XML format.
@@ -83,7 +101,7 @@ public class PdfXmlSerializer implements PdfSerializer {
   protected static final int INDENT_LENGTH = 2;
 
   /**
-   * The line delimiter to use on joining the individual lines.
+   * The line delimiter to write between the individual lines.
    */
   protected static final String LINE_DELIMITER = System.lineSeparator();
 
@@ -109,6 +127,12 @@ public class PdfXmlSerializer implements PdfSerializer {
    */
   protected Set<Color> usedColors;
 
+  /**
+   * The boolean flag indicating whether or not to serialize the report about the execution of
+   * the pipeline that processed the document.
+   */
+  protected boolean withPipelineReport;
+
   // ==============================================================================================
   // Constructors.
 
@@ -134,165 +158,191 @@ public class PdfXmlSerializer implements PdfSerializer {
 
   // ==============================================================================================
 
+  /**
+   * Returns the boolean flag indicating whether or not to serialize the report about the execution
+   * of the pipeline that processed the document.
+   * 
+   * @return True, if the report should be serialized.
+   */
+  public boolean isWithPipelineReport() {
+    return this.withPipelineReport;
+  }
+
+  /**
+   * Sets the boolean flag indicating whether or not to serialize the report about the execution of
+   * the pipeline that processed the document.
+   * 
+   * @param withPipelineReport The boolean flag.
+   */
+  public void setWithPipelineReport(boolean withPipelineReport) {
+    this.withPipelineReport = withPipelineReport;
+  }
+
+  // ==============================================================================================
+
   @Override
-  public byte[] serialize(Document pdf) throws PdfActSerializeException {
-    // The current indentation level.
-    int level = 0;
-    // The serialization to return.
-    String result = "";
+  public byte[] serialize(Document pdf) throws PdfActException {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    serialize(pdf, stream);
+    return stream.toByteArray();
+  }
 
-    if (pdf != null) {
-      // The individual lines of the serialization.
-      List<String> resultLines = new ArrayList<>();
+  @Override
+  public void serialize(Document pdf, OutputStream stream) throws PdfActException {
+    if (pdf == null) {
+      return;
+    }
 
-      // Start the XML document.
-      resultLines.add(start(DOCUMENT, level));
+    try {
+      Writer writer = new BufferedWriter(new OutputStreamWriter(stream, DEFAULT_ENCODING));
+      serialize(pdf, new XmlStreamWriter(writer, INDENT_LENGTH, LINE_DELIMITER));
+      writer.flush();
+    } catch (IOException e) {
+      throw new PdfActSerializeException("Couldn't serialize the PDF document.", e);
+    }
+  }
 
-      // Create the section that contains all serialized PDF elements.
-      List<String> elementsLines = serializePdfElements(level + 1, pdf);
-      if (elementsLines != null && !elementsLines.isEmpty()) {
-        resultLines.addAll(elementsLines);
-      }
+  /**
+   * Serializes the given PDF document, writing each line as soon as it is created instead of
+   * collecting all lines in memory.
+   *
+   * @param pdf The PDF document to serialize.
+   * @param xml The writer to write the serialization to.
+   *
+   * @throws IOException If writing the serialization failed.
+   */
+  protected void serialize(Document pdf, XmlStreamWriter xml) throws IOException {
+    // The current indentation level.
+    int level = 0;
 
-      // Create the section that contains the used fonts.
-      List<String> fontsLines = serializeFonts(level + 2, this.usedFonts);
-      if (fontsLines != null && !fontsLines.isEmpty()) {
-        resultLines.add(start(FONTS, level + 1));
-        resultLines.addAll(fontsLines);
-        resultLines.add(end(FONTS, level + 1));
-      }
+    // Start the XML document.
+    xml.start(DOCUMENT, level);
 
-      // Create the section that contains the used colors.
-      List<String> colorsLines = serializeColors(level + 2, this.usedColors);
-      if (colorsLines != null && !colorsLines.isEmpty()) {
-        resultLines.add(start(COLORS, level + 1));
-        resultLines.addAll(colorsLines);
-        resultLines.add(end(COLORS, level + 1));
-      }
+    // Create the section that contains all serialized PDF elements.
+    serializePdfElements(xml, level + 1, pdf);
 
-      if (this.extractionUnits.contains(ExtractionUnit.PAGE)) {
-        // Create the section that contains information about the pages.
-        List<String> pagesLines = serializePages(level + 2, pdf.getPages());
-        if (pagesLines != null && !pagesLines.isEmpty()) {
-          resultLines.add(start(PAGES, level + 1));
-          resultLines.addAll(pagesLines);
-          resultLines.add(end(PAGES, level + 1));
-        }
-      }
+    // Create the section that contains the used fonts. The fonts were collected while
+    // serializing the elements, so the section can be written right after the elements.
+    xml.startIfNotEmpty(FONTS, level + 1);
+    serializeFonts(xml, level + 2, this.usedFonts);
+    xml.endIfNotEmpty(FONTS, level + 1);
+
+    // Create the section that contains the used colors.
+    xml.startIfNotEmpty(COLORS, level + 1);
+    serializeColors(xml, level + 2, this.usedColors);
+    xml.endIfNotEmpty(COLORS, level + 1);
 
-      // End the XML document.
-      resultLines.add(end(DOCUMENT, level));
+    if (this.extractionUnits.contains(ExtractionUnit.PAGE)) {
+      // Create the section that contains information about the pages.
+      xml.startIfNotEmpty(PAGES, level + 1);
+      serializePages(xml, level + 2, pdf.getPages());
+      xml.endIfNotEmpty(PAGES, level + 1);
+    }
 
-      // Join the lines to a single string.
-      result = PdfActUtils.join(resultLines, LINE_DELIMITER);
+    // Create the section that contains the report about the pipeline execution.
+    if (this.withPipelineReport && pdf.getPipelineReport() != null) {
+      serializePipelineReport(xml, level + 1, pdf.getPipelineReport());
     }
 
-    return result.getBytes(DEFAULT_ENCODING);
+    // End the XML document.
+    xml.end(DOCUMENT, level);
   }
 
   // ==============================================================================================
 
   /**
    * Serializes the elements of the given PDF document.
-   * 
+   *
+   * @param xml   The writer to write the serialization to.
    * @param level The current indentation level.
    * @param pdf   The PDF document to process.
    *
-   * @return A list of strings that represent the serialized elements.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializePdfElements(int level, Document pdf) {
-    List<String> lines = new ArrayList<>();
+  protected void serializePdfElements(XmlStreamWriter xml, int level, Document pdf)
+      throws IOException {
     for (ExtractionUnit unit : this.extractionUnits) {
       switch (unit) {
         case CHARACTER:
-          lines.addAll(serializeCharacters(level, pdf));
+          serializeCharacters(xml, level, pdf);
           break;
         case WORD:
-          lines.addAll(serializeWords(level, pdf));
+          serializeWords(xml, level, pdf);
           break;
         case PARAGRAPH:
-          lines.addAll(serializeParagraphs(level, pdf));
+          serializeParagraphs(xml, level, pdf);
           break;
         case FIGURE:
-          lines.addAll(serializeFigures(level, pdf));
+          serializeFigures(xml, level, pdf);
           break;
         case SHAPE:
-          lines.addAll(serializeShapes(level, pdf));
+          serializeShapes(xml, level, pdf);
           break;
         default:
           break;
       }
     }
-    return lines;
   }
 
   // ==============================================================================================
 
   /**
    * Serializes the paragraphs of the given PDF document.
-   * 
+   *
+   * @param xml   The writer to write the serialization to.
    * @param level The current indentation level.
    * @param pdf   The PDF document to process.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeParagraphs(int level, Document pdf) {
-    List<String> result = new ArrayList<>();
-
+  protected void serializeParagraphs(XmlStreamWriter xml, int level, Document pdf)
+      throws IOException {
     if (pdf != null) {
-      result.add(start(PARAGRAPHS, level));
+      xml.start(PARAGRAPHS, level);
       for (Paragraph paragraph : pdf.getParagraphs()) {
         // Ignore the paragraph if its role should not be extracted.
         if (!hasRelevantRole(paragraph)) {
           continue;
         }
 
-        List<String> paragraphLines = serializeParagraph(level + 1, paragraph);
-        if (paragraphLines != null) {
-          result.addAll(paragraphLines);
-        }
+        serializeParagraph(xml, level + 1, paragraph);
       }
-      result.add(end(PARAGRAPHS, level));
+      xml.end(PARAGRAPHS, level);
     }
-
-    return result;
   }
 
   /**
    * Serializes the given paragraph.
-   * 
+   *
+   * @param xml       The writer to write the serialization to.
    * @param level     The current indentation level.
    * @param paragraph The paragraph to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeParagraph(int level, Paragraph paragraph) {
-    List<String> result = new ArrayList<>();
-    List<String> paragraphLines = serializePdfElement(level + 1, paragraph);
+  protected void serializeParagraph(XmlStreamWriter xml, int level, Paragraph paragraph)
+      throws IOException {
     // Wrap the serialized lines with a tag that describes a paragraph.
-    if (paragraphLines != null && !paragraphLines.isEmpty()) {
-      result.add(start(PARAGRAPH, level));
-      result.addAll(paragraphLines);
-      result.add(end(PARAGRAPH, level));
-    }
-    return result;
+    xml.startIfNotEmpty(PARAGRAPH, level);
+    serializePdfElement(xml, level + 1, paragraph);
+    xml.endIfNotEmpty(PARAGRAPH, level);
   }
 
   // ==============================================================================================
 
   /**
    * Serializes the words of the given PDF document.
-   * 
+   *
+   * @param xml   The writer to write the serialization to.
    * @param level The current indentation level.
    * @param pdf   The PDF document to process.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeWords(int level, Document pdf) {
-    List<String> result = new ArrayList<>();
-
+  protected void serializeWords(XmlStreamWriter xml, int level, Document pdf)
+      throws IOException {
     if (pdf != null) {
-      result.add(start(WORDS, level));
+      xml.start(WORDS, level);
       for (Paragraph paragraph : pdf.getParagraphs()) {
         // Ignore the paragraph if its role should not be extracted.
         if (!hasRelevantRole(paragraph)) {
@@ -300,54 +350,44 @@ public class PdfXmlSerializer implements PdfSerializer {
         }
 
         for (Word word : paragraph.getWords()) {
-          List<String> wordLines = serializeWord(level + 1, word);
-          if (wordLines != null) {
-            result.addAll(wordLines);
-          }
+          serializeWord(xml, level + 1, word);
         }
       }
-      result.add(end(WORDS, level));
+      xml.end(WORDS, level);
     }
-
-    return result;
   }
 
   /**
    * Serializes the given word.
-   * 
+   *
+   * @param xml   The writer to write the serialization to.
    * @param level The current indentation level.
    * @param word  The word to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeWord(int level, Word word) {
-    List<String> result = new ArrayList<>();
-    List<String> wordLines = serializePdfElement(level + 1, word);
+  protected void serializeWord(XmlStreamWriter xml, int level, Word word) throws IOException {
     // Wrap the serialized lines with a tag that describes a word.
-    if (wordLines != null && !wordLines.isEmpty()) {
-      result.add(start(WORD, level));
-      result.addAll(wordLines);
-      result.add(end(WORD, level));
-    }
-    return result;
+    xml.startIfNotEmpty(WORD, level);
+    serializePdfElement(xml, level + 1, word);
+    xml.endIfNotEmpty(WORD, level);
   }
 
   // ==============================================================================================
 
   /**
    * Serializes the characters of the given PDF document.
-   * 
+   *
+   * @param xml   The writer to write the serialization to.
    * @param level The current indentation level.
    * @param pdf   The PDF document to process.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeCharacters(int level, Document pdf) {
-    List<String> result = new ArrayList<>();
-
-
+  protected void serializeCharacters(XmlStreamWriter xml, int level, Document pdf)
+      throws IOException {
     if (pdf != null) {
-      result.add(start(CHARACTERS, level));
+      xml.start(CHARACTERS, level);
       for (Paragraph paragraph : pdf.getParagraphs()) {
         // Ignore the paragraph if its role should not be extracted.
         if (!hasRelevantRole(paragraph)) {
@@ -356,370 +396,302 @@ public class PdfXmlSerializer implements PdfSerializer {
 
         for (Word word : paragraph.getWords()) {
           for (Character character : word.getCharacters()) {
-            List<String> characterLines = serializeCharacter(level + 1, character);
-            if (characterLines != null) {
-              result.addAll(characterLines);
-            }
+            serializeCharacter(xml, level + 1, character);
           }
         }
       }
-      result.add(end(CHARACTERS, level));
+      xml.end(CHARACTERS, level);
     }
-
-    return result;
   }
 
   /**
    * Serializes the given character.
-   * 
+   *
+   * @param xml       The writer to write the serialization to.
    * @param level     The current indentation level.
    * @param character The character to serialize.
    *
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeCharacter(int level, Character character) {
-    List<String> result = new ArrayList<>();
-    List<String> characterLines = serializePdfElement(level + 1, character);
+  protected void serializeCharacter(XmlStreamWriter xml, int level, Character character)
+      throws IOException {
     // Wrap the serialized lines with a tag that describes a character.
-    if (characterLines != null && !characterLines.isEmpty()) {
-      result.add(start(CHARACTER, level));
-      result.addAll(characterLines);
-      result.add(end(CHARACTER, level));
-    }
-    return result;
+    xml.startIfNotEmpty(CHARACTER, level);
+    serializePdfElement(xml, level + 1, character);
+    xml.endIfNotEmpty(CHARACTER, level);
   }
 
   // ==============================================================================================
 
   /**
    * Serializes the figures of the given PDF document.
-   * 
+   *
+   * @param xml   The writer to write the serialization to.
    * @param level The current indentation level.
    * @param pdf   The PDF document to process.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeFigures(int level, Document pdf) {
-    List<String> result = new ArrayList<>();
-
+  protected void serializeFigures(XmlStreamWriter xml, int level, Document pdf)
+      throws IOException {
     if (pdf != null) {
-      result.add(start(FIGURES, level));
+      xml.start(FIGURES, level);
       for (Page page : pdf.getPages()) {
         for (Figure figure : page.getFigures()) {
-          List<String> figureLines = serializeFigure(level + 1, figure);
-          if (figureLines != null) {
-            result.addAll(figureLines);
-          }
+          serializeFigure(xml, level + 1, figure);
         }
       }
-      result.add(end(FIGURES, level));
+      xml.end(FIGURES, level);
     }
-
-    return result;
   }
 
   /**
    * Serializes the given figure.
-   * 
+   *
+   * @param xml    The writer to write the serialization to.
    * @param level  The current indentation level.
    * @param figure The figure to serialize.
    *
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeFigure(int level, Figure figure) {
-    List<String> result = new ArrayList<>();
-    List<String> figureLines = serializePdfElement(level + 1, figure);
+  protected void serializeFigure(XmlStreamWriter xml, int level, Figure figure)
+      throws IOException {
     // Wrap the serialized lines with a tag that describes a figure.
-    if (figureLines != null && !figureLines.isEmpty()) {
-      result.add(start(FIGURE, level));
-      result.addAll(figureLines);
-      result.add(end(FIGURE, level));
-    }
-    return result;
+    xml.startIfNotEmpty(FIGURE, level);
+    serializePdfElement(xml, level + 1, figure);
+    xml.endIfNotEmpty(FIGURE, level);
   }
 
   // ==============================================================================================
 
   /**
    * Serializes the shapes of the given PDF document.
-   * 
+   *
+   * @param xml   The writer to write the serialization to.
    * @param level The current indentation level.
    * @param pdf   The PDF document to process.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeShapes(int level, Document pdf) {
-    List<String> result = new ArrayList<>();
-
+  protected void serializeShapes(XmlStreamWriter xml, int level, Document pdf)
+      throws IOException {
     if (pdf != null) {
-      result.add(start(SHAPES, level));
+      xml.start(SHAPES, level);
       for (Page page : pdf.getPages()) {
         for (Shape shape : page.getShapes()) {
-          List<String> shapeLines = serializeShape(level + 1, shape);
-          if (shapeLines != null) {
-            result.addAll(shapeLines);
-          }
+          serializeShape(xml, level + 1, shape);
         }
       }
-      result.add(end(SHAPES, level));
+      xml.end(SHAPES, level);
     }
-
-    return result;
   }
 
   /**
    * Serializes the given shape.
-   * 
-   * @param level  The current indentation level.
+   *
+   * @param xml   The writer to write the serialization to.
+   * @param level The current indentation level.
    * @param shape The shape to serialize.
    *
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeShape(int level, Shape shape) {
-    List<String> result = new ArrayList<>();
-    List<String> shapeLines = serializePdfElement(level + 1, shape);
+  protected void serializeShape(XmlStreamWriter xml, int level, Shape shape) throws IOException {
     // Wrap the serialized lines with a tag that describes a shape.
-    if (shapeLines != null && !shapeLines.isEmpty()) {
-      result.add(start(SHAPE, level));
-      result.addAll(shapeLines);
-      result.add(end(SHAPE, level));
-    }
-    return result;
+    xml.startIfNotEmpty(SHAPE, level);
+    serializePdfElement(xml, level + 1, shape);
+    xml.endIfNotEmpty(SHAPE, level);
   }
 
   // ==============================================================================================
 
   /**
    * Serializes the given PDF element.
-   * 
+   *
+   * @param xml     The writer to write the serialization to.
    * @param level   The current indentation level.
    * @param element The PDF element to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializePdfElement(int level, Element element) {
-    List<String> result = new ArrayList<>();
-
-    if (element != null) {
-      // Serialize the list of positions of the element, if there is any.
-      if (element instanceof HasPositions) {
-        HasPositions hasPositions = (HasPositions) element;
-        List<Position> positions = hasPositions.getPositions();
-
-        List<String> serialized = serializePositions(level + 1, positions);
-        if (serialized != null && !serialized.isEmpty()) {
-          result.add(start(POSITIONS, level));
-          result.addAll(serialized);
-          result.add(end(POSITIONS, level));
-        }
-      }
+  protected void serializePdfElement(XmlStreamWriter xml, int level, Element element)
+      throws IOException {
+    if (element == null) {
+      return;
+    }
 
-      // Serialize the single position of the element, if there is any.
-      if (element instanceof HasPosition) {
-        HasPosition hasPosition = (HasPosition) element;
-        Position position = hasPosition.getPosition();
+    // Serialize the list of positions of the element, if there is any.
+    if (element instanceof HasPositions) {
+      HasPositions hasPositions = (HasPositions) element;
+      List<Position> positions = hasPositions.getPositions();
 
-        List<String> serialized = serializePosition(level + 1, position);
-        if (serialized != null) {
-          result.add(start(POSITIONS, level));
-          result.addAll(serialized);
-          result.add(end(POSITIONS, level));
-        }
-      }
+      xml.startIfNotEmpty(POSITIONS, level);
+      serializePositions(xml, level + 1, positions);
+      xml.endIfNotEmpty(POSITIONS, level);
+    }
 
-      // Serialize the role of the element, if there is any.
-      if (element instanceof HasSemanticRole) {
-        HasSemanticRole hasRole = (HasSemanticRole) element;
-        SemanticRole role = hasRole.getSemanticRole();
+    // Serialize the single position of the element, if there is any.
+    if (element instanceof HasPosition) {
+      HasPosition hasPosition = (HasPosition) element;
+      Position position = hasPosition.getPosition();
 
-        if (role != null) {
-          result.add(start(ROLE, level) + text(role.getName()) + end(ROLE));
-        }
+      xml.start(POSITIONS, level);
+      serializePosition(xml, level + 1, position);
+      xml.end(POSITIONS, level);
+    }
+
+    // Serialize the role of the element, if there is any.
+    if (element instanceof HasSemanticRole) {
+      HasSemanticRole hasRole = (HasSemanticRole) element;
+      SemanticRole role = hasRole.getSemanticRole();
+
+      if (role != null) {
+        xml.element(ROLE, level, role.getName());
       }
+    }
 
-      // Serialize the font face of the element, if there is any.
-      if (element instanceof HasFontFace) {
-        HasFontFace hasFontFace = (HasFontFace) element;
-        FontFace fontFace = hasFontFace.getFontFace();
-
-        if (fontFace != null) {
-          Font font = fontFace.getFont();
-          if (font != null) {
-            String fontId = font.getId();
-            float size = fontFace.getFontSize();
-            if (fontId != null && size > 0) {
-              result.add(start(FONT, level++));
-              result.add(start(ID, level) + text(fontId) + end(ID));
-              result.add(start(FONTSIZE, level) + text(size) + end(FONTSIZE));
-              result.add(end(FONT, --level));
-              this.usedFonts.add(font);
-            }
+    // Serialize the font face of the element, if there is any.
+    if (element instanceof HasFontFace) {
+      HasFontFace hasFontFace = (HasFontFace) element;
+      FontFace fontFace = hasFontFace.getFontFace();
+
+      if (fontFace != null) {
+        Font font = fontFace.getFont();
+        if (font != null) {
+          String fontId = font.getId();
+          float size = fontFace.getFontSize();
+          if (fontId != null && size > 0) {
+            xml.start(FONT, level);
+            xml.element(ID, level + 1, fontId);
+            xml.element(FONTSIZE, level + 1, size);
+            xml.end(FONT, level);
+            this.usedFonts.add(font);
           }
         }
       }
+    }
 
-      // Serialize the color of the element, if there is any.
-      if (element instanceof HasColor) {
-        HasColor hasColor = (HasColor) element;
-        Color color = hasColor.getColor();
-
-        if (color != null) {
-          String colorId = color.getId();
-          if (colorId != null) {
-            result.add(start(COLOR, level++));
-            result.add(start(ID, level) + text(colorId) + end(ID));
-            result.add(end(COLOR, --level));
-            this.usedColors.add(color);
-          }
+    // Serialize the color of the element, if there is any.
+    if (element instanceof HasColor) {
+      HasColor hasColor = (HasColor) element;
+      Color color = hasColor.getColor();
+
+      if (color != null) {
+        String colorId = color.getId();
+        if (colorId != null) {
+          xml.start(COLOR, level);
+          xml.element(ID, level + 1, colorId);
+          xml.end(COLOR, level);
+          this.usedColors.add(color);
         }
       }
+    }
 
-      // Serialize the text of the element, if there is any.
-      if (element instanceof HasText) {
-        HasText hasText = (HasText) element;
-        String text = hasText.getText();
+    // Serialize the text of the element, if there is any.
+    if (element instanceof HasText) {
+      HasText hasText = (HasText) element;
+      String text = hasText.getText();
 
-        if (text != null) {
-          result.add(start(TEXT, level) + text(text) + end(TEXT));
-        }
+      if (text != null) {
+        xml.element(TEXT, level, text);
       }
-      
     }
-
-    return result;
   }
 
   // ==============================================================================================
 
   /**
    * Serializes the given list of PDF positions.
-   * 
-   * @param level The current indentation level.
-   * @param pos   The positions to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
-   */
-  protected List<String> serializePositions(int level, Position... pos) {
-    return serializePositions(level, Arrays.asList(pos));
-  }
-
-  /**
-   * Serializes the given list of PDF positions.
-   * 
+   *
+   * @param xml   The writer to write the serialization to.
    * @param level The current indentation level.
    * @param pos   The list of positions to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializePositions(int level, List<Position> pos) {
-    List<String> result = new ArrayList<>();
+  protected void serializePositions(XmlStreamWriter xml, int level, List<Position> pos)
+      throws IOException {
     if (pos != null) {
       for (Position position : pos) {
-        List<String> positionLines = serializePosition(level, position);
-        if (positionLines != null) {
-          result.addAll(positionLines);
-        }
+        serializePosition(xml, level, position);
       }
     }
-    return result;
   }
 
   /**
    * Serializes the given PDF position.
-   * 
+   *
+   * @param xml      The writer to write the serialization to.
    * @param level    The current indentation level.
    * @param position The position to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializePosition(int level, Position position) {
-    List<String> result = new ArrayList<>();
-
+  protected void serializePosition(XmlStreamWriter xml, int level, Position position)
+      throws IOException {
     if (position != null) {
       Page page = position.getPage();
       int pageNumber = page.getPageNumber();
       Rectangle rect = position.getRectangle();
 
       if (pageNumber > 0 && rect != null) {
-        result.add(start(POSITION, level++));
-
-        result.add(start(PAGE, level) + text(pageNumber) + end(PAGE));
-        result.add(start(MIN_X, level) + text(rect.getMinX()) + end(MIN_X));
-        result.add(start(MIN_Y, level) + text(rect.getMinY()) + end(MIN_Y));
-        result.add(start(MAX_X, level) + text(rect.getMaxX()) + end(MAX_X));
-        result.add(start(MAX_Y, level) + text(rect.getMaxY()) + end(MAX_Y));
-
-        result.add(end(POSITION, --level));
+        xml.start(POSITION, level);
+        xml.element(PAGE, level + 1, pageNumber);
+        xml.element(MIN_X, level + 1, rect.getMinX());
+        xml.element(MIN_Y, level + 1, rect.getMinY());
+        xml.element(MAX_X, level + 1, rect.getMaxX());
+        xml.element(MAX_Y, level + 1, rect.getMaxY());
+        xml.end(POSITION, level);
       }
     }
-
-    return result;
   }
 
   // ==============================================================================================
 
-  /**
-   * Serializes the given fonts.
-   * 
-   * @param level The current indentation level.
-   * @param fonts The fonts to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
-   */
-  protected List<String> serializeFonts(int level, Font... fonts) {
-    return serializeFonts(level, new HashSet<>(Arrays.asList(fonts)));
-  }
-
   /**
    * Serializes the given fonts.
    *
+   * @param xml   The writer to write the serialization to.
    * @param level The current indentation level.
    * @param fonts The fonts to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeFonts(int level, Set<Font> fonts) {
-    List<String> result = new ArrayList<>();
+  protected void serializeFonts(XmlStreamWriter xml, int level, Set<Font> fonts)
+      throws IOException {
     if (fonts != null) {
       for (Font font : fonts) {
-        List<String> fontLines = serializeFont(level, font);
-        if (fontLines != null) {
-          result.addAll(fontLines);
-        }
+        serializeFont(xml, level, font);
       }
     }
-    return result;
   }
 
   /**
    * Serializes the given font.
-   * 
+   *
+   * @param xml   The writer to write the serialization to.
    * @param level The current indentation level.
    * @param font  The font to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeFont(int level, Font font) {
-    List<String> result = new ArrayList<>();
+  protected void serializeFont(XmlStreamWriter xml, int level, Font font) throws IOException {
     if (font != null) {
+      xml.start(FONT, level);
       String fontId = font.getId();
-      result.add(start(FONT, level++));
       if (fontId != null) {
-        result.add(start(ID, level) + text(fontId) + end(ID));
+        xml.element(ID, level + 1, fontId);
       }
 
       String fontName = font.getNormalizedName();
       if (fontName != null) {
-        result.add(start(NAME, level) + text(fontName) + end(NAME));
+        xml.element(NAME, level + 1, fontName);
       }
 
-      result.add(start(IS_BOLD, level) + text(font.isBold()) + end(IS_BOLD));
-      result.add(start(IS_ITALIC, level) + text(font.isItalic()) + end(IS_ITALIC));
-      result.add(start(IS_TYPE3, level) + text(font.isType3Font()) + end(IS_TYPE3));
-
-      result.add(end(FONT, --level));
+      xml.element(IS_BOLD, level + 1, font.isBold());
+      xml.element(IS_ITALIC, level + 1, font.isItalic());
+      xml.element(IS_TYPE3, level + 1, font.isType3Font());
+      xml.end(FONT, level);
     }
-    return result;
   }
 
   // ==============================================================================================
@@ -727,63 +699,44 @@ public class PdfXmlSerializer implements PdfSerializer {
 
   /**
    * Serializes the given colors.
-   * 
-   * @param level  The current indentation level.
-   * @param colors The colors to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
-   */
-  protected List<String> serializeColors(int level, Color... colors) {
-    return serializeColors(level, new HashSet<>(Arrays.asList(colors)));
-  }
-
-  /**
-   * Serializes the given colors.
-   * 
+   *
+   * @param xml    The writer to write the serialization to.
    * @param level  The current indentation level.
    * @param colors The colors to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeColors(int level, Set<Color> colors) {
-    List<String> result = new ArrayList<>();
-
+  protected void serializeColors(XmlStreamWriter xml, int level, Set<Color> colors)
+      throws IOException {
     if (colors != null) {
       for (Color color : colors) {
-        if (color != null) {
-          List<String> colorLines = serializeColor(level, color);
-          if (colorLines != null) {
-            result.addAll(colorLines);
-          }
-        }
+        serializeColor(xml, level, color);
       }
     }
-    return result;
   }
 
   /**
    * Serializes the given color.
-   * 
+   *
+   * @param xml   The writer to write the serialization to.
    * @param level The current indentation level.
    * @param color The color to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeColor(int level, Color color) {
-    List<String> result = new ArrayList<>();
+  protected void serializeColor(XmlStreamWriter xml, int level, Color color) throws IOException {
     if (color != null) {
       int[] rgb = color.getRGB();
 
       if (rgb != null && rgb.length == 3) {
-        result.add(start(COLOR, level++));
-        result.add(start(ID, level) + text(color.getId()) + end(ID));
-        result.add(start(R, level) + text(rgb[0]) + end(R));
-        result.add(start(G, level) + text(rgb[1]) + end(G));
-        result.add(start(B, level) + text(rgb[2]) + end(B));
-        result.add(end(COLOR, --level));
+        xml.start(COLOR, level);
+        xml.element(ID, level + 1, color.getId());
+        xml.element(R, level + 1, rgb[0]);
+        xml.element(G, level + 1, rgb[1]);
+        xml.element(B, level + 1, rgb[2]);
+        xml.end(COLOR, level);
       }
     }
-    return result;
   }
 
   // ==============================================================================================
@@ -791,134 +744,135 @@ public class PdfXmlSerializer implements PdfSerializer {
 
   /**
    * Serializes the metadata of the given pages.
-   * 
-   * @param level The current indentation level.
-   * @param pages The pages to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
-   */
-  protected List<String> serializePages(int level, Page... pages) {
-    return serializePages(level, Arrays.asList(pages));
-  }
-
-  /**
-   * Serializes the metadata of the given pages.
-   * 
+   *
+   * @param xml   The writer to write the serialization to.
    * @param level The current indentation level.
    * @param pages The pages to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializePages(int level, List<Page> pages) {
-    List<String> result = new ArrayList<>();
-
+  protected void serializePages(XmlStreamWriter xml, int level, List<Page> pages)
+      throws IOException {
     if (pages != null) {
       for (Page page : pages) {
-        if (page != null) {
-          List<String> pageLines = serializePage(level, page);
-          if (pageLines != null) {
-            result.addAll(pageLines);
-          }
-        }
+        serializePage(xml, level, page);
       }
     }
-    return result;
   }
 
   /**
    * Serializes the metadata of the given page.
-   * 
+   *
+   * @param xml   The writer to write the serialization to.
    * @param level The current indentation level.
    * @param page  The page to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializePage(int level, Page page) {
-    List<String> result = new ArrayList<>();
+  protected void serializePage(XmlStreamWriter xml, int level, Page page) throws IOException {
     if (page != null) {
-      result.add(start(PAGE, level++));
-      result.add(start(ID, level) + text(page.getPageNumber()) + end(ID));
-      result.add(start(WIDTH, level) + text(page.getWidth()) + end(WIDTH));
-      result.add(start(HEIGHT, level) + text(page.getHeight()) + end(HEIGHT));
-      result.add(end(PAGE, --level));
+      xml.start(PAGE, level);
+      xml.element(ID, level + 1, page.getPageNumber());
+      xml.element(WIDTH, level + 1, page.getWidth());
+      xml.element(HEIGHT, level + 1, page.getHeight());
+      xml.end(PAGE, level);
     }
-    return result;
   }
 
   // ==============================================================================================
+  // Methods to serialize the pipeline report.
 
   /**
-   * Wraps the given text in an XML start tag.
-   * 
-   * @param text The text to wrap.
-   * 
-   * @return The given text wrapped in an XML start tag.
-   */
-  protected String startTag(String text) {
-    return start(text, 0);
-  }
-
-  /**
-   * Wraps the given text in an XML start tag and indents it by the given indentation level.
-   * 
-   * @param text  The text to wrap.
-   * @param level The indentation level.
-   * 
-   * @return The given text wrapped in an XML start tag, indented by the given indentation level.
-   */
-  protected String start(String text, int level) {
-    String indent = repeat(" ", level * INDENT_LENGTH);
-    return indent + "<" + text + ">";
-  }
-
-  /**
-   * Wraps the given text in an XML end tag.
-   * 
-   * @param text The text to wrap.
-   * 
-   * @return The given text wrapped in an XML end tag.
-   */
-  protected String end(String text) {
-    return end(text, 0);
+   * Serializes the given report about the execution of a pipeline. Only the pipes that were
+   * executed completely are included (the serializer itself is still running).
+   *
+   * @param xml    The writer to write the serialization to.
+   * @param level  The current indentation level.
+   * @param report The report to serialize.
+   *
+   * @throws IOException If writing the serialization failed.
+   */
+  protected void serializePipelineReport(XmlStreamWriter xml, int level, PipelineReport report)
+      throws IOException {
+    if (report != null) {
+      xml.start(PIPELINE_REPORT, level);
+      if (report.isFinished()) {
+        xml.element(WALL_TIME, level + 1, toMillis(report.getWallTime()));
+      }
+      xml.start(PIPES, level + 1);
+      for (PipeReport pipeReport : report.getPipeReports()) {
+        if (pipeReport.getNumExecutions() > 0) {
+          serializePipeReport(xml, level + 2, pipeReport);
+        }
+      }
+      xml.end(PIPES, level + 1);
+      xml.end(PIPELINE_REPORT, level);
+    }
   }
 
   /**
-   * Wraps the given text in an XML end tag and indents it by the given indentation level.
-   * 
-   * @param text  The text to wrap.
-   * @param level The indentation level.
-   * 
-   * @return The given text wrapped in an XML end tag, indented by the given indentation level.
-   */
-  protected String end(String text, int level) {
-    String indent = repeat(" ", level * INDENT_LENGTH);
-    return indent + "</" + text + ">";
+   * Serializes the given report about the execution of a single pipe.
+   *
+   * @param xml    The writer to write the serialization to.
+   * @param level  The current indentation level.
+   * @param report The report to serialize.
+   *
+   * @throws IOException If writing the serialization failed.
+   */
+  protected void serializePipeReport(XmlStreamWriter xml, int level, PipeReport report)
+      throws IOException {
+    xml.start(PIPE, level);
+    xml.element(NAME, level + 1, report.getPipeName());
+    xml.element(EXECUTIONS, level + 1, report.getNumExecutions());
+    xml.element(WALL_TIME, level + 1, toMillis(report.getWallTime()));
+    if (report.getCpuTime() >= 0) {
+      xml.element(CPU_TIME, level + 1, toMillis(report.getCpuTime()));
+    }
+    if (report.getAllocatedBytes() >= 0) {
+      xml.element(ALLOCATED_BYTES, level + 1, report.getAllocatedBytes());
+    }
+    serializeElementCounts(xml, level + 1, INPUT, report.getInputCounts());
+    serializeElementCounts(xml, level + 1, OUTPUT, report.getOutputCounts());
+    if (report.getSubReport() != null) {
+      serializePipelineReport(xml, level + 1, report.getSubReport());
+    }
+    xml.end(PIPE, level);
   }
 
   /**
-   * Transform the given object to an XML escaped string.
-   * 
-   * @param obj The object to process.
-   * 
-   * @return The XML escaped string.
+   * Serializes the given numbers of elements.
+   *
+   * @param xml    The writer to write the serialization to.
+   * @param level  The current indentation level.
+   * @param tag    The name of the enclosing tag.
+   * @param counts The numbers to serialize.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected String text(Object obj) {
-    return text(obj, 0);
+  protected void serializeElementCounts(XmlStreamWriter xml, int level, String tag,
+      ElementCounts counts) throws IOException {
+    xml.start(tag, level);
+    xml.element(PAGES, level + 1, counts.getNumPages());
+    xml.element(CHARACTERS, level + 1, counts.getNumCharacters());
+    xml.element(FIGURES, level + 1, counts.getNumFigures());
+    xml.element(SHAPES, level + 1, counts.getNumShapes());
+    xml.element(TEXT_AREAS, level + 1, counts.getNumTextAreas());
+    xml.element(TEXT_LINES, level + 1, counts.getNumTextLines());
+    xml.element(WORDS, level + 1, counts.getNumWords());
+    xml.element(TEXT_BLOCKS, level + 1, counts.getNumTextBlocks());
+    xml.element(PARAGRAPHS, level + 1, counts.getNumParagraphs());
+    xml.end(tag, level);
   }
 
   /**
-   * Transform the given object to an XML escaped string and indents it by the given indentation
-   * level.
-   * 
-   * @param obj   The object to process.
-   * @param level The indentation level.
+   * Converts the given nanoseconds to milliseconds, rounded to microseconds.
+   *
+   * @param nanos The nanoseconds to convert.
    *
-   * @return The XML escaped string, indented by the given indentation level.
+   * @return The milliseconds.
    */
-  protected String text(Object obj, int level) {
-    String indent = repeat(" ", level * INDENT_LENGTH);
-    String text = StringEscapeUtils.escapeXml11(obj.toString());
-    return indent + text;
+  protected static double toMillis(long nanos) {
+    return Math.round(nanos / 1e3) / 1e3;
   }
 
   // ==============================================================================================
@@ -990,45 +944,38 @@ public class PdfXmlSerializer implements PdfSerializer {
     return sb.toString();
   }
 
-  // ==============================================================================================
 
   /**
    * Serializes the given text block.
-   * 
+   *
+   * @param xml   The writer to write the serialization to.
    * @param level The current indentation level.
    * @param block The text block to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeTextBlock(int level, TextBlock block) {
-    List<String> result = new ArrayList<>();
-    List<String> blockLines = serializePdfElement(level + 1, block);
+  protected void serializeTextBlock(XmlStreamWriter xml, int level, TextBlock block)
+      throws IOException {
     // Wrap the serialized lines with a tag that describe a text block.
-    if (blockLines != null && !blockLines.isEmpty()) {
-      result.add(start(TEXT_BLOCK, level));
-      result.addAll(blockLines);
-      result.add(end(TEXT_BLOCK, level));
-    }
-    return result;
+    xml.startIfNotEmpty(TEXT_BLOCK, level);
+    serializePdfElement(xml, level + 1, block);
+    xml.endIfNotEmpty(TEXT_BLOCK, level);
   }
 
   /**
    * Serializes the given text line.
-   * 
+   *
+   * @param xml   The writer to write the serialization to.
    * @param level The current indentation level.
    * @param line  The text line to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeTextLine(int level, TextLine line) {
-    List<String> result = new ArrayList<>();
-    List<String> lineLines = serializePdfElement(level + 1, line);
+  protected void serializeTextLine(XmlStreamWriter xml, int level, TextLine line)
+      throws IOException {
     // Wrap the serialized lines with a tag that describes a text line.
-    if (lineLines != null && !lineLines.isEmpty()) {
-      result.add(start(TEXT_LINE, level));
-      result.addAll(lineLines);
-      result.add(end(TEXT_LINE, level));
-    }
-    return result;
+    xml.startIfNotEmpty(TEXT_LINE, level);
+    serializePdfElement(xml, level + 1, line);
+    xml.endIfNotEmpty(TEXT_LINE, level);
   }
 }
@@ -4,6 +4,7 @@ import static pdfact.cli.PdfActCliSettings.DEFAULT_EXTRACTION_UNITS;
 import static pdfact.cli.PdfActCliSettings.DEFAULT_SEMANTIC_ROLES;
 import static pdfact.cli.PdfActCliSettings.DEFAULT_SERIALIZE_FORMAT;
 import static pdfact.cli.PdfActCliSettings.DEFAULT_WITH_CONTROL_CHARACTERS;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
@@ -29,6 +30,11 @@ public class PlainSerializePdfPipe implements SerializePdfPipe {
    */
   protected static Logger log = LogManager.getLogger(PlainSerializePdfPipe.class);
 
+  /**
+   * The size of the buffer through which the serialization is written to the target.
+   */
+  protected static final int BUFFER_SIZE = 64 * 1024;
+
   /**
    * The serialization format.
    */
@@ -61,11 +67,23 @@ public class PlainSerializePdfPipe implements SerializePdfPipe {
    */
   protected boolean withControlCharacters;
 
+  /**
+   * The boolean flag indicating whether or not to serialize the report about the execution of the
+   * pipeline that processed the document.
+   */
+  protected boolean withPipelineReport;
+
   /**
    * The boolean flag indicating whether or not the pdf.js mode is enabled.
    */
   protected boolean isPdfJsMode;
 
+  /**
+   * The boolean flag indicating whether or not to write the serialization without indentation and
+   * line breaks.
+   */
+  protected boolean compact;
+
   // ==============================================================================================
 
   /**
@@ -109,10 +127,20 @@ public class PlainSerializePdfPipe implements SerializePdfPipe {
 
     switch (this.format) {
       case XML:
-        serializer = new PdfXmlSerializer(this.extractionUnits, this.semanticRolesToInclude);
+        PdfXmlSerializer xmlSerializer =
+            new PdfXmlSerializer(this.extractionUnits, this.semanticRolesToInclude);
+        xmlSerializer.setWithPipelineReport(this.withPipelineReport);
+        serializer = xmlSerializer;
         break;
       case JSON:
-        serializer = new PdfJsonSerializer(this.extractionUnits, this.semanticRolesToInclude);
+        PdfJsonSerializer jsonSerializer =
+            new PdfJsonSerializer(this.extractionUnits, this.semanticRolesToInclude);
+        jsonSerializer.setWithPipelineReport(this.withPipelineReport);
+        jsonSerializer.setCompact(this.compact);
+        serializer = jsonSerializer;
+        break;
+      case BINARY:
+        serializer = new PdfBinarySerializer(this.extractionUnits, this.semanticRolesToInclude);
         break;
       case TXT:
         serializer = new PdfTxtSerializer(this.withControlCharacters, this.extractionUnits,
@@ -125,50 +153,75 @@ public class PlainSerializePdfPipe implements SerializePdfPipe {
 
     // Use a specific serializer when the pdf.js mode is enabled.
     if (this.isPdfJsMode()) {
-      serializer = new PdfJsSerializer();
+      PdfJsSerializer jsSerializer = new PdfJsSerializer();
+      jsSerializer.setCompact(this.compact);
+      serializer = jsSerializer;
     }
 
-    // Serialize the PDF document.
-    byte[] serialization = serializer.serialize(pdf);
-
-    // If the target is given as a stream, write the serialization it.
-    if (this.targetStream != null) {
-      writeToStream(serialization, this.targetStream);
-    }
-
-    // If the target is given as a file, open it and write the serialization.
+    // If the target is given as a file, open it and write the serialization. If the target is
+    // also given as a stream, copy the file to the stream instead of serializing twice.
     if (this.targetPath != null) {
-      writeToPath(serialization, this.targetPath);
+      writeToPath(pdf, serializer, this.targetPath);
+      if (this.targetStream != null) {
+        copyToStream(this.targetPath, this.targetStream);
+      }
+    } else if (this.targetStream != null) {
+      writeToStream(pdf, serializer, this.targetStream);
     }
   }
 
   /**
-   * Writes the given bytes to the given output stream.
+   * Serializes the given PDF document to the given output stream. The serialization is written
+   * through a buffer, without materializing it in memory.
    *
-   * @param bytes  The bytes to write.
-   * @param stream The stream to write to.
-   * @throws PdfActSerializeException If something went wrong while writing the bytes to the stream.
+   * @param pdf        The PDF document to serialize.
+   * @param serializer The serializer to use.
+   * @param stream     The stream to write to.
+   * @throws PdfActException If something went wrong while writing the serialization.
    */
-  protected void writeToStream(byte[] bytes, OutputStream stream) throws PdfActSerializeException {
+  protected void writeToStream(Document pdf, PdfSerializer serializer, OutputStream stream)
+          throws PdfActException {
+    // Don't close the given stream, it is owned by the caller.
+    BufferedOutputStream bos = new BufferedOutputStream(stream, BUFFER_SIZE);
+    serializer.serialize(pdf, bos);
     try {
-      stream.write(bytes);
+      bos.flush();
     } catch (IOException e) {
       throw new PdfActSerializeException("Couldn't write to output stream.", e);
     }
   }
 
   /**
-   * Writes the given bytes to the given file.
+   * Serializes the given PDF document to the given file.
+   *
+   * @param pdf        The PDF document to serialize.
+   * @param serializer The serializer to use.
+   * @param path       The file to write to.
+   * @throws PdfActException If something went wrong while writing the serialization.
+   */
+  protected void writeToPath(Document pdf, PdfSerializer serializer, Path path)
+          throws PdfActException {
+    try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE)) {
+      serializer.serialize(pdf, os);
+    } catch (IOException e) {
+      throw new PdfActSerializeException("Couldn't write to file.", e);
+    }
+  }
+
+  /**
+   * Copies the given file, which contains the serialization, to the given output stream.
    *
-   * @param bytes The bytes to write.
-   * @param path  The file to write to.
-   * @throws PdfActSerializeException If something went wrong while writing the bytes to the stream.
+   * @param path   The file to copy.
+   * @param stream The stream to write to.
+   * @throws PdfActException If something went wrong while copying the file.
    */
-  protected void writeToPath(byte[] bytes, Path path) throws PdfActSerializeException {
-    try (OutputStream os = Files.newOutputStream(path)) {
-      os.write(bytes);
+  protected void copyToStream(Path path, OutputStream stream) throws PdfActException {
+    // Don't close the given stream, it is owned by the caller.
+    try {
+      Files.copy(path, stream);
+      stream.flush();
     } catch (IOException e) {
-      throw new PdfActSerializeException("Couldn't write to file.");
+      throw new PdfActSerializeException("Couldn't write to output stream.", e);
     }
   }
 
@@ -246,6 +299,18 @@ public class PlainSerializePdfPipe implements SerializePdfPipe {
 
   // ==============================================================================================
 
+  @Override
+  public boolean isWithPipelineReport() {
+    return this.withPipelineReport;
+  }
+
+  @Override
+  public void setWithPipelineReport(boolean withPipelineReport) {
+    this.withPipelineReport = withPipelineReport;
+  }
+
+  // ==============================================================================================
+
   @Override
   public boolean isPdfJsMode() {
     return this.isPdfJsMode;
@@ -255,4 +320,16 @@ public class PlainSerializePdfPipe implements SerializePdfPipe {
   public void setIsPdfJsMode(boolean isPdfJsMode) {
     this.isPdfJsMode = isPdfJsMode;
   }
+
+  // ==============================================================================================
+
+  @Override
+  public boolean isCompact() {
+    return this.compact;
+  }
+
+  @Override
+  public void setCompact(boolean compact) {
+    this.compact = compact;
+  }
 }
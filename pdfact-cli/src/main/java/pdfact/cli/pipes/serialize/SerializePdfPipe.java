@@ -110,6 +110,20 @@ public interface SerializePdfPipe extends Pipe {
 
   // ==============================================================================================
 
+  /**
+   * Returns the boolean flag indicating whether or not to serialize the report about the execution
+   * of the pipeline that processed the document (only supported by the XML and JSON formats).
+   */
+  public boolean isWithPipelineReport();
+
+  /**
+   * Sets the boolean flag indicating whether or not to serialize the report about the execution of
+   * the pipeline that processed the document (only supported by the XML and JSON formats).
+   */
+  public void setWithPipelineReport(boolean withPipelineReport);
+
+  // ==============================================================================================
+
   /**
    * Returns the boolean flag indicating whether or not the pdf.js mode is enabled.
    */
@@ -119,4 +133,18 @@ public interface SerializePdfPipe extends Pipe {
    * Sets the boolean flag indicating whether or not the pdf.js mode is enabled.
    */
   public void setIsPdfJsMode(boolean isPdfJsMode);
+
+  // ==============================================================================================
+
+  /**
+   * Returns the boolean flag indicating whether or not to write the serialization without
+   * indentation and line breaks (only supported by the JSON format and the pdf.js mode).
+   */
+  public boolean isCompact();
+
+  /**
+   * Sets the boolean flag indicating whether or not to write the serialization without indentation
+   * and line breaks (only supported by the JSON format and the pdf.js mode).
+   */
+  public void setCompact(boolean compact);
 }
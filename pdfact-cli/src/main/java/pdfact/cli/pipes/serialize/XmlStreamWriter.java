@@ -0,0 +1,234 @@
+package pdfact.cli.pipes.serialize;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import org.apache.commons.lang3.StringEscapeUtils;
+
+/**
+ * A writer to write an XML document line by line to a {@link Writer}, with each line indented by
+ * its level. The lines are separated by a line delimiter (there is no delimiter after the last
+ * line).
+ *
+ * <p>
+ * Besides the usual start tags, the writer supports start tags that are written not until the
+ * first line between the start tag and the matching end tag is written (see
+ * {@link #startIfNotEmpty(String, int)}). This allows to omit tags that would enclose nothing,
+ * without buffering the lines that could be enclosed by them.
+ *
+ * @author Claudius Korzen
+ */
+public class XmlStreamWriter {
+  /**
+   * The writer to write to.
+   */
+  protected Writer writer;
+
+  /**
+   * The number of spaces to add to each level of indentation.
+   */
+  protected int indentLength;
+
+  /**
+   * The delimiter to write between two lines.
+   */
+  protected String lineDelimiter;
+
+  /**
+   * The indentations per level, computed in advance (and extended when needed).
+   */
+  protected String[] indents;
+
+  /**
+   * The start tags which were not written yet, together with their levels (the innermost tag
+   * last).
+   */
+  protected Deque<PendingTag> pendingStartTags;
+
+  /**
+   * The boolean flag indicating whether or not any line was written so far.
+   */
+  protected boolean isAnyLineWritten;
+
+  // ==============================================================================================
+
+  /**
+   * Creates a new writer.
+   *
+   * @param writer        The writer to write to.
+   * @param indentLength  The number of spaces to add to each level of indentation.
+   * @param lineDelimiter The delimiter to write between two lines.
+   */
+  public XmlStreamWriter(Writer writer, int indentLength, String lineDelimiter) {
+    this.writer = writer;
+    this.indentLength = indentLength;
+    this.lineDelimiter = lineDelimiter;
+    this.indents = new String[0];
+    this.pendingStartTags = new ArrayDeque<>();
+    computeIndents(16);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Writes a line with the given start tag.
+   *
+   * @param tag   The name of the tag.
+   * @param level The indentation level.
+   *
+   * @throws IOException If writing failed.
+   */
+  public void start(String tag, int level) throws IOException {
+    beginLine(level);
+    this.writer.write('<');
+    this.writer.write(tag);
+    this.writer.write('>');
+  }
+
+  /**
+   * Registers the given start tag, to be written not until the first line before the matching
+   * call of {@link #endIfNotEmpty(String, int)} is written. If there is no such line, neither
+   * the start tag nor the end tag is written.
+   *
+   * @param tag   The name of the tag.
+   * @param level The indentation level.
+   */
+  public void startIfNotEmpty(String tag, int level) {
+    this.pendingStartTags.addLast(new PendingTag(tag, level));
+  }
+
+  /**
+   * Writes a line with the given end tag.
+   *
+   * @param tag   The name of the tag.
+   * @param level The indentation level.
+   *
+   * @throws IOException If writing failed.
+   */
+  public void end(String tag, int level) throws IOException {
+    beginLine(level);
+    this.writer.write("</");
+    this.writer.write(tag);
+    this.writer.write('>');
+  }
+
+  /**
+   * Writes a line with the given end tag, if the matching start tag (registered by
+   * {@link #startIfNotEmpty(String, int)}) was written. Otherwise, discards the start tag.
+   *
+   * @param tag   The name of the tag.
+   * @param level The indentation level.
+   *
+   * @throws IOException If writing failed.
+   */
+  public void endIfNotEmpty(String tag, int level) throws IOException {
+    if (this.pendingStartTags.isEmpty()) {
+      end(tag, level);
+    } else {
+      this.pendingStartTags.removeLast();
+    }
+  }
+
+  /**
+   * Writes a line with the given tag enclosing the given value, which is XML escaped.
+   *
+   * @param tag   The name of the tag.
+   * @param level The indentation level.
+   * @param value The value to enclose.
+   *
+   * @throws IOException If writing failed.
+   */
+  public void element(String tag, int level, Object value) throws IOException {
+    start(tag, level);
+    this.writer.write(StringEscapeUtils.escapeXml11(value.toString()));
+    this.writer.write("</");
+    this.writer.write(tag);
+    this.writer.write('>');
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Begins a new line: writes the pending start tags, the line delimiter (if the line isn't the
+   * first line) and the indentation of the given level.
+   *
+   * @param level The indentation level.
+   *
+   * @throws IOException If writing failed.
+   */
+  protected void beginLine(int level) throws IOException {
+    while (!this.pendingStartTags.isEmpty()) {
+      PendingTag pending = this.pendingStartTags.removeFirst();
+      indent(pending.level);
+      this.writer.write('<');
+      this.writer.write(pending.tag);
+      this.writer.write('>');
+    }
+    indent(level);
+  }
+
+  /**
+   * Writes the line delimiter (if any line was written before) and the indentation of the given
+   * level.
+   *
+   * @param level The indentation level.
+   *
+   * @throws IOException If writing failed.
+   */
+  protected void indent(int level) throws IOException {
+    if (this.isAnyLineWritten) {
+      this.writer.write(this.lineDelimiter);
+    }
+    this.isAnyLineWritten = true;
+
+    if (level >= this.indents.length) {
+      computeIndents(Math.max(level + 1, 2 * this.indents.length));
+    }
+    this.writer.write(this.indents[level]);
+  }
+
+  /**
+   * Computes the indentations for the given number of levels.
+   *
+   * @param numLevels The number of levels.
+   */
+  protected void computeIndents(int numLevels) {
+    int numComputed = this.indents.length;
+    this.indents = Arrays.copyOf(this.indents, numLevels);
+    for (int level = numComputed; level < numLevels; level++) {
+      char[] spaces = new char[level * this.indentLength];
+      Arrays.fill(spaces, ' ');
+      this.indents[level] = new String(spaces);
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * A start tag which was not written yet.
+   */
+  protected static class PendingTag {
+    /**
+     * The name of the tag.
+     */
+    protected String tag;
+
+    /**
+     * The indentation level of the tag.
+     */
+    protected int level;
+
+    /**
+     * Creates a new pending start tag.
+     *
+     * @param tag   The name of the tag.
+     * @param level The indentation level of the tag.
+     */
+    protected PendingTag(String tag, int level) {
+      this.tag = tag;
+      this.level = level;
+    }
+  }
+}
@@ -63,6 +63,10 @@ public class PlainPdfVisualizer implements PdfVisualizer {
   @Override
   public byte[] visualize(Document pdf) throws PdfActVisualizeException {
     if (pdf != null) {
+      // The visualization is drawn into a copy of the PDF file, which needs to be re-read.
+      if (!pdf.hasPath()) {
+        throw new PdfActVisualizeException("Only PDFs given by a path can be visualized.");
+      }
       try {
         PdfDrawer drawer = new PdfBoxDrawer(pdf.getFile());
 
@@ -413,7 +417,8 @@ public class PlainPdfVisualizer implements PdfVisualizer {
       // int page = position.getPageNumber();
       // Rectangle rect = position.getRectangle();
       // try {
-      //   drawer.drawText("[" + i + "]", page, new Point(rect.getMaxX() + 5, rect.getMinY()), color);
+      //   Point point = new Point(rect.getMaxX() + 5, rect.getMinY());
+      //   drawer.drawText("[" + i + "]", page, point, color);
       // } catch (IOException e) {
       //   throw new PdfActVisualizeException("Couldn't visualize the PDF document", e);
       // }
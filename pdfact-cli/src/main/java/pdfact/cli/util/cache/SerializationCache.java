@@ -0,0 +1,922 @@
+package pdfact.cli.util.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pdfact.cli.PdfAct;
+import pdfact.cli.model.ExtractionUnit;
+import pdfact.cli.model.SerializationFormat;
+import pdfact.core.model.Document;
+import pdfact.core.model.SemanticRole;
+
+/**
+ * A content-addressed cache of serializations of PDF files, so that a PDF file that is processed
+ * repeatedly (for example, because the same paper arrives through several ingestion paths) is
+ * parsed only once. The entries are keyed by the SHA-256 hash of the bytes of the PDF file, the
+ * options that affect the serialization (the format, the units, the roles and the flags), the
+ * version of PdfAct and the build of PdfAct (see {@link #computeKey(byte[], PdfAct)}), so that
+ * the entries written by one build are never returned by another one.
+ *
+ * <p>
+ * The cache has two tiers: an in-memory tier, which holds the most recently used entries up to a
+ * budget of bytes, and an optional on-disk tier (one file per entry in a given directory), which
+ * holds the most recently used entries up to a budget of bytes and persists across runs. An entry
+ * found on disk is promoted to the in-memory tier. The least recently used entries are evicted
+ * when a tier exceeds its budget. The cache is thread-safe.
+ *
+ * @author Claudius Korzen
+ */
+public class SerializationCache {
+  /**
+   * The logger.
+   */
+  protected static Logger log = LogManager.getLogger(SerializationCache.class);
+
+  /**
+   * The version of PdfAct used in the keys, when the version is not given by the manifest.
+   */
+  protected static final String UNKNOWN_VERSION = "dev";
+
+  /**
+   * The identifier of the build of PdfAct used in the keys, when the build couldn't be identified.
+   */
+  protected static final String UNKNOWN_BUILD = "unknown";
+
+  /**
+   * The number of hex digits of the identifier of the build of PdfAct.
+   */
+  protected static final int BUILD_ID_LENGTH = 16;
+
+  /**
+   * The identifier of the build of PdfAct (null if not computed yet, see {@link #getBuildId()}).
+   */
+  protected static volatile String buildId;
+
+  /**
+   * The suffix of the temporary files of entries that are being written to disk.
+   */
+  protected static final String TEMP_FILE_SUFFIX = ".tmp";
+
+  /**
+   * The length of a key (the number of hex digits of a SHA-256 hash).
+   */
+  protected static final int KEY_LENGTH = 64;
+
+  /**
+   * The size of the buffer used to hash a PDF file while it is read.
+   */
+  protected static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * The maximum number of bytes of the entries in the in-memory tier.
+   */
+  protected final long maxMemoryBytes;
+
+  /**
+   * The directory of the on-disk tier (null if there is no on-disk tier).
+   */
+  protected final Path directory;
+
+  /**
+   * The maximum number of bytes of the entries in the on-disk tier.
+   */
+  protected final long maxDiskBytes;
+
+  /**
+   * The entries in the in-memory tier, in the order of their last access.
+   */
+  protected final LinkedHashMap<String, Entry> memoryEntries;
+
+  /**
+   * The sizes of the entries in the on-disk tier (in bytes), in the order of their last access.
+   */
+  protected final LinkedHashMap<String, Long> diskEntries;
+
+  /**
+   * The number of bytes of the entries in the in-memory tier.
+   */
+  protected long memoryBytes;
+
+  /**
+   * The number of bytes of the entries in the on-disk tier.
+   */
+  protected long diskBytes;
+
+  /**
+   * The number of lookups answered by the in-memory tier.
+   */
+  protected final AtomicLong numMemoryHits = new AtomicLong();
+
+  /**
+   * The number of lookups answered by the on-disk tier.
+   */
+  protected final AtomicLong numDiskHits = new AtomicLong();
+
+  /**
+   * The number of lookups answered by neither tier.
+   */
+  protected final AtomicLong numMisses = new AtomicLong();
+
+  /**
+   * The number of entries evicted from the in-memory tier.
+   */
+  protected final AtomicLong numMemoryEvictions = new AtomicLong();
+
+  /**
+   * The number of entries evicted from the on-disk tier.
+   */
+  protected final AtomicLong numDiskEvictions = new AtomicLong();
+
+  // ==============================================================================================
+
+  /**
+   * Creates a new cache with an in-memory tier only.
+   *
+   * @param maxMemoryBytes The maximum number of bytes of the entries in the in-memory tier.
+   */
+  public SerializationCache(long maxMemoryBytes) {
+    this(maxMemoryBytes, null, 0);
+  }
+
+  /**
+   * Creates a new cache with an in-memory tier and an on-disk tier. The entries already stored in
+   * the given directory (for example, by a previous run) are taken over.
+   *
+   * @param maxMemoryBytes The maximum number of bytes of the entries in the in-memory tier.
+   * @param directory      The directory of the on-disk tier (null for no on-disk tier).
+   * @param maxDiskBytes   The maximum number of bytes of the entries in the on-disk tier.
+   */
+  public SerializationCache(long maxMemoryBytes, Path directory, long maxDiskBytes) {
+    this.maxMemoryBytes = maxMemoryBytes;
+    this.directory = directory;
+    this.maxDiskBytes = maxDiskBytes;
+    this.memoryEntries = new LinkedHashMap<>(16, 0.75f, true);
+    this.diskEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+    if (directory != null) {
+      loadDiskEntries();
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Computes the key of the serialization of the given PDF file with the options of the given
+   * instance of PdfAct.
+   *
+   * @param pdfContent The bytes of the PDF file.
+   * @param pdfAct     The (configured) instance of PdfAct.
+   *
+   * @return The key.
+   */
+  public static String computeKey(byte[] pdfContent, PdfAct pdfAct) {
+    return computeKeyOfHash(newDigest().digest(pdfContent), pdfAct);
+  }
+
+  /**
+   * Computes the key of the serialization of the given PDF file with the options of the given
+   * instance of PdfAct. The file is hashed while it is read, without holding its bytes in memory.
+   *
+   * @param pdfPath The path to the PDF file.
+   * @param pdfAct  The (configured) instance of PdfAct.
+   *
+   * @return The key.
+   *
+   * @throws IOException If the PDF file couldn't be read.
+   */
+  public static String computeKey(Path pdfPath, PdfAct pdfAct) throws IOException {
+    MessageDigest digest = newDigest();
+    byte[] buffer = new byte[HASH_BUFFER_SIZE];
+    try (InputStream stream = Files.newInputStream(pdfPath)) {
+      for (int n = stream.read(buffer); n >= 0; n = stream.read(buffer)) {
+        digest.update(buffer, 0, n);
+      }
+    }
+    return computeKeyOfHash(digest.digest(), pdfAct);
+  }
+
+  /**
+   * Computes the key of the serialization of a PDF file with the options of the given instance
+   * of PdfAct, from the hash of the PDF file.
+   *
+   * @param pdfHash The SHA-256 hash of the bytes of the PDF file.
+   * @param pdfAct  The (configured) instance of PdfAct.
+   *
+   * @return The key.
+   */
+  protected static String computeKeyOfHash(byte[] pdfHash, PdfAct pdfAct) {
+    String controlCharacters = "control-characters=" + pdfAct.isInsertControlCharacters();
+    String pdfJsMode = "pdfjs-mode=" + pdfAct.isPdfJsMode();
+    // Add the flag of the compact serialization only if set, so that the keys of the indented
+    // serializations don't change.
+    if (pdfAct.isCompactSerialization()) {
+      return computeKeyOfHash(pdfHash, pdfAct.getSerializationFormat(),
+          pdfAct.getExtractionUnits(), pdfAct.getSemanticRoles(), controlCharacters, pdfJsMode,
+          "compact=true");
+    }
+    return computeKeyOfHash(pdfHash, pdfAct.getSerializationFormat(), pdfAct.getExtractionUnits(),
+        pdfAct.getSemanticRoles(), controlCharacters, pdfJsMode);
+  }
+
+  /**
+   * Computes the key of the serialization of the given PDF file with the given options.
+   *
+   * @param pdfContent The bytes of the PDF file.
+   * @param format     The serialization format.
+   * @param units      The units to serialize (null for the default units).
+   * @param roles      The roles of the units to serialize (null for the default roles).
+   * @param flags      Any further options that affect the serialization.
+   *
+   * @return The key.
+   */
+  public static String computeKey(byte[] pdfContent, SerializationFormat format,
+      Collection<ExtractionUnit> units, Collection<SemanticRole> roles, String... flags) {
+    return computeKeyOfHash(newDigest().digest(pdfContent), format, units, roles, flags);
+  }
+
+  /**
+   * Computes the key of the serialization of a PDF file with the given options, from the hash of
+   * the PDF file. This allows to hash a PDF file while it is read (see {@link #newDigest()}),
+   * instead of holding all of its bytes in memory.
+   *
+   * @param pdfHash The SHA-256 hash of the bytes of the PDF file.
+   * @param format  The serialization format.
+   * @param units   The units to serialize (null for the default units).
+   * @param roles   The roles of the units to serialize (null for the default roles).
+   * @param flags   Any further options that affect the serialization.
+   *
+   * @return The key.
+   */
+  public static String computeKeyOfHash(byte[] pdfHash, SerializationFormat format,
+      Collection<ExtractionUnit> units, Collection<SemanticRole> roles, String... flags) {
+    // Sort the units and roles, so that the key doesn't depend on the order of the given sets.
+    StringBuilder options = new StringBuilder();
+    options.append("version=").append(getVersion());
+    options.append("\nbuild=").append(getBuildId());
+    options.append("\nformat=").append(format != null ? format.getFileExtension() : null);
+    options.append("\nunits=").append(units != null ? sortedNames(units) : null);
+    options.append("\nroles=").append(roles != null ? sortedNames(roles) : null);
+    for (String flag : flags) {
+      options.append('\n').append(flag);
+    }
+
+    MessageDigest keyDigest = newDigest();
+    keyDigest.update(pdfHash);
+    keyDigest.update(options.toString().getBytes(StandardCharsets.UTF_8));
+    return toHex(keyDigest.digest());
+  }
+
+  /**
+   * Returns the version of PdfAct, as given by the manifest of the jar.
+   *
+   * @return The version of PdfAct, or "dev" if the version is unknown (when not run from a jar).
+   */
+  public static String getVersion() {
+    String version = PdfAct.class.getPackage().getImplementationVersion();
+    return version != null ? version : UNKNOWN_VERSION;
+  }
+
+  /**
+   * Returns the identifier of the build of PdfAct, which distinguishes builds of the same version
+   * (in particular, of the development version). The identifier is computed on first use from the
+   * jar files (or class directories) of the CLI and the core of PdfAct: a jar file contributes the
+   * hash of its bytes, a class directory the number and the latest modification time of its
+   * files.
+   *
+   * @return The identifier of the build, or "unknown" if the build couldn't be identified.
+   */
+  public static String getBuildId() {
+    String id = buildId;
+    if (id == null) {
+      id = computeBuildId();
+      buildId = id;
+    }
+    return id;
+  }
+
+  /**
+   * Computes the identifier of the build of PdfAct (see {@link #getBuildId()}).
+   *
+   * @return The identifier of the build, or "unknown" if the build couldn't be identified.
+   */
+  protected static String computeBuildId() {
+    // The CLI and the core are in the same jar file when run from the executable.
+    Set<Path> locations = new LinkedHashSet<>();
+    MessageDigest digest = newDigest();
+    try {
+      for (Class<?> clazz : new Class<?>[] { PdfAct.class, Document.class }) {
+        CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+          return UNKNOWN_BUILD;
+        }
+        locations.add(Paths.get(codeSource.getLocation().toURI()));
+      }
+      byte[] buffer = new byte[HASH_BUFFER_SIZE];
+      for (Path location : locations) {
+        if (Files.isRegularFile(location)) {
+          try (InputStream stream = Files.newInputStream(location)) {
+            for (int n = stream.read(buffer); n >= 0; n = stream.read(buffer)) {
+              digest.update(buffer, 0, n);
+            }
+          }
+        } else {
+          long numFiles = 0;
+          long lastModified = 0;
+          try (Stream<Path> files = Files.walk(location)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+              numFiles++;
+              lastModified = Math.max(lastModified, getLastModifiedTime(file).toMillis());
+            }
+          }
+          digest.update((numFiles + "@" + lastModified + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+      }
+    } catch (Exception e) {
+      log.warn("Couldn't identify the build of PdfAct.", e);
+      return UNKNOWN_BUILD;
+    }
+    return toHex(digest.digest()).substring(0, BUILD_ID_LENGTH);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the entry with the given key.
+   *
+   * @param key The key.
+   *
+   * @return The entry, or null if the cache doesn't contain an entry with the given key.
+   */
+  public Entry get(String key) {
+    synchronized (this) {
+      Entry entry = this.memoryEntries.get(key);
+      if (entry != null) {
+        this.numMemoryHits.incrementAndGet();
+        return entry;
+      }
+      if (this.directory == null || !this.diskEntries.containsKey(key)) {
+        this.numMisses.incrementAndGet();
+        return null;
+      }
+    }
+
+    // Read the entry outside the lock, so that other lookups are not blocked by the disk.
+    Entry entry = readEntry(key);
+    if (entry == null) {
+      // Drop the entry, whose file is gone or unreadable, so that it doesn't occupy the budget.
+      synchronized (this) {
+        Long size = this.diskEntries.remove(key);
+        if (size != null) {
+          this.diskBytes -= size;
+        }
+      }
+      this.numMisses.incrementAndGet();
+      return null;
+    }
+    this.numDiskHits.incrementAndGet();
+    synchronized (this) {
+      this.diskEntries.get(key); // Mark the entry as recently used.
+      putInMemory(key, entry);
+    }
+    return entry;
+  }
+
+  /**
+   * Stores the given entry under the given key, in both tiers.
+   *
+   * @param key   The key.
+   * @param entry The entry.
+   */
+  public void put(String key, Entry entry) {
+    synchronized (this) {
+      putInMemory(key, entry);
+    }
+    if (this.directory != null) {
+      writeEntry(key, entry);
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Stores the given entry in the in-memory tier and evicts the least recently used entries until
+   * the tier doesn't exceed its budget. Must be called while holding the lock of this cache.
+   *
+   * @param key   The key.
+   * @param entry The entry.
+   */
+  protected void putInMemory(String key, Entry entry) {
+    if (entry.getSize() > this.maxMemoryBytes) {
+      return;
+    }
+    Entry previous = this.memoryEntries.put(key, entry);
+    if (previous != null) {
+      this.memoryBytes -= previous.getSize();
+    }
+    this.memoryBytes += entry.getSize();
+
+    Iterator<Map.Entry<String, Entry>> itr = this.memoryEntries.entrySet().iterator();
+    while (this.memoryBytes > this.maxMemoryBytes && itr.hasNext()) {
+      this.memoryBytes -= itr.next().getValue().getSize();
+      itr.remove();
+      this.numMemoryEvictions.incrementAndGet();
+    }
+  }
+
+  /**
+   * Reads the entry with the given key from the on-disk tier.
+   *
+   * @param key The key.
+   *
+   * @return The entry, or null if the entry couldn't be read (for example, because it was evicted
+   *         in the meantime).
+   */
+  protected Entry readEntry(String key) {
+    Path file = this.directory.resolve(key);
+    try {
+      byte[] bytes = Files.readAllBytes(file);
+      // Record the access, so that the order of the entries is restored on the next run.
+      Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+      return Entry.fromBytes(bytes);
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException | IllegalArgumentException e) {
+      log.warn("Couldn't read the cache entry '" + file + "'.", e);
+      return null;
+    }
+  }
+
+  /**
+   * Writes the given entry to the on-disk tier and evicts the least recently used entries until
+   * the tier doesn't exceed its budget. The entry is written to a temporary file first, which is
+   * then renamed, so that concurrent readers never see a partially written entry.
+   *
+   * @param key   The key.
+   * @param entry The entry.
+   */
+  protected void writeEntry(String key, Entry entry) {
+    byte[] bytes = entry.toBytes();
+    if (bytes.length > this.maxDiskBytes) {
+      return;
+    }
+
+    Path file = this.directory.resolve(key);
+    try {
+      Path tempFile = Files.createTempFile(this.directory, key, TEMP_FILE_SUFFIX);
+      try {
+        Files.write(tempFile, bytes);
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(tempFile);
+      }
+    } catch (IOException e) {
+      log.warn("Couldn't write the cache entry '" + file + "'.", e);
+      return;
+    }
+
+    List<String> evictedKeys;
+    synchronized (this) {
+      Long previous = this.diskEntries.put(key, (long) bytes.length);
+      if (previous != null) {
+        this.diskBytes -= previous;
+      }
+      this.diskBytes += bytes.length;
+      evictedKeys = evictFromDisk();
+    }
+    deleteEntries(evictedKeys);
+  }
+
+  /**
+   * Evicts the least recently used entries from the on-disk tier until the tier doesn't exceed
+   * its budget. Must be called while holding the lock of this cache. The files of the evicted
+   * entries are not deleted, so that the lock isn't held while accessing the disk; they must be
+   * deleted by {@link #deleteEntries(List)} after releasing the lock.
+   *
+   * @return The keys of the evicted entries.
+   */
+  protected List<String> evictFromDisk() {
+    List<String> evictedKeys = new ArrayList<>();
+    Iterator<Map.Entry<String, Long>> itr = this.diskEntries.entrySet().iterator();
+    while (this.diskBytes > this.maxDiskBytes && itr.hasNext()) {
+      Map.Entry<String, Long> eldest = itr.next();
+      evictedKeys.add(eldest.getKey());
+      this.diskBytes -= eldest.getValue();
+      itr.remove();
+      this.numDiskEvictions.incrementAndGet();
+    }
+    return evictedKeys;
+  }
+
+  /**
+   * Deletes the files of the given evicted entries from the on-disk tier. Must be called without
+   * holding the lock of this cache. A file is not deleted if its entry was stored again in the
+   * meantime (a file that is stored again while it is deleted is dropped from the tier on the
+   * next lookup).
+   *
+   * @param keys The keys of the evicted entries.
+   */
+  protected void deleteEntries(List<String> keys) {
+    for (String key : keys) {
+      synchronized (this) {
+        if (this.diskEntries.containsKey(key)) {
+          continue;
+        }
+      }
+      try {
+        Files.deleteIfExists(this.directory.resolve(key));
+      } catch (IOException e) {
+        log.warn("Couldn't delete the cache entry '" + key + "'.", e);
+      }
+    }
+  }
+
+  /**
+   * Takes over the entries stored in the directory of the on-disk tier, in the order of their last
+   * access, and deletes any leftover temporary files.
+   */
+  protected void loadDiskEntries() {
+    List<Path> files = new ArrayList<>();
+    try {
+      Files.createDirectories(this.directory);
+      try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory)) {
+        for (Path file : stream) {
+          String name = file.getFileName().toString();
+          if (name.endsWith(TEMP_FILE_SUFFIX)) {
+            Files.deleteIfExists(file);
+          } else if (name.length() == KEY_LENGTH && Files.isRegularFile(file)) {
+            files.add(file);
+          }
+        }
+      }
+      files.sort(Comparator.comparing(SerializationCache::getLastModifiedTime));
+      for (Path file : files) {
+        long size = Files.size(file);
+        this.diskEntries.put(file.getFileName().toString(), size);
+        this.diskBytes += size;
+      }
+    } catch (IOException e) {
+      log.warn("Couldn't read the cache directory '" + this.directory + "'.", e);
+    }
+    List<String> evictedKeys;
+    synchronized (this) {
+      evictedKeys = evictFromDisk();
+    }
+    deleteEntries(evictedKeys);
+  }
+
+  /**
+   * Returns the maximum size of a serialization that fits into any tier of this cache. Larger
+   * serializations are never stored, so there is no need to hold a copy of them for the cache.
+   *
+   * @return The maximum size of a serialization, in bytes.
+   */
+  public long getMaxSerializationSize() {
+    long maxBytes = Math.max(this.maxMemoryBytes, this.directory != null ? this.maxDiskBytes : 0);
+    return Math.max(0, maxBytes - Integer.BYTES);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the counters of this cache.
+   *
+   * @return A snapshot of the counters of this cache.
+   */
+  public synchronized Statistics getStatistics() {
+    Statistics stats = new Statistics();
+    stats.numMemoryHits = this.numMemoryHits.get();
+    stats.numDiskHits = this.numDiskHits.get();
+    stats.numMisses = this.numMisses.get();
+    stats.numMemoryEvictions = this.numMemoryEvictions.get();
+    stats.numDiskEvictions = this.numDiskEvictions.get();
+    stats.numMemoryEntries = this.memoryEntries.size();
+    stats.memoryBytes = this.memoryBytes;
+    stats.numDiskEntries = this.diskEntries.size();
+    stats.diskBytes = this.diskBytes;
+    return stats;
+  }
+
+  /**
+   * Creates a new SHA-256 digest, of the kind expected by
+   * {@link #computeKeyOfHash(byte[], SerializationFormat, Collection, Collection, String...)}.
+   *
+   * @return The digest.
+   */
+  public static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // Every implementation of the Java platform is required to support SHA-256.
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Returns the sorted names of the given values.
+   *
+   * @param values The values.
+   *
+   * @return The sorted names, separated by commas.
+   */
+  protected static String sortedNames(Collection<?> values) {
+    TreeSet<String> names = new TreeSet<>();
+    for (Object value : values) {
+      names.add(String.valueOf(value));
+    }
+    return String.join(",", names);
+  }
+
+  /**
+   * Returns the given bytes as a string of hex digits.
+   *
+   * @param bytes The bytes.
+   *
+   * @return The string of hex digits.
+   */
+  protected static String toHex(byte[] bytes) {
+    StringBuilder sb = new StringBuilder(2 * bytes.length);
+    for (byte b : bytes) {
+      sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+      sb.append(Character.forDigit(b & 0xF, 16));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Returns the time of the last modification of the given file.
+   *
+   * @param file The file.
+   *
+   * @return The time of the last modification, or the epoch if the time couldn't be read.
+   */
+  protected static FileTime getLastModifiedTime(Path file) {
+    try {
+      return Files.getLastModifiedTime(file);
+    } catch (IOException e) {
+      return FileTime.fromMillis(0);
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * A cached serialization of a PDF file.
+   */
+  public static class Entry {
+    /**
+     * The number of pages of the PDF file.
+     */
+    protected final int numPages;
+
+    /**
+     * The serialization.
+     */
+    protected final byte[] serialization;
+
+    /**
+     * Creates a new entry.
+     *
+     * @param numPages      The number of pages of the PDF file.
+     * @param serialization The serialization.
+     */
+    public Entry(int numPages, byte[] serialization) {
+      this.numPages = numPages;
+      this.serialization = serialization;
+    }
+
+    /**
+     * Returns the number of pages of the PDF file.
+     *
+     * @return The number of pages.
+     */
+    public int getNumPages() {
+      return this.numPages;
+    }
+
+    /**
+     * Returns the serialization.
+     *
+     * @return The serialization.
+     */
+    public byte[] getSerialization() {
+      return this.serialization;
+    }
+
+    /**
+     * Returns the number of bytes of this entry.
+     *
+     * @return The number of bytes.
+     */
+    public long getSize() {
+      return Integer.BYTES + this.serialization.length;
+    }
+
+    /**
+     * Encodes this entry as stored on disk: the number of pages, followed by the serialization.
+     *
+     * @return The encoded entry.
+     */
+    protected byte[] toBytes() {
+      ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + this.serialization.length);
+      buffer.putInt(this.numPages);
+      buffer.put(this.serialization);
+      return buffer.array();
+    }
+
+    /**
+     * Decodes an entry as stored on disk.
+     *
+     * @param bytes The encoded entry.
+     *
+     * @return The decoded entry.
+     */
+    protected static Entry fromBytes(byte[] bytes) {
+      if (bytes.length < Integer.BYTES) {
+        throw new IllegalArgumentException("The entry is truncated.");
+      }
+      ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      int numPages = buffer.getInt();
+      byte[] serialization = new byte[buffer.remaining()];
+      buffer.get(serialization);
+      return new Entry(numPages, serialization);
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * A snapshot of the counters of a cache.
+   */
+  public static class Statistics {
+    /**
+     * The number of lookups answered by the in-memory tier.
+     */
+    protected long numMemoryHits;
+
+    /**
+     * The number of lookups answered by the on-disk tier.
+     */
+    protected long numDiskHits;
+
+    /**
+     * The number of lookups answered by neither tier.
+     */
+    protected long numMisses;
+
+    /**
+     * The number of entries evicted from the in-memory tier.
+     */
+    protected long numMemoryEvictions;
+
+    /**
+     * The number of entries evicted from the on-disk tier.
+     */
+    protected long numDiskEvictions;
+
+    /**
+     * The number of entries in the in-memory tier.
+     */
+    protected long numMemoryEntries;
+
+    /**
+     * The number of bytes of the entries in the in-memory tier.
+     */
+    protected long memoryBytes;
+
+    /**
+     * The number of entries in the on-disk tier.
+     */
+    protected long numDiskEntries;
+
+    /**
+     * The number of bytes of the entries in the on-disk tier.
+     */
+    protected long diskBytes;
+
+    /**
+     * Returns the number of lookups answered by the in-memory tier.
+     *
+     * @return The number of lookups answered by the in-memory tier.
+     */
+    public long getNumMemoryHits() {
+      return this.numMemoryHits;
+    }
+
+    /**
+     * Returns the number of lookups answered by the on-disk tier.
+     *
+     * @return The number of lookups answered by the on-disk tier.
+     */
+    public long getNumDiskHits() {
+      return this.numDiskHits;
+    }
+
+    /**
+     * Returns the number of lookups answered by either tier.
+     *
+     * @return The number of hits.
+     */
+    public long getNumHits() {
+      return this.numMemoryHits + this.numDiskHits;
+    }
+
+    /**
+     * Returns the number of lookups answered by neither tier.
+     *
+     * @return The number of misses.
+     */
+    public long getNumMisses() {
+      return this.numMisses;
+    }
+
+    /**
+     * Returns the number of entries evicted from the in-memory tier.
+     *
+     * @return The number of entries evicted from the in-memory tier.
+     */
+    public long getNumMemoryEvictions() {
+      return this.numMemoryEvictions;
+    }
+
+    /**
+     * Returns the number of entries evicted from the on-disk tier.
+     *
+     * @return The number of entries evicted from the on-disk tier.
+     */
+    public long getNumDiskEvictions() {
+      return this.numDiskEvictions;
+    }
+
+    /**
+     * Returns the number of entries in the in-memory tier.
+     *
+     * @return The number of entries in the in-memory tier.
+     */
+    public long getNumMemoryEntries() {
+      return this.numMemoryEntries;
+    }
+
+    /**
+     * Returns the number of bytes of the entries in the in-memory tier.
+     *
+     * @return The number of bytes of the entries in the in-memory tier.
+     */
+    public long getMemoryBytes() {
+      return this.memoryBytes;
+    }
+
+    /**
+     * Returns the number of entries in the on-disk tier.
+     *
+     * @return The number of entries in the on-disk tier.
+     */
+    public long getNumDiskEntries() {
+      return this.numDiskEntries;
+    }
+
+    /**
+     * Returns the number of bytes of the entries in the on-disk tier.
+     *
+     * @return The number of bytes of the entries in the on-disk tier.
+     */
+    public long getDiskBytes() {
+      return this.diskBytes;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("Cache: %d hits (%d in memory, %d on disk), %d misses, %d evictions "
+          + "(%d from memory, %d from disk); %d entries (%d bytes) in memory, %d entries "
+          + "(%d bytes) on disk.", getNumHits(), this.numMemoryHits, this.numDiskHits,
+          this.numMisses, this.numMemoryEvictions + this.numDiskEvictions,
+          this.numMemoryEvictions, this.numDiskEvictions, this.numMemoryEntries,
+          this.memoryBytes, this.numDiskEntries, this.diskBytes);
+    }
+  }
+}
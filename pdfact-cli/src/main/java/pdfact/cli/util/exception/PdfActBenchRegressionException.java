@@ -0,0 +1,43 @@
+package pdfact.cli.util.exception;
+
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * The exception to throw when the results of a benchmark run regressed beyond the configured
+ * threshold, compared to a previous run.
+ * 
+ * @author Claudius Korzen
+ */
+public class PdfActBenchRegressionException extends PdfActException {
+  /**
+   * The serial id.
+   */
+  protected static final long serialVersionUID = 7501414355032228789L;
+
+  /**
+   * The default exit code of this exception.
+   */
+  protected static final int EXIT_CODE = 50;
+
+  /**
+   * Creates a new exception.
+   * 
+   * @param message
+   *        The message of this exception.
+   */
+  public PdfActBenchRegressionException(String message) {
+    super(EXIT_CODE, message);
+  }
+
+  /**
+   * Creates a new exception.
+   * 
+   * @param message
+   *        The message of this exception.
+   * @param cause
+   *        The cause of this exception.
+   */
+  public PdfActBenchRegressionException(String message, Throwable cause) {
+    super(EXIT_CODE, message, cause);
+  }
+}
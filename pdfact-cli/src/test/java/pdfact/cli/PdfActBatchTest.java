@@ -0,0 +1,183 @@
+package pdfact.cli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pdfact.cli.model.SerializationFormat;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * A class that tests the processing of batches of PDF files.
+ */
+public class PdfActBatchTest {
+  /**
+   * The path to a PDF file to process.
+   */
+  protected static final Path PDF_PATH = Paths.get("src/test/resources/ACL_2004.pdf");
+
+  /**
+   * The temporary directory with the input files.
+   */
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * The root of the input files.
+   */
+  protected Path root;
+
+  /**
+   * Creates the input files: "a.pdf", "sub/b.pdf", "sub/c.PDF" and "sub/d.txt".
+   *
+   * @throws IOException If the files couldn't be created.
+   */
+  @Before
+  public void setup() throws IOException {
+    this.root = this.folder.getRoot().toPath().toRealPath();
+    Files.createDirectories(this.root.resolve("sub"));
+    for (String file : Arrays.asList("a.pdf", "sub/b.pdf", "sub/c.PDF", "sub/d.txt")) {
+      Files.createFile(this.root.resolve(file));
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Tests that a directory resolves to the PDF files in it and its subdirectories, sorted.
+   *
+   * @throws PdfActException If the input couldn't be resolved.
+   */
+  @Test
+  public void testResolveDirectory() throws PdfActException {
+    List<Path> paths = PdfActBatch.resolveInput(this.root.toString());
+    assertEquals(Arrays.asList(this.root.resolve("a.pdf"), this.root.resolve("sub/b.pdf"),
+        this.root.resolve("sub/c.PDF")), paths);
+  }
+
+  /**
+   * Tests that a glob pattern resolves to the matching files.
+   *
+   * @throws PdfActException If the input couldn't be resolved.
+   */
+  @Test
+  public void testResolveGlobPattern() throws PdfActException {
+    List<Path> paths = PdfActBatch.resolveInput(this.root + "/**/*.pdf");
+    assertEquals(Collections.singletonList(this.root.resolve("sub/b.pdf")), paths);
+
+    paths = PdfActBatch.resolveInput(this.root + "/sub/*.{txt,PDF}");
+    assertEquals(Arrays.asList(this.root.resolve("sub/c.PDF"), this.root.resolve("sub/d.txt")),
+        paths);
+  }
+
+  /**
+   * Tests that a file prefixed by "@" resolves to the listed files, without blank lines and
+   * comments.
+   *
+   * @throws Exception If the input couldn't be resolved.
+   */
+  @Test
+  public void testResolveFileList() throws Exception {
+    Path list = this.root.resolve("list.txt");
+    Files.write(list, Arrays.asList("# The files.", " x.pdf ", "", "y/z.pdf"));
+
+    List<Path> paths = PdfActBatch.resolveInput("@" + list);
+    assertEquals(Arrays.asList(Paths.get("x.pdf"), Paths.get("y/z.pdf")), paths);
+    assertTrue(PdfActBatch.isBatchInput("@" + list));
+  }
+
+  /**
+   * Tests that the path to a single file resolves to the file itself.
+   *
+   * @throws PdfActException If the input couldn't be resolved.
+   */
+  @Test
+  public void testResolveSingleFile() throws PdfActException {
+    Path file = this.root.resolve("a.pdf");
+    assertEquals(Collections.singletonList(file), PdfActBatch.resolveInput(file.toString()));
+    assertTrue(!PdfActBatch.isBatchInput(file.toString()));
+  }
+
+  /**
+   * Tests that the common parent is the deepest directory that contains all files.
+   */
+  @Test
+  public void testComputeCommonParent() {
+    Path a = this.root.resolve("a.pdf");
+    Path b = this.root.resolve("sub/b.pdf");
+    Path c = this.root.resolve("sub/c.PDF");
+
+    assertEquals(this.root, PdfActBatch.computeCommonParent(Arrays.asList(a, b)));
+    assertEquals(this.root.resolve("sub"), PdfActBatch.computeCommonParent(Arrays.asList(b, c)));
+    assertEquals(this.root.resolve("sub"),
+        PdfActBatch.computeCommonParent(Arrays.asList(this.root.resolve("sub/../sub/b.pdf"))));
+  }
+
+  /**
+   * Tests that the target path keeps the path relative to the common parent and replaces the file
+   * extension by the extension of the serialization format.
+   */
+  @Test
+  public void testComputeTargetPath() {
+    Path out = this.root.resolve("out");
+    PdfActBatch batch = new PdfActBatch(PdfAct::new);
+    batch.setOutputDirectory(out);
+
+    assertEquals(out.resolve("sub/b.json"), batch.computeTargetPath(this.root.resolve("sub/b.pdf"),
+        this.root, SerializationFormat.JSON));
+    assertEquals(out.resolve("a.xml"), batch.computeTargetPath(this.root.resolve("a.pdf"),
+        this.root, SerializationFormat.XML));
+    assertEquals(out.resolve("sub/c.txt"), batch.computeTargetPath(this.root.resolve("sub/c.PDF"),
+        this.root, SerializationFormat.TXT));
+  }
+
+  /**
+   * Tests that a JSON serialization is embedded as is into a single-line record, after the
+   * envelope fields, and that a failure is recorded as an error record.
+   *
+   * @throws Exception If something went wrong while processing the batch.
+   */
+  @Test
+  public void testJsonLines() throws Exception {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    PdfActBatch batch = new PdfActBatch(() -> {
+      PdfAct pdfAct = new PdfAct();
+      pdfAct.setSerializationFormat(SerializationFormat.JSON);
+      return pdfAct;
+    });
+    batch.setNumWorkers(1);
+    batch.setJsonLinesStream(stream);
+
+    Path missing = this.root.resolve("missing.pdf");
+    PdfActBatch.Summary summary = batch.process(Arrays.asList(PDF_PATH, missing));
+    assertEquals(1, summary.getNumDocuments());
+    assertEquals(1, summary.getNumFailures());
+
+    String[] lines = stream.toString(StandardCharsets.UTF_8.name()).split("\n");
+    assertEquals(2, lines.length);
+    // A single worker processes the files in the given order.
+    String ok = lines[0];
+    String error = lines[1];
+
+    assertTrue(ok.startsWith("{\"file\":\"" + PDF_PATH + "\",\"status\":\"ok\",\"pages\":"));
+    JSONObject record = new JSONObject(ok);
+    assertEquals(record.getInt("pages"), summary.getNumPages());
+    assertTrue(record.getJSONObject("output").has("paragraphs"));
+
+    assertTrue(error.startsWith("{\"file\":\"" + missing + "\",\"status\":\"error\",\"error\":"));
+    assertEquals("error", new JSONObject(error).getString("status"));
+  }
+}
@@ -0,0 +1,102 @@
+package pdfact.cli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A class that tests the comparison of benchmark reports against a baseline.
+ */
+public class PdfActBenchTest {
+  /**
+   * The report of a previous run.
+   */
+  protected JSONObject baseline;
+
+  /**
+   * Creates the baseline.
+   */
+  @Before
+  public void setup() {
+    this.baseline = createReport(100, 1);
+  }
+
+  /**
+   * Tests that an unchanged report has no regressions.
+   */
+  @Test
+  public void testNoRegression() {
+    JSONObject comparison = PdfActBench.compare(this.baseline, createReport(105, 1), 10);
+    assertEquals(0, comparison.getJSONArray("regressions").length());
+  }
+
+  /**
+   * Tests that a change of a metric beyond the threshold is a regression.
+   */
+  @Test
+  public void testMetricRegression() {
+    JSONObject comparison = PdfActBench.compare(this.baseline, createReport(120, 1), 10);
+    JSONArray regressions = comparison.getJSONArray("regressions");
+    assertEquals(1, regressions.length());
+    assertTrue(regressions.getString(0).startsWith("latency-ms.p50"));
+  }
+
+  /**
+   * Tests that any additional failure is a regression, and that fewer failures are none.
+   */
+  @Test
+  public void testFailureRegression() {
+    JSONObject comparison = PdfActBench.compare(this.baseline, createReport(100, 2), 10);
+    JSONArray regressions = comparison.getJSONArray("regressions");
+    assertEquals(1, regressions.length());
+    assertEquals("num-failures (1 -> 2)", regressions.getString(0));
+
+    comparison = PdfActBench.compare(this.baseline, createReport(100, 0), 10);
+    assertEquals(0, comparison.getJSONArray("regressions").length());
+  }
+
+  /**
+   * Tests that the failures of a baseline without the number of failures are counted.
+   */
+  @Test
+  public void testFailuresOfOldBaseline() {
+    this.baseline.remove("num-failures");
+    JSONObject comparison = PdfActBench.compare(this.baseline, createReport(100, 2), 10);
+    assertEquals(1, comparison.getJSONArray("regressions").length());
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Creates a report with the given median latency and the given number of failed files.
+   *
+   * @param p50         The median latency, in milliseconds.
+   * @param numFailures The number of failed files.
+   *
+   * @return The created report.
+   */
+  protected JSONObject createReport(double p50, int numFailures) {
+    JSONObject latencies = new JSONObject();
+    latencies.put("p50", p50);
+
+    JSONArray failures = new JSONArray();
+    for (int i = 0; i < numFailures; i++) {
+      JSONObject failure = new JSONObject();
+      failure.put("file", "file-" + i + ".pdf");
+      failure.put("error", "Couldn't parse the file.");
+      failures.put(failure);
+    }
+
+    JSONObject report = new JSONObject();
+    report.put("documents", 10);
+    report.put("pages", 100);
+    report.put("latency-ms", latencies);
+    report.put("num-failures", numFailures);
+    report.put("failures", failures);
+    return report;
+  }
+}
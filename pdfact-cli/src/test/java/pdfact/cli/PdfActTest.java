@@ -0,0 +1,81 @@
+package pdfact.cli;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.Before;
+import org.junit.Test;
+import pdfact.core.model.Document;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * A class that tests the parsing of PDF documents given in memory or as a stream.
+ */
+public class PdfActTest {
+  /**
+   * The path to the PDF document to parse.
+   */
+  protected static final Path PDF_PATH = Paths.get("src/test/resources/ACL_2004.pdf");
+
+  /**
+   * The content of the PDF document to parse.
+   */
+  protected byte[] content;
+
+  /**
+   * Reads the PDF document to parse.
+   *
+   * @throws IOException If the PDF document couldn't be read.
+   */
+  @Before
+  public void setup() throws IOException {
+    this.content = Files.readAllBytes(PDF_PATH);
+  }
+
+  /**
+   * Tests that a document given in memory doesn't hold its content after parsing.
+   *
+   * @throws PdfActException If the PDF document couldn't be parsed.
+   */
+  @Test
+  public void testReleaseContent() throws PdfActException {
+    Document pdf = new PdfAct().parse(this.content);
+
+    assertFalse(pdf.getPages().isEmpty());
+    assertNull(pdf.getContent());
+    assertFalse(pdf.hasPath());
+  }
+
+  /**
+   * Tests that a document given as a stream doesn't hold the stream after parsing.
+   *
+   * @throws PdfActException If the PDF document couldn't be parsed.
+   */
+  @Test
+  public void testReleaseStream() throws PdfActException {
+    Document pdf = new PdfAct().parse(new ByteArrayInputStream(this.content));
+
+    assertFalse(pdf.getPages().isEmpty());
+    assertNull(pdf.getStream());
+    assertFalse(pdf.hasPath());
+  }
+
+  /**
+   * Tests that a document given by a path keeps its path after parsing.
+   *
+   * @throws PdfActException If the PDF document couldn't be parsed.
+   */
+  @Test
+  public void testKeepPath() throws PdfActException {
+    Document pdf = new PdfAct().parse(PDF_PATH.toString());
+
+    assertFalse(pdf.getPages().isEmpty());
+    assertTrue(pdf.hasPath());
+  }
+}
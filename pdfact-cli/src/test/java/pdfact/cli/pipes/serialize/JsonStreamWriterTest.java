@@ -0,0 +1,188 @@
+package pdfact.cli.pipes.serialize;
+
+import static org.junit.Assert.assertEquals;
+import static pdfact.core.PdfActCoreSettings.DEFAULT_ENCODING;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import pdfact.cli.PdfAct;
+import pdfact.cli.model.ExtractionUnit;
+import pdfact.core.model.Document;
+import pdfact.core.model.SemanticRole;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * A class that tests that the JSON written incrementally by a {@link JsonStreamWriter} is the
+ * same as the JSON written by {@link JSONObject#toString(int)} for the complete object.
+ */
+public class JsonStreamWriterTest {
+  /**
+   * The PDF document to serialize.
+   */
+  protected static Document pdf;
+
+  /**
+   * Parses the PDF document to serialize.
+   *
+   * @throws PdfActException If the PDF document couldn't be parsed.
+   */
+  @BeforeClass
+  public static void setup() throws PdfActException {
+    pdf = new PdfAct().parse("src/test/resources/ACL_2004.pdf");
+  }
+
+  /**
+   * Tests objects with no, one and multiple keys, and arrays with no, one and multiple elements.
+   *
+   * @throws IOException If writing failed.
+   */
+  @Test
+  public void testParity() throws IOException {
+    for (int indentFactor : new int[] { 0, 2 }) {
+      assertParity(new JSONObject(), indentFactor);
+      assertParity(createObject(0), indentFactor);
+      assertParity(createObject(1), indentFactor);
+      assertParity(createObject(5), indentFactor);
+
+      JSONObject nested = new JSONObject();
+      nested.put("string", "A \"quoted\" string with a line\nbreak and a </tag>.");
+      nested.put("array", createArray(2));
+      nested.put("number", 1.5);
+      JSONObject object = createObject(3);
+      object.put("nested", nested);
+      assertParity(object, indentFactor);
+    }
+  }
+
+  /**
+   * Tests that the streamed serialization of a document is the same as the serialization built
+   * as a complete JSON object, with the sections put into the object in the order of the
+   * extraction units.
+   *
+   * @throws PdfActException If the document couldn't be serialized.
+   */
+  @Test
+  public void testSerializerParity() throws PdfActException {
+    Set<ExtractionUnit> units = EnumSet.allOf(ExtractionUnit.class);
+    Set<SemanticRole> roles = new HashSet<>(Arrays.asList(SemanticRole.values()));
+
+    PdfJsonSerializer serializer = new PdfJsonSerializer(units, roles);
+    String streamed = new String(serializer.serialize(pdf), DEFAULT_ENCODING);
+
+    PdfJsonSerializer treeSerializer = new PdfJsonSerializer(units, roles);
+    JSONObject tree = new JSONObject();
+    for (ExtractionUnit unit : units) {
+      treeSerializer.forEachElement(pdf, unit, treeSerializer::collectFontAndColor);
+    }
+    for (ExtractionUnit unit : units) {
+      String sectionKey = treeSerializer.getSectionKey(unit);
+      if (sectionKey != null) {
+        JSONArray elements = new JSONArray();
+        treeSerializer.forEachElement(pdf, unit,
+            e -> elements.put(treeSerializer.serializeElement(unit, e)));
+        tree.put(sectionKey, elements);
+      }
+    }
+    tree.put(PdfSerializerConstants.FONTS, treeSerializer.serializeFonts(treeSerializer.usedFonts));
+    tree.put(PdfSerializerConstants.COLORS,
+        treeSerializer.serializeColors(treeSerializer.usedColors));
+    tree.put(PdfSerializerConstants.PAGES, treeSerializer.serializePages(pdf.getPages()));
+
+    assertEquals(tree.toString(2), streamed);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Writes the given object by a {@link JsonStreamWriter}, with its keys in the order of the
+   * object and the elements of arrays of objects written one by one, and checks that the result
+   * is the same as the result of {@link JSONObject#toString(int)}.
+   *
+   * @param object       The object to write.
+   * @param indentFactor The number of spaces to add to each level of indentation.
+   *
+   * @throws IOException If writing failed.
+   */
+  protected void assertParity(JSONObject object, int indentFactor) throws IOException {
+    StringWriter writer = new StringWriter();
+    JsonStreamWriter json = new JsonStreamWriter(writer, indentFactor);
+    json.beginObject(object.length());
+    for (String key : object.keySet()) {
+      json.key(key);
+      Object value = object.get(key);
+      if (value instanceof JSONArray && isArrayOfObjects((JSONArray) value)) {
+        json.beginArray();
+        for (Object element : (JSONArray) value) {
+          json.arrayElement((JSONObject) element);
+        }
+        json.endArray();
+      } else if (value instanceof JSONArray) {
+        json.value((JSONArray) value);
+      } else {
+        json.value((JSONObject) value);
+      }
+    }
+    json.endObject();
+
+    assertEquals(object.toString(indentFactor), writer.toString());
+  }
+
+  /**
+   * Returns true if the given array contains only objects.
+   *
+   * @param array The array.
+   *
+   * @return True if the given array contains only objects; false otherwise.
+   */
+  protected boolean isArrayOfObjects(JSONArray array) {
+    for (Object element : array) {
+      if (!(element instanceof JSONObject)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Creates an object with the given number of keys, whose values are arrays with an increasing
+   * number of objects.
+   *
+   * @param numKeys The number of keys.
+   *
+   * @return The created object.
+   */
+  protected JSONObject createObject(int numKeys) {
+    JSONObject object = new JSONObject();
+    for (int i = 0; i < numKeys; i++) {
+      object.put("key-" + i, createArray(i));
+    }
+    return object;
+  }
+
+  /**
+   * Creates an array with the given number of objects.
+   *
+   * @param numElements The number of objects.
+   *
+   * @return The created array.
+   */
+  protected JSONArray createArray(int numElements) {
+    JSONArray array = new JSONArray();
+    for (int i = 0; i < numElements; i++) {
+      JSONObject element = new JSONObject();
+      element.put("id", i);
+      element.put("text", "element " + i);
+      element.put("positions", new JSONArray().put(new JSONObject().put("page", i)));
+      array.put(element);
+    }
+    return array;
+  }
+}
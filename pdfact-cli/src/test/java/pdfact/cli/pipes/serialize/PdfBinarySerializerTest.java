@@ -0,0 +1,214 @@
+package pdfact.cli.pipes.serialize;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import pdfact.cli.PdfAct;
+import pdfact.cli.model.ExtractionUnit;
+import pdfact.core.model.Color;
+import pdfact.core.model.Document;
+import pdfact.core.model.Element;
+import pdfact.core.model.Font;
+import pdfact.core.model.FontFace;
+import pdfact.core.model.HasText;
+import pdfact.core.model.Position;
+import pdfact.core.model.SemanticRole;
+import pdfact.core.util.binary.BinaryBlock;
+import pdfact.core.util.binary.BinaryReader;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * A class that tests that a PDF document serialized by a {@link PdfBinarySerializer} is read back
+ * unchanged by a {@link BinaryReader}.
+ */
+public class PdfBinarySerializerTest {
+  /**
+   * The PDF document to serialize.
+   */
+  protected static Document pdf;
+
+  /**
+   * The serializer to test.
+   */
+  protected PdfBinarySerializer serializer;
+
+  /**
+   * Parses the PDF document to serialize.
+   *
+   * @throws PdfActException If the PDF document couldn't be parsed.
+   */
+  @BeforeClass
+  public static void setupClass() throws PdfActException {
+    pdf = new PdfAct().parse("src/test/resources/ACL_2004.pdf");
+  }
+
+  /**
+   * Creates the serializer.
+   */
+  @Before
+  public void setup() {
+    Set<ExtractionUnit> units = EnumSet.allOf(ExtractionUnit.class);
+    Set<SemanticRole> roles = new HashSet<>(Arrays.asList(SemanticRole.values()));
+    this.serializer = new PdfBinarySerializer(units, roles);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Tests that the pages and the elements of all serializable units are read back unchanged.
+   *
+   * @throws PdfActException If the document couldn't be serialized.
+   * @throws IOException     If the serialized document couldn't be read.
+   */
+  @Test
+  public void testRoundTrip() throws PdfActException, IOException {
+    BinaryReader reader = new BinaryReader(this.serializer.serialize(pdf));
+
+    assertEquals(pdf.getPages().size(), reader.getPages().size());
+    for (int i = 0; i < pdf.getPages().size(); i++) {
+      assertEquals(pdf.getPages().get(i).getPageNumber(), reader.getPages().get(i).getPageNumber());
+    }
+
+    List<String> expectedUnits = new ArrayList<>();
+    for (ExtractionUnit unit : ExtractionUnit.values()) {
+      if (this.serializer.isSerializable(unit)) {
+        expectedUnits.add(unit.getPluralName());
+        assertBlock(unit, reader.getBlock(unit.getPluralName()));
+      }
+    }
+    assertEquals(expectedUnits, new ArrayList<>(reader.getUnits()));
+    assertNull(reader.getBlock("unknown"));
+  }
+
+  /**
+   * Tests that a file written by the serializer is read back unchanged via memory mapping.
+   *
+   * @throws PdfActException If the document couldn't be serialized.
+   * @throws IOException     If the serialized document couldn't be written or read.
+   */
+  @Test
+  public void testReadFile() throws PdfActException, IOException {
+    byte[] bytes = this.serializer.serialize(pdf);
+    Path file = Files.createTempFile("pdfact", ".bin");
+    try {
+      Files.write(file, bytes);
+      BinaryReader reader = BinaryReader.read(file);
+      BinaryBlock expected = new BinaryReader(bytes).getBlock("words");
+      BinaryBlock actual = reader.getBlock("words");
+      assertEquals(expected.size(), actual.size());
+      for (int i = 0; i < expected.size(); i++) {
+        assertEquals(expected.getText(i), actual.getText(i));
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * Tests that truncated and foreign data are rejected.
+   *
+   * @throws PdfActException If the document couldn't be serialized.
+   */
+  @Test
+  public void testCorruptData() throws PdfActException {
+    byte[] bytes = this.serializer.serialize(pdf);
+
+    assertRejected(Arrays.copyOf(bytes, 10));
+    assertRejected("%PDF-1.4".getBytes());
+
+    byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+    try {
+      BinaryReader reader = new BinaryReader(truncated);
+      for (String unit : reader.getUnits()) {
+        BinaryBlock block = reader.getBlock(unit);
+        for (int i = 0; i < block.size(); i++) {
+          block.getText(i);
+        }
+      }
+      fail("The truncated data wasn't rejected.");
+    } catch (IOException | RuntimeException e) {
+      // Expected.
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Checks that the given block contains the elements of the given unit.
+   *
+   * @param unit  The unit.
+   * @param block The block read back.
+   */
+  protected void assertBlock(ExtractionUnit unit, BinaryBlock block) {
+    List<Element> elements = new ArrayList<>();
+    this.serializer.forEachElement(pdf, unit, elements::add);
+
+    assertEquals(unit.getPluralName(), elements.size(), block.size());
+    for (int i = 0; i < elements.size(); i++) {
+      Element element = elements.get(i);
+
+      List<Position> positions = this.serializer.getPositions(element);
+      assertEquals(positions.size(), block.getNumPositions(i));
+      for (int j = 0; j < positions.size(); j++) {
+        Position position = positions.get(j);
+        assertEquals(position.getPage().getPageNumber(), block.getPageNumber(i, j));
+        float[] expected = { position.getRectangle().getMinX(), position.getRectangle().getMinY(),
+            position.getRectangle().getMaxX(), position.getRectangle().getMaxY() };
+        float[] actual = { block.getMinX(i, j), block.getMinY(i, j), block.getMaxX(i, j),
+            block.getMaxY(i, j) };
+        assertArrayEquals(expected, actual, 0);
+      }
+
+      FontFace fontFace = this.serializer.getFontFace(element);
+      Font font = block.getFont(i);
+      if (fontFace == null) {
+        assertNull(font);
+        assertEquals(0, block.getFontSize(i), 0);
+      } else {
+        assertEquals(fontFace.getFont().getId(), font.getId());
+        assertEquals(fontFace.getFontSize(), block.getFontSize(i), 0);
+      }
+
+      Color color = this.serializer.getColor(element);
+      if (color == null) {
+        assertNull(block.getColor(i));
+      } else {
+        assertEquals(color.getId(), block.getColor(i).getId());
+      }
+
+      assertSame(this.serializer.getRole(element), block.getRole(i));
+
+      String text = element instanceof HasText ? ((HasText) element).getText() : null;
+      assertEquals(text, block.getText(i));
+    }
+  }
+
+  /**
+   * Checks that the given bytes are rejected by the reader.
+   *
+   * @param bytes The bytes to read.
+   */
+  protected void assertRejected(byte[] bytes) {
+    try {
+      new BinaryReader(bytes);
+      fail("The data wasn't rejected.");
+    } catch (IOException e) {
+      // Expected.
+    }
+  }
+}
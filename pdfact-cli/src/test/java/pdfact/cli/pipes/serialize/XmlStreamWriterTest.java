@@ -0,0 +1,141 @@
+package pdfact.cli.pipes.serialize;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A class that tests that the XML written line by line by a {@link XmlStreamWriter} is the same
+ * as the XML built as a list of lines and joined afterwards.
+ */
+public class XmlStreamWriterTest {
+  /**
+   * The writer to which the XML is written.
+   */
+  protected StringWriter writer;
+
+  /**
+   * The XML writer to test.
+   */
+  protected XmlStreamWriter xml;
+
+  /**
+   * The expected lines.
+   */
+  protected List<String> lines;
+
+  /**
+   * Creates the writers.
+   */
+  @Before
+  public void setup() {
+    this.writer = new StringWriter();
+    this.xml = new XmlStreamWriter(this.writer, 2, "\n");
+    this.lines = new ArrayList<>();
+  }
+
+  /**
+   * Tests nested tags and elements, with escaped values.
+   *
+   * @throws IOException If writing failed.
+   */
+  @Test
+  public void testNestedTags() throws IOException {
+    this.xml.start("document", 0);
+    this.xml.start("paragraphs", 1);
+    this.xml.start("paragraph", 2);
+    this.xml.element("role", 3, "body");
+    this.xml.element("text", 3, "A <tag> & \"quotes\" and a ligature ﬁ.");
+    this.xml.end("paragraph", 2);
+    this.xml.end("paragraphs", 1);
+    this.xml.end("document", 0);
+
+    addLine(0, "<document>");
+    addLine(1, "<paragraphs>");
+    addLine(2, "<paragraph>");
+    addLine(3, "<role>body</role>");
+    addLine(3, "<text>A &lt;tag&gt; &amp; &quot;quotes&quot; and a ligature ﬁ.</text>");
+    addLine(2, "</paragraph>");
+    addLine(1, "</paragraphs>");
+    addLine(0, "</document>");
+
+    assertParity();
+  }
+
+  /**
+   * Tests that tags which would enclose nothing are omitted, and that the tags which enclose
+   * something are written, also if they are nested.
+   *
+   * @throws IOException If writing failed.
+   */
+  @Test
+  public void testTagsIfNotEmpty() throws IOException {
+    this.xml.start("document", 0);
+    this.xml.startIfNotEmpty("fonts", 1);
+    this.xml.endIfNotEmpty("fonts", 1);
+    this.xml.startIfNotEmpty("colors", 1);
+    this.xml.startIfNotEmpty("color", 2);
+    this.xml.element("id", 3, "color-0");
+    this.xml.endIfNotEmpty("color", 2);
+    this.xml.startIfNotEmpty("color", 2);
+    this.xml.endIfNotEmpty("color", 2);
+    this.xml.endIfNotEmpty("colors", 1);
+    this.xml.end("document", 0);
+
+    addLine(0, "<document>");
+    addLine(1, "<colors>");
+    addLine(2, "<color>");
+    addLine(3, "<id>color-0</id>");
+    addLine(2, "</color>");
+    addLine(1, "</colors>");
+    addLine(0, "</document>");
+
+    assertParity();
+  }
+
+  /**
+   * Tests levels beyond the indentations computed in advance.
+   *
+   * @throws IOException If writing failed.
+   */
+  @Test
+  public void testDeepLevels() throws IOException {
+    for (int level = 0; level < 40; level++) {
+      this.xml.start("level", level);
+      addLine(level, "<level>");
+    }
+    for (int level = 39; level >= 0; level--) {
+      this.xml.end("level", level);
+      addLine(level, "</level>");
+    }
+
+    assertParity();
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Adds the given line with the indentation of the given level to the expected lines.
+   *
+   * @param level The indentation level.
+   * @param line  The line.
+   */
+  protected void addLine(int level, String line) {
+    char[] indent = new char[2 * level];
+    Arrays.fill(indent, ' ');
+    this.lines.add(new String(indent) + line);
+  }
+
+  /**
+   * Checks that the written XML is equal to the expected lines, joined by the line delimiter.
+   */
+  protected void assertParity() {
+    assertEquals(String.join("\n", this.lines), this.writer.toString());
+  }
+}
@@ -0,0 +1,226 @@
+package pdfact.cli.util.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pdfact.cli.model.ExtractionUnit;
+import pdfact.cli.model.SerializationFormat;
+import pdfact.core.model.SemanticRole;
+
+/**
+ * A class that tests the keys and the eviction of the cache of serializations.
+ */
+public class SerializationCacheTest {
+  /**
+   * The size of the entries created by {@link #createEntry(int)}, in bytes.
+   */
+  protected static final int ENTRY_SIZE = Integer.BYTES + 100;
+
+  /**
+   * The directory of the on-disk tier.
+   */
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * The keys of the entries created by {@link #createEntry(int)}, per index.
+   */
+  protected String[] keys;
+
+  /**
+   * Creates the keys.
+   */
+  @Before
+  public void setup() {
+    this.keys = new String[5];
+    for (int i = 0; i < this.keys.length; i++) {
+      this.keys[i] = SerializationCache.computeKey(new byte[] { (byte) i },
+          SerializationFormat.JSON, null, null);
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Tests that the keys depend on the content and the options, but not on the order of the units
+   * and roles.
+   */
+  @Test
+  public void testKeys() {
+    byte[] content = { 1, 2, 3 };
+    String key = SerializationCache.computeKey(content, SerializationFormat.JSON,
+        Arrays.asList(ExtractionUnit.WORD, ExtractionUnit.PARAGRAPH),
+        Arrays.asList(SemanticRole.TITLE, SemanticRole.BODY_TEXT));
+
+    assertEquals(64, key.length());
+    assertEquals(key, SerializationCache.computeKey(content, SerializationFormat.JSON,
+        EnumSet.of(ExtractionUnit.PARAGRAPH, ExtractionUnit.WORD),
+        Arrays.asList(SemanticRole.BODY_TEXT, SemanticRole.TITLE)));
+    assertEquals(key, SerializationCache.computeKeyOfHash(
+        SerializationCache.newDigest().digest(content), SerializationFormat.JSON,
+        Arrays.asList(ExtractionUnit.WORD, ExtractionUnit.PARAGRAPH),
+        Arrays.asList(SemanticRole.TITLE, SemanticRole.BODY_TEXT)));
+
+    assertNotEquals(key, SerializationCache.computeKey(new byte[] { 1, 2, 4 },
+        SerializationFormat.JSON, Arrays.asList(ExtractionUnit.WORD, ExtractionUnit.PARAGRAPH),
+        Arrays.asList(SemanticRole.TITLE, SemanticRole.BODY_TEXT)));
+    assertNotEquals(key, SerializationCache.computeKey(content, SerializationFormat.XML,
+        Arrays.asList(ExtractionUnit.WORD, ExtractionUnit.PARAGRAPH),
+        Arrays.asList(SemanticRole.TITLE, SemanticRole.BODY_TEXT)));
+    assertNotEquals(key, SerializationCache.computeKey(content, SerializationFormat.JSON,
+        Arrays.asList(ExtractionUnit.WORD), Arrays.asList(SemanticRole.TITLE,
+            SemanticRole.BODY_TEXT)));
+    assertNotEquals(key, SerializationCache.computeKey(content, SerializationFormat.JSON,
+        Arrays.asList(ExtractionUnit.WORD, ExtractionUnit.PARAGRAPH),
+        Arrays.asList(SemanticRole.TITLE, SemanticRole.BODY_TEXT), "compact=true"));
+  }
+
+  /**
+   * Tests that the build of PdfAct is identified, and identified the same on each call.
+   */
+  @Test
+  public void testBuildId() {
+    String buildId = SerializationCache.getBuildId();
+    assertNotEquals(SerializationCache.UNKNOWN_BUILD, buildId);
+    assertEquals(buildId, SerializationCache.computeBuildId());
+  }
+
+  /**
+   * Tests that the least recently used entries are evicted from the in-memory tier.
+   */
+  @Test
+  public void testMemoryEviction() {
+    SerializationCache cache = new SerializationCache(2 * ENTRY_SIZE);
+    cache.put(this.keys[0], createEntry(0));
+    cache.put(this.keys[1], createEntry(1));
+    // Use the first entry, so that the second one is the least recently used.
+    assertNotNull(cache.get(this.keys[0]));
+    cache.put(this.keys[2], createEntry(2));
+
+    assertNotNull(cache.get(this.keys[0]));
+    assertNull(cache.get(this.keys[1]));
+    assertArrayEquals(createEntry(2).getSerialization(),
+        cache.get(this.keys[2]).getSerialization());
+
+    SerializationCache.Statistics stats = cache.getStatistics();
+    assertEquals(1, stats.getNumMemoryEvictions());
+    assertEquals(2, stats.getNumMemoryEntries());
+    assertEquals(2 * ENTRY_SIZE, stats.getMemoryBytes());
+    assertEquals(3, stats.getNumMemoryHits());
+    assertEquals(1, stats.getNumMisses());
+  }
+
+  /**
+   * Tests that an entry larger than the budgets is not stored.
+   */
+  @Test
+  public void testTooLargeEntry() {
+    SerializationCache cache = new SerializationCache(ENTRY_SIZE - 1);
+    cache.put(this.keys[0], createEntry(0));
+
+    assertNull(cache.get(this.keys[0]));
+    assertEquals(0, cache.getStatistics().getMemoryBytes());
+    assertEquals(ENTRY_SIZE - 1 - Integer.BYTES, cache.getMaxSerializationSize());
+  }
+
+  /**
+   * Tests that the least recently used entries are evicted from the on-disk tier, including their
+   * files, and that the remaining entries are taken over by a new cache on the same directory.
+   *
+   * @throws IOException If the directory couldn't be read.
+   */
+  @Test
+  public void testDiskEviction() throws IOException {
+    Path dir = this.folder.getRoot().toPath();
+    SerializationCache cache = new SerializationCache(0, dir, 2 * ENTRY_SIZE);
+    cache.put(this.keys[0], createEntry(0));
+    cache.put(this.keys[1], createEntry(1));
+    cache.put(this.keys[2], createEntry(2));
+
+    assertFalse(Files.exists(dir.resolve(this.keys[0])));
+    assertTrue(Files.exists(dir.resolve(this.keys[1])));
+    assertTrue(Files.exists(dir.resolve(this.keys[2])));
+    assertEquals(1, cache.getStatistics().getNumDiskEvictions());
+    assertEquals(2 * ENTRY_SIZE, cache.getStatistics().getDiskBytes());
+
+    SerializationCache reloaded = new SerializationCache(0, dir, 2 * ENTRY_SIZE);
+    assertEquals(2, reloaded.getStatistics().getNumDiskEntries());
+    assertNull(reloaded.get(this.keys[0]));
+    assertArrayEquals(createEntry(1).getSerialization(),
+        reloaded.get(this.keys[1]).getSerialization());
+    assertEquals(1, reloaded.getStatistics().getNumDiskHits());
+
+    // A smaller budget evicts the least recently used entries on loading.
+    SerializationCache shrunk = new SerializationCache(0, dir, ENTRY_SIZE);
+    assertEquals(1, shrunk.getStatistics().getNumDiskEntries());
+    try (Stream<Path> files = Files.list(dir)) {
+      assertEquals(1, files.count());
+    }
+  }
+
+  /**
+   * Tests that an entry found on disk is promoted to the in-memory tier.
+   */
+  @Test
+  public void testPromotion() {
+    Path dir = this.folder.getRoot().toPath();
+    new SerializationCache(0, dir, 10 * ENTRY_SIZE).put(this.keys[0], createEntry(0));
+
+    SerializationCache cache = new SerializationCache(10 * ENTRY_SIZE, dir, 10 * ENTRY_SIZE);
+    assertNotNull(cache.get(this.keys[0]));
+    assertNotNull(cache.get(this.keys[0]));
+
+    SerializationCache.Statistics stats = cache.getStatistics();
+    assertEquals(1, stats.getNumDiskHits());
+    assertEquals(1, stats.getNumMemoryHits());
+    assertEquals(1, stats.getNumMemoryEntries());
+  }
+
+  /**
+   * Tests that an entry whose file is gone is dropped from the on-disk tier on lookup.
+   *
+   * @throws IOException If the file couldn't be deleted.
+   */
+  @Test
+  public void testMissingFile() throws IOException {
+    Path dir = this.folder.getRoot().toPath();
+    SerializationCache cache = new SerializationCache(0, dir, 10 * ENTRY_SIZE);
+    cache.put(this.keys[0], createEntry(0));
+    Files.delete(dir.resolve(this.keys[0]));
+
+    assertNull(cache.get(this.keys[0]));
+    assertEquals(0, cache.getStatistics().getNumDiskEntries());
+    assertEquals(0, cache.getStatistics().getDiskBytes());
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Creates an entry of {@link #ENTRY_SIZE} bytes, whose serialization is filled with the given
+   * index.
+   *
+   * @param index The index of the entry.
+   *
+   * @return The created entry.
+   */
+  protected SerializationCache.Entry createEntry(int index) {
+    byte[] serialization = new byte[ENTRY_SIZE - Integer.BYTES];
+    Arrays.fill(serialization, (byte) index);
+    return new SerializationCache.Entry(index, serialization);
+  }
+}
@@ -26,6 +26,14 @@ public class PdfActCoreSettings {
 
   // ==============================================================================================
 
+  /**
+   * The maximum number of bytes of a PDF given as a stream to hold in main memory on parsing it.
+   * Any further bytes are buffered in a temporary file, which is deleted when the parsing is done.
+   */
+  public static final long MAX_MAIN_MEMORY_BYTES_PER_PDF_STREAM = 64 * 1024 * 1024;
+
+  // ==============================================================================================
+
   /**
    * The path to the AFM file.
    */
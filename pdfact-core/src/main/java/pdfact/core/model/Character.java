@@ -34,6 +34,16 @@ public class Character extends Element implements HasText, HasPosition, HasFontF
    */
   protected int extractionRank;
 
+  /**
+   * The columnar table to which this character is attached (or null if there is no such table).
+   */
+  protected CharacterTable characterTable;
+
+  /**
+   * The row of this character in the columnar table.
+   */
+  protected int characterTableRow = -1;
+
   // ==============================================================================================
 
   public String getText() {
@@ -42,6 +52,7 @@ public class Character extends Element implements HasText, HasPosition, HasFontF
 
   public void setText(String text) {
     this.text = text;
+    invalidateCharacterTable();
   }
 
   // ==============================================================================================
@@ -52,6 +63,7 @@ public class Character extends Element implements HasText, HasPosition, HasFontF
 
   public void setPosition(Position position) {
     this.position = position;
+    invalidateCharacterTable();
   }
 
   // ==============================================================================================
@@ -62,6 +74,7 @@ public class Character extends Element implements HasText, HasPosition, HasFontF
 
   public void setFontFace(FontFace fontFace) {
     this.fontFace = fontFace;
+    invalidateCharacterTable();
   }
 
   // ==============================================================================================
@@ -72,6 +85,7 @@ public class Character extends Element implements HasText, HasPosition, HasFontF
 
   public void setColor(Color color) {
     this.color = color;
+    invalidateCharacterTable();
   }
 
   // ==============================================================================================
@@ -82,6 +96,50 @@ public class Character extends Element implements HasText, HasPosition, HasFontF
 
   public void setExtractionRank(int num) {
     this.extractionRank = num;
+    invalidateCharacterTable();
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the columnar table to which this character is attached.
+   * 
+   * @return The columnar table or null if this character is not attached to any table.
+   */
+  public CharacterTable getCharacterTable() {
+    return this.characterTable;
+  }
+
+  /**
+   * Returns the row of this character in the columnar table to which it is attached.
+   * 
+   * @return The row of this character or -1 if this character is not attached to any table.
+   */
+  public int getCharacterTableRow() {
+    return this.characterTableRow;
+  }
+
+  /**
+   * Attaches this character to the given row of the given columnar table.
+   * 
+   * @param table The table to attach this character to.
+   * @param row   The row of this character in the table.
+   */
+  void attachToCharacterTable(CharacterTable table, int row) {
+    this.characterTable = table;
+    this.characterTableRow = row;
+  }
+
+  /**
+   * Invalidates the columnar table to which this character is attached, because the values
+   * stored in the table do not reflect this character anymore.
+   */
+  protected void invalidateCharacterTable() {
+    if (this.characterTable != null) {
+      this.characterTable.invalidate();
+      this.characterTable = null;
+      this.characterTableRow = -1;
+    }
   }
 
   // ==============================================================================================
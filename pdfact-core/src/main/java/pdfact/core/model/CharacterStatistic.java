@@ -1,7 +1,7 @@
 package pdfact.core.model;
 
 import pdfact.core.util.counter.FloatCounter;
-import pdfact.core.util.counter.ObjectCounter;
+import pdfact.core.util.counter.OrdinalCounter;
 
 /**
  * A statistic about a collection of characters.
@@ -22,7 +22,7 @@ public class CharacterStatistic {
   /**
    * The font face frequencies.
    */
-  protected ObjectCounter<FontFace> fontFaceFrequencies;
+  protected OrdinalCounter<FontFace> fontFaceFrequencies;
 
   /**
    * The font size frequencies.
@@ -32,7 +32,7 @@ public class CharacterStatistic {
   /**
    * The color frequencies.
    */
-  protected ObjectCounter<Color> colorFrequencies;
+  protected OrdinalCounter<Color> colorFrequencies;
 
   /**
    * The smallest minX value.
@@ -153,7 +153,7 @@ public class CharacterStatistic {
    * 
    * @return The font face frequencies of the characters.
    */
-  public ObjectCounter<FontFace> getFontFaceFrequencies() {
+  public OrdinalCounter<FontFace> getFontFaceFrequencies() {
     return this.fontFaceFrequencies;
   }
 
@@ -162,7 +162,7 @@ public class CharacterStatistic {
    * 
    * @param freqs The font face frequencies of the characters.
    */
-  public void setFontFaceFrequencies(ObjectCounter<FontFace> freqs) {
+  public void setFontFaceFrequencies(OrdinalCounter<FontFace> freqs) {
     this.fontFaceFrequencies = freqs;
   }
 
@@ -221,7 +221,7 @@ public class CharacterStatistic {
    * 
    * @return The color frequencies of the characters.
    */
-  public ObjectCounter<Color> getColorFrequencies() {
+  public OrdinalCounter<Color> getColorFrequencies() {
     return this.colorFrequencies;
   }
 
@@ -230,7 +230,7 @@ public class CharacterStatistic {
    * 
    * @param freqs The color frequencies of the characters.
    */
-  public void setColorFrequencies(ObjectCounter<Color> freqs) {
+  public void setColorFrequencies(OrdinalCounter<Color> freqs) {
     this.colorFrequencies = freqs;
   }
   // ==============================================================================================
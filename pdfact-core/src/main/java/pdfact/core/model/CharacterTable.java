@@ -0,0 +1,404 @@
+package pdfact.core.model;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A columnar (struct-of-arrays) representation of the characters of a page. Instead of following
+ * the references from a character to its position, its rectangle and its font face, the
+ * coordinates, font faces, colors, extraction ranks and texts of all characters are stored in
+ * primitive arrays, indexed by the row of the character in this table.
+ *
+ * <p>
+ * A table is a snapshot of the characters at the time it was created. Each character added to a
+ * table is attached to it (see {@link Character#getCharacterTable()}). Modifying an attached
+ * character via one of its setters invalidates the table; consumers must check
+ * {@link #isValid()} before reading from it. The positions of attached characters (and their
+ * rectangles) are treated as immutable: the table copies the coordinates and isn't notified when
+ * a rectangle is modified in place, so an attached character must be moved via
+ * {@link Character#setPosition(Position)} instead.
+ *
+ * @author Claudius Korzen
+ */
+public class CharacterTable {
+  /**
+   * The characters of this table, per row.
+   */
+  protected final Character[] characters;
+
+  /**
+   * The minX values of the characters, per row.
+   */
+  protected final float[] minXs;
+
+  /**
+   * The minY values of the characters, per row.
+   */
+  protected final float[] minYs;
+
+  /**
+   * The maxX values of the characters, per row.
+   */
+  protected final float[] maxXs;
+
+  /**
+   * The maxY values of the characters, per row.
+   */
+  protected final float[] maxYs;
+
+  /**
+   * The ordinals of the font faces of the characters (indexes into {@link #fontFaces}), per row.
+   */
+  protected final int[] fontFaceOrdinals;
+
+  /**
+   * The ordinals of the colors of the characters (indexes into {@link #colors}), per row.
+   */
+  protected final int[] colorOrdinals;
+
+  /**
+   * The extraction ranks of the characters, per row.
+   */
+  protected final int[] extractionRanks;
+
+  /**
+   * The texts of all characters, packed into a single buffer.
+   */
+  protected final char[] textBuffer;
+
+  /**
+   * The offsets of the texts in the text buffer. The text of the character in row i is stored in
+   * textBuffer[textOffsets[i], textOffsets[i + 1]).
+   */
+  protected final int[] textOffsets;
+
+  /**
+   * The distinct font faces of the characters, per ordinal.
+   */
+  protected final List<FontFace> fontFaces;
+
+  /**
+   * The font sizes of the distinct font faces, per ordinal.
+   */
+  protected final float[] fontSizes;
+
+  /**
+   * The distinct colors of the characters, per ordinal.
+   */
+  protected final List<Color> colors;
+
+  /**
+   * The boolean flag that indicates whether this table still reflects its characters.
+   */
+  protected boolean isValid = true;
+
+  // ==============================================================================================
+
+  /**
+   * Creates a new character table from the given characters and attaches the characters to it.
+   *
+   * @param characters The characters to store in the table.
+   */
+  public CharacterTable(List<Character> characters) {
+    int size = characters.size();
+
+    this.characters = new Character[size];
+    this.minXs = new float[size];
+    this.minYs = new float[size];
+    this.maxXs = new float[size];
+    this.maxYs = new float[size];
+    this.fontFaceOrdinals = new int[size];
+    this.colorOrdinals = new int[size];
+    this.extractionRanks = new int[size];
+    this.textOffsets = new int[size + 1];
+    this.fontFaces = new ArrayList<>();
+    this.colors = new ArrayList<>();
+
+    // Font faces and colors are shared between characters, so encode them by identity.
+    Map<FontFace, Integer> fontFaceOrdinals = new IdentityHashMap<>();
+    Map<Color, Integer> colorOrdinals = new IdentityHashMap<>();
+
+    int textLength = 0;
+    for (int i = 0; i < size; i++) {
+      Character character = characters.get(i);
+      Rectangle rect = character.getPosition().getRectangle();
+
+      this.characters[i] = character;
+      this.minXs[i] = rect.getMinX();
+      this.minYs[i] = rect.getMinY();
+      this.maxXs[i] = rect.getMaxX();
+      this.maxYs[i] = rect.getMaxY();
+      this.fontFaceOrdinals[i] = getOrdinal(character.getFontFace(), fontFaceOrdinals,
+          this.fontFaces);
+      this.colorOrdinals[i] = getOrdinal(character.getColor(), colorOrdinals, this.colors);
+      this.extractionRanks[i] = character.getExtractionRank();
+
+      String text = character.getText();
+      textLength += text != null ? text.length() : 0;
+      this.textOffsets[i + 1] = textLength;
+    }
+
+    this.textBuffer = new char[textLength];
+    for (int i = 0; i < size; i++) {
+      String text = this.characters[i].getText();
+      if (text != null) {
+        text.getChars(0, text.length(), this.textBuffer, this.textOffsets[i]);
+      }
+    }
+
+    this.fontSizes = new float[this.fontFaces.size()];
+    for (int i = 0; i < this.fontSizes.length; i++) {
+      FontFace fontFace = this.fontFaces.get(i);
+      this.fontSizes[i] = fontFace != null ? fontFace.getFontSize() : Float.NaN;
+    }
+
+    // Attach the characters only after the table was completely filled.
+    for (int i = 0; i < size; i++) {
+      this.characters[i].attachToCharacterTable(this, i);
+    }
+  }
+
+  /**
+   * Returns the ordinal of the given object, registering the object if it is not known yet.
+   *
+   * @param object   The object to process.
+   * @param ordinals The ordinals of the already known objects.
+   * @param objects  The already known objects, per ordinal.
+   *
+   * @return The ordinal of the given object.
+   */
+  protected static <T> int getOrdinal(T object, Map<T, Integer> ordinals, List<T> objects) {
+    Integer ordinal = ordinals.get(object);
+    if (ordinal == null) {
+      ordinal = objects.size();
+      ordinals.put(object, ordinal);
+      objects.add(object);
+    }
+    return ordinal;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the number of rows (characters) in this table.
+   *
+   * @return The number of rows in this table.
+   */
+  public int size() {
+    return this.characters.length;
+  }
+
+  /**
+   * Returns the character in the given row.
+   *
+   * @param row The row.
+   *
+   * @return The character in the given row.
+   */
+  public Character getCharacter(int row) {
+    return this.characters[row];
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the minX value of the character in the given row.
+   *
+   * @param row The row.
+   *
+   * @return The minX value of the character in the given row.
+   */
+  public float getMinX(int row) {
+    return this.minXs[row];
+  }
+
+  /**
+   * Returns the minY value of the character in the given row.
+   *
+   * @param row The row.
+   *
+   * @return The minY value of the character in the given row.
+   */
+  public float getMinY(int row) {
+    return this.minYs[row];
+  }
+
+  /**
+   * Returns the maxX value of the character in the given row.
+   *
+   * @param row The row.
+   *
+   * @return The maxX value of the character in the given row.
+   */
+  public float getMaxX(int row) {
+    return this.maxXs[row];
+  }
+
+  /**
+   * Returns the maxY value of the character in the given row.
+   *
+   * @param row The row.
+   *
+   * @return The maxY value of the character in the given row.
+   */
+  public float getMaxY(int row) {
+    return this.maxYs[row];
+  }
+
+  /**
+   * Returns the width of the character in the given row.
+   *
+   * @param row The row.
+   *
+   * @return The width of the character in the given row.
+   */
+  public float getWidth(int row) {
+    return this.maxXs[row] - this.minXs[row];
+  }
+
+  /**
+   * Returns the height of the character in the given row.
+   *
+   * @param row The row.
+   *
+   * @return The height of the character in the given row.
+   */
+  public float getHeight(int row) {
+    return this.maxYs[row] - this.minYs[row];
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the ordinal of the font face of the character in the given row.
+   *
+   * @param row The row.
+   *
+   * @return The ordinal of the font face of the character in the given row.
+   */
+  public int getFontFaceOrdinal(int row) {
+    return this.fontFaceOrdinals[row];
+  }
+
+  /**
+   * Returns the font face of the character in the given row.
+   *
+   * @param row The row.
+   *
+   * @return The font face of the character in the given row.
+   */
+  public FontFace getFontFace(int row) {
+    return this.fontFaces.get(this.fontFaceOrdinals[row]);
+  }
+
+  /**
+   * Returns the font size of the character in the given row.
+   *
+   * @param row The row.
+   *
+   * @return The font size of the character in the given row.
+   */
+  public float getFontSize(int row) {
+    return this.fontSizes[this.fontFaceOrdinals[row]];
+  }
+
+  /**
+   * Returns the distinct font faces of this table, per ordinal.
+   *
+   * @return The distinct font faces of this table.
+   */
+  public List<FontFace> getFontFaces() {
+    return this.fontFaces;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the ordinal of the color of the character in the given row.
+   *
+   * @param row The row.
+   *
+   * @return The ordinal of the color of the character in the given row.
+   */
+  public int getColorOrdinal(int row) {
+    return this.colorOrdinals[row];
+  }
+
+  /**
+   * Returns the color of the character in the given row.
+   *
+   * @param row The row.
+   *
+   * @return The color of the character in the given row.
+   */
+  public Color getColor(int row) {
+    return this.colors.get(this.colorOrdinals[row]);
+  }
+
+  /**
+   * Returns the distinct colors of this table, per ordinal.
+   *
+   * @return The distinct colors of this table.
+   */
+  public List<Color> getColors() {
+    return this.colors;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the extraction rank of the character in the given row.
+   *
+   * @param row The row.
+   *
+   * @return The extraction rank of the character in the given row.
+   */
+  public int getExtractionRank(int row) {
+    return this.extractionRanks[row];
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the text of the character in the given row.
+   *
+   * @param row The row.
+   *
+   * @return The text of the character in the given row.
+   */
+  public String getText(int row) {
+    int offset = this.textOffsets[row];
+    return new String(this.textBuffer, offset, this.textOffsets[row + 1] - offset);
+  }
+
+  /**
+   * Returns the length of the text of the character in the given row.
+   *
+   * @param row The row.
+   *
+   * @return The length of the text of the character in the given row.
+   */
+  public int getTextLength(int row) {
+    return this.textOffsets[row + 1] - this.textOffsets[row];
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns true if this table still reflects its characters.
+   *
+   * @return True if this table still reflects its characters; false otherwise.
+   */
+  public boolean isValid() {
+    return this.isValid;
+  }
+
+  /**
+   * Marks this table as invalid, for example because one of its characters was modified.
+   */
+  public void invalidate() {
+    this.isValid = false;
+  }
+}
@@ -12,7 +12,7 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  * 
  * @author Claudius Korzen
  */
-public class Color extends Resource {
+public class Color extends Resource implements HasOrdinal {
   /**
    * The name of this color.
    */
@@ -23,6 +23,11 @@ public class Color extends Resource {
    */
   protected int[] rgb;
 
+  /**
+   * The ordinal of this color (assigned on interning).
+   */
+  protected int ordinal = NO_ORDINAL;
+
   // ==============================================================================================
 
   /**
@@ -110,6 +115,18 @@ public class Color extends Resource {
 
   // ==============================================================================================
 
+  @Override
+  public int getOrdinal() {
+    return this.ordinal;
+  }
+
+  @Override
+  public void setOrdinal(int ordinal) {
+    this.ordinal = ordinal;
+  }
+
+  // ==============================================================================================
+
   @Override
   public String toString() {
     return "Color(" + Arrays.toString(this.rgb) + ")";
@@ -1,13 +1,17 @@
 package pdfact.core.model;
 
 import java.io.File;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.pdfbox.io.RandomAccessRead;
 import pdfact.core.util.list.ElementList;
+import pdfact.core.util.pipeline.PipelineReport;
 
 /**
  * A document.
@@ -20,6 +24,22 @@ public class Document implements HasParagraphs {
    */
   protected Path path;
 
+  /**
+   * The content of the underlying PDF, if it is given in memory instead of by a path.
+   */
+  protected byte[] content;
+
+  /**
+   * The stream to read the underlying PDF from, if it is given as a stream instead of by a path.
+   */
+  protected InputStream stream;
+
+  /**
+   * The source to read the underlying PDF from, if it is given as a PDFBox source instead of by
+   * a path.
+   */
+  protected RandomAccessRead source;
+
   /**
    * The pages of this document.
    */
@@ -40,6 +60,16 @@ public class Document implements HasParagraphs {
    */
   protected TextLineStatistic textLineStatistic;
 
+  /**
+   * The report about the execution of the pipeline that processed this document.
+   */
+  protected PipelineReport pipelineReport;
+
+  /**
+   * The number of element ids assigned so far.
+   */
+  protected final AtomicInteger numElementIds = new AtomicInteger();
+
   // ==============================================================================================
 
   /**
@@ -71,6 +101,40 @@ public class Document implements HasParagraphs {
     this.path = path;
   }
 
+  /**
+   * Creates a new document from the given content of a PDF, which is parsed in memory.
+   * 
+   * @param content The content of the PDF.
+   */
+  public Document(byte[] content) {
+    this((Path) null);
+    this.content = content;
+  }
+
+  /**
+   * Creates a new document from the given stream of a PDF. The stream is read on parsing the
+   * document, but not closed. Parts of the PDF that exceed the memory limit given in
+   * {@link pdfact.core.PdfActCoreSettings} are buffered in a temporary file, which is deleted
+   * when the parsing is done. The document drops its reference to the stream after parsing.
+   * 
+   * @param stream The stream to read the PDF from.
+   */
+  public Document(InputStream stream) {
+    this((Path) null);
+    this.stream = stream;
+  }
+
+  /**
+   * Creates a new document from the given PDFBox source of a PDF. The source is read on parsing
+   * the document and closed when the parsing is done.
+   * 
+   * @param source The source to read the PDF from.
+   */
+  public Document(RandomAccessRead source) {
+    this((Path) null);
+    this.source = source;
+  }
+
   // ==============================================================================================
 
   /**
@@ -111,6 +175,56 @@ public class Document implements HasParagraphs {
     this.path = path;
   }
 
+  /**
+   * Returns true if this document is given by a path to a file, false if it is given in memory,
+   * as a stream or as a PDFBox source.
+   * 
+   * @return True if this document is given by a path to a file, false otherwise.
+   */
+  public boolean hasPath() {
+    return this.path != null;
+  }
+
+  /**
+   * Drops the references to the content, the stream and the PDFBox source of the underlying PDF,
+   * so that the input can be garbage collected while the document is processed further. Called
+   * once the PDF is parsed; the path to the underlying file (if any) is kept.
+   */
+  public void releaseInput() {
+    this.content = null;
+    this.stream = null;
+    this.source = null;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the content of the underlying PDF, if it is given in memory.
+   * 
+   * @return The content of the underlying PDF, or null if it is not given in memory.
+   */
+  public byte[] getContent() {
+    return this.content;
+  }
+
+  /**
+   * Returns the stream to read the underlying PDF from, if it is given as a stream.
+   * 
+   * @return The stream to read the PDF from, or null if it is not given as a stream.
+   */
+  public InputStream getStream() {
+    return this.stream;
+  }
+
+  /**
+   * Returns the PDFBox source to read the underlying PDF from, if it is given as such.
+   * 
+   * @return The source to read the PDF from, or null if it is not given as a PDFBox source.
+   */
+  public RandomAccessRead getSource() {
+    return this.source;
+  }
+
   // ==============================================================================================
 
   /**
@@ -228,6 +342,26 @@ public class Document implements HasParagraphs {
 
   // ==============================================================================================
 
+  /**
+   * Returns the report about the execution of the pipeline that processed this document.
+   * 
+   * @return The report, or null if this document wasn't processed by a pipeline yet.
+   */
+  public PipelineReport getPipelineReport() {
+    return this.pipelineReport;
+  }
+
+  /**
+   * Sets the report about the execution of the pipeline that processed this document.
+   * 
+   * @param report The report.
+   */
+  public void setPipelineReport(PipelineReport report) {
+    this.pipelineReport = report;
+  }
+
+  // ==============================================================================================
+
   @Override
   public String toString() {
     return "PdfDocument(" + this.path + ")";
@@ -235,6 +369,19 @@ public class Document implements HasParagraphs {
 
   // ==============================================================================================
 
+  /**
+   * Assigns the next id of this document to the given element. The ids are unique within this
+   * document. They are assigned in the order in which the elements are created, except for the
+   * elements of different pages created in parallel.
+   * 
+   * @param element The element to which an id should be assigned.
+   */
+  public void assignElementId(Element element) {
+    element.elementId = this.numElementIds.getAndIncrement();
+  }
+
+  // ==============================================================================================
+
   @Override
   public boolean equals(Object other) {
     if (other instanceof Document) {
@@ -4,7 +4,34 @@ package pdfact.core.model;
  * Any visual element of a document (e.g., a character, or a shape, or a
  * figure).
  * 
+ * <p>
+ * Each element created by the pipeline gets an id that is unique within its document and stable
+ * for the lifetime of the element (see {@link Document#assignElementId(Element)}). The ids are
+ * meant for identity-based lookups (see {@link pdfact.core.util.list.ElementList}), because the
+ * equals() and hashCode() methods of the subclasses compare the elements by value, which is
+ * expensive and intended for tests and serialization comparisons only.
+ * 
  * @author Claudius Korzen
  */
 public class Element {
+  /**
+   * The id of an element that wasn't assigned an id.
+   */
+  public static final int NO_ELEMENT_ID = -1;
+
+  /**
+   * The id of this element.
+   */
+  protected int elementId = NO_ELEMENT_ID;
+
+  // ==============================================================================================
+
+  /**
+   * Returns the id of this element.
+   * 
+   * @return The id of this element or NO_ELEMENT_ID if this element wasn't assigned an id.
+   */
+  public int getElementId() {
+    return this.elementId;
+  }
 }
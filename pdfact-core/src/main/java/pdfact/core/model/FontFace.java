@@ -9,7 +9,7 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  * 
  * @author Claudius Korzen
  */
-public class FontFace {
+public class FontFace implements HasOrdinal {
   /**
    * The font.
    */
@@ -20,6 +20,11 @@ public class FontFace {
    */
   protected float fontSize;
 
+  /**
+   * The ordinal of this font face (assigned on interning).
+   */
+  protected int ordinal = NO_ORDINAL;
+
   // ==============================================================================================
 
   /**
@@ -75,6 +80,18 @@ public class FontFace {
 
   // ==============================================================================================
 
+  @Override
+  public int getOrdinal() {
+    return this.ordinal;
+  }
+
+  @Override
+  public void setOrdinal(int ordinal) {
+    this.ordinal = ordinal;
+  }
+
+  // ==============================================================================================
+
   @Override
   public String toString() {
     return "FontFace(" + this.font + ", " + this.fontSize + ")";
@@ -0,0 +1,28 @@
+package pdfact.core.model;
+
+/**
+ * An interface that is implemented by interned objects (like font faces and colors) that are
+ * numbered consecutively, such that they can be used as indexes into arrays.
+ *
+ * @author Claudius Korzen
+ */
+public interface HasOrdinal {
+  /**
+   * The ordinal of objects that were not numbered.
+   */
+  int NO_ORDINAL = -1;
+
+  /**
+   * Returns the ordinal of this object.
+   *
+   * @return The ordinal of this object or {@link #NO_ORDINAL} if the object was not numbered.
+   */
+  int getOrdinal();
+
+  /**
+   * Sets the ordinal of this object.
+   *
+   * @param ordinal The ordinal of this object.
+   */
+  void setOrdinal(int ordinal);
+}
@@ -3,6 +3,7 @@ package pdfact.core.model;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
+import pdfact.core.util.index.SpatialIndex;
 import pdfact.core.util.list.ElementList;
 
 /**
@@ -18,16 +19,36 @@ public class Page implements HasCharacters, HasFigures, HasShapes, HasTextAreas,
    */
   protected ElementList<Character> characters;
 
+  /**
+   * The columnar table of the characters of this page (built via buildCharacterTable()).
+   */
+  protected CharacterTable characterTable;
+
+  /**
+   * The spatial index of the characters of this page (computed on demand).
+   */
+  protected SpatialIndex<Character> characterIndex;
+
   /**
    * The figures of this page.
    */
   protected ElementList<Figure> figures;
 
+  /**
+   * The spatial index of the figures of this page (computed on demand).
+   */
+  protected SpatialIndex<Figure> figureIndex;
+
   /**
    * The shapes of this page.
    */
   protected ElementList<Shape> shapes;
 
+  /**
+   * The spatial index of the shapes of this page (computed on demand).
+   */
+  protected SpatialIndex<Shape> shapeIndex;
+
   /**
    * The text areas of this page.
    */
@@ -112,16 +133,60 @@ public class Page implements HasCharacters, HasFigures, HasShapes, HasTextAreas,
   @Override
   public void setCharacters(ElementList<Character> characters) {
     this.characters = characters;
+    this.characterTable = null;
   }
 
   @Override
   public void addCharacters(ElementList<Character> characters) {
     this.characters.addAll(characters);
+    this.characterTable = null;
   }
 
   @Override
   public void addCharacter(Character character) {
     this.characters.add(character);
+    this.characterTable = null;
+  }
+
+  /**
+   * Creates the columnar table of the current characters of this page and attaches the characters
+   * to it. Call this method once the characters of this page are final, such that the statistics
+   * computed afterwards can be read from the table.
+   * 
+   * @return The created table.
+   */
+  public CharacterTable buildCharacterTable() {
+    this.characterTable = new CharacterTable(this.characters);
+    return this.characterTable;
+  }
+
+  /**
+   * Returns the columnar table of the characters of this page.
+   * 
+   * @return The columnar table or null if no table was built yet or if the characters of this
+   *         page were replaced or modified (via the setters of this page or of the characters)
+   *         since the table was built.
+   */
+  public CharacterTable getCharacterTable() {
+    if (this.characterTable == null || !this.characterTable.isValid()) {
+      return null;
+    }
+    return this.characterTable;
+  }
+
+  /**
+   * Returns the spatial index of the characters of this page. The index is created on the first
+   * call and recreated when the characters of this page were replaced, or when characters were
+   * added, removed or replaced in the meantime. The positions of the characters are treated as
+   * immutable (see {@link CharacterTable}).
+   * 
+   * @return The spatial index of the characters of this page.
+   */
+  public SpatialIndex<Character> getCharacterIndex() {
+    if (this.characterIndex == null || !this.characterIndex.isIndexOf(this.characters)) {
+      this.characterIndex = new SpatialIndex<>(this.characters);
+    }
+    return this.characterIndex;
   }
 
   // ==============================================================================================
@@ -156,6 +221,20 @@ public class Page implements HasCharacters, HasFigures, HasShapes, HasTextAreas,
     this.figures.add(figure);
   }
 
+  /**
+   * Returns the spatial index of the figures of this page. The index is created on the first call
+   * and recreated when the figures of this page were replaced, or when figures were added,
+   * removed or replaced in the meantime.
+   * 
+   * @return The spatial index of the figures of this page.
+   */
+  public SpatialIndex<Figure> getFigureIndex() {
+    if (this.figureIndex == null || !this.figureIndex.isIndexOf(this.figures)) {
+      this.figureIndex = new SpatialIndex<>(this.figures);
+    }
+    return this.figureIndex;
+  }
+
   // ==============================================================================================
 
   @Override
@@ -188,6 +267,20 @@ public class Page implements HasCharacters, HasFigures, HasShapes, HasTextAreas,
     this.shapes.add(shape);
   }
 
+  /**
+   * Returns the spatial index of the shapes of this page. The index is created on the first call
+   * and recreated when the shapes of this page were replaced, or when shapes were added, removed
+   * or replaced in the meantime.
+   * 
+   * @return The spatial index of the shapes of this page.
+   */
+  public SpatialIndex<Shape> getShapeIndex() {
+    if (this.shapeIndex == null || !this.shapeIndex.isIndexOf(this.shapes)) {
+      this.shapeIndex = new SpatialIndex<>(this.shapes);
+    }
+    return this.shapeIndex;
+  }
+
   // ==============================================================================================
 
   @Override
@@ -7,13 +7,16 @@ import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import pdfact.core.util.list.ElementList;
+import pdfact.core.util.statistician.CharacterStatistician;
+import pdfact.core.util.statistician.LazyStatistic;
 
 /**
  * A text paragraph in a document.
  * 
  * @author Claudius Korzen
  */
-public class Paragraph extends Element implements HasWords, HasText, HasPositions, HasSemanticRole, HasColor, HasFontFace {
+public class Paragraph extends Element implements HasWords, HasText, HasPositions, HasSemanticRole,
+    HasColor, HasFontFace {
   /**
    * The words of this paragraph.
    */
@@ -42,7 +45,7 @@ public class Paragraph extends Element implements HasWords, HasText, HasPosition
   /**
    * The statistics about the characters in this paragraph.
    */
-  protected CharacterStatistic characterStatistic;
+  protected LazyStatistic<CharacterStatistic> characterStatistic;
 
   // ==============================================================================================
 
@@ -51,6 +54,7 @@ public class Paragraph extends Element implements HasWords, HasText, HasPosition
    */
   public Paragraph() {
     this.words = new ElementList<>();
+    this.characterStatistic = new LazyStatistic<>();
   }
 
   // ==============================================================================================
@@ -167,12 +171,14 @@ public class Paragraph extends Element implements HasWords, HasText, HasPosition
 
   @Override
   public CharacterStatistic getCharacterStatistic() {
-    return this.characterStatistic;
+    // Compute the statistic on first access (if it wasn't set explicitly), by combining the
+    // statistics of the words.
+    return CharacterStatistician.aggregateIfAbsent(this.characterStatistic, this.words);
   }
 
   @Override
   public void setCharacterStatistic(CharacterStatistic statistic) {
-    this.characterStatistic = statistic;
+    this.characterStatistic.set(statistic, this.words);
   }
 
   // ==============================================================================================
@@ -215,7 +221,7 @@ public class Paragraph extends Element implements HasWords, HasText, HasPosition
 
   @Override
   public Color getColor() {
-    return this.characterStatistic.colorFrequencies.getMostCommonObject();
+    return getCharacterStatistic().getMostCommonColor();
   }
 
   @Override
@@ -225,7 +231,7 @@ public class Paragraph extends Element implements HasWords, HasText, HasPosition
 
   @Override
   public FontFace getFontFace() {
-    return this.characterStatistic.fontFaceFrequencies.getMostCommonObject();
+    return getCharacterStatistic().getMostCommonFontFace();
   }
 
   @Override
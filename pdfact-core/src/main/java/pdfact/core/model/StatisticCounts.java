@@ -0,0 +1,167 @@
+package pdfact.core.model;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import pdfact.core.util.list.ElementList;
+import pdfact.core.util.statistician.LazyStatistic;
+
+/**
+ * The numbers of the requested and of the actually computed statistics of the elements of a PDF
+ * document that compute their statistics on first access (text areas, text lines, words, text
+ * blocks and paragraphs). The numbers are collected from the elements of a single document, so
+ * they are exact even if other documents are processed at the same time.
+ *
+ * @author Claudius Korzen
+ */
+public class StatisticCounts {
+  /**
+   * The number of requested character statistics.
+   */
+  protected long numRequestedCharacterStatistics;
+
+  /**
+   * The number of computed character statistics.
+   */
+  protected long numComputedCharacterStatistics;
+
+  /**
+   * The number of requested text line statistics.
+   */
+  protected long numRequestedTextLineStatistics;
+
+  /**
+   * The number of computed text line statistics.
+   */
+  protected long numComputedTextLineStatistics;
+
+  // ==============================================================================================
+
+  /**
+   * Counts the requested and computed statistics of the elements of the given PDF document.
+   *
+   * @param pdf
+   *        The PDF document to process.
+   *
+   * @return The numbers of the statistics (all zero, if the document is null).
+   */
+  public static StatisticCounts of(Document pdf) {
+    StatisticCounts counts = new StatisticCounts();
+    if (pdf == null) {
+      return counts;
+    }
+
+    // A word can be contained in a text line and in a paragraph, so count each word only once.
+    Set<Word> words = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    List<Page> pages = pdf.getPages();
+    if (pages != null) {
+      for (Page page : pages) {
+        for (TextArea area : nonNull(page.getTextAreas())) {
+          counts.addCharacterStatistic(area.characterStatistic);
+        }
+        for (TextLine line : nonNull(page.getTextLines())) {
+          counts.addCharacterStatistic(line.characterStatistic);
+          words.addAll(nonNull(line.getWords()));
+        }
+        for (TextBlock block : nonNull(page.getTextBlocks())) {
+          counts.addCharacterStatistic(block.characterStatistic);
+          counts.addTextLineStatistic(block.textLineStatistic);
+        }
+      }
+    }
+
+    for (Paragraph paragraph : nonNull(pdf.getParagraphs())) {
+      counts.addCharacterStatistic(paragraph.characterStatistic);
+      words.addAll(nonNull(paragraph.getWords()));
+    }
+
+    for (Word word : words) {
+      counts.addCharacterStatistic(word.characterStatistic);
+    }
+
+    return counts;
+  }
+
+  /**
+   * Returns the given list, or an empty list if the given list is null.
+   *
+   * @param elements
+   *        The list.
+   *
+   * @return The given list, or an empty list if the given list is null.
+   */
+  protected static <T extends Element> List<T> nonNull(ElementList<T> elements) {
+    return elements != null ? elements : Collections.emptyList();
+  }
+
+  /**
+   * Adds the numbers of the given character statistic to the numbers of this object.
+   *
+   * @param statistic
+   *        The statistic.
+   */
+  protected void addCharacterStatistic(LazyStatistic<CharacterStatistic> statistic) {
+    this.numRequestedCharacterStatistics += statistic.getNumRequests();
+    this.numComputedCharacterStatistics += statistic.getNumComputations();
+  }
+
+  /**
+   * Adds the numbers of the given text line statistic to the numbers of this object.
+   *
+   * @param statistic
+   *        The statistic.
+   */
+  protected void addTextLineStatistic(LazyStatistic<TextLineStatistic> statistic) {
+    this.numRequestedTextLineStatistics += statistic.getNumRequests();
+    this.numComputedTextLineStatistics += statistic.getNumComputations();
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the number of requested character statistics.
+   *
+   * @return The number of requested character statistics.
+   */
+  public long getNumRequestedCharacterStatistics() {
+    return this.numRequestedCharacterStatistics;
+  }
+
+  /**
+   * Returns the number of computed character statistics.
+   *
+   * @return The number of computed character statistics.
+   */
+  public long getNumComputedCharacterStatistics() {
+    return this.numComputedCharacterStatistics;
+  }
+
+  /**
+   * Returns the number of requested text line statistics.
+   *
+   * @return The number of requested text line statistics.
+   */
+  public long getNumRequestedTextLineStatistics() {
+    return this.numRequestedTextLineStatistics;
+  }
+
+  /**
+   * Returns the number of computed text line statistics.
+   *
+   * @return The number of computed text line statistics.
+   */
+  public long getNumComputedTextLineStatistics() {
+    return this.numComputedTextLineStatistics;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public String toString() {
+    return "computed/requested character statistics: " + this.numComputedCharacterStatistics
+        + "/" + this.numRequestedCharacterStatistics + ", computed/requested text line statistics: "
+        + this.numComputedTextLineStatistics + "/" + this.numRequestedTextLineStatistics;
+  }
+}
@@ -1,6 +1,8 @@
 package pdfact.core.model;
 
 import pdfact.core.util.list.ElementList;
+import pdfact.core.util.statistician.CharacterStatistician;
+import pdfact.core.util.statistician.LazyStatistic;
 
 /**
  * A text area in a document. A text area has no strict definition. Mainly,
@@ -23,13 +25,14 @@ public class TextArea extends Element implements HasCharacters, HasPosition {
   /**
    * The statistic about the characters in this area.
    */
-  protected CharacterStatistic characterStatistic;
+  protected LazyStatistic<CharacterStatistic> characterStatistic;
 
   /**
    * The default constructor.
    */
   public TextArea() {
     this.characters = new ElementList<>();
+    this.characterStatistic = new LazyStatistic<>();
   }
 
   // ==============================================================================================
@@ -74,12 +77,13 @@ public class TextArea extends Element implements HasCharacters, HasPosition {
 
   @Override
   public CharacterStatistic getCharacterStatistic() {
-    return this.characterStatistic;
+    // Compute the statistic on first access, it is not needed by all consumers.
+    return CharacterStatistician.computeIfAbsent(this.characterStatistic, this.characters);
   }
 
   @Override
   public void setCharacterStatistic(CharacterStatistic statistic) {
-    this.characterStatistic = statistic;
+    this.characterStatistic.set(statistic, this.characters);
   }
 
   // ==============================================================================================
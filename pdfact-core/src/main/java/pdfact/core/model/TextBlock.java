@@ -4,6 +4,9 @@ import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import pdfact.core.util.list.ElementList;
+import pdfact.core.util.statistician.CharacterStatistician;
+import pdfact.core.util.statistician.LazyStatistic;
+import pdfact.core.util.statistician.TextLineStatistician;
 
 /**
  * A text block in a page of a document. In principal, a text block is equal to
@@ -42,18 +45,20 @@ public class TextBlock extends Element implements HasTextLines, HasText, HasPosi
   /**
    * The statistics about the characters in this text block.
    */
-  protected CharacterStatistic characterStatistic;
+  protected LazyStatistic<CharacterStatistic> characterStatistic;
 
   /**
    * The statistics about the text lines in this text block.
    */
-  protected TextLineStatistic textLineStatistic;
+  protected LazyStatistic<TextLineStatistic> textLineStatistic;
 
   /**
    * Creates a new text block.
    */
   public TextBlock() {
     this.textLines = new ElementList<>();
+    this.characterStatistic = new LazyStatistic<>();
+    this.textLineStatistic = new LazyStatistic<>();
   }
 
   // ==============================================================================================
@@ -122,24 +127,26 @@ public class TextBlock extends Element implements HasTextLines, HasText, HasPosi
 
   @Override
   public CharacterStatistic getCharacterStatistic() {
-    return this.characterStatistic;
+    // Compute the statistic on first access, by combining the statistics of the text lines.
+    return CharacterStatistician.aggregateIfAbsent(this.characterStatistic, this.textLines);
   }
 
   @Override
   public void setCharacterStatistic(CharacterStatistic statistic) {
-    this.characterStatistic = statistic;
+    this.characterStatistic.set(statistic, this.textLines);
   }
 
   // ==============================================================================================
 
   @Override
   public TextLineStatistic getTextLineStatistic() {
-    return this.textLineStatistic;
+    // Compute the statistic on first access, it is not needed by all consumers.
+    return TextLineStatistician.computeIfAbsent(this.textLineStatistic, this.textLines);
   }
 
   @Override
   public void setTextLineStatistic(TextLineStatistic statistic) {
-    this.textLineStatistic = statistic;
+    this.textLineStatistic.set(statistic, this.textLines);
   }
 
   // ==============================================================================================
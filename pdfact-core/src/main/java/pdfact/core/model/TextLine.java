@@ -1,6 +1,8 @@
 package pdfact.core.model;
 
 import pdfact.core.util.list.ElementList;
+import pdfact.core.util.statistician.CharacterStatistician;
+import pdfact.core.util.statistician.LazyStatistic;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -39,7 +41,7 @@ public class TextLine extends Element implements HasCharacters, HasWords, HasTex
   /**
    * The statistics about the characters in this text line.
    */
-  protected CharacterStatistic characterStatistic;
+  protected LazyStatistic<CharacterStatistic> characterStatistic;
 
   // ==============================================================================================
 
@@ -49,6 +51,7 @@ public class TextLine extends Element implements HasCharacters, HasWords, HasTex
   public TextLine() {
     this.characters = new ElementList<>();
     this.words = new ElementList<>();
+    this.characterStatistic = new LazyStatistic<>();
   }
 
   // ==============================================================================================
@@ -176,12 +179,14 @@ public class TextLine extends Element implements HasCharacters, HasWords, HasTex
 
   @Override
   public CharacterStatistic getCharacterStatistic() {
-    return this.characterStatistic;
+    // Compute the statistic on first access, it is not needed by all consumers. It is computed from
+    // the characters, because it is needed before the words of this line exist.
+    return CharacterStatistician.computeIfAbsent(this.characterStatistic, this.characters);
   }
 
   @Override
   public void setCharacterStatistic(CharacterStatistic statistic) {
-    this.characterStatistic = statistic;
+    this.characterStatistic.set(statistic, this.characters);
   }
 
   // ==============================================================================================
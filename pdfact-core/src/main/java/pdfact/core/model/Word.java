@@ -6,13 +6,16 @@ import org.apache.commons.lang3.NotImplementedException;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import pdfact.core.util.list.ElementList;
+import pdfact.core.util.statistician.CharacterStatistician;
+import pdfact.core.util.statistician.LazyStatistic;
 
 /**
  * A word in a document.
  *
  * @author Claudius Korzen
  */
-public class Word extends Element implements HasCharacters, HasText, HasPositions, HasColor, HasFontFace  {
+public class Word extends Element implements HasCharacters, HasText, HasPositions, HasColor,
+    HasFontFace {
   /**
    * The characters of this word.
    */
@@ -47,7 +50,7 @@ public class Word extends Element implements HasCharacters, HasText, HasPosition
   /**
    * The statistic about the characters.
    */
-  protected CharacterStatistic characterStatistic;
+  protected LazyStatistic<CharacterStatistic> characterStatistic;
 
   // ==============================================================================================
 
@@ -56,6 +59,7 @@ public class Word extends Element implements HasCharacters, HasText, HasPosition
    */
   public Word() {
     this.characters = new ElementList<>();
+    this.characterStatistic = new LazyStatistic<>();
   }
 
   // ==============================================================================================
@@ -213,12 +217,13 @@ public class Word extends Element implements HasCharacters, HasText, HasPosition
 
   @Override
   public CharacterStatistic getCharacterStatistic() {
-    return this.characterStatistic;
+    // Compute the statistic on first access, it is not needed by all consumers.
+    return CharacterStatistician.computeIfAbsent(this.characterStatistic, this.characters);
   }
 
   @Override
   public void setCharacterStatistic(CharacterStatistic statistics) {
-    this.characterStatistic = statistics;
+    this.characterStatistic.set(statistics, this.characters);
   }
 
   // ==============================================================================================
@@ -260,7 +265,7 @@ public class Word extends Element implements HasCharacters, HasText, HasPosition
 
   @Override
   public Color getColor() {
-    return this.characterStatistic.colorFrequencies.getMostCommonObject();
+    return getCharacterStatistic().getMostCommonColor();
   }
 
   @Override
@@ -270,7 +275,7 @@ public class Word extends Element implements HasCharacters, HasText, HasPosition
 
   @Override
   public FontFace getFontFace() {
-    return this.characterStatistic.fontFaceFrequencies.getMostCommonObject();
+    return getCharacterStatistic().getMostCommonFontFace();
   }
 
   @Override
@@ -1,8 +1,15 @@
 package pdfact.core.pipes;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pdfact.core.model.Document;
+import pdfact.core.model.StatisticCounts;
 import pdfact.core.pipes.dehyphenate.PlainDehyphenateWordsPipe;
 import pdfact.core.pipes.filter.characters.PlainFilterCharactersPipe;
 import pdfact.core.pipes.filter.figures.PlainFilterFiguresPipe;
@@ -11,6 +18,7 @@ import pdfact.core.pipes.parse.PlainParseDocumentPipe;
 import pdfact.core.pipes.semanticize.PlainDetectSemanticsPipe;
 import pdfact.core.pipes.tokenize.areas.XYCutTokenizeToTextAreasPipe;
 import pdfact.core.pipes.tokenize.blocks.PlainTokenizeToTextBlocksPipe;
+import pdfact.core.pipes.tokenize.lines.PlainAggregateTextLineStatisticsPipe;
 import pdfact.core.pipes.tokenize.lines.PlainTokenizeToTextLinesPipe;
 import pdfact.core.pipes.tokenize.paragraphs.PlainTokenizeToParagraphsPipe;
 import pdfact.core.pipes.tokenize.words.XYCutTokenizeToWordsPipe;
@@ -19,8 +27,12 @@ import pdfact.core.pipes.translate.diacritics.PlainMergeDiacriticsPipe;
 import pdfact.core.pipes.translate.ligatures.PlainSplitLigaturesPipe;
 import pdfact.core.pipes.validate.PlainValidatePdfPathPipe;
 import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.jfr.PdfActDocumentEvent;
+import pdfact.core.util.pipeline.ElementCounts;
+import pdfact.core.util.pipeline.ParallelPipeline;
+import pdfact.core.util.pipeline.Pipe;
 import pdfact.core.util.pipeline.Pipeline;
-import pdfact.core.util.pipeline.PlainPipeline;
+import pdfact.core.util.pipeline.PipelineReport;
 
 /**
  * A plain implementation of {@link PdfActCorePipe}.
@@ -33,6 +45,32 @@ public class PlainPdfActCorePipe implements PdfActCorePipe {
    */
   protected static Logger log = LogManager.getLogger(PlainPdfActCorePipe.class);
 
+  /**
+   * The worker pool to process the pages of the PDF document in parallel (null to process the
+   * pages sequentially).
+   */
+  protected ExecutorService pageExecutor;
+
+  // ==============================================================================================
+
+  /**
+   * Creates a new pipe that processes the pages in the common fork/join pool.
+   */
+  public PlainPdfActCorePipe() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates a new pipe that processes the pages in the given worker pool.
+   * 
+   * @param pageExecutor
+   *        The worker pool to process the pages of the PDF document in parallel (null to process
+   *        the pages sequentially). The pool is not shut down by this pipe.
+   */
+  public PlainPdfActCorePipe(ExecutorService pageExecutor) {
+    this.pageExecutor = pageExecutor;
+  }
+
   // ==============================================================================================
 
   /**
@@ -51,50 +89,155 @@ public class PlainPdfActCorePipe implements PdfActCorePipe {
 
     log.debug("Process: Processing the core pipeline.");
 
-    // Fill the pipeline with the pipes to execute
-    Pipeline pipeline = new PlainPipeline();
+    // Fill the pipeline with the pipes to execute. The page pipes between two document-level pipes
+    // (like the parser) are executed for the different pages in parallel.
+    Pipeline pipeline = new ParallelPipeline(this.pageExecutor);
+    pipeline.addPipes(createPipes());
+
+    log.debug("# pipes in the pipeline: " + pipeline.size());
+
+    PdfActDocumentEvent event = new PdfActDocumentEvent();
+    // Determine the size up front, since the input of the document is released on parsing.
+    long size = event.isEnabled() ? getSize(pdf) : -1;
+    event.begin();
+    boolean succeeded = false;
+    try {
+      pipeline.process(pdf);
+      succeeded = true;
+    } finally {
+      commitDocumentEvent(event, pdf, size, succeeded);
+    }
+
+    log.debug("Processing the core pipeline done.");
+
+    // The statistics of the elements are computed on first access. If there is a report about
+    // the processing of the document, report how many of the requested statistics had to be
+    // computed.
+    PipelineReport report = pdf.getPipelineReport();
+    if (report != null) {
+      report.setStatisticCounts(StatisticCounts.of(pdf));
+    }
+
+    log.debug("End of pipe: " + getClass().getSimpleName() + ".");
+    return pdf;
+  }
+
+  /**
+   * Commits the given event about the processing of the given PDF document, if the event is
+   * enabled.
+   * 
+   * @param event
+   *        The event, which was started before processing the PDF document.
+   * @param pdf
+   *        The processed PDF document.
+   * @param size
+   *        The size of the PDF document in bytes (-1 if unknown).
+   * @param succeeded
+   *        Whether or not the processing succeeded.
+   */
+  protected void commitDocumentEvent(PdfActDocumentEvent event, Document pdf, long size,
+      boolean succeeded) {
+    event.end();
+    if (!event.shouldCommit()) {
+      return;
+    }
+
+    ElementCounts counts = ElementCounts.of(pdf);
+    event.setPath(String.valueOf(pdf.getPath()));
+    event.setSize(size);
+    event.setPages(counts.getNumPages());
+    event.setCharacters(counts.getNumCharacters());
+    event.setParagraphs(counts.getNumParagraphs());
+    event.setSucceeded(succeeded);
+    event.commit();
+  }
+
+  /**
+   * Returns the size of the given PDF document, if it is given in memory or by a path.
+   * 
+   * @param pdf
+   *        The PDF document.
+   * 
+   * @return The size of the PDF document in bytes, or -1 if the size is unknown.
+   */
+  protected long getSize(Document pdf) {
+    if (pdf.getContent() != null) {
+      return pdf.getContent().length;
+    }
+    if (pdf.hasPath()) {
+      try {
+        return Files.size(pdf.getPath());
+      } catch (IOException | RuntimeException e) {
+        // The path may be invalid, which is reported on validating it.
+      }
+    }
+    return -1;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Creates the pipes of the core pipeline, in the order of their execution.
+   * 
+   * @return The list of pipes.
+   */
+  public List<Pipe> createPipes() {
+    List<Pipe> pipes = new ArrayList<>();
 
     // Validate the path to the PDF file.
-    pipeline.addPipe(new PlainValidatePdfPathPipe());
+    pipes.add(new PlainValidatePdfPathPipe());
     // Extract the characters, shapes and figures.
-    pipeline.addPipe(new PlainParseDocumentPipe());
+    pipes.add(new PlainParseDocumentPipe());
     // Merge the diacritics.
-    pipeline.addPipe(new PlainMergeDiacriticsPipe());
+    pipes.add(new PlainMergeDiacriticsPipe());
     // Split the ligatures.
-    pipeline.addPipe(new PlainSplitLigaturesPipe());
+    pipes.add(new PlainSplitLigaturesPipe());
     // Standardize characters.
-    pipeline.addPipe(new PlainStandardizeCharactersPipe());
+    pipes.add(new PlainStandardizeCharactersPipe());
     // Filter the characters.
-    pipeline.addPipe(new PlainFilterCharactersPipe());
+    pipes.add(new PlainFilterCharactersPipe());
     // Filter the figures.
-    pipeline.addPipe(new PlainFilterFiguresPipe());
+    pipes.add(new PlainFilterFiguresPipe());
     // Filter the shapes.
-    pipeline.addPipe(new PlainFilterShapesPipe());
+    pipes.add(new PlainFilterShapesPipe());
     // Tokenize the page into text areas.
-    pipeline.addPipe(new XYCutTokenizeToTextAreasPipe());
+    pipes.add(new XYCutTokenizeToTextAreasPipe());
     // Tokenize the text areas into text lines.
-    pipeline.addPipe(new PlainTokenizeToTextLinesPipe());
+    pipes.add(new PlainTokenizeToTextLinesPipe());
     // Tokenize the text lines into words.
-    pipeline.addPipe(new XYCutTokenizeToWordsPipe());
+    pipes.add(new XYCutTokenizeToWordsPipe());
+    // Aggregate the statistics about the text lines of the pages.
+    pipes.add(new PlainAggregateTextLineStatisticsPipe());
     // Tokenize the text lines into text blocks.
-    pipeline.addPipe(new PlainTokenizeToTextBlocksPipe());
+    pipes.add(new PlainTokenizeToTextBlocksPipe());
     // Identify the roles of the text blocks.
-    pipeline.addPipe(new PlainDetectSemanticsPipe());
+    pipes.add(new PlainDetectSemanticsPipe());
     // Tokenize the text blocks into paragraphs.
-    pipeline.addPipe(new PlainTokenizeToParagraphsPipe());
+    pipes.add(new PlainTokenizeToParagraphsPipe());
     // Dehyphenate the words.
-    pipeline.addPipe(new PlainDehyphenateWordsPipe());
+    pipes.add(new PlainDehyphenateWordsPipe());
 
-    log.debug("# pipes in the pipeline: " + pipeline.size());
+    return pipes;
+  }
 
-    long start = System.currentTimeMillis();
-    pipeline.process(pdf);
-    long length = System.currentTimeMillis() - start;
+  // ==============================================================================================
 
-    log.debug("Processing the core pipeline done.");
-    log.debug("Time needed to process the core pipeline: " + length + "ms.");
+  /**
+   * Returns the worker pool to process the pages of the PDF document in parallel.
+   * 
+   * @return The worker pool, or null if the pages are processed sequentially.
+   */
+  public ExecutorService getPageExecutor() {
+    return this.pageExecutor;
+  }
 
-    log.debug("End of pipe: " + getClass().getSimpleName() + ".");
-    return pdf;
+  /**
+   * Sets the worker pool to process the pages of the PDF document in parallel.
+   * 
+   * @param pageExecutor
+   *        The worker pool, or null to process the pages sequentially.
+   */
+  public void setPageExecutor(ExecutorService pageExecutor) {
+    this.pageExecutor = pageExecutor;
   }
 }
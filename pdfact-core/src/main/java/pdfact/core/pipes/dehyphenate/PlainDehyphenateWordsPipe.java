@@ -10,6 +10,7 @@ import org.apache.logging.log4j.Logger;
 import gnu.trove.iterator.TIntIterator;
 import gnu.trove.list.TIntList;
 import pdfact.core.model.Character;
+import pdfact.core.model.CharacterStatistic;
 import pdfact.core.model.Document;
 import pdfact.core.model.Page;
 import pdfact.core.model.Paragraph;
@@ -234,7 +235,11 @@ public class PlainDehyphenateWordsPipe implements DehyphenateWordsPipe {
         }
       }
 
+      // The dehyphenation doesn't change the characters of the paragraph, so keep the statistic
+      // (which would be recomputed on next access otherwise).
+      CharacterStatistic statistic = paragraph.getCharacterStatistic();
       paragraph.setWords(dehyphWords);
+      paragraph.setCharacterStatistic(statistic);
       paragraph.setText(PdfActUtils.join(dehyphWords, " "));
     }
   }
@@ -340,7 +345,12 @@ public class PlainDehyphenateWordsPipe implements DehyphenateWordsPipe {
     this.numDehyphenatedWords++;
 
     mergedChars.addAll(chars2);
+
+    // The font and the color of a dehyphenated word are those of its first part, so keep the
+    // statistic of the first part (which would be recomputed on next access otherwise).
+    CharacterStatistic statistic = word1.getCharacterStatistic();
     word1.setCharacters(mergedChars);
+    word1.setCharacterStatistic(statistic);
 
     word1.addPositions(word2.getPositions());
     word1.setIsHyphenated(false);
@@ -1,6 +1,6 @@
 package pdfact.core.pipes.filter.characters;
 
-import pdfact.core.util.pipeline.Pipe;
+import pdfact.core.util.pipeline.PagePipe;
 
 /**
  * A pipe that filters those characters of a PDF document that should not be
@@ -8,6 +8,6 @@ import pdfact.core.util.pipeline.Pipe;
  * 
  * @author Claudius Korzen
  */
-public interface FilterCharactersPipe extends Pipe {
+public interface FilterCharactersPipe extends PagePipe {
   
 }
@@ -1,6 +1,7 @@
 package pdfact.core.pipes.filter.characters;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pdfact.core.model.Character;
@@ -23,12 +24,12 @@ public class PlainFilterCharactersPipe implements FilterCharactersPipe {
   /**
    * The number of processed characters.
    */
-  protected int numProcessedCharacters;
+  protected final AtomicInteger numProcessedCharacters = new AtomicInteger();
 
   /**
    * The number of filtered characters.
    */
-  protected int numFilteredCharacters;
+  protected final AtomicInteger numFilteredCharacters = new AtomicInteger();
 
   // ==============================================================================================
 
@@ -38,6 +39,11 @@ public class PlainFilterCharactersPipe implements FilterCharactersPipe {
     return pdf;
   }
 
+  @Override
+  public void executePage(Document pdf, Page page) throws PdfActException {
+    filterCharacters(page);
+  }
+
   // ==============================================================================================
 
   /**
@@ -49,24 +55,38 @@ public class PlainFilterCharactersPipe implements FilterCharactersPipe {
     if (pdf != null) {
       List<Page> pages = pdf.getPages();
       for (Page page : pages) {
-        ElementList<Character> before = page.getCharacters();
-        // Create a new list of characters which should not be filtered.
-        ElementList<Character> after = new ElementList<>(before.size());
-        for (Character character : before) {
-          this.numProcessedCharacters++;
-
-          if (isFilterCharacter(character)) {
-            this.numFilteredCharacters++;
-            continue;
-          }
-
-          after.add(character);
-        }
-        page.setCharacters(after);
+        filterCharacters(page);
       }
     }
   }
 
+  /**
+   * Filters those characters of the given page that should not be considered.
+   * 
+   * @param page The page to process.
+   */
+  protected void filterCharacters(Page page) {
+    ElementList<Character> before = page.getCharacters();
+    // Create a new list of characters which should not be filtered.
+    ElementList<Character> after = new ElementList<>(before.size());
+    for (Character character : before) {
+      this.numProcessedCharacters.incrementAndGet();
+
+      if (isFilterCharacter(character)) {
+        this.numFilteredCharacters.incrementAndGet();
+        continue;
+      }
+
+      after.add(character);
+    }
+    page.setCharacters(after);
+
+    // The characters are final now (the subsequent pipes only group them), so attach them to the
+    // columnar table of the page, such that the statistics computed during the tokenization can
+    // be read from primitive arrays.
+    page.buildCharacterTable();
+  }
+
   /**
    * Checks if the given characters should be filtered out.
    * 
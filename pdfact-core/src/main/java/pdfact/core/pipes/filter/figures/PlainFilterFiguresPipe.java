@@ -1,6 +1,7 @@
 package pdfact.core.pipes.filter.figures;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pdfact.core.model.Document;
@@ -23,12 +24,12 @@ public class PlainFilterFiguresPipe implements FilterFiguresPipe {
   /**
    * The number of processed figures.
    */
-  protected int numProcessedFigures;
+  protected final AtomicInteger numProcessedFigures = new AtomicInteger();
 
   /**
    * The number of filtered figures.
    */
-  protected int numFilteredFigures;
+  protected final AtomicInteger numFilteredFigures = new AtomicInteger();
 
   // ==============================================================================================
 
@@ -40,13 +41,18 @@ public class PlainFilterFiguresPipe implements FilterFiguresPipe {
     filterFigures(pdf);
 
     log.debug("Filtering figures done.");
-    log.debug("# processed figures: " + this.numProcessedFigures);
-    log.debug("# filtered figures : " + this.numFilteredFigures);
+    log.debug("# processed figures: " + this.numProcessedFigures.get());
+    log.debug("# filtered figures : " + this.numFilteredFigures.get());
 
     log.debug("End of pipe: " + getClass().getSimpleName() + ".");
     return pdf;
   }
 
+  @Override
+  public void executePage(Document pdf, Page page) throws PdfActException {
+    filterFigures(page);
+  }
+
   // ==============================================================================================
 
   /**
@@ -59,22 +65,32 @@ public class PlainFilterFiguresPipe implements FilterFiguresPipe {
     if (pdf != null) {
       List<Page> pages = pdf.getPages();
       for (Page page : pages) {
-        ElementList<Figure> before = page.getFigures();
-        // Create a new list of figures which should not be filtered.
-        ElementList<Figure> after = new ElementList<>(before.size());
-        for (Figure figure : before) {
-          this.numProcessedFigures++;
-
-          if (isFilterFigure(figure)) {
-            this.numFilteredFigures++;
-            continue;
-          }
-
-          after.add(figure);
-        }
-        page.setFigures(after);
+        filterFigures(page);
+      }
+    }
+  }
+
+  /**
+   * Filters those figures of the given page that should not be considered.
+   * 
+   * @param page
+   *        The page to process.
+   */
+  protected void filterFigures(Page page) {
+    ElementList<Figure> before = page.getFigures();
+    // Create a new list of figures which should not be filtered.
+    ElementList<Figure> after = new ElementList<>(before.size());
+    for (Figure figure : before) {
+      this.numProcessedFigures.incrementAndGet();
+
+      if (isFilterFigure(figure)) {
+        this.numFilteredFigures.incrementAndGet();
+        continue;
       }
+
+      after.add(figure);
     }
+    page.setFigures(after);
   }
 
   /**
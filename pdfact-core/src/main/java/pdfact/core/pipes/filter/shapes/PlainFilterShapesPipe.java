@@ -1,6 +1,7 @@
 package pdfact.core.pipes.filter.shapes;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pdfact.core.model.Document;
@@ -23,12 +24,12 @@ public class PlainFilterShapesPipe implements FilterShapesPipe {
   /**
    * The number of processed shapes.
    */
-  protected int numProcessedShapes;
+  protected final AtomicInteger numProcessedShapes = new AtomicInteger();
 
   /**
    * The number of filtered shapes.
    */
-  protected int numFilteredShapes;
+  protected final AtomicInteger numFilteredShapes = new AtomicInteger();
 
   // ==============================================================================================
 
@@ -40,14 +41,19 @@ public class PlainFilterShapesPipe implements FilterShapesPipe {
     filterShapes(pdf);
 
     log.debug("Filtering shapes done.");
-    log.debug("# processed shapes: " + this.numProcessedShapes);
-    log.debug("# filtered shapes : " + this.numFilteredShapes);
+    log.debug("# processed shapes: " + this.numProcessedShapes.get());
+    log.debug("# filtered shapes : " + this.numFilteredShapes.get());
 
     log.debug("End of pipe: " + getClass().getSimpleName() + ".");
 
     return pdf;
   }
 
+  @Override
+  public void executePage(Document pdf, Page page) throws PdfActException {
+    filterShapes(page);
+  }
+
   // ==============================================================================================
 
   /**
@@ -60,22 +66,32 @@ public class PlainFilterShapesPipe implements FilterShapesPipe {
     if (pdf != null) {
       List<Page> pages = pdf.getPages();
       for (Page page : pages) {
-        ElementList<Shape> before = page.getShapes();
-        // Create a new list of shapes which should not be filtered.
-        ElementList<Shape> after = new ElementList<>(before.size());
-        for (Shape shape : before) {
-          this.numProcessedShapes++;
-
-          if (isFilterShape(shape)) {
-            this.numFilteredShapes++;
-            continue;
-          }
-
-          after.add(shape);
-        }
-        page.setShapes(after);
+        filterShapes(page);
+      }
+    }
+  }
+
+  /**
+   * Filters those shapes of the given page that should not be considered.
+   * 
+   * @param page
+   *        The page to process.
+   */
+  protected void filterShapes(Page page) {
+    ElementList<Shape> before = page.getShapes();
+    // Create a new list of shapes which should not be filtered.
+    ElementList<Shape> after = new ElementList<>(before.size());
+    for (Shape shape : before) {
+      this.numProcessedShapes.incrementAndGet();
+
+      if (isFilterShape(shape)) {
+        this.numFilteredShapes.incrementAndGet();
+        continue;
       }
+
+      after.add(shape);
     }
+    page.setShapes(after);
   }
 
   /**
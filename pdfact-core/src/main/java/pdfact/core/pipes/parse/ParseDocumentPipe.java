@@ -1,13 +1,14 @@
 package pdfact.core.pipes.parse;
 
-import pdfact.core.util.pipeline.Pipe;
+import pdfact.core.util.pipeline.PageProducingPipe;
 
 /**
  * A pipe that parses a document for layout information and structural information, for example:
- * the contained characters, figures, shapes, fonts, colors. etc.
+ * the contained characters, figures, shapes, fonts, colors. etc. Each page is passed to the
+ * given page listener (if any) as soon as it was parsed completely.
  * 
  * @author Claudius Korzen
  */
-public interface ParseDocumentPipe extends Pipe {
+public interface ParseDocumentPipe extends PageProducingPipe {
   
 }
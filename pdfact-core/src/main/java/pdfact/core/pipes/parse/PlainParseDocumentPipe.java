@@ -3,6 +3,7 @@ package pdfact.core.pipes.parse;
 import pdfact.core.model.Document;
 import pdfact.core.pipes.parse.stream.pdfbox.PdfBoxPdfStreamsParser;
 import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.pipeline.PageListener;
 
 /**
  * A plain implementation of {@link ParseDocumentPipe}.
@@ -11,8 +12,8 @@ import pdfact.core.util.exception.PdfActException;
  */
 public class PlainParseDocumentPipe implements ParseDocumentPipe {
   @Override
-  public Document execute(Document doc) throws PdfActException {
-    parseDocument(doc);
+  public Document execute(Document doc, PageListener listener) throws PdfActException {
+    parseDocument(doc, listener);
     return doc;
   }
 
@@ -21,11 +22,15 @@ public class PlainParseDocumentPipe implements ParseDocumentPipe {
    * 
    * @param doc
    *        The document to parse.
+   * @param listener
+   *        The listener to notify about each parsed page, may be null.
    * 
    * @throws PdfActException
    *         If something went wrong while parsing the document.
    */
-  protected void parseDocument(Document doc) throws PdfActException {
-    new PdfBoxPdfStreamsParser().parse(doc);
+  protected void parseDocument(Document doc, PageListener listener) throws PdfActException {
+    PdfBoxPdfStreamsParser parser = new PdfBoxPdfStreamsParser();
+    parser.setPageListener(listener);
+    parser.parse(doc);
   }
 }
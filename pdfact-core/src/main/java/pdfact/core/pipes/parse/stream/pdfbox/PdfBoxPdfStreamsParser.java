@@ -1,6 +1,7 @@
 package pdfact.core.pipes.parse.stream.pdfbox;
 
 import static pdfact.core.PdfActCoreSettings.FLOATING_NUMBER_PRECISION;
+import static pdfact.core.PdfActCoreSettings.MAX_MAIN_MEMORY_BYTES_PER_PDF_STREAM;
 import java.awt.geom.GeneralPath;
 import java.awt.geom.Point2D;
 import java.io.IOException;
@@ -9,18 +10,22 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Stack;
+import jdk.jfr.EventType;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.pdfbox.contentstream.PDContentStream;
 import org.apache.pdfbox.contentstream.operator.Operator;
 import org.apache.pdfbox.cos.COSBase;
 import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdfparser.PDFParser;
 import org.apache.pdfbox.pdfparser.PDFStreamParser;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDResources;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDType3CharProc;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
 import org.apache.pdfbox.pdmodel.graphics.state.PDGraphicsState;
 import org.apache.pdfbox.util.Matrix;
 import pdfact.core.model.Character;
@@ -84,8 +89,12 @@ import pdfact.core.pipes.parse.stream.pdfbox.operators.text.SetWordSpacing;
 import pdfact.core.pipes.parse.stream.pdfbox.operators.text.ShowText;
 import pdfact.core.pipes.parse.stream.pdfbox.operators.text.ShowTextWithIndividualGlyphPositioning;
 import pdfact.core.util.PdfActUtils;
+import pdfact.core.util.color.ColorManager;
 import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.exception.PdfActParseException;
+import pdfact.core.util.jfr.PdfActPageParseEvent;
+import pdfact.core.util.jfr.PdfActSlowStreamEvent;
+import pdfact.core.util.pipeline.PageListener;
 import pdfact.core.util.statistician.CharacterStatistician;
 
 // TODO: Refactor all the PDFBox utils (remove unnecessary stuff).
@@ -102,6 +111,12 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
    */
   protected static Logger log = LogManager.getFormatterLogger("pdf-parsing");
 
+  /**
+   * The type of the events about the parsing of slow nested streams.
+   */
+  protected static final EventType SLOW_STREAM_EVENT_TYPE =
+      EventType.getEventType(PdfActSlowStreamEvent.class);
+
   /**
    * The map of operator processors.
    */
@@ -112,6 +127,11 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
    */
   protected CharacterStatistician statistician;
 
+  /**
+   * The manager of the colors of the parsed document.
+   */
+  protected ColorManager colorManager;
+
   /**
    * The current page in the PDF file.
    */
@@ -193,11 +213,22 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
    */
   protected int numShapes;
 
+  /**
+   * The number of processed operators.
+   */
+  protected int numOperators;
+
+  /**
+   * The listener to notify about each parsed page (may be null).
+   */
+  protected PageListener pageListener;
+
   /**
    * Creates a new stream engine.
    */
   public PdfBoxPdfStreamsParser() {
     this.operatorProcessors = new HashMap<>();
+    this.colorManager = new ColorManager();
 
     // Install the text operator modules.
     registerOperatorProcessor(new BeginText()); // BT
@@ -270,7 +301,7 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
 
   @Override
   public void parse(Document pdf) throws PdfActException {
-    try (PDDocument doc = PDDocument.load(pdf.getFile())) {
+    try (PDDocument doc = load(pdf)) {
       handlePdfFileStart(pdf);
       for (int i = 0; i < doc.getPages().getCount(); i++) {
         log.debug("==================== Page %d ====================", i + 1);
@@ -279,9 +310,40 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
       handlePdfFileEnd(pdf);
     } catch (IOException e) {
       throw new PdfActParseException("Couldn't parse the PDF.", e);
+    } finally {
+      // The input isn't needed anymore, but the document may live much longer (e.g., while it is
+      // serialized), so don't keep the bytes of the PDF reachable.
+      pdf.releaseInput();
     }
   }
 
+  /**
+   * Loads the PDFBox document of the given PDF document, from its content, its stream, its PDFBox
+   * source or its file, whichever is given. Any temporary storage used by PDFBox to buffer a
+   * stream is released when the returned document is closed.
+   * 
+   * @param pdf The PDF document to load.
+   * 
+   * @return The loaded PDFBox document.
+   * 
+   * @throws IOException If the PDF couldn't be read.
+   */
+  protected PDDocument load(Document pdf) throws IOException {
+    if (pdf.getContent() != null) {
+      return PDDocument.load(pdf.getContent());
+    }
+    if (pdf.getStream() != null) {
+      long maxMainMemoryBytes = MAX_MAIN_MEMORY_BYTES_PER_PDF_STREAM;
+      return PDDocument.load(pdf.getStream(), MemoryUsageSetting.setupMixed(maxMainMemoryBytes));
+    }
+    if (pdf.getSource() != null) {
+      PDFParser parser = new PDFParser(pdf.getSource());
+      parser.parse();
+      return parser.getPDDocument();
+    }
+    return PDDocument.load(pdf.getFile());
+  }
+
   /**
    * Processes the given page.
    * 
@@ -318,8 +380,28 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
       pdfPage.setWidth(PdfActUtils.round(rect.getWidth(), FLOATING_NUMBER_PRECISION));
     }
 
+    PdfActPageParseEvent event = new PdfActPageParseEvent();
+    event.begin();
+    int numOperatorsBefore = this.numOperators;
+    int numCharactersBefore = this.numCharacters;
+    int numFiguresBefore = this.numFigures;
+    int numShapesBefore = this.numShapes;
+
     handlePdfPageStart(pdf, pdfPage);
     processStream(pdf, pdfPage, page);
+
+    // Commit the event before the page is handed over to the page pipes.
+    event.end();
+    if (event.shouldCommit()) {
+      event.setDocument(String.valueOf(pdf.getPath()));
+      event.setPage(pageNum);
+      event.setOperators(this.numOperators - numOperatorsBefore);
+      event.setGlyphs(this.numCharacters - numCharactersBefore);
+      event.setFigures(this.numFigures - numFiguresBefore);
+      event.setShapes(this.numShapes - numShapesBefore);
+      event.commit();
+    }
+
     handlePdfPageEnd(pdf, pdfPage);
   }
 
@@ -344,7 +426,15 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
       // allows a scaled form.
       this.initialMatrix = getCurrentTransformationMatrix().clone();
 
-      processStreamOperators(pdf, page, stream);
+      if (stream instanceof PDFormXObject) {
+        PdfActSlowStreamEvent event = startSlowStreamEvent();
+        int numOperatorsBefore = this.numOperators;
+        processStreamOperators(pdf, page, stream);
+        commitSlowStreamEvent(event, PdfActSlowStreamEvent.TYPE_FORM, null, pdf, page,
+            this.numOperators - numOperatorsBefore);
+      } else {
+        processStreamOperators(pdf, page, stream);
+      }
 
       // Restore the initialMatrix, the graphics stack and the resources.
       this.initialMatrix = parentMatrix;
@@ -379,9 +469,13 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
     Matrix oldTextLineMatrix = getTextLineMatrix();
     setTextLineMatrix(new Matrix());
 
+    PdfActSlowStreamEvent event = startSlowStreamEvent();
+    int numOperatorsBefore = this.numOperators;
     setIsType3Stream(true);
     processStreamOperators(pdf, page, proc);
     setIsType3Stream(false);
+    commitSlowStreamEvent(event, PdfActSlowStreamEvent.TYPE_TYPE3, proc.getFont().getName(), pdf,
+        page, this.numOperators - numOperatorsBefore);
 
     // Restore text matrices
     setTextMatrix(oldTextMatrix);
@@ -391,6 +485,49 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
     popResources(parent);
   }
 
+  /**
+   * Starts an event about the parsing of a nested stream. Since there is a stream per Type3
+   * glyph, no event is allocated if no recording with the event enabled is running.
+   * 
+   * @return The started event, or null if the event is not enabled.
+   */
+  protected PdfActSlowStreamEvent startSlowStreamEvent() {
+    if (!SLOW_STREAM_EVENT_TYPE.isEnabled()) {
+      return null;
+    }
+    PdfActSlowStreamEvent event = new PdfActSlowStreamEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Commits the given event about a nested stream, if the parsing of the stream took longer than
+   * the threshold of the event.
+   * 
+   * @param event        The event, which was started before parsing the stream (null if the
+   *                     event is not enabled).
+   * @param type         The type of the stream.
+   * @param font         The name of the Type3 font, or null if the stream is a Form XObject.
+   * @param pdf          The PDF document to which the stream belongs to.
+   * @param page         The PDF page to which the stream belongs to.
+   * @param numOperators The number of processed operators.
+   */
+  protected void commitSlowStreamEvent(PdfActSlowStreamEvent event, String type, String font,
+          Document pdf, Page page, int numOperators) {
+    if (event == null) {
+      return;
+    }
+    event.end();
+    if (event.shouldCommit()) {
+      event.setType(type);
+      event.setFont(font);
+      event.setDocument(String.valueOf(pdf.getPath()));
+      event.setPage(page.getPageNumber());
+      event.setOperators(numOperators);
+      event.commit();
+    }
+  }
+
   /**
    * Processes the operators of the given content stream.
    * 
@@ -445,6 +582,7 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
   protected void processOperator(Document pdf, Page page, Operator op, List<COSBase> args)
           throws IOException {
     OperatorProcessor processor = this.operatorProcessors.get(op.getName());
+    this.numOperators++;
 
     log.debug("-----------------------------------------------------");
     log.debug("Operator: %s; Args: %s", op.getName(), args);
@@ -541,6 +679,19 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
     this.resources = parentResources;
   }
 
+  // ==============================================================================================
+
+  /**
+   * Returns the manager of the colors of the parsed document.
+   * 
+   * @return The color manager.
+   */
+  public ColorManager getColorManager() {
+    return this.colorManager;
+  }
+
+  // ==============================================================================================
+
   /**
    * Returns the resources of the page.
    * 
@@ -809,6 +960,24 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
     this.clippingWindingRule = rule;
   }
 
+  /**
+   * Returns the listener to notify about each parsed page.
+   * 
+   * @return The listener to notify about each parsed page (may be null).
+   */
+  public PageListener getPageListener() {
+    return this.pageListener;
+  }
+
+  /**
+   * Sets the listener to notify about each parsed page.
+   * 
+   * @param listener The listener to notify about each parsed page (may be null).
+   */
+  public void setPageListener(PageListener listener) {
+    this.pageListener = listener;
+  }
+
   // ==============================================================================================
   // Handler methods.
 
@@ -849,8 +1018,14 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
    * @param page The page to process.
    */
   public void handlePdfPageEnd(Document pdf, Page page) {
-    // Compute the character statistics for the page.
+    // Compute the character statistics for the page. They are computed from the characters,
+    // because they are needed to tokenize the page into text areas.
     page.setCharacterStatistic(this.statistician.compute(page));
+
+    // Hand over the page. It must not be modified by this parser afterwards.
+    if (this.pageListener != null) {
+      this.pageListener.handlePage(pdf, page);
+    }
   }
 
   /**
@@ -861,6 +1036,7 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
    * @param c    The character to process.
    */
   public void handlePdfCharacter(Document pdf, Page page, Character c) {
+    pdf.assignElementId(c);
     page.addCharacter(c);
     this.numCharacters++;
   }
@@ -873,6 +1049,7 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
    * @param figure The figure to process.
    */
   public void handlePdfFigure(Document pdf, Page page, Figure figure) {
+    pdf.assignElementId(figure);
     page.addFigure(figure);
     this.numFigures++;
   }
@@ -885,6 +1062,7 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
    * @param shape The shape to process.
    */
   public void handlePdfShape(Document pdf, Page page, Shape shape) {
+    pdf.assignElementId(shape);
     page.addShape(shape);
     this.numShapes++;
   }
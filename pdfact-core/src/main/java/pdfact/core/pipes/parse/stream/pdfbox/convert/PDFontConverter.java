@@ -7,6 +7,7 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.logging.log4j.LogManager;
@@ -26,6 +27,12 @@ public class PDFontConverter {
    */
   protected static Logger log = LogManager.getLogger(PDFontConverter.class);
 
+  /**
+   * The well-known fonts per name, read from the AFM file on first use and shared by all font
+   * converters (the fonts are not modified after reading them).
+   */
+  protected static volatile Map<String, Font> wellKnownFonts;
+
   /**
    * A map of the already known fonts per name.
    */
@@ -35,7 +42,7 @@ public class PDFontConverter {
    * Creates a new font converter.
    */
   public PDFontConverter() {
-    this.knownFonts = readWellKnownFontsFromFile();
+    this.knownFonts = new HashMap<>(getWellKnownFonts());
   }
 
   // ==============================================================================================
@@ -78,6 +85,26 @@ public class PDFontConverter {
 
   // ==============================================================================================
 
+  /**
+   * Returns the well-known fonts per name. The AFM file is read only once per JVM, on the first
+   * call of this method.
+   * 
+   * @return The well-known fonts per name.
+   */
+  protected Map<String, Font> getWellKnownFonts() {
+    Map<String, Font> fonts = wellKnownFonts;
+    if (fonts == null) {
+      synchronized (PDFontConverter.class) {
+        fonts = wellKnownFonts;
+        if (fonts == null) {
+          fonts = Collections.unmodifiableMap(readWellKnownFontsFromFile());
+          wellKnownFonts = fonts;
+        }
+      }
+    }
+    return fonts;
+  }
+
   /**
    * Reads some font specifications from file. This method was introduced to get
    * meta data about fonts like "cmr9", from which we can't derive from the font
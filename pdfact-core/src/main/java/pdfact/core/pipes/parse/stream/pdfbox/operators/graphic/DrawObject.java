@@ -26,7 +26,6 @@ import pdfact.core.model.Position;
 import pdfact.core.model.Shape;
 import pdfact.core.pipes.parse.stream.pdfbox.operators.OperatorProcessor;
 import pdfact.core.pipes.parse.stream.pdfbox.utils.ColorUtils;
-import pdfact.core.util.color.ColorManager;
 
 /**
  * Do: Invoke a named xobject.
@@ -110,7 +109,7 @@ public class DrawObject extends OperatorProcessor {
       int[] exclusiveColor = ColorUtils.getExclusiveColor(image.getImage());
 
       if (exclusiveColor != null) {
-        Color color = ColorManager.getColor(exclusiveColor);
+        Color color = this.engine.getColorManager().getColor(exclusiveColor);
         Shape shape = new Shape();
         shape.setPosition(position);
         shape.setColor(color);
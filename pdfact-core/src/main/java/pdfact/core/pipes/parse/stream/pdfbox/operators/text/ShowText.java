@@ -48,7 +48,6 @@ import pdfact.core.pipes.parse.stream.pdfbox.operators.OperatorProcessor;
 import pdfact.core.pipes.parse.stream.pdfbox.utils.PdfBoxAFMUtils;
 import pdfact.core.pipes.parse.stream.pdfbox.utils.PdfBoxGlyphUtils;
 import pdfact.core.util.PdfActUtils;
-import pdfact.core.util.color.ColorManager;
 
 /**
  * Tj: Show a text string.
@@ -301,7 +300,7 @@ public class ShowText extends OperatorProcessor {
     PDColorSpace pdColorSpace = graphicsState.getNonStrokingColorSpace();
 
     // Convert the color.
-    Color color = ColorManager.getColor(pdColor, pdColorSpace);
+    Color color = this.engine.getColorManager().getColor(pdColor, pdColorSpace);
 
     // Convert the font.
     Font font = this.fontTranslator.convert(pdFont);
@@ -18,6 +18,17 @@ public class PdfBoxGlyphUtils {
    */
   protected static Logger log = LogManager.getLogger(PdfBoxGlyphUtils.class);
 
+  /**
+   * The path to the file with the additional glyphs.
+   */
+  protected static final String ADDITIONAL_GLYPHS_PATH =
+      "org/apache/pdfbox/resources/glyphlist/additional.txt";
+
+  /**
+   * The additional glyphs, read on first use and shared by all instances of this class.
+   */
+  protected static volatile GlyphList sharedAdditionalGlyphs;
+
   /**
    * The additional glyphs.
    */
@@ -27,8 +38,7 @@ public class PdfBoxGlyphUtils {
    * A utility class to read the specifications of special characters.
    */
   public PdfBoxGlyphUtils() {
-    this.additionalGlyphs = readAdditionalGlyphs(
-        "org/apache/pdfbox/resources/glyphlist/additional.txt");
+    this.additionalGlyphs = getSharedAdditionalGlyphs();
   }
 
   // ==============================================================================================
@@ -42,6 +52,26 @@ public class PdfBoxGlyphUtils {
     return this.additionalGlyphs;
   }
 
+  /**
+   * Returns the additional glyphs. The glyphs are read from file only once per JVM, on the first
+   * call of this method.
+   * 
+   * @return The additional glyphs.
+   */
+  protected static GlyphList getSharedAdditionalGlyphs() {
+    GlyphList glyphs = sharedAdditionalGlyphs;
+    if (glyphs == null) {
+      synchronized (PdfBoxGlyphUtils.class) {
+        glyphs = sharedAdditionalGlyphs;
+        if (glyphs == null) {
+          glyphs = readAdditionalGlyphs(ADDITIONAL_GLYPHS_PATH);
+          sharedAdditionalGlyphs = glyphs;
+        }
+      }
+    }
+    return glyphs;
+  }
+
   /**
    * Reads additional glyphs from file.
    * 
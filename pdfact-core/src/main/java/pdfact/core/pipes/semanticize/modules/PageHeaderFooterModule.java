@@ -1,7 +1,6 @@
 package pdfact.core.pipes.semanticize.modules;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -11,6 +10,7 @@ import pdfact.core.model.SemanticRole;
 import pdfact.core.model.TextBlock;
 import pdfact.core.util.comparator.MinYComparator;
 import pdfact.core.util.counter.ObjectCounter;
+import pdfact.core.util.list.ElementList;
 
 /**
  * A module that identifies the text blocks with the semantic role "page header"
@@ -50,8 +50,9 @@ public class PageHeaderFooterModule implements PdfTextSemanticizerModule {
       }
 
       // Sort the blocks by minY to obtain the lowest and topmost block.
-      List<TextBlock> sortedBlocks = new ArrayList<>(textBlocks);
-      Collections.sort(sortedBlocks, new MinYComparator());
+      ElementList<TextBlock> sortedBlocks = new ElementList<>(textBlocks.size());
+      sortedBlocks.addAll(textBlocks);
+      sortedBlocks.sort(new MinYComparator());
 
       lowestBlocks.add(sortedBlocks.get(0));
       topMostBlocks.add(sortedBlocks.get(sortedBlocks.size() - 1));
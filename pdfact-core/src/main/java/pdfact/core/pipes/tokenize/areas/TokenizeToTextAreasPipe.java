@@ -1,12 +1,12 @@
 package pdfact.core.pipes.tokenize.areas;
 
-import pdfact.core.util.pipeline.Pipe;
+import pdfact.core.util.pipeline.PagePipe;
 
 /**
  * A pipe that tokenizes the pages of a PDF document into text areas.
  * 
  * @author Claudius Korzen
  */
-public interface TokenizeToTextAreasPipe extends Pipe {
+public interface TokenizeToTextAreasPipe extends PagePipe {
   
 }
@@ -1,8 +1,10 @@
 package pdfact.core.pipes.tokenize.areas;
 
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pdfact.core.model.Character;
@@ -37,12 +39,27 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut implements TokenizeToTex
   /**
    * The number of processed pages.
    */
-  protected int numProcessedPages;
+  protected final AtomicInteger numProcessedPages = new AtomicInteger();
 
   /**
    * The number of tokenized text areas.
    */
-  protected int numTokenizedTextAreas;
+  protected final AtomicInteger numTokenizedTextAreas = new AtomicInteger();
+
+  /**
+   * The pages that were tokenized early (before the character statistic of the document was
+   * available), mapped to their characters in the order before the tokenization (the
+   * tokenization sorts the characters of the page). The characters are needed to tokenize a page
+   * again, if the early result turns out to be invalid.
+   */
+  protected final Map<Page, ElementList<Character>> earlyPages =
+      Collections.synchronizedMap(new IdentityHashMap<>());
+
+  /**
+   * The character statistic to use as the statistic of the document, while tokenizing a page in
+   * the current thread.
+   */
+  protected final ThreadLocal<CharacterStatistic> pdfCharacterStatistic = new ThreadLocal<>();
 
   /**
    * Creates a new pipe that tokenizes the pages of a PDF document into text
@@ -62,13 +79,82 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut implements TokenizeToTex
     tokenizeToTextAreas(pdf);
 
     log.debug("Tokenizing the pages into text areas done.");
-    log.debug("# processed pages     : " + this.numProcessedPages);
-    log.debug("# tokenized text areas: " + this.numTokenizedTextAreas);
+    log.debug("# processed pages     : " + this.numProcessedPages.get());
+    log.debug("# tokenized text areas: " + this.numTokenizedTextAreas.get());
 
     log.debug("End of pipe: " + getClass().getSimpleName() + ".");
     return pdf;
   }
 
+  @Override
+  public void executePage(Document pdf, Page page) throws PdfActException {
+    ElementList<Character> characters = this.earlyPages.remove(page);
+    if (characters != null) {
+      // The page was tokenized early, but the result is invalid. Restore the original order of
+      // the characters, so that the result is the same as if the page wasn't tokenized early.
+      this.numProcessedPages.decrementAndGet();
+      this.numTokenizedTextAreas.addAndGet(-page.getTextAreas().size());
+      page.setCharacters(characters);
+    }
+    executePage(pdf, page, pdf.getCharacterStatistic());
+  }
+
+  @Override
+  public void executePageEarly(Document pdf, Page page) throws PdfActException {
+    // The cuts are assessed by means of the character statistic of the document, which is not
+    // available yet. Estimate it by the character statistic of the page (the most common case).
+    ElementList<Character> characters = new ElementList<>(page.getCharacters().size());
+    characters.addAll(page.getCharacters());
+    this.earlyPages.put(page, characters);
+    executePage(pdf, page, page.getCharacterStatistic());
+  }
+
+  @Override
+  public boolean isEarlyResultValid(Document pdf, Page page) {
+    CharacterStatistic pdfStats = pdf.getCharacterStatistic();
+    CharacterStatistic pageStats = page.getCharacterStatistic();
+
+    // The statistic of the document is only used in form of the thresholds
+    // max(pdfCharWidth, pageCharWidth) and min(pdfCharHeight, pageCharHeight). The early result
+    // is valid if the thresholds are the same as with the estimate (pdfStats = pageStats).
+    boolean isValid = pdfStats.getMostCommonWidth() <= pageStats.getMostCommonWidth()
+        && pdfStats.getMostCommonHeight() >= pageStats.getMostCommonHeight();
+    if (isValid) {
+      this.earlyPages.remove(page);
+    }
+    return isValid;
+  }
+
+  /**
+   * Tokenizes the given page into text areas, with the given character statistic as the
+   * statistic of the document.
+   * 
+   * @param pdf
+   *        The PDF document to which the given page belongs to.
+   * @param page
+   *        The PDF page to process.
+   * @param pdfStats
+   *        The character statistic to use as the statistic of the document.
+   * 
+   * @throws PdfActException
+   *         If something went wrong while tokenization.
+   */
+  protected void executePage(Document pdf, Page page, CharacterStatistic pdfStats)
+      throws PdfActException {
+    this.numProcessedPages.incrementAndGet();
+
+    ElementList<TextArea> textAreas;
+    this.pdfCharacterStatistic.set(pdfStats);
+    try {
+      textAreas = tokenizeToTextAreas(pdf, page);
+    } finally {
+      this.pdfCharacterStatistic.remove();
+    }
+
+    page.setTextAreas(textAreas);
+    this.numTokenizedTextAreas.addAndGet(textAreas.size());
+  }
+
   // ==============================================================================================
 
   /**
@@ -94,13 +180,7 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut implements TokenizeToTex
       if (page == null) {
         continue;
       }
-
-      this.numProcessedPages++;
-
-      ElementList<TextArea> textAreas = tokenizeToTextAreas(pdf, page);
-
-      page.setTextAreas(textAreas);
-      this.numTokenizedTextAreas += textAreas.size();
+      executePage(pdf, page);
     }
   }
 
@@ -126,9 +206,9 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut implements TokenizeToTex
     if (areaCharsList != null) {
       for (ElementList<Character> areaChars : areaCharsList) {
         TextArea area = new TextArea();
+        pdf.assignElementId(area);
         area.setCharacters(areaChars);
         area.setPosition(computePosition(pdf, page, area));
-        area.setCharacterStatistic(computeCharacterStatistic(pdf, page, area));
         result.add(area);
       }
     }
@@ -154,44 +234,25 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut implements TokenizeToTex
     return new Position(page, r);
   }
 
-  /**
-   * Computes the statistic about the given characters.
-   * 
-   * @param pdf
-   *        The PDF document to which the given text area belongs to.
-   * @param page
-   *        The PDF page to which the given text area belongs to.
-   * @param area
-   *        The text area to process.
-   * 
-   * @return The computed statistic.
-   */
-  protected CharacterStatistic computeCharacterStatistic(Document pdf,
-      Page page, TextArea area) {
-    return this.characterStatistician.compute(area.getCharacters());
-  }
-
   // ==============================================================================================
 
   @Override
   public float assessVerticalCut(Document pdf, Page page,
       List<ElementList<Character>> halves) {
-    // Compute the statistics for the characters in the left half.
+    // Compute the extents of the characters in the left half.
     ElementList<Character> left = halves.get(0);
-    CharacterStatistic leftStats = this.characterStatistician.compute(left);
-    Rectangle leftRectangle = new Rectangle(left);
+    Rectangle leftRectangle = this.characterStatistician.computeBoundingBox(left);
 
-    // Compute the statistics for the characters in the right half.
+    // Compute the extents of the characters in the right half.
     ElementList<Character> right = halves.get(1);
-    CharacterStatistic rightStats = this.characterStatistician.compute(right);
-    Rectangle rightRectangle = new Rectangle(right);
+    Rectangle rightRectangle = this.characterStatistician.computeBoundingBox(right);
 
     // Compute the (fictive) lane between the left and right half.
-    float laneMinX = leftStats.getLargestMaxX();
-    float laneMaxX = rightStats.getSmallestMinX();
+    float laneMinX = leftRectangle.getMaxX();
+    float laneMaxX = rightRectangle.getMinX();
     float laneWidth = laneMaxX - laneMinX;
 
-    CharacterStatistic pdfCharStats = pdf.getCharacterStatistic();
+    CharacterStatistic pdfCharStats = getPdfCharacterStatistic(pdf);
     CharacterStatistic pageCharStats = page.getCharacterStatistic();
     float pdfCharWidth = pdfCharStats.getMostCommonWidth();
     float pageCharWidth = pageCharStats.getMostCommonWidth();
@@ -201,6 +262,11 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut implements TokenizeToTex
       return -1;
     }
 
+    // Compute the statistics for the characters in both halves. This is done only after checking
+    // the width of the lane, because most of the lanes are already rejected by the check above.
+    CharacterStatistic leftStats = this.characterStatistician.compute(left);
+    CharacterStatistic rightStats = this.characterStatistician.compute(right);
+
     // Don't allow the lane, if the resulting areas are too low. This should prevent to split 
     // single text lines into multiple areas, for example the page headers in PDF0008.
     if (leftRectangle.getHeight() < 2 * leftStats.getMostCommonHeight() 
@@ -221,17 +287,17 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut implements TokenizeToTex
   @Override
   public float assessHorizontalCut(Document pdf, Page page,
       List<ElementList<Character>> halves) {
-    // Compute the statistics for the characters in the upper half.
+    // Compute the extents of the characters in the upper half (the frequencies are not needed).
     ElementList<Character> upper = halves.get(0);
-    CharacterStatistic upperStats = this.characterStatistician.compute(upper);
+    Rectangle upperRectangle = this.characterStatistician.computeBoundingBox(upper);
 
-    // Compute the statistics for the characters in the lower half.
+    // Compute the extents of the characters in the lower half.
     ElementList<Character> lower = halves.get(1);
-    CharacterStatistic lowerStats = this.characterStatistician.compute(lower);
+    Rectangle lowerRectangle = this.characterStatistician.computeBoundingBox(lower);
 
     // Compute the (fictive) lane between the lower and upper half.
-    float laneMinY = lowerStats.getLargestMaxY();
-    float laneMaxY = upperStats.getSmallestMinY();
+    float laneMinY = lowerRectangle.getMaxY();
+    float laneMaxY = upperRectangle.getMinY();
     float laneHeight = laneMaxY - laneMinY;
 
     // Don't allow lanes with negative heights.
@@ -239,7 +305,7 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut implements TokenizeToTex
       return -1;
     }
 
-    float pdfCharHeight = pdf.getCharacterStatistic().getMostCommonHeight();
+    float pdfCharHeight = getPdfCharacterStatistic(pdf).getMostCommonHeight();
     float pageCharHeight = page.getCharacterStatistic().getMostCommonHeight();
 
     // Don't allow the lane, if it is too shallow.
@@ -253,6 +319,20 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut implements TokenizeToTex
   // ==============================================================================================
   // Utility methods.
 
+  /**
+   * Returns the character statistic to use as the statistic of the given PDF document, while
+   * tokenizing a page in the current thread.
+   * 
+   * @param pdf
+   *        The PDF document.
+   * 
+   * @return The character statistic to use as the statistic of the document.
+   */
+  protected CharacterStatistic getPdfCharacterStatistic(Document pdf) {
+    CharacterStatistic statistic = this.pdfCharacterStatistic.get();
+    return statistic != null ? statistic : pdf.getCharacterStatistic();
+  }
+
   /**
    * Checks if there is a character in the first given list of characters with
    * an extraction order number i and a character in the second given list of
@@ -273,7 +353,8 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut implements TokenizeToTex
       CharacterStatistic leftStats, ElementList<Character> right,
       CharacterStatistic rightStats) {
     float largestMaxX = leftStats.getLargestMaxX();
-    Set<Character> leftChars = new HashSet<>();
+    // The characters are distinct, so there is no need to (deeply) hash them into a set.
+    ElementList<Character> leftChars = new ElementList<>();
     for (Character c : left) {
       Rectangle rect = c.getPosition().getRectangle();
       if (PdfActUtils.isEqual(rect.getMaxX(), largestMaxX, 3 * leftStats.getMostCommonWidth())) {
@@ -282,7 +363,7 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut implements TokenizeToTex
     }
 
     float smallestMinX = rightStats.getSmallestMinX();
-    Set<Character> rightChars = new HashSet<>();
+    ElementList<Character> rightChars = new ElementList<>();
     for (Character c : right) {
       Rectangle rect = c.getPosition().getRectangle();
       if (PdfActUtils.isEqual(rect.getMinX(), smallestMinX, 3 * rightStats.getMostCommonWidth())) {
@@ -2,6 +2,7 @@ package pdfact.core.pipes.tokenize.blocks;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
 import org.apache.logging.log4j.LogManager;
@@ -22,8 +23,6 @@ import pdfact.core.model.TextLineStatistic;
 import pdfact.core.util.PdfActUtils;
 import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.list.ElementList;
-import pdfact.core.util.statistician.CharacterStatistician;
-import pdfact.core.util.statistician.TextLineStatistician;
 
 /**
  * A plain implementation of {@link TokenizeToTextBlocksPipe}.
@@ -36,32 +35,20 @@ public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
    */
   protected static Logger log = LogManager.getFormatterLogger("block-detection");
 
-  /**
-   * The statistician to compute statistics about characters.
-   */
-  protected CharacterStatistician characterStatistician;
-
-  /**
-   * The statistician to compute statistics about text lines.
-   */
-  protected TextLineStatistician textLineStatistician;
-
   /**
    * The number of processed text lines.
    */
-  protected int numProcessedTextLines;
+  protected final AtomicInteger numProcessedTextLines = new AtomicInteger();
 
   /**
    * The number of tokenized text blocks.
    */
-  protected int numTokenizedTextBlocks;
+  protected final AtomicInteger numTokenizedTextBlocks = new AtomicInteger();
 
   /**
    * The default constructor.
    */
   public PlainTokenizeToTextBlocksPipe() {
-    this.characterStatistician = new CharacterStatistician();
-    this.textLineStatistician = new TextLineStatistician();
   }
 
   // ==============================================================================================
@@ -70,10 +57,26 @@ public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
   public Document execute(Document doc) throws PdfActException {
     tokenizeToTextBlocks(doc);
 
-    // Print the debug info for line detection here (and not in PlainTokenizeToTextLines.class),
-    // because the text of text lines is only known after words were detected.
+    return doc;
+  }
+
+  @Override
+  public void executePage(Document pdf, Page page) throws PdfActException {
+    log.debug("====================== Page %d ======================", page.getPageNumber());
+    page.setTextBlocks(tokenizeToTextBlocks(pdf, page));
+    logDebugInfo(page);
+  }
+
+  /**
+   * Prints the debug info about the detected text blocks of the given page. The output of a page
+   * is written in one piece, such that it is not interleaved with the output of other pages that
+   * are processed concurrently.
+   *
+   * @param page The PDF page to process.
+   */
+  protected void logDebugInfo(Page page) {
     if (log.isDebugEnabled()) {
-      for (Page page : doc.getPages()) {
+      synchronized (log) {
         log.debug("==================== Page %d ====================", page.getPageNumber());
         for (TextBlock block : page.getTextBlocks()) {
           log.debug("-------------------------------------------");
@@ -97,8 +100,6 @@ public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
         }
       }
     }
-
-    return doc;
   }
 
   // ==============================================================================================
@@ -125,8 +126,7 @@ public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
         continue;
       }
 
-      log.debug("====================== Page %d ======================", page.getPageNumber());
-      page.setTextBlocks(tokenizeToTextBlocks(pdf, page));
+      executePage(pdf, page);
     }
   }
 
@@ -146,6 +146,7 @@ public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
           throws PdfActException {
     ElementList<TextBlock> textBlocks = new ElementList<>();
     TextBlock textBlock = new TextBlock();
+    pdf.assignElementId(textBlock);
 
     ElementList<TextLine> lines = page.getTextLines();
     for (int i = 0; i < lines.size(); i++) {
@@ -153,7 +154,7 @@ public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
       TextLine line = lines.get(i);
       TextLine next = i < lines.size() - 1 ? lines.get(i + 1) : null;
 
-      this.numProcessedTextLines++;
+      this.numProcessedTextLines.incrementAndGet();
 
       if (introducesNewTextBlock(pdf, page, textBlock, prev, line, next)) {
         if (!textBlock.getTextLines().isEmpty()) {
@@ -161,6 +162,7 @@ public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
         }
         // Create a new text block.
         textBlock = new TextBlock();
+        pdf.assignElementId(textBlock);
       }
       // Add the current line to the current text block.
       textBlock.addTextLine(line);
@@ -173,41 +175,17 @@ public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
 
     // Iterate through the text blocks in order to compute their properties.
     for (TextBlock block : textBlocks) {
-      block.setCharacterStatistic(computeCharacterStatistic(block));
-      block.setTextLineStatistic(computeTextLineStatistic(block));
       block.setPosition(computePosition(page, block));
       block.setText(computeText(block));
     }
 
-    this.numTokenizedTextBlocks += textBlocks.size();
+    this.numTokenizedTextBlocks.addAndGet(textBlocks.size());
 
     return textBlocks;
   }
 
   // ==============================================================================================
 
-  /**
-   * Computes the character statistic for the given text block.
-   *
-   * @param block The text block to process.
-   *
-   * @return The character statistic for the given text block.
-   */
-  protected CharacterStatistic computeCharacterStatistic(TextBlock block) {
-    return this.characterStatistician.aggregate(block.getTextLines());
-  }
-
-  /**
-   * Computes the text line statistic for the given text block.
-   *
-   * @param block The text block to process.
-   *
-   * @return The text line statistic for the given text block.
-   */
-  protected TextLineStatistic computeTextLineStatistic(TextBlock block) {
-    return this.textLineStatistician.compute(block.getTextLines());
-  }
-
   /**
    * Computes the position for the given text block.
    *
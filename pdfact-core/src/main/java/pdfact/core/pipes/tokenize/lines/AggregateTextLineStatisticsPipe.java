@@ -0,0 +1,13 @@
+package pdfact.core.pipes.tokenize.lines;
+
+import pdfact.core.util.pipeline.Pipe;
+
+/**
+ * A pipe that aggregates the statistics about the text lines of the single pages of a PDF document
+ * to the statistics about the text lines of the whole document.
+ * 
+ * @author Claudius Korzen
+ */
+public interface AggregateTextLineStatisticsPipe extends Pipe {
+
+}
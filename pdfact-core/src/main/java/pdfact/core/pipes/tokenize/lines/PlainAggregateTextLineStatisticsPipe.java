@@ -0,0 +1,52 @@
+package pdfact.core.pipes.tokenize.lines;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pdfact.core.model.Document;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.statistician.TextLineStatistician;
+
+/**
+ * A plain implementation of {@link AggregateTextLineStatisticsPipe}.
+ *
+ * <p>
+ * The statistics about the text lines of the pages are computed by the
+ * {@link TokenizeToTextLinesPipe}, page by page. This pipe needs to be executed after all pages
+ * were tokenized into text lines and before the statistics about the text lines of the document
+ * are needed (for example, by the text block tokenizer).
+ * 
+ * @author Claudius Korzen
+ */
+public class PlainAggregateTextLineStatisticsPipe implements AggregateTextLineStatisticsPipe {
+  /**
+   * The logger.
+   */
+  protected static Logger log = LogManager.getLogger(PlainAggregateTextLineStatisticsPipe.class);
+
+  /**
+   * The statistician to compute the statistics about text lines.
+   */
+  protected TextLineStatistician textLineStatistician;
+
+  /**
+   * Creates a new pipe that aggregates the statistics about the text lines of the pages.
+   */
+  public PlainAggregateTextLineStatisticsPipe() {
+    this.textLineStatistician = new TextLineStatistician();
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public Document execute(Document pdf) throws PdfActException {
+    log.debug("Start of pipe: " + getClass().getSimpleName() + ".");
+
+    if (pdf != null && pdf.getPages() != null) {
+      pdf.setTextLineStatistic(this.textLineStatistician.aggregate(pdf.getPages()));
+    }
+
+    log.debug("End of pipe: " + getClass().getSimpleName() + ".");
+
+    return pdf;
+  }
+}
@@ -1,11 +1,10 @@
 package pdfact.core.pipes.tokenize.lines;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pdfact.core.model.Character;
-import pdfact.core.model.CharacterStatistic;
 import pdfact.core.model.Document;
 import pdfact.core.model.Line;
 import pdfact.core.model.Page;
@@ -46,12 +45,12 @@ public class PlainTokenizeToTextLinesPipe extends XYCut implements TokenizeToTex
   /**
    * The number of processed text areas.
    */
-  protected int numProcessedTextAreas;
+  protected final AtomicInteger numProcessedTextAreas = new AtomicInteger();
 
   /**
    * The number of tokenized text lines.
    */
-  protected int numTokenizedTextLines;
+  protected final AtomicInteger numTokenizedTextLines = new AtomicInteger();
 
   /**
    * Creates a new text line tokenizer.
@@ -70,6 +69,13 @@ public class PlainTokenizeToTextLinesPipe extends XYCut implements TokenizeToTex
     return doc;
   }
 
+  @Override
+  public void executePage(Document pdf, Page page) throws PdfActException {
+    ElementList<TextLine> textLines = tokenizeToTextLines(pdf, page);
+    page.setTextLineStatistic(this.textLineStatistician.compute(textLines));
+    page.setTextLines(textLines);
+  }
+
   // ==============================================================================================
 
   /**
@@ -94,9 +100,7 @@ public class PlainTokenizeToTextLinesPipe extends XYCut implements TokenizeToTex
         continue;
       }
 
-      ElementList<TextLine> textLines = tokenizeToTextLines(pdf, page);
-      page.setTextLineStatistic(this.textLineStatistician.compute(textLines));
-      page.setTextLines(textLines);
+      executePage(pdf, page);
     }
     pdf.setTextLineStatistic(this.textLineStatistician.aggregate(pages));
   }
@@ -119,20 +123,20 @@ public class PlainTokenizeToTextLinesPipe extends XYCut implements TokenizeToTex
       ElementList<Character> characters = area.getCharacters();
       List<ElementList<Character>> charLists = cut(pdf, page, characters);
 
-      this.numProcessedTextAreas++;
+      this.numProcessedTextAreas.incrementAndGet();
 
       for (ElementList<Character> charList : charLists) {
         // Create a PdfTextLine object.
         TextLine textLine = new TextLine();
+        pdf.assignElementId(textLine);
         textLine.setCharacters(charList);
         textLine.setBaseline(computeBaseline(charList));
-        textLine.setCharacterStatistic(computeCharacterStatistic(charList));
         textLine.setPosition(computePosition(page, charList));
         result.add(textLine);
       }
     }
 
-    this.numTokenizedTextLines += result.size();
+    this.numTokenizedTextLines.addAndGet(result.size());
 
     return result;
   }
@@ -150,7 +154,7 @@ public class PlainTokenizeToTextLinesPipe extends XYCut implements TokenizeToTex
     FloatCounter minYCounter = new FloatCounter();
 
     if (characters != null && !characters.isEmpty()) {
-      Collections.sort(characters, new MinXComparator());
+      characters.sort(new MinXComparator());
 
       float minX = Float.MAX_VALUE;
       float maxX = -Float.MAX_VALUE;
@@ -172,16 +176,6 @@ public class PlainTokenizeToTextLinesPipe extends XYCut implements TokenizeToTex
     return baseLine;
   }
 
-  /**
-   * Computes the character statistics for the given text line.
-   * 
-   * @param chars The characters to process.
-   * @return The character statistics for the given text line.
-   */
-  protected CharacterStatistic computeCharacterStatistic(ElementList<Character> chars) {
-    return this.characterStatistician.compute(chars);
-  }
-
   /**
    * Computes the position for the given text line.
    * 
@@ -205,13 +199,12 @@ public class PlainTokenizeToTextLinesPipe extends XYCut implements TokenizeToTex
 
   @Override
   public float assessHorizontalCut(Document pdf, Page page, List<ElementList<Character>> halves) {
+    // Only the extents of the halves are needed, so don't compute the full statistics.
     ElementList<Character> upper = halves.get(0);
-    CharacterStatistic upperStats = this.characterStatistician.compute(upper);
-    float upperMinY = upperStats.getSmallestMinY();
+    float upperMinY = this.characterStatistician.computeBoundingBox(upper).getMinY();
 
     ElementList<Character> lower = halves.get(1);
-    CharacterStatistic lowerStats = this.characterStatistician.compute(lower);
-    float lowerMaxY = lowerStats.getLargestMaxY();
+    float lowerMaxY = this.characterStatistician.computeBoundingBox(lower).getMaxY();
 
     return upperMinY - lowerMaxY;
   }
@@ -1,12 +1,12 @@
 package pdfact.core.pipes.tokenize.lines;
 
-import pdfact.core.util.pipeline.Pipe;
+import pdfact.core.util.pipeline.PagePipe;
 
 /**
  * A pipe that tokenize the text areas of a PDF page into text lines.
  * 
  * @author Claudius Korzen
  */
-public interface TokenizeToTextLinesPipe extends Pipe {
+public interface TokenizeToTextLinesPipe extends PagePipe {
   
 }
@@ -117,6 +117,7 @@ public class PlainTokenizeToParagraphsPipe implements TokenizeToParagraphsPipe {
     // Create the PdfParagraph objects.
     for (List<TextBlock> segment : segments) {
       Paragraph paragraph = new Paragraph();
+      pdf.assignElementId(paragraph);
       for (TextBlock block : segment) {
         for (TextLine line : block.getTextLines()) {
           paragraph.addWords(line.getWords());
@@ -125,7 +126,7 @@ public class PlainTokenizeToParagraphsPipe implements TokenizeToParagraphsPipe {
       paragraph.setText(computeText(paragraph));
       paragraph.setPositions(computePositions(segment));
       paragraph.setSemanticRole(computeRole(segment));
-      paragraph.setCharacterStatistic(computeCharacterStatistic(paragraph));
+      paragraph.setCharacterStatistic(computeCharacterStatistic(segment));
       paragraphs.add(paragraph);
     }
 
@@ -178,15 +179,16 @@ public class PlainTokenizeToParagraphsPipe implements TokenizeToParagraphsPipe {
   }
 
   /**
-   * Computes the statistic about the characters of the given paragraph.
+   * Computes the statistic about the characters of a paragraph by merging the (already computed)
+   * statistics of its text blocks.
    * 
-   * @param paragraph
-   *        The paragraph to process.
+   * @param blocks
+   *        The blocks of the paragraph to process.
    * 
    * @return The statistic.
    */
-  protected CharacterStatistic computeCharacterStatistic(Paragraph paragraph) {
-    return this.characterStatistician.aggregate(paragraph.getWords());
+  protected CharacterStatistic computeCharacterStatistic(List<TextBlock> blocks) {
+    return this.characterStatistician.aggregate(blocks);
   }
 
   // ==============================================================================================
@@ -1,12 +1,12 @@
 package pdfact.core.pipes.tokenize.words;
 
-import pdfact.core.util.pipeline.Pipe;
+import pdfact.core.util.pipeline.PagePipe;
 
 /**
  * A pipe that tokenize the text lines of a PDF page into words.
  * 
  * @author Claudius Korzen
  */
-public interface TokenizeToWordsPipe extends Pipe {
+public interface TokenizeToWordsPipe extends PagePipe {
   
 }
@@ -2,12 +2,11 @@ package pdfact.core.pipes.tokenize.words;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pdfact.core.model.Character;
-import pdfact.core.model.CharacterStatistic;
 import pdfact.core.model.Color;
 import pdfact.core.model.Document;
 import pdfact.core.model.FontFace;
@@ -44,12 +43,12 @@ public class XYCutTokenizeToWordsPipe extends XYCut implements TokenizeToWordsPi
   /**
    * The number of processed text lines.
    */
-  protected int numProcessedTextLines;
+  protected final AtomicInteger numProcessedTextLines = new AtomicInteger();
 
   /**
    * The number of tokenized words.
    */
-  protected int numTokenizedWords;
+  protected final AtomicInteger numTokenizedWords = new AtomicInteger();
 
   /**
    * Creates a new word tokenizer.
@@ -64,10 +63,71 @@ public class XYCutTokenizeToWordsPipe extends XYCut implements TokenizeToWordsPi
   public Document execute(Document doc) throws PdfActException {
     tokenizeToWords(doc);
 
-    // Print the debug info for line detection here (and not in PlainTokenizeToTextLines.class),
-    // because the text of text lines is only known after words were detected.
+    return doc;
+  }
+
+  @Override
+  public void executePage(Document pdf, Page page) throws PdfActException {
+    tokenizeToWords(pdf, page);
+    logDebugInfo(page);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Tokenizes the text lines in the pages of the given PDF document into words.
+   * 
+   * @param pdf
+   *        The PDF document to process.
+   * 
+   * @throws PdfActException
+   *         If something went wrong while tokenization.
+   */
+  protected void tokenizeToWords(Document pdf) throws PdfActException {
+    if (pdf == null) {
+      return;
+    }
+
+    for (Page page : pdf.getPages()) {
+      executePage(pdf, page);
+    }
+  }
+
+  /**
+   * Tokenizes the text lines in the given page into words.
+   * 
+   * @param pdf
+   *        The PDF document to which the given page belongs to.
+   * @param page
+   *        The PDF page to process.
+   * 
+   * @throws PdfActException
+   *         If something went wrong while tokenization.
+   */
+  protected void tokenizeToWords(Document pdf, Page page) throws PdfActException {
+    for (TextLine line : page.getTextLines()) {
+      ElementList<Word> words = tokenizeToWords(pdf, page, line);
+      line.setWords(words);
+      line.setText(PdfActUtils.join(words, " "));
+
+      this.numProcessedTextLines.incrementAndGet();
+      this.numTokenizedWords.addAndGet(words.size());
+    }
+  }
+
+  /**
+   * Prints the debug info about the detected text lines and words of the given page. The debug
+   * info for line detection is printed here (and not in PlainTokenizeToTextLines.class), because
+   * the text of text lines is only known after words were detected. The output of a page is
+   * written in one piece, such that it is not interleaved with the output of other pages that are
+   * processed concurrently.
+   * 
+   * @param page
+   *        The PDF page to process.
+   */
+  protected void logDebugInfo(Page page) {
     if (llog.isDebugEnabled()) {
-      for (Page page : doc.getPages()) {
+      synchronized (llog) {
         llog.debug("==================== Page %d ====================", page.getPageNumber());
         for (TextLine line : page.getTextLines()) {
           llog.debug("-------------------------------------------");
@@ -94,7 +154,7 @@ public class XYCutTokenizeToWordsPipe extends XYCut implements TokenizeToWordsPi
     }
 
     if (wlog.isDebugEnabled()) {
-      for (Page page : doc.getPages()) {
+      synchronized (wlog) {
         wlog.debug("==================== Page %d ====================", page.getPageNumber());
         for (TextLine line : page.getTextLines()) {
           for (Word word : line.getWords()) {
@@ -121,36 +181,6 @@ public class XYCutTokenizeToWordsPipe extends XYCut implements TokenizeToWordsPi
         }
       }
     }
-
-    return doc;
-  }
-
-  // ==============================================================================================
-
-  /**
-   * Tokenizes the text lines in the pages of the given PDF document into words.
-   * 
-   * @param pdf
-   *        The PDF document to process.
-   * 
-   * @throws PdfActException
-   *         If something went wrong while tokenization.
-   */
-  protected void tokenizeToWords(Document pdf) throws PdfActException {
-    if (pdf == null) {
-      return;
-    }
-
-    for (Page page : pdf.getPages()) {
-      for (TextLine line : page.getTextLines()) {
-        ElementList<Word> words = tokenizeToWords(pdf, page, line);
-        line.setWords(words);
-        line.setText(PdfActUtils.join(words, " "));
-
-        this.numProcessedTextLines++;
-        this.numTokenizedWords += words.size();
-      }
-    }
   }
 
   /**
@@ -177,10 +207,10 @@ public class XYCutTokenizeToWordsPipe extends XYCut implements TokenizeToWordsPi
     Word word = null;
     for (ElementList<Character> charList : charLists) {
       word = new Word();
+      pdf.assignElementId(word);
       word.setCharacters(charList);
       word.setText(computeText(word));
       word.setPositions(computePositions(page, word));
-      word.setCharacterStatistic(computeCharStatistics(word));
       result.add(word);
     }
 
@@ -197,13 +227,12 @@ public class XYCutTokenizeToWordsPipe extends XYCut implements TokenizeToWordsPi
   @Override
   public float assessVerticalCut(Document pdf, Page page,
       List<ElementList<Character>> halves) {
+    // Only the extents of the halves are needed, so don't compute the full statistics.
     ElementList<Character> left = halves.get(0);
-    CharacterStatistic leftStats = this.charStatistician.compute(left);
-    float leftMaxX = leftStats.getLargestMaxX();
+    float leftMaxX = this.charStatistician.computeBoundingBox(left).getMaxX();
 
     ElementList<Character> right = halves.get(1);
-    CharacterStatistic rightStats = this.charStatistician.compute(right);
-    float rightMinX = rightStats.getSmallestMinX();
+    float rightMinX = this.charStatistician.computeBoundingBox(right).getMinX();
 
     float width = rightMinX - leftMaxX;
     if (width < 1f) {
@@ -222,17 +251,6 @@ public class XYCutTokenizeToWordsPipe extends XYCut implements TokenizeToWordsPi
 
   // ==============================================================================================
 
-  /**
-   * Computes the character statistics for the given word.
-   * 
-   * @param word
-   *        The word to process.
-   * @return The character statistics for the given word.
-   */
-  protected CharacterStatistic computeCharStatistics(Word word) {
-    return this.charStatistician.compute(word.getCharacters());
-  }
-
   /**
    * Computes the position for the given word.
    * 
@@ -259,7 +277,7 @@ public class XYCutTokenizeToWordsPipe extends XYCut implements TokenizeToWordsPi
    * @return The text for the given word.
    */
   protected String computeText(Word word) {
-    Collections.sort(word.getCharacters(), new MinXComparator());
+    word.getCharacters().sort(new MinXComparator());
     return PdfActUtils.join(word.getCharacters(), "");
   }
 
@@ -3,6 +3,7 @@ package pdfact.core.pipes.translate.characters;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pdfact.core.model.Character;
@@ -31,12 +32,12 @@ public class PlainStandardizeCharactersPipe
   /**
    * The number of processed characters.
    */
-  protected int numProcessedCharacters;
+  protected final AtomicInteger numProcessedCharacters = new AtomicInteger();
 
   /**
    * The number of standardized characters.
    */
-  protected int numStandardizedCharacters;
+  protected final AtomicInteger numStandardizedCharacters = new AtomicInteger();
 
   // TODO: Move this to character lexicon.
   static {
@@ -61,6 +62,11 @@ public class PlainStandardizeCharactersPipe
     return pdf;
   }
 
+  @Override
+  public void executePage(Document pdf, Page page) throws PdfActException {
+    standardizeCharacters(page);
+  }
+
   // ==============================================================================================
 
   /**
@@ -112,6 +118,6 @@ public class PlainStandardizeCharactersPipe
       return;
     }
 
-    this.numProcessedCharacters++;
+    this.numProcessedCharacters.incrementAndGet();
   }
 }
@@ -1,6 +1,6 @@
 package pdfact.core.pipes.translate.characters;
 
-import pdfact.core.util.pipeline.Pipe;
+import pdfact.core.util.pipeline.PagePipe;
 
 /**
  * A pipe that standardizes characters, i.e. translates characters with
@@ -9,6 +9,6 @@ import pdfact.core.util.pipeline.Pipe;
  * 
  * @author Claudius Korzen
  */
-public interface StandardizeCharactersPipe extends Pipe {
+public interface StandardizeCharactersPipe extends PagePipe {
   
 }
@@ -4,6 +4,7 @@ import java.text.Normalizer;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pdfact.core.model.Character;
@@ -28,12 +29,12 @@ public class PlainMergeDiacriticsPipe implements MergeDiacriticsPipe {
   /**
    * The number of processed characters.
    */
-  protected int numProcessedCharacters;
+  protected final AtomicInteger numProcessedCharacters = new AtomicInteger();
 
   /**
    * The number of merged characters.
    */
-  protected int numMergedDiacritics;
+  protected final AtomicInteger numMergedDiacritics = new AtomicInteger();
 
   // ==============================================================================================
 
@@ -43,6 +44,11 @@ public class PlainMergeDiacriticsPipe implements MergeDiacriticsPipe {
     return pdf;
   }
 
+  @Override
+  public void executePage(Document pdf, Page page) throws PdfActException {
+    mergeDiacritics(page);
+  }
+
   // ==============================================================================================
 
   /**
@@ -55,27 +61,36 @@ public class PlainMergeDiacriticsPipe implements MergeDiacriticsPipe {
       List<Page> pages = pdf.getPages();
       if (pages != null) {
         for (Page page : pages) {
-          ElementList<Character> before = page.getCharacters();
-          ElementList<Character> after = new ElementList<>(before.size());
-          if (before != null) {
-            for (int i = 0; i < before.size(); i++) {
-              Character prev = i > 0 ? before.get(i - 1) : null;
-              Character character = before.get(i);
-              Character next = i < before.size() - 1 ? before.get(i + 1) : null;
-
-              // Don't proceed if the character in question is not a diacritic.
-              if (isDiacritic(character)) {
-                mergeDiacritic(prev, character, next);
-                this.numMergedDiacritics++;
-              } else {
-                after.add(character);
-              }
-              this.numProcessedCharacters++;
-            }
-            page.setCharacters(after);
-          }
+          mergeDiacritics(page);
+        }
+      }
+    }
+  }
+
+  /**
+   * Merges the diacritical marks in the given page with their related characters.
+   * 
+   * @param page The page to process.
+   */
+  protected void mergeDiacritics(Page page) {
+    ElementList<Character> before = page.getCharacters();
+    ElementList<Character> after = new ElementList<>(before.size());
+    if (before != null) {
+      for (int i = 0; i < before.size(); i++) {
+        Character prev = i > 0 ? before.get(i - 1) : null;
+        Character character = before.get(i);
+        Character next = i < before.size() - 1 ? before.get(i + 1) : null;
+
+        // Don't proceed if the character in question is not a diacritic.
+        if (isDiacritic(character)) {
+          mergeDiacritic(prev, character, next);
+          this.numMergedDiacritics.incrementAndGet();
+        } else {
+          after.add(character);
         }
+        this.numProcessedCharacters.incrementAndGet();
       }
+      page.setCharacters(after);
     }
   }
 
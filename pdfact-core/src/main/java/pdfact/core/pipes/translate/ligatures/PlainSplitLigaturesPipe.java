@@ -71,6 +71,11 @@ public class PlainSplitLigaturesPipe implements SplitLigaturesPipe {
     return pdf;
   }
 
+  @Override
+  public void executePage(Document pdf, Page page) throws PdfActException {
+    splitLigatures(page);
+  }
+
   // ==============================================================================================
 
   /**
@@ -85,17 +90,31 @@ public class PlainSplitLigaturesPipe implements SplitLigaturesPipe {
       List<Page> pages = pdf.getPages();
       if (pages != null) {
         for (Page page : pages) {
-          List<Character> characters = page.getCharacters();
-          if (characters != null) {
-            for (Character character : characters) {
-              splitLigature(character);
-            }
-          }
+          splitLigatures(page);
         }
       }
     }
   }
 
+  /**
+   * Splits the ligatures of the given page into its individual characters.
+   * 
+   * @param page
+   *        The page to process.
+   */
+  protected void splitLigatures(Page page) {
+    if (page == null) {
+      return;
+    }
+
+    List<Character> characters = page.getCharacters();
+    if (characters != null) {
+      for (Character character : characters) {
+        splitLigature(character);
+      }
+    }
+  }
+
   /**
    * Checks if the given character is a ligature and if so, translates it into
    * its individual characters and changes the textual content of the given
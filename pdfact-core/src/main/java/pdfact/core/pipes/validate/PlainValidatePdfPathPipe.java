@@ -29,10 +29,13 @@ public class PlainValidatePdfPathPipe implements ValidatePdfPathPipe {
       throw new PdfActValidateException(message);
     }
 
+    // A PDF given in memory, as a stream or as a PDFBox source has no path to validate.
+    if (pdf.hasPath()) {
+      log.debug("validated PDF path: " + pdf.getPath());
+      // Validate the path to the PDF file.
+      validatePdfPath(pdf.getPath());
+    }
     log.debug("Validating the PDF path done.");
-    log.debug("validated PDF path: " + pdf.getPath());
-    // Validate the path to the PDF file.
-    validatePdfPath(pdf.getPath());
 
     log.debug("End of pipe: " + getClass().getSimpleName() + ".");
     return pdf;
@@ -0,0 +1,345 @@
+package pdfact.core.util.binary;
+
+import static pdfact.core.util.binary.BinaryFormat.NO_ENTRY;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import pdfact.core.model.Color;
+import pdfact.core.model.Font;
+import pdfact.core.model.SemanticRole;
+
+/**
+ * The elements of a single unit (for example, the paragraphs or the words) of a file in the
+ * binary format described in {@link BinaryFormat}, accessed by their indexes.
+ *
+ * <p>
+ * The boxes and the font sizes are read directly from the underlying buffer, the texts are
+ * decoded on access. The variable-length columns are decoded once, on creation of the block.
+ *
+ * @author Claudius Korzen
+ */
+public class BinaryBlock {
+  /**
+   * The reader of the file this block belongs to (which holds the dictionaries).
+   */
+  protected BinaryReader reader;
+
+  /**
+   * The buffer that contains the body of this block.
+   */
+  protected ByteBuffer body;
+
+  /**
+   * The number of elements.
+   */
+  protected int numElements;
+
+  /**
+   * The offset of the column of the boxes in the body.
+   */
+  protected int boxesOffset;
+
+  /**
+   * The offset of the column of the font sizes in the body.
+   */
+  protected int fontSizesOffset;
+
+  /**
+   * The index of the first position per element (with an additional entry at the end that
+   * holds the total number of positions).
+   */
+  protected int[] firstPositions;
+
+  /**
+   * The page numbers per position.
+   */
+  protected int[] pageNumbers;
+
+  /**
+   * The indexes into the role dictionary per element (1-based, 0 means no role).
+   */
+  protected int[] roles;
+
+  /**
+   * The indexes into the font dictionary per element (1-based, 0 means no font).
+   */
+  protected int[] fonts;
+
+  /**
+   * The indexes into the color dictionary per element (1-based, 0 means no color).
+   */
+  protected int[] colors;
+
+  /**
+   * The offsets of the texts in the body per element (-1 if the element has no text).
+   */
+  protected int[] textOffsets;
+
+  /**
+   * The lengths of the texts in bytes per element.
+   */
+  protected int[] textLengths;
+
+  // ==============================================================================================
+
+  /**
+   * Creates a new block.
+   *
+   * @param reader The reader of the file this block belongs to.
+   * @param body   The buffer that contains the body of the block, positioned at its beginning.
+   *
+   * @throws IOException If the body is not in the expected format.
+   */
+  protected BinaryBlock(BinaryReader reader, ByteBuffer body) throws IOException {
+    this.reader = reader;
+    this.body = body;
+
+    int n = BinaryReader.readVarint(body);
+    int p = BinaryReader.readVarint(body);
+    if (n < 0 || p < 0 || 4L * (4L * p + n) > body.remaining()) {
+      throw new IOException("The number of elements or positions is invalid.");
+    }
+    this.numElements = n;
+
+    // Skip the fixed-size columns.
+    this.boxesOffset = body.position();
+    this.fontSizesOffset = this.boxesOffset + 16 * p;
+    body.position(this.fontSizesOffset + 4 * n);
+
+    this.firstPositions = new int[n + 1];
+    for (int i = 0; i < n; i++) {
+      this.firstPositions[i + 1] = this.firstPositions[i] + BinaryReader.readVarint(body);
+    }
+    if (this.firstPositions[n] != p) {
+      throw new IOException("The numbers of positions don't add up.");
+    }
+
+    this.pageNumbers = readVarints(body, p);
+    this.roles = readVarints(body, n);
+    this.fonts = readVarints(body, n);
+    this.colors = readVarints(body, n);
+
+    int[] lengths = readVarints(body, n);
+    this.textOffsets = new int[n];
+    this.textLengths = new int[n];
+    int offset = body.position();
+    for (int i = 0; i < n; i++) {
+      this.textOffsets[i] = lengths[i] > 0 ? offset : -1;
+      this.textLengths[i] = Math.max(lengths[i] - 1, 0);
+      offset += this.textLengths[i];
+    }
+    if (offset > body.limit()) {
+      throw new IOException("The texts are truncated.");
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the number of elements in this block.
+   *
+   * @return The number of elements.
+   */
+  public int size() {
+    return this.numElements;
+  }
+
+  /**
+   * Returns the number of positions of the i-th element.
+   *
+   * @param i The index of the element.
+   *
+   * @return The number of positions of the element.
+   */
+  public int getNumPositions(int i) {
+    return this.firstPositions[i + 1] - this.firstPositions[i];
+  }
+
+  /**
+   * Returns the page number of the j-th position of the i-th element.
+   *
+   * @param i The index of the element.
+   * @param j The index of the position within the positions of the element.
+   *
+   * @return The page number.
+   */
+  public int getPageNumber(int i, int j) {
+    return this.pageNumbers[positionIndex(i, j)];
+  }
+
+  /**
+   * Returns the minimum x-coordinate of the j-th position of the i-th element.
+   *
+   * @param i The index of the element.
+   * @param j The index of the position within the positions of the element.
+   *
+   * @return The minimum x-coordinate.
+   */
+  public float getMinX(int i, int j) {
+    return getBoxValue(i, j, 0);
+  }
+
+  /**
+   * Returns the minimum y-coordinate of the j-th position of the i-th element.
+   *
+   * @param i The index of the element.
+   * @param j The index of the position within the positions of the element.
+   *
+   * @return The minimum y-coordinate.
+   */
+  public float getMinY(int i, int j) {
+    return getBoxValue(i, j, 1);
+  }
+
+  /**
+   * Returns the maximum x-coordinate of the j-th position of the i-th element.
+   *
+   * @param i The index of the element.
+   * @param j The index of the position within the positions of the element.
+   *
+   * @return The maximum x-coordinate.
+   */
+  public float getMaxX(int i, int j) {
+    return getBoxValue(i, j, 2);
+  }
+
+  /**
+   * Returns the maximum y-coordinate of the j-th position of the i-th element.
+   *
+   * @param i The index of the element.
+   * @param j The index of the position within the positions of the element.
+   *
+   * @return The maximum y-coordinate.
+   */
+  public float getMaxY(int i, int j) {
+    return getBoxValue(i, j, 3);
+  }
+
+  /**
+   * Returns the semantic role of the i-th element.
+   *
+   * @param i The index of the element.
+   *
+   * @return The semantic role, or null if the element has no (known) role.
+   */
+  public SemanticRole getRole(int i) {
+    return lookup(this.reader.roles, this.roles[i]);
+  }
+
+  /**
+   * Returns the font of the i-th element.
+   *
+   * @param i The index of the element.
+   *
+   * @return The font, or null if the element has no font.
+   */
+  public Font getFont(int i) {
+    return lookup(this.reader.fonts, this.fonts[i]);
+  }
+
+  /**
+   * Returns the font size of the i-th element.
+   *
+   * @param i The index of the element.
+   *
+   * @return The font size, or 0 if the element has no font.
+   */
+  public float getFontSize(int i) {
+    return this.body.getFloat(this.fontSizesOffset + 4 * i);
+  }
+
+  /**
+   * Returns the color of the i-th element.
+   *
+   * @param i The index of the element.
+   *
+   * @return The color, or null if the element has no color.
+   */
+  public Color getColor(int i) {
+    return lookup(this.reader.colors, this.colors[i]);
+  }
+
+  /**
+   * Returns the text of the i-th element.
+   *
+   * @param i The index of the element.
+   *
+   * @return The text, or null if the element has no text.
+   */
+  public String getText(int i) {
+    if (this.textOffsets[i] < 0) {
+      return null;
+    }
+    byte[] utf8 = new byte[this.textLengths[i]];
+    ByteBuffer text = this.body.duplicate();
+    text.position(this.textOffsets[i]);
+    text.get(utf8);
+    return new String(utf8, StandardCharsets.UTF_8);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the index of the j-th position of the i-th element among all positions.
+   *
+   * @param i The index of the element.
+   * @param j The index of the position within the positions of the element.
+   *
+   * @return The index of the position among all positions.
+   */
+  protected int positionIndex(int i, int j) {
+    if (j < 0 || j >= getNumPositions(i)) {
+      throw new IndexOutOfBoundsException("Position " + j + " of element " + i);
+    }
+    return this.firstPositions[i] + j;
+  }
+
+  /**
+   * Returns a single value of the box of the j-th position of the i-th element.
+   *
+   * @param i     The index of the element.
+   * @param j     The index of the position within the positions of the element.
+   * @param value The index of the value (0: minX, 1: minY, 2: maxX, 3: maxY).
+   *
+   * @return The value.
+   */
+  protected float getBoxValue(int i, int j, int value) {
+    return this.body.getFloat(this.boxesOffset + 16 * positionIndex(i, j) + 4 * value);
+  }
+
+  /**
+   * Looks up the given 1-based index in the given dictionary.
+   *
+   * @param <T>        The type of the dictionary entries.
+   * @param dictionary The dictionary.
+   * @param index      The 1-based index (0 means no entry).
+   *
+   * @return The entry, or null if the index is 0 or out of range.
+   */
+  protected static <T> T lookup(List<T> dictionary, int index) {
+    if (index == NO_ENTRY || index > dictionary.size()) {
+      return null;
+    }
+    return dictionary.get(index - 1);
+  }
+
+  /**
+   * Reads the given number of varints from the given buffer.
+   *
+   * @param buffer The buffer to read from.
+   * @param num    The number of varints to read.
+   *
+   * @return The read values.
+   *
+   * @throws IOException If a varint is malformed.
+   */
+  protected static int[] readVarints(ByteBuffer buffer, int num) throws IOException {
+    int[] values = new int[num];
+    for (int i = 0; i < num; i++) {
+      values[i] = BinaryReader.readVarint(buffer);
+    }
+    return values;
+  }
+}
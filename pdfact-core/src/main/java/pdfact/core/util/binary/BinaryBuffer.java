@@ -0,0 +1,193 @@
+package pdfact.core.util.binary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A growable buffer to encode values in the binary format described in {@link BinaryFormat}.
+ *
+ * @author Claudius Korzen
+ */
+public class BinaryBuffer {
+  /**
+   * The default initial capacity of a buffer.
+   */
+  protected static final int DEFAULT_CAPACITY = 1024;
+
+  /**
+   * The bytes of this buffer.
+   */
+  protected byte[] bytes;
+
+  /**
+   * The number of bytes written to this buffer.
+   */
+  protected int size;
+
+  // ==============================================================================================
+
+  /**
+   * Creates a new buffer with the default initial capacity.
+   */
+  public BinaryBuffer() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates a new buffer with the given initial capacity.
+   *
+   * @param capacity The initial capacity of the buffer.
+   */
+  public BinaryBuffer(int capacity) {
+    this.bytes = new byte[Math.max(capacity, 16)];
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Appends the given value as a single byte.
+   *
+   * @param value The value to append (only the lowest 8 bits are written).
+   */
+  public void putByte(int value) {
+    ensureCapacity(1);
+    this.bytes[this.size++] = (byte) value;
+  }
+
+  /**
+   * Appends the given value as an unsigned 16-bit integer.
+   *
+   * @param value The value to append (only the lowest 16 bits are written).
+   */
+  public void putShort(int value) {
+    ensureCapacity(2);
+    this.bytes[this.size++] = (byte) value;
+    this.bytes[this.size++] = (byte) (value >>> 8);
+  }
+
+  /**
+   * Appends the given value as a 32-bit integer.
+   *
+   * @param value The value to append.
+   */
+  public void putInt(int value) {
+    ensureCapacity(4);
+    this.bytes[this.size++] = (byte) value;
+    this.bytes[this.size++] = (byte) (value >>> 8);
+    this.bytes[this.size++] = (byte) (value >>> 16);
+    this.bytes[this.size++] = (byte) (value >>> 24);
+  }
+
+  /**
+   * Appends the given value as an IEEE 754 single-precision float.
+   *
+   * @param value The value to append.
+   */
+  public void putFloat(float value) {
+    putInt(Float.floatToRawIntBits(value));
+  }
+
+  /**
+   * Appends the given value as a varint.
+   *
+   * @param value The value to append, must not be negative.
+   */
+  public void putVarint(int value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("A varint must not be negative: " + value);
+    }
+    ensureCapacity(5);
+    while ((value & ~0x7F) != 0) {
+      this.bytes[this.size++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    this.bytes[this.size++] = (byte) value;
+  }
+
+  /**
+   * Appends the given bytes.
+   *
+   * @param values The bytes to append.
+   */
+  public void putBytes(byte[] values) {
+    ensureCapacity(values.length);
+    System.arraycopy(values, 0, this.bytes, this.size, values.length);
+    this.size += values.length;
+  }
+
+  /**
+   * Appends the given string as a varint length followed by its UTF-8 bytes.
+   *
+   * @param value The string to append; null is written as the empty string.
+   */
+  public void putString(String value) {
+    byte[] utf8 = value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    putVarint(utf8.length);
+    putBytes(utf8);
+  }
+
+  /**
+   * Appends the content of the given buffer.
+   *
+   * @param buffer The buffer whose content to append.
+   */
+  public void putBuffer(BinaryBuffer buffer) {
+    ensureCapacity(buffer.size);
+    System.arraycopy(buffer.bytes, 0, this.bytes, this.size, buffer.size);
+    this.size += buffer.size;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the number of bytes written to this buffer.
+   *
+   * @return The number of bytes written to this buffer.
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Discards the content of this buffer, keeping its capacity.
+   */
+  public void reset() {
+    this.size = 0;
+  }
+
+  /**
+   * Writes the content of this buffer to the given stream.
+   *
+   * @param stream The stream to write to.
+   *
+   * @throws IOException If writing to the stream failed.
+   */
+  public void writeTo(OutputStream stream) throws IOException {
+    stream.write(this.bytes, 0, this.size);
+  }
+
+  /**
+   * Returns a copy of the content of this buffer.
+   *
+   * @return A copy of the content of this buffer.
+   */
+  public byte[] toByteArray() {
+    return Arrays.copyOf(this.bytes, this.size);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Ensures that the given number of bytes can be appended without growing the array again.
+   *
+   * @param numBytes The number of bytes to append.
+   */
+  protected void ensureCapacity(int numBytes) {
+    int required = this.size + numBytes;
+    if (required > this.bytes.length) {
+      this.bytes = Arrays.copyOf(this.bytes, Math.max(required, 2 * this.bytes.length));
+    }
+  }
+}
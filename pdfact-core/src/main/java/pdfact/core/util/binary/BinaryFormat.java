@@ -0,0 +1,87 @@
+package pdfact.core.util.binary;
+
+import java.nio.ByteOrder;
+
+/**
+ * The constants of the compact binary format in which PdfAct serializes the extracted elements
+ * for downstream ingestion (written by the serializer of the format "bin" and read by
+ * {@link BinaryReader}).
+ *
+ * <p>
+ * All numbers are stored in little-endian byte order. A "varint" is an unsigned integer in
+ * LEB128 encoding (7 bits per byte, least significant group first, the high bit set on all
+ * bytes but the last), an "f32" is an IEEE 754 single-precision float and a "string" is a varint
+ * length followed by that number of UTF-8 bytes. The layout of a file is:
+ *
+ * <pre>
+ * file      := magic:"PACT" version:u16 fonts colors roles pages numBlocks:varint block*
+ * fonts     := n:varint (id:string name:string flags:u8)*   (flags: 1 = bold, 2 = italic,
+ *                                                            4 = Type3 font)
+ * colors    := n:varint (id:string r:u8 g:u8 b:u8)*
+ * roles     := n:varint (name:string)*
+ * pages     := n:varint (number:varint width:f32 height:f32)*
+ * block     := unit:string length:u32 body                  (length = the bytes of the body)
+ * body      := n:varint p:varint                            (elements, positions)
+ *              boxes:f32[4 * p]                             (minX, minY, maxX, maxY)
+ *              fontSizes:f32[n]
+ *              numPositions:varint[n]                       (the positions per element)
+ *              pageNumbers:varint[p]
+ *              roles:varint[n] fonts:varint[n] colors:varint[n]
+ *              textLengths:varint[n]                        (the bytes of the text + 1)
+ *              texts:u8[sum of the text lengths]
+ * </pre>
+ *
+ * <p>
+ * There is one block per extracted unit (named like the unit, for example "paragraphs" or
+ * "words"), which stores the elements column by column. The fixed-size columns come first, so
+ * they can be accessed directly in the underlying buffer. The positions of all elements are
+ * stored consecutively, the i-th element owns the next numPositions[i] positions. The roles,
+ * fonts and colors of the elements are given as 1-based indexes into the respective dictionary,
+ * with 0 meaning that the element has no role, font or color. A text length of 0 means that the
+ * element has no text. Readers skip blocks of unknown units by their length.
+ *
+ * @author Claudius Korzen
+ */
+public final class BinaryFormat {
+  /**
+   * The bytes at the beginning of each file.
+   */
+  public static final byte[] MAGIC = { 'P', 'A', 'C', 'T' };
+
+  /**
+   * The version of the format.
+   */
+  public static final int VERSION = 1;
+
+  /**
+   * The byte order of all numbers.
+   */
+  public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+  /**
+   * The index of a dictionary entry that denotes "no entry".
+   */
+  public static final int NO_ENTRY = 0;
+
+  /**
+   * The flag of a bold font.
+   */
+  public static final int FLAG_BOLD = 1;
+
+  /**
+   * The flag of an italic font.
+   */
+  public static final int FLAG_ITALIC = 2;
+
+  /**
+   * The flag of a Type3 font.
+   */
+  public static final int FLAG_TYPE3 = 4;
+
+  // ==============================================================================================
+
+  /**
+   * The private constructor, this class holds only constants.
+   */
+  private BinaryFormat() { }
+}
@@ -0,0 +1,317 @@
+package pdfact.core.util.binary;
+
+import static pdfact.core.util.binary.BinaryFormat.BYTE_ORDER;
+import static pdfact.core.util.binary.BinaryFormat.FLAG_BOLD;
+import static pdfact.core.util.binary.BinaryFormat.FLAG_ITALIC;
+import static pdfact.core.util.binary.BinaryFormat.FLAG_TYPE3;
+import static pdfact.core.util.binary.BinaryFormat.MAGIC;
+import static pdfact.core.util.binary.BinaryFormat.VERSION;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import pdfact.core.model.Color;
+import pdfact.core.model.Font;
+import pdfact.core.model.Page;
+import pdfact.core.model.SemanticRole;
+
+/**
+ * A reader of files in the binary format described in {@link BinaryFormat}.
+ *
+ * <p>
+ * On creation, the reader decodes only the dictionaries (fonts, colors, roles), the pages and
+ * the directory of the blocks. A block is decoded on the first call of {@link #getBlock(String)},
+ * which decodes the variable-length columns into arrays, while the fixed-size columns and the
+ * texts are read directly from the underlying buffer. Files can be read via
+ * {@link #read(Path)}, which maps the file into memory instead of copying it.
+ *
+ * @author Claudius Korzen
+ */
+public class BinaryReader {
+  /**
+   * The version of the format of the read file.
+   */
+  protected int version;
+
+  /**
+   * The dictionary of fonts.
+   */
+  protected List<Font> fonts;
+
+  /**
+   * The dictionary of colors.
+   */
+  protected List<Color> colors;
+
+  /**
+   * The dictionary of semantic roles (null for roles unknown to this version of PdfAct).
+   */
+  protected List<SemanticRole> roles;
+
+  /**
+   * The pages.
+   */
+  protected List<Page> pages;
+
+  /**
+   * The bodies of the blocks, per unit names.
+   */
+  protected Map<String, ByteBuffer> blockBodies;
+
+  /**
+   * The already decoded blocks, per unit names.
+   */
+  protected Map<String, BinaryBlock> blocks;
+
+  // ==============================================================================================
+
+  /**
+   * Creates a new reader that reads the given bytes.
+   *
+   * @param bytes The bytes to read.
+   *
+   * @throws IOException If the bytes are not in the expected format.
+   */
+  public BinaryReader(byte[] bytes) throws IOException {
+    this(ByteBuffer.wrap(bytes));
+  }
+
+  /**
+   * Creates a new reader that reads the given buffer, from its current position to its limit.
+   *
+   * @param buffer The buffer to read.
+   *
+   * @throws IOException If the content of the buffer is not in the expected format.
+   */
+  public BinaryReader(ByteBuffer buffer) throws IOException {
+    this.fonts = new ArrayList<>();
+    this.colors = new ArrayList<>();
+    this.roles = new ArrayList<>();
+    this.pages = new ArrayList<>();
+    this.blockBodies = new LinkedHashMap<>();
+    this.blocks = new LinkedHashMap<>();
+
+    try {
+      readHeader(buffer.slice().order(BYTE_ORDER));
+    } catch (BufferUnderflowException | IllegalArgumentException e) {
+      throw new IOException("The data is truncated or corrupt.", e);
+    }
+  }
+
+  /**
+   * Reads the file at the given path, by mapping it into memory.
+   *
+   * @param path The path to the file.
+   *
+   * @return The reader of the file.
+   *
+   * @throws IOException If the file couldn't be read or is not in the expected format.
+   */
+  public static BinaryReader read(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return new BinaryReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Reads the header, the dictionaries, the pages and the directory of the blocks.
+   *
+   * @param buffer The buffer to read from, positioned at the beginning of the file.
+   *
+   * @throws IOException If the content of the buffer is not in the expected format.
+   */
+  protected void readHeader(ByteBuffer buffer) throws IOException {
+    for (byte b : MAGIC) {
+      if (buffer.get() != b) {
+        throw new IOException("The data is not in the binary format of PdfAct.");
+      }
+    }
+
+    this.version = buffer.getShort() & 0xFFFF;
+    if (this.version > VERSION) {
+      throw new IOException("Unsupported version of the binary format: " + this.version);
+    }
+
+    int numFonts = readVarint(buffer);
+    for (int i = 0; i < numFonts; i++) {
+      Font font = new Font();
+      font.setId(readString(buffer));
+      font.setNormalizedName(readString(buffer));
+      int flags = buffer.get();
+      font.setIsBold((flags & FLAG_BOLD) != 0);
+      font.setIsItalic((flags & FLAG_ITALIC) != 0);
+      font.setIsType3Font((flags & FLAG_TYPE3) != 0);
+      this.fonts.add(font);
+    }
+
+    int numColors = readVarint(buffer);
+    for (int i = 0; i < numColors; i++) {
+      String id = readString(buffer);
+      Color color = new Color(buffer.get() & 0xFF, buffer.get() & 0xFF, buffer.get() & 0xFF);
+      color.setId(id);
+      this.colors.add(color);
+    }
+
+    int numRoles = readVarint(buffer);
+    for (int i = 0; i < numRoles; i++) {
+      this.roles.add(SemanticRole.fromString(readString(buffer)));
+    }
+
+    int numPages = readVarint(buffer);
+    for (int i = 0; i < numPages; i++) {
+      Page page = new Page(readVarint(buffer));
+      page.setWidth(buffer.getFloat());
+      page.setHeight(buffer.getFloat());
+      this.pages.add(page);
+    }
+
+    int numBlocks = readVarint(buffer);
+    for (int i = 0; i < numBlocks; i++) {
+      String unit = readString(buffer);
+      int length = buffer.getInt();
+      if (length < 0 || length > buffer.remaining()) {
+        throw new IOException("The block '" + unit + "' is truncated.");
+      }
+      ByteBuffer body = buffer.slice().order(BYTE_ORDER);
+      body.limit(length);
+      buffer.position(buffer.position() + length);
+      this.blockBodies.put(unit, body);
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the version of the format of the read file.
+   *
+   * @return The version of the format.
+   */
+  public int getVersion() {
+    return this.version;
+  }
+
+  /**
+   * Returns the fonts of the serialized elements.
+   *
+   * @return The fonts, in the order of the font dictionary.
+   */
+  public List<Font> getFonts() {
+    return Collections.unmodifiableList(this.fonts);
+  }
+
+  /**
+   * Returns the colors of the serialized elements.
+   *
+   * @return The colors, in the order of the color dictionary.
+   */
+  public List<Color> getColors() {
+    return Collections.unmodifiableList(this.colors);
+  }
+
+  /**
+   * Returns the semantic roles of the serialized elements.
+   *
+   * @return The semantic roles, in the order of the role dictionary.
+   */
+  public List<SemanticRole> getRoles() {
+    return Collections.unmodifiableList(this.roles);
+  }
+
+  /**
+   * Returns the pages of the serialized document (with their numbers, widths and heights).
+   *
+   * @return The pages.
+   */
+  public List<Page> getPages() {
+    return Collections.unmodifiableList(this.pages);
+  }
+
+  /**
+   * Returns the names of the units for which the file contains a block.
+   *
+   * @return The names of the units, in the order of the blocks in the file.
+   */
+  public Set<String> getUnits() {
+    return Collections.unmodifiableSet(this.blockBodies.keySet());
+  }
+
+  /**
+   * Returns the block of the given unit.
+   *
+   * @param unit The name of the unit, for example "paragraphs" or "words".
+   *
+   * @return The block of the unit, or null if the file doesn't contain such a block.
+   *
+   * @throws IOException If the block is not in the expected format.
+   */
+  public BinaryBlock getBlock(String unit) throws IOException {
+    BinaryBlock block = this.blocks.get(unit);
+    if (block == null) {
+      ByteBuffer body = this.blockBodies.get(unit);
+      if (body == null) {
+        return null;
+      }
+      try {
+        block = new BinaryBlock(this, body.duplicate().order(BYTE_ORDER));
+      } catch (BufferUnderflowException | IllegalArgumentException e) {
+        throw new IOException("The block '" + unit + "' is corrupt.", e);
+      }
+      this.blocks.put(unit, block);
+    }
+    return block;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Reads a varint from the given buffer.
+   *
+   * @param buffer The buffer to read from.
+   *
+   * @return The read value.
+   *
+   * @throws IOException If the varint is malformed.
+   */
+  protected static int readVarint(ByteBuffer buffer) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      byte b = buffer.get();
+      value |= (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed varint.");
+  }
+
+  /**
+   * Reads a string (a varint length followed by UTF-8 bytes) from the given buffer.
+   *
+   * @param buffer The buffer to read from.
+   *
+   * @return The read string.
+   *
+   * @throws IOException If the string is malformed.
+   */
+  protected static String readString(ByteBuffer buffer) throws IOException {
+    int length = readVarint(buffer);
+    if (length < 0 || length > buffer.remaining()) {
+      throw new IOException("Malformed string.");
+    }
+    byte[] utf8 = new byte[length];
+    buffer.get(utf8);
+    return new String(utf8, StandardCharsets.UTF_8);
+  }
+}
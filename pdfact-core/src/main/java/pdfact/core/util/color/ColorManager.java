@@ -10,7 +10,10 @@ import org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace;
 import pdfact.core.model.Color;
 
 /**
- * A converter that converts PDColor objects to {@link Color} objects.
+ * A converter that converts PDColor objects to {@link Color} objects. The colors are interned per
+ * manager, so a PDF document should be parsed with its own manager: the ids and ordinals of the
+ * colors are numbered in the order in which the colors occur in the document (and don't depend on
+ * other documents parsed in the same JVM).
  * 
  * @author Claudius Korzen
  */
@@ -23,7 +26,14 @@ public class ColorManager {
   /**
    * A map of the already known colors per name.
    */
-  protected static Map<String, Color> knownColors = new HashMap<>();
+  protected Map<String, Color> knownColors;
+
+  /**
+   * Creates a new color manager.
+   */
+  public ColorManager() {
+    this.knownColors = new HashMap<>();
+  }
 
   // ==============================================================================================
 
@@ -35,7 +45,7 @@ public class ColorManager {
    * 
    * @return The converted color.
    */
-  public static Color getColor(PDColor color, PDColorSpace colorSpace) {
+  public Color getColor(PDColor color, PDColorSpace colorSpace) {
     return getColor(toRGB(color, colorSpace));
   }
 
@@ -46,7 +56,7 @@ public class ColorManager {
    * 
    * @return The converted color.
    */
-  public static Color getColor(int[] rgb) {
+  public Color getColor(int[] rgb) {
     if (rgb == null) {
       return null;
     }
@@ -59,12 +69,13 @@ public class ColorManager {
 
     // The color is not known. Create a new color.
     Color newColor = new Color();
-    newColor.setId("color-" + knownColors.size());
+    newColor.setId("color-" + this.knownColors.size());
+    newColor.setOrdinal(this.knownColors.size());
     newColor.setName(computeColorName(rgb));
     newColor.setRGB(rgb);
 
     // Add the new color to the map of known colors.
-    knownColors.put(newColor.getName(), newColor);
+    this.knownColors.put(newColor.getName(), newColor);
     log.debug("A new color was registered: " + newColor);
 
     return newColor;
@@ -79,7 +90,7 @@ public class ColorManager {
    *
    * @return True, if the given color is a known color; false otherwise.
    */
-  protected static boolean isKnownColor(int[] rgb) {
+  protected boolean isKnownColor(int[] rgb) {
     return getKnownColor(rgb) != null;
   }
 
@@ -92,11 +103,11 @@ public class ColorManager {
    * @return A {@link Color} object related to the given color if the color is already known; null
    *         otherwise.
    */
-  protected static Color getKnownColor(int[] rgb) {
+  protected Color getKnownColor(int[] rgb) {
     if (rgb == null) {
       return null;
     }
-    return knownColors.get(computeColorName(rgb));
+    return this.knownColors.get(computeColorName(rgb));
   }
 
   /**
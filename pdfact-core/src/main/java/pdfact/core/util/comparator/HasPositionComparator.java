@@ -0,0 +1,202 @@
+package pdfact.core.util.comparator;
+
+import java.io.Serializable;
+
+import pdfact.core.model.HasPosition;
+import pdfact.core.model.Page;
+import pdfact.core.model.Position;
+import pdfact.core.model.Rectangle;
+
+/**
+ * A comparator that compares elements by their page numbers and, within the same page, by a
+ * coordinate of their rectangles. Elements without a rectangle, a page, a position, and null
+ * elements are sorted to the end, in this order.
+ *
+ * @author Claudius Korzen
+ */
+public abstract class HasPositionComparator implements KeyedComparator<HasPosition>,
+    Serializable {
+  /**
+   * The serial id.
+   */
+  protected static final long serialVersionUID = -2196428562379316407L;
+
+  /**
+   * The sort key of elements without a page.
+   */
+  protected static final long NO_PAGE_SORT_KEY = Long.MAX_VALUE - 2;
+
+  /**
+   * The sort key of elements without a position.
+   */
+  protected static final long NO_POSITION_SORT_KEY = Long.MAX_VALUE - 1;
+
+  /**
+   * The sort key of null elements.
+   */
+  protected static final long NULL_SORT_KEY = Long.MAX_VALUE;
+
+  /**
+   * The boolean flag that indicates whether this comparator imposes the reverse order.
+   */
+  protected final boolean isDescending;
+
+  /**
+   * Creates a new comparator.
+   *
+   * @param isDescending The boolean flag that indicates whether the comparator should impose the
+   *                     reverse order.
+   */
+  protected HasPositionComparator(boolean isDescending) {
+    this.isDescending = isDescending;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the coordinate of the given rectangle to compare.
+   *
+   * @param rect The rectangle to process.
+   *
+   * @return The coordinate of the given rectangle to compare.
+   */
+  protected abstract float getCoordinate(Rectangle rect);
+
+  // ==============================================================================================
+
+  @Override
+  public int compare(HasPosition element1, HasPosition element2) {
+    int result = compareAscending(element1, element2);
+    return this.isDescending ? -result : result;
+  }
+
+  /**
+   * Compares the given elements in ascending order.
+   *
+   * @param element1 The first element to compare.
+   * @param element2 The second element to compare.
+   *
+   * @return A negative integer, zero, or a positive integer as the first element is less than,
+   *         equal to, or greater than the second element.
+   */
+  protected int compareAscending(HasPosition element1, HasPosition element2) {
+    if (element1 == null && element2 == null) {
+      return 0;
+    }
+    if (element1 == null) {
+      return 1;
+    }
+    if (element2 == null) {
+      return -1;
+    }
+
+    Position pos1 = element1.getPosition();
+    Position pos2 = element2.getPosition();
+    if (pos1 == null && pos2 == null) {
+      return 0;
+    }
+    if (pos1 == null) {
+      return 1;
+    }
+    if (pos2 == null) {
+      return -1;
+    }
+
+    Page page1 = pos1.getPage();
+    Page page2 = pos2.getPage();
+    if (page1 == null && page2 == null) {
+      return 0;
+    }
+    if (page1 == null) {
+      return 1;
+    }
+    if (page2 == null) {
+      return -1;
+    }
+
+    int pageNum1 = page1.getPageNumber();
+    int pageNum2 = page2.getPageNumber();
+    if (pageNum1 != pageNum2) {
+      return pageNum1 - pageNum2;
+    }
+
+    Rectangle rect1 = pos1.getRectangle();
+    Rectangle rect2 = pos2.getRectangle();
+    if (rect1 == null && rect2 == null) {
+      return 0;
+    }
+    if (rect1 == null) {
+      return 1;
+    }
+    if (rect2 == null) {
+      return -1;
+    }
+
+    return Float.compare(getCoordinate(rect1), getCoordinate(rect2));
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the sort key of the given element: the page number in the upper 32 bits and the
+   * coordinate (mapped to an int that sorts like Float.compare()) in the lower 32 bits. Elements
+   * without a rectangle get the largest lower bits; elements without a page or position and null
+   * elements get the largest keys overall.
+   *
+   * @param element The element to process.
+   *
+   * @return The sort key of the given element.
+   */
+  @Override
+  public long getSortKey(HasPosition element) {
+    long key = getAscendingSortKey(element);
+    // The bitwise complement reverses the order of all long values (without overflow).
+    return this.isDescending ? ~key : key;
+  }
+
+  /**
+   * Returns the sort key of the given element in ascending order.
+   *
+   * @param element The element to process.
+   *
+   * @return The sort key of the given element in ascending order.
+   */
+  protected long getAscendingSortKey(HasPosition element) {
+    if (element == null) {
+      return NULL_SORT_KEY;
+    }
+
+    Position pos = element.getPosition();
+    if (pos == null) {
+      return NO_POSITION_SORT_KEY;
+    }
+
+    Page page = pos.getPage();
+    if (page == null) {
+      return NO_PAGE_SORT_KEY;
+    }
+
+    long pageKey = ((long) page.getPageNumber()) << 32;
+    Rectangle rect = pos.getRectangle();
+    if (rect == null) {
+      return pageKey | 0xFFFFFFFFL;
+    }
+    return pageKey | toUnsignedSortKey(getCoordinate(rect));
+  }
+
+  /**
+   * Maps the given float to an unsigned 32-bit value (stored in a long), such that the values
+   * sort like Float.compare() sorts the floats (-0.0 before 0.0, NaN after positive infinity).
+   *
+   * @param f The float to process.
+   *
+   * @return The unsigned 32-bit sort key of the given float.
+   */
+  protected static long toUnsignedSortKey(float f) {
+    int bits = Float.floatToIntBits(f);
+    // Flip the non-sign bits of negative floats, such that the bits sort like signed ints.
+    bits ^= (bits >> 31) & 0x7FFFFFFF;
+    // Flip the sign bit, such that the bits sort like unsigned ints.
+    return (bits ^ 0x80000000) & 0xFFFFFFFFL;
+  }
+}
@@ -0,0 +1,25 @@
+package pdfact.core.util.comparator;
+
+import java.util.Comparator;
+
+/**
+ * A comparator that is able to map each object to a primitive sort key, such that comparing two
+ * objects is equivalent to comparing their sort keys. This allows to sort objects by extracting
+ * the sort key of each object only once, instead of on each comparison (see
+ * {@link pdfact.core.util.list.ElementList#sort(Comparator)}).
+ *
+ * @param <T> The type of the objects to compare.
+ *
+ * @author Claudius Korzen
+ */
+public interface KeyedComparator<T> extends Comparator<T> {
+  /**
+   * Returns the sort key of the given object. For any objects a and b, the sign of compare(a, b)
+   * must be equal to the sign of Long.compare(getSortKey(a), getSortKey(b)).
+   *
+   * @param object The object to process.
+   *
+   * @return The sort key of the given object.
+   */
+  long getSortKey(T object);
+}
@@ -6,6 +6,13 @@ import gnu.trove.map.hash.TFloatIntHashMap;
 /**
  * A counter to compute some statistics about float values.
  * 
+ * <p>
+ * The floats are counted by their exact values. They are deliberately not quantized to bins (of
+ * the width of the precision to which the coordinates are rounded), even though binned keys could
+ * be counted in a dense array: values like line pitches of 12.0 and 12.000015 would fall into the
+ * same bin, which changes the most common values and therefore the detected text blocks and
+ * paragraphs.
+ * 
  * @author Claudius Korzen
  */
 public class FloatCounter extends TFloatIntHashMap {
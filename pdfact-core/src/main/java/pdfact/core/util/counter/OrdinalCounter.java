@@ -0,0 +1,265 @@
+package pdfact.core.util.counter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import pdfact.core.model.HasOrdinal;
+
+/**
+ * A counter to compute some statistics about interned objects (like font faces and colors).
+ *
+ * <p>
+ * The frequencies of the objects are stored in a dense int array, indexed by the ordinals of the
+ * objects (see {@link HasOrdinal}), so that adding an object doesn't involve any hashing. Objects
+ * that were not numbered (and null) or that have a too large ordinal are counted in a hash-based
+ * {@link ObjectCounter}.
+ *
+ * <p>
+ * The most common object is tracked on each addition. If two or more objects are the most common,
+ * the tie is resolved in favor of the object that reached the largest frequency first. When a
+ * counter is added to this counter, the objects of the added counter are processed in the order of
+ * their ordinals, followed by the objects that are not counted in the dense array.
+ *
+ * @param <T>
+ *        The type of the objects to count.
+ *
+ * @author Claudius Korzen
+ */
+public class OrdinalCounter<T extends HasOrdinal> {
+  /**
+   * The default initial capacity of this counter.
+   */
+  protected static final int DEFAULT_INITIAL_CAPACITY = 10;
+
+  /**
+   * The maximum length of the dense array of frequencies. Objects with a larger ordinal are
+   * counted in the hash-based counter.
+   */
+  protected static final int MAX_DENSE_CAPACITY = 1024;
+
+  /**
+   * The frequencies of the objects, per ordinal.
+   */
+  protected int[] frequencies;
+
+  /**
+   * The counted objects, per ordinal.
+   */
+  protected Object[] objects;
+
+  /**
+   * The frequencies of the objects that are not counted in the dense array (created on demand).
+   */
+  protected ObjectCounter<T> unnumberedFrequencies;
+
+  /**
+   * The distinct objects in this counter, in the order in which they were added first (see
+   * add(OrdinalCounter) for the order of the objects of an added counter).
+   */
+  protected List<T> distinctObjects;
+
+  /**
+   * The most common object.
+   */
+  protected T mostCommonObject;
+
+  /**
+   * The frequency of the most common object (0 if the counter is empty).
+   */
+  protected int mostCommonFrequency;
+
+  /**
+   * Creates a new OrdinalCounter with the default initial capacity.
+   */
+  public OrdinalCounter() {
+    this(DEFAULT_INITIAL_CAPACITY);
+  }
+
+  /**
+   * Creates a new OrdinalCounter with the given initial capacity.
+   *
+   * @param initialCapacity
+   *        The initial capacity (the number of ordinals).
+   */
+  public OrdinalCounter(int initialCapacity) {
+    int capacity = Math.min(Math.max(1, initialCapacity), MAX_DENSE_CAPACITY);
+    this.frequencies = new int[capacity];
+    this.objects = new Object[capacity];
+    this.distinctObjects = new ArrayList<>();
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Adds the given object to this counter.
+   *
+   * @param o
+   *        The object to add.
+   */
+  public void add(T o) {
+    add(o, 1);
+  }
+
+  /**
+   * Adds the given OrdinalCounter to this counter. The dense arrays of frequencies are merged
+   * directly, in the order of the ordinals.
+   *
+   * @param counter
+   *        The counter to add.
+   */
+  @SuppressWarnings("unchecked")
+  public void add(OrdinalCounter<T> counter) {
+    if (counter == null) {
+      return;
+    }
+
+    int[] freqs = counter.frequencies;
+    ensureDenseCapacity(freqs.length - 1);
+    for (int i = 0; i < freqs.length; i++) {
+      if (freqs[i] > 0) {
+        T o = (T) counter.objects[i];
+        this.frequencies[i] += freqs[i];
+        this.objects[i] = o;
+        update(o, this.frequencies[i], freqs[i]);
+      }
+    }
+
+    if (counter.unnumberedFrequencies != null) {
+      // Process the unnumbered objects in the order in which they were added to the counter.
+      for (T o : counter.distinctObjects) {
+        int ordinal = o != null ? o.getOrdinal() : HasOrdinal.NO_ORDINAL;
+        if (ordinal < 0 || ordinal >= MAX_DENSE_CAPACITY) {
+          add(o, counter.unnumberedFrequencies.get(o));
+        }
+      }
+    }
+  }
+
+  /**
+   * Increases the frequency of the given object by the given count.
+   *
+   * @param o
+   *        The object.
+   * @param count
+   *        The count to add to the frequency of the object.
+   */
+  protected void add(T o, int count) {
+    int freq;
+    int ordinal = o != null ? o.getOrdinal() : HasOrdinal.NO_ORDINAL;
+    if (ordinal >= 0 && ordinal < MAX_DENSE_CAPACITY) {
+      ensureDenseCapacity(ordinal);
+      this.frequencies[ordinal] += count;
+      this.objects[ordinal] = o;
+      freq = this.frequencies[ordinal];
+    } else {
+      if (this.unnumberedFrequencies == null) {
+        this.unnumberedFrequencies = new ObjectCounter<>();
+      }
+      freq = this.unnumberedFrequencies.adjustOrPutValue(o, count, count);
+    }
+    update(o, freq, count);
+  }
+
+  /**
+   * Registers the given object as a distinct object if it was added for the first time and
+   * updates the most common object.
+   *
+   * @param o
+   *        The object whose frequency was increased.
+   * @param freq
+   *        The new frequency of the object.
+   * @param count
+   *        The count by which the frequency was increased.
+   */
+  protected void update(T o, int freq, int count) {
+    if (freq == count) {
+      this.distinctObjects.add(o);
+    }
+    if (freq > this.mostCommonFrequency) {
+      this.mostCommonObject = o;
+      this.mostCommonFrequency = freq;
+    }
+  }
+
+  /**
+   * Grows the dense arrays such that they can hold the given ordinal.
+   *
+   * @param ordinal
+   *        The ordinal to hold (smaller than MAX_DENSE_CAPACITY).
+   */
+  protected void ensureDenseCapacity(int ordinal) {
+    if (ordinal >= this.frequencies.length) {
+      int newLength = Math.min(Math.max(ordinal + 1, 2 * this.frequencies.length),
+          MAX_DENSE_CAPACITY);
+      this.frequencies = Arrays.copyOf(this.frequencies, newLength);
+      this.objects = Arrays.copyOf(this.objects, newLength);
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the most common object.
+   *
+   * @return The most common object in this counter or null if the counter is
+   *         empty.
+   */
+  public T getMostCommonObject() {
+    return this.mostCommonObject;
+  }
+
+  /**
+   * Returns the frequency of the most common object.
+   *
+   * @return The frequency of the most common object in this counter.
+   */
+  public int getMostCommonObjectFrequency() {
+    return this.mostCommonFrequency;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the objects in this counter, in the order in which they were added first.
+   *
+   * @return The objects in this counter.
+   */
+  public List<T> getObjects() {
+    return new ArrayList<>(this.distinctObjects);
+  }
+
+  /**
+   * Returns the frequency of the given object in this counter.
+   *
+   * @param object
+   *        The object to process.
+   *
+   * @return The frequency of the given object in this counter.
+   */
+  public int getFrequency(T object) {
+    int ordinal = object != null ? object.getOrdinal() : HasOrdinal.NO_ORDINAL;
+    if (ordinal >= 0 && ordinal < MAX_DENSE_CAPACITY) {
+      return ordinal < this.frequencies.length ? this.frequencies[ordinal] : 0;
+    }
+    return this.unnumberedFrequencies != null ? this.unnumberedFrequencies.get(object) : 0;
+  }
+
+  /**
+   * Returns the number of distinct objects in this counter.
+   *
+   * @return The number of distinct objects in this counter.
+   */
+  public int size() {
+    return this.distinctObjects.size();
+  }
+
+  /**
+   * Returns true if this counter is empty.
+   *
+   * @return True if this counter is empty; false otherwise.
+   */
+  public boolean isEmpty() {
+    return this.distinctObjects.isEmpty();
+  }
+}
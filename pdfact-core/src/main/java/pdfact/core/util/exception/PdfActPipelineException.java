@@ -0,0 +1,42 @@
+package pdfact.core.util.exception;
+
+/**
+ * The exception to throw on errors while executing a pipeline, which are not caused by one of its
+ * pipes (for example, if the pipeline was interrupted while waiting for the pages processed in
+ * parallel).
+ * 
+ * @author Claudius Korzen
+ */
+public class PdfActPipelineException extends PdfActException {
+  /**
+   * The serial id.
+   */
+  protected static final long serialVersionUID = -1203583436614792035L;
+
+  /**
+   * The default exit code of this exception.
+   */
+  protected static final int EXIT_CODE = 25;
+
+  /**
+   * Creates a new pipeline exception.
+   * 
+   * @param message
+   *        The error message to show when the exception was caught.
+   */
+  public PdfActPipelineException(String message) {
+    super(EXIT_CODE, message);
+  }
+
+  /**
+   * Creates a new pipeline exception.
+   * 
+   * @param message
+   *        The error message to show when the exception was caught.
+   * @param cause
+   *        The cause of this exception (can be used to trace the error).
+   */
+  public PdfActPipelineException(String message, Throwable cause) {
+    super(EXIT_CODE, message, cause);
+  }
+}
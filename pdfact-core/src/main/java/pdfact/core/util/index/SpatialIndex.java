@@ -0,0 +1,559 @@
+package pdfact.core.util.index;
+
+import java.util.Arrays;
+
+import pdfact.core.model.Element;
+import pdfact.core.model.HasPosition;
+import pdfact.core.model.Position;
+import pdfact.core.model.Rectangle;
+import pdfact.core.util.list.ElementList;
+
+/**
+ * An immutable spatial index over the rectangles of elements, for example over the characters,
+ * shapes or figures of a page.
+ *
+ * <p>
+ * The index is a packed R-tree, bulk-loaded once by the Sort-Tile-Recursive (STR) method: the
+ * elements are sorted into vertical slices by the x-midpoints of their rectangles and within each
+ * slice by the y-midpoints, and are then packed into leaves of {@link #NODE_SIZE} elements, which
+ * are in turn packed into parent nodes, level by level. All nodes are stored in flat primitive
+ * arrays (the leaves first, the root last), so querying the index doesn't follow any references.
+ * Range queries run in O(log n + k) and nearest-neighbour queries visit the nodes in the order of
+ * their distance to the query point.
+ *
+ * <p>
+ * The index is a snapshot of the rectangles at the time it was created; it doesn't reflect later
+ * modifications of the elements. Use {@link #isIndexOf(ElementList)} to check whether a list was
+ * modified since the index was created. Elements without a position or rectangle are not indexed.
+ *
+ * @param <T> The type of the indexed elements.
+ *
+ * @author Claudius Korzen
+ */
+public class SpatialIndex<T extends Element & HasPosition> {
+  /**
+   * The maximum number of children per node.
+   */
+  protected static final int NODE_SIZE = 16;
+
+  /**
+   * The list from which this index was created.
+   */
+  protected final ElementList<? extends T> source;
+
+  /**
+   * The modification count of the source list at the time this index was created.
+   */
+  protected final int sourceModificationCount;
+
+  /**
+   * The indexed elements, in the order in which they were passed to the constructor.
+   */
+  protected final Element[] elements;
+
+  /**
+   * The number of indexed elements (the number of leaf entries).
+   */
+  protected final int numItems;
+
+  /**
+   * The bounding boxes of all nodes, as quadruples [minX, minY, maxX, maxY], per node position.
+   */
+  protected final float[] boxes;
+
+  /**
+   * Per node position: the index of the element in {@link #elements} (on the leaf level) or the
+   * position of the first child (on all other levels).
+   */
+  protected final int[] indices;
+
+  /**
+   * The end positions (exclusive) of the levels, from the leaf level up to the root level.
+   */
+  protected final int[] levelBounds;
+
+  // ==============================================================================================
+
+  /**
+   * Creates a new spatial index over the given elements.
+   *
+   * @param elements The elements to index.
+   */
+  public SpatialIndex(ElementList<? extends T> elements) {
+    this.source = elements;
+    this.sourceModificationCount = elements != null ? elements.getModificationCount() : 0;
+    int size = elements != null ? elements.size() : 0;
+
+    // Collect the elements with a rectangle.
+    Element[] indexed = new Element[size];
+    Rectangle[] rects = new Rectangle[size];
+    int n = 0;
+    for (int i = 0; i < size; i++) {
+      T element = elements.get(i);
+      Position pos = element != null ? element.getPosition() : null;
+      Rectangle rect = pos != null ? pos.getRectangle() : null;
+      if (rect != null) {
+        indexed[n] = element;
+        rects[n] = rect;
+        n++;
+      }
+    }
+    this.elements = Arrays.copyOf(indexed, n);
+    this.numItems = n;
+
+    // Compute the number of nodes per level.
+    int[] bounds = new int[8];
+    int numLevels = 0;
+    int numNodes = n;
+    int count = n;
+    bounds[numLevels++] = numNodes;
+    while (count > 1 || numLevels == 1 && n > 0) {
+      count = (count + NODE_SIZE - 1) / NODE_SIZE;
+      numNodes += count;
+      if (numLevels == bounds.length) {
+        bounds = Arrays.copyOf(bounds, 2 * bounds.length);
+      }
+      bounds[numLevels++] = numNodes;
+    }
+    this.levelBounds = Arrays.copyOf(bounds, numLevels);
+    this.boxes = new float[4 * numNodes];
+    this.indices = new int[numNodes];
+
+    if (n == 0) {
+      return;
+    }
+
+    // Fill the leaf level in STR order.
+    int[] order = computeStrOrder(rects, n);
+    for (int pos = 0; pos < n; pos++) {
+      int index = order[pos];
+      Rectangle rect = rects[index];
+      this.boxes[4 * pos] = rect.getMinX();
+      this.boxes[4 * pos + 1] = rect.getMinY();
+      this.boxes[4 * pos + 2] = rect.getMaxX();
+      this.boxes[4 * pos + 3] = rect.getMaxY();
+      this.indices[pos] = index;
+    }
+
+    // Pack each level into the next higher level.
+    int pos = 0;
+    int parentPos = n;
+    for (int level = 0; level < this.levelBounds.length - 1; level++) {
+      int end = this.levelBounds[level];
+      while (pos < end) {
+        int firstChildPos = pos;
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < NODE_SIZE && pos < end; i++, pos++) {
+          minX = Math.min(minX, this.boxes[4 * pos]);
+          minY = Math.min(minY, this.boxes[4 * pos + 1]);
+          maxX = Math.max(maxX, this.boxes[4 * pos + 2]);
+          maxY = Math.max(maxY, this.boxes[4 * pos + 3]);
+        }
+        this.boxes[4 * parentPos] = minX;
+        this.boxes[4 * parentPos + 1] = minY;
+        this.boxes[4 * parentPos + 2] = maxX;
+        this.boxes[4 * parentPos + 3] = maxY;
+        this.indices[parentPos] = firstChildPos;
+        parentPos++;
+      }
+    }
+  }
+
+  /**
+   * Computes the Sort-Tile-Recursive order of the given rectangles: sorts the rectangles by their
+   * x-midpoints into vertical slices of (about) sqrt(number of leaves) leaves each and sorts the
+   * rectangles within each slice by their y-midpoints.
+   *
+   * @param rects The rectangles to order.
+   * @param n     The number of rectangles.
+   *
+   * @return The indexes of the rectangles, in STR order.
+   */
+  protected static int[] computeStrOrder(Rectangle[] rects, int n) {
+    // Sort by packing the sort key into the upper and the index into the lower 32 bits of a long,
+    // so that the sort runs on primitives only.
+    long[] keys = new long[n];
+    for (int i = 0; i < n; i++) {
+      keys[i] = (toSortableBits(rects[i].getXMidpoint()) << 32) | i;
+    }
+    Arrays.sort(keys);
+
+    int numLeaves = (n + NODE_SIZE - 1) / NODE_SIZE;
+    int numSlices = (int) Math.ceil(Math.sqrt(numLeaves));
+    int sliceSize = NODE_SIZE * ((numLeaves + numSlices - 1) / numSlices);
+
+    for (int from = 0; from < n; from += sliceSize) {
+      int to = Math.min(from + sliceSize, n);
+      for (int i = from; i < to; i++) {
+        int index = (int) keys[i];
+        keys[i] = (toSortableBits(rects[index].getYMidpoint()) << 32) | index;
+      }
+      Arrays.sort(keys, from, to);
+    }
+
+    int[] order = new int[n];
+    for (int i = 0; i < n; i++) {
+      order[i] = (int) keys[i];
+    }
+    return order;
+  }
+
+  /**
+   * Maps the given float to a non-negative 32-bit value (stored in a long), such that the values
+   * sort like the floats.
+   *
+   * @param f The float to process.
+   *
+   * @return The sortable bits of the given float.
+   */
+  protected static long toSortableBits(float f) {
+    int bits = Float.floatToIntBits(f);
+    bits ^= (bits >> 31) & 0x7FFFFFFF;
+    return (bits ^ 0x80000000) & 0xFFFFFFFFL;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the elements whose rectangles overlap the given rectangle (including the elements
+   * that only touch the rectangle, like {@link Rectangle#overlaps(Rectangle)}).
+   *
+   * @param rect The rectangle to query.
+   *
+   * @return The overlapping elements, in the order in which they were passed to the constructor.
+   */
+  public ElementList<T> getOverlappingElements(Rectangle rect) {
+    return search(rect, false);
+  }
+
+  /**
+   * Returns the elements whose rectangles are completely contained in the given rectangle (like
+   * {@link Rectangle#contains(Rectangle)}).
+   *
+   * @param rect The rectangle to query.
+   *
+   * @return The contained elements, in the order in which they were passed to the constructor.
+   */
+  public ElementList<T> getContainedElements(Rectangle rect) {
+    return search(rect, true);
+  }
+
+  /**
+   * Returns the elements whose rectangles overlap the given rectangle or, if isContainedOnly is
+   * true, are completely contained in the given rectangle.
+   *
+   * @param rect            The rectangle to query.
+   * @param isContainedOnly The boolean flag that indicates whether only the elements completely
+   *                        contained in the rectangle should be returned.
+   *
+   * @return The found elements, in the order in which they were passed to the constructor.
+   */
+  protected ElementList<T> search(Rectangle rect, boolean isContainedOnly) {
+    if (rect == null || this.numItems == 0) {
+      return new ElementList<>();
+    }
+
+    float minX = rect.getMinX();
+    float minY = rect.getMinY();
+    float maxX = rect.getMaxX();
+    float maxY = rect.getMaxY();
+
+    int[] found = new int[16];
+    int numFound = 0;
+
+    // The stack of the nodes to visit, given by the position of their first child.
+    int[] stack = new int[16];
+    int stackSize = 0;
+    int nodePos = this.indices.length - 1;
+    int level = this.levelBounds.length - 1;
+
+    while (true) {
+      int end = Math.min(nodePos + NODE_SIZE, this.levelBounds[level]);
+      for (int pos = nodePos; pos < end; pos++) {
+        int b = 4 * pos;
+        if (maxX < this.boxes[b] || maxY < this.boxes[b + 1] || minX > this.boxes[b + 2]
+            || minY > this.boxes[b + 3]) {
+          continue;
+        }
+
+        if (nodePos >= this.numItems) {
+          // An inner node: visit its children.
+          if (stackSize + 2 > stack.length) {
+            stack = Arrays.copyOf(stack, 2 * stack.length);
+          }
+          stack[stackSize++] = this.indices[pos];
+          stack[stackSize++] = level - 1;
+        } else if (!isContainedOnly || (minX <= this.boxes[b] && minY <= this.boxes[b + 1]
+            && maxX >= this.boxes[b + 2] && maxY >= this.boxes[b + 3])) {
+          if (numFound == found.length) {
+            found = Arrays.copyOf(found, 2 * found.length);
+          }
+          found[numFound++] = this.indices[pos];
+        }
+      }
+
+      if (stackSize == 0) {
+        break;
+      }
+      level = stack[--stackSize];
+      nodePos = stack[--stackSize];
+    }
+
+    return toElementList(found, numFound);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the element whose rectangle is nearest to the given point.
+   *
+   * @param x The x-coordinate of the point.
+   * @param y The y-coordinate of the point.
+   *
+   * @return The nearest element or null if this index is empty.
+   */
+  public T getNearestElement(float x, float y) {
+    ElementList<T> nearest = getNearestElements(x, y, 1, Float.POSITIVE_INFINITY);
+    return nearest.isEmpty() ? null : nearest.get(0);
+  }
+
+  /**
+   * Returns the (at most) k elements whose rectangles are nearest to the given point, with a
+   * distance of at most maxDistance. The distance of an element is the Euclidean distance between
+   * the point and the nearest point of its rectangle (0 if the rectangle contains the point).
+   *
+   * @param x           The x-coordinate of the point.
+   * @param y           The y-coordinate of the point.
+   * @param k           The maximum number of elements to return.
+   * @param maxDistance The maximum distance of the elements to return.
+   *
+   * @return The nearest elements, in ascending order of their distance to the point.
+   */
+  @SuppressWarnings("unchecked")
+  public ElementList<T> getNearestElements(float x, float y, int k, float maxDistance) {
+    ElementList<T> result = new ElementList<>(Math.max(0, Math.min(k, this.numItems)));
+    if (k <= 0 || this.numItems == 0) {
+      return result;
+    }
+
+    float maxDistanceSquared = maxDistance * maxDistance;
+
+    // A priority queue of nodes and leaf entries, ordered by their (squared) distances. An entry
+    // is encoded as 2 * position + 1 for leaf entries and as 2 * position of the first child for
+    // inner nodes.
+    MinHeap queue = new MinHeap();
+    int nodePos = this.indices.length - 1;
+
+    while (true) {
+      int end = Math.min(nodePos + NODE_SIZE, getLevelBound(nodePos));
+      for (int pos = nodePos; pos < end; pos++) {
+        float distance = computeSquaredDistance(x, y, pos);
+        if (distance > maxDistanceSquared) {
+          continue;
+        }
+        if (nodePos >= this.numItems) {
+          queue.push(2 * this.indices[pos], distance);
+        } else {
+          queue.push(2 * pos + 1, distance);
+        }
+      }
+
+      // Pop all leaf entries that are nearer than any node still in the queue.
+      while (!queue.isEmpty() && (queue.peekEntry() & 1) == 1) {
+        int pos = queue.pop() >> 1;
+        result.add((T) this.elements[this.indices[pos]]);
+        if (result.size() == k) {
+          return result;
+        }
+      }
+
+      if (queue.isEmpty()) {
+        return result;
+      }
+      nodePos = queue.pop() >> 1;
+    }
+  }
+
+  /**
+   * Returns the end position (exclusive) of the level that contains the given node position.
+   *
+   * @param pos The node position.
+   *
+   * @return The end position of the level that contains the given node position.
+   */
+  protected int getLevelBound(int pos) {
+    for (int bound : this.levelBounds) {
+      if (pos < bound) {
+        return bound;
+      }
+    }
+    return this.indices.length;
+  }
+
+  /**
+   * Computes the squared Euclidean distance between the given point and the box of the node at
+   * the given position.
+   *
+   * @param x   The x-coordinate of the point.
+   * @param y   The y-coordinate of the point.
+   * @param pos The position of the node.
+   *
+   * @return The squared distance between the point and the box of the node.
+   */
+  protected float computeSquaredDistance(float x, float y, int pos) {
+    int b = 4 * pos;
+    float dx = Math.max(0, Math.max(this.boxes[b] - x, x - this.boxes[b + 2]));
+    float dy = Math.max(0, Math.max(this.boxes[b + 1] - y, y - this.boxes[b + 3]));
+    return dx * dx + dy * dy;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns true if this index was created from the given list and the list wasn't modified
+   * since then (by adding, removing or replacing elements).
+   *
+   * @param elements The list to check.
+   *
+   * @return True if this index reflects the given list; false otherwise.
+   */
+  public boolean isIndexOf(ElementList<? extends T> elements) {
+    return elements == this.source && elements != null
+        && elements.getModificationCount() == this.sourceModificationCount;
+  }
+
+  /**
+   * Returns the number of indexed elements.
+   *
+   * @return The number of indexed elements.
+   */
+  public int size() {
+    return this.numItems;
+  }
+
+  /**
+   * Returns true if this index contains no elements.
+   *
+   * @return True if this index contains no elements; false otherwise.
+   */
+  public boolean isEmpty() {
+    return this.numItems == 0;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Translates the given element indexes into a list of elements, in ascending order of the
+   * indexes.
+   *
+   * @param indexes    The element indexes.
+   * @param numIndexes The number of element indexes.
+   *
+   * @return The list of elements.
+   */
+  @SuppressWarnings("unchecked")
+  protected ElementList<T> toElementList(int[] indexes, int numIndexes) {
+    Arrays.sort(indexes, 0, numIndexes);
+    ElementList<T> result = new ElementList<>(numIndexes);
+    for (int i = 0; i < numIndexes; i++) {
+      result.add((T) this.elements[indexes[i]]);
+    }
+    return result;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * A binary min-heap of int entries, ordered by float priorities.
+   */
+  protected static class MinHeap {
+    /**
+     * The entries in this heap.
+     */
+    protected int[] entries = new int[16];
+
+    /**
+     * The priorities of the entries.
+     */
+    protected float[] priorities = new float[16];
+
+    /**
+     * The number of entries in this heap.
+     */
+    protected int size;
+
+    /**
+     * Adds the given entry with the given priority to this heap.
+     *
+     * @param entry    The entry to add.
+     * @param priority The priority of the entry.
+     */
+    void push(int entry, float priority) {
+      if (this.size == this.entries.length) {
+        this.entries = Arrays.copyOf(this.entries, 2 * this.size);
+        this.priorities = Arrays.copyOf(this.priorities, 2 * this.size);
+      }
+      int i = this.size++;
+      while (i > 0) {
+        int parent = (i - 1) >> 1;
+        if (this.priorities[parent] <= priority) {
+          break;
+        }
+        this.entries[i] = this.entries[parent];
+        this.priorities[i] = this.priorities[parent];
+        i = parent;
+      }
+      this.entries[i] = entry;
+      this.priorities[i] = priority;
+    }
+
+    /**
+     * Removes the entry with the smallest priority from this heap.
+     *
+     * @return The removed entry.
+     */
+    int pop() {
+      int top = this.entries[0];
+      int entry = this.entries[--this.size];
+      float priority = this.priorities[this.size];
+      int i = 0;
+      int half = this.size >> 1;
+      while (i < half) {
+        int child = 2 * i + 1;
+        if (child + 1 < this.size && this.priorities[child + 1] < this.priorities[child]) {
+          child++;
+        }
+        if (this.priorities[child] >= priority) {
+          break;
+        }
+        this.entries[i] = this.entries[child];
+        this.priorities[i] = this.priorities[child];
+        i = child;
+      }
+      this.entries[i] = entry;
+      this.priorities[i] = priority;
+      return top;
+    }
+
+    /**
+     * Returns the entry with the smallest priority, without removing it.
+     *
+     * @return The entry with the smallest priority.
+     */
+    int peekEntry() {
+      return this.entries[0];
+    }
+
+    /**
+     * Returns true if this heap is empty.
+     *
+     * @return True if this heap is empty; false otherwise.
+     */
+    boolean isEmpty() {
+      return this.size == 0;
+    }
+  }
+}
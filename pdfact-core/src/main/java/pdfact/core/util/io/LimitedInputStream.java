@@ -0,0 +1,155 @@
+package pdfact.core.util.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An input stream that fails as soon as more than a given number of bytes was read from the
+ * underlying stream, so that the size of an input of unknown length (for example, an uploaded or
+ * a downloaded PDF) can be limited without reading it completely first.
+ *
+ * @author Claudius Korzen
+ */
+public class LimitedInputStream extends FilterInputStream {
+  /**
+   * The maximum number of bytes that may be read.
+   */
+  protected final long maxBytes;
+
+  /**
+   * The number of bytes read so far.
+   */
+  protected long numBytesRead;
+
+  /**
+   * The number of bytes read at the time of the last call of mark().
+   */
+  protected long numBytesReadAtMark;
+
+  // ==============================================================================================
+
+  /**
+   * Creates a new stream that reads from the given stream.
+   *
+   * @param in       The stream to read from.
+   * @param maxBytes The maximum number of bytes that may be read.
+   */
+  public LimitedInputStream(InputStream in, long maxBytes) {
+    super(in);
+    this.maxBytes = maxBytes;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public int read() throws IOException {
+    int b = super.read();
+    if (b >= 0) {
+      count(1);
+    }
+    return b;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    int num = super.read(b, off, len);
+    if (num > 0) {
+      count(num);
+    }
+    return num;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    long num = super.skip(n);
+    if (num > 0) {
+      count(num);
+    }
+    return num;
+  }
+
+  @Override
+  public synchronized void mark(int readlimit) {
+    super.mark(readlimit);
+    this.numBytesReadAtMark = this.numBytesRead;
+  }
+
+  @Override
+  public synchronized void reset() throws IOException {
+    super.reset();
+    this.numBytesRead = this.numBytesReadAtMark;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the number of bytes read so far.
+   *
+   * @return The number of bytes read so far.
+   */
+  public long getNumBytesRead() {
+    return this.numBytesRead;
+  }
+
+  /**
+   * Returns the maximum number of bytes that may be read.
+   *
+   * @return The maximum number of bytes that may be read.
+   */
+  public long getMaxBytes() {
+    return this.maxBytes;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Adds the given number of bytes to the number of bytes read so far.
+   *
+   * @param num The number of bytes read.
+   *
+   * @throws LimitExceededException If the maximum number of bytes was exceeded.
+   */
+  protected void count(long num) throws LimitExceededException {
+    this.numBytesRead += num;
+    if (this.numBytesRead > this.maxBytes) {
+      throw new LimitExceededException(this.maxBytes);
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * The exception thrown when more than the maximum number of bytes was read from a stream.
+   */
+  public static class LimitExceededException extends IOException {
+    /**
+     * The serial id.
+     */
+    protected static final long serialVersionUID = 6183941046752738651L;
+
+    /**
+     * The maximum number of bytes that may be read.
+     */
+    protected final long maxBytes;
+
+    /**
+     * Creates a new exception.
+     *
+     * @param maxBytes The maximum number of bytes that may be read.
+     */
+    public LimitExceededException(long maxBytes) {
+      super("The input exceeds the maximum size of " + maxBytes + " bytes.");
+      this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the maximum number of bytes that may be read.
+     *
+     * @return The maximum number of bytes that may be read.
+     */
+    public long getMaxBytes() {
+      return this.maxBytes;
+    }
+  }
+}
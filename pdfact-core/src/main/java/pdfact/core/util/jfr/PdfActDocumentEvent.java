@@ -0,0 +1,120 @@
+package pdfact.core.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event about the processing of a PDF document by the core pipeline. The
+ * duration of the event is the total time needed to process the document.
+ *
+ * @author Claudius Korzen
+ */
+@Name("pdfact.Document")
+@Label("PdfAct Document")
+@Description("The processing of a PDF document by the core pipeline.")
+@Category("PdfAct")
+@StackTrace(false)
+public class PdfActDocumentEvent extends jdk.jfr.Event {
+  /**
+   * The path to the PDF document.
+   */
+  @Label("Path")
+  protected String path;
+
+  /**
+   * The size of the PDF file, in bytes.
+   */
+  @Label("Size")
+  @DataAmount
+  protected long size;
+
+  /**
+   * The number of pages.
+   */
+  @Label("Pages")
+  protected int pages;
+
+  /**
+   * The number of characters.
+   */
+  @Label("Characters")
+  protected int characters;
+
+  /**
+   * The number of paragraphs.
+   */
+  @Label("Paragraphs")
+  protected int paragraphs;
+
+  /**
+   * Whether or not the processing succeeded.
+   */
+  @Label("Succeeded")
+  protected boolean succeeded;
+
+  // ==============================================================================================
+
+  /**
+   * Sets the path to the PDF document.
+   *
+   * @param path
+   *        The path to the PDF document.
+   */
+  public void setPath(String path) {
+    this.path = path;
+  }
+
+  /**
+   * Sets the size of the PDF file.
+   *
+   * @param size
+   *        The size of the PDF file, in bytes.
+   */
+  public void setSize(long size) {
+    this.size = size;
+  }
+
+  /**
+   * Sets the number of pages.
+   *
+   * @param pages
+   *        The number of pages.
+   */
+  public void setPages(int pages) {
+    this.pages = pages;
+  }
+
+  /**
+   * Sets the number of characters.
+   *
+   * @param characters
+   *        The number of characters.
+   */
+  public void setCharacters(int characters) {
+    this.characters = characters;
+  }
+
+  /**
+   * Sets the number of paragraphs.
+   *
+   * @param paragraphs
+   *        The number of paragraphs.
+   */
+  public void setParagraphs(int paragraphs) {
+    this.paragraphs = paragraphs;
+  }
+
+  /**
+   * Sets whether or not the processing succeeded.
+   *
+   * @param succeeded
+   *        Whether or not the processing succeeded.
+   */
+  public void setSucceeded(boolean succeeded) {
+    this.succeeded = succeeded;
+  }
+}
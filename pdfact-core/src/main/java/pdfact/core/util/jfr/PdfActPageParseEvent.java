@@ -0,0 +1,117 @@
+package pdfact.core.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event about the parsing of a single page of a PDF document.
+ *
+ * @author Claudius Korzen
+ */
+@Name("pdfact.PageParse")
+@Label("PdfAct Page Parse")
+@Description("The parsing of the content stream of a page, including nested streams.")
+@Category({ "PdfAct", "Parser" })
+@StackTrace(false)
+public class PdfActPageParseEvent extends jdk.jfr.Event {
+  /**
+   * The path to the PDF document.
+   */
+  @Label("Document")
+  protected String document;
+
+  /**
+   * The number of the page.
+   */
+  @Label("Page")
+  protected int page;
+
+  /**
+   * The number of processed operators, including the operators of nested streams.
+   */
+  @Label("Operators")
+  protected int operators;
+
+  /**
+   * The number of extracted glyphs (characters).
+   */
+  @Label("Glyphs")
+  protected int glyphs;
+
+  /**
+   * The number of extracted figures.
+   */
+  @Label("Figures")
+  protected int figures;
+
+  /**
+   * The number of extracted shapes.
+   */
+  @Label("Shapes")
+  protected int shapes;
+
+  // ==============================================================================================
+
+  /**
+   * Sets the path to the PDF document.
+   *
+   * @param document
+   *        The path to the PDF document.
+   */
+  public void setDocument(String document) {
+    this.document = document;
+  }
+
+  /**
+   * Sets the number of the page.
+   *
+   * @param page
+   *        The number of the page.
+   */
+  public void setPage(int page) {
+    this.page = page;
+  }
+
+  /**
+   * Sets the number of processed operators.
+   *
+   * @param operators
+   *        The number of processed operators.
+   */
+  public void setOperators(int operators) {
+    this.operators = operators;
+  }
+
+  /**
+   * Sets the number of extracted glyphs.
+   *
+   * @param glyphs
+   *        The number of extracted glyphs.
+   */
+  public void setGlyphs(int glyphs) {
+    this.glyphs = glyphs;
+  }
+
+  /**
+   * Sets the number of extracted figures.
+   *
+   * @param figures
+   *        The number of extracted figures.
+   */
+  public void setFigures(int figures) {
+    this.figures = figures;
+  }
+
+  /**
+   * Sets the number of extracted shapes.
+   *
+   * @param shapes
+   *        The number of extracted shapes.
+   */
+  public void setShapes(int shapes) {
+    this.shapes = shapes;
+  }
+}
@@ -0,0 +1,152 @@
+package pdfact.core.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import pdfact.core.util.pipeline.ElementCounts;
+
+/**
+ * A Java Flight Recorder event about a (partial) execution of a pipe: the execution of a
+ * document-level pipe on a whole document, or the execution of a page pipe on a single page.
+ *
+ * @author Claudius Korzen
+ */
+@Name("pdfact.Pipe")
+@Label("PdfAct Pipe")
+@Description("The execution of a pipe on a PDF document or on a single page.")
+@Category("PdfAct")
+@StackTrace(false)
+public class PdfActPipeEvent extends jdk.jfr.Event {
+  /**
+   * The name of the pipe.
+   */
+  @Label("Pipe")
+  protected String pipe;
+
+  /**
+   * The path to the PDF document.
+   */
+  @Label("Document")
+  protected String document;
+
+  /**
+   * The number of the processed page, or 0 if the pipe was executed on the whole document.
+   */
+  @Label("Page")
+  protected int page;
+
+  /**
+   * The number of pages after the execution.
+   */
+  @Label("Pages")
+  protected int pages;
+
+  /**
+   * The number of characters after the execution.
+   */
+  @Label("Characters")
+  protected int characters;
+
+  /**
+   * The number of figures after the execution.
+   */
+  @Label("Figures")
+  protected int figures;
+
+  /**
+   * The number of shapes after the execution.
+   */
+  @Label("Shapes")
+  protected int shapes;
+
+  /**
+   * The number of text lines after the execution.
+   */
+  @Label("Text Lines")
+  protected int textLines;
+
+  /**
+   * The number of words after the execution.
+   */
+  @Label("Words")
+  protected int words;
+
+  /**
+   * The number of text blocks after the execution.
+   */
+  @Label("Text Blocks")
+  protected int textBlocks;
+
+  /**
+   * The number of paragraphs after the execution.
+   */
+  @Label("Paragraphs")
+  protected int paragraphs;
+
+  /**
+   * Whether or not the execution succeeded.
+   */
+  @Label("Succeeded")
+  protected boolean succeeded;
+
+  // ==============================================================================================
+
+  /**
+   * Sets the name of the pipe.
+   *
+   * @param pipe
+   *        The name of the pipe.
+   */
+  public void setPipe(String pipe) {
+    this.pipe = pipe;
+  }
+
+  /**
+   * Sets the path to the PDF document.
+   *
+   * @param document
+   *        The path to the PDF document.
+   */
+  public void setDocument(String document) {
+    this.document = document;
+  }
+
+  /**
+   * Sets the number of the processed page.
+   *
+   * @param page
+   *        The number of the processed page, or 0 if the pipe was executed on the whole document.
+   */
+  public void setPage(int page) {
+    this.page = page;
+  }
+
+  /**
+   * Sets the numbers of the elements after the execution.
+   *
+   * @param counts
+   *        The numbers of the elements after the execution.
+   */
+  public void setCounts(ElementCounts counts) {
+    this.pages = counts.getNumPages();
+    this.characters = counts.getNumCharacters();
+    this.figures = counts.getNumFigures();
+    this.shapes = counts.getNumShapes();
+    this.textLines = counts.getNumTextLines();
+    this.words = counts.getNumWords();
+    this.textBlocks = counts.getNumTextBlocks();
+    this.paragraphs = counts.getNumParagraphs();
+  }
+
+  /**
+   * Sets whether or not the execution succeeded.
+   *
+   * @param succeeded
+   *        Whether or not the execution succeeded.
+   */
+  public void setSucceeded(boolean succeeded) {
+    this.succeeded = succeeded;
+  }
+}
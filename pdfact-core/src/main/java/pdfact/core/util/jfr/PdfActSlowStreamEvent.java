@@ -0,0 +1,113 @@
+package pdfact.core.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A Java Flight Recorder event about a nested content stream (a Form XObject or the glyph
+ * procedure of a Type3 font) whose parsing took longer than the threshold. The threshold can be
+ * changed in the recording settings (for example, "pdfact.SlowStream#threshold=1 ms").
+ *
+ * @author Claudius Korzen
+ */
+@Name("pdfact.SlowStream")
+@Label("PdfAct Slow Stream")
+@Description("The parsing of a Form XObject or a Type3 glyph that took longer than the threshold.")
+@Category({ "PdfAct", "Parser" })
+@Threshold("10 ms")
+public class PdfActSlowStreamEvent extends jdk.jfr.Event {
+  /**
+   * The type of a stream of a Form XObject.
+   */
+  public static final String TYPE_FORM = "Form XObject";
+
+  /**
+   * The type of a glyph procedure of a Type3 font.
+   */
+  public static final String TYPE_TYPE3 = "Type3 Glyph";
+
+  /**
+   * The type of the stream.
+   */
+  @Label("Type")
+  protected String type;
+
+  /**
+   * The name of the Type3 font, or null for Form XObjects.
+   */
+  @Label("Font")
+  protected String font;
+
+  /**
+   * The path to the PDF document.
+   */
+  @Label("Document")
+  protected String document;
+
+  /**
+   * The number of the page.
+   */
+  @Label("Page")
+  protected int page;
+
+  /**
+   * The number of processed operators, including the operators of nested streams.
+   */
+  @Label("Operators")
+  protected int operators;
+
+  // ==============================================================================================
+
+  /**
+   * Sets the type of the stream.
+   *
+   * @param type
+   *        The type of the stream, {@link #TYPE_FORM} or {@link #TYPE_TYPE3}.
+   */
+  public void setType(String type) {
+    this.type = type;
+  }
+
+  /**
+   * Sets the name of the Type3 font.
+   *
+   * @param font
+   *        The name of the Type3 font.
+   */
+  public void setFont(String font) {
+    this.font = font;
+  }
+
+  /**
+   * Sets the path to the PDF document.
+   *
+   * @param document
+   *        The path to the PDF document.
+   */
+  public void setDocument(String document) {
+    this.document = document;
+  }
+
+  /**
+   * Sets the number of the page.
+   *
+   * @param page
+   *        The number of the page.
+   */
+  public void setPage(int page) {
+    this.page = page;
+  }
+
+  /**
+   * Sets the number of processed operators.
+   *
+   * @param operators
+   *        The number of processed operators.
+   */
+  public void setOperators(int operators) {
+    this.operators = operators;
+  }
+}
@@ -4,33 +4,69 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
+import gnu.trove.map.hash.TIntIntHashMap;
 import pdfact.core.model.Element;
+import pdfact.core.util.comparator.KeyedComparator;
 
 // TODO: Accelerate the cut method in PdfElementList.
 
 /**
  * A list of PDF elements.
  * 
+ * <p>
+ * The membership methods (contains(), indexOf(), remove(Object), removeAll(), ...) compare the
+ * elements by identity, not by their value-based equals(). To find an element in a larger list,
+ * the list builds a side table that maps the ids of its elements (see
+ * {@link Element#getElementId()}) to their positions on the first lookup, and rebuilds it on the
+ * first lookup after the list was modified. equals() and hashCode() of the list itself still
+ * compare the elements by value.
+ * 
  * @param <T> The type of the PDF elements.
  * 
  * @author Claudius Korzen
  */
 public class ElementList<T extends Element> implements List<T> {
+  /**
+   * The minimum size of a list from which on an element is looked up via the table of positions
+   * by id instead of a linear scan.
+   */
+  protected static final int MIN_INDEXED_SIZE = 16;
+
   /**
    * The underlying list.
    */
-  protected final ArrayList<T> list;
+  protected final CountingArrayList<T> list;
+
+  /**
+   * The number of the replacements of elements in this list (which are not counted as
+   * modifications by the underlying list).
+   */
+  protected int numReplacements;
+
+  /**
+   * The positions of the elements by their ids (the position of the first occurrence, if an
+   * element is contained multiple times), or null if the table wasn't built yet.
+   */
+  protected TIntIntHashMap positionsById;
+
+  /**
+   * The modification count of this list at the time the positions table was built.
+   */
+  protected int positionsByIdModificationCount;
 
   /**
    * Creates an empty list.
    */
   public ElementList() {
-    this.list = new ArrayList<>();
+    this.list = new CountingArrayList<>();
   }
 
   /**
@@ -39,7 +75,7 @@ public class ElementList<T extends Element> implements List<T> {
    * @param initialCapacity The initial capacity of the list
    */
   public ElementList(int initialCapacity) {
-    this.list = new ArrayList<>(initialCapacity);
+    this.list = new CountingArrayList<>(initialCapacity);
   }
 
   // ==============================================================================================
@@ -59,6 +95,7 @@ public class ElementList<T extends Element> implements List<T> {
    * @return The last element in this list or null if this list is empty.
    */
   public T set(int index, T element) {
+    this.numReplacements++;
     return this.list.set(index, element);
   }
 
@@ -73,13 +110,26 @@ public class ElementList<T extends Element> implements List<T> {
   public void swap(int i, int j) {
     T first = this.list.get(i);
     T second = this.list.get(j);
+    this.numReplacements++;
     this.list.set(i, second);
     this.list.set(j, first);
   }
 
   @Override
   public void sort(Comparator<? super T> c) {
-    Quicksort.sort(this, c);
+    ElementListSorter.sort(this, c);
+  }
+
+  /**
+   * Replaces the element at the given index with the given element. In contrast to set(), this
+   * method is also supported by views, so that a view can be sorted in place.
+   * 
+   * @param index   The index of the element to replace.
+   * @param element The element to store at the given index.
+   */
+  protected void replace(int index, T element) {
+    this.numReplacements++;
+    this.list.set(index, element);
   }
 
   /**
@@ -101,22 +151,66 @@ public class ElementList<T extends Element> implements List<T> {
 
   @Override
   public boolean contains(Object o) {
-    return this.list.contains(o);
+    return indexOf(o) >= 0;
   }
 
   @Override
   public boolean containsAll(Collection<?> c) {
-    return this.list.containsAll(c);
+    for (Object o : c) {
+      if (!contains(o)) {
+        return false;
+      }
+    }
+    return true;
   }
 
   @Override
   public int indexOf(Object o) {
-    return this.list.indexOf(o);
+    if (o instanceof Element && size() > MIN_INDEXED_SIZE) {
+      int elementId = ((Element) o).getElementId();
+      if (elementId != Element.NO_ELEMENT_ID) {
+        if (this.positionsById == null
+            || this.positionsByIdModificationCount != getModificationCount()) {
+          buildPositionsById();
+        }
+        int index = this.positionsById.get(elementId);
+        if (index < 0 || this.list.get(index) == o) {
+          return index;
+        }
+        // Another element has the same id (e.g., an element of another document), so scan.
+      }
+    }
+    for (int i = 0; i < size(); i++) {
+      if (this.list.get(i) == o) {
+        return i;
+      }
+    }
+    return -1;
   }
 
   @Override
   public int lastIndexOf(Object o) {
-    return this.list.lastIndexOf(o);
+    for (int i = size() - 1; i >= 0; i--) {
+      if (this.list.get(i) == o) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Builds the table that maps the ids of the elements in this list to their positions.
+   */
+  protected void buildPositionsById() {
+    TIntIntHashMap positions = new TIntIntHashMap(2 * size(), 0.5f, Element.NO_ELEMENT_ID, -1);
+    for (int i = 0; i < size(); i++) {
+      T element = this.list.get(i);
+      if (element != null && element.getElementId() != Element.NO_ELEMENT_ID) {
+        positions.putIfAbsent(element.getElementId(), i);
+      }
+    }
+    this.positionsById = positions;
+    this.positionsByIdModificationCount = getModificationCount();
   }
 
   // ==============================================================================================
@@ -145,7 +239,12 @@ public class ElementList<T extends Element> implements List<T> {
 
   @Override
   public boolean remove(Object o) {
-    return this.list.remove(o);
+    int index = indexOf(o);
+    if (index < 0) {
+      return false;
+    }
+    this.list.remove(index);
+    return true;
   }
 
   @Override
@@ -155,12 +254,27 @@ public class ElementList<T extends Element> implements List<T> {
 
   @Override
   public boolean removeAll(Collection<?> c) {
-    return this.list.removeAll(c);
+    Set<Object> elements = toIdentitySet(c);
+    return this.list.removeIf(e -> elements.contains(e));
   }
 
   @Override
   public boolean retainAll(Collection<?> c) {
-    return this.list.retainAll(c);
+    Set<Object> elements = toIdentitySet(c);
+    return this.list.removeIf(e -> !elements.contains(e));
+  }
+
+  /**
+   * Returns a set of the given objects that compares the objects by identity.
+   * 
+   * @param c The objects.
+   * 
+   * @return The set of the given objects.
+   */
+  protected static Set<Object> toIdentitySet(Collection<?> c) {
+    Set<Object> set = Collections.newSetFromMap(new IdentityHashMap<>(2 * c.size()));
+    set.addAll(c);
+    return set;
   }
 
   @Override
@@ -201,12 +315,73 @@ public class ElementList<T extends Element> implements List<T> {
 
   @Override
   public ListIterator<T> listIterator() {
-    return this.list.listIterator();
+    return listIterator(0);
   }
 
   @Override
   public ListIterator<T> listIterator(int index) {
-    return this.list.listIterator(index);
+    ListIterator<T> iterator = this.list.listIterator(index);
+    // The iterator allows to replace elements, which is not counted by the underlying list.
+    return new ListIterator<T>() {
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public T next() {
+        return iterator.next();
+      }
+
+      @Override
+      public boolean hasPrevious() {
+        return iterator.hasPrevious();
+      }
+
+      @Override
+      public T previous() {
+        return iterator.previous();
+      }
+
+      @Override
+      public int nextIndex() {
+        return iterator.nextIndex();
+      }
+
+      @Override
+      public int previousIndex() {
+        return iterator.previousIndex();
+      }
+
+      @Override
+      public void remove() {
+        iterator.remove();
+      }
+
+      @Override
+      public void set(T e) {
+        iterator.set(e);
+        ElementList.this.numReplacements++;
+      }
+
+      @Override
+      public void add(T e) {
+        iterator.add(e);
+      }
+    };
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the number of modifications of this list so far (additions, removals and
+   * replacements of elements). A value derived from the elements of this list (like a statistic)
+   * is still up to date if the number hasn't changed since the value was derived.
+   * 
+   * @return The number of modifications of this list.
+   */
+  public int getModificationCount() {
+    return this.list.getModificationCount() + this.numReplacements;
   }
 
   // ==============================================================================================
@@ -339,8 +514,8 @@ public class ElementList<T extends Element> implements List<T> {
 
     @Override
     public int indexOf(Object o) {
-      for (int i = this.from; i < this.size; i++) {
-        if (o.equals(get(i))) {
+      for (int i = 0; i < this.size; i++) {
+        if (get(i) == o) {
           return i;
         }
       }
@@ -349,8 +524,8 @@ public class ElementList<T extends Element> implements List<T> {
 
     @Override
     public int lastIndexOf(Object o) {
-      for (int i = this.size - 1; i >= this.from; i--) {
-        if (o.equals(get(i))) {
+      for (int i = this.size - 1; i >= 0; i--) {
+        if (get(i) == o) {
           return i;
         }
       }
@@ -543,7 +718,12 @@ public class ElementList<T extends Element> implements List<T> {
 
     @Override
     public void sort(Comparator<? super S> c) {
-      Quicksort.sort(this, c);
+      ElementListSorter.sort(this, c);
+    }
+
+    @Override
+    protected void replace(int index, S element) {
+      this.parent.replace(this.from + index, element);
     }
 
     @Override
@@ -559,6 +739,13 @@ public class ElementList<T extends Element> implements List<T> {
 
     // ============================================================================================
 
+    @Override
+    public int getModificationCount() {
+      return this.parent.getModificationCount();
+    }
+
+    // ============================================================================================
+
     @Override
     public boolean equals(Object other) {
       if (other == this) {
@@ -588,112 +775,228 @@ public class ElementList<T extends Element> implements List<T> {
       return hashCode;
     }
   }
+
+  // ==============================================================================================
+
+  /**
+   * An array list that exposes the number of its structural modifications.
+   * 
+   * @param <E> The type of the elements in this list.
+   */
+  protected static class CountingArrayList<E> extends ArrayList<E> {
+    /**
+     * The serial id.
+     */
+    protected static final long serialVersionUID = 5472302876263417104L;
+
+    /**
+     * Creates an empty list.
+     */
+    CountingArrayList() {
+      super();
+    }
+
+    /**
+     * Creates an empty list with the given initial capacity.
+     *
+     * @param initialCapacity The initial capacity of the list
+     */
+    CountingArrayList(int initialCapacity) {
+      super(initialCapacity);
+    }
+
+    /**
+     * Returns the number of structural modifications of this list so far.
+     * 
+     * @return The number of structural modifications of this list.
+     */
+    int getModificationCount() {
+      return this.modCount;
+    }
+  }
 }
 
 /**
- * A custom implementation of Quicksort.
+ * A stable, non-recursive sort for element lists.
+ * 
+ * <p>
+ * If the comparator is a {@link KeyedComparator}, the sort key of each element is extracted only
+ * once into a primitive array, the keys are sorted together with the original positions of the
+ * elements by a bottom-up merge sort, and the elements are finally permuted in place. Otherwise,
+ * the elements are sorted by Arrays.sort(), which is stable as well.
  * 
  * @author Claudius Korzen
  */
-class Quicksort {
+class ElementListSorter {
   /**
-   * Sorts the given array using QuickSort.
+   * The size of the blocks to sort by insertion sort before merging.
+   */
+  protected static final int INSERTION_SORT_THRESHOLD = 16;
+
+  /**
+   * Sorts the given list.
    * 
    * @param list The list to sort.
    * @param c    The comparator to use.
    */
+  @SuppressWarnings("unchecked")
   public static <T extends Element> void sort(ElementList<T> list, Comparator<? super T> c) {
-    // Do nothing, if the array is not set.
-    if (list == null) {
+    // Do nothing, if the list is not set or contains less than 2 elements.
+    if (list == null || list.size() < 2) {
       return;
     }
 
-    // Do nothing, if the array contains less than 2 elements.
-    if (list.size() < 2) {
-      return;
+    int n = list.size();
+    Element[] elements = new Element[n];
+    for (int i = 0; i < n; i++) {
+      elements[i] = list.get(i);
+    }
+
+    Element[] sorted;
+    if (c instanceof KeyedComparator) {
+      KeyedComparator<? super T> kc = (KeyedComparator<? super T>) c;
+      long[] keys = new long[n];
+      for (int i = 0; i < n; i++) {
+        keys[i] = kc.getSortKey((T) elements[i]);
+      }
+
+      if (isSorted(keys)) {
+        return;
+      }
+
+      int[] positions = new int[n];
+      for (int i = 0; i < n; i++) {
+        positions[i] = i;
+      }
+      sort(keys, positions);
+
+      sorted = new Element[n];
+      for (int i = 0; i < n; i++) {
+        sorted[i] = elements[positions[i]];
+      }
+    } else {
+      Arrays.sort((T[]) elements, c);
+      sorted = elements;
     }
 
-    quickSortRecursive(list, c, 0, list.size() - 1);
+    for (int i = 0; i < n; i++) {
+      if (list.get(i) != sorted[i]) {
+        list.replace(i, (T) sorted[i]);
+      }
+    }
   }
 
-  // ___________________________________________________________________________
+  // ==============================================================================================
 
   /**
-   * Recursive method for Quicksort. Each call gets the full array plus two
-   * variables specifying which range of the array should be sorted, where l is
-   * the index of the leftmost element in the range, and r is the index of the
-   * rightmost element in the range. The public method above just calls this one
-   * with l = 0 and r = n - 1, where n is the size of the array.
+   * Returns true if the given keys are in ascending order.
    * 
-   * @param list The list to process.
-   * @param c    The comparator to use.
-   * @param l    The start index.
-   * @param r    The end index.
+   * @param keys The keys to check.
+   * @return True if the given keys are in ascending order; false otherwise.
    */
-  protected static <T extends Element> void quickSortRecursive(ElementList<T> list, 
-      Comparator<? super T> c, int l,
-      int r) {
-    // Do nothing, if the range contains no more than 1 element.
-    int index = quickSortDivide(list, c, l, r);
-
-    if (index > l + 1) {
-      quickSortRecursive(list, c, l, index - 1);
-    }
-    if (index < r - 1) {
-      quickSortRecursive(list, c, index + 1, r);
+  protected static boolean isSorted(long[] keys) {
+    for (int i = 1; i < keys.length; i++) {
+      if (keys[i - 1] > keys[i]) {
+        return false;
+      }
     }
+    return true;
   }
 
   /**
-   * Method for dividing the given range of the given array into two parts such
-   * that all elements in the left part are smaller than all elements in the right
-   * part. Returns the index m of the dividing element, that is left part
-   * array[l..m] and right part = array[m+1..r].
+   * Sorts the given keys in ascending order (stable) and permutes the given positions
+   * accordingly. First sorts blocks of {@link #INSERTION_SORT_THRESHOLD} keys by insertion sort
+   * and then merges the blocks bottom-up, with doubling widths.
    * 
-   * @param list The list to process.
-   * @param c    The comparator to use.
-   * @param l    The start index.
-   * @param r    The end index.
-   * @return The index of dividing element.
+   * @param keys      The keys to sort.
+   * @param positions The positions to permute along with the keys.
    */
-  protected static <T extends Element> int quickSortDivide(ElementList<T> list, 
-      Comparator<? super T> c, int l, int r) {
-    // Define the two pointers i and j.
-    int i = l;
-    int j = r - 1;
-
-    // Choose the pivot index: Take the leftmost element per default.
-    int pivotIndex = r;
-    T pivot = list.get(pivotIndex);
-
-    // Swap the pivot to the right.
-    list.swap(pivotIndex, r);
-
-    while (true) {
-      // Iterate the array from the left and search for the first element which
-      // is larger than the pivot.
-      while (i <= j && c.compare(list.get(i), pivot) < 0) {
-        i++;
+  protected static void sort(long[] keys, int[] positions) {
+    int n = keys.length;
+
+    for (int l = 0; l < n; l += INSERTION_SORT_THRESHOLD) {
+      insertionSort(keys, positions, l, Math.min(l + INSERTION_SORT_THRESHOLD, n));
+    }
+
+    long[] srcKeys = keys;
+    int[] srcPositions = positions;
+    long[] dstKeys = new long[n];
+    int[] dstPositions = new int[n];
+    for (int width = INSERTION_SORT_THRESHOLD; width < n; width *= 2) {
+      for (int l = 0; l < n; l += 2 * width) {
+        int m = Math.min(l + width, n);
+        int r = Math.min(l + 2 * width, n);
+        merge(srcKeys, srcPositions, dstKeys, dstPositions, l, m, r);
       }
+      long[] tmpKeys = srcKeys;
+      srcKeys = dstKeys;
+      dstKeys = tmpKeys;
+      int[] tmpPositions = srcPositions;
+      srcPositions = dstPositions;
+      dstPositions = tmpPositions;
+    }
 
-      // Iterate the array from the right and search for the first element
-      // which is smaller than the pivot.
-      while (i <= j && c.compare(list.get(j), pivot) >= 0) {
-        j--;
-      }
+    if (srcKeys != keys) {
+      System.arraycopy(srcKeys, 0, keys, 0, n);
+      System.arraycopy(srcPositions, 0, positions, 0, n);
+    }
+  }
 
-      if (i > j) {
-        break;
+  /**
+   * Sorts the keys in the range [l, r) by insertion sort.
+   * 
+   * @param keys      The keys to sort.
+   * @param positions The positions to permute along with the keys.
+   * @param l         The start index, inclusive.
+   * @param r         The end index, exclusive.
+   */
+  protected static void insertionSort(long[] keys, int[] positions, int l, int r) {
+    for (int i = l + 1; i < r; i++) {
+      long key = keys[i];
+      int position = positions[i];
+      int j = i - 1;
+      while (j >= l && keys[j] > key) {
+        keys[j + 1] = keys[j];
+        positions[j + 1] = positions[j];
+        j--;
       }
-
-      // Swap the element in the left array which is larger than the pivot
-      // with the element in the right array which is smaller than the pivot.
-      list.swap(i, j);
+      keys[j + 1] = key;
+      positions[j + 1] = position;
     }
+  }
 
-    // Swap the pivot back.
-    list.swap(r, i);
+  /**
+   * Merges the sorted ranges [l, m) and [m, r) of the source arrays into the range [l, r) of the
+   * target arrays. On ties, the key of the left range is taken first, which keeps the sort
+   * stable.
+   * 
+   * @param srcKeys      The source keys.
+   * @param srcPositions The source positions.
+   * @param dstKeys      The target keys.
+   * @param dstPositions The target positions.
+   * @param l            The start index of the left range, inclusive.
+   * @param m            The start index of the right range, inclusive.
+   * @param r            The end index of the right range, exclusive.
+   */
+  protected static void merge(long[] srcKeys, int[] srcPositions, long[] dstKeys,
+      int[] dstPositions, int l, int m, int r) {
+    // Copy the ranges as they are if they are already in order.
+    if (m >= r || srcKeys[m - 1] <= srcKeys[m]) {
+      System.arraycopy(srcKeys, l, dstKeys, l, r - l);
+      System.arraycopy(srcPositions, l, dstPositions, l, r - l);
+      return;
+    }
 
-    return i;
+    int i = l;
+    int j = m;
+    for (int k = l; k < r; k++) {
+      if (j >= r || (i < m && srcKeys[i] <= srcKeys[j])) {
+        dstKeys[k] = srcKeys[i];
+        dstPositions[k] = srcPositions[i++];
+      } else {
+        dstKeys[k] = srcKeys[j];
+        dstPositions[k] = srcPositions[j++];
+      }
+    }
   }
 }
@@ -0,0 +1,248 @@
+package pdfact.core.util.pipeline;
+
+import java.util.Collection;
+import java.util.List;
+import pdfact.core.model.Document;
+import pdfact.core.model.Page;
+import pdfact.core.model.TextLine;
+import pdfact.core.util.list.ElementList;
+
+/**
+ * The numbers of the different elements of a PDF document (or of a single page), used to report
+ * the cardinalities of the input and output of a pipe.
+ *
+ * @author Claudius Korzen
+ */
+public class ElementCounts {
+  /**
+   * The number of pages.
+   */
+  protected int numPages;
+
+  /**
+   * The number of characters.
+   */
+  protected int numCharacters;
+
+  /**
+   * The number of figures.
+   */
+  protected int numFigures;
+
+  /**
+   * The number of shapes.
+   */
+  protected int numShapes;
+
+  /**
+   * The number of text areas.
+   */
+  protected int numTextAreas;
+
+  /**
+   * The number of text lines.
+   */
+  protected int numTextLines;
+
+  /**
+   * The number of words.
+   */
+  protected int numWords;
+
+  /**
+   * The number of text blocks.
+   */
+  protected int numTextBlocks;
+
+  /**
+   * The number of paragraphs.
+   */
+  protected int numParagraphs;
+
+  // ==============================================================================================
+
+  /**
+   * Counts the elements of the given PDF document.
+   *
+   * @param pdf
+   *        The PDF document to process.
+   *
+   * @return The numbers of the elements (all zero, if the document is null).
+   */
+  public static ElementCounts of(Document pdf) {
+    ElementCounts counts = new ElementCounts();
+    if (pdf == null) {
+      return counts;
+    }
+
+    List<Page> pages = pdf.getPages();
+    if (pages != null) {
+      for (Page page : pages) {
+        counts.add(of(page));
+      }
+    }
+    counts.numParagraphs = size(pdf.getParagraphs());
+
+    return counts;
+  }
+
+  /**
+   * Counts the elements of the given page.
+   *
+   * @param page
+   *        The page to process.
+   *
+   * @return The numbers of the elements (all zero, if the page is null).
+   */
+  public static ElementCounts of(Page page) {
+    ElementCounts counts = new ElementCounts();
+    if (page == null) {
+      return counts;
+    }
+
+    counts.numPages = 1;
+    counts.numCharacters = size(page.getCharacters());
+    counts.numFigures = size(page.getFigures());
+    counts.numShapes = size(page.getShapes());
+    counts.numTextAreas = size(page.getTextAreas());
+    counts.numTextLines = size(page.getTextLines());
+    counts.numTextBlocks = size(page.getTextBlocks());
+
+    ElementList<TextLine> lines = page.getTextLines();
+    if (lines != null) {
+      for (TextLine line : lines) {
+        counts.numWords += size(line.getWords());
+      }
+    }
+
+    return counts;
+  }
+
+  /**
+   * Returns the size of the given collection.
+   *
+   * @param collection
+   *        The collection.
+   *
+   * @return The size of the collection, or 0 if the collection is null.
+   */
+  protected static int size(Collection<?> collection) {
+    return collection != null ? collection.size() : 0;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Adds the given numbers to the numbers of this object.
+   *
+   * @param other
+   *        The numbers to add.
+   */
+  public void add(ElementCounts other) {
+    if (other == null) {
+      return;
+    }
+    this.numPages += other.numPages;
+    this.numCharacters += other.numCharacters;
+    this.numFigures += other.numFigures;
+    this.numShapes += other.numShapes;
+    this.numTextAreas += other.numTextAreas;
+    this.numTextLines += other.numTextLines;
+    this.numWords += other.numWords;
+    this.numTextBlocks += other.numTextBlocks;
+    this.numParagraphs += other.numParagraphs;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the number of pages.
+   *
+   * @return The number of pages.
+   */
+  public int getNumPages() {
+    return this.numPages;
+  }
+
+  /**
+   * Returns the number of characters.
+   *
+   * @return The number of characters.
+   */
+  public int getNumCharacters() {
+    return this.numCharacters;
+  }
+
+  /**
+   * Returns the number of figures.
+   *
+   * @return The number of figures.
+   */
+  public int getNumFigures() {
+    return this.numFigures;
+  }
+
+  /**
+   * Returns the number of shapes.
+   *
+   * @return The number of shapes.
+   */
+  public int getNumShapes() {
+    return this.numShapes;
+  }
+
+  /**
+   * Returns the number of text areas.
+   *
+   * @return The number of text areas.
+   */
+  public int getNumTextAreas() {
+    return this.numTextAreas;
+  }
+
+  /**
+   * Returns the number of text lines.
+   *
+   * @return The number of text lines.
+   */
+  public int getNumTextLines() {
+    return this.numTextLines;
+  }
+
+  /**
+   * Returns the number of words.
+   *
+   * @return The number of words.
+   */
+  public int getNumWords() {
+    return this.numWords;
+  }
+
+  /**
+   * Returns the number of text blocks.
+   *
+   * @return The number of text blocks.
+   */
+  public int getNumTextBlocks() {
+    return this.numTextBlocks;
+  }
+
+  /**
+   * Returns the number of paragraphs.
+   *
+   * @return The number of paragraphs.
+   */
+  public int getNumParagraphs() {
+    return this.numParagraphs;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public String toString() {
+    return "pages=" + this.numPages + ", chars=" + this.numCharacters + ", figures="
+        + this.numFigures + ", shapes=" + this.numShapes + ", areas=" + this.numTextAreas
+        + ", lines=" + this.numTextLines + ", words=" + this.numWords + ", blocks="
+        + this.numTextBlocks + ", paragraphs=" + this.numParagraphs;
+  }
+}
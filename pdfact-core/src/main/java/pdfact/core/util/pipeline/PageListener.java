@@ -0,0 +1,23 @@
+package pdfact.core.util.pipeline;
+
+import pdfact.core.model.Document;
+import pdfact.core.model.Page;
+
+/**
+ * A listener that is notified about each page produced by a {@link PageProducingPipe}, as soon as
+ * the page is complete.
+ * 
+ * @author Claudius Korzen
+ */
+public interface PageListener {
+  /**
+   * Handles the given (complete) page. The producing pipe does not modify the page (and the
+   * elements of the page) after passing it to this method.
+   * 
+   * @param pdf
+   *        The PDF document to which the page belongs to.
+   * @param page
+   *        The page to handle.
+   */
+  void handlePage(Document pdf, Page page);
+}
@@ -0,0 +1,114 @@
+package pdfact.core.util.pipeline;
+
+import java.util.List;
+
+import pdfact.core.model.Document;
+import pdfact.core.model.Page;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * A pipe that processes the pages of a PDF document independently of each other. A page pipe only
+ * modifies the given page (and the elements of the page) and reads only from the given page and
+ * from the document-level results of earlier pipes (like the character statistic of the
+ * document). This allows to execute a page pipe for different pages concurrently (see
+ * {@link ParallelPipeline}), so implementations must not modify any state shared between pages
+ * without synchronization.
+ * 
+ * @author Claudius Korzen
+ */
+public interface PagePipe extends Pipe {
+  /**
+   * Executes this pipe on the given page.
+   * 
+   * @param pdf
+   *        The PDF document to which the page belongs to.
+   * @param page
+   *        The page to process.
+   * 
+   * @throws PdfActException
+   *         If something went wrong while executing this pipe.
+   */
+  void executePage(Document pdf, Page page) throws PdfActException;
+
+  /**
+   * Returns true if this pipe reads document-level results that are only available after the
+   * preceding {@link PageProducingPipe} produced all pages (like the character statistic of the
+   * document, computed by the parser) and can't estimate them (see
+   * {@link #executePageEarly(Document, Page)}). Such a pipe is not pipelined with the producer,
+   * but waits until all pages were produced.
+   * 
+   * @return True if this pipe requires the complete document; false otherwise.
+   */
+  default boolean requiresCompleteDocument() {
+    return false;
+  }
+
+  /**
+   * Executes this pipe on the given page while the preceding {@link PageProducingPipe} is still
+   * producing the other pages, so the document-level results of the producer (like the character
+   * statistic of the document) are not available yet. A pipe that reads such results can process
+   * the page with an estimate of them here and tell afterwards, by
+   * {@link #isEarlyResultValid(Document, Page)}, whether the estimate led to the same result as
+   * processing the page of the complete document. By default, this method calls
+   * {@link #executePage(Document, Page)}.
+   * 
+   * @param pdf
+   *        The PDF document to which the page belongs to.
+   * @param page
+   *        The page to process.
+   * 
+   * @throws PdfActException
+   *         If something went wrong while executing this pipe.
+   */
+  default void executePageEarly(Document pdf, Page page) throws PdfActException {
+    executePage(pdf, page);
+  }
+
+  /**
+   * Returns false if the result of {@link #executePageEarly(Document, Page)} on the given page may
+   * differ from the result of {@link #executePage(Document, Page)} on the complete document. Such
+   * a page is passed through this pipe (by {@link #executePage(Document, Page)}) and all
+   * subsequent page pipes again. This method is called once per page, after all pages were
+   * produced and processed early.
+   * 
+   * @param pdf
+   *        The (complete) PDF document to which the page belongs to.
+   * @param page
+   *        The page processed early.
+   * 
+   * @return True if the early result is valid; false if the page must be processed again.
+   */
+  default boolean isEarlyResultValid(Document pdf, Page page) {
+    return true;
+  }
+
+  /**
+   * Executes this pipe on all pages of the given PDF document, one after another.
+   * 
+   * @param pdf
+   *        The input PDF document for this pipe.
+   * 
+   * @return The state of the PDF document after executing this pipe.
+   * 
+   * @throws PdfActException
+   *         If something went wrong while executing this pipe.
+   */
+  @Override
+  default Document execute(Document pdf) throws PdfActException {
+    if (pdf == null) {
+      return pdf;
+    }
+
+    List<Page> pages = pdf.getPages();
+    if (pages == null) {
+      return pdf;
+    }
+
+    for (Page page : pages) {
+      if (page != null) {
+        executePage(pdf, page);
+      }
+    }
+    return pdf;
+  }
+}
@@ -0,0 +1,35 @@
+package pdfact.core.util.pipeline;
+
+import pdfact.core.model.Document;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * A pipe that produces the pages of a PDF document one after another (like the parser). Such a
+ * pipe can pass each page to a {@link PageListener} as soon as the page is complete, so that the
+ * page can be processed by subsequent page pipes while the next pages are still produced (see
+ * {@link ParallelPipeline}).
+ * 
+ * @author Claudius Korzen
+ */
+public interface PageProducingPipe extends Pipe {
+  /**
+   * Executes this pipe and passes each produced page to the given listener, as soon as the page
+   * is complete.
+   * 
+   * @param pdf
+   *        The input PDF document for this pipe.
+   * @param listener
+   *        The listener to notify about the produced pages.
+   * 
+   * @return The state of the PDF document after executing this pipe.
+   * 
+   * @throws PdfActException
+   *         If something went wrong while executing this pipe.
+   */
+  Document execute(Document pdf, PageListener listener) throws PdfActException;
+
+  @Override
+  default Document execute(Document pdf) throws PdfActException {
+    return execute(pdf, null);
+  }
+}
@@ -0,0 +1,503 @@
+package pdfact.core.util.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import pdfact.core.model.Document;
+import pdfact.core.model.Page;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.exception.PdfActPipelineException;
+
+/**
+ * A pipeline that executes the page pipes (see {@link PagePipe}) for the different pages of a PDF
+ * document in parallel.
+ *
+ * <p>
+ * The pipes are divided into groups of consecutive page pipes, separated by the other
+ * (document-level) pipes. The pages are passed through all pipes of a group without waiting for
+ * the other pages, with one task per page, executed by a worker pool. Only before a
+ * document-level pipe, the pipeline waits until all pages passed the preceding group (a barrier).
+ * The document-level pipes are executed sequentially, as in {@link PlainPipeline}.
+ *
+ * <p>
+ * If a group of page pipes directly follows a pipe that produces the pages one after another (see
+ * {@link PageProducingPipe}, like the parser), the two are pipelined: each page is passed through
+ * the group as soon as it was produced, while the next pages are still produced (up to the first
+ * page pipe that requires the complete document, see {@link PagePipe#requiresCompleteDocument()}).
+ * The pages are processed early (see {@link PagePipe#executePageEarly(Document, Page)}); once all
+ * pages were produced, each page whose early result turned out to be invalid is passed again
+ * through the pipe that produced the invalid result and all subsequent pipes of the group. The
+ * number of produced pages waiting to be processed is bounded (see
+ * {@link #setMaxPendingPages(int)}); if the bound is reached, the producer waits until a page was
+ * processed completely. If a page fails, the producer is cancelled and the pages that were not
+ * processed yet are skipped. The same applies if the thread of the producer is interrupted while
+ * waiting, so that the document is aborted (with a {@link PdfActPipelineException}).
+ *
+ * <p>
+ * The page tasks are executed by the given worker pool (see {@link #setExecutor(ExecutorService)}),
+ * which is typically shared by all documents processed by an application. By default, this is the
+ * common fork/join pool, which is shared by the whole JVM; applications that process documents
+ * concurrently with other CPU-bound work should pass a dedicated pool instead.
+ *
+ * <p>
+ * The page pipes are measured per page, in the thread processing the page; their reports (see
+ * {@link PipeReport}) sum up the measurements of all pages. When pipelined, the report of the
+ * producer contains the time the producer waited for pending pages.
+ *
+ * @author Claudius Korzen
+ */
+public class ParallelPipeline extends PlainPipeline {
+  /**
+   * The logger.
+   */
+  protected static Logger log = LogManager.getLogger(ParallelPipeline.class);
+
+  /**
+   * The worker pool to execute the page tasks.
+   */
+  protected ExecutorService executor;
+
+  /**
+   * The maximum number of produced pages that are waiting for, or in, processing by the subsequent
+   * page pipes, when pipelining a page producing pipe.
+   */
+  protected int maxPendingPages = 2 * Runtime.getRuntime().availableProcessors();
+
+  /**
+   * Creates an empty pipeline that executes the page tasks in the common fork/join pool (which is
+   * shared by the whole JVM, see {@link #ParallelPipeline(ExecutorService)} to use a dedicated
+   * pool).
+   */
+  public ParallelPipeline() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates an empty pipeline that executes the page tasks in the given worker pool.
+   *
+   * @param executor
+   *        The worker pool to execute the page tasks.
+   */
+  public ParallelPipeline(ExecutorService executor) {
+    super();
+    this.executor = executor;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public Document process(Document pdf) throws PdfActException {
+    long start = System.nanoTime();
+    PipelineReport outerReport = getOuterReport(pdf);
+    PipelineReport report = startReport(pdf, outerReport);
+
+    Document processed = pdf;
+
+    int i = 0;
+    while (i < this.pipes.size()) {
+      Pipe pipe = this.pipes.get(i);
+      if (pipe instanceof PagePipe) {
+        List<PagePipe> group = collectPagePipes(i);
+        i += group.size();
+        processPages(processed, group, addPipeReports(report, group));
+        continue;
+      }
+      i++;
+
+      // Pipeline the producer with the subsequent page pipes, up to the first page pipe that
+      // requires the complete document.
+      List<PagePipe> group = collectPagePipes(i);
+      for (int j = 0; j < group.size(); j++) {
+        if (group.get(j).requiresCompleteDocument()) {
+          group = group.subList(0, j);
+          break;
+        }
+      }
+      if (pipe instanceof PageProducingPipe && !group.isEmpty() && this.executor != null) {
+        i += group.size();
+        processed = processPipelined(processed, (PageProducingPipe) pipe, group, report);
+        continue;
+      }
+
+      processed = execute(pipe, processed, report);
+    }
+
+    finishReport(processed, report, outerReport, System.nanoTime() - start);
+    return processed;
+  }
+
+  /**
+   * Adds a report for each of the given pipes to the given report of this pipeline.
+   *
+   * @param report
+   *        The report of this pipeline, or null if this pipeline doesn't report.
+   * @param pipes
+   *        The pipes.
+   *
+   * @return The added reports, in the order of the given pipes (null elements, if this pipeline
+   *         doesn't report).
+   */
+  protected List<PipeReport> addPipeReports(PipelineReport report, List<? extends Pipe> pipes) {
+    List<PipeReport> pipeReports = new ArrayList<>(pipes.size());
+    for (Pipe pipe : pipes) {
+      String pipeName = pipe.getClass().getSimpleName();
+      pipeReports.add(report != null ? report.addPipeReport(pipeName) : null);
+    }
+    return pipeReports;
+  }
+
+  /**
+   * Collects the group of consecutive page pipes, starting at the given index in this pipeline.
+   *
+   * @param start
+   *        The index of the first pipe to consider.
+   *
+   * @return The page pipes (empty, if the pipe at the given index is not a page pipe).
+   */
+  protected List<PagePipe> collectPagePipes(int start) {
+    List<PagePipe> group = new ArrayList<>();
+    for (int i = start; i < this.pipes.size() && this.pipes.get(i) instanceof PagePipe; i++) {
+      group.add((PagePipe) this.pipes.get(i));
+    }
+    return group;
+  }
+
+  /**
+   * Executes the given page producing pipe and passes each produced page through the given page
+   * pipes, as soon as the page was produced. Waits until all pages were processed.
+   *
+   * @param pdf
+   *        The PDF document to process.
+   * @param producer
+   *        The pipe that produces the pages.
+   * @param pipes
+   *        The page pipes to execute on each produced page, in the given order.
+   * @param report
+   *        The report of this pipeline, or null if this pipeline doesn't report.
+   *
+   * @return The state of the PDF document after executing the producer.
+   *
+   * @throws PdfActException
+   *         If something went wrong while executing one of the pipes.
+   */
+  protected Document processPipelined(Document pdf, PageProducingPipe producer,
+      List<PagePipe> pipes, PipelineReport report) throws PdfActException {
+    log.debug("Pipelining " + producer.getClass().getSimpleName() + " with "
+        + pipes.size() + " page pipes.");
+
+    // The permits bound the number of produced pages that are not yet processed completely.
+    Semaphore pendingPages = new Semaphore(Math.max(1, this.maxPendingPages));
+    // The futures are only added by the thread of the producer.
+    List<Future<Void>> futures = new ArrayList<>();
+    // The first failure (of a page or of the producer). Once set, the producer is cancelled and the
+    // pages that were not processed yet are skipped.
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    String producerName = producer.getClass().getSimpleName();
+    PipeReport producerReport = report != null ? report.addPipeReport(producerName) : null;
+    List<PipeReport> pipeReports = addPipeReports(report, pipes);
+    // The pages are counted when produced, since they are modified by the page pipes afterwards.
+    ElementCounts producedCounts = new ElementCounts();
+    PipeReport.Measurement measurement = PipeReport.start(producerReport, producerName, pdf, null);
+
+    PageListener listener = (doc, page) -> {
+      if (measurement.isCountingElements()) {
+        producedCounts.add(ElementCounts.of(page));
+      }
+      try {
+        pendingPages.acquire();
+      } catch (InterruptedException e) {
+        // Abort the document: the producer is cancelled and the pages not processed yet are
+        // skipped, as if a page failed.
+        Thread.currentThread().interrupt();
+        CancellationException cancellation =
+            new CancellationException("Interrupted while waiting for pending pages.");
+        cancellation.initCause(e);
+        failure.compareAndSet(null, cancellation);
+        throw cancellation;
+      }
+      if (failure.get() != null) {
+        pendingPages.release();
+        throw new CancellationException("Cancelled, because a page couldn't be processed.");
+      }
+      try {
+        futures.add(this.executor.submit(() -> {
+          try {
+            if (failure.get() == null) {
+              processPage(doc, page, pipes, pipeReports, true);
+            }
+            return null;
+          } catch (PdfActException | RuntimeException | Error e) {
+            failure.compareAndSet(null, e);
+            throw e;
+          } finally {
+            pendingPages.release();
+          }
+        }));
+      } catch (RuntimeException e) {
+        // The executor rejected the task.
+        pendingPages.release();
+        throw e;
+      }
+    };
+
+    Document processed;
+    try {
+      processed = producer.execute(pdf, listener);
+      measurement.stop(true, producedCounts);
+    } catch (PdfActException | RuntimeException | Error e) {
+      measurement.stop(false);
+      // Skip the pages that were not processed yet, but wait for the pages in processing, so that
+      // the document is not modified anymore afterwards. Prefer the failure of a page (which is
+      // the reason for a cancellation of the producer) over the failure of the producer.
+      failure.compareAndSet(null, e);
+      awaitPages(futures);
+      if (Thread.currentThread().isInterrupted()) {
+        throw new PdfActPipelineException("Interrupted while producing the pages.", e);
+      }
+      throw e;
+    }
+
+    awaitPages(futures);
+    processInvalidPages(processed, pipes, pipeReports);
+
+    return processed;
+  }
+
+  /**
+   * Passes each page of the given PDF document whose early result (see
+   * {@link PagePipe#executePageEarly(Document, Page)}) turned out to be invalid again through the
+   * pipe that produced the invalid result and all subsequent pipes. Waits until all pages were
+   * processed.
+   *
+   * @param pdf
+   *        The (complete) PDF document to process.
+   * @param pipes
+   *        The page pipes which processed the pages early, in the given order.
+   * @param pipeReports
+   *        The reports of the page pipes, in the order of the pipes.
+   *
+   * @throws PdfActException
+   *         If something went wrong while executing one of the pipes.
+   */
+  protected void processInvalidPages(Document pdf, List<PagePipe> pipes,
+      List<PipeReport> pipeReports) throws PdfActException {
+    if (pdf == null || pdf.getPages() == null) {
+      return;
+    }
+
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for (Page page : pdf.getPages()) {
+      if (page == null) {
+        continue;
+      }
+      for (int i = 0; i < pipes.size(); i++) {
+        if (!pipes.get(i).isEarlyResultValid(pdf, page)) {
+          List<PagePipe> invalidPipes = pipes.subList(i, pipes.size());
+          List<PipeReport> invalidReports = pipeReports.subList(i, pipeReports.size());
+          tasks.add(() -> {
+            processPage(pdf, page, invalidPipes, invalidReports, false);
+            return null;
+          });
+          break;
+        }
+      }
+    }
+
+    if (!tasks.isEmpty()) {
+      log.debug("Processing " + tasks.size() + " pages again, their early results are invalid.");
+      awaitPages(invokeAll(tasks));
+    }
+  }
+
+  /**
+   * Passes each page of the given PDF document through the given page pipes and waits until all
+   * pages were processed.
+   *
+   * @param pdf
+   *        The PDF document to process.
+   * @param pipes
+   *        The page pipes to execute, in the given order.
+   * @param pipeReports
+   *        The reports of the page pipes, in the order of the pipes.
+   *
+   * @throws PdfActException
+   *         If something went wrong while executing one of the pipes.
+   */
+  protected void processPages(Document pdf, List<PagePipe> pipes, List<PipeReport> pipeReports)
+      throws PdfActException {
+    if (pdf == null || pdf.getPages() == null) {
+      return;
+    }
+
+    List<Page> pages = pdf.getPages();
+    log.debug("Processing " + pages.size() + " pages by " + pipes.size() + " page pipes.");
+
+    // Don't bother the worker pool if there is nothing to parallelize.
+    if (pages.size() < 2 || this.executor == null) {
+      for (Page page : pages) {
+        processPage(pdf, page, pipes, pipeReports, false);
+      }
+      return;
+    }
+
+    List<Callable<Void>> tasks = new ArrayList<>(pages.size());
+    for (Page page : pages) {
+      tasks.add(() -> {
+        processPage(pdf, page, pipes, pipeReports, false);
+        return null;
+      });
+    }
+
+    awaitPages(invokeAll(tasks));
+  }
+
+  /**
+   * Executes the given page tasks by the worker pool and waits until they are done.
+   *
+   * @param tasks
+   *        The page tasks, in page order.
+   *
+   * @return The futures of the page tasks, in page order.
+   *
+   * @throws PdfActException
+   *         If the current thread was interrupted while waiting.
+   */
+  protected List<Future<Void>> invokeAll(List<Callable<Void>> tasks) throws PdfActException {
+    try {
+      return this.executor.invokeAll(tasks);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PdfActPipelineException("Interrupted while processing the pages.", e);
+    }
+  }
+
+  /**
+   * Waits until the given page tasks are done and rethrows the exception of the first failed
+   * page (in page order), if any.
+   *
+   * @param futures
+   *        The futures of the page tasks, in page order.
+   *
+   * @throws PdfActException
+   *         If something went wrong while processing one of the pages.
+   */
+  protected void awaitPages(List<Future<Void>> futures) throws PdfActException {
+    for (Future<Void> future : futures) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new PdfActPipelineException("Interrupted while processing the pages.", e);
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof PdfActException) {
+          throw (PdfActException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+        throw new PdfActPipelineException("Error while processing the pages.", cause);
+      }
+    }
+  }
+
+  /**
+   * Passes the given page through the given page pipes.
+   *
+   * @param pdf
+   *        The PDF document to which the page belongs to.
+   * @param page
+   *        The page to process.
+   * @param pipes
+   *        The page pipes to execute, in the given order.
+   * @param pipeReports
+   *        The reports of the page pipes, in the order of the pipes (null elements, if the pipes
+   *        are not measured).
+   * @param early
+   *        True if the page is processed while the other pages are still produced (see
+   *        {@link PagePipe#executePageEarly(Document, Page)}); false otherwise.
+   *
+   * @throws PdfActException
+   *         If something went wrong while executing one of the pipes.
+   */
+  protected void processPage(Document pdf, Page page, List<PagePipe> pipes,
+      List<PipeReport> pipeReports, boolean early) throws PdfActException {
+    if (page == null) {
+      return;
+    }
+    for (int i = 0; i < pipes.size(); i++) {
+      PagePipe pipe = pipes.get(i);
+      PipeReport.Measurement measurement = PipeReport.start(pipeReports.get(i),
+          pipe.getClass().getSimpleName(), pdf, page);
+      boolean succeeded = false;
+      try {
+        if (early) {
+          pipe.executePageEarly(pdf, page);
+        } else {
+          pipe.executePage(pdf, page);
+        }
+        succeeded = true;
+      } finally {
+        measurement.stop(succeeded);
+      }
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the worker pool to execute the page tasks.
+   *
+   * @return The worker pool to execute the page tasks.
+   */
+  public ExecutorService getExecutor() {
+    return this.executor;
+  }
+
+  /**
+   * Sets the worker pool to execute the page tasks. If null, the pages are processed sequentially.
+   *
+   * @param executor
+   *        The worker pool to execute the page tasks.
+   */
+  public void setExecutor(ExecutorService executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Returns the maximum number of produced pages waiting to be processed when pipelining a page
+   * producing pipe.
+   *
+   * @return The maximum number of pending pages.
+   */
+  public int getMaxPendingPages() {
+    return this.maxPendingPages;
+  }
+
+  /**
+   * Sets the maximum number of produced pages waiting to be processed when pipelining a page
+   * producing pipe. This bounds the memory needed for pages that were produced but not yet
+   * processed.
+   *
+   * @param maxPendingPages
+   *        The maximum number of pending pages.
+   */
+  public void setMaxPendingPages(int maxPendingPages) {
+    this.maxPendingPages = maxPendingPages;
+  }
+}
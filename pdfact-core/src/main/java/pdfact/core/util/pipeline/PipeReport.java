@@ -0,0 +1,433 @@
+package pdfact.core.util.pipeline;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import jdk.jfr.EventType;
+import pdfact.core.model.Document;
+import pdfact.core.model.Page;
+import pdfact.core.util.jfr.PdfActPipeEvent;
+
+/**
+ * A report about the execution of a single pipe of a pipeline: the wall time, the CPU time and
+ * the number of allocated bytes needed by the pipe, and the numbers of the elements before and
+ * after the execution.
+ *
+ * <p>
+ * If a pipe is executed in multiple parts (for example, a page pipe executed per page by a
+ * {@link ParallelPipeline}), the measurements of the parts are summed up. The wall time is then
+ * the sum of the wall times of the parts (i.e., the time the workers were busy with the pipe),
+ * not the time elapsed between the start of the first part and the end of the last part.
+ *
+ * <p>
+ * The CPU time and the allocated bytes are measured per thread by means of the
+ * {@link ThreadMXBean}; they are -1 if the JVM doesn't support the respective measurement. A
+ * pipe is only measured if a report was requested for its pipeline (see
+ * {@link Pipeline#setWithReport(boolean)}).
+ *
+ * <p>
+ * Each measurement is also emitted as a {@link PdfActPipeEvent} to the Java Flight Recorder, if
+ * a recording with this event enabled is running, also if the execution failed.
+ *
+ * @author Claudius Korzen
+ */
+public class PipeReport {
+  /**
+   * The management bean to measure the CPU time and the allocated bytes of the current thread.
+   */
+  protected static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+  /**
+   * The name of the pipe.
+   */
+  protected String pipeName;
+
+  /**
+   * The number of (partial) executions of the pipe.
+   */
+  protected int numExecutions;
+
+  /**
+   * The wall time needed by the pipe, in nanoseconds.
+   */
+  protected long wallTime;
+
+  /**
+   * The CPU time needed by the pipe, in nanoseconds (-1 if not supported).
+   */
+  protected long cpuTime;
+
+  /**
+   * The number of bytes allocated by the pipe (-1 if not supported).
+   */
+  protected long allocatedBytes;
+
+  /**
+   * The numbers of the elements before executing the pipe.
+   */
+  protected ElementCounts inputCounts;
+
+  /**
+   * The numbers of the elements after executing the pipe.
+   */
+  protected ElementCounts outputCounts;
+
+  /**
+   * The report of the pipeline executed by the pipe, if the pipe runs a pipeline on its own.
+   */
+  protected PipelineReport subReport;
+
+  /**
+   * Creates a new report for the pipe with the given name.
+   *
+   * @param pipeName
+   *        The name of the pipe.
+   */
+  public PipeReport(String pipeName) {
+    this.pipeName = pipeName;
+    this.inputCounts = new ElementCounts();
+    this.outputCounts = new ElementCounts();
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Starts the measurement of a (partial) execution of a pipe in the current thread. The
+   * measurement must be stopped in the same thread, also if the execution failed. If no report
+   * is given, the pipe is not measured, and the measurement only emits the event to the Java
+   * Flight Recorder (if enabled).
+   *
+   * @param report
+   *        The report of the pipe, or null if the pipe should not be measured.
+   * @param pipeName
+   *        The name of the pipe.
+   * @param pdf
+   *        The PDF document processed by the pipe.
+   * @param page
+   *        The page processed by the pipe, or null if the pipe processes the whole document.
+   *
+   * @return The started measurement.
+   */
+  public static Measurement start(PipeReport report, String pipeName, Document pdf, Page page) {
+    return new Measurement(report, pipeName, pdf, page);
+  }
+
+  /**
+   * Adds the measurements of a (partial) execution of the pipe to this report.
+   *
+   * @param wallTime
+   *        The wall time of the execution, in nanoseconds.
+   * @param cpuTime
+   *        The CPU time of the execution, in nanoseconds (-1 if not supported).
+   * @param allocatedBytes
+   *        The number of allocated bytes (-1 if not supported).
+   * @param inputCounts
+   *        The numbers of the elements before the execution.
+   * @param outputCounts
+   *        The numbers of the elements after the execution.
+   */
+  public synchronized void add(long wallTime, long cpuTime, long allocatedBytes,
+      ElementCounts inputCounts, ElementCounts outputCounts) {
+    this.cpuTime = this.numExecutions == 0 || this.cpuTime >= 0 && cpuTime >= 0
+        ? this.cpuTime + cpuTime : -1;
+    this.allocatedBytes = this.numExecutions == 0 || this.allocatedBytes >= 0 && allocatedBytes >= 0
+        ? this.allocatedBytes + allocatedBytes : -1;
+    this.wallTime += wallTime;
+    this.inputCounts.add(inputCounts);
+    this.outputCounts.add(outputCounts);
+    this.numExecutions++;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the CPU time of the current thread.
+   *
+   * @return The CPU time in nanoseconds, or -1 if not supported.
+   */
+  protected static long getCurrentThreadCpuTime() {
+    if (!THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()) {
+      return -1;
+    }
+    return THREAD_MX_BEAN.getCurrentThreadCpuTime();
+  }
+
+  /**
+   * Returns the number of bytes allocated by the current thread so far.
+   *
+   * @return The number of allocated bytes, or -1 if not supported.
+   */
+  protected static long getCurrentThreadAllocatedBytes() {
+    if (!(THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean)) {
+      return -1;
+    }
+    com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+    if (!bean.isThreadAllocatedMemorySupported() || !bean.isThreadAllocatedMemoryEnabled()) {
+      return -1;
+    }
+    return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the name of the pipe.
+   *
+   * @return The name of the pipe.
+   */
+  public String getPipeName() {
+    return this.pipeName;
+  }
+
+  /**
+   * Returns the number of (partial) executions of the pipe, for example the number of processed
+   * pages for a page pipe executed per page.
+   *
+   * @return The number of executions (0 if the pipe wasn't executed completely).
+   */
+  public synchronized int getNumExecutions() {
+    return this.numExecutions;
+  }
+
+  /**
+   * Returns the wall time needed by the pipe.
+   *
+   * @return The wall time in nanoseconds.
+   */
+  public synchronized long getWallTime() {
+    return this.wallTime;
+  }
+
+  /**
+   * Returns the CPU time needed by the pipe.
+   *
+   * @return The CPU time in nanoseconds, or -1 if not supported.
+   */
+  public synchronized long getCpuTime() {
+    return this.cpuTime;
+  }
+
+  /**
+   * Returns the number of bytes allocated by the pipe.
+   *
+   * @return The number of allocated bytes, or -1 if not supported.
+   */
+  public synchronized long getAllocatedBytes() {
+    return this.allocatedBytes;
+  }
+
+  /**
+   * Returns the numbers of the elements before executing the pipe.
+   *
+   * @return The numbers of the elements.
+   */
+  public synchronized ElementCounts getInputCounts() {
+    return this.inputCounts;
+  }
+
+  /**
+   * Returns the numbers of the elements after executing the pipe.
+   *
+   * @return The numbers of the elements.
+   */
+  public synchronized ElementCounts getOutputCounts() {
+    return this.outputCounts;
+  }
+
+  /**
+   * Returns the report of the pipeline executed by the pipe.
+   *
+   * @return The report, or null if the pipe doesn't run a pipeline on its own.
+   */
+  public synchronized PipelineReport getSubReport() {
+    return this.subReport;
+  }
+
+  /**
+   * Sets the report of the pipeline executed by the pipe.
+   *
+   * @param subReport
+   *        The report.
+   */
+  public synchronized void setSubReport(PipelineReport subReport) {
+    this.subReport = subReport;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * A running measurement of a (partial) execution of a pipe.
+   */
+  public static class Measurement {
+    /**
+     * The type of the events emitted to the Java Flight Recorder.
+     */
+    protected static final EventType PIPE_EVENT_TYPE =
+        EventType.getEventType(PdfActPipeEvent.class);
+
+    /**
+     * The report to which the results of the measurement should be added (null if the pipe is
+     * not measured).
+     */
+    protected final PipeReport report;
+
+    /**
+     * The name of the pipe.
+     */
+    protected final String pipeName;
+
+    /**
+     * The PDF document processed by the pipe.
+     */
+    protected final Document pdf;
+
+    /**
+     * The page processed by the pipe, or null if the pipe processes the whole document.
+     */
+    protected final Page page;
+
+    /**
+     * The wall time at the start of the measurement.
+     */
+    protected final long startWallTime;
+
+    /**
+     * The CPU time of the thread at the start of the measurement.
+     */
+    protected final long startCpuTime;
+
+    /**
+     * The bytes allocated by the thread at the start of the measurement.
+     */
+    protected final long startAllocatedBytes;
+
+    /**
+     * The numbers of the elements before the execution (null if the pipe is not measured).
+     */
+    protected final ElementCounts inputCounts;
+
+    /**
+     * The event to emit to the Java Flight Recorder (null if the event is not enabled).
+     */
+    protected final PdfActPipeEvent event;
+
+    /**
+     * Starts a new measurement in the current thread.
+     *
+     * @param report
+     *        The report of the pipe, or null if the pipe should not be measured.
+     * @param pipeName
+     *        The name of the pipe.
+     * @param pdf
+     *        The PDF document processed by the pipe.
+     * @param page
+     *        The page processed by the pipe, or null if the pipe processes the whole document.
+     */
+    protected Measurement(PipeReport report, String pipeName, Document pdf, Page page) {
+      this.report = report;
+      this.pipeName = pipeName;
+      this.pdf = pdf;
+      this.page = page;
+      // Don't allocate an event if no recording with the event enabled is running.
+      this.event = PIPE_EVENT_TYPE.isEnabled() ? new PdfActPipeEvent() : null;
+      if (this.event != null) {
+        this.event.begin();
+      }
+      if (report != null) {
+        this.inputCounts = countElements();
+        this.startAllocatedBytes = getCurrentThreadAllocatedBytes();
+        this.startCpuTime = getCurrentThreadCpuTime();
+        this.startWallTime = System.nanoTime();
+      } else {
+        this.inputCounts = null;
+        this.startAllocatedBytes = -1;
+        this.startCpuTime = -1;
+        this.startWallTime = 0;
+      }
+    }
+
+    /**
+     * Returns true if the numbers of the elements after the execution are needed by this
+     * measurement, that is, if the pipe is measured or if the event is emitted.
+     *
+     * @return True if the numbers of the elements are needed; false otherwise.
+     */
+    public boolean isCountingElements() {
+      return this.report != null || this.event != null;
+    }
+
+    /**
+     * Stops this measurement. If the execution succeeded, the results are added to the report of
+     * the pipe (if any), with the numbers of the elements after the execution counted in the
+     * processed page or document.
+     *
+     * @param succeeded
+     *        Whether or not the execution succeeded.
+     */
+    public void stop(boolean succeeded) {
+      stop(succeeded, null);
+    }
+
+    /**
+     * Stops this measurement. If the execution succeeded, the results are added to the report of
+     * the pipe (if any).
+     *
+     * @param succeeded
+     *        Whether or not the execution succeeded.
+     * @param outputCounts
+     *        The numbers of the elements after the execution, or null if they should be counted
+     *        in the processed page or document.
+     */
+    public void stop(boolean succeeded, ElementCounts outputCounts) {
+      long wallTime = 0;
+      long cpuTime = -1;
+      long allocatedBytes = -1;
+      if (this.report != null) {
+        wallTime = System.nanoTime() - this.startWallTime;
+        cpuTime = getCurrentThreadCpuTime();
+        allocatedBytes = getCurrentThreadAllocatedBytes();
+      }
+      boolean shouldCommit = false;
+      if (this.event != null) {
+        this.event.end();
+        shouldCommit = this.event.shouldCommit();
+      }
+      if (!shouldCommit && (this.report == null || !succeeded)) {
+        return;
+      }
+
+      // The elements are not counted after a failure, since the document may be incomplete.
+      ElementCounts counts = null;
+      if (succeeded) {
+        counts = outputCounts != null ? outputCounts : countElements();
+      }
+
+      if (this.report != null && succeeded) {
+        this.report.add(wallTime,
+            this.startCpuTime >= 0 && cpuTime >= 0 ? cpuTime - this.startCpuTime : -1,
+            this.startAllocatedBytes >= 0 && allocatedBytes >= 0
+                ? allocatedBytes - this.startAllocatedBytes : -1,
+            this.inputCounts, counts);
+      }
+
+      if (shouldCommit) {
+        this.event.setPipe(this.pipeName);
+        this.event.setDocument(String.valueOf(this.pdf.getPath()));
+        this.event.setPage(this.page != null ? this.page.getPageNumber() : 0);
+        if (counts != null) {
+          this.event.setCounts(counts);
+        }
+        this.event.setSucceeded(succeeded);
+        this.event.commit();
+      }
+    }
+
+    /**
+     * Counts the elements of the processed page or document.
+     *
+     * @return The numbers of the elements.
+     */
+    protected ElementCounts countElements() {
+      return this.page != null ? ElementCounts.of(this.page) : ElementCounts.of(this.pdf);
+    }
+  }
+}
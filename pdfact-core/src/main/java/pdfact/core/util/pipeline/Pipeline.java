@@ -23,6 +23,27 @@ public interface Pipeline {
    */
   Document process(Document pdf) throws PdfActException;
 
+  /**
+   * Returns true if this pipeline reports about its processing.
+   * 
+   * @return True if this pipeline reports about its processing; false otherwise.
+   */
+  boolean isWithReport();
+
+  /**
+   * Sets the boolean flag indicating whether or not this pipeline should report about its
+   * processing, with the wall time, the CPU time, the allocated bytes and the numbers of the
+   * input and output elements of each pipe. The report is attached to the processed PDF document
+   * (see {@link Document#getPipelineReport()}). A pipeline that processes a document while the
+   * document is processed by an outer pipeline with a report always reports, and its report is
+   * attached to the report of the outer pipeline. The pipes are not measured if there is no
+   * report, since the measurement isn't free.
+   * 
+   * @param withReport
+   *        The boolean flag.
+   */
+  void setWithReport(boolean withReport);
+
   // ==============================================================================================
 
   /**
@@ -0,0 +1,181 @@
+package pdfact.core.util.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import pdfact.core.model.StatisticCounts;
+
+/**
+ * A report about the execution of a pipeline, with one {@link PipeReport} per executed pipe, in
+ * the order of the pipes in the pipeline.
+ *
+ * @author Claudius Korzen
+ */
+public class PipelineReport {
+  /**
+   * The reports of the executed pipes.
+   */
+  protected List<PipeReport> pipeReports;
+
+  /**
+   * The wall time needed by the whole pipeline, in nanoseconds.
+   */
+  protected long wallTime;
+
+  /**
+   * The boolean flag indicating whether or not the pipeline was executed completely.
+   */
+  protected boolean isFinished;
+
+  /**
+   * The numbers of the requested and computed statistics of the elements of the processed
+   * document (or null if they were not counted).
+   */
+  protected StatisticCounts statisticCounts;
+
+  /**
+   * Creates a new, empty report.
+   */
+  public PipelineReport() {
+    this.pipeReports = new ArrayList<>();
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Adds a report for the pipe with the given name to this report.
+   *
+   * @param pipeName
+   *        The name of the pipe.
+   *
+   * @return The added report.
+   */
+  public PipeReport addPipeReport(String pipeName) {
+    PipeReport report = new PipeReport(pipeName);
+    this.pipeReports.add(report);
+    return report;
+  }
+
+  /**
+   * Attaches the given report of a nested pipeline to the report of the last added pipe, that is,
+   * the pipe that is currently executed.
+   *
+   * @param subReport
+   *        The report of the nested pipeline.
+   */
+  public void attachSubReport(PipelineReport subReport) {
+    if (!this.pipeReports.isEmpty()) {
+      this.pipeReports.get(this.pipeReports.size() - 1).setSubReport(subReport);
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the reports of the executed pipes.
+   *
+   * @return The reports of the executed pipes.
+   */
+  public List<PipeReport> getPipeReports() {
+    return this.pipeReports;
+  }
+
+  /**
+   * Returns the wall time needed by the whole pipeline.
+   *
+   * @return The wall time in nanoseconds.
+   */
+  public long getWallTime() {
+    return this.wallTime;
+  }
+
+  /**
+   * Sets the wall time needed by the whole pipeline.
+   *
+   * @param wallTime
+   *        The wall time in nanoseconds.
+   */
+  public void setWallTime(long wallTime) {
+    this.wallTime = wallTime;
+  }
+
+  /**
+   * Returns true if the pipeline was executed completely.
+   *
+   * @return True if the pipeline was executed completely, false otherwise.
+   */
+  public boolean isFinished() {
+    return this.isFinished;
+  }
+
+  /**
+   * Sets the boolean flag indicating whether or not the pipeline was executed completely.
+   *
+   * @param isFinished
+   *        The boolean flag.
+   */
+  public void setFinished(boolean isFinished) {
+    this.isFinished = isFinished;
+  }
+
+  /**
+   * Returns the numbers of the requested and computed statistics of the elements of the processed
+   * document.
+   *
+   * @return The numbers of the statistics, or null if they were not counted.
+   */
+  public StatisticCounts getStatisticCounts() {
+    return this.statisticCounts;
+  }
+
+  /**
+   * Sets the numbers of the requested and computed statistics of the elements of the processed
+   * document.
+   *
+   * @param statisticCounts
+   *        The numbers of the statistics.
+   */
+  public void setStatisticCounts(StatisticCounts statisticCounts) {
+    this.statisticCounts = statisticCounts;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format("%-48s %6s %10s %10s %12s  %s%n", "pipe", "execs", "wall [ms]",
+        "cpu [ms]", "alloc [KB]", "output"));
+    append(sb, this, 0);
+    sb.append(String.format("%-48s %6s %10.1f%n", "total", "", this.wallTime / 1e6));
+    if (this.statisticCounts != null) {
+      sb.append(this.statisticCounts).append(System.lineSeparator());
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Appends one line per pipe of the given report (and its nested reports) to the given builder.
+   *
+   * @param sb
+   *        The builder to append to.
+   * @param report
+   *        The report to append.
+   * @param level
+   *        The nesting level of the report.
+   */
+  protected static void append(StringBuilder sb, PipelineReport report, int level) {
+    for (PipeReport pipe : report.getPipeReports()) {
+      String name = "  ".repeat(level) + pipe.getPipeName();
+      long cpuTime = pipe.getCpuTime();
+      long allocatedBytes = pipe.getAllocatedBytes();
+      sb.append(String.format("%-48s %6d %10.1f %10s %12s  %s%n", name, pipe.getNumExecutions(),
+          pipe.getWallTime() / 1e6,
+          cpuTime >= 0 ? String.format("%.1f", cpuTime / 1e6) : "-",
+          allocatedBytes >= 0 ? String.valueOf(allocatedBytes / 1024) : "-",
+          pipe.getOutputCounts()));
+      if (pipe.getSubReport() != null) {
+        append(sb, pipe.getSubReport(), level + 1);
+      }
+    }
+  }
+}
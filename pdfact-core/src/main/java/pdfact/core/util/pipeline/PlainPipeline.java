@@ -16,6 +16,11 @@ public class PlainPipeline implements Pipeline {
    */
   protected List<Pipe> pipes;
 
+  /**
+   * The boolean flag indicating whether or not this pipeline should report about its processing.
+   */
+  protected boolean withReport;
+
   /**
    * Creates an empty pipeline.
    */
@@ -27,13 +32,135 @@ public class PlainPipeline implements Pipeline {
 
   @Override
   public Document process(Document pdf) throws PdfActException {
+    long start = System.nanoTime();
+    PipelineReport outerReport = getOuterReport(pdf);
+    PipelineReport report = startReport(pdf, outerReport);
+
     Document processed = pdf;
     for (Pipe pipe : this.pipes) {
-      processed = pipe.execute(processed);
+      processed = execute(pipe, processed, report);
     }
+
+    finishReport(processed, report, outerReport, System.nanoTime() - start);
     return processed;
   }
 
+  /**
+   * Executes the given pipe on the given PDF document and adds the measurements of the execution
+   * to the given report.
+   * 
+   * @param pipe
+   *        The pipe to execute.
+   * @param pdf
+   *        The PDF document to process.
+   * @param report
+   *        The report of this pipeline, or null if this pipeline doesn't report.
+   * 
+   * @return The state of the PDF document after executing the pipe.
+   * 
+   * @throws PdfActException
+   *         If something went wrong while executing the pipe.
+   */
+  protected Document execute(Pipe pipe, Document pdf, PipelineReport report)
+      throws PdfActException {
+    String pipeName = pipe.getClass().getSimpleName();
+    PipeReport pipeReport = report != null ? report.addPipeReport(pipeName) : null;
+    PipeReport.Measurement measurement = PipeReport.start(pipeReport, pipeName, pdf, null);
+    boolean succeeded = false;
+    try {
+      Document processed = pipe.execute(pdf);
+      succeeded = true;
+      return processed;
+    } finally {
+      measurement.stop(succeeded);
+    }
+  }
+
+  /**
+   * Returns the report of the outer pipeline that is currently processing the given document.
+   * 
+   * @param pdf
+   *        The PDF document to process.
+   * 
+   * @return The report of the outer pipeline, or null if there is no such pipeline (or if it
+   *         doesn't report).
+   */
+  protected PipelineReport getOuterReport(Document pdf) {
+    if (pdf == null) {
+      return null;
+    }
+    PipelineReport outerReport = pdf.getPipelineReport();
+    // The report of a finished pipeline is a leftover of a previous processing.
+    return outerReport != null && !outerReport.isFinished() ? outerReport : null;
+  }
+
+  /**
+   * Creates a new report for the processing of the given PDF document, if this pipeline reports
+   * or if the document is processed by an outer pipeline that reports. Attaches the report to
+   * the document, such that the reports of nested pipelines can be attached to it.
+   * 
+   * @param pdf
+   *        The PDF document to process.
+   * @param outerReport
+   *        The report of the outer pipeline, or null if there is no outer pipeline.
+   * 
+   * @return The created report, or null if this pipeline doesn't report.
+   */
+  protected PipelineReport startReport(Document pdf, PipelineReport outerReport) {
+    if (!this.withReport && outerReport == null) {
+      return null;
+    }
+    PipelineReport report = new PipelineReport();
+    if (pdf != null) {
+      pdf.setPipelineReport(report);
+    }
+    return report;
+  }
+
+  /**
+   * Finishes the given report. If the document is processed by an outer pipeline, the report is
+   * attached to the report of the currently executed pipe of the outer pipeline, and the report
+   * of the outer pipeline is reattached to the document.
+   * 
+   * @param pdf
+   *        The processed PDF document.
+   * @param report
+   *        The report of this pipeline, or null if this pipeline doesn't report.
+   * @param outerReport
+   *        The report of the outer pipeline, or null if there is no outer pipeline.
+   * @param wallTime
+   *        The wall time needed by this pipeline, in nanoseconds.
+   */
+  protected void finishReport(Document pdf, PipelineReport report, PipelineReport outerReport,
+      long wallTime) {
+    if (report == null) {
+      return;
+    }
+    report.setWallTime(wallTime);
+    report.setFinished(true);
+    if (pdf == null) {
+      return;
+    }
+    if (outerReport != null) {
+      outerReport.attachSubReport(report);
+      pdf.setPipelineReport(outerReport);
+    } else {
+      pdf.setPipelineReport(report);
+    }
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public boolean isWithReport() {
+    return this.withReport;
+  }
+
+  @Override
+  public void setWithReport(boolean withReport) {
+    this.withReport = withReport;
+  }
+
   // ==============================================================================================
 
   @Override
@@ -4,22 +4,38 @@ import java.util.List;
 
 import pdfact.core.model.Character;
 import pdfact.core.model.CharacterStatistic;
+import pdfact.core.model.CharacterTable;
 import pdfact.core.model.Color;
+import pdfact.core.model.Element;
 import pdfact.core.model.FontFace;
 import pdfact.core.model.HasCharacterStatistic;
 import pdfact.core.model.HasCharacters;
-import pdfact.core.model.Position;
 import pdfact.core.model.Rectangle;
 import pdfact.core.util.counter.FloatCounter;
-import pdfact.core.util.counter.ObjectCounter;
+import pdfact.core.util.counter.OrdinalCounter;
 import pdfact.core.util.list.ElementList;
 
 /**
  * A class that computes statistics about characters.
  * 
+ * <p>
+ * The statistics are mergeable, but only partly built hierarchically: the statistics of text
+ * blocks are merged from their text lines, the statistics of paragraphs from their text blocks and
+ * the statistic of a document from its pages. The statistics of pages, text areas, text lines and
+ * words are computed from their characters, because the statistic of a page is needed to tokenize
+ * the page into text areas and the statistic of a text line is needed (to compute the line
+ * pitches) before the line is tokenized into words.
+ * 
  * @author Claudius Korzen
  */
 public class CharacterStatistician {
+  /**
+   * The statistician to use for computing the statistics of elements on first access.
+   */
+  protected static final CharacterStatistician LAZY_STATISTICIAN = new CharacterStatistician();
+
+  // ==============================================================================================
+
   /**
    * Computes the character statistic for the given characters.
    * 
@@ -50,37 +66,72 @@ public class CharacterStatistician {
     FloatCounter fontsizeFrequencies = new FloatCounter();
 
     // Initialize counters for the colors and font faces.
-    ObjectCounter<Color> colorFreqs = new ObjectCounter<>();
-    ObjectCounter<FontFace> fontFreqs = new ObjectCounter<>();
+    OrdinalCounter<Color> colorFreqs = new OrdinalCounter<>();
+    OrdinalCounter<FontFace> fontFreqs = new OrdinalCounter<>();
+
+    float smallestMinX = statistic.getSmallestMinX();
+    float smallestMinY = statistic.getSmallestMinY();
+    float largestMaxX = statistic.getLargestMaxX();
+    float largestMaxY = statistic.getLargestMaxY();
 
     for (Character character : characters) {
-      Position position = character.getPosition();
-      Rectangle rectangle = position.getRectangle();
+      float minX;
+      float minY;
+      float maxX;
+      float maxY;
+      FontFace fontFace;
+      float fontSize;
+      Color color;
+      // Read the values from the columnar table if the character is attached to a valid table.
+      CharacterTable table = character.getCharacterTable();
+      if (table != null && table.isValid()) {
+        int row = character.getCharacterTableRow();
+        minX = table.getMinX(row);
+        minY = table.getMinY(row);
+        maxX = table.getMaxX(row);
+        maxY = table.getMaxY(row);
+        fontFace = table.getFontFace(row);
+        fontSize = table.getFontSize(row);
+        color = table.getColor(row);
+      } else {
+        Rectangle rectangle = character.getPosition().getRectangle();
+        minX = rectangle.getMinX();
+        minY = rectangle.getMinY();
+        maxX = rectangle.getMaxX();
+        maxY = rectangle.getMaxY();
+        fontFace = character.getFontFace();
+        fontSize = fontFace.getFontSize();
+        color = character.getColor();
+      }
 
-      heightsFrequencies.add(rectangle.getHeight());
-      widthsFrequencies.add(rectangle.getWidth());
-      fontFreqs.add(character.getFontFace());
-      fontsizeFrequencies.add(character.getFontFace().getFontSize());
-      colorFreqs.add(character.getColor());
+      heightsFrequencies.add(maxY - minY);
+      widthsFrequencies.add(maxX - minX);
+      fontFreqs.add(fontFace);
+      fontsizeFrequencies.add(fontSize);
+      colorFreqs.add(color);
 
-      if (rectangle.getMinX() < statistic.getSmallestMinX()) {
-        statistic.setSmallestMinX(rectangle.getMinX());
+      if (minX < smallestMinX) {
+        smallestMinX = minX;
       }
 
-      if (rectangle.getMinY() < statistic.getSmallestMinY()) {
-        statistic.setSmallestMinY(rectangle.getMinY());
+      if (minY < smallestMinY) {
+        smallestMinY = minY;
       }
 
-      if (rectangle.getMaxX() > statistic.getLargestMaxX()) {
-        statistic.setLargestMaxX(rectangle.getMaxX());
+      if (maxX > largestMaxX) {
+        largestMaxX = maxX;
       }
 
-      if (rectangle.getMaxY() > statistic.getLargestMaxY()) {
-        statistic.setLargestMaxY(rectangle.getMaxY());
+      if (maxY > largestMaxY) {
+        largestMaxY = maxY;
       }
     }
 
     // Fill the statistic object.
+    statistic.setSmallestMinX(smallestMinX);
+    statistic.setSmallestMinY(smallestMinY);
+    statistic.setLargestMaxX(largestMaxX);
+    statistic.setLargestMaxY(largestMaxY);
     statistic.setHeightFrequencies(heightsFrequencies);
     statistic.setWidthFrequencies(widthsFrequencies);
     statistic.setFontSizeFrequencies(fontsizeFrequencies);
@@ -90,6 +141,62 @@ public class CharacterStatistician {
     return statistic;
   }
 
+  /**
+   * Computes the bounding box of the given characters, that is: the smallest minX and minY values
+   * and the largest maxX and maxY values. Use this method instead of compute() if only the
+   * extents of the characters are needed, because it doesn't count any frequencies.
+   * 
+   * @param characters
+   *        The characters to process.
+   * 
+   * @return The bounding box of the given characters.
+   */
+  public Rectangle computeBoundingBox(ElementList<Character> characters) {
+    float smallestMinX = Float.MAX_VALUE;
+    float smallestMinY = Float.MAX_VALUE;
+    float largestMaxX = -Float.MAX_VALUE;
+    float largestMaxY = -Float.MAX_VALUE;
+
+    for (Character character : characters) {
+      float minX;
+      float minY;
+      float maxX;
+      float maxY;
+      CharacterTable table = character.getCharacterTable();
+      if (table != null && table.isValid()) {
+        int row = character.getCharacterTableRow();
+        minX = table.getMinX(row);
+        minY = table.getMinY(row);
+        maxX = table.getMaxX(row);
+        maxY = table.getMaxY(row);
+      } else {
+        Rectangle rectangle = character.getPosition().getRectangle();
+        minX = rectangle.getMinX();
+        minY = rectangle.getMinY();
+        maxX = rectangle.getMaxX();
+        maxY = rectangle.getMaxY();
+      }
+
+      if (minX < smallestMinX) {
+        smallestMinX = minX;
+      }
+
+      if (minY < smallestMinY) {
+        smallestMinY = minY;
+      }
+
+      if (maxX > largestMaxX) {
+        largestMaxX = maxX;
+      }
+
+      if (maxY > largestMaxY) {
+        largestMaxY = maxY;
+      }
+    }
+
+    return new Rectangle(smallestMinX, smallestMinY, largestMaxX, largestMaxY);
+  }
+
   /**
    * Combines the given list of character statistics to a single statistic.
    * 
@@ -109,8 +216,8 @@ public class CharacterStatistician {
     FloatCounter fontsizeFrequencies = new FloatCounter();
 
     // Initialize counters for the colors and font faces.
-    ObjectCounter<Color> colorFreqs = new ObjectCounter<>();
-    ObjectCounter<FontFace> fontFreqs = new ObjectCounter<>();
+    OrdinalCounter<Color> colorFreqs = new OrdinalCounter<>();
+    OrdinalCounter<FontFace> fontFreqs = new OrdinalCounter<>();
 
     // Aggregate the given statistics.
     for (HasCharacterStatistic s : stats) {
@@ -148,4 +255,41 @@ public class CharacterStatistician {
 
     return statistic;
   }
+
+  // ==============================================================================================
+  // Methods to compute the statistics of elements on demand.
+
+  /**
+   * Returns the given lazy statistic, computing it for the given characters if it wasn't computed
+   * yet or if the characters were modified in the meantime. This method is meant to be called by
+   * elements that compute their statistic on first access.
+   * 
+   * @param statistic
+   *        The lazy statistic.
+   * @param characters
+   *        The characters to process.
+   * 
+   * @return The memoized or the computed statistic.
+   */
+  public static CharacterStatistic computeIfAbsent(LazyStatistic<CharacterStatistic> statistic,
+      ElementList<Character> characters) {
+    return statistic.get(characters, LAZY_STATISTICIAN::compute);
+  }
+
+  /**
+   * Returns the given lazy statistic, combining the statistics of the given elements if it wasn't
+   * computed yet or if the elements were modified in the meantime. This method is meant to be
+   * called by elements that compute their statistic on first access.
+   * 
+   * @param statistic
+   *        The lazy statistic.
+   * @param elements
+   *        The elements with the statistics to combine.
+   * 
+   * @return The memoized or the combined statistic.
+   */
+  public static <T extends Element & HasCharacterStatistic> CharacterStatistic aggregateIfAbsent(
+      LazyStatistic<CharacterStatistic> statistic, ElementList<T> elements) {
+    return statistic.get(elements, LAZY_STATISTICIAN::aggregate);
+  }
 }
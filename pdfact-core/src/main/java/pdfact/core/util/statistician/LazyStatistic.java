@@ -0,0 +1,109 @@
+package pdfact.core.util.statistician;
+
+import java.util.function.Function;
+import pdfact.core.util.list.ElementList;
+
+/**
+ * A statistic about the elements of a list, which is computed on first access and memoized
+ * afterwards. The memoized statistic is recomputed on the next access if the list was replaced
+ * or modified in the meantime (see {@link ElementList#getModificationCount()}).
+ *
+ * <p>
+ * The methods of this class are synchronized, so that the statistic of an element can be
+ * requested from multiple threads (for example, from the workers processing the pages of a
+ * document in parallel).
+ *
+ * @param <S> The type of the statistic.
+ *
+ * @author Claudius Korzen
+ */
+public class LazyStatistic<S> {
+  /**
+   * The memoized statistic.
+   */
+  protected S statistic;
+
+  /**
+   * The list from which the memoized statistic was computed.
+   */
+  protected ElementList<?> elements;
+
+  /**
+   * The modification count of the list at the time the memoized statistic was computed.
+   */
+  protected int modificationCount;
+
+  /**
+   * The number of requests of the statistic.
+   */
+  protected int numRequests;
+
+  /**
+   * The number of computations of the statistic.
+   */
+  protected int numComputations;
+
+  // ==============================================================================================
+
+  /**
+   * Returns the memoized statistic if it is still up to date with the given list; otherwise
+   * computes the statistic for the given list by means of the given function and memoizes it.
+   *
+   * @param elements
+   *        The list to compute the statistic for.
+   * @param function
+   *        The function that computes the statistic.
+   *
+   * @return The memoized or the computed statistic (or the memoized statistic, if the list is
+   *         null).
+   */
+  public synchronized <L extends ElementList<?>> S get(L elements, Function<L, S> function) {
+    this.numRequests++;
+    if (elements == null) {
+      return this.statistic;
+    }
+    if (this.statistic == null || this.elements != elements
+        || this.modificationCount != elements.getModificationCount()) {
+      this.statistic = function.apply(elements);
+      this.elements = elements;
+      this.modificationCount = elements.getModificationCount();
+      this.numComputations++;
+    }
+    return this.statistic;
+  }
+
+  /**
+   * Sets the statistic of the given list explicitly. The statistic is recomputed on the next
+   * access if the list is replaced or modified afterwards.
+   *
+   * @param statistic
+   *        The statistic.
+   * @param elements
+   *        The list the statistic was computed for.
+   */
+  public synchronized void set(S statistic, ElementList<?> elements) {
+    this.statistic = statistic;
+    this.elements = elements;
+    this.modificationCount = elements != null ? elements.getModificationCount() : 0;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the number of requests of the statistic so far.
+   *
+   * @return The number of requests.
+   */
+  public synchronized int getNumRequests() {
+    return this.numRequests;
+  }
+
+  /**
+   * Returns the number of computations of the statistic so far.
+   *
+   * @return The number of computations.
+   */
+  public synchronized int getNumComputations() {
+    return this.numComputations;
+  }
+}
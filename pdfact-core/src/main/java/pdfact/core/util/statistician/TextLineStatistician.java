@@ -22,6 +22,13 @@ import pdfact.core.util.list.ElementList;
  * @author Claudius Korzen
  */
 public class TextLineStatistician {
+  /**
+   * The statistician to use for computing the statistics of elements on first access.
+   */
+  protected static final TextLineStatistician LAZY_STATISTICIAN = new TextLineStatistician();
+
+  // ==============================================================================================
+
   /**
    * Computes the text line statistic for the given text lines.
    * 
@@ -158,4 +165,22 @@ public class TextLineStatistician {
 
     return Math.abs(firstBaseLine.getStartY() - secondBaseLine.getStartY());
   }
-}
\ No newline at end of file
+
+  // ==============================================================================================
+  // Methods to compute the statistics of elements on demand.
+
+  /**
+   * Returns the given lazy statistic, computing it for the given text lines if it wasn't computed
+   * yet or if the text lines were modified in the meantime (see
+   * {@link CharacterStatistician#computeIfAbsent}).
+   * 
+   * @param statistic The lazy statistic.
+   * @param textLines The text lines to process.
+   * 
+   * @return The memoized or the computed statistic.
+   */
+  public static TextLineStatistic computeIfAbsent(LazyStatistic<TextLineStatistic> statistic,
+      ElementList<TextLine> textLines) {
+    return statistic.get(textLines, LAZY_STATISTICIAN::compute);
+  }
+}
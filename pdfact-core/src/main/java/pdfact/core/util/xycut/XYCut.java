@@ -2,7 +2,6 @@ package pdfact.core.util.xycut;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import pdfact.core.model.Character;
 import pdfact.core.model.Document;
@@ -95,7 +94,7 @@ public abstract class XYCut {
       ElementList<Character> chars) {
     if (chars != null && !chars.isEmpty()) {
       // Sort the characters by minX in order to sweep them in x direction.
-      Collections.sort(chars, new MinXComparator());
+      chars.sort(new MinXComparator());
 
       // The score of the best cut found so far.
       float bestCutScore = 0;
@@ -155,8 +154,8 @@ public abstract class XYCut {
   protected List<ElementList<Character>> yCut(Document pdf, Page page,
       ElementList<Character> chars) {
     if (chars != null && !chars.isEmpty()) {
-      // Sort the characters by minX in order to sweep them in x direction.
-      Collections.sort(chars, Collections.reverseOrder(new MaxYComparator()));
+      // Sort the characters by descending maxY in order to sweep them in y direction.
+      chars.sort(new MaxYComparator(true));
 
       // The score of the best cut found so far.
       float bestCutScore = 0;
@@ -0,0 +1,213 @@
+package pdfact.core.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import pdfact.core.util.list.ElementList;
+import pdfact.core.util.statistician.CharacterStatistician;
+
+/**
+ * A class that tests the columnar character table.
+ */
+public class CharacterTableTest {
+  /**
+   * The page of the characters.
+   */
+  protected Page page;
+
+  /**
+   * A font face shared by the first and the third character.
+   */
+  protected FontFace fontFace1;
+
+  /**
+   * The font face of the second character.
+   */
+  protected FontFace fontFace2;
+
+  /**
+   * A color shared by all characters.
+   */
+  protected Color color;
+
+  /**
+   * The characters to store in the table.
+   */
+  protected List<Character> characters;
+
+  /**
+   * Creates the characters.
+   */
+  @Before
+  public void setup() {
+    this.page = new Page(1);
+    this.fontFace1 = new FontFace(new Font(), 10f);
+    this.fontFace2 = new FontFace(new Font(), 12f);
+    this.color = new Color(0, 0, 0);
+    this.characters = Arrays.asList(
+        createCharacter("a", 1, 2, 5, 12, this.fontFace1, 0),
+        createCharacter("ffi", 5, 2, 14, 14, this.fontFace2, 1),
+        createCharacter("", 14, 2, 18, 12, this.fontFace1, 2));
+  }
+
+  /**
+   * Tests that the table stores the values of the characters, per row.
+   */
+  @Test
+  public void testValues() {
+    CharacterTable table = new CharacterTable(this.characters);
+
+    assertEquals(3, table.size());
+    for (int i = 0; i < table.size(); i++) {
+      Character character = this.characters.get(i);
+      Rectangle rect = character.getPosition().getRectangle();
+      assertSame(character, table.getCharacter(i));
+      assertEquals(rect.getMinX(), table.getMinX(i), 0);
+      assertEquals(rect.getMinY(), table.getMinY(i), 0);
+      assertEquals(rect.getMaxX(), table.getMaxX(i), 0);
+      assertEquals(rect.getMaxY(), table.getMaxY(i), 0);
+      assertEquals(rect.getWidth(), table.getWidth(i), 0);
+      assertEquals(rect.getHeight(), table.getHeight(i), 0);
+      assertSame(character.getFontFace(), table.getFontFace(i));
+      assertEquals(character.getFontFace().getFontSize(), table.getFontSize(i), 0);
+      assertSame(character.getColor(), table.getColor(i));
+      assertEquals(character.getExtractionRank(), table.getExtractionRank(i));
+      assertEquals(character.getText(), table.getText(i));
+      assertEquals(character.getText().length(), table.getTextLength(i));
+    }
+  }
+
+  /**
+   * Tests that shared font faces and colors get the same ordinal.
+   */
+  @Test
+  public void testOrdinals() {
+    CharacterTable table = new CharacterTable(this.characters);
+
+    assertEquals(2, table.getFontFaces().size());
+    assertEquals(table.getFontFaceOrdinal(0), table.getFontFaceOrdinal(2));
+    assertTrue(table.getFontFaceOrdinal(0) != table.getFontFaceOrdinal(1));
+
+    assertEquals(1, table.getColors().size());
+    assertEquals(0, table.getColorOrdinal(0));
+    assertEquals(0, table.getColorOrdinal(1));
+    assertEquals(0, table.getColorOrdinal(2));
+  }
+
+  /**
+   * Tests that the characters are attached to their rows and that modifying an attached
+   * character invalidates the table.
+   */
+  @Test
+  public void testAttachAndInvalidate() {
+    CharacterTable table = new CharacterTable(this.characters);
+
+    assertTrue(table.isValid());
+    for (int i = 0; i < this.characters.size(); i++) {
+      assertSame(table, this.characters.get(i).getCharacterTable());
+      assertEquals(i, this.characters.get(i).getCharacterTableRow());
+    }
+
+    Character character = this.characters.get(1);
+    character.setText("f");
+
+    assertFalse(table.isValid());
+    assertNull(character.getCharacterTable());
+    assertEquals(-1, character.getCharacterTableRow());
+  }
+
+  /**
+   * Tests that the characters are attached to the table that was created last.
+   */
+  @Test
+  public void testDifferentTables() {
+    CharacterTable first = new CharacterTable(this.characters.subList(0, 2));
+    CharacterTable second = new CharacterTable(this.characters.subList(1, 3));
+
+    assertSame(first, this.characters.get(0).getCharacterTable());
+    assertSame(second, this.characters.get(1).getCharacterTable());
+    assertEquals(0, this.characters.get(1).getCharacterTableRow());
+    assertSame(second, this.characters.get(2).getCharacterTable());
+    assertEquals(1, this.characters.get(2).getCharacterTableRow());
+  }
+
+  /**
+   * Tests that the statistic of characters of which only some are attached to a valid table is
+   * the same as the statistic computed from the characters themselves.
+   */
+  @Test
+  public void testStatistic() {
+    ElementList<Character> characters = new ElementList<>();
+    characters.addAll(this.characters);
+    CharacterStatistician statistician = new CharacterStatistician();
+    CharacterStatistic expected = statistician.compute(characters);
+
+    new CharacterTable(this.characters.subList(0, 2));
+    CharacterStatistic statistic = statistician.compute(characters);
+
+    assertEquals(expected.getMostCommonHeight(), statistic.getMostCommonHeight(), 0);
+    assertEquals(expected.getAverageWidth(), statistic.getAverageWidth(), 0);
+    assertSame(expected.getMostCommonFontFace(), statistic.getMostCommonFontFace());
+    assertEquals(expected.getAverageFontsize(), statistic.getAverageFontsize(), 0);
+    assertSame(this.color, statistic.getMostCommonColor());
+    assertEquals(1, statistic.getSmallestMinX(), 0);
+    assertEquals(2, statistic.getSmallestMinY(), 0);
+    assertEquals(18, statistic.getLargestMaxX(), 0);
+    assertEquals(14, statistic.getLargestMaxY(), 0);
+  }
+
+  /**
+   * Tests that the page returns its table only until the table was invalidated.
+   */
+  @Test
+  public void testPageTable() {
+    ElementList<Character> characters = new ElementList<>();
+    characters.addAll(this.characters);
+    this.page.setCharacters(characters);
+    assertNull(this.page.getCharacterTable());
+
+    CharacterTable table = this.page.buildCharacterTable();
+    assertSame(table, this.page.getCharacterTable());
+
+    this.characters.get(0).setColor(new Color(255, 0, 0));
+    assertNull(this.page.getCharacterTable());
+
+    CharacterTable rebuilt = this.page.buildCharacterTable();
+    assertTrue(rebuilt != table);
+    assertTrue(rebuilt.isValid());
+    assertEquals(2, rebuilt.getColors().size());
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Creates a new character.
+   *
+   * @param text     The text of the character.
+   * @param minX     The minX value of the character.
+   * @param minY     The minY value of the character.
+   * @param maxX     The maxX value of the character.
+   * @param maxY     The maxY value of the character.
+   * @param fontFace The font face of the character.
+   * @param rank     The extraction rank of the character.
+   *
+   * @return The created character.
+   */
+  protected Character createCharacter(String text, float minX, float minY, float maxX,
+      float maxY, FontFace fontFace, int rank) {
+    Character character = new Character();
+    character.setText(text);
+    character.setPosition(new Position(this.page, minX, minY, maxX, maxY));
+    character.setFontFace(fontFace);
+    character.setColor(this.color);
+    character.setExtractionRank(rank);
+    return character;
+  }
+}
@@ -0,0 +1,78 @@
+package pdfact.core.util.counter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * A class that tests the counter of float values.
+ */
+public class FloatCounterTest {
+  /**
+   * Tests the statistics of an empty counter.
+   */
+  @Test
+  public void testEmpty() {
+    FloatCounter counter = new FloatCounter();
+
+    assertTrue(Float.isNaN(counter.getMostCommonFloat()));
+    assertEquals(0, counter.getAverageFloat(), 0);
+  }
+
+  /**
+   * Tests the frequencies, the most common float and the average float.
+   */
+  @Test
+  public void testStatistics() {
+    FloatCounter counter = new FloatCounter();
+    counter.add(1.5f);
+    counter.add(2.5f);
+    counter.add(2.5f);
+    counter.add(4f);
+
+    assertEquals(3, counter.getFloats().length);
+    assertEquals(1, counter.getFrequency(1.5f));
+    assertEquals(2, counter.getFrequency(2.5f));
+    assertEquals(0, counter.getFrequency(3f));
+    assertEquals(2.5f, counter.getMostCommonFloat(), 0);
+    assertEquals(2, counter.getMostCommonFloatFrequency(), 0);
+    assertEquals(2.625f, counter.getAverageFloat(), 0.0001f);
+  }
+
+  /**
+   * Tests that the floats are counted exactly, without rounding them.
+   */
+  @Test
+  public void testExactKeys() {
+    FloatCounter counter = new FloatCounter();
+    counter.add(12f);
+    counter.add(12.000015f);
+    counter.add(12.000015f);
+
+    assertEquals(2, counter.getFloats().length);
+    assertEquals(12.000015f, counter.getMostCommonFloat(), 0);
+  }
+
+  /**
+   * Tests that adding a counter adds the frequencies of its floats.
+   */
+  @Test
+  public void testAddCounter() {
+    FloatCounter counter1 = new FloatCounter();
+    counter1.add(1f);
+    counter1.add(2f);
+
+    FloatCounter counter2 = new FloatCounter();
+    counter2.add(2f);
+    counter2.add(3f);
+
+    counter1.add(counter2);
+
+    assertEquals(1, counter1.getFrequency(1f));
+    assertEquals(2, counter1.getFrequency(2f));
+    assertEquals(1, counter1.getFrequency(3f));
+    assertEquals(2f, counter1.getMostCommonFloat(), 0);
+    assertEquals(2f, counter1.getAverageFloat(), 0);
+  }
+}
@@ -0,0 +1,168 @@
+package pdfact.core.util.counter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import pdfact.core.model.Font;
+import pdfact.core.model.FontFace;
+
+/**
+ * A class that tests the counter of interned objects.
+ */
+public class OrdinalCounterTest {
+  /**
+   * The font faces to count, numbered consecutively.
+   */
+  protected List<FontFace> fontFaces;
+
+  /**
+   * Creates the font faces.
+   */
+  @Before
+  public void setup() {
+    this.fontFaces = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      FontFace fontFace = new FontFace(new Font(), 5 + i * 0.5f);
+      fontFace.setOrdinal(i);
+      this.fontFaces.add(fontFace);
+    }
+  }
+
+  /**
+   * Tests the statistics of an empty counter.
+   */
+  @Test
+  public void testEmpty() {
+    OrdinalCounter<FontFace> counter = new OrdinalCounter<>();
+
+    assertTrue(counter.isEmpty());
+    assertNull(counter.getMostCommonObject());
+    assertEquals(0, counter.getMostCommonObjectFrequency());
+  }
+
+  /**
+   * Tests the frequencies and the most common object.
+   */
+  @Test
+  public void testStatistics() {
+    OrdinalCounter<FontFace> counter = new OrdinalCounter<>(2);
+    counter.add(this.fontFaces.get(3));
+    counter.add(this.fontFaces.get(12));
+    counter.add(this.fontFaces.get(12));
+    counter.add((FontFace) null);
+
+    assertEquals(3, counter.size());
+    assertEquals(1, counter.getFrequency(this.fontFaces.get(3)));
+    assertEquals(2, counter.getFrequency(this.fontFaces.get(12)));
+    assertEquals(1, counter.getFrequency(null));
+    assertEquals(0, counter.getFrequency(this.fontFaces.get(0)));
+    assertSame(this.fontFaces.get(12), counter.getMostCommonObject());
+    assertEquals(2, counter.getMostCommonObjectFrequency());
+    assertEquals(Arrays.asList(this.fontFaces.get(3), this.fontFaces.get(12), null),
+        counter.getObjects());
+  }
+
+  /**
+   * Tests that objects with a too large ordinal and objects without ordinal are counted in the
+   * hash-based counter.
+   */
+  @Test
+  public void testUnnumbered() {
+    FontFace large = new FontFace(new Font(), 30f);
+    large.setOrdinal(OrdinalCounter.MAX_DENSE_CAPACITY);
+    FontFace unnumbered = new FontFace(new Font(), 31f);
+
+    OrdinalCounter<FontFace> counter = new OrdinalCounter<>();
+    counter.add(large);
+    counter.add(large);
+    counter.add(unnumbered);
+
+    assertTrue(counter.frequencies.length <= OrdinalCounter.MAX_DENSE_CAPACITY);
+    assertEquals(2, counter.getFrequency(large));
+    assertEquals(1, counter.getFrequency(unnumbered));
+    assertSame(large, counter.getMostCommonObject());
+  }
+
+  /**
+   * Tests that a tie is resolved in favor of the object that reached the largest frequency first.
+   */
+  @Test
+  public void testTies() {
+    OrdinalCounter<FontFace> counter = new OrdinalCounter<>();
+    counter.add(this.fontFaces.get(7));
+    counter.add(this.fontFaces.get(2));
+    assertSame(this.fontFaces.get(7), counter.getMostCommonObject());
+
+    counter.add(this.fontFaces.get(2));
+    counter.add(this.fontFaces.get(7));
+    assertSame(this.fontFaces.get(2), counter.getMostCommonObject());
+    assertEquals(2, counter.getMostCommonObjectFrequency());
+  }
+
+  /**
+   * Tests that adding counters to each other yields the same frequencies as adding all objects to
+   * a single counter, and that ties of an added counter are resolved in the order of the
+   * ordinals.
+   */
+  @Test
+  public void testAddCounter() {
+    FontFace unnumbered = new FontFace(new Font(), 31f);
+    Random random = new Random(42);
+    for (int run = 0; run < 200; run++) {
+      OrdinalCounter<FontFace> total = new OrdinalCounter<>();
+      OrdinalCounter<FontFace> expected = new OrdinalCounter<>();
+
+      for (int part = 0; part < 3; part++) {
+        OrdinalCounter<FontFace> counter = new OrdinalCounter<>();
+        int numObjects = 1 + random.nextInt(8);
+        for (int i = 0; i < numObjects; i++) {
+          int index = random.nextInt(this.fontFaces.size() + 1);
+          FontFace fontFace = index < this.fontFaces.size() ? this.fontFaces.get(index)
+              : unnumbered;
+          counter.add(fontFace);
+          expected.add(fontFace);
+        }
+        total.add(counter);
+      }
+
+      assertEquals(expected.size(), total.size());
+      for (FontFace fontFace : expected.getObjects()) {
+        assertEquals(expected.getFrequency(fontFace), total.getFrequency(fontFace));
+      }
+      assertEquals(expected.getMostCommonObjectFrequency(),
+          total.getMostCommonObjectFrequency());
+      assertEquals(total.getMostCommonObjectFrequency(),
+          total.getFrequency(total.getMostCommonObject()));
+    }
+
+    OrdinalCounter<FontFace> counter = new OrdinalCounter<>();
+    counter.add(this.fontFaces.get(9));
+    counter.add(this.fontFaces.get(4));
+    OrdinalCounter<FontFace> total = new OrdinalCounter<>();
+    total.add(counter);
+    assertSame(this.fontFaces.get(4), total.getMostCommonObject());
+    assertEquals(Arrays.asList(this.fontFaces.get(4), this.fontFaces.get(9)), total.getObjects());
+  }
+
+  /**
+   * Tests that the most common object is updated if objects are added after it was computed.
+   */
+  @Test
+  public void testAddAfterQuery() {
+    OrdinalCounter<FontFace> counter = new OrdinalCounter<>();
+    counter.add(this.fontFaces.get(0));
+    assertSame(this.fontFaces.get(0), counter.getMostCommonObject());
+
+    counter.add(this.fontFaces.get(1));
+    counter.add(this.fontFaces.get(1));
+    assertSame(this.fontFaces.get(1), counter.getMostCommonObject());
+  }
+}
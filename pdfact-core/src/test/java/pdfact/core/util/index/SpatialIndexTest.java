@@ -0,0 +1,214 @@
+package pdfact.core.util.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import pdfact.core.model.Character;
+import pdfact.core.model.Page;
+import pdfact.core.model.Position;
+import pdfact.core.model.Rectangle;
+import pdfact.core.util.list.ElementList;
+
+/**
+ * A class that tests the spatial index.
+ */
+public class SpatialIndexTest {
+  /**
+   * The page of the characters.
+   */
+  protected Page page;
+
+  /**
+   * The characters to index, with random rectangles.
+   */
+  protected ElementList<Character> characters;
+
+  /**
+   * The random generator.
+   */
+  protected Random random;
+
+  /**
+   * Creates the characters.
+   */
+  @Before
+  public void setup() {
+    this.page = new Page(1);
+    this.random = new Random(42);
+    this.characters = new ElementList<>();
+    for (int i = 0; i < 1000; i++) {
+      this.characters.add(createCharacter(randomRectangle(5)));
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Tests that the overlap queries return the same elements as a linear scan, in the order of
+   * the indexed list.
+   */
+  @Test
+  public void testOverlappingElements() {
+    SpatialIndex<Character> index = new SpatialIndex<>(this.characters);
+    assertEquals(this.characters.size(), index.size());
+
+    for (int i = 0; i < 100; i++) {
+      Rectangle query = randomRectangle(100);
+      List<Character> expected = new ArrayList<>();
+      for (Character character : this.characters) {
+        if (character.getPosition().getRectangle().overlaps(query)) {
+          expected.add(character);
+        }
+      }
+      assertEquals(expected, new ArrayList<>(index.getOverlappingElements(query)));
+    }
+  }
+
+  /**
+   * Tests that the containment queries return the same elements as a linear scan, in the order
+   * of the indexed list.
+   */
+  @Test
+  public void testContainedElements() {
+    SpatialIndex<Character> index = new SpatialIndex<>(this.characters);
+
+    for (int i = 0; i < 100; i++) {
+      Rectangle query = randomRectangle(200);
+      List<Character> expected = new ArrayList<>();
+      for (Character character : this.characters) {
+        if (query.contains(character.getPosition().getRectangle())) {
+          expected.add(character);
+        }
+      }
+      assertEquals(expected, new ArrayList<>(index.getContainedElements(query)));
+    }
+  }
+
+  /**
+   * Tests that the nearest-neighbour queries return the elements with the smallest distances.
+   */
+  @Test
+  public void testNearestElements() {
+    SpatialIndex<Character> index = new SpatialIndex<>(this.characters);
+
+    for (int i = 0; i < 100; i++) {
+      float x = this.random.nextFloat() * 600;
+      float y = this.random.nextFloat() * 800;
+      List<Character> sorted = new ArrayList<>(this.characters);
+      sorted.sort(Comparator.comparingDouble(c -> computeDistance(c, x, y)));
+
+      ElementList<Character> nearest = index.getNearestElements(x, y, 5, Float.POSITIVE_INFINITY);
+      assertEquals(5, nearest.size());
+      for (int j = 0; j < nearest.size(); j++) {
+        assertEquals(computeDistance(sorted.get(j), x, y), computeDistance(nearest.get(j), x, y),
+            1e-3);
+      }
+      assertEquals(computeDistance(sorted.get(0), x, y),
+          computeDistance(index.getNearestElement(x, y), x, y), 1e-3);
+
+      float maxDistance = 10;
+      for (Character character : index.getNearestElements(x, y, 1000, maxDistance)) {
+        assertTrue(computeDistance(character, x, y) <= maxDistance + 1e-3);
+      }
+    }
+  }
+
+  /**
+   * Tests the queries of an empty index and of an index with a single element, and that elements
+   * without a position are not indexed.
+   */
+  @Test
+  public void testSmallIndexes() {
+    SpatialIndex<Character> empty = new SpatialIndex<>(new ElementList<>());
+    assertTrue(empty.isEmpty());
+    assertTrue(empty.getOverlappingElements(new Rectangle(0, 0, 600, 800)).isEmpty());
+    assertNull(empty.getNearestElement(0, 0));
+
+    ElementList<Character> characters = new ElementList<>();
+    Character character = createCharacter(new Rectangle(10, 10, 20, 20));
+    characters.add(character);
+    characters.add(new Character());
+    SpatialIndex<Character> single = new SpatialIndex<>(characters);
+    assertEquals(1, single.size());
+    assertSame(character, single.getNearestElement(0, 0));
+    assertEquals(1, single.getOverlappingElements(new Rectangle(20, 20, 30, 30)).size());
+    assertTrue(single.getContainedElements(new Rectangle(15, 15, 30, 30)).isEmpty());
+    assertTrue(single.getNearestElements(0, 0, 1, 5).isEmpty());
+  }
+
+  /**
+   * Tests that the page recreates its index only after the indexed list was modified or
+   * replaced.
+   */
+  @Test
+  public void testPageIndex() {
+    this.page.setCharacters(this.characters);
+    SpatialIndex<Character> index = this.page.getCharacterIndex();
+    assertTrue(index.isIndexOf(this.characters));
+    assertSame(index, this.page.getCharacterIndex());
+
+    this.page.addCharacter(createCharacter(new Rectangle(0, 0, 1, 1)));
+    assertFalse(index.isIndexOf(this.characters));
+    SpatialIndex<Character> rebuilt = this.page.getCharacterIndex();
+    assertEquals(this.characters.size(), rebuilt.size());
+
+    this.page.setCharacters(new ElementList<>());
+    assertTrue(this.page.getCharacterIndex().isEmpty());
+    assertTrue(this.page.getShapeIndex().isEmpty());
+    assertTrue(this.page.getFigureIndex().isEmpty());
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Creates a character with the given rectangle.
+   *
+   * @param rect The rectangle of the character.
+   *
+   * @return The created character.
+   */
+  protected Character createCharacter(Rectangle rect) {
+    Character character = new Character();
+    character.setPosition(new Position(this.page, rect));
+    return character;
+  }
+
+  /**
+   * Creates a random rectangle on a page of 600x800 units.
+   *
+   * @param maxSize The maximum width and height of the rectangle.
+   *
+   * @return The created rectangle.
+   */
+  protected Rectangle randomRectangle(float maxSize) {
+    float minX = this.random.nextFloat() * 600;
+    float minY = this.random.nextFloat() * 800;
+    return new Rectangle(minX, minY, minX + this.random.nextFloat() * maxSize,
+        minY + this.random.nextFloat() * maxSize);
+  }
+
+  /**
+   * Computes the distance between the rectangle of the given character and the given point.
+   *
+   * @param character The character.
+   * @param x         The x-coordinate of the point.
+   * @param y         The y-coordinate of the point.
+   *
+   * @return The distance.
+   */
+  protected static double computeDistance(Character character, float x, float y) {
+    Rectangle rect = character.getPosition().getRectangle();
+    double dx = Math.max(0, Math.max(rect.getMinX() - x, x - rect.getMaxX()));
+    double dy = Math.max(0, Math.max(rect.getMinY() - y, y - rect.getMaxY()));
+    return Math.sqrt(dx * dx + dy * dy);
+  }
+}
@@ -0,0 +1,116 @@
+package pdfact.core.util.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.junit.Test;
+
+/**
+ * A class that tests the stream that limits the number of bytes read from another stream.
+ */
+public class LimitedInputStreamTest {
+  /**
+   * Tests that an input of exactly the maximum size is read completely.
+   *
+   * @throws IOException If reading the input failed.
+   */
+  @Test
+  public void testExactLimit() throws IOException {
+    byte[] input = createInput(10);
+    LimitedInputStream in = new LimitedInputStream(new ByteArrayInputStream(input), 10);
+
+    assertArrayEquals(input, in.readAllBytes());
+    assertEquals(10, in.getNumBytesRead());
+    assertEquals(-1, in.read());
+  }
+
+  /**
+   * Tests that reading fails as soon as the maximum size is exceeded, by single bytes, by arrays
+   * and by skipping.
+   *
+   * @throws IOException If reading the input failed unexpectedly.
+   */
+  @Test
+  public void testExceeded() throws IOException {
+    LimitedInputStream in = new LimitedInputStream(new ByteArrayInputStream(createInput(11)), 10);
+    assertEquals(10, in.read(new byte[10], 0, 10));
+    assertExceeded(in::read);
+
+    InputStream array = new LimitedInputStream(new ByteArrayInputStream(createInput(11)), 10);
+    assertExceeded(() -> array.read(new byte[20], 0, 20));
+
+    InputStream skip = new LimitedInputStream(new ByteArrayInputStream(createInput(11)), 10);
+    assertExceeded(() -> (int) skip.skip(20));
+  }
+
+  /**
+   * Tests that the bytes read again after a reset are not counted twice.
+   *
+   * @throws IOException If reading the input failed.
+   */
+  @Test
+  public void testMarkAndReset() throws IOException {
+    byte[] input = createInput(10);
+    LimitedInputStream in = new LimitedInputStream(
+        new BufferedInputStream(new ByteArrayInputStream(input)), 10);
+    in.mark(10);
+    assertEquals(8, in.read(new byte[8], 0, 8));
+    in.reset();
+
+    assertEquals(0, in.getNumBytesRead());
+    assertArrayEquals(input, in.readAllBytes());
+    assertEquals(10, in.getNumBytesRead());
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Checks that the given read fails with a {@link LimitedInputStream.LimitExceededException}.
+   *
+   * @param read The read.
+   */
+  protected void assertExceeded(Read read) {
+    try {
+      read.read();
+      fail("The limit wasn't enforced.");
+    } catch (LimitedInputStream.LimitExceededException e) {
+      assertEquals(10, e.getMaxBytes());
+    } catch (IOException e) {
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  /**
+   * Creates an input of the given size.
+   *
+   * @param size The size of the input.
+   *
+   * @return The created input.
+   */
+  protected static byte[] createInput(int size) {
+    byte[] input = new byte[size];
+    for (int i = 0; i < size; i++) {
+      input[i] = (byte) i;
+    }
+    return input;
+  }
+
+  /**
+   * A read from a stream.
+   */
+  protected interface Read {
+    /**
+     * Reads from the stream.
+     *
+     * @return The result of the read.
+     *
+     * @throws IOException If reading failed.
+     */
+    int read() throws IOException;
+  }
+}
@@ -0,0 +1,173 @@
+package pdfact.core.util.list;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import pdfact.core.model.Character;
+import pdfact.core.model.Page;
+import pdfact.core.model.Position;
+import pdfact.core.util.comparator.MinXComparator;
+import pdfact.core.util.comparator.MinYComparator;
+
+/**
+ * A class that tests the sorting of element lists.
+ */
+public class ElementListSorterTest {
+  /**
+   * The page of the characters.
+   */
+  protected Page page;
+
+  /**
+   * The random generator to create the characters.
+   */
+  protected Random random;
+
+  /**
+   * Creates the page and the random generator.
+   */
+  @Before
+  public void setup() {
+    this.page = new Page(1);
+    this.random = new Random(42);
+  }
+
+  /**
+   * Tests that sorting by a keyed comparator is stable, for lists with many equal keys.
+   */
+  @Test
+  public void testKeyedSortIsStable() {
+    for (int size : new int[] { 2, 15, 16, 17, 100, 1000 }) {
+      ElementList<Character> list = createCharacters(size, 10);
+      assertSortedStably(list, new MinXComparator());
+    }
+  }
+
+  /**
+   * Tests that sorting by a descending keyed comparator is stable.
+   */
+  @Test
+  public void testDescendingSortIsStable() {
+    ElementList<Character> list = createCharacters(500, 10);
+    assertSortedStably(list, new MinXComparator(true));
+  }
+
+  /**
+   * Tests that sorting by a comparator without sort keys is stable.
+   */
+  @Test
+  public void testComparatorSortIsStable() {
+    ElementList<Character> list = createCharacters(500, 10);
+    Comparator<Character> c = (c1, c2) -> Float.compare(
+        c1.getPosition().getRectangle().getMinX(), c2.getPosition().getRectangle().getMinX());
+    assertSortedStably(list, c);
+  }
+
+  /**
+   * Tests that sorting a sorted list (by another comparator) keeps the order of equal elements.
+   */
+  @Test
+  public void testSortBySecondKey() {
+    ElementList<Character> list = createCharacters(300, 5);
+    list.sort(new MinYComparator());
+    assertSortedStably(list, new MinXComparator());
+  }
+
+  /**
+   * Tests that sorting a view sorts only the elements of the view, in place.
+   */
+  @Test
+  public void testSortView() {
+    ElementList<Character> list = createCharacters(100, 10);
+    List<Character> before = new ArrayList<>(list);
+
+    ElementList<Character> view = list.cut(20).get(1).cut(60).get(0);
+    assertSortedStably(view, new MinXComparator());
+
+    for (int i = 0; i < 20; i++) {
+      assertSame(before.get(i), list.get(i));
+    }
+    for (int i = 80; i < 100; i++) {
+      assertSame(before.get(i), list.get(i));
+    }
+    for (int i = 0; i < view.size(); i++) {
+      assertSame(view.get(i), list.get(20 + i));
+    }
+  }
+
+  /**
+   * Tests the merge sort of the keys and positions.
+   */
+  @Test
+  public void testSortKeys() {
+    long[] keys = new long[1000];
+    int[] positions = new int[keys.length];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = this.random.nextInt(50) - 25;
+      positions[i] = i;
+    }
+    long[] expectedKeys = keys.clone();
+    Arrays.sort(expectedKeys);
+
+    ElementListSorter.sort(keys, positions);
+
+    assertArrayEquals(expectedKeys, keys);
+    for (int i = 1; i < keys.length; i++) {
+      if (keys[i - 1] == keys[i]) {
+        assertTrue(positions[i - 1] < positions[i]);
+      }
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Sorts the given list by the given comparator and checks that the result is equal to the
+   * result of the (stable) sort of an ArrayList.
+   *
+   * @param list The list to sort.
+   * @param c    The comparator to use.
+   */
+  protected void assertSortedStably(ElementList<Character> list,
+      Comparator<? super Character> c) {
+    List<Character> expected = new ArrayList<>(list);
+    expected.sort(c);
+
+    list.sort(c);
+
+    assertEquals(expected.size(), list.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertSame(expected.get(i), list.get(i));
+    }
+  }
+
+  /**
+   * Creates a list of characters with random coordinates.
+   *
+   * @param size           The number of characters to create.
+   * @param numCoordinates The number of distinct coordinates.
+   *
+   * @return The created list.
+   */
+  protected ElementList<Character> createCharacters(int size, int numCoordinates) {
+    ElementList<Character> list = new ElementList<>();
+    for (int i = 0; i < size; i++) {
+      float x = this.random.nextInt(numCoordinates);
+      float y = this.random.nextInt(numCoordinates);
+      Character character = new Character();
+      character.setText(String.valueOf(i));
+      character.setPosition(new Position(this.page, x, y, x + 1, y + 1));
+      list.add(character);
+    }
+    return list;
+  }
+}
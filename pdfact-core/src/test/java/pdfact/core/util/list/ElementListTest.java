@@ -0,0 +1,184 @@
+package pdfact.core.util.list;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+import org.junit.Before;
+import org.junit.Test;
+import pdfact.core.model.Character;
+import pdfact.core.model.Document;
+import pdfact.core.model.Page;
+import pdfact.core.model.Position;
+
+/**
+ * A class that tests the element lists and their views.
+ */
+public class ElementListTest {
+  /**
+   * The list to test, with the characters "a", "b", "c", "d", "e", "b".
+   */
+  protected ElementList<Character> list;
+
+  /**
+   * Creates the list.
+   */
+  @Before
+  public void setup() {
+    Page page = new Page(1);
+    this.list = new ElementList<>();
+    String[] texts = { "a", "b", "c", "d", "e", "b" };
+    for (int i = 0; i < texts.length; i++) {
+      Character character = new Character();
+      character.setText(texts[i]);
+      character.setPosition(new Position(page, i, 0, i + 1, 1));
+      this.list.add(character);
+    }
+  }
+
+  /**
+   * Tests that indexOf() and lastIndexOf() of a view return the indexes relative to the view and
+   * consider all elements of the view.
+   */
+  @Test
+  public void testViewIndexOf() {
+    List<ElementList<Character>> halves = this.list.cut(2);
+    ElementList<Character> left = halves.get(0);
+    ElementList<Character> right = halves.get(1);
+
+    assertEquals(0, left.indexOf(this.list.get(0)));
+    assertEquals(1, left.indexOf(this.list.get(1)));
+    assertEquals(-1, left.indexOf(this.list.get(2)));
+
+    assertEquals(0, right.indexOf(this.list.get(2)));
+    assertEquals(1, right.indexOf(this.list.get(3)));
+    assertEquals(3, right.indexOf(this.list.get(5)));
+    assertEquals(-1, right.indexOf(this.list.get(0)));
+
+    assertEquals(3, right.lastIndexOf(this.list.get(5)));
+    assertEquals(0, right.lastIndexOf(this.list.get(2)));
+    assertEquals(1, left.lastIndexOf(this.list.get(1)));
+  }
+
+  /**
+   * Tests that indexOf() and lastIndexOf() of a nested view return the indexes relative to the
+   * nested view.
+   */
+  @Test
+  public void testNestedViewIndexOf() {
+    ElementList<Character> right = this.list.cut(1).get(1);
+    ElementList<Character> inner = right.cut(1).get(1);
+
+    assertEquals(4, inner.size());
+    assertEquals(0, inner.indexOf(this.list.get(2)));
+    assertEquals(3, inner.lastIndexOf(this.list.get(5)));
+    assertEquals(-1, inner.indexOf(this.list.get(1)));
+    assertTrue(inner.contains(this.list.get(4)));
+    assertFalse(inner.contains(this.list.get(0)));
+  }
+
+  /**
+   * Tests that iterating a list doesn't change its modification count, but modifying the list via
+   * its list iterator does.
+   */
+  @Test
+  public void testModificationCount() {
+    int count = this.list.getModificationCount();
+
+    for (Character character : this.list) {
+      assertTrue(character != null);
+    }
+    ListIterator<Character> iterator = this.list.listIterator();
+    while (iterator.hasNext()) {
+      iterator.next();
+    }
+    while (iterator.hasPrevious()) {
+      iterator.previous();
+    }
+    assertTrue(this.list.equals(this.list.cut(0).get(1)));
+    assertEquals(count, this.list.getModificationCount());
+
+    iterator = this.list.listIterator(1);
+    Character character = iterator.next();
+    iterator.set(this.list.get(0));
+    assertEquals(count + 1, this.list.getModificationCount());
+    iterator.set(character);
+    assertEquals(count + 2, this.list.getModificationCount());
+
+    iterator.remove();
+    assertTrue(this.list.getModificationCount() > count + 2);
+    count = this.list.getModificationCount();
+    iterator.add(character);
+    assertTrue(this.list.getModificationCount() > count);
+    assertEquals(6, this.list.size());
+    assertEquals(character, this.list.get(1));
+  }
+
+  /**
+   * Tests that the membership methods compare the elements by identity, not by value.
+   */
+  @Test
+  public void testIdentity() {
+    Character copy = new Character();
+    copy.setText("a");
+    copy.setPosition(this.list.get(0).getPosition());
+    assertEquals(this.list.get(0), copy);
+
+    assertFalse(this.list.contains(copy));
+    assertEquals(-1, this.list.indexOf(copy));
+    assertFalse(this.list.remove(copy));
+    assertEquals(1, this.list.indexOf(this.list.get(1)));
+    assertEquals(5, this.list.lastIndexOf(this.list.get(5)));
+
+    assertFalse(this.list.removeAll(Arrays.asList(copy)));
+    assertTrue(this.list.removeAll(Arrays.asList(this.list.get(0), this.list.get(2))));
+    assertEquals(4, this.list.size());
+    assertTrue(this.list.retainAll(Arrays.asList(this.list.get(0), copy)));
+    assertEquals(1, this.list.size());
+  }
+
+  /**
+   * Tests that the elements of a larger list are looked up by their ids, also after the list was
+   * modified and if elements of different documents have the same ids.
+   */
+  @Test
+  public void testIndexedLookup() {
+    Document pdf = new Document("example.pdf");
+    Document other = new Document("other.pdf");
+    Page page = new Page(1);
+    ElementList<Character> list = new ElementList<>();
+    List<Character> others = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      Character character = new Character();
+      character.setPosition(new Position(page, i, 0, i + 1, 1));
+      pdf.assignElementId(character);
+      list.add(character);
+
+      Character otherCharacter = new Character();
+      other.assignElementId(otherCharacter);
+      others.add(otherCharacter);
+    }
+    assertEquals(0, list.get(0).getElementId());
+    assertEquals(39, list.get(39).getElementId());
+
+    assertEquals(17, list.indexOf(list.get(17)));
+    assertFalse(list.contains(others.get(17)));
+    assertEquals(-1, list.indexOf(new Character()));
+
+    Character removed = list.get(10);
+    assertTrue(list.remove(removed));
+    assertFalse(list.contains(removed));
+    assertEquals(16, list.indexOf(list.get(16)));
+    assertEquals(16, list.get(16).getElementId() - 1);
+
+    // An element of another document with the same id as an element in the list.
+    list.add(0, others.get(20));
+    assertEquals(0, list.indexOf(others.get(20)));
+    assertEquals(20, list.indexOf(list.get(20)));
+    assertEquals(list.get(20).getElementId(), others.get(20).getElementId());
+  }
+}
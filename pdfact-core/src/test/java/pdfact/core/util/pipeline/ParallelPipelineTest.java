@@ -0,0 +1,401 @@
+package pdfact.core.util.pipeline;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import pdfact.core.model.Document;
+import pdfact.core.model.Page;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.exception.PdfActParseException;
+import pdfact.core.util.exception.PdfActPipelineException;
+
+/**
+ * A class that tests the parallel execution of page pipes.
+ */
+public class ParallelPipelineTest {
+  /**
+   * The worker pool of the pipeline.
+   */
+  protected ExecutorService executor;
+
+  /**
+   * The pipeline to test.
+   */
+  protected ParallelPipeline pipeline;
+
+  /**
+   * The names of the pipes executed on the pages, per page number.
+   */
+  protected Map<Integer, List<String>> executedPipes;
+
+  /**
+   * The number of page pipes that are executing at the moment.
+   */
+  protected AtomicInteger numRunningPipes;
+
+  /**
+   * Creates the pipeline.
+   */
+  @Before
+  public void setup() {
+    this.executor = Executors.newFixedThreadPool(4);
+    this.pipeline = new ParallelPipeline(this.executor);
+    this.pipeline.setMaxPendingPages(2);
+    this.executedPipes = new ConcurrentHashMap<>();
+    this.numRunningPipes = new AtomicInteger();
+  }
+
+  /**
+   * Shuts down the worker pool.
+   */
+  @After
+  public void teardown() {
+    this.executor.shutdownNow();
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Tests that each page is passed through the page pipes in the order of the pipes and that a
+   * document-level pipe is executed only after all pages passed the preceding page pipes.
+   *
+   * @throws PdfActException
+   *         If something went wrong while processing the document.
+   */
+  @Test
+  public void testOrder() throws PdfActException {
+    List<Boolean> isCompleteBeforeDocumentPipe = new ArrayList<>();
+
+    this.pipeline.addPipe(new Producer(20, -1));
+    this.pipeline.addPipe(new RecordingPipe("a", -1));
+    this.pipeline.addPipe(new RecordingPipe("b", -1));
+    // The pages are processed early by the page pipes pipelined with the producer.
+    List<String> expectedBeforeDocumentPipe = Arrays.asList("early a", "early b");
+    this.pipeline.addPipe(pdf -> {
+      isCompleteBeforeDocumentPipe.add(this.executedPipes.size() == 20 && this.executedPipes
+          .values().stream().allMatch(p -> p.equals(expectedBeforeDocumentPipe)));
+      return pdf;
+    });
+    this.pipeline.addPipe(new RecordingPipe("c", -1));
+
+    Document pdf = this.pipeline.process(new Document(new byte[0]));
+
+    assertEquals(Arrays.asList(true), isCompleteBeforeDocumentPipe);
+    assertEquals(20, pdf.getPages().size());
+    for (int i = 0; i < 20; i++) {
+      Page page = pdf.getPages().get(i);
+      assertEquals(i + 1, page.getPageNumber());
+      assertEquals(Arrays.asList("early a", "early b", "c"),
+          this.executedPipes.get(page.getPageNumber()));
+    }
+  }
+
+  /**
+   * Tests that the failure of a page cancels the producer and skips the pages not processed yet.
+   */
+  @Test
+  public void testPageFailureCancelsProducer() {
+    Producer producer = new Producer(1000, -1);
+    this.pipeline.setMaxPendingPages(1);
+    this.pipeline.addPipe(producer);
+    this.pipeline.addPipe(new RecordingPipe("a", 3));
+
+    try {
+      this.pipeline.process(new Document(new byte[0]));
+      fail("The failure of page 3 wasn't thrown.");
+    } catch (PdfActException e) {
+      assertEquals("Page 3 failed.", e.getMessage());
+    }
+
+    assertTrue(producer.numProducedPages.get() < 1000);
+    assertTrue(this.executedPipes.size() < producer.numProducedPages.get());
+    assertEquals(0, this.numRunningPipes.get());
+  }
+
+  /**
+   * Tests that the failure of the first failed page (in page order) is thrown, if multiple pages
+   * fail.
+   */
+  @Test
+  public void testFirstPageFailureIsThrown() {
+    Document pdf = new Document(new byte[0]);
+    for (int i = 1; i <= 10; i++) {
+      pdf.addPage(new Page(i));
+    }
+    this.pipeline.addPipe(new RecordingPipe("a", 7));
+    this.pipeline.addPipe(new RecordingPipe("b", 4));
+
+    try {
+      this.pipeline.process(pdf);
+      fail("The failure of page 4 wasn't thrown.");
+    } catch (PdfActException e) {
+      assertEquals("Page 4 failed.", e.getMessage());
+    }
+  }
+
+  /**
+   * Tests that the failure of the producer is thrown and that the pages in processing are
+   * finished before.
+   */
+  @Test
+  public void testProducerFailure() {
+    Producer producer = new Producer(10, 5);
+    this.pipeline.addPipe(producer);
+    this.pipeline.addPipe(new RecordingPipe("a", -1));
+
+    try {
+      this.pipeline.process(new Document(new byte[0]));
+      fail("The failure of the producer wasn't thrown.");
+    } catch (PdfActException e) {
+      assertSame(producer.failure, e);
+    }
+
+    assertEquals(0, this.numRunningPipes.get());
+  }
+
+  /**
+   * Tests that the pages with invalid early results are passed again through the pipe that
+   * produced the invalid result and the subsequent pipes.
+   *
+   * @throws PdfActException
+   *         If something went wrong while processing the document.
+   */
+  @Test
+  public void testInvalidEarlyResults() throws PdfActException {
+    this.pipeline.addPipe(new Producer(10, -1));
+    this.pipeline.addPipe(new RecordingPipe("a", -1));
+    this.pipeline.addPipe(new RecordingPipe("b", -1) {
+      @Override
+      public boolean isEarlyResultValid(Document pdf, Page page) {
+        return page.getPageNumber() % 2 == 1;
+      }
+    });
+    this.pipeline.addPipe(new RecordingPipe("c", -1));
+
+    Document pdf = this.pipeline.process(new Document(new byte[0]));
+
+    for (Page page : pdf.getPages()) {
+      List<String> expected = page.getPageNumber() % 2 == 1
+          ? Arrays.asList("early a", "early b", "early c")
+          : Arrays.asList("early a", "early b", "early c", "b", "c");
+      assertEquals(expected, this.executedPipes.get(page.getPageNumber()));
+    }
+  }
+
+  /**
+   * Tests that the pages are processed by the worker pool given to the pipeline.
+   *
+   * @throws PdfActException
+   *         If something went wrong while processing the document.
+   */
+  @Test
+  public void testInjectedExecutor() throws PdfActException {
+    ExecutorService injected = Executors.newFixedThreadPool(2, r -> new Thread(r, "injected"));
+    try {
+      Map<Integer, String> threadNames = new ConcurrentHashMap<>();
+      this.pipeline.setExecutor(injected);
+      this.pipeline.addPipe(new Producer(10, -1));
+      this.pipeline.addPipe(new RecordingPipe("a", -1) {
+        @Override
+        public void executePageEarly(Document pdf, Page page) throws PdfActException {
+          threadNames.put(page.getPageNumber(), Thread.currentThread().getName());
+        }
+      });
+
+      this.pipeline.process(new Document(new byte[0]));
+
+      assertEquals(10, threadNames.size());
+      assertTrue(threadNames.values().stream().allMatch("injected"::equals));
+    } finally {
+      injected.shutdownNow();
+    }
+  }
+
+  /**
+   * Tests that interrupting the producer while it waits for pending pages aborts the document.
+   *
+   * @throws InterruptedException
+   *         If the test was interrupted.
+   */
+  @Test
+  public void testInterruptAbortsDocument() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    Producer producer = new Producer(1000, -1);
+    this.pipeline.setMaxPendingPages(1);
+    this.pipeline.addPipe(producer);
+    this.pipeline.addPipe(new RecordingPipe("a", -1) {
+      @Override
+      public void executePageEarly(Document pdf, Page page) throws PdfActException {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    });
+
+    AtomicReference<Throwable> thrown = new AtomicReference<>();
+    AtomicReference<Boolean> isInterrupted = new AtomicReference<>();
+    Thread thread = new Thread(() -> {
+      try {
+        this.pipeline.process(new Document(new byte[0]));
+      } catch (Throwable e) {
+        thrown.set(e);
+      }
+      isInterrupted.set(Thread.currentThread().isInterrupted());
+    });
+    thread.start();
+
+    // Wait until the producer waits for the first page, which is blocked.
+    while (thread.getState() != Thread.State.WAITING) {
+      Thread.sleep(1);
+    }
+    thread.interrupt();
+    thread.join(10000);
+    release.countDown();
+
+    assertTrue(thrown.get() instanceof PdfActPipelineException);
+    assertEquals(true, isInterrupted.get());
+    assertTrue(producer.numProducedPages.get() < 1000);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * A pipe that produces empty pages, one after another.
+   */
+  protected static class Producer implements PageProducingPipe {
+    /**
+     * The number of pages to produce.
+     */
+    protected int numPages;
+
+    /**
+     * The number of the page before which the producer fails (-1 if the producer doesn't fail).
+     */
+    protected int failingPageNumber;
+
+    /**
+     * The exception thrown on failure.
+     */
+    protected PdfActException failure = new PdfActParseException("The producer failed.");
+
+    /**
+     * The number of produced pages.
+     */
+    protected AtomicInteger numProducedPages = new AtomicInteger();
+
+    /**
+     * Creates a new producer.
+     *
+     * @param numPages
+     *        The number of pages to produce.
+     * @param failingPageNumber
+     *        The number of the page before which the producer fails (-1 if it doesn't fail).
+     */
+    public Producer(int numPages, int failingPageNumber) {
+      this.numPages = numPages;
+      this.failingPageNumber = failingPageNumber;
+    }
+
+    @Override
+    public Document execute(Document pdf, PageListener listener) throws PdfActException {
+      for (int i = 1; i <= this.numPages; i++) {
+        if (i == this.failingPageNumber) {
+          throw this.failure;
+        }
+        Page page = new Page(i);
+        pdf.addPage(page);
+        this.numProducedPages.incrementAndGet();
+        if (listener != null) {
+          listener.handlePage(pdf, page);
+        }
+      }
+      return pdf;
+    }
+  }
+
+  /**
+   * A page pipe that records its execution on each page.
+   */
+  protected class RecordingPipe implements PagePipe {
+    /**
+     * The name of this pipe.
+     */
+    protected String name;
+
+    /**
+     * The number of the page on which this pipe fails (-1 if this pipe doesn't fail).
+     */
+    protected int failingPageNumber;
+
+    /**
+     * Creates a new recording pipe.
+     *
+     * @param name
+     *        The name of the pipe.
+     * @param failingPageNumber
+     *        The number of the page on which the pipe fails (-1 if it doesn't fail).
+     */
+    public RecordingPipe(String name, int failingPageNumber) {
+      this.name = name;
+      this.failingPageNumber = failingPageNumber;
+    }
+
+    @Override
+    public void executePage(Document pdf, Page page) throws PdfActException {
+      execute(page, this.name);
+    }
+
+    @Override
+    public void executePageEarly(Document pdf, Page page) throws PdfActException {
+      execute(page, "early " + this.name);
+    }
+
+    /**
+     * Records the execution of this pipe on the given page, or fails.
+     *
+     * @param page
+     *        The page to process.
+     * @param entry
+     *        The entry to record.
+     *
+     * @throws PdfActException
+     *         If this pipe fails on the given page.
+     */
+    protected void execute(Page page, String entry) throws PdfActException {
+      numRunningPipes.incrementAndGet();
+      try {
+        // Give the other pages the chance to overtake this page.
+        Thread.sleep(page.getPageNumber() % 3);
+        if (page.getPageNumber() == this.failingPageNumber) {
+          // Fail later than the subsequent pages.
+          Thread.sleep(20);
+          throw new PdfActPipelineException("Page " + page.getPageNumber() + " failed.");
+        }
+        executedPipes.computeIfAbsent(page.getPageNumber(),
+            n -> Collections.synchronizedList(new ArrayList<>())).add(entry);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        numRunningPipes.decrementAndGet();
+      }
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package pdfact.core.util.pipeline;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import pdfact.core.model.Document;
+import pdfact.core.model.Page;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * A class that tests the reports of plain pipelines.
+ */
+public class PlainPipelineTest {
+  /**
+   * The pipeline to test.
+   */
+  protected PlainPipeline pipeline;
+
+  /**
+   * The nested pipeline, executed as the second pipe of the pipeline to test.
+   */
+  protected PlainPipeline nestedPipeline;
+
+  /**
+   * Creates the pipelines.
+   */
+  @Before
+  public void setup() {
+    this.nestedPipeline = new PlainPipeline();
+    this.nestedPipeline.addPipe(pdf -> pdf);
+
+    this.pipeline = new PlainPipeline();
+    this.pipeline.addPipe(pdf -> {
+      pdf.addPage(new Page(1));
+      return pdf;
+    });
+    this.pipeline.addPipe(pdf -> this.nestedPipeline.process(pdf));
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Tests that no report is created if no report was requested.
+   *
+   * @throws PdfActException
+   *         If something went wrong while processing the document.
+   */
+  @Test
+  public void testWithoutReport() throws PdfActException {
+    Document pdf = this.pipeline.process(new Document(new byte[0]));
+
+    assertEquals(1, pdf.getPages().size());
+    assertNull(pdf.getPipelineReport());
+  }
+
+  /**
+   * Tests that the report of the pipeline and the report of the nested pipeline are returned with
+   * the processed document, if a report was requested.
+   *
+   * @throws PdfActException
+   *         If something went wrong while processing the document.
+   */
+  @Test
+  public void testWithReport() throws PdfActException {
+    this.pipeline.setWithReport(true);
+
+    Document pdf = this.pipeline.process(new Document(new byte[0]));
+
+    PipelineReport report = pdf.getPipelineReport();
+    assertNotNull(report);
+    assertTrue(report.isFinished());
+
+    List<PipeReport> pipeReports = report.getPipeReports();
+    assertEquals(2, pipeReports.size());
+    assertEquals(1, pipeReports.get(0).getNumExecutions());
+    assertEquals(1, pipeReports.get(0).getOutputCounts().getNumPages());
+    // The nested pipeline reports, because the outer pipeline reports.
+    assertNotNull(pipeReports.get(1).getSubReport());
+  }
+
+  /**
+   * Tests that each processing creates a new report.
+   *
+   * @throws PdfActException
+   *         If something went wrong while processing the document.
+   */
+  @Test
+  public void testReportPerProcessing() throws PdfActException {
+    this.pipeline.setWithReport(true);
+
+    PipelineReport report1 = this.pipeline.process(new Document(new byte[0])).getPipelineReport();
+    PipelineReport report2 = this.pipeline.process(new Document(new byte[0])).getPipelineReport();
+
+    assertNotSame(report1, report2);
+    assertEquals(1, report1.getPipeReports().get(0).getNumExecutions());
+    assertEquals(1, report2.getPipeReports().get(0).getNumExecutions());
+  }
+}
@@ -0,0 +1,128 @@
+package pdfact.core.util.statistician;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Before;
+import org.junit.Test;
+import pdfact.core.model.Character;
+import pdfact.core.model.CharacterStatistic;
+import pdfact.core.model.Color;
+import pdfact.core.model.Font;
+import pdfact.core.model.FontFace;
+import pdfact.core.model.Page;
+import pdfact.core.model.Position;
+import pdfact.core.model.Word;
+import pdfact.core.util.list.ElementList;
+
+/**
+ * A class that tests the statistics that are computed on first access.
+ */
+public class LazyStatisticTest {
+  /**
+   * The page of the characters.
+   */
+  protected Page page;
+
+  /**
+   * The font face of the characters.
+   */
+  protected FontFace fontFace;
+
+  /**
+   * The word to test, with the characters "a" and "b".
+   */
+  protected Word word;
+
+  /**
+   * Creates the word.
+   */
+  @Before
+  public void setup() {
+    this.page = new Page(1);
+    this.fontFace = new FontFace(new Font(), 10f);
+    this.word = new Word();
+    this.word.addCharacter(createCharacter("a", 0, 10));
+    this.word.addCharacter(createCharacter("b", 1, 10));
+  }
+
+  /**
+   * Tests that the statistic is computed only once if the characters are not modified.
+   */
+  @Test
+  public void testMemoized() {
+    CharacterStatistic statistic = this.word.getCharacterStatistic();
+    assertSame(statistic, this.word.getCharacterStatistic());
+    assertEquals(10, statistic.getLargestMaxY(), 0);
+  }
+
+  /**
+   * Tests that the statistic is recomputed after the characters were modified directly.
+   */
+  @Test
+  public void testInvalidatedOnListChanges() {
+    CharacterStatistic statistic = this.word.getCharacterStatistic();
+
+    this.word.getCharacters().add(createCharacter("c", 2, 20));
+    CharacterStatistic added = this.word.getCharacterStatistic();
+    assertEquals(20, added.getLargestMaxY(), 0);
+
+    this.word.getCharacters().set(2, createCharacter("c", 2, 30));
+    CharacterStatistic replaced = this.word.getCharacterStatistic();
+    assertEquals(30, replaced.getLargestMaxY(), 0);
+
+    this.word.getCharacters().remove(2);
+    CharacterStatistic removed = this.word.getCharacterStatistic();
+    assertEquals(statistic.getLargestMaxY(), removed.getLargestMaxY(), 0);
+  }
+
+  /**
+   * Tests that the statistic is recomputed after the characters were replaced.
+   */
+  @Test
+  public void testInvalidatedOnNewList() {
+    this.word.getCharacterStatistic();
+
+    ElementList<Character> characters = new ElementList<>();
+    characters.add(createCharacter("x", 0, 40));
+    this.word.setCharacters(characters);
+    assertEquals(40, this.word.getCharacterStatistic().getLargestMaxY(), 0);
+  }
+
+  /**
+   * Tests that the numbers of requests and computations are counted per statistic.
+   */
+  @Test
+  public void testCounts() {
+    LazyStatistic<CharacterStatistic> statistic = new LazyStatistic<>();
+    ElementList<Character> characters = this.word.getCharacters();
+
+    CharacterStatistician.computeIfAbsent(statistic, characters);
+    CharacterStatistician.computeIfAbsent(statistic, characters);
+    characters.add(createCharacter("c", 2, 10));
+    CharacterStatistician.computeIfAbsent(statistic, characters);
+
+    assertEquals(3, statistic.getNumRequests());
+    assertEquals(2, statistic.getNumComputations());
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Creates a new character of width 1, starting at y = 0.
+   *
+   * @param text The text of the character.
+   * @param minX The minX value of the character.
+   * @param maxY The maxY value of the character.
+   *
+   * @return The created character.
+   */
+  protected Character createCharacter(String text, float minX, float maxY) {
+    Character character = new Character();
+    character.setText(text);
+    character.setPosition(new Position(this.page, minX, 0, minX + 1, maxY));
+    character.setFontFace(this.fontFace);
+    character.setColor(new Color(0, 0, 0));
+    return character;
+  }
+}